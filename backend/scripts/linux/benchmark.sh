@@ -0,0 +1,66 @@
+#!/bin/bash
+# HonyRun JMH Benchmark Script - Linux
+# @author: Mr.Rey Copyright (c) 2025
+# @created: 2025-11-03 16:00:00
+# @modified: 2025-11-03 16:00:00
+# @version: 1.0.0
+#
+# Usage:
+#   benchmark.sh run [include-regex]       Run benchmarks and compare against the stored baseline
+#   benchmark.sh baseline [include-regex]  Run benchmarks and store the result as the new baseline
+#   benchmark.sh compare [result.json]     Compare an existing result against the stored baseline
+#
+# Environment:
+#   JMH_THRESHOLD  Regression threshold in percent (default 10)
+#
+# Exit code is 1 when at least one benchmark regressed beyond the threshold and its error margin.
+
+set -e
+
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(cd "$SCRIPT_DIR/../.." && pwd)"
+cd "$PROJECT_ROOT"
+
+COMMAND="${1:-run}"
+BASELINE="$PROJECT_ROOT/src/jmh/baseline/jmh-baseline.json"
+RESULT="$PROJECT_ROOT/target/jmh-result.json"
+THRESHOLD="${JMH_THRESHOLD:-10}"
+
+run_benchmarks() {
+    local include="${1:-com.honyrun.benchmark}"
+    echo "[INFO] Running JMH benchmarks: $include"
+    mvn -B -q -Pbenchmark test-compile exec:exec@run-benchmarks \
+        -Djmh.include="$include" -Djmh.result="$RESULT"
+    echo "[INFO] Result written to $RESULT"
+}
+
+compare_results() {
+    local result="${1:-$RESULT}"
+    if [ ! -f "$BASELINE" ]; then
+        echo "[WARNING] No baseline at $BASELINE, run 'benchmark.sh baseline' first"
+        return 0
+    fi
+    echo "[INFO] Comparing $result against $BASELINE (threshold ${THRESHOLD}%)"
+    mvn -B -q -Pbenchmark test-compile exec:exec@compare-benchmarks \
+        -Djmh.result="$result" -Djmh.baseline="$BASELINE" -Djmh.threshold="$THRESHOLD"
+}
+
+case "$COMMAND" in
+    run)
+        run_benchmarks "$2"
+        compare_results
+        ;;
+    baseline)
+        run_benchmarks "$2"
+        mkdir -p "$(dirname "$BASELINE")"
+        cp "$RESULT" "$BASELINE"
+        echo "[INFO] Baseline updated: $BASELINE"
+        ;;
+    compare)
+        compare_results "$2"
+        ;;
+    *)
+        echo "Usage: $0 {run|baseline|compare} [include-regex|result.json]"
+        exit 2
+        ;;
+esac
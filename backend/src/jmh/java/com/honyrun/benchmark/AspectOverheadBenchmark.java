@@ -0,0 +1,167 @@
+package com.honyrun.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.honyrun.aspect.InvocationSampler;
+import com.honyrun.aspect.LoggingMonitoringAspect;
+import com.honyrun.aspect.SampledMonitoringAdvisor;
+import com.honyrun.aspect.SecurityMonitoringAspect;
+import com.honyrun.service.auth.benchmark.BenchmarkAuthService;
+import com.honyrun.service.benchmark.BenchmarkUserService;
+import com.honyrun.service.monitoring.ReactivePerformanceMonitoringService;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 监控切面开销基准
+ *
+ * 对同一个服务替身分别创建三种代理，测量一次调用并订阅完成的耗时：
+ * - direct：不经过代理，作为下限
+ * - legacy：改造前的PerformanceMonitoringAspect、LoggingMonitoringAspect、SecurityMonitoringAspect（LegacyMonitoringAspects中只保留命中服务替身的通知）
+ * - sampled：当前的SampledMonitoringAdvisor加上保留审计通知的LoggingMonitoringAspect和SecurityMonitoringAspect，
+ *   采样配置与application.properties默认值一致（TAIL模式、10%采样、认证和安全服务为SECURITY类别）
+ *
+ * findUser为普通查询，updateUser触发业务操作审计，login同时触发认证、登录和SECURITY类别的采样监控。
+ * 性能监控服务以空实现替代，基准日志配置只输出ERROR级别，日志的参数拼接和MDC开销仍计入测量
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 15:00:00
+ * @modified 2025-11-06 15:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AspectOverheadBenchmark {
+
+    private static final Long USER_ID = 10001L;
+
+    private BenchmarkUserService directUserService;
+    private BenchmarkUserService legacyUserService;
+    private BenchmarkUserService sampledUserService;
+    private BenchmarkAuthService directAuthService;
+    private BenchmarkAuthService legacyAuthService;
+    private BenchmarkAuthService sampledAuthService;
+
+    @Setup
+    public void setUp() {
+        ReactivePerformanceMonitoringService monitoringService = noopMonitoringService();
+
+        directUserService = new BenchmarkUserService();
+        directAuthService = new BenchmarkAuthService();
+        legacyUserService = legacyProxy(directUserService, monitoringService);
+        legacyAuthService = legacyProxy(directAuthService, monitoringService);
+
+        InvocationSampler sampler = new InvocationSampler(
+                new StaticListableBeanFactory(Map.of("performanceMonitoringService", monitoringService))
+                        .getBeanProvider(ReactivePerformanceMonitoringService.class));
+        ReflectionTestUtils.setField(sampler, "enabled", true);
+        ReflectionTestUtils.setField(sampler, "mode", InvocationSampler.Mode.TAIL);
+        ReflectionTestUtils.setField(sampler, "defaultSampleRate", 0.1);
+        ReflectionTestUtils.setField(sampler, "defaultSlowThresholdMillis", 500L);
+        ReflectionTestUtils.setField(sampler, "targetRules",
+                "com.honyrun.service.auth.=SECURITY,com.honyrun.service.security.=SECURITY,com.honyrun.repository.=REPOSITORY");
+        sampler.initialize();
+        SampledMonitoringAdvisor advisor = new SampledMonitoringAdvisor(sampler);
+        sampledUserService = sampledProxy(directUserService, advisor);
+        sampledAuthService = sampledProxy(directAuthService, advisor);
+    }
+
+    @Benchmark
+    public String findUserDirect() {
+        return directUserService.findUser(USER_ID).block();
+    }
+
+    @Benchmark
+    public String findUserLegacy() {
+        return legacyUserService.findUser(USER_ID).block();
+    }
+
+    @Benchmark
+    public String findUserSampled() {
+        return sampledUserService.findUser(USER_ID).block();
+    }
+
+    @Benchmark
+    public Integer updateUserLegacy() {
+        return legacyUserService.updateUser(USER_ID, "nickname").block();
+    }
+
+    @Benchmark
+    public Integer updateUserSampled() {
+        return sampledUserService.updateUser(USER_ID, "nickname").block();
+    }
+
+    @Benchmark
+    public String loginDirect() {
+        return directAuthService.login("admin", "password").block();
+    }
+
+    @Benchmark
+    public String loginLegacy() {
+        return legacyAuthService.login("admin", "password").block();
+    }
+
+    @Benchmark
+    public String loginSampled() {
+        return sampledAuthService.login("admin", "password").block();
+    }
+
+    private static <T> T legacyProxy(T target, ReactivePerformanceMonitoringService monitoringService) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new LegacyMonitoringAspects.PerformanceMonitoringAspect(monitoringService));
+        factory.addAspect(new LegacyMonitoringAspects.LoggingMonitoringAspect());
+        factory.addAspect(new LegacyMonitoringAspects.SecurityMonitoringAspect());
+        return factory.getProxy();
+    }
+
+    private static <T> T sampledProxy(T target, SampledMonitoringAdvisor advisor) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        // 与容器中的顺序一致：ExposeInvocationInterceptor、采样监控(100)、日志审计(200)、安全审计(300)
+        factory.addAdvisor(advisor);
+        factory.addAspect(new LoggingMonitoringAspect());
+        factory.addAspect(new SecurityMonitoringAspect());
+        return factory.getProxy();
+    }
+
+    /**
+     * 所有记录方法都返回空的Mono或Flux
+     */
+    private static ReactivePerformanceMonitoringService noopMonitoringService() {
+        return (ReactivePerformanceMonitoringService) Proxy.newProxyInstance(
+                AspectOverheadBenchmark.class.getClassLoader(),
+                new Class<?>[] { ReactivePerformanceMonitoringService.class },
+                (proxy, method, args) -> {
+                    if (method.getReturnType() == Mono.class) {
+                        return Mono.empty();
+                    }
+                    if (method.getReturnType() == Flux.class) {
+                        return Flux.empty();
+                    }
+                    return method.getDeclaringClass() == Object.class && "toString".equals(method.getName())
+                            ? "noopMonitoringService" : null;
+                });
+    }
+}
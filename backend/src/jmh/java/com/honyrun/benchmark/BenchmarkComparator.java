@@ -0,0 +1,117 @@
+package com.honyrun.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * JMH结果对比工具
+ *
+ * 读取两份JMH JSON结果（-rf json），按基准方法与参数组合逐项对比：
+ * 吞吐量模式（thrpt）分数下降、其他模式（avgt/sample/ss）分数上升视为变慢，
+ * 变慢幅度超过阈值且超出两次结果误差之和时判定为回归
+ *
+ * 用法：BenchmarkComparator &lt;baseline.json&gt; &lt;current.json&gt; [阈值百分比，默认10]
+ * 退出码：0 无回归；1 存在回归；2 参数或文件错误
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 16:00:00
+ * @modified 2025-11-03 16:00:00
+ * @version 1.0.0
+ */
+public final class BenchmarkComparator {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+
+    private BenchmarkComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("用法: BenchmarkComparator <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        File baselineFile = new File(args[0]);
+        File currentFile = new File(args[1]);
+        if (!baselineFile.isFile() || !currentFile.isFile()) {
+            System.err.println("结果文件不存在: " + (baselineFile.isFile() ? currentFile : baselineFile));
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        Map<String, Result> baseline = load(objectMapper.readTree(baselineFile));
+        Map<String, Result> current = load(objectMapper.readTree(currentFile));
+
+        int regressions = 0;
+        System.out.printf(Locale.ROOT, "%-9s %9s  %-14s %-14s %s%n", "STATUS", "CHANGE", "BASELINE", "CURRENT", "BENCHMARK");
+        for (Map.Entry<String, Result> entry : current.entrySet()) {
+            Result now = entry.getValue();
+            Result before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf(Locale.ROOT, "%-9s %9s  %-14s %-14s %s%n", "NEW", "", "", now.format(), entry.getKey());
+                continue;
+            }
+            // 正值表示变慢
+            double slowdown = now.higherIsBetter()
+                    ? (before.score - now.score) / before.score * 100
+                    : (now.score - before.score) / before.score * 100;
+            boolean beyondError = Math.abs(now.score - before.score) > before.error + now.error;
+            String status;
+            if (slowdown > threshold && beyondError) {
+                status = "REGRESSED";
+                regressions++;
+            } else if (slowdown < -threshold && beyondError) {
+                status = "IMPROVED";
+            } else {
+                status = "OK";
+            }
+            System.out.printf(Locale.ROOT, "%-9s %+8.1f%%  %-14s %-14s %s%n", status, slowdown, before.format(),
+                    now.format(), entry.getKey());
+        }
+        for (String missing : baseline.keySet()) {
+            if (!current.containsKey(missing)) {
+                System.out.printf(Locale.ROOT, "%-9s %9s  %-14s %-14s %s%n", "MISSING", "", baseline.get(missing).format(), "",
+                        missing);
+            }
+        }
+
+        System.out.printf(Locale.ROOT, "%n回归阈值 %.1f%%，回归 %d 项%n", threshold, regressions);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, Result> load(JsonNode root) {
+        Map<String, Result> results = new TreeMap<>();
+        for (JsonNode run : root) {
+            StringBuilder key = new StringBuilder(run.path("benchmark").asText()
+                    .replace("com.honyrun.benchmark.", ""));
+            JsonNode params = run.path("params");
+            if (params.isObject()) {
+                Map<String, String> sorted = new TreeMap<>();
+                params.properties().forEach(field -> sorted.put(field.getKey(), field.getValue().asText()));
+                key.append(sorted);
+            }
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            results.put(key.toString(), new Result(run.path("mode").asText(), metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error, metric.path("scoreUnit").asText()));
+        }
+        return results;
+    }
+
+    private record Result(String mode, double score, double error, String unit) {
+
+        boolean higherIsBetter() {
+            return "thrpt".equals(mode);
+        }
+
+        String format() {
+            return String.format(Locale.ROOT, "%.3f %s", score, unit);
+        }
+    }
+}
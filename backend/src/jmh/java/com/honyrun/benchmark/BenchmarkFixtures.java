@@ -0,0 +1,204 @@
+package com.honyrun.benchmark;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveHashOperations;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.config.properties.JwtProperties;
+import com.honyrun.config.properties.RateLimitProperties;
+import com.honyrun.config.properties.SecurityDetectionProperties;
+import com.honyrun.security.jwt.ReactiveJwtTokenProvider;
+import com.honyrun.service.security.UnifiedSecurityDetectionService;
+import com.honyrun.util.ErrorDetailsUtil;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 基准测试公共装配
+ *
+ * 不启动Spring容器，直接构造被测组件；Redis以进程内实现替代，
+ * R2DBC与Redis连接配置只作为配置校验所需的占位值，基准过程中不会建立任何连接
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 16:00:00
+ * @modified 2025-11-03 16:00:00
+ * @version 1.0.0
+ */
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "honyrun-benchmark-jwt-secret-key-with-enough-length-for-hs512-signing-0123456789";
+    static final String JWT_ISSUER = "honyrun-benchmark";
+    static final String JWT_AUDIENCE = "honyrun-benchmark-clients";
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * 基于内存属性源的统一配置管理器
+     *
+     * @param overrides 覆盖的配置项
+     * @return 已初始化的配置管理器
+     */
+    static UnifiedConfigManager configManager(Map<String, Object> overrides) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("spring.r2dbc.url", "r2dbc:mysql://benchmark.invalid:3306/honyrun");
+        properties.put("spring.r2dbc.username", "benchmark");
+        properties.put("spring.data.redis.host", "benchmark.invalid");
+        properties.put("spring.data.redis.port", "6379");
+        properties.putAll(overrides);
+
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("benchmark", properties));
+        UnifiedConfigManager configManager = new UnifiedConfigManager(null, null, null, null, null, null, null, environment);
+        configManager.init();
+        return configManager;
+    }
+
+    static SecurityDetectionProperties securityDetectionProperties() {
+        SecurityDetectionProperties properties = new SecurityDetectionProperties();
+        properties.setEnabled(true);
+        properties.setPatterns(List.of("<script", "</script", "javascript:", "onerror=", "onload=", "union select",
+                "select * from", "drop table", "or 1=1", "--", "/*", "*/", ";--"));
+        properties.setMaxQuotesThreshold(800);
+        return properties;
+    }
+
+    static UnifiedSecurityDetectionService securityDetectionService(UnifiedConfigManager configManager) {
+        return new UnifiedSecurityDetectionService(securityDetectionProperties(), new ErrorDetailsUtil(configManager));
+    }
+
+    static JwtProperties jwtProperties() {
+        JwtProperties properties = new JwtProperties();
+        properties.setSecret(JWT_SECRET);
+        properties.setIssuer(JWT_ISSUER);
+        properties.setAudience(JWT_AUDIENCE);
+        properties.setExpiration(7_200_000L);
+        properties.setRefreshExpiration(604_800_000L);
+        return properties;
+    }
+
+    static ReactiveJwtTokenProvider jwtTokenProvider(UnifiedConfigManager configManager) {
+        return new ReactiveJwtTokenProvider(jwtProperties(), securityDetectionProperties(),
+                securityDetectionService(configManager), java.util.Optional.empty(), configManager);
+    }
+
+    /**
+     * 各维度令牌充足的限流配置，基准测量的是放行路径的开销
+     */
+    static RateLimitProperties rateLimitProperties() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setEnabled(true);
+        properties.setGlobal(dimension());
+        properties.setIp(dimension());
+        properties.setUser(dimension());
+        properties.setEndpoint(dimension());
+        properties.setStatsExpirationHours(24);
+        return properties;
+    }
+
+    private static RateLimitProperties.DimensionConfig dimension() {
+        RateLimitProperties.DimensionConfig config = new RateLimitProperties.DimensionConfig(true, 1_000_000_000, 1_000_000_000);
+        config.setTimeWindowSeconds(1);
+        return config;
+    }
+
+    /**
+     * 进程内Redis替身
+     *
+     * 以本地令牌桶实现限流Lua脚本的语义，哈希统计与过期操作直接成功返回，
+     * 使基准只覆盖服务自身的响应式编排、键构造与结果解析开销
+     */
+    static final class InMemoryReactiveRedisTemplate extends ReactiveRedisTemplate<String, String> {
+
+        private final Map<String, long[]> buckets = new ConcurrentHashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private final ReactiveHashOperations<String, Object, Object> hashOperations = (ReactiveHashOperations<String, Object, Object>) Proxy
+                .newProxyInstance(BenchmarkFixtures.class.getClassLoader(), new Class<?>[] { ReactiveHashOperations.class },
+                        (proxy, method, args) -> switch (method.getName()) {
+                            case "increment" -> Mono.just(1L);
+                            case "put", "putIfAbsent" -> Mono.just(true);
+                            case "entries", "keys", "values", "scan" -> Flux.empty();
+                            default -> Mono.empty();
+                        });
+
+        InMemoryReactiveRedisTemplate() {
+            super(connectionFactory(), RedisSerializationContext.string());
+        }
+
+        @Override
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        public <T> Flux<T> execute(RedisScript<T> script, List<String> keys, List<?> args) {
+            long capacity = Long.parseLong(String.valueOf(args.get(0)));
+            long requested = Long.parseLong(String.valueOf(args.get(3)));
+            long[] bucket = buckets.computeIfAbsent(keys.get(0), key -> new long[] { capacity });
+            long remaining;
+            boolean allowed;
+            synchronized (bucket) {
+                if (bucket[0] < requested) {
+                    bucket[0] = capacity;
+                }
+                allowed = bucket[0] >= requested;
+                if (allowed) {
+                    bucket[0] -= requested;
+                }
+                remaining = bucket[0];
+            }
+            List result = List.of(allowed ? 1L : 0L, remaining);
+            return (Flux<T>) Flux.just(result);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <HK, HV> ReactiveHashOperations<String, HK, HV> opsForHash() {
+            return (ReactiveHashOperations<String, HK, HV>) hashOperations;
+        }
+
+        @Override
+        public Mono<Boolean> expire(String key, Duration timeout) {
+            return Mono.just(true);
+        }
+
+        private static ReactiveRedisConnectionFactory connectionFactory() {
+            return (ReactiveRedisConnectionFactory) Proxy.newProxyInstance(BenchmarkFixtures.class.getClassLoader(),
+                    new Class<?>[] { ReactiveRedisConnectionFactory.class },
+                    (proxy, method, args) -> {
+                        throw new UnsupportedOperationException("基准测试中的Redis替身不提供连接: " + method.getName());
+                    });
+        }
+    }
+
+    /**
+     * 生成指定字节数的正常业务文本
+     */
+    static String benignText(int size) {
+        StringBuilder builder = new StringBuilder(size + 32);
+        String sentence = "HonyRun order 20251103 shipped to warehouse A, contact description: normal text. ";
+        while (builder.length() < size) {
+            builder.append(sentence);
+        }
+        builder.setLength(size);
+        return builder.toString();
+    }
+
+    /**
+     * 生成末尾携带攻击载荷的文本，检测需要扫描整个输入
+     */
+    static String maliciousText(int size) {
+        String payload = "' or 1=1; <script>alert(1)</script>";
+        return benignText(Math.max(0, size - payload.length())) + payload;
+    }
+}
@@ -0,0 +1,103 @@
+package com.honyrun.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.honyrun.service.rule.BusinessRuleEngine;
+import com.honyrun.service.rule.CompiledRuleSet;
+import com.honyrun.service.rule.RuleSetResult;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+
+/**
+ * 业务规则引擎基准
+ *
+ * ruleCount条形如"category == 'cN' &amp;&amp; amount &gt; N &amp;&amp; (region == 'rN' || vip == true)"的规则，
+ * 分别测量单条求值、1000条输入数据的批量求值与整个规则集的编译
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 14:00:00
+ * @modified 2025-11-04 14:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BusinessRuleEngineBenchmark {
+
+    private static final int FACT_COUNT = 1000;
+
+    @Param({ "1000", "5000" })
+    public int ruleCount;
+
+    private BusinessRuleEngine engine;
+    private String source;
+    private CompiledRuleSet ruleSet;
+    private List<Map<String, Object>> facts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        StringBuilder rules = new StringBuilder("{\"rules\":[");
+        for (int i = 0; i < ruleCount; i++) {
+            if (i > 0) {
+                rules.append(',');
+            }
+            rules.append("{\"id\":\"rule-").append(i)
+                    .append("\",\"priority\":").append(i % 10)
+                    .append(",\"when\":\"category == 'c").append(i % 500)
+                    .append("' && amount > ").append(i)
+                    .append(" && (region == 'r").append(i % 7).append("' || vip == true)\"")
+                    .append(",\"then\":{\"action\":\"review\"}}");
+        }
+        source = rules.append("]}").toString();
+        engine = new BusinessRuleEngine(new SimpleMeterRegistry());
+        ruleSet = engine.getOrCompile("benchmark:1", source);
+
+        Random random = new Random(42);
+        facts = new ArrayList<>(FACT_COUNT);
+        for (int i = 0; i < FACT_COUNT; i++) {
+            facts.add(Map.of("category", "c" + random.nextInt(600),
+                    "amount", random.nextInt(ruleCount + 1000),
+                    "region", "r" + random.nextInt(7),
+                    "vip", random.nextBoolean()));
+        }
+    }
+
+    @Benchmark
+    public RuleSetResult evaluate() {
+        next = (next + 1) % FACT_COUNT;
+        return ruleSet.evaluate(facts.get(next));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<RuleSetResult> evaluateBatch() {
+        return engine.evaluate(ruleSet, Flux.fromIterable(facts)).collectList().block();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public CompiledRuleSet compile() {
+        return engine.compile("benchmark:1", source);
+    }
+}
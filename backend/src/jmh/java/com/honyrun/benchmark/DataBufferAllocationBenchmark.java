@@ -0,0 +1,88 @@
+package com.honyrun.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import com.honyrun.util.reactive.PooledDataBufferUtil;
+
+/**
+ * 响应体缓冲区分配基准
+ *
+ * 模拟图片编码结果写出响应：heap为原实现（编码到ByteArrayOutputStream后复制为堆缓冲区），
+ * pooled为PooledDataBufferUtil直接编码到池化缓冲区；每次操作结束时按WebFlux写出后的方式释放缓冲区。
+ * 分配速率与GC次数需配合GC分析器查看：-prof gc，关注gc.alloc.rate.norm与gc.count
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 18:00:00
+ * @modified 2025-11-04 18:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class DataBufferAllocationBenchmark {
+
+    private static final int CHUNK_SIZE = 8192;
+
+    @Param({ "65536", "1048576" })
+    public int payloadSize;
+
+    private byte[] chunk;
+
+    @Setup
+    public void setUp() {
+        chunk = new byte[CHUNK_SIZE];
+        new Random(42).nextBytes(chunk);
+    }
+
+    @Benchmark
+    public int heap() {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        writePayload(outputStream);
+        DataBuffer buffer = DefaultDataBufferFactory.sharedInstance.wrap(outputStream.toByteArray());
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+
+    @Benchmark
+    public int pooled() throws IOException {
+        DataBuffer buffer = PooledDataBufferUtil.write(payloadSize, this::writePayload);
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+
+    private void writePayload(OutputStream outputStream) {
+        try {
+            for (int written = 0; written < payloadSize; written += CHUNK_SIZE) {
+                outputStream.write(chunk, 0, Math.min(CHUNK_SIZE, payloadSize - written));
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
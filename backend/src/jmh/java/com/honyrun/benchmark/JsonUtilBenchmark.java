@@ -0,0 +1,81 @@
+package com.honyrun.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.util.common.JsonUtil;
+
+/**
+ * JSON序列化与反序列化基准
+ *
+ * 以统一响应体包装的记录列表作为载荷，recordCount控制记录数
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 16:00:00
+ * @modified 2025-11-03 16:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonUtilBenchmark {
+
+    @Param({ "1", "100", "1000" })
+    public int recordCount;
+
+    private ApiResponse<List<Map<String, Object>>> response;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        List<Map<String, Object>> records = new ArrayList<>(recordCount);
+        for (int i = 0; i < recordCount; i++) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            record.put("id", 1_900_000_000_000_000_000L + i);
+            record.put("username", "user" + i);
+            record.put("realName", "用户" + i);
+            record.put("email", "user" + i + "@honyrun.example");
+            record.put("status", "ACTIVE");
+            record.put("permissions", List.of("system:user:read", "system:user:write"));
+            record.put("createdDate", LocalDateTime.of(2025, 11, 3, 16, 0).plusMinutes(i));
+            records.add(record);
+        }
+        response = ApiResponse.success(records);
+        json = JsonUtil.toJson(response);
+    }
+
+    @Benchmark
+    public String toJson() {
+        return JsonUtil.toJson(response);
+    }
+
+    @Benchmark
+    public byte[] toJsonBytes() {
+        return JsonUtil.toJsonBytes(response);
+    }
+
+    @Benchmark
+    public Map<String, Object> fromJsonToMap() {
+        return JsonUtil.fromJsonToMap(json);
+    }
+}
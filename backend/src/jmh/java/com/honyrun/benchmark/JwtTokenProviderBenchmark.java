@@ -0,0 +1,79 @@
+package com.honyrun.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.honyrun.model.enums.UserType;
+import com.honyrun.security.jwt.ReactiveJwtTokenProvider;
+
+/**
+ * JWT令牌签发与校验基准
+ *
+ * 每个请求都会经过令牌校验，登录与刷新会签发令牌；authorityCount控制权限声明的数量，即令牌载荷大小
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 16:00:00
+ * @modified 2025-11-03 16:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenProviderBenchmark {
+
+    @Param({ "1", "16", "128" })
+    public int authorityCount;
+
+    private ReactiveJwtTokenProvider tokenProvider;
+    private String authorities;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenProvider = BenchmarkFixtures.jwtTokenProvider(BenchmarkFixtures.configManager(Map.of()));
+        authorities = IntStream.range(0, authorityCount)
+                .mapToObj(i -> "system:resource" + i + ":read")
+                .collect(Collectors.joining(","));
+        token = generate();
+        if (!Boolean.TRUE.equals(tokenProvider.validateToken(token).block())) {
+            throw new IllegalStateException("基准令牌未通过校验，装配与生产配置不一致");
+        }
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return generate();
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return tokenProvider.validateToken(token).block();
+    }
+
+    @Benchmark
+    public Long getUserIdFromToken() {
+        return tokenProvider.getUserIdFromToken(token).block();
+    }
+
+    private String generate() {
+        return tokenProvider.generateAccessToken(10001L, "benchmark-user", UserType.NORMAL_USER, authorities,
+                "benchmark-device", "10.0.0.8").block();
+    }
+}
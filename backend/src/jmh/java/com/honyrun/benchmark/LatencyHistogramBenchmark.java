@@ -0,0 +1,131 @@
+package com.honyrun.benchmark;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.honyrun.service.monitoring.latency.LatencyHistogramRegistry;
+import com.honyrun.service.monitoring.latency.SloTarget;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 延迟直方图记录开销基准
+ *
+ * 记录路径每个请求都会执行，目标是单次记录保持在几十纳秒：
+ * - record：LatencyHistogramRegistry.record，单键与64个端点轮流记录，单线程及4线程竞争，
+ *   参数与默认配置一致（最大60000ms、2位有效数字、500ms/99% SLO），约1%的请求标记为失败
+ * - legacy：原实现按键computeIfAbsent两个AtomicLong后累加次数和总耗时，只能得出平均值，作为开销下限参照
+ *
+ * 延迟样本预先生成，测量中不包含随机数开销
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 14:00:00
+ * @modified 2025-11-06 14:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LatencyHistogramBenchmark {
+
+    private static final int KEY_COUNT = 64;
+    private static final int SAMPLE_MASK = 1023;
+
+    private LatencyHistogramRegistry registry;
+    private final Map<String, AtomicLong> legacyCounts = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> legacyTimes = new ConcurrentHashMap<>();
+    private String[] keys;
+    private long[] latencies;
+    private boolean[] failures;
+
+    /**
+     * 每个线程独立的样本游标
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup
+    public void setUp() {
+        SloTarget target = SloTarget.parse("500:0.99");
+        registry = new LatencyHistogramRegistry("honyrun.latency.benchmark", "endpoint", new SimpleMeterRegistry(),
+                512, 60_000L, 2, key -> target);
+        keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            keys[i] = "GET /api/v1/resource" + i;
+            registry.record(keys[i], 1L, false);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        latencies = new long[SAMPLE_MASK + 1];
+        failures = new boolean[SAMPLE_MASK + 1];
+        for (int i = 0; i <= SAMPLE_MASK; i++) {
+            double gaussian = Math.sqrt(-2.0 * Math.log(random.nextDouble(Double.MIN_VALUE, 1.0)))
+                    * Math.cos(2.0 * Math.PI * random.nextDouble());
+            latencies[i] = Math.round(Math.exp(3.0 + 0.8 * gaussian));
+            failures[i] = random.nextInt(100) == 0;
+        }
+    }
+
+    @Benchmark
+    public void recordSingleKey(Cursor cursor) {
+        int i = cursor.next++ & SAMPLE_MASK;
+        registry.record(keys[0], latencies[i], failures[i]);
+    }
+
+    @Benchmark
+    public void recordAcrossKeys(Cursor cursor) {
+        int i = cursor.next++ & SAMPLE_MASK;
+        registry.record(keys[i & (KEY_COUNT - 1)], latencies[i], failures[i]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordSingleKeyContended(Cursor cursor) {
+        int i = cursor.next++ & SAMPLE_MASK;
+        registry.record(keys[0], latencies[i], failures[i]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordAcrossKeysContended(Cursor cursor) {
+        int i = cursor.next++ & SAMPLE_MASK;
+        registry.record(keys[i & (KEY_COUNT - 1)], latencies[i], failures[i]);
+    }
+
+    @Benchmark
+    public void legacyAcrossKeys(Cursor cursor) {
+        int i = cursor.next++ & SAMPLE_MASK;
+        legacyRecord(keys[i & (KEY_COUNT - 1)], latencies[i]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void legacyAcrossKeysContended(Cursor cursor) {
+        int i = cursor.next++ & SAMPLE_MASK;
+        legacyRecord(keys[i & (KEY_COUNT - 1)], latencies[i]);
+    }
+
+    private void legacyRecord(String key, long latency) {
+        legacyCounts.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
+        legacyTimes.computeIfAbsent(key, k -> new AtomicLong(0)).addAndGet(latency);
+    }
+}
@@ -0,0 +1,179 @@
+package com.honyrun.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Before;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.Order;
+
+import com.honyrun.service.monitoring.ReactivePerformanceMonitoringService;
+import com.honyrun.util.LoggingUtil;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 采样监控改造前的三个监控切面的精简替身，作为AspectOverheadBenchmark的对照组
+ *
+ * 只保留会命中基准服务替身（com.honyrun.service..、service.auth..、update*、login*）的通知，
+ * 切点表达式、@Order和每次调用所做的工作（拼接方法名、格式化参数、订阅性能记录、审计日志、
+ * 登录事件计数）与改造前一致；Controller、Repository、service.security切点和异常分支不会被基准触发，已省略。
+ * 改造前的完整源码见基线提交中的com.honyrun.aspect包
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 15:00:00
+ * @modified 2025-11-08 16:00:00
+ * @version 1.0.0
+ */
+final class LegacyMonitoringAspects {
+
+    private static final String SERVICE_METHODS =
+            "execution(* com.honyrun.service..*.*(..)) && !execution(* com.honyrun.service.monitoring..*.*(..))";
+
+    private LegacyMonitoringAspects() {
+    }
+
+    private static String methodName(JoinPoint joinPoint) {
+        return joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+
+    /**
+     * 性能监控切面：每个Service方法记录一次执行时间
+     */
+    @Aspect
+    @Order(100)
+    public static class PerformanceMonitoringAspect {
+
+        private static final Logger logger = LoggerFactory.getLogger(PerformanceMonitoringAspect.class);
+
+        private final ReactivePerformanceMonitoringService performanceMonitoringService;
+
+        public PerformanceMonitoringAspect(ReactivePerformanceMonitoringService performanceMonitoringService) {
+            this.performanceMonitoringService = performanceMonitoringService;
+        }
+
+        @Around(SERVICE_METHODS)
+        public Object monitorServicePerformance(ProceedingJoinPoint joinPoint) throws Throwable {
+            String methodName = methodName(joinPoint);
+            long startTime = System.currentTimeMillis();
+            LoggingUtil.debug(logger, "开始监控方法执行: {}", methodName);
+
+            Object result = joinPoint.proceed();
+            if (result instanceof Mono) {
+                return ((Mono<?>) result)
+                    .doOnSuccess(value -> recordPerformance(methodName, startTime, true))
+                    .doOnError(error -> {
+                        recordPerformance(methodName, startTime, false);
+                        LoggingUtil.error(logger, "方法执行失败: " + methodName, error);
+                    });
+            }
+            recordPerformance(methodName, startTime, true);
+            return result;
+        }
+
+        private void recordPerformance(String methodName, long startTime, boolean success) {
+            long executionTime = System.currentTimeMillis() - startTime;
+            performanceMonitoringService.recordMethodPerformance(methodName, executionTime, success)
+                .subscribe(
+                    unused -> LoggingUtil.debug(logger, "方法性能记录完成: {}, 执行时间: {}ms", methodName, executionTime),
+                    error -> LoggingUtil.error(logger, "方法性能记录失败: " + methodName, error)
+                );
+        }
+    }
+
+    /**
+     * 日志监控切面：Service方法出入日志、业务操作审计和安全操作日志
+     */
+    @Aspect
+    @Order(200)
+    public static class LoggingMonitoringAspect {
+
+        private static final Logger logger = LoggerFactory.getLogger(LoggingMonitoringAspect.class);
+
+        @Before(SERVICE_METHODS)
+        public void logServiceMethodEntry(JoinPoint joinPoint) {
+            LoggingUtil.debug(logger, "进入Service方法: {}, 参数: {}", methodName(joinPoint), Arrays.toString(joinPoint.getArgs()));
+        }
+
+        @AfterReturning(pointcut = SERVICE_METHODS, returning = "result")
+        public void logServiceMethodExit(JoinPoint joinPoint, Object result) {
+            LoggingUtil.debug(logger, "Service方法执行完成: {}, 返回响应式类型: {}",
+                methodName(joinPoint), result != null ? result.getClass().getSimpleName() : "null");
+        }
+
+        @Before("execution(* com.honyrun.service..*.create*(..)) || " +
+                "execution(* com.honyrun.service..*.update*(..)) || " +
+                "execution(* com.honyrun.service..*.delete*(..)) || " +
+                "execution(* com.honyrun.service..*.register*(..)) || " +
+                "execution(* com.honyrun.service..*.login*(..))")
+        public void logBusinessOperation(JoinPoint joinPoint) {
+            LoggingUtil.logBusinessOperation(joinPoint.getSignature().getName(),
+                joinPoint.getSignature().getDeclaringTypeName(), Arrays.toString(joinPoint.getArgs()));
+        }
+
+        @Before("execution(* com.honyrun.service.auth..*.*(..)) || " +
+                "execution(* com.honyrun.service.security..*.*(..))")
+        public void logSecurityOperation(JoinPoint joinPoint) {
+            LoggingUtil.logSecurityEvent("SECURITY_OPERATION", methodName(joinPoint),
+                sanitize(joinPoint.getArgs()), "INFO");
+        }
+
+        private String sanitize(Object[] args) {
+            StringBuilder sb = new StringBuilder("[");
+            for (int i = 0; i < args.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                String argStr = String.valueOf(args[i]).toLowerCase();
+                sb.append(argStr.contains("password") || argStr.contains("token") || argStr.contains("secret")
+                        ? "[SENSITIVE_DATA_MASKED]" : String.valueOf(args[i]));
+            }
+            return sb.append("]").toString();
+        }
+    }
+
+    /**
+     * 安全监控切面：认证服务的开始/完成事件和登录尝试计数
+     */
+    @Aspect
+    @Order(300)
+    public static class SecurityMonitoringAspect {
+
+        private final ConcurrentHashMap<String, AtomicLong> securityEventCounts = new ConcurrentHashMap<>();
+
+        @Around("execution(* com.honyrun.service.auth..*.*(..))")
+        public Object monitorAuthService(ProceedingJoinPoint joinPoint) throws Throwable {
+            String methodName = methodName(joinPoint);
+            LoggingUtil.logSecurityEvent("AUTH_OPERATION_START", methodName, "[SANITIZED]", "INFO");
+            long startTime = System.currentTimeMillis();
+
+            Object result = joinPoint.proceed();
+            if (result instanceof Mono) {
+                return ((Mono<?>) result).doOnSuccess(value -> LoggingUtil.logSecurityEvent("AUTH_OPERATION_SUCCESS",
+                    methodName + " 执行成功", "执行时间: " + (System.currentTimeMillis() - startTime) + "ms", "INFO"));
+            }
+            return result;
+        }
+
+        @Before("execution(* com.honyrun.service..*.login*(..))")
+        public void monitorLoginAttempt(JoinPoint joinPoint) {
+            String username = String.valueOf(joinPoint.getArgs()[0]);
+            securityEventCounts.computeIfAbsent("LOGIN_ATTEMPT_" + username, k -> new AtomicLong()).incrementAndGet();
+            LoggingUtil.logSecurityEvent("LOGIN_ATTEMPT", "用户登录尝试", "用户名: " + username, "INFO");
+        }
+
+        @AfterReturning(pointcut = "execution(* com.honyrun.service..*.login*(..))", returning = "result")
+        public void monitorLoginSuccess(JoinPoint joinPoint, Object result) {
+            String username = String.valueOf(joinPoint.getArgs()[0]);
+            securityEventCounts.remove("LOGIN_ATTEMPT_" + username);
+            LoggingUtil.logSecurityEvent("LOGIN_SUCCESS", "用户登录成功", "用户名: " + username, "INFO");
+        }
+    }
+}
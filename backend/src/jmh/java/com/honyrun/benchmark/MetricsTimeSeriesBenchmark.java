@@ -0,0 +1,208 @@
+package com.honyrun.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.honyrun.service.monitoring.ReactiveMetricsAggregationService.MetricData;
+import com.honyrun.service.monitoring.timeseries.MetricsTimeSeriesStore;
+import com.honyrun.service.monitoring.timeseries.TimeSeries;
+import com.honyrun.service.monitoring.timeseries.WindowStats;
+
+/**
+ * 指标时序存储基准
+ *
+ * 以100万个每毫秒一个的延迟样本（对数正态分布）对比MetricsTimeSeriesStore与原实现的ArrayList&lt;MetricData&gt;：
+ * - 查询：最近1小时的p50/p90/p99，原实现为过滤、装箱排序后取下标（与原calculatePercentiles相同），
+ *   新实现合并已轮转的HDR直方图区间；stats为同一范围的计数、均值和极值
+ * - 写入：稳态下单个样本的追加开销，块满后封存压缩并淘汰最旧的块
+ * - 内存：footprint系列为单次写满100万个样本，辅助计数器retainedBytes为写入前后各执行Full GC后的堆占用差，
+ *   estimatedBytes为存储自身的估算值，均按每100万样本计
+ *
+ * 直方图每60000个样本轮转一次，对应默认的histogram-interval
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 11:00:00
+ * @modified 2025-11-06 11:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsTimeSeriesBenchmark {
+
+    private static final String METRIC = "http.server.requests.latency";
+    private static final int SAMPLES = 1_000_000;
+    private static final int ROTATE_EVERY = 60_000;
+    private static final double[] PERCENTILES = { 50.0, 90.0, 99.0 };
+    private static final List<Double> PERCENTILE_LIST = List.of(50.0, 90.0, 99.0);
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private MetricsTimeSeriesStore store;
+    private TimeSeries series;
+    private List<MetricData> legacy;
+    private long now;
+    private long nextTimestamp;
+    private SplittableRandom appendRandom;
+
+    /**
+     * 内存占用，按每100万样本计
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+        public long estimatedBytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        long end = System.currentTimeMillis();
+        store = fillStore(end);
+        series = store.get(METRIC);
+        legacy = fillLegacy(end);
+        // 直方图区间按轮转时的系统时间划分，查询截止时间取写满之后
+        now = System.currentTimeMillis();
+        nextTimestamp = now + 1;
+        appendRandom = new SplittableRandom(7);
+        if (series.percentiles(PERCENTILES, now - HOUR_MILLIS, now) == null) {
+            throw new IllegalStateException("直方图区间未覆盖查询范围");
+        }
+    }
+
+    @Benchmark
+    public double[] percentilesStore() {
+        return series.percentiles(PERCENTILES, now - HOUR_MILLIS, now);
+    }
+
+    @Benchmark
+    public Map<Double, Double> percentilesLegacy() {
+        LocalDateTime cutoff = toLocalDateTime(now - HOUR_MILLIS);
+        List<Double> values = legacy.stream()
+                .filter(data -> data.getTimestamp().isAfter(cutoff))
+                .map(MetricData::getValue)
+                .sorted()
+                .collect(Collectors.toList());
+        Map<Double, Double> result = new HashMap<>();
+        for (Double percentile : PERCENTILE_LIST) {
+            int index = (int) Math.ceil(percentile / 100.0 * values.size()) - 1;
+            result.put(percentile, values.get(Math.max(0, Math.min(index, values.size() - 1))));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public WindowStats statsStore() {
+        return series.stats(now - HOUR_MILLIS, now);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void appendStore() {
+        series.append(nextTimestamp++, latency(appendRandom));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object footprintStore(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        MetricsTimeSeriesStore filled = fillStore(System.currentTimeMillis());
+        footprint.retainedBytes = usedHeapAfterGc() - before;
+        footprint.estimatedBytes = (long) filled.getStatistics().get("estimatedBytes");
+        return filled;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 2)
+    @Measurement(iterations = 5)
+    public Object footprintLegacy(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        List<MetricData> filled = fillLegacy(System.currentTimeMillis());
+        footprint.retainedBytes = usedHeapAfterGc() - before;
+        footprint.estimatedBytes = 0;
+        return filled;
+    }
+
+    private static MetricsTimeSeriesStore fillStore(long end) {
+        MetricsTimeSeriesStore store = new MetricsTimeSeriesStore();
+        ReflectionTestUtils.setField(store, "blockSize", 1024);
+        ReflectionTestUtils.setField(store, "maxBlocksPerSeries", 1024);
+        ReflectionTestUtils.setField(store, "histogramSignificantDigits", 2);
+        ReflectionTestUtils.setField(store, "histogramMaxIntervals", 1440);
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, String> tags = Map.of("uri", "/api/v1/users");
+        long start = end - SAMPLES + 1;
+        for (int i = 0; i < SAMPLES; i++) {
+            store.append(METRIC, start + i, latency(random), tags);
+            if ((i + 1) % ROTATE_EVERY == 0) {
+                store.rotateHistograms();
+            }
+        }
+        store.rotateHistograms();
+        return store;
+    }
+
+    private static List<MetricData> fillLegacy(long end) {
+        List<MetricData> data = new ArrayList<>();
+        SplittableRandom random = new SplittableRandom(42);
+        Map<String, String> tags = Map.of("uri", "/api/v1/users");
+        long start = end - SAMPLES + 1;
+        for (int i = 0; i < SAMPLES; i++) {
+            data.add(new MetricData(METRIC, latency(random), toLocalDateTime(start + i), tags));
+        }
+        return data;
+    }
+
+    /**
+     * 对数正态分布的延迟（毫秒），中位数约20ms
+     */
+    private static double latency(SplittableRandom random) {
+        double u1 = random.nextDouble(Double.MIN_VALUE, 1.0);
+        double u2 = random.nextDouble();
+        double gaussian = Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+        return Math.exp(3.0 + 0.6 * gaussian);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
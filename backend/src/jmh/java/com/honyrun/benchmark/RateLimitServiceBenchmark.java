@@ -0,0 +1,72 @@
+package com.honyrun.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.honyrun.service.impl.ReactiveRateLimitServiceImpl;
+
+/**
+ * 多维度限流检查基准
+ *
+ * Redis由进程内令牌桶替身代替，测量的是服务在网络往返之外的开销：四个维度的串行编排、
+ * 键构造、脚本结果解析与统计更新；clientCount控制参与限流的不同客户端IP数量
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 16:00:00
+ * @modified 2025-11-03 16:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimitServiceBenchmark {
+
+    @Param({ "1", "1024" })
+    public int clientCount;
+
+    private ReactiveRateLimitServiceImpl rateLimitService;
+    private String[] clientIps;
+
+    @Setup
+    public void setUp() {
+        rateLimitService = new ReactiveRateLimitServiceImpl(new BenchmarkFixtures.InMemoryReactiveRedisTemplate(),
+                BenchmarkFixtures.rateLimitProperties());
+        clientIps = new String[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            clientIps[i] = "10.0." + (i / 256) + "." + (i % 256);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public Boolean checkAllRateLimits(Cursor cursor) {
+        int index = cursor.next++ % clientIps.length;
+        return rateLimitService.checkAllRateLimits(clientIps[index], (long) index, "/api/v1/users").block();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Boolean checkAllRateLimitsContended(Cursor cursor) {
+        int index = cursor.next++ % clientIps.length;
+        return rateLimitService.checkAllRateLimits(clientIps[index], (long) index, "/api/v1/users").block();
+    }
+}
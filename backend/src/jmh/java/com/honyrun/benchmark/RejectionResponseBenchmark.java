@@ -0,0 +1,116 @@
+package com.honyrun.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+
+import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.security.response.RejectionResponseTemplate;
+import com.honyrun.security.response.RejectionResponseTemplate.Slot;
+import com.honyrun.util.ErrorDetailsUtil;
+import com.honyrun.util.common.JsonUtil;
+import com.honyrun.util.reactive.PooledDataBufferUtil;
+
+/**
+ * 拒绝响应体洪泛基准
+ *
+ * 4个线程持续生成拒绝响应，模拟被攻击时拒绝路径成为热点：serialized为原实现（构造ApiResponse后用JsonUtil序列化，
+ * 再包装为响应缓冲区），template为RejectionResponseTemplate写入池化缓冲区。rateLimit只有timestamp一个动态字段，
+ * validation对应请求参数校验失败，需要写入traceId和path。每次操作结束时按WebFlux写出后的方式释放缓冲区。
+ * 分配量需配合GC分析器查看：-prof gc，关注gc.alloc.rate.norm
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 18:00:00
+ * @modified 2025-11-05 18:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RejectionResponseBenchmark {
+
+    private static final String RATE_LIMIT_MESSAGE = "请求频率超出限制，请稍后重试";
+    private static final String VALIDATION_MESSAGE = "请求参数验证失败";
+    private static final String TRACE_ID = "trace-0f1e2d3c4b5a69788796a5b4c3d2e1f0";
+    private static final String PATH = "/api/v1/users/search";
+
+    private final DataBufferFactory bufferFactory = PooledDataBufferUtil.factory();
+
+    private ErrorDetailsUtil errorDetailsUtil;
+    private RejectionResponseTemplate rateLimitTemplate;
+    private RejectionResponseTemplate validationTemplate;
+
+    @Setup
+    public void setUp() {
+        errorDetailsUtil = new ErrorDetailsUtil(BenchmarkFixtures.configManager(Map.of()));
+        rateLimitTemplate = RejectionResponseTemplate.compile(ApiResponse.error(
+                String.valueOf(HttpStatus.TOO_MANY_REQUESTS.value()), RATE_LIMIT_MESSAGE));
+        validationTemplate = RejectionResponseTemplate.compile(ApiResponse.<Void>builder()
+                .success(false)
+                .code(String.valueOf(HttpStatus.BAD_REQUEST.value()))
+                .message(VALIDATION_MESSAGE)
+                .traceId(RejectionResponseTemplate.placeholder(Slot.TRACE_ID))
+                .details(errorDetailsUtil.buildSimpleErrorDetails("ValidationError",
+                        RejectionResponseTemplate.placeholder(Slot.PATH)))
+                .path(RejectionResponseTemplate.placeholder(Slot.PATH))
+                .build());
+    }
+
+    @Benchmark
+    public int rateLimitSerialized() {
+        ApiResponse<Object> response = ApiResponse.error(
+                String.valueOf(HttpStatus.TOO_MANY_REQUESTS.value()), RATE_LIMIT_MESSAGE, null);
+        String body = JsonUtil.toJson(response);
+        return release(bufferFactory.wrap(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public int rateLimitTemplate() {
+        return release(rateLimitTemplate.render(bufferFactory, RejectionResponseTemplate.Values.NONE));
+    }
+
+    @Benchmark
+    public int validationSerialized() {
+        ApiResponse<Void> response = ApiResponse.<Void>builder()
+                .success(false)
+                .code(String.valueOf(HttpStatus.BAD_REQUEST.value()))
+                .message(VALIDATION_MESSAGE)
+                .traceId(TRACE_ID)
+                .details(errorDetailsUtil.buildSimpleErrorDetails("ValidationError", PATH))
+                .path(PATH)
+                .build();
+        String body = JsonUtil.toJson(response);
+        return release(bufferFactory.wrap(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Benchmark
+    public int validationTemplate() {
+        return release(validationTemplate.render(bufferFactory, RejectionResponseTemplate.Values.of(TRACE_ID, PATH)));
+    }
+
+    private static int release(DataBuffer buffer) {
+        int size = buffer.readableByteCount();
+        DataBufferUtils.release(buffer);
+        return size;
+    }
+}
@@ -0,0 +1,69 @@
+package com.honyrun.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.honyrun.config.router.RouteRegistry;
+
+/**
+ * 路由存在性判定基准
+ *
+ * pathKind选择请求路径类型：static为精确路径，pattern为带变量段的路径，miss为不存在的路径；
+ * distinct模式每次调用都使用新的路径ID，验证匹配开销与路径是否重复出现无关，每轮迭代前重建注册表
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 16:00:00
+ * @modified 2025-11-03 18:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RouteRegistryBenchmark {
+
+    @Param({ "static", "pattern", "miss" })
+    public String pathKind;
+
+    private RouteRegistry routeRegistry;
+    private long nextId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        routeRegistry = new RouteRegistry();
+        routeRegistry.initializeRoutes();
+        nextId = 0;
+    }
+
+    @Benchmark
+    public boolean repeatedPath() {
+        return routeRegistry.isRouteExists(path(42L));
+    }
+
+    @Benchmark
+    public boolean distinctPath() {
+        return routeRegistry.isRouteExists(path(nextId++));
+    }
+
+    private String path(long id) {
+        return switch (pathKind) {
+            case "static" -> "/api/v1/users";
+            case "pattern" -> "/api/v1/users/" + id;
+            default -> "/api/v1/unknown/" + id + "/resource";
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.honyrun.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.honyrun.service.security.UnifiedSecurityDetectionService;
+
+/**
+ * 恶意模式检测基准
+ *
+ * 请求参数、请求体与令牌都会经过检测；payloadSize为输入字节数，
+ * benign输入需要走完全部规则，malicious输入在末尾携带载荷；
+ * 当前规则集对benign输入的耗时随长度近似平方增长（16KB单次超过百秒），参数上限暂取1KB
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 16:00:00
+ * @modified 2025-11-03 16:00:00
+ * @version 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SecurityDetectionBenchmark {
+
+    @Param({ "64", "256", "1024" })
+    public int payloadSize;
+
+    private UnifiedSecurityDetectionService detectionService;
+    private String benignInput;
+    private String maliciousInput;
+
+    @Setup
+    public void setUp() {
+        detectionService = BenchmarkFixtures.securityDetectionService(BenchmarkFixtures.configManager(Map.of()));
+        benignInput = BenchmarkFixtures.benignText(payloadSize);
+        maliciousInput = BenchmarkFixtures.maliciousText(payloadSize);
+    }
+
+    @Benchmark
+    public boolean benignInput() {
+        return detectionService.containsMaliciousPatterns(benignInput);
+    }
+
+    @Benchmark
+    public boolean maliciousInput() {
+        return detectionService.containsMaliciousPatterns(maliciousInput);
+    }
+}
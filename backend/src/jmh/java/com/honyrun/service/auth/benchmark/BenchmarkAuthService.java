@@ -0,0 +1,27 @@
+package com.honyrun.service.auth.benchmark;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 切面开销基准的认证服务替身
+ *
+ * 位于com.honyrun.service.auth包下，原实现和当前实现的认证、登录切点及SECURITY类别的采样监控都对其生效
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 15:00:00
+ * @modified 2025-11-06 15:00:00
+ * @version 1.0.0
+ */
+public class BenchmarkAuthService {
+
+    /**
+     * 登录
+     *
+     * @param username 用户名
+     * @param password 密码
+     * @return 访问令牌
+     */
+    public Mono<String> login(String username, String password) {
+        return Mono.just("token-" + username);
+    }
+}
@@ -0,0 +1,38 @@
+package com.honyrun.service.benchmark;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 切面开销基准的业务服务替身
+ *
+ * 位于com.honyrun.service包下，原切面按包名匹配的切点对其生效；
+ * 方法体只返回已完成的Mono，测量结果即为切面本身的开销
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 15:00:00
+ * @modified 2025-11-06 15:00:00
+ * @version 1.0.0
+ */
+public class BenchmarkUserService {
+
+    /**
+     * 查询类方法，原实现下经过性能切面和日志切面
+     *
+     * @param userId 用户ID
+     * @return 用户名
+     */
+    public Mono<String> findUser(Long userId) {
+        return Mono.just("user-" + userId);
+    }
+
+    /**
+     * 写操作，原实现和当前实现都会记录业务操作审计日志
+     *
+     * @param userId   用户ID
+     * @param nickname 昵称
+     * @return 更新的行数
+     */
+    public Mono<Integer> updateUser(Long userId, String nickname) {
+        return Mono.just(1);
+    }
+}
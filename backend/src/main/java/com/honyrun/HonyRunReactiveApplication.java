@@ -3,6 +3,7 @@ package com.honyrun;
 import org.springframework.boot.Banner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -68,6 +69,11 @@ import com.honyrun.config.reactive.BannerConfig;
 })
 public class HonyRunReactiveApplication {
 
+    /**
+     * 启动步骤缓冲容量，覆盖全部Bean的创建步骤，供StartupProfiler统计Bean耗时
+     */
+    private static final int STARTUP_STEP_CAPACITY = 10000;
+
     /**
      * 应用程序主入口方法
      *
@@ -78,6 +84,8 @@ public class HonyRunReactiveApplication {
         SpringApplication application = new SpringApplication(HonyRunReactiveApplication.class);
         // 关闭Spring Boot默认Banner
         application.setBannerMode(Banner.Mode.OFF);
+        // 记录启动步骤（Bean创建等）的耗时，用于启动报告
+        application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEP_CAPACITY));
 
         application.run(args);
     }
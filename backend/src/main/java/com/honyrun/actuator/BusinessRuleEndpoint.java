@@ -0,0 +1,42 @@
+package com.honyrun.actuator;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.service.rule.BusinessRuleEngine;
+
+/**
+ * Actuator 业务规则端点
+ *
+ * GET /actuator/businessrules 返回已缓存规则集的编译摘要（规则数、条件节点数、共享条件数、索引覆盖）与求值次数；
+ * GET /actuator/businessrules/{key} 另外返回该规则集每条规则的求值次数与命中次数，规则集不存在时返回404
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 14:00:00
+ * @modified 2025-11-04 14:00:00
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "businessrules")
+public class BusinessRuleEndpoint {
+
+    private final BusinessRuleEngine businessRuleEngine;
+
+    public BusinessRuleEndpoint(BusinessRuleEngine businessRuleEngine) {
+        this.businessRuleEngine = businessRuleEngine;
+    }
+
+    @ReadOperation
+    public Map<String, Object> ruleSets() {
+        return businessRuleEngine.getStatus();
+    }
+
+    @ReadOperation
+    public Map<String, Object> ruleSet(@Selector String key) {
+        return businessRuleEngine.getRuleSetStatus(key);
+    }
+}
@@ -0,0 +1,59 @@
+package com.honyrun.actuator;
+
+import com.honyrun.service.reactive.ReactiveErrorRecoveryService;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator 熔断器端点
+ *
+ * GET /actuator/circuitbreakers 返回各依赖的熔断器状态、窗口失败率和慢调用率、舱壁并发占用；
+ * POST /actuator/circuitbreakers/{dependency} 在运行时干预单个依赖，所有参数均可省略：
+ * - state：OPEN强制打开，CLOSED强制关闭并清空统计窗口
+ * - maxConcurrentCalls：舱壁最大并发调用数
+ * 写操作由SecurityConfig限制为系统用户，与系统配置接口的权限一致
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 14:00:00
+ * @modified 2025-10-31 14:00:00
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "circuitbreakers")
+@ConditionalOnProperty(name = "honyrun.error-recovery.enabled", havingValue = "true", matchIfMissing = true)
+public class CircuitBreakerEndpoint {
+
+    private final ReactiveErrorRecoveryService errorRecoveryService;
+
+    public CircuitBreakerEndpoint(ReactiveErrorRecoveryService errorRecoveryService) {
+        this.errorRecoveryService = errorRecoveryService;
+    }
+
+    @ReadOperation
+    public Map<String, Object> circuitBreakers() {
+        return errorRecoveryService.getCircuitBreakerStates();
+    }
+
+    @WriteOperation
+    public Map<String, Object> update(@Selector String dependency, @Nullable String state,
+                                      @Nullable Integer maxConcurrentCalls) {
+        if (state != null && !state.isBlank()) {
+            String normalized = state.trim().toUpperCase();
+            if (!"OPEN".equals(normalized) && !"CLOSED".equals(normalized)) {
+                throw new IllegalArgumentException("state只支持OPEN或CLOSED: " + state);
+            }
+            errorRecoveryService.changeCircuitBreakerState(dependency, "OPEN".equals(normalized));
+        }
+        if (maxConcurrentCalls != null) {
+            errorRecoveryService.changeBulkheadLimit(dependency, maxConcurrentCalls);
+        }
+        return errorRecoveryService.getCircuitBreakerStates();
+    }
+}
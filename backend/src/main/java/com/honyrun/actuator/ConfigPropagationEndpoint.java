@@ -0,0 +1,44 @@
+package com.honyrun.actuator;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.service.config.ConfigChangePropagator;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Actuator 配置变更传播端点
+ *
+ * GET /actuator/configpropagation 返回本节点已应用版本、传播延迟与缺口统计，以及各节点已应用版本和落后版本数；
+ * GET /actuator/configpropagation/{version} 返回各节点对该版本的确认及传播延迟（毫秒）
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-02 14:00:00
+ * @modified 2025-11-02 14:00:00
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "configpropagation")
+public class ConfigPropagationEndpoint {
+
+    private final ConfigChangePropagator changePropagator;
+
+    public ConfigPropagationEndpoint(ConfigChangePropagator changePropagator) {
+        this.changePropagator = changePropagator;
+    }
+
+    @ReadOperation
+    public Mono<Map<String, Object>> propagation() {
+        return changePropagator.getStatus();
+    }
+
+    @ReadOperation
+    public Mono<Map<String, Object>> acknowledgements(@Selector long version) {
+        return changePropagator.getAcknowledgements(version);
+    }
+}
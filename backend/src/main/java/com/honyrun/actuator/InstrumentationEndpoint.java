@@ -0,0 +1,69 @@
+package com.honyrun.actuator;
+
+import com.honyrun.aspect.InvocationSampler;
+import com.honyrun.aspect.InvocationSampler.Mode;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Actuator 采样监控端点
+ *
+ * GET /actuator/instrumentation 返回采样配置和各监控目标的调用、记录、慢调用、失败次数；
+ * POST /actuator/instrumentation 在运行时调整采样参数，所有参数均可省略：
+ * - sampleRate：采样比例；同时指定target时只作用于该目标（"类名.方法名"或类名）
+ * - clearTarget：为true时移除target的采样比例覆盖
+ * - slowThresholdMillis：全局慢调用阈值
+ * - mode：TAIL或HEAD
+ * - enabled：是否启用
+ * 写操作由SecurityConfig限制为系统用户，与系统管理接口的权限一致
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 17:00:00
+ * @modified 2025-10-30 17:00:00
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "instrumentation")
+public class InstrumentationEndpoint {
+
+    private final InvocationSampler sampler;
+
+    public InstrumentationEndpoint(InvocationSampler sampler) {
+        this.sampler = sampler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> instrumentation() {
+        return sampler.getStatistics();
+    }
+
+    @WriteOperation
+    public Map<String, Object> update(@Nullable String target, @Nullable Double sampleRate,
+                                      @Nullable Boolean clearTarget, @Nullable Long slowThresholdMillis,
+                                      @Nullable String mode, @Nullable Boolean enabled) {
+        if (target != null && !target.isBlank()) {
+            if (Boolean.TRUE.equals(clearTarget)) {
+                sampler.setSampleRate(target, null);
+            } else if (sampleRate != null) {
+                sampler.setSampleRate(target, sampleRate);
+            }
+        } else if (sampleRate != null) {
+            sampler.setDefaultSampleRate(sampleRate);
+        }
+        if (slowThresholdMillis != null) {
+            sampler.setDefaultSlowThresholdMillis(slowThresholdMillis);
+        }
+        if (mode != null && !mode.isBlank()) {
+            sampler.setMode(Mode.valueOf(mode.trim().toUpperCase()));
+        }
+        if (enabled != null) {
+            sampler.setEnabled(enabled);
+        }
+        return sampler.getStatistics();
+    }
+}
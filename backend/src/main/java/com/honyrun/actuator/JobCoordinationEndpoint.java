@@ -0,0 +1,46 @@
+package com.honyrun.actuator;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.scheduler.coordination.DistributedJobCoordinator;
+import com.honyrun.scheduler.coordination.JobRunRecord;
+
+/**
+ * Actuator 定时任务协调端点
+ *
+ * GET /actuator/jobcoordination 返回本节点ID、存活节点、时钟偏差和各任务最近一次运行记录；
+ * GET /actuator/jobcoordination/{jobName} 返回单个任务在本节点的运行历史，最新的在前
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-01 09:00:00
+ * @modified 2025-11-01 09:00:00
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "jobcoordination")
+public class JobCoordinationEndpoint {
+
+    private final DistributedJobCoordinator jobCoordinator;
+
+    public JobCoordinationEndpoint(DistributedJobCoordinator jobCoordinator) {
+        this.jobCoordinator = jobCoordinator;
+    }
+
+    @ReadOperation
+    public Map<String, Object> coordination() {
+        return jobCoordinator.getCoordinationStatus();
+    }
+
+    @ReadOperation
+    public List<Map<String, Object>> history(@Selector String jobName) {
+        return jobCoordinator.getHistory(jobName).stream()
+                .map(JobRunRecord::toMap)
+                .toList();
+    }
+}
@@ -0,0 +1,36 @@
+package com.honyrun.actuator;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.service.data.pool.ConnectionPoolGovernor;
+
+/**
+ * Actuator 连接池调节端点
+ *
+ * GET /actuator/poolgovernor 返回每个连接通道（OLTP、REPORTING）的当前上限与边界、借出数、排队数、拒绝数、
+ * 最近一次采样与调整决定，以及物理连接池的指标
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 15:00:00
+ * @modified 2025-11-05 15:00:00
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "poolgovernor")
+public class PoolGovernorEndpoint {
+
+    private final ConnectionPoolGovernor connectionPoolGovernor;
+
+    public PoolGovernorEndpoint(ConnectionPoolGovernor connectionPoolGovernor) {
+        this.connectionPoolGovernor = connectionPoolGovernor;
+    }
+
+    @ReadOperation
+    public Map<String, Object> lanes() {
+        return connectionPoolGovernor.getStatus();
+    }
+}
@@ -0,0 +1,45 @@
+package com.honyrun.actuator;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.service.data.telemetry.QueryTelemetryRecorder;
+
+/**
+ * Actuator R2DBC语句遥测端点
+ *
+ * GET /actuator/querytelemetry 返回遥测配置、累计值、连接池状态、按总耗时排序的前N个SQL指纹（默认20，可用top参数调整）与最近的慢查询；
+ * GET /actuator/querytelemetry/{fingerprint} 另外返回该指纹的延迟窗口百分位、慢查询记录和EXPLAIN采样结果，指纹不存在时返回404
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 09:00:00
+ * @modified 2025-11-05 09:00:00
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "querytelemetry")
+public class QueryTelemetryEndpoint {
+
+    private static final int DEFAULT_TOP = 20;
+
+    private final QueryTelemetryRecorder queryTelemetryRecorder;
+
+    public QueryTelemetryEndpoint(QueryTelemetryRecorder queryTelemetryRecorder) {
+        this.queryTelemetryRecorder = queryTelemetryRecorder;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status(@Nullable Integer top) {
+        return queryTelemetryRecorder.getStatus(top == null || top <= 0 ? DEFAULT_TOP : top);
+    }
+
+    @ReadOperation
+    public Map<String, Object> fingerprint(@Selector String fingerprint) {
+        return queryTelemetryRecorder.getFingerprintStatus(fingerprint);
+    }
+}
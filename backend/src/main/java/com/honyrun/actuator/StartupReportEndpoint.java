@@ -0,0 +1,36 @@
+package com.honyrun.actuator;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.config.startup.StartupProfiler;
+
+/**
+ * Actuator 启动报告端点
+ *
+ * GET /actuator/startupreport 返回本次启动的关键时间点、最慢的Bean、各启动阶段与校验任务的耗时、
+ * 预算超限与相比上一次启动的回归项；后台校验任务未结束时对应时间段尚未出现在报告中
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 09:00:00
+ * @modified 2025-11-04 09:00:00
+ * @version 1.0.0
+ */
+@Component
+@Endpoint(id = "startupreport")
+public class StartupReportEndpoint {
+
+    private final StartupProfiler startupProfiler;
+
+    public StartupReportEndpoint(StartupProfiler startupProfiler) {
+        this.startupProfiler = startupProfiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> report() {
+        return startupProfiler.getReport();
+    }
+}
@@ -0,0 +1,65 @@
+package com.honyrun.annotation;
+
+import java.lang.annotation.*;
+
+/**
+ * 采样监控注解
+ *
+ * 标注在方法或类上，使其纳入采样监控（SampledMonitoringAdvisor）。
+ * 未标注的方法也可以通过honyrun.monitoring.instrumentation.targets按类名前缀纳入监控。
+ *
+ * 特性：
+ * - 按固定比例或尾部采样记录调用
+ * - 失败调用和慢调用始终记录
+ * - 采样比例可以在运行时通过/actuator/instrumentation调整
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 17:00:00
+ * @modified 2025-10-30 17:00:00
+ * @version 1.0.0
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Monitored {
+
+    /**
+     * 监控名称，默认为"类名.方法名"
+     *
+     * @return 监控名称
+     */
+    String value() default "";
+
+    /**
+     * 监控类别
+     *
+     * @return 监控类别
+     */
+    Category category() default Category.SERVICE;
+
+    /**
+     * 采样比例，取值[0, 1]，小于0时使用全局配置
+     *
+     * @return 采样比例
+     */
+    double sampleRate() default -1;
+
+    /**
+     * 慢调用阈值（毫秒），小于0时使用全局配置
+     *
+     * @return 慢调用阈值
+     */
+    long slowThresholdMillis() default -1;
+
+    /**
+     * 监控类别枚举
+     */
+    enum Category {
+        /** 业务服务 */
+        SERVICE,
+        /** 数据访问 */
+        REPOSITORY,
+        /** 认证和权限，记录结果同时写入安全事件日志 */
+        SECURITY
+    }
+}
@@ -0,0 +1,465 @@
+package com.honyrun.aspect;
+
+import com.honyrun.annotation.Monitored;
+import com.honyrun.annotation.Monitored.Category;
+import com.honyrun.service.monitoring.ReactivePerformanceMonitoringService;
+import com.honyrun.util.LoggingUtil;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 调用采样器
+ *
+ * 决定哪些方法纳入监控、每次调用是否记录，并把记录结果交给性能监控服务：
+ * - 监控目标：标注@Monitored的方法或类，以及按"全限定类名.方法名"前缀匹配honyrun.monitoring.instrumentation.targets的方法
+ * - TAIL模式（默认）：每次调用都计时，调用结束后按结果决定是否记录，失败和慢调用始终记录，其余按采样比例记录
+ * - HEAD模式：调用开始时决定是否采样，未采样的响应式调用不做任何包装，只捕获同步异常和同步慢调用
+ *
+ * 按比例采样的成功调用以1/采样比例的权重记录，延迟分布和请求数保持无偏。
+ * 监控目标在代理创建时确定，运行时只能调整采样比例、慢调用阈值和模式
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 17:00:00
+ * @modified 2025-10-30 17:00:00
+ * @version 1.0.0
+ */
+@Component
+public class InvocationSampler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvocationSampler.class);
+
+    /**
+     * 始终排除的前缀，避免监控组件自身被监控
+     */
+    private static final String[] EXCLUDED_PREFIXES = {
+        "com.honyrun.service.monitoring.",
+        "com.honyrun.aspect.",
+        "com.honyrun.actuator."
+    };
+
+    private static final String ROOT_PACKAGE = "com.honyrun.";
+
+    /**
+     * 采样模式
+     */
+    public enum Mode {
+        /** 调用结束后按结果决定是否记录 */
+        TAIL,
+        /** 调用开始时决定是否采样 */
+        HEAD
+    }
+
+    private final ObjectProvider<ReactivePerformanceMonitoringService> performanceMonitoringService;
+
+    @Value("${honyrun.monitoring.instrumentation.enabled:true}")
+    private volatile boolean enabled;
+
+    @Value("${honyrun.monitoring.instrumentation.mode:TAIL}")
+    private volatile Mode mode;
+
+    @Value("${honyrun.monitoring.instrumentation.sample-rate:0.1}")
+    private volatile double defaultSampleRate;
+
+    @Value("${honyrun.monitoring.instrumentation.slow-threshold-millis:500}")
+    private volatile long defaultSlowThresholdMillis;
+
+    @Value("${honyrun.monitoring.instrumentation.targets:}")
+    private String targetRules;
+
+    private volatile List<TargetRule> rules = List.of();
+    private final Map<String, Double> rateOverrides = new ConcurrentHashMap<>();
+
+    /**
+     * 运行时类 -> 方法 -> 监控目标，未纳入监控的方法映射到NOT_MONITORED
+     */
+    private final ClassValue<Map<Method, SampledTarget>> targetsByClass = new ClassValue<>() {
+        @Override
+        protected Map<Method, SampledTarget> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+    private final Map<String, SampledTarget> targetsByName = new ConcurrentHashMap<>();
+
+    public InvocationSampler(ObjectProvider<ReactivePerformanceMonitoringService> performanceMonitoringService) {
+        this.performanceMonitoringService = performanceMonitoringService;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        rules = parseRules(targetRules);
+        LoggingUtil.info(logger, "采样监控初始化完成: 模式={}, 采样比例={}, 慢调用阈值={}ms, 目标规则数={}",
+            mode, defaultSampleRate, defaultSlowThresholdMillis, rules.size());
+    }
+
+    // ==================== 目标解析 ====================
+
+    /**
+     * 判断方法是否纳入监控，供切点在代理创建时调用
+     *
+     * @param method      方法
+     * @param targetClass 目标类
+     * @return 是否纳入监控
+     */
+    public boolean matches(Method method, Class<?> targetClass) {
+        return targetOf(method, targetClass) != null;
+    }
+
+    /**
+     * 获取方法对应的监控目标
+     *
+     * @param method      方法
+     * @param targetClass 目标运行时类
+     * @return 监控目标，未纳入监控时返回null
+     */
+    public SampledTarget targetOf(Method method, Class<?> targetClass) {
+        Map<Method, SampledTarget> targets = targetsByClass.get(targetClass);
+        SampledTarget target = targets.get(method);
+        if (target == null) {
+            target = targets.computeIfAbsent(method, m -> resolve(m, targetClass));
+        }
+        return target == SampledTarget.NOT_MONITORED ? null : target;
+    }
+
+    private SampledTarget resolve(Method method, Class<?> targetClass) {
+        if (method.getDeclaringClass() == Object.class) {
+            return SampledTarget.NOT_MONITORED;
+        }
+        Class<?> type = monitoredType(targetClass);
+        if (type == null) {
+            return SampledTarget.NOT_MONITORED;
+        }
+        String qualifiedName = type.getName() + "." + method.getName();
+        for (String excluded : EXCLUDED_PREFIXES) {
+            if (qualifiedName.startsWith(excluded)) {
+                return SampledTarget.NOT_MONITORED;
+            }
+        }
+
+        Method specificMethod = ClassUtils.getMostSpecificMethod(method, type);
+        Monitored annotation = AnnotatedElementUtils.findMergedAnnotation(specificMethod, Monitored.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(type, Monitored.class);
+        }
+        Category category;
+        if (annotation != null) {
+            category = annotation.category();
+        } else {
+            TargetRule rule = matchRule(qualifiedName);
+            if (rule == null) {
+                return SampledTarget.NOT_MONITORED;
+            }
+            category = rule.category();
+        }
+
+        String name = annotation != null && !annotation.value().isEmpty()
+            ? annotation.value() : type.getSimpleName() + "." + method.getName();
+        double annotatedRate = annotation != null ? annotation.sampleRate() : -1;
+        long annotatedThreshold = annotation != null ? annotation.slowThresholdMillis() : -1;
+        SampledTarget target = targetsByName.computeIfAbsent(name,
+            n -> new SampledTarget(n, qualifiedName, category, annotatedRate, annotatedThreshold));
+        refresh(target);
+        LoggingUtil.debug(logger, "纳入采样监控: {}, 类别: {}", name, category);
+        return target;
+    }
+
+    /**
+     * 确定用于匹配和命名的类型：普通Bean取用户类，JDK代理（如数据访问接口）取项目内的接口
+     */
+    private Class<?> monitoredType(Class<?> targetClass) {
+        Class<?> userClass = ClassUtils.getUserClass(targetClass);
+        if (userClass.getName().startsWith(ROOT_PACKAGE)) {
+            return userClass;
+        }
+        if (Proxy.isProxyClass(userClass)) {
+            for (Class<?> candidate : userClass.getInterfaces()) {
+                if (candidate.getName().startsWith(ROOT_PACKAGE)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private TargetRule matchRule(String qualifiedName) {
+        for (TargetRule rule : rules) {
+            if (qualifiedName.startsWith(rule.prefix())) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 解析"前缀=类别"并以逗号分隔的目标规则，省略类别时为SERVICE，按前缀长度从长到短匹配
+     */
+    private List<TargetRule> parseRules(String value) {
+        List<TargetRule> parsed = new ArrayList<>();
+        if (value == null || value.isBlank()) {
+            return parsed;
+        }
+        for (String entry : value.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            int separator = trimmed.indexOf('=');
+            try {
+                String prefix = separator < 0 ? trimmed : trimmed.substring(0, separator).trim();
+                Category category = separator < 0 ? Category.SERVICE
+                    : Category.valueOf(trimmed.substring(separator + 1).trim().toUpperCase());
+                parsed.add(new TargetRule(prefix, category));
+            } catch (IllegalArgumentException e) {
+                LoggingUtil.warn(logger, "忽略格式错误的采样监控目标: {}", trimmed);
+            }
+        }
+        parsed.sort(Comparator.comparingInt((TargetRule rule) -> rule.prefix().length()).reversed());
+        return List.copyOf(parsed);
+    }
+
+    // ==================== 记录 ====================
+
+    /**
+     * 调用结束时判断是否记录并交给性能监控服务
+     *
+     * @param target         监控目标
+     * @param startNanos     开始时间（纳秒）
+     * @param error          异常，成功时为null
+     * @param sampled        是否被按比例采样
+     * @param outcomeTracked 本次调用的结果是否无论采样与否都可见（TAIL模式或同步调用）
+     */
+    void complete(SampledTarget target, long startNanos, Throwable error, boolean sampled, boolean outcomeTracked) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        boolean failed = error != null;
+        boolean slow = elapsedNanos >= target.slowThresholdNanos;
+        if (failed) {
+            target.failed.increment();
+        }
+        if (slow) {
+            target.slow.increment();
+        }
+        if (!failed && !slow && !sampled) {
+            return;
+        }
+        target.captured.increment();
+
+        // 始终可见的失败和慢调用按实际次数记录，其余按采样比例放大
+        long weight = (failed || slow) && outcomeTracked ? 1 : target.weight;
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(elapsedNanos);
+        ReactivePerformanceMonitoringService service = performanceMonitoringService.getIfAvailable();
+        if (service != null) {
+            service.recordMethodPerformance(target.name, elapsedMillis, !failed, weight)
+                .subscribe(null, e -> LoggingUtil.error(logger, "方法性能记录失败: " + target.name, e));
+        }
+
+        if (target.category == Category.SECURITY) {
+            LoggingUtil.logSecurityEvent(
+                failed ? "SECURITY_OPERATION_FAILURE" : "SECURITY_OPERATION_SUCCESS",
+                target.name + (failed ? " 执行失败" : " 执行成功"),
+                "执行时间: " + elapsedMillis + "ms" + (failed ? ", 错误: " + error.getMessage() : ""),
+                failed ? "ERROR" : "INFO"
+            );
+        } else if (failed) {
+            LoggingUtil.error(logger, "方法执行失败: {}, 执行时间: {}ms, 错误: {}",
+                target.name, elapsedMillis, error.getMessage(), error);
+        } else if (slow) {
+            LoggingUtil.warn(logger, "慢调用: {}, 执行时间: {}ms, 阈值: {}ms",
+                target.name, elapsedMillis, TimeUnit.NANOSECONDS.toMillis(target.slowThresholdNanos));
+        } else {
+            LoggingUtil.debug(logger, "采样调用: {}, 执行时间: {}ms", target.name, elapsedMillis);
+        }
+    }
+
+    // ==================== 运行时调整 ====================
+
+    /**
+     * 调整全局采样比例
+     *
+     * @param sampleRate 采样比例，取值[0, 1]
+     */
+    public void setDefaultSampleRate(double sampleRate) {
+        this.defaultSampleRate = checkRate(sampleRate);
+        targetsByName.values().forEach(this::refresh);
+        LoggingUtil.info(logger, "调整全局采样比例: {}", sampleRate);
+    }
+
+    /**
+     * 调整单个目标或单个类型的采样比例，优先于注解和全局配置
+     *
+     * @param name       目标名称（"类名.方法名"）或类名
+     * @param sampleRate 采样比例，为null时移除覆盖
+     */
+    public void setSampleRate(String name, Double sampleRate) {
+        if (sampleRate == null) {
+            rateOverrides.remove(name);
+        } else {
+            rateOverrides.put(name, checkRate(sampleRate));
+        }
+        targetsByName.values().forEach(this::refresh);
+        LoggingUtil.info(logger, "调整采样比例: {} -> {}", name, sampleRate);
+    }
+
+    /**
+     * 调整全局慢调用阈值，不影响注解指定阈值的目标
+     *
+     * @param slowThresholdMillis 慢调用阈值（毫秒）
+     */
+    public void setDefaultSlowThresholdMillis(long slowThresholdMillis) {
+        if (slowThresholdMillis < 0) {
+            throw new IllegalArgumentException("慢调用阈值不能小于0: " + slowThresholdMillis);
+        }
+        this.defaultSlowThresholdMillis = slowThresholdMillis;
+        targetsByName.values().forEach(this::refresh);
+        LoggingUtil.info(logger, "调整慢调用阈值: {}ms", slowThresholdMillis);
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+        LoggingUtil.info(logger, "调整采样模式: {}", mode);
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        LoggingUtil.info(logger, "{}采样监控", enabled ? "启用" : "停用");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * 获取配置和各目标的统计信息
+     *
+     * @return 统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", enabled);
+        result.put("mode", mode.name());
+        result.put("sampleRate", defaultSampleRate);
+        result.put("slowThresholdMillis", defaultSlowThresholdMillis);
+        result.put("rules", rules.stream().map(rule -> rule.prefix() + "=" + rule.category()).toList());
+        result.put("rateOverrides", Map.copyOf(rateOverrides));
+        Map<String, Object> targets = new LinkedHashMap<>();
+        targetsByName.values().stream()
+            .sorted(Comparator.comparing(SampledTarget::getName))
+            .forEach(target -> targets.put(target.name, target.describe()));
+        result.put("targets", targets);
+        return result;
+    }
+
+    private void refresh(SampledTarget target) {
+        Double override = rateOverrides.get(target.name);
+        if (override == null) {
+            override = rateOverrides.get(target.name.substring(0, Math.max(0, target.name.lastIndexOf('.'))));
+        }
+        double rate = override != null ? override
+            : target.annotatedRate >= 0 ? Math.min(target.annotatedRate, 1.0) : defaultSampleRate;
+        long thresholdMillis = target.annotatedThresholdMillis >= 0 ? target.annotatedThresholdMillis
+            : defaultSlowThresholdMillis;
+        target.update(rate, TimeUnit.MILLISECONDS.toNanos(thresholdMillis));
+    }
+
+    private static double checkRate(double sampleRate) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("采样比例必须在[0, 1]之间: " + sampleRate);
+        }
+        return sampleRate;
+    }
+
+    // ==================== 内部类 ====================
+
+    private record TargetRule(String prefix, Category category) {
+    }
+
+    /**
+     * 监控目标，调用路径只读取volatile字段和累加LongAdder
+     */
+    public static final class SampledTarget {
+
+        static final SampledTarget NOT_MONITORED = new SampledTarget("", "", Category.SERVICE, -1, -1);
+
+        private final String name;
+        private final String qualifiedName;
+        private final Category category;
+        private final double annotatedRate;
+        private final long annotatedThresholdMillis;
+
+        private volatile double sampleRate;
+        private volatile long weight = 1;
+        private volatile long slowThresholdNanos = Long.MAX_VALUE;
+
+        private final LongAdder invocations = new LongAdder();
+        private final LongAdder captured = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        SampledTarget(String name, String qualifiedName, Category category, double annotatedRate,
+                      long annotatedThresholdMillis) {
+            this.name = name;
+            this.qualifiedName = qualifiedName;
+            this.category = category;
+            this.annotatedRate = annotatedRate;
+            this.annotatedThresholdMillis = annotatedThresholdMillis;
+        }
+
+        /**
+         * 记录一次调用并决定是否按比例采样
+         *
+         * @return 是否采样
+         */
+        boolean sample() {
+            invocations.increment();
+            double rate = sampleRate;
+            return rate >= 1.0 || (rate > 0 && ThreadLocalRandom.current().nextDouble() < rate);
+        }
+
+        void update(double rate, long thresholdNanos) {
+            this.sampleRate = rate;
+            this.weight = rate > 0 ? Math.max(1, Math.round(1.0 / rate)) : 1;
+            this.slowThresholdNanos = thresholdNanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Category getCategory() {
+            return category;
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("method", qualifiedName);
+            result.put("category", category.name());
+            result.put("sampleRate", sampleRate);
+            result.put("slowThresholdMillis", TimeUnit.NANOSECONDS.toMillis(slowThresholdNanos));
+            result.put("invocations", invocations.sum());
+            result.put("captured", captured.sum());
+            result.put("slow", slow.sum());
+            result.put("failed", failed.sum());
+            return result;
+        }
+    }
+}
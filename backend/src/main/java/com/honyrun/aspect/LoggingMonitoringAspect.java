@@ -2,29 +2,27 @@ package com.honyrun.aspect;
 
 import com.honyrun.util.LoggingUtil;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
 import java.util.Arrays;
 
 /**
  * 日志监控切面
  * 
- * 统一日志记录和审计功能：
- * - 自动记录方法调用日志
- * - 记录方法参数和返回值
- * - 异常日志记录
+ * 统一审计日志记录：
  * - 业务操作审计日志
+ * - 安全操作审计日志
+ * 
+ * 方法调用、返回和异常日志不再按包名逐个方法记录，改由SampledMonitoringAdvisor
+ * 按采样结果输出，失败和慢调用始终记录
  * 
  * @author Mr.Rey Copyright © 2025
  * @created 2025-07-01 15:55:00
- * @modified 2025-07-01 15:55:00
+ * @modified 2025-10-30 17:00:00
  * @version 1.0.0
  */
 @Aspect
@@ -34,167 +32,6 @@ public class LoggingMonitoringAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingMonitoringAspect.class);
 
-    /**
-     * Service层方法执行前日志记录
-     * 
-     * @param joinPoint 连接点
-     */
-    @Before("execution(* com.honyrun.service..*.*(..)) && !execution(* com.honyrun.service.monitoring..*.*(..))")
-    public void logServiceMethodEntry(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        
-        LoggingUtil.debug(logger, "进入Service方法: {}, 参数: {}", methodName, Arrays.toString(args));
-    }
-
-    /**
-     * Service层方法执行后日志记录
-     * 
-     * @param joinPoint 连接点
-     * @param result 返回结果
-     */
-    @AfterReturning(pointcut = "execution(* com.honyrun.service..*.*(..)) && !execution(* com.honyrun.service.monitoring..*.*(..))", 
-                   returning = "result")
-    public void logServiceMethodExit(JoinPoint joinPoint, Object result) {
-        String methodName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
-        
-        if (result instanceof Mono || result instanceof Flux) {
-            LoggingUtil.debug(logger, "Service方法执行完成: {}, 返回响应式类型: {}", 
-                methodName, result.getClass().getSimpleName());
-        } else {
-            LoggingUtil.debug(logger, "Service方法执行完成: {}, 返回值类型: {}", 
-                methodName, result != null ? result.getClass().getSimpleName() : "null");
-        }
-    }
-
-    /**
-     * Service层方法异常日志记录
-     * 
-     * @param joinPoint 连接点
-     * @param exception 异常
-     */
-    @AfterThrowing(pointcut = "execution(* com.honyrun.service..*.*(..)) && !execution(* com.honyrun.service.monitoring..*.*(..))", 
-                  throwing = "exception")
-    public void logServiceMethodException(JoinPoint joinPoint, Throwable exception) {
-        String methodName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        
-        LoggingUtil.error(logger, "Service方法执行异常: {}, 参数: {}, 异常: {}", 
-            methodName, Arrays.toString(args), exception.getMessage(), exception);
-    }
-
-    /**
-     * Controller层方法环绕日志记录
-     * 
-     * @param joinPoint 连接点
-     * @return 方法执行结果
-     * @throws Throwable 方法执行异常
-     */
-    @Around("execution(* com.honyrun.controller..*.*(..))")
-    public Object logControllerMethod(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        
-        LoggingUtil.info(logger, "API请求开始: {}, 参数: {}", methodName, Arrays.toString(args));
-        
-        long startTime = System.currentTimeMillis();
-        
-        try {
-            Object result = joinPoint.proceed();
-            
-            // 处理响应式返回类型
-            if (result instanceof Mono) {
-                return ((Mono<?>) result)
-                    .doOnSuccess(value -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        LoggingUtil.info(logger, "API请求成功: {}, 执行时间: {}ms", methodName, executionTime);
-                    })
-                    .doOnError(error -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        LoggingUtil.error(logger, "API请求失败: {}, 执行时间: {}ms, 错误: {}", 
-                            methodName, executionTime, error.getMessage(), error);
-                    });
-            } else if (result instanceof Flux) {
-                return ((Flux<?>) result)
-                    .doOnComplete(() -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        LoggingUtil.info(logger, "API请求完成: {}, 执行时间: {}ms", methodName, executionTime);
-                    })
-                    .doOnError(error -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        LoggingUtil.error(logger, "API请求失败: {}, 执行时间: {}ms, 错误: {}", 
-                            methodName, executionTime, error.getMessage(), error);
-                    });
-            } else {
-                // 同步方法
-                long executionTime = System.currentTimeMillis() - startTime;
-                LoggingUtil.info(logger, "API请求完成: {}, 执行时间: {}ms", methodName, executionTime);
-                return result;
-            }
-        } catch (Throwable throwable) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            LoggingUtil.error(logger, "API请求异常: {}, 执行时间: {}ms, 异常: {}", 
-                methodName, executionTime, throwable.getMessage(), throwable);
-            throw throwable;
-        }
-    }
-
-    /**
-     * Repository层方法环绕日志记录
-     * 
-     * @param joinPoint 连接点
-     * @return 方法执行结果
-     * @throws Throwable 方法执行异常
-     */
-    @Around("execution(* com.honyrun.repository..*.*(..))")
-    public Object logRepositoryMethod(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-        
-        LoggingUtil.debug(logger, "数据库操作开始: {}, 参数: {}", methodName, Arrays.toString(args));
-        
-        long startTime = System.currentTimeMillis();
-        
-        try {
-            Object result = joinPoint.proceed();
-            
-            // 处理响应式返回类型
-            if (result instanceof Mono) {
-                return ((Mono<?>) result)
-                    .doOnSuccess(value -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        LoggingUtil.debug(logger, "数据库操作成功: {}, 执行时间: {}ms", methodName, executionTime);
-                    })
-                    .doOnError(error -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        LoggingUtil.error(logger, "数据库操作失败: {}, 执行时间: {}ms, 错误: {}", 
-                            methodName, executionTime, error.getMessage(), error);
-                    });
-            } else if (result instanceof Flux) {
-                return ((Flux<?>) result)
-                    .doOnComplete(() -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        LoggingUtil.debug(logger, "数据库操作完成: {}, 执行时间: {}ms", methodName, executionTime);
-                    })
-                    .doOnError(error -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        LoggingUtil.error(logger, "数据库操作失败: {}, 执行时间: {}ms, 错误: {}", 
-                            methodName, executionTime, error.getMessage(), error);
-                    });
-            } else {
-                // 同步方法
-                long executionTime = System.currentTimeMillis() - startTime;
-                LoggingUtil.debug(logger, "数据库操作完成: {}, 执行时间: {}ms", methodName, executionTime);
-                return result;
-            }
-        } catch (Throwable throwable) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            LoggingUtil.error(logger, "数据库操作异常: {}, 执行时间: {}ms, 异常: {}", 
-                methodName, executionTime, throwable.getMessage(), throwable);
-            throw throwable;
-        }
-    }
-
     /**
      * 业务操作审计日志记录
      * 
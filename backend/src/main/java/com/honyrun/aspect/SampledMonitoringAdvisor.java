@@ -0,0 +1,106 @@
+package com.honyrun.aspect;
+
+import com.honyrun.aspect.InvocationSampler.Mode;
+import com.honyrun.aspect.InvocationSampler.SampledTarget;
+import org.aopalliance.aop.Advice;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.Pointcut;
+import org.springframework.aop.support.AbstractPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.Method;
+
+/**
+ * 采样监控切面
+ *
+ * 替代按包名拦截所有Service和Repository方法的@Around切面：
+ * - 切点在代理创建时按@Monitored注解和配置的目标规则静态匹配，未纳入监控的方法不经过拦截器
+ * - 拦截器直接实现MethodInterceptor，不构造JoinPoint、不拼接方法名
+ * - 是否记录由InvocationSampler决定，未记录的调用只有一次计时和一次计数
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 17:00:00
+ * @modified 2025-10-30 17:00:00
+ * @version 1.0.0
+ */
+@Component
+public class SampledMonitoringAdvisor extends AbstractPointcutAdvisor {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient InvocationSampler sampler;
+    private final transient Pointcut pointcut;
+    private final transient Advice advice;
+
+    public SampledMonitoringAdvisor(InvocationSampler sampler) {
+        this.sampler = sampler;
+        this.pointcut = new StaticMethodMatcherPointcut() {
+            @Override
+            public boolean matches(Method method, Class<?> targetClass) {
+                return sampler.matches(method, targetClass);
+            }
+        };
+        this.advice = (MethodInterceptor) this::invoke;
+    }
+
+    /**
+     * 与原PerformanceMonitoringAspect的顺序一致，在ExposeInvocationInterceptor之后、审计切面之前执行
+     */
+    @Override
+    public int getOrder() {
+        return 100;
+    }
+
+    @Override
+    public Pointcut getPointcut() {
+        return pointcut;
+    }
+
+    @Override
+    public Advice getAdvice() {
+        return advice;
+    }
+
+    private Object invoke(MethodInvocation invocation) throws Throwable {
+        Object target = invocation.getThis();
+        SampledTarget sampledTarget = target != null && sampler.isEnabled()
+            ? sampler.targetOf(invocation.getMethod(), target.getClass()) : null;
+        if (sampledTarget == null) {
+            return invocation.proceed();
+        }
+
+        boolean sampled = sampledTarget.sample();
+        boolean tail = sampler.getMode() == Mode.TAIL;
+        long startNanos = System.nanoTime();
+        Object result;
+        try {
+            result = invocation.proceed();
+        } catch (Throwable throwable) {
+            sampler.complete(sampledTarget, startNanos, throwable, sampled, true);
+            throw throwable;
+        }
+
+        if (result instanceof Mono<?> mono) {
+            if (!tail && !sampled) {
+                return mono;
+            }
+            return mono
+                .doOnSuccess(value -> sampler.complete(sampledTarget, startNanos, null, sampled, tail))
+                .doOnError(error -> sampler.complete(sampledTarget, startNanos, error, sampled, tail));
+        }
+        if (result instanceof Flux<?> flux) {
+            if (!tail && !sampled) {
+                return flux;
+            }
+            return flux
+                .doOnComplete(() -> sampler.complete(sampledTarget, startNanos, null, sampled, tail))
+                .doOnError(error -> sampler.complete(sampledTarget, startNanos, error, sampled, tail));
+        }
+        sampler.complete(sampledTarget, startNanos, null, sampled, true);
+        return result;
+    }
+}
@@ -2,12 +2,9 @@ package com.honyrun.aspect;
 
 import com.honyrun.util.LoggingUtil;
 import org.aspectj.lang.JoinPoint;
-import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Flux;
-import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.util.concurrent.ConcurrentHashMap;
@@ -22,9 +19,12 @@ import java.util.concurrent.atomic.AtomicLong;
  * - 可疑操作检测
  * - 安全事件统计
  *
+ * 认证和权限服务的执行结果由SampledMonitoringAdvisor以SECURITY类别记录，
+ * 失败始终写入安全事件日志，成功按采样比例写入
+ *
  * @author Mr.Rey Copyright © 2025
  * @created 2025-07-01 16:00:00
- * @modified 2025-07-01 16:00:00
+ * @modified 2025-10-30 17:00:00
  * @version 1.0.0
  */
 @Aspect
@@ -40,122 +40,6 @@ public class SecurityMonitoringAspect {
     private static final int SUSPICIOUS_LOGIN_ATTEMPTS = 5;
     private static final int SUSPICIOUS_ACCESS_ATTEMPTS = 10;
 
-    /**
-     * 监控认证服务方法
-     *
-     * @param joinPoint 连接点
-     * @return 方法执行结果
-     * @throws Throwable 方法执行异常
-     */
-    @Around("execution(* com.honyrun.service.auth..*.*(..))")
-    public Object monitorAuthService(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-
-        LoggingUtil.logSecurityEvent(
-            "AUTH_OPERATION_START",
-            methodName,
-            sanitizeArgs(args),
-            "INFO"
-        );
-
-        long startTime = System.currentTimeMillis();
-
-        try {
-            Object result = joinPoint.proceed();
-
-            // 处理响应式返回类型
-            if (result instanceof Mono) {
-                return ((Mono<?>) result)
-                    .doOnSuccess(value -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        recordSuccessfulAuthOperation(methodName, executionTime);
-                    })
-                    .doOnError(error -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        recordFailedAuthOperation(methodName, error, executionTime);
-                    });
-            } else if (result instanceof Flux) {
-                return ((Flux<?>) result)
-                    .doOnComplete(() -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        recordSuccessfulAuthOperation(methodName, executionTime);
-                    })
-                    .doOnError(error -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        recordFailedAuthOperation(methodName, error, executionTime);
-                    });
-            } else {
-                // 同步方法
-                long executionTime = System.currentTimeMillis() - startTime;
-                recordSuccessfulAuthOperation(methodName, executionTime);
-                return result;
-            }
-        } catch (Throwable throwable) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            recordFailedAuthOperation(methodName, throwable, executionTime);
-            throw throwable;
-        }
-    }
-
-    /**
-     * 监控权限验证方法
-     *
-     * @param joinPoint 连接点
-     * @return 方法执行结果
-     * @throws Throwable 方法执行异常
-     */
-    @Around("execution(* com.honyrun.service.security..*.*(..))")
-    public Object monitorSecurityService(ProceedingJoinPoint joinPoint) throws Throwable {
-        String methodName = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
-        Object[] args = joinPoint.getArgs();
-
-        LoggingUtil.logSecurityEvent(
-            "SECURITY_CHECK_START",
-            methodName,
-            sanitizeArgs(args),
-            "INFO"
-        );
-
-        long startTime = System.currentTimeMillis();
-
-        try {
-            Object result = joinPoint.proceed();
-
-            // 处理响应式返回类型
-            if (result instanceof Mono) {
-                return ((Mono<?>) result)
-                    .doOnSuccess(value -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        recordSuccessfulSecurityCheck(methodName, executionTime);
-                    })
-                    .doOnError(error -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        recordFailedSecurityCheck(methodName, error, executionTime);
-                    });
-            } else if (result instanceof Flux) {
-                return ((Flux<?>) result)
-                    .doOnComplete(() -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        recordSuccessfulSecurityCheck(methodName, executionTime);
-                    })
-                    .doOnError(error -> {
-                        long executionTime = System.currentTimeMillis() - startTime;
-                        recordFailedSecurityCheck(methodName, error, executionTime);
-                    });
-            } else {
-                // 同步方法
-                long executionTime = System.currentTimeMillis() - startTime;
-                recordSuccessfulSecurityCheck(methodName, executionTime);
-                return result;
-            }
-        } catch (Throwable throwable) {
-            long executionTime = System.currentTimeMillis() - startTime;
-            recordFailedSecurityCheck(methodName, throwable, executionTime);
-            throw throwable;
-        }
-    }
-
     /**
      * 监控登录操作
      *
@@ -281,95 +165,6 @@ public class SecurityMonitoringAspect {
 
     // ==================== 私有辅助方法 ====================
 
-    /**
-     * 记录成功的认证操作
-     *
-     * @param methodName 方法名
-     * @param executionTime 执行时间
-     */
-    private void recordSuccessfulAuthOperation(String methodName, long executionTime) {
-        LoggingUtil.logSecurityEvent(
-            "AUTH_OPERATION_SUCCESS",
-            methodName + " 执行成功",
-            "执行时间: " + executionTime + "ms",
-            "INFO"
-        );
-    }
-
-    /**
-     * 记录失败的认证操作
-     *
-     * @param methodName 方法名
-     * @param error 错误
-     * @param executionTime 执行时间
-     */
-    private void recordFailedAuthOperation(String methodName, Throwable error, long executionTime) {
-        incrementSecurityEventCount("AUTH_FAILURE_" + methodName);
-
-        LoggingUtil.logSecurityEvent(
-            "AUTH_OPERATION_FAILURE",
-            methodName + " 执行失败",
-            "执行时间: " + executionTime + "ms, 错误: " + error.getMessage(),
-            "ERROR"
-        );
-    }
-
-    /**
-     * 记录成功的安全检查
-     *
-     * @param methodName 方法名
-     * @param executionTime 执行时间
-     */
-    private void recordSuccessfulSecurityCheck(String methodName, long executionTime) {
-        LoggingUtil.logSecurityEvent(
-            "SECURITY_CHECK_SUCCESS",
-            methodName + " 安全检查通过",
-            "执行时间: " + executionTime + "ms",
-            "INFO"
-        );
-    }
-
-    /**
-     * 记录失败的安全检查
-     *
-     * @param methodName 方法名
-     * @param error 错误
-     * @param executionTime 执行时间
-     */
-    private void recordFailedSecurityCheck(String methodName, Throwable error, long executionTime) {
-        incrementSecurityEventCount("SECURITY_CHECK_FAILURE_" + methodName);
-
-        LoggingUtil.logSecurityEvent(
-            "SECURITY_CHECK_FAILURE",
-            methodName + " 安全检查失败",
-            "执行时间: " + executionTime + "ms, 错误: " + error.getMessage(),
-            "ERROR"
-        );
-    }
-
-    /**
-     * 清理参数，避免记录敏感信息
-     *
-     * @param args 原始参数
-     * @return 清理后的参数字符串
-     */
-    private String sanitizeArgs(Object[] args) {
-        if (args == null || args.length == 0) {
-            return "[]";
-        }
-
-        StringBuilder sb = new StringBuilder("[");
-        for (int i = 0; i < args.length; i++) {
-            if (i > 0) {
-                sb.append(", ");
-            }
-            sb.append("[SANITIZED]");
-        }
-        sb.append("]");
-
-        return sb.toString();
-    }
-
     /**
      * 从参数中提取用户名
      *
@@ -0,0 +1,299 @@
+package com.honyrun.config;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.honyrun.util.LoggingUtil;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 不可变配置快照
+ *
+ * 一个快照固定了某一时刻的数据库配置（环境特定配置与通用配置），
+ * 配置键在首次访问时按完整优先级解析一次并记忆，未命中的键同样记忆为负缓存条目，
+ * 之后的读取只有一次 ConcurrentHashMap 查找，不再访问环境变量、系统属性或数据库。
+ * 类型转换结果与对应的 Mono 也在条目上惰性缓存，请求路径上的读取不产生分配。
+ *
+ * 配置优先级（从高到低）：
+ * 1. 环境变量（键名转大写、点号替换为下划线）
+ * 2. 系统属性
+ * 3. 配置文件属性（Spring Environment，honyrun.path.* 取路径配置属性）
+ * 4. 数据库环境特定配置
+ * 5. 数据库通用配置
+ *
+ * 快照本身不会变化，刷新时由 UnifiedConfigManager 构建新快照并原子替换。
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-02 09:00:00
+ * @modified 2025-11-02 09:00:00
+ * @version 1.0.0
+ */
+final class ConfigSnapshot {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshot.class);
+
+    /**
+     * 负缓存条目，所有未命中的键共享
+     */
+    private static final Entry NEGATIVE = new Entry(null, null, null);
+
+    /**
+     * 类型转换失败标记
+     */
+    private static final Object INVALID = new Object();
+
+    private final long version;
+    private final LocalDateTime createdAt;
+    private final Map<String, String> environmentDbConfigs;
+    private final Map<String, String> generalDbConfigs;
+    private final Function<String, String> fileLookup;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Function<String, Entry> resolver = this::resolve;
+
+    /**
+     * @param version              快照版本，单调递增
+     * @param environmentDbConfigs 数据库环境特定配置
+     * @param generalDbConfigs     数据库通用配置
+     * @param fileLookup           配置文件属性查找函数
+     */
+    ConfigSnapshot(long version, Map<String, String> environmentDbConfigs, Map<String, String> generalDbConfigs,
+                   Function<String, String> fileLookup) {
+        this.version = version;
+        this.createdAt = LocalDateTime.now();
+        this.environmentDbConfigs = Map.copyOf(environmentDbConfigs);
+        this.generalDbConfigs = Map.copyOf(generalDbConfigs);
+        this.fileLookup = fileLookup;
+    }
+
+    /**
+     * 基于新的数据库配置派生下一版本快照，并预先解析当前快照中已访问过的键，
+     * 使替换后的首次读取不必再走解析流程
+     *
+     * @param nextVersion          新版本号
+     * @param environmentDbConfigs 数据库环境特定配置
+     * @param generalDbConfigs     数据库通用配置
+     * @return 新快照
+     */
+    ConfigSnapshot next(long nextVersion, Map<String, String> environmentDbConfigs,
+                        Map<String, String> generalDbConfigs) {
+        ConfigSnapshot next = new ConfigSnapshot(nextVersion, environmentDbConfigs, generalDbConfigs, fileLookup);
+        for (String key : entries.keySet()) {
+            next.lookup(key);
+        }
+        return next;
+    }
+
+    /**
+     * 查找配置条目，未命中时返回共享的负缓存条目
+     *
+     * @param key 配置键名
+     * @return 配置条目
+     */
+    Entry lookup(String key) {
+        Entry entry = entries.get(key);
+        return entry != null ? entry : entries.computeIfAbsent(key, resolver);
+    }
+
+    /**
+     * 获取原始字符串配置值
+     *
+     * @param key 配置键名
+     * @return 配置值，不存在时为null
+     */
+    String value(String key) {
+        return lookup(key).value;
+    }
+
+    long version() {
+        return version;
+    }
+
+    LocalDateTime createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * 快照统计信息：已解析键数、负缓存键数及各来源命中数
+     *
+     * @return 统计信息
+     */
+    Map<String, Object> stats() {
+        Map<String, Integer> bySource = new TreeMap<>();
+        int negative = 0;
+        for (Entry entry : entries.values()) {
+            if (entry == NEGATIVE) {
+                negative++;
+            } else {
+                bySource.merge(entry.source, 1, Integer::sum);
+            }
+        }
+        return Map.of(
+                "version", version,
+                "createdAt", createdAt.toString(),
+                "resolvedKeys", entries.size(),
+                "negativeKeys", negative,
+                "environmentDbKeys", environmentDbConfigs.size(),
+                "generalDbKeys", generalDbConfigs.size(),
+                "sources", bySource);
+    }
+
+    private Entry resolve(String key) {
+        String value = System.getenv(key.toUpperCase().replace(".", "_"));
+        if (value != null) {
+            return new Entry(key, value, "ENV");
+        }
+        value = System.getProperty(key);
+        if (value != null) {
+            return new Entry(key, value, "SYSTEM");
+        }
+        try {
+            value = fileLookup.apply(key);
+        } catch (IllegalArgumentException e) {
+            // 占位符无法解析时按未配置处理
+            LoggingUtil.warn(logger, "Failed to resolve property file config: {}, {}", key, e.getMessage());
+            value = null;
+        }
+        if (value != null) {
+            return new Entry(key, value, "FILE");
+        }
+        value = environmentDbConfigs.get(key);
+        if (value != null) {
+            return new Entry(key, value, "DB_ENVIRONMENT");
+        }
+        value = generalDbConfigs.get(key);
+        if (value != null) {
+            return new Entry(key, value, "DB_GENERAL");
+        }
+        return NEGATIVE;
+    }
+
+    /**
+     * 转换配置值到指定类型，无法转换时返回null
+     *
+     * @param key        配置键名
+     * @param value      原始值
+     * @param targetType 目标类型
+     * @return 转换后的值
+     */
+    private static Object convert(String key, String value, Class<?> targetType) {
+        String text = value.trim();
+        try {
+            if (targetType == String.class) {
+                return value;
+            } else if (targetType == Integer.class) {
+                return Integer.valueOf(text);
+            } else if (targetType == Long.class) {
+                return Long.valueOf(text);
+            } else if (targetType == Float.class) {
+                return Float.valueOf(text);
+            } else if (targetType == Double.class) {
+                return Double.valueOf(text);
+            } else if (targetType == Boolean.class) {
+                return "true".equalsIgnoreCase(text) || "1".equals(text);
+            } else if (targetType == Duration.class) {
+                return parseDuration(text);
+            }
+        } catch (RuntimeException e) {
+            LoggingUtil.warn(logger, "Failed to convert config {} = {} to {}, treating as absent",
+                    key, value, targetType.getSimpleName());
+            return null;
+        }
+        throw new IllegalArgumentException("Unsupported target type: " + targetType);
+    }
+
+    /**
+     * 支持格式: PT30M (ISO-8601), 30s/30m/30h/30d, 30 (默认分钟)
+     */
+    private static Duration parseDuration(String text) {
+        if (text.startsWith("P")) {
+            return Duration.parse(text);
+        }
+        if (text.matches("\\d+[smhd]")) {
+            long amount = Long.parseLong(text.substring(0, text.length() - 1));
+            return switch (text.charAt(text.length() - 1)) {
+                case 's' -> Duration.ofSeconds(amount);
+                case 'm' -> Duration.ofMinutes(amount);
+                case 'h' -> Duration.ofHours(amount);
+                default -> Duration.ofDays(amount);
+            };
+        }
+        return Duration.ofMinutes(Long.parseLong(text));
+    }
+
+    /**
+     * 配置条目，记录原始值、来源以及惰性缓存的类型值和 Mono
+     */
+    static final class Entry {
+        private final String key;
+        private final String value;
+        private final String source;
+        private final Map<Class<?>, Object> typedValues;
+        private final Map<Class<?>, Mono<?>> monos;
+
+        private Entry(String key, String value, String source) {
+            this.key = key;
+            this.value = value;
+            this.source = source;
+            this.typedValues = value == null ? Map.of() : new ConcurrentHashMap<>(4);
+            this.monos = value == null ? Map.of() : new ConcurrentHashMap<>(4);
+        }
+
+        /**
+         * @return 原始值，负缓存条目为null
+         */
+        String value() {
+            return value;
+        }
+
+        /**
+         * @return 命中的配置来源，负缓存条目为null
+         */
+        String source() {
+            return source;
+        }
+
+        /**
+         * 获取类型化的配置值，不存在或无法转换时返回null
+         *
+         * @param targetType 目标类型
+         * @return 类型化的配置值
+         */
+        <T> T typed(Class<T> targetType) {
+            if (value == null) {
+                return null;
+            }
+            Object cached = typedValues.get(targetType);
+            if (cached == null) {
+                Object converted = convert(key, value, targetType);
+                cached = typedValues.computeIfAbsent(targetType, type -> converted != null ? converted : INVALID);
+            }
+            return cached == INVALID ? null : targetType.cast(cached);
+        }
+
+        /**
+         * 获取包装类型化配置值的 Mono，不存在或无法转换时为空 Mono
+         *
+         * @param targetType 目标类型
+         * @return 缓存的 Mono 实例
+         */
+        @SuppressWarnings("unchecked")
+        <T> Mono<T> mono(Class<T> targetType) {
+            if (value == null) {
+                return Mono.empty();
+            }
+            Mono<?> mono = monos.get(targetType);
+            if (mono == null) {
+                mono = monos.computeIfAbsent(targetType, type -> Mono.justOrEmpty(typed(targetType)));
+            }
+            return (Mono<T>) mono;
+        }
+    }
+}
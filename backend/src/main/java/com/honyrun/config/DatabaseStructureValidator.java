@@ -2,10 +2,11 @@ package com.honyrun.config;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
+import java.util.Set;
+
 import org.springframework.stereotype.Component;
 
+import com.honyrun.config.startup.StartupValidationTask;
 import com.honyrun.util.LoggingUtil;
 
 import io.r2dbc.spi.Connection;
@@ -15,13 +16,15 @@ import reactor.core.publisher.Mono;
 /**
  * 数据库结构验证器
  * 在应用启动时自动验证关键表结构，确保数据库与应用期望一致
+ * 作为启动校验任务在必备组件连接验证通过后执行，不阻塞应用就绪
  *
  * @author: Mr.Rey Copyright © 2025
  * @created: 2025-10-25 19:01:56
- * @version: 1.0.0
+ * @modified: 2025-11-04 09:00:00
+ * @version: 1.0.1
  */
 @Component
-public class DatabaseStructureValidator {
+public class DatabaseStructureValidator implements StartupValidationTask {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseStructureValidator.class);
 
@@ -36,25 +39,38 @@ public class DatabaseStructureValidator {
         this.connectionFactory = connectionFactory;
     }
 
+    @Override
+    public String getName() {
+        return "database-structure";
+    }
+
+    /**
+     * 数据库连接不可用时表结构验证没有意义，依赖必备组件连接验证
+     */
+    @Override
+    public Set<String> getDependencies() {
+        return Set.of("essential-components");
+    }
+
     /**
      * 应用启动完成后验证数据库表结构
      */
-    @EventListener(ApplicationReadyEvent.class)
-    public void validateTableStructure() {
+    @Override
+    public Mono<Void> validate() {
         LoggingUtil.info(logger, "开始验证数据库表结构...");
 
-        validateUsersTable()
-                .doOnSuccess(result -> {
+        return validateUsersTable()
+                .flatMap(result -> {
                     if (result) {
                         LoggingUtil.info(logger, "数据库表结构验证通过");
-                    } else {
-                        LoggingUtil.error(logger, "数据库表结构验证失败");
+                        return Mono.<Void>empty();
                     }
+                    LoggingUtil.error(logger, "数据库表结构验证失败");
+                    return Mono.<Void>error(new IllegalStateException("数据库表结构验证失败"));
                 })
                 .doOnError(error -> {
                     LoggingUtil.error(logger, "数据库表结构验证异常: " + error.getMessage(), error);
-                })
-                .subscribe();
+                });
     }
 
     /**
@@ -154,4 +170,4 @@ public class DatabaseStructureValidator {
                 Connection::close);
     }
 }
-
\ No newline at end of file
+
@@ -1,10 +1,12 @@
 package com.honyrun.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import com.honyrun.security.EventLoopGuardingPasswordEncoder;
 import com.honyrun.security.ValidatingPasswordEncoder;
 
 /**
@@ -16,13 +18,15 @@ import com.honyrun.security.ValidatingPasswordEncoder;
  * 避免在注入时产生歧义。这是Spring Security推荐的最佳实践。
  *
  * 【安全特性】：
- * - 使用BCryptPasswordEncoder(强度12)提供高强度密码加密
+ * - 使用BCryptPasswordEncoder(默认强度12，可通过honyrun.security.password.bcrypt-strength调整)提供高强度密码加密
  * - ValidatingPasswordEncoder包装器确保输入验证的一致性
  * - 对空值和非法输入抛出统一的异常消息
  *
  * 【性能考虑】：
  * - BCrypt强度12在安全性和性能之间取得平衡
  * - 单例模式减少对象创建开销
+ * - 业务代码通过PasswordHashingService在专用线程池中哈希，EventLoopGuardingPasswordEncoder检测事件循环上的直接调用
+ * - 调整强度后，低于当前强度的已存储哈希在用户下次登录时透明升级
  *
  * @author Mr.Rey Copyright © 2025
  * @version 2.1.0
@@ -52,6 +56,8 @@ public class PasswordEncoderConfig {
      * - 保持@Primary注解确保全局唯一性
      * - 在测试环境中会被TestJwtSecurityConfig中的测试Bean覆盖
      *
+     * @param bcryptStrength BCrypt强度（成本因子）
+     * @param eventLoopGuard 事件循环阻塞检测模式
      * @return ValidatingPasswordEncoder包装的BCryptPasswordEncoder
      * @author Mr.Rey Copyright © 2025
      * @since 2025-07-01 优化注释说明
@@ -60,8 +66,11 @@ public class PasswordEncoderConfig {
      */
     @Bean("productionPasswordEncoder")
     @Primary
-    public PasswordEncoder passwordEncoder() {
-        return new ValidatingPasswordEncoder(new BCryptPasswordEncoder(12));
+    public PasswordEncoder passwordEncoder(
+            @Value("${honyrun.security.password.bcrypt-strength:12}") int bcryptStrength,
+            @Value("${honyrun.security.password.hashing.event-loop-guard:WARN}") EventLoopGuardingPasswordEncoder.Mode eventLoopGuard) {
+        return new ValidatingPasswordEncoder(
+                new EventLoopGuardingPasswordEncoder(new BCryptPasswordEncoder(bcryptStrength), eventLoopGuard));
     }
 }
 
@@ -1,17 +1,19 @@
 package com.honyrun.config;
 
 import java.time.Duration;
-import java.time.LocalDateTime;
 import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 
 import com.honyrun.config.properties.HonyRunProperties;
@@ -19,6 +21,7 @@ import com.honyrun.config.properties.JwtProperties;
 import com.honyrun.config.properties.NettyProperties;
 import com.honyrun.config.properties.PathConfigProperties;
 import com.honyrun.config.properties.ReactiveProperties;
+import com.honyrun.config.system.DynamicConfigRefresher;
 import com.honyrun.config.system.EnvironmentConfigProcessor;
 import com.honyrun.config.system.SystemConfigManager;
 import com.honyrun.model.entity.system.SystemConfig;
@@ -27,7 +30,6 @@ import com.honyrun.util.LoggingUtil;
 import jakarta.annotation.PostConstruct;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 /**
  * 统一配置管理器
@@ -54,15 +56,19 @@ import reactor.core.scheduler.Schedulers;
  * 配置优先级（从高到低）：
  * 1. 环境变量
  * 2. 系统属性
- * 3. 数据库环境特定配置
- * 4. 数据库通用配置
- * 5. 配置文件属性
+ * 3. 配置文件属性
+ * 4. 数据库环境特定配置
+ * 5. 数据库通用配置
+ *
+ * 所有读取都落在当前的不可变配置快照（ConfigSnapshot）上：键在快照内按上述优先级解析一次，
+ * 未命中的键同样缓存，读取为一次内存查找。应用就绪、DynamicConfigRefresher 刷新、
+ * 配置变更事件以及本类的写入/清缓存操作都会重新加载数据库配置并原子替换快照。
  *
  * @author Mr.Rey Copyright © 2025
- * @version 2.1.0
+ * @version 2.2.0
  * @created 2025-07-01 15:45:00
- * @modified 2025-10-26 01:36:12
- *           修复循环依赖问题，使用ApplicationContext延迟获取EnvironmentConfigProcessor
+ * @modified 2025-11-02 09:00:00
+ *           配置读取改为不可变快照，支持负缓存与事件驱动的原子刷新
  *           Copyright © 2025 HonyRun. All rights reserved.
  */
 @Configuration
@@ -123,9 +129,14 @@ public class UnifiedConfigManager {
     }
 
     /**
-     * 配置缓存
+     * 当前配置快照，刷新时整体原子替换
      */
-    private final Map<String, ConfigCacheEntry> configCache = new ConcurrentHashMap<>();
+    private final AtomicReference<ConfigSnapshot> snapshot = new AtomicReference<>();
+
+    /**
+     * 快照版本序列，保证较慢的旧刷新不会覆盖较新的快照
+     */
+    private final AtomicLong snapshotVersion = new AtomicLong();
 
     /**
      * 配置管理器状态
@@ -137,8 +148,8 @@ public class UnifiedConfigManager {
         LoggingUtil.info(logger, "Initializing unified configuration manager");
 
         try {
-            // 初始化配置缓存
-            initializeConfigCache();
+            // 初始化配置快照（此时数据库配置尚未加载，应用就绪后刷新）
+            initializeConfigSnapshot();
 
             // 验证配置完整性
             validateConfigurations();
@@ -182,41 +193,15 @@ public class UnifiedConfigManager {
 
     /**
      * 获取字符串配置值（同步方法）
-     * 按优先级顺序查找配置值
+     * 从当前配置快照读取，按优先级顺序解析
      *
      * @param configKey 配置键名
      * @param defaultValue 默认值
      * @return 配置值
      */
     public String getProperty(String configKey, String defaultValue) {
-        try {
-            // 优先级1: 环境变量
-            String envValue = System.getenv(configKey.toUpperCase().replace(".", "_"));
-            if (envValue != null) {
-                LoggingUtil.debug(logger, "Config found in environment variables: {}", configKey);
-                return envValue;
-            }
-
-            // 优先级2: 系统属性
-            String sysValue = System.getProperty(configKey);
-            if (sysValue != null) {
-                LoggingUtil.debug(logger, "Config found in system properties: {}", configKey);
-                return sysValue;
-            }
-
-            // 优先级3: Spring Environment
-            String springValue = environment.getProperty(configKey);
-            if (springValue != null) {
-                LoggingUtil.debug(logger, "Config found in Spring environment: {}", configKey);
-                return springValue;
-            }
-
-            // 返回默认值
-            return defaultValue;
-        } catch (Exception e) {
-            LoggingUtil.error(logger, "Failed to get property: {}", configKey, e);
-            return defaultValue;
-        }
+        String value = snapshot.get().value(configKey);
+        return value != null ? value : defaultValue;
     }
 
     /**
@@ -229,6 +214,54 @@ public class UnifiedConfigManager {
         return getProperty(configKey, null);
     }
 
+    /**
+     * 获取整数配置值（同步方法），供请求路径使用
+     *
+     * @param configKey    配置键名
+     * @param defaultValue 未配置或无法解析时的默认值
+     * @return 配置值
+     */
+    public int getIntProperty(String configKey, int defaultValue) {
+        Integer value = snapshot.get().lookup(configKey).typed(Integer.class);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 获取长整数配置值（同步方法），供请求路径使用
+     *
+     * @param configKey    配置键名
+     * @param defaultValue 未配置或无法解析时的默认值
+     * @return 配置值
+     */
+    public long getLongProperty(String configKey, long defaultValue) {
+        Long value = snapshot.get().lookup(configKey).typed(Long.class);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 获取布尔配置值（同步方法），供请求路径使用
+     *
+     * @param configKey    配置键名
+     * @param defaultValue 未配置时的默认值
+     * @return 配置值
+     */
+    public boolean getBooleanProperty(String configKey, boolean defaultValue) {
+        Boolean value = snapshot.get().lookup(configKey).typed(Boolean.class);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * 获取Duration配置值（同步方法），供请求路径使用
+     *
+     * @param configKey    配置键名
+     * @param defaultValue 未配置或无法解析时的默认值
+     * @return 配置值
+     */
+    public Duration getDurationProperty(String configKey, Duration defaultValue) {
+        Duration value = snapshot.get().lookup(configKey).typed(Duration.class);
+        return value != null ? value : defaultValue;
+    }
+
     /**
      * 获取字符串配置值
      * 按优先级顺序查找配置值
@@ -249,7 +282,7 @@ public class UnifiedConfigManager {
      */
     public Mono<String> getStringConfig(String configKey, String defaultValue) {
         return getStringConfig(configKey)
-                .switchIfEmpty(Mono.just(defaultValue));
+                .switchIfEmpty(Mono.justOrEmpty(defaultValue));
     }
 
     /**
@@ -271,7 +304,7 @@ public class UnifiedConfigManager {
      */
     public Mono<Integer> getIntegerConfig(String configKey, Integer defaultValue) {
         return getIntegerConfig(configKey)
-                .switchIfEmpty(Mono.just(defaultValue));
+                .switchIfEmpty(Mono.justOrEmpty(defaultValue));
     }
 
     /**
@@ -293,7 +326,7 @@ public class UnifiedConfigManager {
      */
     public Mono<Boolean> getBooleanConfig(String configKey, Boolean defaultValue) {
         return getBooleanConfig(configKey)
-                .switchIfEmpty(Mono.just(defaultValue));
+                .switchIfEmpty(Mono.justOrEmpty(defaultValue));
     }
 
     /**
@@ -314,16 +347,7 @@ public class UnifiedConfigManager {
      * @return Long类型配置值的Mono
      */
     public Mono<Long> getLongConfig(String configKey, Long defaultValue) {
-        return getConfigWithPriority(configKey, String.class)
-                .map(value -> {
-                    try {
-                        return Long.parseLong(value);
-                    } catch (NumberFormatException e) {
-                        LoggingUtil.warn(logger, "Failed to parse Long config for key: {}, value: {}, using default: {}", 
-                                configKey, value, defaultValue);
-                        return defaultValue;
-                    }
-                })
+        return getConfigWithPriority(configKey, Long.class)
                 .switchIfEmpty(Mono.justOrEmpty(defaultValue));
     }
 
@@ -345,16 +369,7 @@ public class UnifiedConfigManager {
      * @return Float类型配置值的Mono
      */
     public Mono<Float> getFloatConfig(String configKey, Float defaultValue) {
-        return getConfigWithPriority(configKey, String.class)
-                .map(value -> {
-                    try {
-                        return Float.parseFloat(value);
-                    } catch (NumberFormatException e) {
-                        LoggingUtil.warn(logger, "Failed to parse Float config for key: {}, value: {}, using default: {}", 
-                                configKey, value, defaultValue);
-                        return defaultValue;
-                    }
-                })
+        return getConfigWithPriority(configKey, Float.class)
                 .switchIfEmpty(Mono.justOrEmpty(defaultValue));
     }
 
@@ -362,105 +377,112 @@ public class UnifiedConfigManager {
 
     /**
      * 按优先级获取配置值
+     * 从当前配置快照读取，返回条目上缓存的Mono实例；未配置或无法转换为目标类型时为空
      *
      * @param configKey  配置键名
      * @param targetType 目标类型
      * @return 配置值的Mono包装
      */
     private <T> Mono<T> getConfigWithPriority(String configKey, Class<T> targetType) {
-        LoggingUtil.debug(logger, "Getting config with priority: {} (type: {})", configKey, targetType.getSimpleName());
-
-        // 1. 检查缓存
-        ConfigCacheEntry cacheEntry = configCache.get(configKey);
-        if (cacheEntry != null && !cacheEntry.isExpired()) {
-            LoggingUtil.debug(logger, "Config found in cache: {}", configKey);
-            T cachedValue = convertValue(cacheEntry.getValue(), targetType);
-            return Mono.just(cachedValue);
+        return snapshot.get().lookup(configKey).mono(targetType);
+    }
+
+    /**
+     * 从配置文件属性中获取配置
+     *
+     * @param configKey 配置键名
+     * @return 配置值，不存在时为null
+     */
+    private String getPropertyFileConfig(String configKey) {
+        if (configKey.startsWith("honyrun.path.")) {
+            return getFromPathConfigProperties(configKey);
         }
+        return environment.getProperty(configKey);
+    }
 
-        // 2. 按优先级查找配置 - 使用subscribeOn避免阻塞
-        return Mono.fromCallable(() -> {
-            // 环境变量
-            String envValue = System.getenv(configKey.toUpperCase().replace(".", "_"));
-            if (envValue != null) {
-                LoggingUtil.debug(logger, "Config found in environment variables: {}", configKey);
-                return envValue;
-            }
+    // ==================== 配置快照管理 ====================
 
-            // 系统属性
-            String sysValue = System.getProperty(configKey);
-            if (sysValue != null) {
-                LoggingUtil.debug(logger, "Config found in system properties: {}", configKey);
-                return sysValue;
-            }
+    /**
+     * 重新加载数据库配置并原子替换配置快照
+     * 数据库读取失败时保留当前快照
+     *
+     * @return 替换后生效的快照版本
+     */
+    public Mono<Long> refreshSnapshot() {
+        return reloadSnapshot()
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "Failed to refresh configuration snapshot, keeping version {}: {}",
+                            snapshot.get().version(), error.getMessage());
+                    return Mono.just(snapshot.get().version());
+                });
+    }
 
-            return null;
-        })
-                .subscribeOn(Schedulers.boundedElastic()) // 在弹性调度器上执行，避免阻塞
-                .cast(String.class)
-                .switchIfEmpty(
-                        // 配置文件属性 - 优先使用本地配置，避免数据库查询
-                        getPropertyFileConfig(configKey)
-                                .subscribeOn(Schedulers.boundedElastic())
-                                .doOnNext(value -> LoggingUtil.debug(logger, "Config found in property files: {}",
-                                        configKey)))
-                .switchIfEmpty(
-                        // 数据库环境特定配置 - 在弹性调度器上执行
-                        getEnvironmentConfigProcessor().getEnvironmentConfig(configKey)
-                                .subscribeOn(Schedulers.boundedElastic())
-                                .doOnNext(value -> LoggingUtil.debug(logger,
-                                        "Config found in environment-specific database: {}", configKey)))
-                .switchIfEmpty(
-                        // 数据库通用配置 - 在弹性调度器上执行
-                        systemConfigManager.getStringConfig(configKey)
-                                .subscribeOn(Schedulers.boundedElastic())
-                                .doOnNext(value -> LoggingUtil.debug(logger, "Config found in general database: {}",
-                                        configKey)))
-                .map(value -> {
-                    T convertedValue = convertValue(value, targetType);
-                    // 缓存配置值
-                    cacheConfig(configKey, convertedValue);
-                    return convertedValue;
-                })
-                .doOnError(error -> LoggingUtil.error(logger, "Failed to get config: {}", configKey, error));
+    /**
+     * 重新加载数据库配置并原子替换配置快照
+     * 与refreshSnapshot不同，数据库读取失败时向调用方传递错误，供需要确认配置已生效的调用方使用
+     *
+     * @return 替换后生效的快照版本
+     */
+    public Mono<Long> reloadSnapshot() {
+        return Mono.defer(() -> {
+            long version = snapshotVersion.incrementAndGet();
+            Mono<Map<String, String>> environmentConfigs = getEnvironmentConfigProcessor().getCurrentEnvironmentConfigs()
+                    .filter(config -> config.getConfigKey() != null && config.getConfigValue() != null)
+                    .collectMap(SystemConfig::getConfigKey, SystemConfig::getConfigValue);
+            return Mono.zip(environmentConfigs, systemConfigManager.loadEnabledConfigMap())
+                    .map(tuple -> {
+                        ConfigSnapshot next = snapshot.get().next(version, tuple.getT1(), tuple.getT2());
+                        ConfigSnapshot current = snapshot.accumulateAndGet(next,
+                                (prev, candidate) -> candidate.version() > prev.version() ? candidate : prev);
+                        LoggingUtil.debug(logger, "Configuration snapshot refreshed: version={}, envDbKeys={}, dbKeys={}",
+                                current.version(), tuple.getT1().size(), tuple.getT2().size());
+                        return current.version();
+                    });
+        });
     }
 
     /**
-     * 从配置文件属性中获取配置
+     * 应用就绪后加载数据库配置
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        triggerSnapshotRefresh("application-ready");
+    }
+
+    /**
+     * DynamicConfigRefresher 刷新完成后替换快照
      *
-     * @param configKey 配置键名
-     * @return 配置值的Mono包装
+     * @param event 配置刷新事件
      */
-    private Mono<String> getPropertyFileConfig(String configKey) {
-        return Mono.fromCallable(() -> {
-            // 这里可以根据需要从不同的属性配置中获取值
-            // 示例：从HonyRunProperties中获取
-            if (configKey.startsWith("honyrun.path.")) {
-                return getFromPathConfigProperties(configKey);
-            } else if (configKey.startsWith("honyrun.")) {
-                return getFromHonyRunProperties(configKey);
-            } else if (configKey.startsWith("reactive.")) {
-                return getFromReactiveProperties(configKey);
-            } else if (configKey.startsWith("netty.")) {
-                return getFromNettyProperties(configKey);
-            }
-            // 直接从环境变量中获取其他配置
-            return environment.getProperty(configKey);
-        })
-                .subscribeOn(Schedulers.boundedElastic()); // 在弹性调度器上执行，避免阻塞
+    @EventListener
+    public void onConfigRefresh(DynamicConfigRefresher.ConfigRefreshEvent event) {
+        triggerSnapshotRefresh("refresh-" + event.getRefreshType());
     }
 
-    // ==================== 配置缓存管理 ====================
+    /**
+     * 配置变更事件到达后替换快照
+     *
+     * @param event 配置变更事件
+     */
+    @EventListener
+    public void onConfigChange(DynamicConfigRefresher.ConfigChangeEvent event) {
+        triggerSnapshotRefresh("change-" + event.getConfigKey());
+    }
+
+    private void triggerSnapshotRefresh(String reason) {
+        refreshSnapshot().subscribe(
+                version -> LoggingUtil.debug(logger, "Configuration snapshot refresh ({}) completed, version={}",
+                        reason, version),
+                error -> LoggingUtil.error(logger, "Configuration snapshot refresh ({}) failed", reason, error));
+    }
 
     /**
-     * 缓存配置值
+     * 获取配置快照统计信息
      *
-     * @param configKey 配置键名
-     * @param value     配置值
+     * @return 快照版本、已解析键数、负缓存键数及各来源命中数
      */
-    private void cacheConfig(String configKey, Object value) {
-        configCache.put(configKey, new ConfigCacheEntry(value, LocalDateTime.now()));
-        LoggingUtil.debug(logger, "Config cached: {}", configKey);
+    public Map<String, Object> getSnapshotStatus() {
+        return snapshot.get().stats();
     }
 
     /**
@@ -468,18 +490,19 @@ public class UnifiedConfigManager {
      */
     public void clearConfigCache() {
         LoggingUtil.info(logger, "Clearing configuration cache");
-        configCache.clear();
         systemConfigManager.clearConfigCache();
+        triggerSnapshotRefresh("clear-all");
     }
 
     /**
      * 清除指定配置的缓存
+     * 快照按整体替换，指定键会在新快照中重新解析
      *
      * @param configKey 配置键名
      */
     public void clearConfigCache(String configKey) {
         LoggingUtil.debug(logger, "Clearing cache for config: {}", configKey);
-        configCache.remove(configKey);
+        triggerSnapshotRefresh("clear-" + configKey);
     }
 
     /**
@@ -503,12 +526,7 @@ public class UnifiedConfigManager {
      */
     public Mono<Duration> getDurationConfig(String configKey, Duration defaultValue) {
         return getDurationConfig(configKey)
-                .switchIfEmpty(Mono.just(defaultValue))
-                .doOnNext(value -> {
-                    if (value != null) {
-                        cacheConfig(configKey, value);
-                    }
-                });
+                .switchIfEmpty(Mono.justOrEmpty(defaultValue));
     }
 
     // ==================== 配置管理功能 ====================
@@ -544,7 +562,7 @@ public class UnifiedConfigManager {
     public Mono<SystemConfig> setConfig(String configKey, String configValue,
             String configGroup, String configType) {
         return systemConfigManager.setSystemConfig(configKey, configValue, configGroup, configType)
-                .doOnNext(config -> clearConfigCache(configKey));
+                .flatMap(config -> refreshSnapshot().thenReturn(config));
     }
 
     /**
@@ -569,12 +587,12 @@ public class UnifiedConfigManager {
     // ==================== 私有辅助方法 ====================
 
     /**
-     * 初始化配置缓存
+     * 初始化配置快照
      */
-    private void initializeConfigCache() {
-        LoggingUtil.debug(logger, "Initializing configuration cache");
-        // 预加载一些常用配置到缓存
-        // 这里可以根据需要预加载特定的配置项
+    private void initializeConfigSnapshot() {
+        LoggingUtil.debug(logger, "Initializing configuration snapshot");
+        snapshot.set(new ConfigSnapshot(snapshotVersion.incrementAndGet(), Map.of(), Map.of(),
+                this::getPropertyFileConfig));
     }
 
     /**
@@ -697,111 +715,6 @@ public class UnifiedConfigManager {
         }
     }
 
-    /**
-     * 值类型转换
-     *
-     * @param value      原始值
-     * @param targetType 目标类型
-     * @return 转换后的值
-     */
-    /**
-     * 转换配置值到指定类型
-     *
-     * @param value      原始值
-     * @param targetType 目标类型
-     * @return 转换后的值
-     * @author: Mr.Rey Copyright © 2025 @created 2025-07-01 @modified
-     *          2025-07-01 @version 1.0
-     */
-    private <T> T convertValue(Object value, Class<T> targetType) {
-        if (value == null) {
-            return null;
-        }
-
-        if (targetType.isInstance(value)) {
-            return targetType.cast(value);
-        }
-
-        String stringValue = value.toString();
-
-        if (targetType == String.class) {
-            return targetType.cast(stringValue);
-        } else if (targetType == Integer.class) {
-            return targetType.cast(Integer.valueOf(stringValue));
-        } else if (targetType == Boolean.class) {
-            return targetType.cast(Boolean.valueOf("true".equalsIgnoreCase(stringValue) || "1".equals(stringValue)));
-        } else if (targetType == Long.class) {
-            return targetType.cast(Long.valueOf(stringValue));
-        } else if (targetType == Double.class) {
-            return targetType.cast(Double.valueOf(stringValue));
-        } else if (targetType == Duration.class) {
-            // 支持Duration类型转换
-            // 支持格式: PT30M (ISO-8601), 30m, 30 (默认分钟)
-            try {
-                if (stringValue.startsWith("PT") || stringValue.startsWith("P")) {
-                    return targetType.cast(Duration.parse(stringValue));
-                } else if (stringValue.matches("\\d+[smhd]")) {
-                     // 支持简单格式: 30s, 30m, 30h, 30d
-                     char unit = stringValue.charAt(stringValue.length() - 1);
-                     long durationValue = Long.parseLong(stringValue.substring(0, stringValue.length() - 1));
-                     switch (unit) {
-                         case 's': return targetType.cast(Duration.ofSeconds(durationValue));
-                         case 'm': return targetType.cast(Duration.ofMinutes(durationValue));
-                         case 'h': return targetType.cast(Duration.ofHours(durationValue));
-                         case 'd': return targetType.cast(Duration.ofDays(durationValue));
-                     }
-                } else {
-                    // 默认按分钟处理
-                    return targetType.cast(Duration.ofMinutes(Long.parseLong(stringValue)));
-                }
-            } catch (Exception e) {
-                LoggingUtil.warn(logger, "Failed to parse Duration from value: {}, using default", stringValue);
-                return null;
-            }
-        }
-
-        throw new IllegalArgumentException("Unsupported target type: " + targetType);
-    }
-
-    /**
-     * 从HonyRunProperties获取配置
-     */
-    private String getFromHonyRunProperties(String configKey) {
-        // 实现从HonyRunProperties获取配置的逻辑
-        if (honyRunProperties == null) {
-            return null;
-        }
-        // 根据configKey从honyRunProperties获取对应的配置值
-        // 这里可以根据实际的HonyRunProperties结构来实现
-        return null;
-    }
-
-    /**
-     * 从ReactiveProperties获取配置
-     */
-    private String getFromReactiveProperties(String configKey) {
-        // 实现从ReactiveProperties获取配置的逻辑
-        if (reactiveProperties == null) {
-            return null;
-        }
-        // 根据configKey从reactiveProperties获取对应的配置值
-        // 这里可以根据实际的ReactiveProperties结构来实现
-        return null;
-    }
-
-    /**
-     * 从NettyProperties获取配置
-     */
-    private String getFromNettyProperties(String configKey) {
-        // 实现从NettyProperties获取配置的逻辑
-        if (nettyProperties == null) {
-            return null;
-        }
-        // 根据configKey从nettyProperties获取对应的配置值
-        // 这里可以根据实际的NettyProperties结构来实现
-        return null;
-    }
-
     /**
      * 从PathConfigProperties获取路径配置
      */
@@ -876,28 +789,6 @@ public class UnifiedConfigManager {
 
     // ==================== 内部类定义 ====================
 
-    /**
-     * 配置缓存条目
-     */
-    private static class ConfigCacheEntry {
-        private final Object value;
-        private final LocalDateTime timestamp;
-        private static final long CACHE_EXPIRE_MINUTES = 30;
-
-        public ConfigCacheEntry(Object value, LocalDateTime timestamp) {
-            this.value = value;
-            this.timestamp = timestamp;
-        }
-
-        public Object getValue() {
-            return value;
-        }
-
-        public boolean isExpired() {
-            return timestamp.plusMinutes(CACHE_EXPIRE_MINUTES).isBefore(LocalDateTime.now());
-        }
-    }
-
     /**
      * 配置管理器状态枚举
      */
@@ -1,7 +1,6 @@
 package com.honyrun.config.monitoring;
 
 import java.time.Duration;
-import java.util.concurrent.Semaphore;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +20,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.validation.annotation.Validated;
 
 import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.service.monitoring.ReactiveBackpressureControlService;
 import com.honyrun.service.monitoring.ReactiveDynamicSchedulingService;
 import com.honyrun.service.monitoring.ReactiveMonitoringAlertService;
 import com.honyrun.service.monitoring.ReactiveMonitoringAlertServiceImpl;
@@ -560,17 +560,22 @@ public class UnifiedMonitoringConfig {
     /**
      * 响应式性能监控服务Bean
      *
+     * @param meterRegistry Micrometer注册表，用于发布延迟分布
+     * @param alertService  告警服务，接收SLO燃烧率告警
      * @return ReactivePerformanceMonitoringService实例
      * @author Mr.Rey Copyright © 2025
      * @created 2025-01-13 15:30:00
+     * @modified 2025-10-30 15:00:00
      * @version 1.0.0
      */
     @Bean("devReactivePerformanceMonitoringService")
     @Scope("singleton") // 性能监控服务必须是单例，确保监控数据一致性
     @Profile("dev")
-    public ReactivePerformanceMonitoringService reactivePerformanceMonitoringService() {
+    public ReactivePerformanceMonitoringService reactivePerformanceMonitoringService(
+            MeterRegistry meterRegistry,
+            ReactiveMonitoringAlertService alertService) {
         LoggingUtil.info(logger, "创建响应式性能监控服务Bean");
-        return new ReactivePerformanceMonitoringServiceImpl();
+        return new ReactivePerformanceMonitoringServiceImpl(meterRegistry, alertService);
     }
 
     /**
@@ -658,9 +663,11 @@ public class UnifiedMonitoringConfig {
             @Qualifier("unifiedReactiveRedisTemplate") ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
             @Qualifier("unifiedTaskScheduler") TaskScheduler taskScheduler,
             @Qualifier("devMonitoringScheduler") Scheduler monitoringScheduler,
-            UnifiedConfigManager unifiedConfigManager) {
+            UnifiedConfigManager unifiedConfigManager,
+            ReactiveBackpressureControlService backpressureControlService) {
         LoggingUtil.info(logger, "创建响应式动态调度服务Bean");
-        return new ReactiveDynamicSchedulingServiceImpl(reactiveRedisTemplate, taskScheduler, monitoringScheduler, unifiedConfigManager);
+        return new ReactiveDynamicSchedulingServiceImpl(reactiveRedisTemplate, taskScheduler, monitoringScheduler,
+                unifiedConfigManager, backpressureControlService);
     }
 
     /**
@@ -728,22 +735,6 @@ public class UnifiedMonitoringConfig {
         return scheduler;
     }
 
-    /**
-     * 监控任务信号量Bean
-     *
-     * @return Semaphore实例
-     * @author Mr.Rey Copyright © 2025
-     * @created 2025-01-13 15:30:00
-     * @version 1.0.0
-     */
-    @Bean("devMonitoringTaskSemaphore")
-    @Scope("singleton") // 信号量必须是单例，确保并发控制的全局一致性
-    @Profile("dev")
-    public Semaphore monitoringTaskSemaphore() {
-        LoggingUtil.info(logger, "创建监控任务信号量Bean，最大并发任务数: 50");
-        return new Semaphore(50);
-    }
-
     /**
      * 获取是否启用监控
      */
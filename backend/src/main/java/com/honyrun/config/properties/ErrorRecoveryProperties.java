@@ -1,6 +1,8 @@
 package com.honyrun.config.properties;
 
 import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -34,6 +36,7 @@ import org.springframework.stereotype.Component;
  * <li>背压处理配置</li>
  * <li>流式处理配置</li>
  * <li>延迟和抖动配置</li>
+ * <li>熔断器和舱壁配置</li>
  * </ul>
  *
  * <p>
@@ -42,8 +45,8 @@ import org.springframework.stereotype.Component;
  *
  * @author Mr.Rey Copyright © 2025
  * @created 2025-10-27 12:26:43
- * @modified 2025-10-27 12:26:43
- * @version 1.0.1 - 移除硬编码，严格遵循统一配置管理规范
+ * @modified 2025-10-31 14:00:00
+ * @version 1.0.2 - 增加熔断器和舱壁配置
  */
 @Component
 @ConfigurationProperties(prefix = "honyrun.error-recovery")
@@ -115,6 +118,18 @@ public class ErrorRecoveryProperties {
      */
     private Duration streamingMaxDelay;
 
+    /**
+     * 熔断器配置
+     * 必须在环境配置文件中配置：honyrun.error-recovery.circuit-breaker.*
+     */
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker();
+
+    /**
+     * 舱壁配置
+     * 必须在环境配置文件中配置：honyrun.error-recovery.bulkhead.*
+     */
+    private final Bulkhead bulkhead = new Bulkhead();
+
     // ==================== Getter和Setter方法 ====================
 
     /**
@@ -315,6 +330,24 @@ public class ErrorRecoveryProperties {
         this.streamingMaxDelay = streamingMaxDelay;
     }
 
+    /**
+     * 获取熔断器配置
+     *
+     * @return 熔断器配置
+     */
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * 获取舱壁配置
+     *
+     * @return 舱壁配置
+     */
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
     @Override
     public String toString() {
         return "ErrorRecoveryProperties{" +
@@ -329,6 +362,186 @@ public class ErrorRecoveryProperties {
                 ", streamingRetryAttempts=" + streamingRetryAttempts +
                 ", streamingInitialDelay=" + streamingInitialDelay +
                 ", streamingMaxDelay=" + streamingMaxDelay +
+                ", circuitBreaker=" + circuitBreaker +
+                ", bulkhead=" + bulkhead +
                 '}';
     }
+
+    /**
+     * 熔断器配置，所有依赖共用
+     */
+    public static class CircuitBreaker {
+
+        /**
+         * 滑动窗口大小（调用次数）
+         */
+        private int slidingWindowSize;
+
+        /**
+         * 计算失败率所需的最小调用数
+         */
+        private int minimumNumberOfCalls;
+
+        /**
+         * 失败率阈值（百分比）
+         */
+        private float failureRateThreshold;
+
+        /**
+         * 慢调用率阈值（百分比）
+         */
+        private float slowCallRateThreshold;
+
+        /**
+         * 慢调用时长阈值
+         */
+        private Duration slowCallDurationThreshold;
+
+        /**
+         * 打开状态持续时间
+         */
+        private Duration waitDurationInOpenState;
+
+        /**
+         * 半开状态放行的探测调用数
+         */
+        private int permittedCallsInHalfOpenState;
+
+        /**
+         * 默认单次调用超时
+         */
+        private Duration callTimeout;
+
+        /**
+         * 按依赖覆盖的单次调用超时，键为依赖名称
+         */
+        private Map<String, Duration> callTimeouts = new LinkedHashMap<>();
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDurationThreshold() {
+            return slowCallDurationThreshold;
+        }
+
+        public void setSlowCallDurationThreshold(Duration slowCallDurationThreshold) {
+            this.slowCallDurationThreshold = slowCallDurationThreshold;
+        }
+
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+
+        public Duration getCallTimeout() {
+            return callTimeout;
+        }
+
+        public void setCallTimeout(Duration callTimeout) {
+            this.callTimeout = callTimeout;
+        }
+
+        public Map<String, Duration> getCallTimeouts() {
+            return callTimeouts;
+        }
+
+        public void setCallTimeouts(Map<String, Duration> callTimeouts) {
+            this.callTimeouts = callTimeouts;
+        }
+
+        @Override
+        public String toString() {
+            return "CircuitBreaker{" +
+                    "slidingWindowSize=" + slidingWindowSize +
+                    ", minimumNumberOfCalls=" + minimumNumberOfCalls +
+                    ", failureRateThreshold=" + failureRateThreshold +
+                    ", slowCallRateThreshold=" + slowCallRateThreshold +
+                    ", slowCallDurationThreshold=" + slowCallDurationThreshold +
+                    ", waitDurationInOpenState=" + waitDurationInOpenState +
+                    ", permittedCallsInHalfOpenState=" + permittedCallsInHalfOpenState +
+                    ", callTimeout=" + callTimeout +
+                    ", callTimeouts=" + callTimeouts +
+                    '}';
+        }
+    }
+
+    /**
+     * 舱壁配置
+     */
+    public static class Bulkhead {
+
+        /**
+         * 默认最大并发调用数
+         */
+        private int defaultMaxConcurrentCalls;
+
+        /**
+         * 按依赖覆盖的最大并发调用数，键为依赖名称
+         */
+        private Map<String, Integer> maxConcurrentCalls = new LinkedHashMap<>();
+
+        public int getDefaultMaxConcurrentCalls() {
+            return defaultMaxConcurrentCalls;
+        }
+
+        public void setDefaultMaxConcurrentCalls(int defaultMaxConcurrentCalls) {
+            this.defaultMaxConcurrentCalls = defaultMaxConcurrentCalls;
+        }
+
+        public Map<String, Integer> getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(Map<String, Integer> maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        @Override
+        public String toString() {
+            return "Bulkhead{" +
+                    "defaultMaxConcurrentCalls=" + defaultMaxConcurrentCalls +
+                    ", maxConcurrentCalls=" + maxConcurrentCalls +
+                    '}';
+        }
+    }
 }
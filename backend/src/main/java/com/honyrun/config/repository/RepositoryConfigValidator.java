@@ -2,12 +2,13 @@ package com.honyrun.config.repository;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
+import com.honyrun.config.startup.StartupValidationTask;
 import com.honyrun.util.LoggingUtil;
 
+import reactor.core.publisher.Mono;
+
 /**
  * Repository配置验证器
  *
@@ -33,14 +34,24 @@ import com.honyrun.util.LoggingUtil;
  *
  * @author Mr.Rey Copyright © 2025
  * @created 2025-10-27 12:26:43
- * @modified 2025-10-27 12:26:43
- * @version 1.0.0 - 初始版本，提供Repository配置验证功能
+ * @modified 2025-11-04 09:00:00
+ * @version 1.0.1 - 改为启动校验任务，由StartupValidationOrchestrator并行调度
  */
 @Component
-public class RepositoryConfigValidator {
+public class RepositoryConfigValidator implements StartupValidationTask {
 
     private static final Logger logger = LoggerFactory.getLogger(RepositoryConfigValidator.class);
 
+    @Override
+    public String getName() {
+        return "repository-config";
+    }
+
+    @Override
+    public Mono<Void> validate() {
+        return Mono.fromRunnable(this::validateRepositoryConfig);
+    }
+
     /**
      * 应用启动完成后验证Repository配置
      *
@@ -49,13 +60,12 @@ public class RepositoryConfigValidator {
      * 验证内容包括包扫描范围、配置冲突检查等。
      * </p>
      *
-     * @param event 应用就绪事件
      * @author Mr.Rey Copyright © 2025
      * @created 2025-10-27 12:26:43
-     * @version 1.0.0
+     * @modified 2025-11-04 09:00:00
+     * @version 1.0.1
      */
-    @EventListener(ApplicationReadyEvent.class)
-    public void validateRepositoryConfig(ApplicationReadyEvent event) {
+    public void validateRepositoryConfig() {
         LoggingUtil.info(logger, "开始验证Repository配置一致性...");
 
         try {
@@ -1,13 +1,17 @@
 package com.honyrun.config.retry;
 
+import com.honyrun.exception.BusinessException;
+import com.honyrun.exception.reactive.CallNotPermittedException;
 import com.honyrun.util.LoggingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import reactor.core.publisher.Mono;
 import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
 
 import java.time.Duration;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Predicate;
 
 /**
@@ -21,10 +25,12 @@ import java.util.function.Predicate;
  *   <li>数据库连接错误：固定间隔重试</li>
  *   <li>业务逻辑错误：不重试</li>
  *   <li>系统资源错误：延迟重试</li>
+ *   <li>熔断或舱壁拒绝：不重试</li>
  * </ul>
  * 
  * @author Mr.Rey Copyright © 2025
  * @created 2025-10-25 19:52:56
+ * @modified 2025-10-31 14:00:00
  * @version 1.0.0
  */
 @Component
@@ -41,6 +47,7 @@ public class IntelligentRetryStrategy {
         BUSINESS_LOGIC,        // 业务逻辑错误
         SYSTEM_RESOURCE,       // 系统资源错误
         TIMEOUT,               // 超时错误
+        REJECTED,              // 熔断或舱壁拒绝
         UNKNOWN                // 未知错误
     }
 
@@ -131,12 +138,67 @@ public class IntelligentRetryStrategy {
             case SYSTEM_RESOURCE:
                 return getSystemResourceRetry();
             case BUSINESS_LOGIC:
-                return Retry.max(0); // 业务逻辑错误不重试
+            case REJECTED:
+                return Retry.max(0); // 业务逻辑错误和熔断拒绝不重试
             default:
                 return Retry.backoff(1, Duration.ofSeconds(2)); // 默认重试策略
         }
     }
 
+    /**
+     * 获取受熔断器保护的依赖调用重试策略
+     *
+     * <p>重试发生在熔断器外层，每次尝试都重新获取熔断器和舱壁许可；
+     * 熔断打开或舱壁已满时立即失败，不再消耗重试次数和退避时间。
+     * 间隔远小于连接级重试，避免请求线程长时间挂在已经变慢的依赖上。
+     *
+     * @param dependency 依赖名称：mysql、redis、image等
+     * @return 重试策略
+     */
+    public Retry getProtectedCallRetry(String dependency) {
+        Predicate<Throwable> filter;
+        RetryBackoffSpec retry;
+        switch (dependency) {
+            case "mysql":
+                filter = isDatabaseRetryableError();
+                retry = Retry.backoff(2, Duration.ofMillis(100)).maxBackoff(Duration.ofSeconds(1));
+                break;
+            case "redis":
+                filter = isRetryableError();
+                retry = Retry.backoff(2, Duration.ofMillis(50)).maxBackoff(Duration.ofMillis(500));
+                break;
+            default:
+                // 图片处理等计算型依赖重试只会加重负载，原样抛出异常以便降级时区分熔断拒绝
+                return Retry.max(0).onRetryExhaustedThrow((retrySpec, retrySignal) -> retrySignal.failure());
+        }
+        return retry
+            .filter(filter.and(throwable -> analyzeErrorType(throwable) != ErrorType.REJECTED))
+            .doBeforeRetry(retrySignal ->
+                LoggingUtil.warn(logger, "依赖调用重试 - 依赖: {}, 第{}次, 错误: {}",
+                    dependency, retrySignal.totalRetries() + 1, retrySignal.failure().getMessage()))
+            .onRetryExhaustedThrow((retryBackoffSpec, retrySignal) -> retrySignal.failure());
+    }
+
+    /**
+     * 判断异常是否应计入熔断器失败样本
+     *
+     * <p>业务逻辑错误（4xx类业务异常、参数错误）说明依赖本身是健康的，不计入；
+     * 熔断和舱壁拒绝没有到达依赖，也不计入。
+     *
+     * @param throwable 异常
+     * @return 是否计入失败
+     */
+    public boolean isDependencyFailure(Throwable throwable) {
+        if (throwable instanceof BusinessException businessException) {
+            return businessException.getErrorCode() != null
+                && businessException.getErrorCode().getHttpStatus().is5xxServerError();
+        }
+        if (throwable instanceof IllegalArgumentException) {
+            return false;
+        }
+        return analyzeErrorType(throwable) != ErrorType.REJECTED;
+    }
+
     /**
      * 判断是否为可重试的错误
      * 
@@ -144,6 +206,7 @@ public class IntelligentRetryStrategy {
      */
     private Predicate<Throwable> isRetryableError() {
         return throwable -> {
+            if (throwable instanceof TimeoutException) return true;
             String message = throwable.getMessage();
             if (message == null) return false;
             
@@ -163,6 +226,7 @@ public class IntelligentRetryStrategy {
      */
     private Predicate<Throwable> isDatabaseRetryableError() {
         return throwable -> {
+            if (throwable instanceof TimeoutException) return true;
             String message = throwable.getMessage();
             if (message == null) return false;
             
@@ -218,6 +282,8 @@ public class IntelligentRetryStrategy {
      */
     public ErrorType analyzeErrorType(Throwable throwable) {
         if (throwable == null) return ErrorType.UNKNOWN;
+        if (throwable instanceof CallNotPermittedException) return ErrorType.REJECTED;
+        if (throwable instanceof TimeoutException) return ErrorType.TIMEOUT;
         
         String message = throwable.getMessage();
         if (message == null) return ErrorType.UNKNOWN;
@@ -2,16 +2,33 @@ package com.honyrun.config.router;
 
 import com.honyrun.constant.PathConstants;
 import com.honyrun.util.LoggingUtil;
+import com.honyrun.util.router.PathTrie;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.HandlerFunction;
+import org.springframework.web.reactive.function.server.RequestPredicate;
+import org.springframework.web.reactive.function.server.RequestPredicates;
 import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import reactor.core.publisher.Mono;
 
 /**
  * 动态路由注册表
@@ -23,18 +40,20 @@ import java.util.regex.Pattern;
  * 1. 从UnifiedRouterConfig动态提取路由模式
  * 2. 路由存在性验证
  * 3. 路径匹配检查
- * 4. 支持正则表达式路径模式
+ * 4. 支持路径变量与通配符模板
  *
- * 最佳实践：
- * - 线程安全的路由存储
- * - 高效的路径匹配算法
- * - 与函数式路由配置同步
- * - 提供详细的调试信息
+ * 实现说明：
+ * - 精确路由与路由模板统一编译为 {@link PathTrie}，叶子携带命中的路由模板；
+ *   匹配按路径段逐层进行，耗时与路径段数成正比且不分配对象，不再逐个尝试正则
+ * - 不缓存按请求路径的判定结果，攻击者构造的大量不同路径不会造成内存增长
+ * - 路由变更只标记前缀树失效，在下一次查询时整体重建，读取路径无锁
+ * - 通过 {@link #registerRouterFunction(RouterFunction)} 登记的函数式路由在每次
+ *   {@link #initializeRoutes()} 时重新提取，与手工登记的路由合并
  *
  * @author Mr.Rey
  * @version 1.0.0
  * @created 2025-07-02 21:00:00
- * @modified 2025-07-02 21:00:00
+ * @modified 2025-11-03 18:00:00
  * Copyright © 2025 HonyRun. All rights reserved.
  */
 @Component
@@ -43,23 +62,24 @@ public class RouteRegistry {
     private static final Logger logger = LoggerFactory.getLogger(RouteRegistry.class);
 
     /**
-     * 存储已注册的路由模式
-     * 使用ConcurrentHashMap确保线程安全
+     * 存储已注册的精确路由
+     */
+    private final Set<String> registeredRoutes = new LinkedHashSet<>();
+
+    /**
+     * 存储已注册的路由模板（包含路径变量或通配符）
      */
-    private final Set<String> registeredRoutes = ConcurrentHashMap.newKeySet();
+    private final Set<String> routeTemplates = new LinkedHashSet<>();
 
     /**
-     * 存储编译后的正则表达式模式
-     * 用于高效的路径匹配
+     * 已登记的函数式路由，初始化时从中提取路由模板
      */
-    private final Set<Pattern> routePatterns = ConcurrentHashMap.newKeySet();
+    private final List<RouterFunction<ServerResponse>> routerFunctions = new ArrayList<>();
 
     /**
-     * 路由存在性结果缓存
-     * key 为请求路径，value 表示该路径是否存在已注册路由
-     * 采用并发映射以支持高并发场景下的快速读取
+     * 编译后的路由前缀树，叶子值为命中的路由模板；路由变更后置空，查询时重建
      */
-    private final java.util.concurrent.ConcurrentHashMap<String, Boolean> routeExistenceCache = new java.util.concurrent.ConcurrentHashMap<>();
+    private volatile PathTrie<String> routeTrie;
 
     /**
      * 初始化路由注册表
@@ -106,19 +126,19 @@ public class RouteRegistry {
         registerRoute(PathConstants.USER_BASE + "/count");
         
         // 动态模式路由放在最后
-        registerRoutePattern(PathConstants.USER_BASE + "/\\d+");
-        registerRoutePattern(PathConstants.USER_BASE + "/username/[^/]+");
+        registerRoutePattern(PathConstants.USER_BASE + "/{userId:\\d+}");
+        registerRoutePattern(PathConstants.USER_BASE + "/username/{username}");
         // 用户存在性检查
-        registerRoutePattern(PathConstants.USER_BASE + "/exists/username/[^/]+");
-        registerRoutePattern(PathConstants.USER_BASE + "/exists/email/[^/]+");
-        registerRoutePattern(PathConstants.USER_BASE + "/\\d+/permissions");
-        registerRoutePattern(PathConstants.USER_BASE + "/\\d+/status");
-        registerRoutePattern(PathConstants.USER_BASE + "/\\d+/activities");
+        registerRoutePattern(PathConstants.USER_BASE + "/exists/username/{username}");
+        registerRoutePattern(PathConstants.USER_BASE + "/exists/email/{email}");
+        registerRoutePattern(PathConstants.USER_BASE + "/{userId:\\d+}/permissions");
+        registerRoutePattern(PathConstants.USER_BASE + "/{userId:\\d+}/status");
+        registerRoutePattern(PathConstants.USER_BASE + "/{userId:\\d+}/activities");
         // 启用/禁用与密码操作
-        registerRoutePattern(PathConstants.USER_BASE + "/\\d+/enable");
-        registerRoutePattern(PathConstants.USER_BASE + "/\\d+/disable");
-        registerRoutePattern(PathConstants.USER_BASE + "/\\d+/change-password");
-        registerRoutePattern(PathConstants.USER_BASE + "/\\d+/reset-password");
+        registerRoutePattern(PathConstants.USER_BASE + "/{userId:\\d+}/enable");
+        registerRoutePattern(PathConstants.USER_BASE + "/{userId:\\d+}/disable");
+        registerRoutePattern(PathConstants.USER_BASE + "/{userId:\\d+}/change-password");
+        registerRoutePattern(PathConstants.USER_BASE + "/{userId:\\d+}/reset-password");
 
         // 个人资料路由 - 对应UserRouterFunction
         registerRoute(PathConstants.ACCOUNT_PROFILE);
@@ -131,6 +151,7 @@ public class RouteRegistry {
         registerRoute(PathConstants.SYSTEM_CONFIG_REFRESH);
         registerRoute(PathConstants.SYSTEM_CONFIG_HOT_UPDATE);
         registerRoute(PathConstants.SYSTEM_CONFIG_RELOAD);
+        registerRoute(PathConstants.SYSTEM_CONFIG_CHANGES_STREAM);
         registerRoute(PathConstants.SYSTEM_HEALTH);
         
         // 系统设置路由 - 对应SystemRouterFunction中的systemSettingsRoutes，按照静态在前、动态在后的约定注册
@@ -140,12 +161,13 @@ public class RouteRegistry {
         registerRoute(PathConstants.SYSTEM_SETTINGS_EXPORT);
         registerRoute(PathConstants.SYSTEM_SETTINGS_IMPORT);
         // 半静态路径
-        registerRoutePattern(PathConstants.SYSTEM_SETTINGS + "/category/[^/]+");
-        // 动态路径模式 - 使用更精确的模式，避免匹配已注册的静态端点
-        registerRoutePattern(PathConstants.SYSTEM_SETTINGS + "/(?!categories|batch|export|import|category/)[^/]+");
+        registerRoutePattern(PathConstants.SYSTEM_SETTINGS + "/category/{category}");
+        // 动态路径模式 - 前缀树中字面量段优先于变量段，已注册的静态端点不会被该模式覆盖
+        registerRoutePattern(PathConstants.SYSTEM_SETTINGS + "/{key}");
 
         // 系统监控路由 - 对应SystemRouterFunction
         registerRoute(PathConstants.SYSTEM_LOGS);
+        registerRoute(PathConstants.SYSTEM_LOGS_STREAM);
         registerRoute(PathConstants.SYSTEM_STATS);
         registerRoute(PathConstants.SYSTEM_PERFORMANCE);
         registerRoute(PathConstants.SYSTEM_MAINTENANCE);
@@ -165,9 +187,9 @@ public class RouteRegistry {
         registerRoute("/api/v1/version/usage-stats");
         registerRoute("/api/v1/version/timeline");
         // 动态模式路由 - 仅匹配特定的参数化路径
-        registerRoutePattern("/api/v1/version/changelog/[^/]+");
-        registerRoutePattern("/api/v1/version/deprecation/[^/]+");
-        registerRoutePattern("/api/v1/version/deprecate/[^/]+");
+        registerRoutePattern("/api/v1/version/changelog/{version}");
+        registerRoutePattern("/api/v1/version/deprecation/{version}");
+        registerRoutePattern("/api/v1/version/deprecate/{version}");
 
         // 图片处理路由 - 仅注册实际存在的静态路由，避免广泛的动态模式匹配
         registerRoute(PathConstants.IMAGE_VALIDATE);
@@ -183,10 +205,10 @@ public class RouteRegistry {
         registerRoute("/api/v1/verification");
         registerRoute("/api/v1/verification/statistics");
         // 动态模式路由放在最后
-        registerRoutePattern("/api/v1/verification/\\d+");
-        registerRoutePattern("/api/v1/verification/\\d+/complete");
-        registerRoutePattern("/api/v1/verification/\\d+/cancel");
-        registerRoutePattern("/api/v1/verification/\\d+/result");
+        registerRoutePattern("/api/v1/verification/{id:\\d+}");
+        registerRoutePattern("/api/v1/verification/{id:\\d+}/complete");
+        registerRoutePattern("/api/v1/verification/{id:\\d+}/cancel");
+        registerRoutePattern("/api/v1/verification/{id:\\d+}/result");
 
         // 业务功能路由 - 仅注册实际存在的静态路由，避免广泛的动态模式匹配
         registerRoute(PathConstants.BUSINESS_FUNCTION_1);
@@ -199,19 +221,24 @@ public class RouteRegistry {
         // 健康检查路由 - 对应Actuator
         registerRoute("/actuator/health");
         registerRoute("/actuator/info");
-        registerRoutePattern("/actuator/health/.*");
+        registerRoutePattern("/actuator/health/**");
 
         // 静态资源路由 - 对应StaticResourceRouterFunction
         registerRoute("/");
         registerRoute("/favicon.ico");
-        registerRoutePattern(PathConstants.STATIC_BASE + "/.*");
-        registerRoutePattern(PathConstants.STATIC_ASSETS + "/.*");
-        registerRoutePattern(PathConstants.STATIC_IMAGES + "/.*");
-        registerRoutePattern(PathConstants.STATIC_CSS + "/.*");
-        registerRoutePattern(PathConstants.STATIC_JS + "/.*");
+        registerRoutePattern(PathConstants.STATIC_BASE + "/**");
+        registerRoutePattern(PathConstants.STATIC_ASSETS + "/**");
+        registerRoutePattern(PathConstants.STATIC_IMAGES);
+        registerRoutePattern(PathConstants.STATIC_CSS);
+        registerRoutePattern(PathConstants.STATIC_JS);
+
+        // 函数式路由中提取的路由，补充手工登记遗漏的端点
+        for (RouterFunction<ServerResponse> routerFunction : snapshotRouterFunctions()) {
+            registerExtractedRoutes(routerFunction);
+        }
 
         LoggingUtil.info(logger, "路由注册表初始化完成，共注册 {} 个精确路由和 {} 个路由模式",
-                        registeredRoutes.size(), routePatterns.size());
+                        registeredRoutes.size(), routeTemplates.size());
     }
 
     /**
@@ -219,39 +246,33 @@ public class RouteRegistry {
      *
      * @param route 路由路径
      */
-    public void registerRoute(String route) {
-        registeredRoutes.add(route);
-        // 路由变更时清空缓存，避免使用过期结果
-        routeExistenceCache.clear();
+    public synchronized void registerRoute(String route) {
+        if (route == null || !route.startsWith("/")) {
+            LoggingUtil.error(logger, "注册精确路由失败，路由必须以'/'开头: [{}]", route);
+            return;
+        }
+        if (registeredRoutes.add(route)) {
+            // 路由变更时使前缀树失效，下一次查询时重建
+            routeTrie = null;
+        }
         LoggingUtil.debug(logger, "注册精确路由: {}", route);
     }
 
     /**
-     * 注册路由模式（支持正则表达式）
+     * 注册路由模板
      *
-     * @param routePattern 路由模式
+     * 支持 {var}、{var:\d+}、*、**、{*var} 等Spring风格路径模板，详见 {@link PathTrie}
+     *
+     * @param routePattern 路由模板
      */
-    public void registerRoutePattern(String routePattern) {
+    public synchronized void registerRoutePattern(String routePattern) {
         try {
-            // 支持路径模板占位符，例如 /api/v1/users/{userId}/orders/{orderId}
-            // 将 {var} 转换为正则片段 [^/]+，以匹配单个路径段
-            String regex = routePattern;
-            if (routePattern != null) {
-                // 处理Spring路径模式中的通配符
-                // 将 ** 转换为 .*（匹配任意字符）
-                regex = regex.replace("/**", "/.*");
-                // 将 * 转换为 [^/]*（匹配单个路径段内的任意字符）
-                regex = regex.replace("/*", "/[^/]*");
-                // 处理路径变量占位符 {var}
-                if (regex.contains("{")) {
-                    regex = regex.replaceAll("\\{[^}]+\\}", "[^/]+");
-                }
+            // 预先编译校验模板格式，非法模板不进入注册表
+            PathTrie.<String>builder().add(routePattern, routePattern);
+            if (routeTemplates.add(routePattern)) {
+                routeTrie = null;
             }
-            Pattern pattern = Pattern.compile(regex);
-            routePatterns.add(pattern);
-            // 路由模式变更时清空缓存，避免使用过期结果
-            routeExistenceCache.clear();
-            LoggingUtil.debug(logger, "注册路由模式: {} -> {}", routePattern, regex);
+            LoggingUtil.debug(logger, "注册路由模式: {}", routePattern);
         } catch (Exception e) {
             LoggingUtil.error(logger, "注册路由模式失败: [{}]", routePattern);
             LoggingUtil.error(logger, "错误详情: {}", e.getMessage());
@@ -265,34 +286,24 @@ public class RouteRegistry {
      * @return true 如果路由存在，false 否则
      */
     public boolean isRouteExists(String path) {
-        if (path == null || path.trim().isEmpty()) {
-            return false;
-        }
+        return resolveRoute(path) != null;
+    }
 
-        // 缓存快速路径：若已有判定结果，直接返回
-        Boolean cached = routeExistenceCache.get(path);
-        if (cached != null) {
-            return cached;
-        }
-        // 首先检查精确匹配
-        if (registeredRoutes.contains(path)) {
-            LoggingUtil.debug(logger, "路由精确匹配: {}", path);
-            routeExistenceCache.put(path, true);
-            return true;
+    /**
+     * 解析请求路径命中的路由模板
+     *
+     * @param path 请求路径
+     * @return 命中的精确路由或路由模板，不存在时返回null
+     */
+    public String resolveRoute(String path) {
+        if (path == null || path.isBlank()) {
+            return null;
         }
-
-        // 然后检查模式匹配
-        for (Pattern pattern : routePatterns) {
-            if (pattern.matcher(path).matches()) {
-                LoggingUtil.debug(logger, "路由模式匹配: {} -> {}", path, pattern.pattern());
-                routeExistenceCache.put(path, true);
-                return true;
-            }
+        PathTrie<String> trie = routeTrie;
+        if (trie == null) {
+            trie = compileRoutes();
         }
-
-        LoggingUtil.debug(logger, "路由不存在: {}", path);
-        routeExistenceCache.put(path, false);
-        return false;
+        return trie.match(path);
     }
 
     /**
@@ -317,7 +328,7 @@ public class RouteRegistry {
      *
      * @return 已注册的路由集合
      */
-    public Set<String> getRegisteredRoutes() {
+    public synchronized Set<String> getRegisteredRoutes() {
         return Set.copyOf(registeredRoutes);
     }
 
@@ -326,17 +337,21 @@ public class RouteRegistry {
      *
      * @return 路由模式数量
      */
-    public int getRoutePatternCount() {
-        return routePatterns.size();
+    public synchronized int getRoutePatternCount() {
+        return routeTemplates.size();
     }
 
     /**
      * 获取所有已注册的路由模式（Pattern）
      *
+     * 由路由模板转换而来，仅用于启动校验与诊断，请求匹配不使用正则
+     *
      * @return 路由模式集合的副本
      */
-    public Set<Pattern> getRoutePatterns() {
-        return Set.copyOf(routePatterns);
+    public synchronized Set<Pattern> getRoutePatterns() {
+        return routeTemplates.stream()
+                .map(template -> Pattern.compile(PathTrie.toRegex(template)))
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     /**
@@ -345,30 +360,213 @@ public class RouteRegistry {
      * @return 路由模式字符串集合
      */
     public Set<String> getRoutePatternStrings() {
-        return routePatterns.stream()
+        return getRoutePatterns().stream()
                 .map(Pattern::pattern)
-                .collect(java.util.stream.Collectors.toUnmodifiableSet());
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 获取所有已注册的路由模板
+     *
+     * @return 路由模板集合的副本
+     */
+    public synchronized Set<String> getRouteTemplates() {
+        return Set.copyOf(routeTemplates);
     }
 
     /**
      * 清空路由注册表
+     *
+     * 已登记的函数式路由保留，下一次 {@link #initializeRoutes()} 时重新提取
      */
-    public void clearRoutes() {
+    public synchronized void clearRoutes() {
         registeredRoutes.clear();
-        routePatterns.clear();
-        routeExistenceCache.clear();
+        routeTemplates.clear();
+        routeTrie = null;
         LoggingUtil.info(logger, "路由注册表已清空");
     }
 
     /**
-     * 动态添加路由函数的路由
+     * 登记函数式路由并提取其中的路由
+     *
+     * 通过 {@link RouterFunctions.Visitor} 遍历路由函数（含嵌套路由），
+     * 将路径谓词组合为完整路由模板注册到注册表；没有路径谓词的路由无法判定范围，跳过并记录日志
      *
      * @param routerFunction 路由函数
      */
-    public void registerRouterFunction(RouterFunction<ServerResponse> routerFunction) {
-        // 这里可以通过反射或其他方式提取路由函数中的路径
-        // 当前版本先使用手动注册的方式
-        LoggingUtil.debug(logger, "注册路由函数: {}", routerFunction.getClass().getSimpleName());
+    public synchronized void registerRouterFunction(RouterFunction<ServerResponse> routerFunction) {
+        if (routerFunction == null) {
+            return;
+        }
+        if (!routerFunctions.contains(routerFunction)) {
+            routerFunctions.add(routerFunction);
+        }
+        registerExtractedRoutes(routerFunction);
     }
-}
 
+    private synchronized List<RouterFunction<ServerResponse>> snapshotRouterFunctions() {
+        return List.copyOf(routerFunctions);
+    }
+
+    private void registerExtractedRoutes(RouterFunction<ServerResponse> routerFunction) {
+        RouterFunctionPathCollector collector = new RouterFunctionPathCollector();
+        routerFunction.accept(collector);
+        for (String template : collector.templates) {
+            if (PathTrie.isPattern(template)) {
+                registerRoutePattern(template);
+            } else {
+                registerRoute(template);
+            }
+        }
+        if (collector.skipped > 0) {
+            LoggingUtil.debug(logger, "函数式路由中有 {} 个路由无路径谓词，未注册到路由注册表", collector.skipped);
+        }
+        LoggingUtil.debug(logger, "从函数式路由提取 {} 个路由", collector.templates.size());
+    }
+
+    private synchronized PathTrie<String> compileRoutes() {
+        PathTrie<String> trie = routeTrie;
+        if (trie != null) {
+            return trie;
+        }
+        PathTrie.Builder<String> builder = PathTrie.builder();
+        for (String route : registeredRoutes) {
+            builder.add(route, route);
+        }
+        for (String template : routeTemplates) {
+            builder.add(template, template);
+        }
+        trie = builder.build();
+        routeTrie = trie;
+        LoggingUtil.debug(logger, "路由前缀树已重建，共 {} 个路由", trie.size());
+        return trie;
+    }
+
+    /**
+     * 函数式路由路径收集器
+     *
+     * 嵌套路由的路径谓词作为前缀，与内层路由的路径谓词组合；
+     * or组合中的多个路径分别登记，negate内的路径谓词忽略
+     */
+    private static final class RouterFunctionPathCollector implements RouterFunctions.Visitor {
+
+        private final Set<String> templates = new LinkedHashSet<>();
+        private final Deque<List<String>> prefixes = new ArrayDeque<>(List.of(List.of("")));
+        private int skipped;
+
+        @Override
+        public void startNested(RequestPredicate predicate) {
+            List<String> paths = pathsOf(predicate);
+            prefixes.push(paths.isEmpty() ? prefixes.peek() : combine(prefixes.peek(), paths));
+        }
+
+        @Override
+        public void endNested(RequestPredicate predicate) {
+            prefixes.pop();
+        }
+
+        @Override
+        public void route(RequestPredicate predicate, HandlerFunction<?> handlerFunction) {
+            List<String> paths = pathsOf(predicate);
+            if (paths.isEmpty()) {
+                skipped++;
+                return;
+            }
+            templates.addAll(combine(prefixes.peek(), paths));
+        }
+
+        @Override
+        public void resources(Function<ServerRequest, Mono<Resource>> lookupFunction) {
+            skipped++;
+        }
+
+        @Override
+        public void attributes(Map<String, Object> attributes) {
+        }
+
+        @Override
+        public void unknown(RouterFunction<?> routerFunction) {
+            skipped++;
+        }
+
+        private static List<String> combine(List<String> bases, List<String> paths) {
+            List<String> combined = new ArrayList<>(bases.size() * paths.size());
+            for (String base : bases) {
+                for (String path : paths) {
+                    String normalized = path.startsWith("/") ? path : "/" + path;
+                    combined.add(base.endsWith("/") ? base + normalized.substring(1) : base + normalized);
+                }
+            }
+            return combined;
+        }
+
+        private static List<String> pathsOf(RequestPredicate predicate) {
+            List<String> paths = new ArrayList<>();
+            predicate.accept(new RequestPredicates.Visitor() {
+                private int negateDepth;
+
+                @Override
+                public void method(Set<HttpMethod> methods) {
+                }
+
+                @Override
+                public void path(String pattern) {
+                    if (negateDepth == 0) {
+                        paths.add(pattern);
+                    }
+                }
+
+                @Override
+                public void pathExtension(String extension) {
+                }
+
+                @Override
+                public void header(String name, String value) {
+                }
+
+                @Override
+                public void queryParam(String name, String value) {
+                }
+
+                @Override
+                public void startAnd() {
+                }
+
+                @Override
+                public void and() {
+                }
+
+                @Override
+                public void endAnd() {
+                }
+
+                @Override
+                public void startOr() {
+                }
+
+                @Override
+                public void or() {
+                }
+
+                @Override
+                public void endOr() {
+                }
+
+                @Override
+                public void startNegate() {
+                    negateDepth++;
+                }
+
+                @Override
+                public void endNegate() {
+                    negateDepth--;
+                }
+
+                @Override
+                public void unknown(RequestPredicate predicate) {
+                }
+            });
+            return paths;
+        }
+    }
+}
@@ -1,11 +1,10 @@
 package com.honyrun.config.router;
 
 import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.config.startup.StartupValidationTask;
 import com.honyrun.util.LoggingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.boot.context.event.ApplicationReadyEvent;
-import org.springframework.context.event.EventListener;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
 
@@ -13,6 +12,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 import com.honyrun.util.router.RoutePatternExampleUtil;
+import reactor.core.publisher.Mono;
 
 /**
  * 应用启动后路由一致性校验
@@ -23,14 +23,15 @@ import com.honyrun.util.router.RoutePatternExampleUtil;
  * 说明：
  * - 当前版本对"精确路由"进行一致性校验；对于正则模式路由给出统计提示。
  * - 当开启严格模式（honyrun.route.validation.strict=true）时，存在缺失路由将抛出异常。
+ * - 作为必需的启动校验任务由 StartupValidationOrchestrator 调度，严格模式下校验失败将终止启动。
  *
  * @author: Mr.Rey
  * @created: 2025-06-28 16:35:00
- * @modified: 2025-07-01 16:35:00
- * @version: 1.0.3
+ * @modified: 2025-11-04 09:00:00
+ * @version: 1.0.5
  */
 @Component
-public class RouteStartupValidator {
+public class RouteStartupValidator implements StartupValidationTask {
 
     private static final Logger logger = LoggerFactory.getLogger(RouteStartupValidator.class);
 
@@ -49,7 +50,21 @@ public class RouteStartupValidator {
         this.unifiedConfigManager = unifiedConfigManager;
     }
 
-    @EventListener(ApplicationReadyEvent.class)
+    @Override
+    public String getName() {
+        return "routes";
+    }
+
+    @Override
+    public boolean isRequired() {
+        return true;
+    }
+
+    @Override
+    public Mono<Void> validate() {
+        return Mono.fromRunnable(this::validateRoutesOnStartup);
+    }
+
     public void validateRoutesOnStartup() {
         LoggingUtil.info(logger, "应用已启动，执行统一路由一致性校验");
 
@@ -175,21 +190,8 @@ public class RouteStartupValidator {
             }
         }
 
-        // 2) 动态模式可能覆盖现有静态端点的预警（要求静态优先顺序）
-        for (String exactPath : exact) {
-            for (java.util.regex.Pattern p : patterns) {
-                try {
-                    if (p.matcher(exactPath).matches()) {
-                        String msg = String.format("路由约定校验：检测到动态模式 %s 可匹配既有静态端点 %s，必须保证静态路径在动态段之前以避免误路由。", p.pattern(), exactPath);
-                        routeValidationWarnings.add(msg);
-                        LoggingUtil.warn(logger, msg);
-                    }
-                } catch (Exception e) {
-                    LoggingUtil.warn(logger, "Failed to validate route pattern {} against path {}: {}", 
-                        p.pattern(), exactPath, e.getMessage());
-                }
-            }
-        }
+        // 动态模式覆盖静态端点的检查已不再需要：注册表以前缀树匹配，同层字面量段总是优先于变量段，
+        // 已登记的静态端点不会被 /{id} 之类的变量段误判
     }
 
     /**
@@ -16,8 +16,10 @@ import org.springframework.web.reactive.function.server.ServerResponse;
 
 import com.honyrun.constant.PathConstants;
 import com.honyrun.handler.ImageHandler;
+import com.honyrun.handler.monitoring.LogTailHandler;
 import com.honyrun.handler.monitoring.MonitoringVisualizationHandler;
 import com.honyrun.handler.reactive.ApiVersionHandler;
+import com.honyrun.handler.reactive.ConfigChangeStreamHandler;
 import com.honyrun.handler.reactive.ReactiveSystemHandler;
 
 /**
@@ -45,13 +47,18 @@ public class SystemRouterFunction {
     private final ImageHandler imageHandler;
     private final ApiVersionHandler apiVersionHandler;
     private final MonitoringVisualizationHandler monitoringVisualizationHandler;
+    private final LogTailHandler logTailHandler;
+    private final ConfigChangeStreamHandler configChangeStreamHandler;
 
     public SystemRouterFunction(ReactiveSystemHandler reactiveSystemHandler, ImageHandler imageHandler,
-            ApiVersionHandler apiVersionHandler, MonitoringVisualizationHandler monitoringVisualizationHandler) {
+            ApiVersionHandler apiVersionHandler, MonitoringVisualizationHandler monitoringVisualizationHandler,
+            LogTailHandler logTailHandler, ConfigChangeStreamHandler configChangeStreamHandler) {
         this.reactiveSystemHandler = reactiveSystemHandler;
         this.imageHandler = imageHandler;
         this.apiVersionHandler = apiVersionHandler;
         this.monitoringVisualizationHandler = monitoringVisualizationHandler;
+        this.logTailHandler = logTailHandler;
+        this.configChangeStreamHandler = configChangeStreamHandler;
     }
 
     /**
@@ -398,6 +405,7 @@ public class SystemRouterFunction {
      *
      * 定义系统监控相关的路由规则：
      * - GET /api/v1/system/logs - 获取系统日志
+     * - GET /api/v1/system/logs/stream - 实时日志流（SSE）
      * - GET /api/v1/system/stats - 获取系统统计
      * - GET /api/v1/system/performance - 获取性能监控
      *
@@ -406,7 +414,10 @@ public class SystemRouterFunction {
     @Bean("systemMonitoringRoutes")
     public RouterFunction<ServerResponse> systemMonitoringRoutes() {
         return RouterFunctions
-                .route(GET(PathConstants.SYSTEM_LOGS)
+                .route(GET(PathConstants.SYSTEM_LOGS_STREAM)
+                        .and(accept(MediaType.TEXT_EVENT_STREAM)),
+                        logTailHandler::streamLogs)
+                .andRoute(GET(PathConstants.SYSTEM_LOGS)
                         .and(accept(MediaType.APPLICATION_JSON)),
                         reactiveSystemHandler::getSystemLogs)
                 .andRoute(GET(PathConstants.SYSTEM_STATS)
@@ -517,13 +528,17 @@ public class SystemRouterFunction {
      * 定义系统配置相关的路由规则：
      * - POST /api/v1/system/config/hot-update - 热更新配置
      * - POST /api/v1/system/config/reload - 重载配置
+     * - GET /api/v1/system/config/changes/stream - 实时配置变更流（SSE）
      *
      * @return 系统配置路由函数
      */
     @Bean("systemConfigRoutes")
     public RouterFunction<ServerResponse> systemConfigRoutes() {
         return RouterFunctions
-                .route(POST(PathConstants.SYSTEM_CONFIG_HOT_UPDATE)
+                .route(GET(PathConstants.SYSTEM_CONFIG_CHANGES_STREAM)
+                        .and(accept(MediaType.TEXT_EVENT_STREAM)),
+                        configChangeStreamHandler::streamChanges)
+                .andRoute(POST(PathConstants.SYSTEM_CONFIG_HOT_UPDATE)
                         .and(accept(MediaType.APPLICATION_JSON))
                         .and(contentType(MediaType.APPLICATION_JSON)),
                         reactiveSystemHandler::hotUpdateConfig)
@@ -167,6 +167,7 @@ public class UnifiedRouterConfig {
             try {
                 routeRegistry.clearRoutes();
                 routeRegistry.initializeRoutes();
+                routeRegistry.registerRouterFunction(combinedRoutes);
                 LoggingUtil.info(logger, "路由注册表已同步统一路由配置");
             } catch (Exception e) {
                 LoggingUtil.warn(logger, "同步路由注册表失败: {}", e.getMessage());
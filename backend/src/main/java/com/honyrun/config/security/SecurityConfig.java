@@ -331,6 +331,15 @@ public class SecurityConfig {
                         exchanges.pathMatchers("/actuator/info").permitAll();
                     }
 
+                    // 熔断器端点的写操作可强制打开熔断器、调整舱壁，仅系统用户可用
+                    exchanges.pathMatchers(org.springframework.http.HttpMethod.POST,
+                            "/actuator/circuitbreakers", "/actuator/circuitbreakers/**")
+                            .access(this::hasSystemUserPermission);
+                    // 采样监控端点的写操作可关闭采样或修改采样比例，仅系统用户可用
+                    exchanges.pathMatchers(org.springframework.http.HttpMethod.POST,
+                            "/actuator/instrumentation", "/actuator/instrumentation/**")
+                            .access(this::hasSystemUserPermission);
+
                     // 注意：根据项目规则，除了登录、认证接口外，任何接口都不应该是公开的！
                     // 其他actuator端点需要认证
                     exchanges.pathMatchers("/actuator/**").authenticated();
@@ -1,5 +1,7 @@
 package com.honyrun.config.security.permission;
 
+import java.util.List;
+
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.web.server.authorization.AuthorizationContext;
 import org.springframework.stereotype.Component;
@@ -25,6 +27,11 @@ public class CurrentUserPermissionStrategy implements PathPermissionStrategy {
         return path.equals(PathConstants.USER_CURRENT);
     }
     
+    @Override
+    public List<String> getPathTemplates() {
+        return List.of(PathConstants.USER_CURRENT);
+    }
+    
     @Override
     public Mono<AuthorizationDecision> checkPermission(String path, AuthorizationContext context) {
         // 当前用户端点 - 普通用户可以访问
@@ -1,5 +1,6 @@
 package com.honyrun.config.security.permission;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -10,6 +11,7 @@ import org.springframework.security.web.server.authorization.AuthorizationContex
 import org.springframework.stereotype.Component;
 
 import com.honyrun.util.LoggingUtil;
+import com.honyrun.util.router.PathTrie;
 
 import reactor.core.publisher.Mono;
 
@@ -18,8 +20,12 @@ import reactor.core.publisher.Mono;
  * 
  * 统一管理所有路径权限检查策略，根据优先级和支持情况选择合适的策略
  * 
+ * 声明了路径模板的策略在启动时按优先级编译进路径前缀树，请求时按路径段一次匹配得到绑定的策略；
+ * 未声明模板的策略作为补充，仅在其优先级高于前缀树命中策略时通过supports判定
+ * 
  * @author Mr.Rey Copyright © 2025
  * @created 2025-01-17 16:42:00
+ * @modified 2025-11-03 18:00:00
  * @version 1.0.0 - 策略模式重构版本
  */
 @Component
@@ -27,7 +33,9 @@ public class PathPermissionManager {
     
     private static final Logger logger = LoggerFactory.getLogger(PathPermissionManager.class);
     
-    private final List<PathPermissionStrategy> strategies;
+    private final PathTrie<PathPermissionStrategy> strategyTrie;
+    
+    private final List<PathPermissionStrategy> fallbackStrategies;
     
     /**
      * 构造函数注入所有权限策略
@@ -35,16 +43,32 @@ public class PathPermissionManager {
      * @param strategies 权限策略列表
      */
     public PathPermissionManager(List<PathPermissionStrategy> strategies) {
-        // 按优先级排序策略
-        this.strategies = strategies.stream()
+        // 按优先级排序策略，同一路径模板保留优先级最高的策略
+        List<PathPermissionStrategy> sorted = strategies.stream()
                 .sorted(Comparator.comparingInt(PathPermissionStrategy::getPriority))
                 .toList();
         
-        LoggingUtil.info(logger, "Initialized PathPermissionManager with {} strategies", strategies.size());
-        for (PathPermissionStrategy strategy : this.strategies) {
-            LoggingUtil.info(logger, "Registered strategy: {} with priority: {}", 
-                    strategy.getClass().getSimpleName(), strategy.getPriority());
+        PathTrie.Builder<PathPermissionStrategy> builder = PathTrie.builder();
+        List<PathPermissionStrategy> fallbacks = new ArrayList<>();
+        for (PathPermissionStrategy strategy : sorted) {
+            List<String> templates = strategy.getPathTemplates();
+            if (templates.isEmpty()) {
+                fallbacks.add(strategy);
+            }
+            for (String template : templates) {
+                if (!builder.add(template, strategy)) {
+                    LoggingUtil.warn(logger, "Path template {} already bound to a higher priority strategy, ignored for {}",
+                            template, strategy.getClass().getSimpleName());
+                }
+            }
+            LoggingUtil.info(logger, "Registered strategy: {} with priority: {}, templates: {}", 
+                    strategy.getClass().getSimpleName(), strategy.getPriority(), templates);
         }
+        this.strategyTrie = builder.build();
+        this.fallbackStrategies = List.copyOf(fallbacks);
+        
+        LoggingUtil.info(logger, "Initialized PathPermissionManager with {} strategies, {} path templates, {} fallback strategies",
+                strategies.size(), strategyTrie.size(), fallbackStrategies.size());
     }
     
     /**
@@ -55,19 +79,34 @@ public class PathPermissionManager {
      * @return 权限检查结果
      */
     public Mono<AuthorizationDecision> checkPathPermission(String path, AuthorizationContext context) {
-        LoggingUtil.info(logger, "Checking path permission for: {}", path);
-        
-        // 按优先级查找支持该路径的策略
-        for (PathPermissionStrategy strategy : strategies) {
-            if (strategy.supports(path)) {
-                LoggingUtil.info(logger, "Using strategy: {} for path: {}", 
-                        strategy.getClass().getSimpleName(), path);
-                return strategy.checkPermission(path, context);
-            }
+        PathPermissionStrategy strategy = resolveStrategy(path);
+        if (strategy != null) {
+            LoggingUtil.debug(logger, "Using strategy: {} for path: {}", 
+                    strategy.getClass().getSimpleName(), path);
+            return strategy.checkPermission(path, context);
         }
         
         // 没有找到支持的策略，默认拒绝访问
         LoggingUtil.warn(logger, "No strategy found for path: {}, denying access", path);
         return Mono.just(new AuthorizationDecision(false));
     }
+    
+    /**
+     * 解析路径绑定的权限策略
+     * 
+     * @param path 请求路径
+     * @return 权限策略，没有策略支持该路径时返回null
+     */
+    public PathPermissionStrategy resolveStrategy(String path) {
+        PathPermissionStrategy matched = strategyTrie.match(path);
+        for (PathPermissionStrategy fallback : fallbackStrategies) {
+            if (matched != null && fallback.getPriority() >= matched.getPriority()) {
+                break;
+            }
+            if (fallback.supports(path)) {
+                return fallback;
+            }
+        }
+        return matched;
+    }
 }
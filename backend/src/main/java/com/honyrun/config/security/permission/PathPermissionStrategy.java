@@ -1,5 +1,7 @@
 package com.honyrun.config.security.permission;
 
+import java.util.List;
+
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.web.server.authorization.AuthorizationContext;
 import reactor.core.publisher.Mono;
@@ -33,6 +35,18 @@ public interface PathPermissionStrategy {
      */
     Mono<AuthorizationDecision> checkPermission(String path, AuthorizationContext context);
     
+    /**
+     * 获取策略负责的路径模板
+     *
+     * 声明了路径模板的策略由PathPermissionManager编译进路径前缀树按段匹配，不再逐个调用supports；
+     * 返回空列表的策略仍按优先级顺序通过supports判定
+     *
+     * @return 路径模板列表，语法见 {@link com.honyrun.util.router.PathTrie}
+     */
+    default List<String> getPathTemplates() {
+        return List.of();
+    }
+    
     /**
      * 获取策略优先级
      * 数值越小优先级越高
@@ -1,5 +1,7 @@
 package com.honyrun.config.security.permission;
 
+import java.util.List;
+
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.web.server.authorization.AuthorizationContext;
 import org.springframework.stereotype.Component;
@@ -26,6 +28,11 @@ public class PersonalProfilePermissionStrategy implements PathPermissionStrategy
                path.equals(PathConstants.ACCOUNT_PASSWORD);
     }
     
+    @Override
+    public List<String> getPathTemplates() {
+        return List.of(PathConstants.ACCOUNT_PROFILE, PathConstants.ACCOUNT_PASSWORD);
+    }
+    
     @Override
     public Mono<AuthorizationDecision> checkPermission(String path, AuthorizationContext context) {
         // 个人资料路径 - 普通用户可以访问
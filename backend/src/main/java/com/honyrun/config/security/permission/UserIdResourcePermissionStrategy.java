@@ -1,5 +1,7 @@
 package com.honyrun.config.security.permission;
 
+import java.util.List;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authorization.AuthorizationDecision;
@@ -43,6 +45,11 @@ public class UserIdResourcePermissionStrategy implements PathPermissionStrategy
         return path.matches(PathConstants.USER_BASE + "/\\d+.*");
     }
     
+    @Override
+    public List<String> getPathTemplates() {
+        return List.of(PathConstants.USER_BASE + "/{userId:\\d+}", PathConstants.USER_BASE + "/{userId:\\d+}/**");
+    }
+    
     @Override
     public Mono<AuthorizationDecision> checkPermission(String path, AuthorizationContext context) {
         // 用户ID相关路径 - 检查资源所有权
@@ -1,5 +1,7 @@
 package com.honyrun.config.security.permission;
 
+import java.util.List;
+
 import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.web.server.authorization.AuthorizationContext;
 import org.springframework.stereotype.Component;
@@ -25,6 +27,11 @@ public class UserSearchPermissionStrategy implements PathPermissionStrategy {
         return path.equals(PathConstants.USER_SEARCH);
     }
     
+    @Override
+    public List<String> getPathTemplates() {
+        return List.of(PathConstants.USER_SEARCH);
+    }
+    
     @Override
     public Mono<AuthorizationDecision> checkPermission(String path, AuthorizationContext context) {
         // 搜索用户路径 - 普通用户可以访问
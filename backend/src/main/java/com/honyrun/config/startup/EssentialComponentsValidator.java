@@ -32,6 +32,7 @@ import io.micrometer.core.instrument.Timer;
 import io.r2dbc.spi.ConnectionFactory;
 import jakarta.annotation.PostConstruct;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 import reactor.netty.http.client.HttpClient;
 import reactor.util.retry.Retry;
 
@@ -82,13 +83,13 @@ import reactor.util.retry.Retry;
  *
  * @author Mr.Rey Copyright © 2025
  * @created 2025-06-28 10:30:00
- * @modified 2025-06-29 15:30:00
- * @version 1.2.0 - 添加localhost解析检测逻辑
+ * @modified 2025-11-04 09:00:00
+ * @version 1.3.0 - 连接验证结果作为启动校验任务供依赖方等待，缓存预热并行执行
  * @since 1.0.0
  */
 @Component
 @Order(1) // 确保在其他ApplicationRunner之前执行
-public class EssentialComponentsValidator implements ApplicationRunner {
+public class EssentialComponentsValidator implements ApplicationRunner, StartupValidationTask {
 
     private static final Logger logger = LoggerFactory.getLogger(EssentialComponentsValidator.class);
 
@@ -205,6 +206,18 @@ public class EssentialComponentsValidator implements ApplicationRunner {
      */
     private final Environment environment;
 
+    /**
+     * 启动性能剖析器
+     * 记录验证各阶段的耗时
+     */
+    private final StartupProfiler startupProfiler;
+
+    /**
+     * MySQL与Redis连接验证结果
+     * 由run()异步启动，作为"essential-components"启动校验任务的结果供依赖连接的校验任务等待
+     */
+    private volatile Mono<Void> connectionValidation = Mono.error(new IllegalStateException("必备组件连接验证尚未执行"));
+
     /**
      * 构造函数注入所有依赖项
      *
@@ -221,9 +234,10 @@ public class EssentialComponentsValidator implements ApplicationRunner {
      * @param requestSignatureService        请求签名验证服务
      * @param requestSignatureFilter         请求签名验证过滤器
      * @param environment                    环境配置
+     * @param startupProfiler                启动性能剖析器
      * @author Mr.Rey Copyright © 2025
      * @created 2025-10-26 01:36:12
-     * @modified 2025-10-26 01:36:12
+     * @modified 2025-11-04 09:00:00
      * @version 2.0.0 - 重构为构造函数注入
      */
     public EssentialComponentsValidator(
@@ -238,7 +252,8 @@ public class EssentialComponentsValidator implements ApplicationRunner {
             @org.springframework.beans.factory.annotation.Qualifier("unifiedReactiveRedisTemplate") ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
             ReactiveRequestSignatureService requestSignatureService,
             ReactiveRequestSignatureFilter requestSignatureFilter,
-            Environment environment) {
+            Environment environment,
+            StartupProfiler startupProfiler) {
 
         this.unifiedConfigManager = unifiedConfigManager;
         this.connectionRetryConfig = connectionRetryConfig;
@@ -252,6 +267,7 @@ public class EssentialComponentsValidator implements ApplicationRunner {
         this.requestSignatureService = requestSignatureService;
         this.requestSignatureFilter = requestSignatureFilter;
         this.environment = environment;
+        this.startupProfiler = startupProfiler;
     }
 
     /**
@@ -301,6 +317,7 @@ public class EssentialComponentsValidator implements ApplicationRunner {
 
         // 启动总验证计时器
         startupValidationTimer = Timer.start(meterRegistry);
+        StartupProfiler.Span runnerSpan = startupProfiler.start("runner", "essential-components");
         LoggingUtil.info(logger, "启动验证计时器已启动");
 
         try {
@@ -342,12 +359,14 @@ public class EssentialComponentsValidator implements ApplicationRunner {
 
             // 使用响应式方式处理验证结果，避免阻塞调用
             // 改为异步执行，不阻塞启动流程，让Spring Boot自然完成启动
-            Mono.when(
+            StartupProfiler.Span connectionSpan = startupProfiler.start("phase", "essential-components.connections");
+            connectionValidation = Mono.when(
                     validateMySQLConnection(),
                     validateRedisConnection())
                     .timeout(connectionRetryConfig.getConnectionTimeout().multipliedBy(2)) // 总超时时间为单个连接超时的2倍
                     .doOnSuccess(result -> {
                         long connectionValidationEndTime = System.currentTimeMillis();
+                        connectionSpan.end();
 
                         // 记录连接验证总耗时
                         meterRegistry.timer("honyrun.startup.connection.validation.total.time")
@@ -374,6 +393,7 @@ public class EssentialComponentsValidator implements ApplicationRunner {
                         performPostStartupHealthCheck();
                     })
                     .doOnError(error -> {
+                        connectionSpan.fail(error);
                         // 记录失败指标
                         meterRegistry.counter("honyrun.startup.validation.failures")
                                 .increment();
@@ -391,7 +411,8 @@ public class EssentialComponentsValidator implements ApplicationRunner {
                         // 优雅关闭应用上下文
                         shutdownApplicationGracefully();
                     })
-                    .subscribe(); // 改为异步订阅，避免阻塞启动流程，符合响应式编程原则
+                    .cache();
+            connectionValidation.subscribe(); // 改为异步订阅，避免阻塞启动流程，符合响应式编程原则
 
         } catch (Exception e) {
             // 记录异常指标
@@ -406,14 +427,35 @@ public class EssentialComponentsValidator implements ApplicationRunner {
                         .register(meterRegistry));
             }
 
+            runnerSpan.fail(e);
             LoggingUtil.error(logger, "=========必备组件验证过程中发生异常，应用启动终止=========", e);
             // 优雅关闭应用上下文，而不是强制退出
             shutdownApplicationGracefully();
         }
 
+        runnerSpan.end();
         LoggingUtil.info(logger, "========= EssentialComponentsValidator 执行完成 =========");
     }
 
+    @Override
+    public String getName() {
+        return "essential-components";
+    }
+
+    /**
+     * 等待run()启动的MySQL与Redis连接验证完成
+     *
+     * <p>
+     * 验证失败时由本类关闭应用，因此不作为必需任务；依赖数据库或Redis的启动校验任务声明对本任务的依赖，
+     * 连接验证失败时这些任务会被跳过
+     *
+     * @return 连接验证结果
+     */
+    @Override
+    public Mono<Void> validate() {
+        return connectionValidation;
+    }
+
     /**
      * 优雅关闭应用上下文
      *
@@ -918,16 +960,20 @@ public class EssentialComponentsValidator implements ApplicationRunner {
         LoggingUtil.info(logger, "开始执行缓存预热");
 
         Timer.Sample cacheWarmupTimer = Timer.start(meterRegistry);
+        StartupProfiler.Span warmupSpan = startupProfiler.start("phase", "cache-warmup");
 
         // 异步执行缓存预热，不阻塞启动流程
+        // 各类缓存预热相互独立，并行执行；Redis预热为阻塞调用，放到弹性线程池执行
         Mono.fromRunnable(() -> {
             LoggingUtil.info(logger, "启动缓存预热任务");
         })
-                .then(performRedisWarmup())
-                .then(performSystemCacheWarmup())
-                .then(performUserPermissionCacheWarmup())
-                .then(performBusinessCacheWarmup())
+                .then(Mono.whenDelayError(
+                        performRedisWarmup().subscribeOn(Schedulers.boundedElastic()),
+                        performSystemCacheWarmup(),
+                        performUserPermissionCacheWarmup(),
+                        performBusinessCacheWarmup()))
                 .doOnSuccess(result -> {
+                    warmupSpan.end();
                     // 停止缓存预热计时器
                     cacheWarmupTimer.stop(Timer.builder("honyrun.startup.cache.warmup.total.time")
                             .description("Total cache warmup time during startup")
@@ -940,6 +986,7 @@ public class EssentialComponentsValidator implements ApplicationRunner {
                     LoggingUtil.info(logger, "✓ 缓存预热完成");
                 })
                 .doOnError(error -> {
+                    warmupSpan.fail(error);
                     // 停止缓存预热计时器并记录错误状态
                     cacheWarmupTimer.stop(Timer.builder("honyrun.startup.cache.warmup.total.time")
                             .description("Total cache warmup time during startup")
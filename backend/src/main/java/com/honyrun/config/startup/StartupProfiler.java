@@ -0,0 +1,444 @@
+package com.honyrun.config.startup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.honyrun.util.LoggingUtil;
+import com.honyrun.util.common.JsonUtil;
+
+/**
+ * 启动性能剖析器
+ *
+ * 汇总一次启动的时间线并生成机器可读的启动报告：
+ * - Bean耗时：读取主启动类配置的BufferingApplicationStartup记录的spring.beans.instantiate步骤，
+ *   按扣除嵌套依赖后的自身耗时排序，只保留最慢的若干个
+ * - 阶段与校验任务耗时：启动流程与StartupValidationOrchestrator通过start()记录的时间段，
+ *   包含相对JVM启动的开始时间、耗时、执行线程和结果
+ * - 关键时间点：上下文启动完成、应用就绪、必需校验完成（可对外服务）相对JVM启动的耗时
+ *
+ * 回归检查：
+ * - 可对外服务耗时或单个校验任务耗时超过预算时告警，开启fail-on-exceed时终止启动，可用于流水线的启动冒烟检查
+ * - 写入报告前读取上一次的报告，耗时增幅超过阈值的项目列入regressions并告警
+ *
+ * 报告通过 /actuator/startupreport 查看，全部校验任务结束后写入honyrun.startup.report.file
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 09:00:00
+ * @modified 2025-11-04 09:00:00
+ * @version 1.0.0
+ */
+@Component
+public class StartupProfiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupProfiler.class);
+
+    private static final String BEAN_INSTANTIATE_STEP = "spring.beans.instantiate";
+
+    /**
+     * 回归判定的最小绝对增幅（毫秒），低于该值的波动视为噪声
+     */
+    private static final long REGRESSION_NOISE_FLOOR_MILLIS = 50;
+
+    private final ConfigurableApplicationContext applicationContext;
+
+    @Value("${honyrun.startup.report.file:logs/startup-report.json}")
+    private String reportFile;
+
+    @Value("${honyrun.startup.report.top-beans:30}")
+    private int topBeans;
+
+    @Value("${honyrun.startup.report.regression-threshold:20}")
+    private double regressionThresholdPercent;
+
+    @Value("${honyrun.startup.budget.time-to-ready:0}")
+    private long readyBudgetMillis;
+
+    @Value("${honyrun.startup.budget.validator:0}")
+    private long validatorBudgetMillis;
+
+    @Value("${honyrun.startup.budget.fail-on-exceed:false}")
+    private boolean failOnBudgetExceeded;
+
+    private final long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private final Queue<Span> spans = new ConcurrentLinkedQueue<>();
+
+    private volatile Duration timeToStarted;
+    private volatile Duration timeToReady;
+    private volatile Long jvmUptimeAtReady;
+    private volatile Long jvmUptimeAtServing;
+    private volatile Long jvmUptimeAtValidated;
+    private volatile JsonNode previousReport;
+    private volatile List<String> regressions = List.of();
+
+    public StartupProfiler(ConfigurableApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * 开始记录一个时间段
+     *
+     * @param category 类别，例如 phase、runner、validator
+     * @param name     名称
+     * @return 时间段，结束时调用end()或fail()
+     */
+    public Span start(String category, String name) {
+        return new Span(category, name);
+    }
+
+    @EventListener(ApplicationStartedEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationStarted(ApplicationStartedEvent event) {
+        timeToStarted = event.getTimeTaken();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady(ApplicationReadyEvent event) {
+        timeToReady = event.getTimeTaken();
+        jvmUptimeAtReady = uptime();
+        previousReport = readPreviousReport();
+    }
+
+    /**
+     * 必需校验任务全部完成，应用开始对外服务
+     *
+     * @throws IllegalStateException 超出预算且开启了fail-on-exceed
+     */
+    public void markServing() {
+        jvmUptimeAtServing = uptime();
+        List<String> violations = budgetViolations();
+        if (violations.isEmpty()) {
+            LoggingUtil.info(logger, "应用启动完成：上下文就绪 {}ms，可对外服务 {}ms（相对JVM启动）",
+                    timeToReady != null ? timeToReady.toMillis() : null, jvmUptimeAtServing);
+            return;
+        }
+        if (failOnBudgetExceeded) {
+            LoggingUtil.error(logger, "启动耗时超出预算，终止启动: {}", violations);
+            throw new IllegalStateException("启动耗时超出预算: " + violations);
+        }
+        LoggingUtil.warn(logger, "启动耗时超出预算: {}", violations);
+    }
+
+    /**
+     * 全部校验任务结束，对比上一次报告并写入报告文件
+     */
+    public void completeValidation() {
+        jvmUptimeAtValidated = uptime();
+        regressions = detectRegressions();
+        if (!regressions.isEmpty()) {
+            LoggingUtil.warn(logger, "启动耗时相比上一次启动出现回归（阈值{}%）: {}", regressionThresholdPercent, regressions);
+        }
+        writeReport();
+    }
+
+    /**
+     * 生成启动报告
+     *
+     * @return 启动报告
+     */
+    public Map<String, Object> getReport() {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("application", applicationContext.getEnvironment().getProperty("spring.application.name"));
+        report.put("profiles", Arrays.asList(applicationContext.getEnvironment().getActiveProfiles()));
+        report.put("jvmStartTime", Instant.ofEpochMilli(jvmStartMillis).toString());
+        report.put("timeToStartedMs", timeToStarted != null ? timeToStarted.toMillis() : null);
+        report.put("timeToReadyMs", timeToReady != null ? timeToReady.toMillis() : null);
+        report.put("jvmUptimeAtReadyMs", jvmUptimeAtReady);
+        report.put("jvmUptimeAtServingMs", jvmUptimeAtServing);
+        report.put("jvmUptimeAtValidatedMs", jvmUptimeAtValidated);
+
+        List<Span> recorded = new ArrayList<>(spans);
+        recorded.sort(Comparator.comparingLong(span -> span.startOffsetMillis));
+        report.put("validation", validationSummary(recorded));
+        report.put("spans", recorded.stream().map(Span::toMap).toList());
+        report.put("beans", beanTimings());
+
+        Map<String, Object> budgets = new LinkedHashMap<>();
+        budgets.put("timeToServingMs", readyBudgetMillis);
+        budgets.put("validatorMs", validatorBudgetMillis);
+        budgets.put("failOnExceed", failOnBudgetExceeded);
+        report.put("budgets", budgets);
+        report.put("budgetViolations", budgetViolations());
+        report.put("regressions", regressions);
+        return report;
+    }
+
+    private Map<String, Object> validationSummary(List<Span> recorded) {
+        long cumulative = 0;
+        int count = 0;
+        for (Span span : recorded) {
+            if ("validator".equals(span.category) && span.durationMillis != null) {
+                cumulative += span.durationMillis;
+                count++;
+            }
+        }
+        Long wallTime = recorded.stream()
+                .filter(span -> "phase".equals(span.category) && "validation".equals(span.name))
+                .map(span -> span.durationMillis)
+                .findFirst()
+                .orElse(null);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("tasks", count);
+        summary.put("cumulativeMs", cumulative);
+        summary.put("wallTimeMs", wallTime);
+        // 并行执行相对串行执行节省的时间
+        summary.put("parallelSavingMs", wallTime != null ? Math.max(0, cumulative - wallTime) : null);
+        return summary;
+    }
+
+    /**
+     * 按自身耗时（扣除嵌套创建的依赖Bean）统计最慢的Bean
+     */
+    private Map<String, Object> beanTimings() {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        if (!(applicationContext.getApplicationStartup() instanceof BufferingApplicationStartup buffering)) {
+            beans.put("source", "unavailable");
+            return beans;
+        }
+        List<StartupTimeline.TimelineEvent> events = buffering.getBufferedTimeline().getEvents();
+        Map<Long, Long> childNanos = new HashMap<>();
+        for (StartupTimeline.TimelineEvent event : events) {
+            Long parentId = event.getStartupStep().getParentId();
+            if (parentId != null) {
+                childNanos.merge(parentId, event.getDuration().toNanos(), Long::sum);
+            }
+        }
+        List<Map<String, Object>> timings = new ArrayList<>();
+        long totalSelfNanos = 0;
+        for (StartupTimeline.TimelineEvent event : events) {
+            StartupStep step = event.getStartupStep();
+            if (!BEAN_INSTANTIATE_STEP.equals(step.getName())) {
+                continue;
+            }
+            long totalNanos = event.getDuration().toNanos();
+            long selfNanos = Math.max(0, totalNanos - childNanos.getOrDefault(step.getId(), 0L));
+            totalSelfNanos += selfNanos;
+            Map<String, Object> timing = new LinkedHashMap<>();
+            timing.put("bean", tag(step, "beanName"));
+            timing.put("type", tag(step, "beanType"));
+            timing.put("selfMs", selfNanos / 1_000_000.0);
+            timing.put("totalMs", totalNanos / 1_000_000.0);
+            timings.add(timing);
+        }
+        timings.sort(Comparator.comparingDouble((Map<String, Object> timing) -> (Double) timing.get("selfMs")).reversed());
+        beans.put("source", "buffering-application-startup");
+        beans.put("count", timings.size());
+        beans.put("totalSelfMs", totalSelfNanos / 1_000_000);
+        beans.put("slowest", timings.subList(0, Math.min(topBeans, timings.size())));
+        return beans;
+    }
+
+    private static String tag(StartupStep step, String key) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (key.equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return null;
+    }
+
+    private List<String> budgetViolations() {
+        List<String> violations = new ArrayList<>();
+        Long serving = jvmUptimeAtServing;
+        if (readyBudgetMillis > 0 && serving != null && serving > readyBudgetMillis) {
+            violations.add("可对外服务耗时 " + serving + "ms > " + readyBudgetMillis + "ms");
+        }
+        if (validatorBudgetMillis > 0) {
+            for (Span span : spans) {
+                if ("validator".equals(span.category) && span.durationMillis != null
+                        && span.durationMillis > validatorBudgetMillis) {
+                    violations.add("校验任务 " + span.name + " 耗时 " + span.durationMillis + "ms > "
+                            + validatorBudgetMillis + "ms");
+                }
+            }
+        }
+        return violations;
+    }
+
+    private List<String> detectRegressions() {
+        JsonNode previous = previousReport;
+        if (previous == null) {
+            return List.of();
+        }
+        List<String> found = new ArrayList<>();
+        compare(found, "可对外服务耗时", previous.path("jvmUptimeAtServingMs"), jvmUptimeAtServing);
+        Map<String, Long> previousValidators = new HashMap<>();
+        for (JsonNode span : previous.path("spans")) {
+            if ("validator".equals(span.path("category").asText()) && span.path("durationMs").isNumber()) {
+                previousValidators.put(span.path("name").asText(), span.path("durationMs").asLong());
+            }
+        }
+        for (Span span : spans) {
+            Long before = previousValidators.get(span.name);
+            if ("validator".equals(span.category) && before != null) {
+                compare(found, "校验任务 " + span.name, before, span.durationMillis);
+            }
+        }
+        return found;
+    }
+
+    private void compare(List<String> found, String label, JsonNode previous, Long current) {
+        if (previous.isNumber()) {
+            compare(found, label, previous.asLong(), current);
+        }
+    }
+
+    private void compare(List<String> found, String label, long previous, Long current) {
+        if (current == null || previous <= 0) {
+            return;
+        }
+        double increasePercent = (current - previous) * 100.0 / previous;
+        if (current - previous > REGRESSION_NOISE_FLOOR_MILLIS && increasePercent > regressionThresholdPercent) {
+            found.add(String.format("%s %dms -> %dms (+%.1f%%)", label, previous, current, increasePercent));
+        }
+    }
+
+    private JsonNode readPreviousReport() {
+        Path path = Paths.get(reportFile);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            return JsonUtil.getObjectMapper().readTree(path.toFile());
+        } catch (IOException e) {
+            LoggingUtil.warn(logger, "读取上一次启动报告失败: {}，原因: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeReport() {
+        Path path = Paths.get(reportFile);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(path, JsonUtil.toPrettyJson(getReport()), StandardCharsets.UTF_8);
+            LoggingUtil.info(logger, "启动报告已写入: {}", path.toAbsolutePath());
+        } catch (IOException | RuntimeException e) {
+            LoggingUtil.warn(logger, "写入启动报告失败: {}，原因: {}", path, e.getMessage());
+        }
+    }
+
+    private long uptime() {
+        return System.currentTimeMillis() - jvmStartMillis;
+    }
+
+    /**
+     * 启动时间线上的一个时间段，结束时写入时间线
+     */
+    public final class Span {
+
+        private final String category;
+        private final String name;
+        private final long startOffsetMillis;
+        private final long startNanos;
+        private final String thread;
+        private final Map<String, Object> attributes = new LinkedHashMap<>();
+        private volatile Long durationMillis;
+        private volatile String status;
+        private volatile String error;
+
+        private Span(String category, String name) {
+            this.category = category;
+            this.name = name;
+            this.startOffsetMillis = uptime();
+            this.startNanos = System.nanoTime();
+            this.thread = Thread.currentThread().getName();
+        }
+
+        /**
+         * 附加属性，在结束前设置
+         *
+         * @param key   属性名
+         * @param value 属性值
+         * @return 当前时间段
+         */
+        public Span attribute(String key, Object value) {
+            attributes.put(key, value);
+            return this;
+        }
+
+        /**
+         * 以成功状态结束
+         *
+         * @return 耗时（毫秒）
+         */
+        public long end() {
+            return end("SUCCEEDED", null);
+        }
+
+        /**
+         * 以失败状态结束
+         *
+         * @param cause 失败原因
+         * @return 耗时（毫秒）
+         */
+        public long fail(Throwable cause) {
+            return end("FAILED", cause);
+        }
+
+        /**
+         * 以指定状态结束，重复调用时只记录第一次
+         *
+         * @param status 结束状态
+         * @param cause  失败原因，可为null
+         * @return 耗时（毫秒）
+         */
+        public synchronized long end(String status, Throwable cause) {
+            if (durationMillis == null) {
+                this.durationMillis = (System.nanoTime() - startNanos) / 1_000_000;
+                this.status = status;
+                this.error = cause != null ? cause.getClass().getSimpleName() + ": " + cause.getMessage() : null;
+                spans.add(this);
+            }
+            return durationMillis;
+        }
+
+        private Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("category", category);
+            map.put("name", name);
+            map.put("startMs", startOffsetMillis);
+            map.put("durationMs", durationMillis);
+            map.put("status", status);
+            map.put("thread", thread);
+            if (error != null) {
+                map.put("error", error);
+            }
+            map.putAll(attributes);
+            return map;
+        }
+    }
+}
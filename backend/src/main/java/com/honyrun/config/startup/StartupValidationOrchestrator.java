@@ -0,0 +1,231 @@
+package com.honyrun.config.startup;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.util.LoggingUtil;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 启动校验编排器
+ *
+ * 应用就绪后按依赖关系调度全部StartupValidationTask：
+ * - 任务在专用的有界弹性调度器上执行，并发数由honyrun.startup.validation.parallelism控制，
+ *   启动耗时取决于依赖链中最长的一条，而不是全部任务耗时之和
+ * - 依赖未成功（失败、超时或被跳过）的任务标记为SKIPPED，不再执行
+ * - 就绪事件只等待必需任务及其依赖完成，必需任务未成功或等待超时时抛出异常终止启动；
+ *   其余任务在后台继续执行
+ * - 重复的任务名称、未知的依赖和循环依赖视为配置错误，直接终止启动
+ *
+ * 每个任务的耗时记录到StartupProfiler，全部任务结束后生成启动报告
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 09:00:00
+ * @modified 2025-11-04 09:00:00
+ * @version 1.0.0
+ */
+@Component
+public class StartupValidationOrchestrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StartupValidationOrchestrator.class);
+
+    /**
+     * 任务执行结果
+     */
+    public enum Status {
+        SUCCEEDED, FAILED, TIMED_OUT, SKIPPED
+    }
+
+    private record Outcome(StartupValidationTask task, Status status) {
+    }
+
+    private final ObjectProvider<StartupValidationTask> taskProvider;
+    private final StartupProfiler profiler;
+
+    @Value("${honyrun.startup.validation.parallelism:4}")
+    private int parallelism;
+
+    @Value("${honyrun.startup.validation.timeout:60000}")
+    private long timeoutMillis;
+
+    @Value("${honyrun.startup.validation.task-timeout:30000}")
+    private long taskTimeoutMillis;
+
+    public StartupValidationOrchestrator(ObjectProvider<StartupValidationTask> taskProvider, StartupProfiler profiler) {
+        this.taskProvider = taskProvider;
+        this.profiler = profiler;
+    }
+
+    /**
+     * 应用就绪后执行启动校验，排在StartupProfiler记录就绪时间之后、其他就绪监听器之前
+     *
+     * @throws IllegalStateException 任务配置错误、必需任务未成功或等待超时
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE + 1)
+    public void runValidations() {
+        Map<String, StartupValidationTask> tasks = new LinkedHashMap<>();
+        taskProvider.orderedStream().forEach(task -> {
+            if (tasks.putIfAbsent(task.getName(), task) != null) {
+                throw new IllegalStateException("启动校验任务名称重复: " + task.getName());
+            }
+        });
+        for (StartupValidationTask task : tasks.values()) {
+            for (String dependency : task.getDependencies()) {
+                if (!tasks.containsKey(dependency)) {
+                    throw new IllegalStateException("启动校验任务 " + task.getName() + " 依赖的任务不存在: " + dependency);
+                }
+            }
+        }
+
+        Scheduler scheduler = Schedulers.newBoundedElastic(Math.max(1, parallelism),
+                Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, "startup-validation", 60, true);
+        Map<String, Mono<Outcome>> executions = new LinkedHashMap<>();
+        for (StartupValidationTask task : tasks.values()) {
+            plan(task, tasks, executions, new ArrayDeque<>(), scheduler);
+        }
+        Set<String> gating = new LinkedHashSet<>();
+        tasks.values().stream()
+                .filter(StartupValidationTask::isRequired)
+                .forEach(task -> collectWithDependencies(task, tasks, gating));
+        LoggingUtil.info(logger, "开始执行启动校验任务 {} 个（必需任务及其依赖 {} 个），并发数: {}",
+                tasks.size(), gating.size(), parallelism);
+
+        StartupProfiler.Span phase = profiler.start("phase", "validation");
+        Mono<List<Outcome>> all = Flux.merge(executions.values())
+                .collectList()
+                .doOnNext(outcomes -> phase.end())
+                .doFinally(signal -> scheduler.dispose())
+                .cache();
+        all.subscribe();
+        try {
+            awaitRequired(gating, executions);
+            profiler.markServing();
+        } finally {
+            // 报告在后台任务全部结束后生成，包含可对外服务的时间点
+            all.subscribe(outcomes -> {
+                long failures = outcomes.stream().filter(outcome -> outcome.status() != Status.SUCCEEDED).count();
+                LoggingUtil.info(logger, "启动校验任务全部结束，耗时 {}ms，未成功 {} 个", phase.end(), failures);
+                profiler.completeValidation();
+            });
+        }
+    }
+
+    private void awaitRequired(Set<String> gating, Map<String, Mono<Outcome>> executions) {
+        if (gating.isEmpty()) {
+            return;
+        }
+        List<Outcome> outcomes;
+        try {
+            outcomes = Flux.merge(gating.stream().map(executions::get).toList())
+                    .collectList()
+                    .block(Duration.ofMillis(timeoutMillis));
+        } catch (IllegalStateException e) {
+            throw new IllegalStateException("等待必需启动校验任务超时（" + timeoutMillis + "ms）", e);
+        }
+        List<String> failed = outcomes == null ? List.of() : outcomes.stream()
+                .filter(outcome -> outcome.task().isRequired() && outcome.status() != Status.SUCCEEDED)
+                .map(outcome -> outcome.task().getName() + "=" + outcome.status())
+                .toList();
+        if (!failed.isEmpty()) {
+            throw new IllegalStateException("必需启动校验任务未通过: " + failed);
+        }
+    }
+
+    /**
+     * 按依赖顺序构建任务执行链，每个任务只执行一次，结果被全部依赖方共享
+     */
+    private Mono<Outcome> plan(StartupValidationTask task, Map<String, StartupValidationTask> tasks,
+            Map<String, Mono<Outcome>> executions, Deque<String> path, Scheduler scheduler) {
+        Mono<Outcome> planned = executions.get(task.getName());
+        if (planned != null) {
+            return planned;
+        }
+        if (path.contains(task.getName())) {
+            throw new IllegalStateException("启动校验任务存在循环依赖: " + path + " -> " + task.getName());
+        }
+        path.push(task.getName());
+        List<Mono<Outcome>> dependencies = task.getDependencies().stream()
+                .sorted()
+                .map(dependency -> plan(tasks.get(dependency), tasks, executions, path, scheduler))
+                .toList();
+        path.pop();
+
+        Mono<Outcome> execution = Flux.merge(dependencies)
+                .filter(outcome -> outcome.status() != Status.SUCCEEDED)
+                .next()
+                .map(failed -> skip(task, failed))
+                .switchIfEmpty(Mono.defer(() -> execute(task, scheduler)))
+                .cache();
+        executions.put(task.getName(), execution);
+        return execution;
+    }
+
+    private Mono<Outcome> execute(StartupValidationTask task, Scheduler scheduler) {
+        return Mono.defer(() -> {
+            StartupProfiler.Span span = profiler.start("validator", task.getName())
+                    .attribute("required", task.isRequired())
+                    .attribute("dependencies", task.getDependencies().stream().sorted().toList());
+            return Mono.defer(task::validate)
+                    .timeout(Duration.ofMillis(taskTimeoutMillis))
+                    .then(Mono.fromCallable(() -> {
+                        long elapsed = span.end();
+                        LoggingUtil.info(logger, "启动校验任务完成: {}，耗时 {}ms", task.getName(), elapsed);
+                        return new Outcome(task, Status.SUCCEEDED);
+                    }))
+                    .onErrorResume(error -> {
+                        Status status = error instanceof TimeoutException ? Status.TIMED_OUT : Status.FAILED;
+                        long elapsed = span.end(status.name(), error);
+                        if (task.isRequired()) {
+                            LoggingUtil.error(logger, "必需启动校验任务未通过: {}，状态: {}，耗时 {}ms", task.getName(),
+                                    status, elapsed, error);
+                        } else {
+                            LoggingUtil.warn(logger, "启动校验任务未通过: {}，状态: {}，耗时 {}ms，原因: {}", task.getName(),
+                                    status, elapsed, error.getMessage());
+                        }
+                        return Mono.just(new Outcome(task, status));
+                    });
+        }).subscribeOn(scheduler);
+    }
+
+    private Outcome skip(StartupValidationTask task, Outcome failedDependency) {
+        profiler.start("validator", task.getName())
+                .attribute("required", task.isRequired())
+                .attribute("dependencies", task.getDependencies().stream().sorted().toList())
+                .attribute("skippedBecause", failedDependency.task().getName())
+                .end(Status.SKIPPED.name(), null);
+        LoggingUtil.warn(logger, "启动校验任务 {} 已跳过，依赖任务 {} 未成功: {}", task.getName(),
+                failedDependency.task().getName(), failedDependency.status());
+        return new Outcome(task, Status.SKIPPED);
+    }
+
+    private static void collectWithDependencies(StartupValidationTask task, Map<String, StartupValidationTask> tasks,
+            Set<String> collected) {
+        if (collected.add(task.getName())) {
+            for (String dependency : task.getDependencies()) {
+                collectWithDependencies(tasks.get(dependency), tasks, collected);
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.honyrun.config.startup;
+
+import java.util.Set;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 启动校验任务
+ *
+ * 由StartupValidationOrchestrator在应用就绪后统一调度：
+ * - 没有依赖关系的任务并行执行，依赖的任务全部成功后才执行本任务，依赖失败时本任务跳过
+ * - 必需任务（及其依赖）在就绪事件中等待完成，失败时终止启动；非必需任务在后台执行，失败只记录告警
+ * - 每个任务的开始时间、耗时、执行线程和结果记录到启动时间线，并写入启动报告
+ *
+ * validate()返回的Mono在专用的有界弹性调度器上订阅，实现中可以直接执行阻塞的校验逻辑
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 09:00:00
+ * @modified 2025-11-04 09:00:00
+ * @version 1.0.0
+ */
+public interface StartupValidationTask {
+
+    /**
+     * 任务名称，在全部启动校验任务中唯一，供依赖声明与启动报告使用
+     *
+     * @return 任务名称
+     */
+    String getName();
+
+    /**
+     * 必须先成功完成的任务名称
+     *
+     * @return 依赖的任务名称集合
+     */
+    default Set<String> getDependencies() {
+        return Set.of();
+    }
+
+    /**
+     * 是否为必需任务
+     *
+     * @return 必需任务返回true，失败时终止应用启动
+     */
+    default boolean isRequired() {
+        return false;
+    }
+
+    /**
+     * 执行校验
+     *
+     * @return 校验完成信号，校验失败时以异常结束
+     */
+    Mono<Void> validate();
+}
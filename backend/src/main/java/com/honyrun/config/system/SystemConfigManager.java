@@ -238,6 +238,19 @@ public class SystemConfigManager {
                 });
     }
 
+    /**
+     * 加载所有启用配置的键值映射，不经过Spring Cache
+     * 供UnifiedConfigManager构建配置快照使用，读取失败时向上游传递错误以便保留旧快照
+     *
+     * @return 配置键到配置值的映射
+     */
+    public Mono<Map<String, String>> loadEnabledConfigMap() {
+        return systemConfigRepository.findAllEnabled()
+                .filter(config -> config.getConfigKey() != null && config.getConfigValue() != null)
+                .collectMap(SystemConfig::getConfigKey, SystemConfig::getConfigValue)
+                .doOnNext(configs -> LoggingUtil.debug(logger, "加载启用配置 {} 项", configs.size()));
+    }
+
     /**
      * 刷新配置分组缓存
      *
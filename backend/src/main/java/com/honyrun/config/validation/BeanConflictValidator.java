@@ -1,17 +1,16 @@
 package com.honyrun.config.validation;
 
+import com.honyrun.config.startup.StartupValidationTask;
 import com.honyrun.util.LoggingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
-import org.springframework.boot.ApplicationArguments;
-import org.springframework.boot.ApplicationRunner;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Profile;
-import org.springframework.core.annotation.Order;
 import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -32,16 +31,17 @@ import java.util.stream.Collectors;
  * - 基础设施组件才适合使用@Primary注解
  * - 环境特定Bean必须使用@Profile隔离
  *
+ * <p>作为启动校验任务在应用就绪后与其他校验并行执行，不再占用ApplicationRunner阶段的启动时间。
+ *
  * @author Mr.Rey Copyright © 2025
  * @created 2025-07-02 16:45:00
- * @modified 2025-07-02 16:45:00
- * @version 1.0.0 - Bean冲突验证器
+ * @modified 2025-11-04 09:00:00
+ * @version 1.0.1 - 改为启动校验任务
  * @since 1.0.0
  */
 @Component
 @Profile("dev")  // 仅在开发环境激活，避免影响生产环境性能
-@Order(2) // 确保在EssentialComponentsValidator之后执行
-public class BeanConflictValidator implements ApplicationRunner {
+public class BeanConflictValidator implements StartupValidationTask {
 
     private static final Logger logger = LoggerFactory.getLogger(BeanConflictValidator.class);
 
@@ -104,7 +104,16 @@ public class BeanConflictValidator implements ApplicationRunner {
     );
 
     @Override
-    public void run(ApplicationArguments args) throws Exception {
+    public String getName() {
+        return "bean-conflicts";
+    }
+
+    @Override
+    public Mono<Void> validate() {
+        return Mono.fromRunnable(this::validateBeanConflicts);
+    }
+
+    private void validateBeanConflicts() {
         LoggingUtil.info(logger, "开始执行Bean冲突验证");
 
         // 检查ApplicationContext状态
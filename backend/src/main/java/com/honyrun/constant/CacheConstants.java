@@ -109,6 +109,31 @@ public final class CacheConstants {
      */
     public static final String USER_SESSION_KEY_PREFIX = USER_KEY_PREFIX + "session:";
 
+    /**
+     * 用户会话索引键前缀（ZSET，成员为活动ID，分值为最后活动时间）
+     */
+    public static final String USER_SESSION_INDEX_KEY_PREFIX = USER_KEY_PREFIX + "session-index:";
+
+    /**
+     * 在线用户索引键（ZSET，成员为用户ID，分值为最后活动时间）
+     */
+    public static final String ACTIVE_USERS_KEY = USER_KEY_PREFIX + "active-users";
+
+    /**
+     * 在线会话索引键（ZSET，成员为"用户ID:活动ID"，分值为最后活动时间）
+     */
+    public static final String ACTIVE_SESSIONS_KEY = USER_KEY_PREFIX + "active-sessions";
+
+    /**
+     * 会话用户名映射键（HASH，用户名到用户ID）
+     */
+    public static final String SESSION_OWNERS_KEY = USER_KEY_PREFIX + "session-owners";
+
+    /**
+     * 会话统计键（HASH，峰值在线用户数、峰值时间与登录次数）
+     */
+    public static final String SESSION_STATS_KEY = USER_KEY_PREFIX + "session-stats";
+
     /**
      * 系统缓存键前缀
      */
@@ -225,6 +225,11 @@ public final class PathConstants {
      */
     public static final String SYSTEM_LOGS = SYSTEM_BASE + "/logs";
 
+    /**
+     * 系统实时日志流路径
+     */
+    public static final String SYSTEM_LOGS_STREAM = SYSTEM_LOGS + "/stream";
+
     /**
      * 系统状态路径
      */
@@ -260,6 +265,11 @@ public final class PathConstants {
      */
     public static final String SYSTEM_CONFIG_RELOAD = SYSTEM_CONFIG + "/reload";
 
+    /**
+     * 系统配置实时变更流路径
+     */
+    public static final String SYSTEM_CONFIG_CHANGES_STREAM = SYSTEM_CONFIG + "/changes/stream";
+
     /**
      * 系统信息路径
      */
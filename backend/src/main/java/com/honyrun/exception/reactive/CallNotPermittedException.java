@@ -0,0 +1,55 @@
+package com.honyrun.exception.reactive;
+
+import com.honyrun.exception.ErrorCode;
+
+/**
+ * 依赖调用被拒绝异常
+ *
+ * 熔断器处于打开状态或舱壁并发已满时快速失败抛出，调用不会到达下游依赖，
+ * 因此不计入熔断器失败样本，也不应被重试
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 14:00:00
+ * @modified 2025-10-31 14:00:00
+ * @version 1.0.0
+ */
+public class CallNotPermittedException extends ReactiveException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 拒绝原因
+     */
+    public enum Reason {
+        /**
+         * 熔断器打开
+         */
+        CIRCUIT_OPEN,
+        /**
+         * 舱壁并发已满
+         */
+        BULKHEAD_FULL
+    }
+
+    private final String dependency;
+    private final Reason reason;
+
+    /**
+     * @param dependency 依赖名称
+     * @param reason     拒绝原因
+     */
+    public CallNotPermittedException(String dependency, Reason reason) {
+        super(ErrorCode.EXTERNAL_SERVICE_UNAVAILABLE,
+                reason == Reason.CIRCUIT_OPEN ? "依赖服务熔断中: " + dependency : "依赖服务并发已满: " + dependency);
+        this.dependency = dependency;
+        this.reason = reason;
+    }
+
+    public String getDependency() {
+        return dependency;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,40 @@
+package com.honyrun.exception.reactive;
+
+import com.honyrun.exception.ErrorCode;
+
+/**
+ * 调度租约丢失异常
+ *
+ * 定时任务执行期间租约续期失败或防护令牌已被更新的持有者取代时抛出，
+ * 说明其他节点已经接管该任务，本节点不应再产生任何副作用
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-01 09:00:00
+ * @modified 2025-11-01 09:00:00
+ * @version 1.0.0
+ */
+public class LeaseLostException extends ReactiveException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final String leaseKey;
+    private final long fencingToken;
+
+    /**
+     * @param leaseKey     租约键
+     * @param fencingToken 本节点持有的防护令牌
+     */
+    public LeaseLostException(String leaseKey, long fencingToken) {
+        super(ErrorCode.CONFLICT, "调度租约已丢失: " + leaseKey + "，防护令牌: " + fencingToken);
+        this.leaseKey = leaseKey;
+        this.fencingToken = fencingToken;
+    }
+
+    public String getLeaseKey() {
+        return leaseKey;
+    }
+
+    public long getFencingToken() {
+        return fencingToken;
+    }
+}
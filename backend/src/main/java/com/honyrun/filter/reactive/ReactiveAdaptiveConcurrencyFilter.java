@@ -0,0 +1,142 @@
+package com.honyrun.filter.reactive;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.security.response.RejectionResponseTemplate;
+import com.honyrun.service.monitoring.ReactiveBackpressureControlService;
+import com.honyrun.service.monitoring.concurrency.AdaptiveConcurrencyLimiter;
+import com.honyrun.util.LoggingUtil;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 响应式自适应并发限流过滤器
+ * 按ReactiveBackpressureControlService的HTTP请求并发限流器放行请求：
+ * - 超过并发上限且所属路由分区已用完保证份额时立即返回503和Retry-After
+ * - 请求结束时把RTT和结果反馈给限流器，5xx和异常计为失败，取消不计入样本
+ * - SSE长连接不占用许可：Accept为text/event-stream的请求直接放行，
+ *   其余请求若以text/event-stream响应，则在响应头提交时按首字节RTT释放许可
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 10:00:00
+ * @modified 2025-10-31 10:00:00
+ * @version 1.0.0
+ */
+@Component("reactiveAdaptiveConcurrencyFilter")
+public class ReactiveAdaptiveConcurrencyFilter implements WebFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAdaptiveConcurrencyFilter.class);
+
+    // 拒绝响应体预编码一次，每次拒绝只写入timestamp
+    private static final RejectionResponseTemplate REJECTED = RejectionResponseTemplate.compile(ApiResponse.error(
+            String.valueOf(HttpStatus.SERVICE_UNAVAILABLE.value()),
+            "服务繁忙，请稍后重试"));
+
+    private final ReactiveBackpressureControlService backpressureControlService;
+
+    @Value("${honyrun.concurrency.enabled:true}")
+    private boolean enabled;
+
+    @Value("${honyrun.concurrency.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Value("#{'${honyrun.concurrency.excluded-paths:/actuator/health,/api/v1/system/logs/stream,/api/v1/system/config/changes/stream,/api/v1/monitoring/dashboard/realtime}'.split(',')}")
+    private List<String> excludedPaths;
+
+    public ReactiveAdaptiveConcurrencyFilter(ReactiveBackpressureControlService backpressureControlService) {
+        this.backpressureControlService = backpressureControlService;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!enabled) {
+            return chain.filter(exchange);
+        }
+        String path = exchange.getRequest().getPath().value();
+        for (String excluded : excludedPaths) {
+            if (!excluded.isBlank() && path.startsWith(excluded.trim())) {
+                return chain.filter(exchange);
+            }
+        }
+
+        if (acceptsEventStream(exchange)) {
+            return chain.filter(exchange);
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = backpressureControlService.tryAcquireRequestPermit(path);
+        if (permit == null) {
+            LoggingUtil.debug(logger, "请求超过并发上限被拒绝: {}", path);
+            return handleRejected(exchange);
+        }
+
+        // 流式响应在提交响应头时即释放许可，之后的结束信号不再重复释放
+        exchange.getResponse().beforeCommit(() -> {
+            if (isEventStream(exchange.getResponse().getHeaders().getContentType())) {
+                permit.onSuccess();
+            }
+            return Mono.empty();
+        });
+
+        return chain.filter(exchange)
+                .doOnSuccess(unused -> {
+                    HttpStatusCode status = exchange.getResponse().getStatusCode();
+                    if (status != null && status.is5xxServerError()) {
+                        permit.onDropped();
+                    } else {
+                        permit.onSuccess();
+                    }
+                })
+                .doOnError(error -> permit.onDropped())
+                // 取消时只释放许可，成功和失败已在上面释放
+                .doFinally(signal -> permit.onIgnore());
+    }
+
+    @Override
+    public int getOrder() {
+        // 在IP过滤和多维度限流之后执行，RTT覆盖认证和业务处理
+        return Ordered.HIGHEST_PRECEDENCE + 60;
+    }
+
+    /**
+     * 请求是否声明接受text/event-stream，通配的Accept不算
+     */
+    private boolean acceptsEventStream(ServerWebExchange exchange) {
+        for (MediaType mediaType : exchange.getRequest().getHeaders().getAccept()) {
+            if (isEventStream(mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isEventStream(MediaType mediaType) {
+        return mediaType != null && MediaType.TEXT_EVENT_STREAM.equalsTypeAndSubtype(mediaType);
+    }
+
+    /**
+     * 返回503和Retry-After，不进入后续过滤器
+     */
+    private Mono<Void> handleRejected(ServerWebExchange exchange) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().add(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE);
+        response.getHeaders().add(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        return REJECTED.writeTo(response, RejectionResponseTemplate.Values.NONE);
+    }
+}
@@ -1,13 +1,11 @@
 package com.honyrun.filter.reactive;
 
-import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.List;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
-import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -17,9 +15,8 @@ import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.security.response.RejectionResponseTemplate;
 import com.honyrun.service.security.ReactiveIpFilterService;
 import com.honyrun.util.LoggingUtil;
 
@@ -38,8 +35,12 @@ public class ReactiveIpFilter implements WebFilter, Ordered {
 
     private static final Logger logger = LoggerFactory.getLogger(ReactiveIpFilter.class);
 
+    // 拒绝响应体预编码一次，每次拒绝只写入timestamp
+    private static final RejectionResponseTemplate IP_BLOCKED = RejectionResponseTemplate.compile(ApiResponse.error(
+            String.valueOf(HttpStatus.FORBIDDEN.value()),
+            "访问被拒绝：您的IP地址不在允许访问的范围内"));
+
     private final ReactiveIpFilterService ipFilterService;
-    private final ObjectMapper objectMapper;
 
     // 跳过IP过滤的路径
     private static final List<String> SKIP_PATHS = Arrays.asList(
@@ -51,9 +52,8 @@ public class ReactiveIpFilter implements WebFilter, Ordered {
             "/images/",
             "/webjars/");
 
-    public ReactiveIpFilter(ReactiveIpFilterService ipFilterService, ObjectMapper objectMapper) {
+    public ReactiveIpFilter(ReactiveIpFilterService ipFilterService) {
         this.ipFilterService = ipFilterService;
-        this.objectMapper = objectMapper;
     }
 
     @Override
@@ -100,18 +100,7 @@ public class ReactiveIpFilter implements WebFilter, Ordered {
         response.setStatusCode(HttpStatus.FORBIDDEN);
         response.getHeaders().add("Content-Type", MediaType.APPLICATION_JSON_VALUE);
 
-        ApiResponse<Void> apiResponse = ApiResponse.error(
-                String.valueOf(HttpStatus.FORBIDDEN.value()),
-                "访问被拒绝：您的IP地址不在允许访问的范围内");
-
-        try {
-            String responseBody = objectMapper.writeValueAsString(apiResponse);
-            DataBuffer buffer = response.bufferFactory().wrap(responseBody.getBytes(StandardCharsets.UTF_8));
-            return response.writeWith(Mono.just(buffer));
-        } catch (JsonProcessingException e) {
-            LoggingUtil.error(logger, "序列化IP过滤响应失败: {}", e, e.getMessage());
-            return response.setComplete();
-        }
+        return IP_BLOCKED.writeTo(response, RejectionResponseTemplate.Values.NONE);
     }
 
     /**
@@ -1,13 +1,12 @@
 package com.honyrun.filter.reactive;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.security.response.RejectionResponseTemplate;
 import com.honyrun.service.reactive.ReactiveRateLimitService;
 import com.honyrun.util.LoggingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
-import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -18,7 +17,6 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
-import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -52,18 +50,22 @@ public class ReactiveRateLimitFilter implements WebFilter, Ordered {
 
     private static final Logger logger = LoggerFactory.getLogger(ReactiveRateLimitFilter.class);
 
+    /**
+     * 限流响应体，启动时预编码一次，每次拒绝只写入timestamp
+     */
+    private static final RejectionResponseTemplate RATE_LIMITED = RejectionResponseTemplate.compile(ApiResponse.error(
+            String.valueOf(HttpStatus.TOO_MANY_REQUESTS.value()),
+            "请求频率超出限制，请稍后重试"));
+
     private final ReactiveRateLimitService rateLimitService;
-    private final ObjectMapper objectMapper;
 
     /**
      * 构造函数注入
      *
      * @param rateLimitService 响应式限流服务
-     * @param objectMapper JSON对象映射器
      */
-    public ReactiveRateLimitFilter(ReactiveRateLimitService rateLimitService, ObjectMapper objectMapper) {
+    public ReactiveRateLimitFilter(ReactiveRateLimitService rateLimitService) {
         this.rateLimitService = rateLimitService;
-        this.objectMapper = objectMapper;
     }
 
     // 过滤器优先级，高于认证过滤器
@@ -220,27 +222,6 @@ public class ReactiveRateLimitFilter implements WebFilter, Ordered {
         response.getHeaders().set("X-RateLimit-Limit", "请求频率超出限制");
         response.getHeaders().set("Retry-After", "60"); // 建议60秒后重试
 
-        // 构建错误响应
-        ApiResponse<Object> errorResponse = ApiResponse.error(
-                String.valueOf(HttpStatus.TOO_MANY_REQUESTS.value()),
-                "请求频率超出限制，请稍后重试",
-                null
-        );
-
-        try {
-            String responseBody = objectMapper.writeValueAsString(errorResponse);
-            DataBuffer buffer = response.bufferFactory().wrap(responseBody.getBytes(StandardCharsets.UTF_8));
-
-            LoggingUtil.info(logger, "返回速率限制错误响应: {}", responseBody);
-
-            return response.writeWith(Mono.just(buffer));
-        } catch (Exception e) {
-            LoggingUtil.error(logger, "构建速率限制错误响应失败: {}", e.getMessage());
-
-            // 如果JSON序列化失败，返回简单的文本响应
-            String fallbackResponse = "{\"success\":false,\"code\":429,\"message\":\"请求频率超出限制，请稍后重试\"}";
-            DataBuffer buffer = response.bufferFactory().wrap(fallbackResponse.getBytes(StandardCharsets.UTF_8));
-            return response.writeWith(Mono.just(buffer));
-        }
+        return RATE_LIMITED.writeTo(response, RejectionResponseTemplate.Values.NONE);
     }
 }
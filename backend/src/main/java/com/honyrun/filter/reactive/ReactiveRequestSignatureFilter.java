@@ -10,14 +10,20 @@ import com.honyrun.util.TraceIdUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
 import org.springframework.lang.NonNull;
 import org.springframework.web.server.ServerWebExchange;
 import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * 请求签名验证过滤器
@@ -43,7 +49,7 @@ import java.util.Map;
  * 过滤器执行流程：
  * 1. 检查请求路径是否需要签名验证（跳过登录接口和健康检查接口）
  * 2. 调用签名验证服务进行签名校验
- * 3. 验证成功：继续执行后续过滤器链
+ * 3. 验证成功：将签名时已读取的请求体回放给下游，继续执行后续过滤器链
  * 4. 验证失败：返回401未授权状态码和错误信息
  * 5. 异常处理：返回500内部服务器错误状态码
  * 
@@ -105,7 +111,7 @@ public class ReactiveRequestSignatureFilter implements WebFilter, Ordered {
                         return exchange.getResponse().setComplete();
                     }
                     
-                    return chain.filter(exchange);
+                    return replaySignedBody(exchange, chain);
                 })
                 .onErrorResume(error -> {
                     String traceId = TraceIdUtil.generateTraceId();
@@ -139,6 +145,38 @@ public class ReactiveRequestSignatureFilter implements WebFilter, Ordered {
                 });
     }
 
+    /**
+     * 回放签名验证时已读取的请求体；下游未读取请求体时在请求结束后释放缓冲区
+     *
+     * @param exchange 服务器交换对象
+     * @param chain 过滤器链
+     * @return 过滤结果
+     */
+    private Mono<Void> replaySignedBody(ServerWebExchange exchange, WebFilterChain chain) {
+        List<DataBuffer> body = exchange.getAttribute(ReactiveRequestSignatureService.SIGNED_BODY_ATTRIBUTE);
+        if (body == null) {
+            return chain.filter(exchange);
+        }
+        exchange.getAttributes().remove(ReactiveRequestSignatureService.SIGNED_BODY_ATTRIBUTE);
+
+        AtomicBoolean handedOver = new AtomicBoolean(false);
+        ServerHttpRequestDecorator request = new ServerHttpRequestDecorator(exchange.getRequest()) {
+            @Override
+            @NonNull
+            public Flux<DataBuffer> getBody() {
+                return Flux.defer(() -> handedOver.compareAndSet(false, true)
+                        ? Flux.fromIterable(body).doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                        : Flux.<DataBuffer>empty());
+            }
+        };
+        return chain.filter(exchange.mutate().request(request).build())
+                .doFinally(signal -> {
+                    if (handedOver.compareAndSet(false, true)) {
+                        body.forEach(DataBufferUtils::release);
+                    }
+                });
+    }
+
     /**
      * 判断是否应该跳过签名验证
      *
@@ -4,10 +4,11 @@ import com.honyrun.exception.AuthenticationException;
 import com.honyrun.exception.ValidationException;
 import com.honyrun.interceptor.ReactiveRequestValidationInterceptor;
 import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.security.response.RejectionResponseTemplate;
+import com.honyrun.security.response.RejectionResponseTemplate.Slot;
 import com.honyrun.util.ErrorDetailsUtil;
 import com.honyrun.util.LoggingUtil;
 import com.honyrun.util.TraceIdUtil;
-import com.honyrun.util.common.JsonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
@@ -29,7 +30,7 @@ import java.nio.charset.StandardCharsets;
  * 响应式请求参数统一校验过滤器
  *
  * 结合 ReactiveRequestValidationInterceptor，在进入业务处理链之前统一进行参数与安全校验，
- * 对非法请求返回 400，并记录 traceId / path / details / 响应体。
+ * 对非法请求返回 400，并记录 traceId / path；响应体由预编码的 RejectionResponseTemplate 写出。
  */
 public class ReactiveRequestValidationFilter implements WebFilter, Ordered {
 
@@ -38,10 +39,21 @@ public class ReactiveRequestValidationFilter implements WebFilter, Ordered {
     private final ReactiveRequestValidationInterceptor interceptor;
     private final ErrorDetailsUtil errorDetailsUtil;
 
+    // 拒绝响应体在构造时预编码，每次拒绝只写入traceId、path、timestamp等动态字段
+    private final RejectionResponseTemplate invalidTemplate;
+    private final RejectionResponseTemplate authenticationTemplate;
+    private final RejectionResponseTemplate validationTemplate;
+    private final RejectionResponseTemplate filterErrorTemplate;
+
     public ReactiveRequestValidationFilter(ReactiveRequestValidationInterceptor interceptor,
                                            ErrorDetailsUtil errorDetailsUtil) {
         this.interceptor = interceptor;
         this.errorDetailsUtil = errorDetailsUtil;
+        this.invalidTemplate = simpleTemplate(HttpStatus.BAD_REQUEST, "请求参数验证失败", "ValidationError");
+        this.authenticationTemplate = exceptionTemplate(HttpStatus.UNAUTHORIZED);
+        this.validationTemplate = exceptionTemplate(HttpStatus.BAD_REQUEST);
+        this.filterErrorTemplate = simpleTemplate(HttpStatus.INTERNAL_SERVER_ERROR, "请求校验过滤器异常",
+                "ValidationFilterException");
     }
 
     @Override
@@ -68,113 +80,94 @@ public class ReactiveRequestValidationFilter implements WebFilter, Ordered {
                         return chain.filter(exchange);
                     }
 
-                    return Mono.deferContextual(ctxView -> Mono.fromCallable(() -> {
+                    return Mono.deferContextual(ctxView -> {
                         String traceId = TraceIdUtil.getOrGenerateTraceId(ctxView);
                         String requestPath = exchange.getRequest().getPath().value();
-                        Map<String, Object> details = errorDetailsUtil.buildSimpleErrorDetails("ValidationError", requestPath);
-
-                        ApiResponse<Void> apiResponse = ApiResponse.<Void>builder()
-                                .success(false)
-                                .code(String.valueOf(HttpStatus.BAD_REQUEST.value()))
-                                .message("请求参数验证失败")
-                                .traceId(traceId)
-                                .details(details)
-                                .path(requestPath)
-                                .build();
-
-                        String body = JsonUtil.toJson(apiResponse);
-                        LoggingUtil.warn(logger, "请求参数验证失败 - Path: {}, Details: {}, Body: {}",
-                                requestPath, details, body);
-
-                        exchange.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
-                        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
-                        return exchange.getResponse().writeWith(
-                                Mono.just(exchange.getResponse().bufferFactory().wrap(body.getBytes()))
-                        );
-                    }))
-                    .flatMap(mono -> mono);
+                        LoggingUtil.warn(logger, "请求参数验证失败 - Path: {}, TraceId: {}", requestPath, traceId);
+                        return reject(exchange, HttpStatus.BAD_REQUEST, invalidTemplate,
+                                RejectionResponseTemplate.Values.of(traceId, requestPath));
+                    });
                 })
                 .onErrorResume(AuthenticationException.class, ex -> {
-                    return Mono.deferContextual(ctxView -> Mono.fromCallable(() -> {
+                    return Mono.deferContextual(ctxView -> {
                         String traceId = TraceIdUtil.getOrGenerateTraceId(ctxView);
                         String requestPath = exchange.getRequest().getPath().value();
-                        Map<String, Object> details = errorDetailsUtil.buildErrorDetails(ex, requestPath);
-
-                        ApiResponse<Void> apiResponse = ApiResponse.<Void>builder()
-                                .success(false)
-                                .code(String.valueOf(HttpStatus.UNAUTHORIZED.value()))
-                                .message(ex.getMessage())
-                                .traceId(traceId)
-                                .details(details)
-                                .path(requestPath)
-                                .build();
-
-                        String body = JsonUtil.toJson(apiResponse);
-                        LoggingUtil.warn(logger, "认证异常 - Path: {}, Message: {}, Details: {}, Body: {}",
-                                requestPath, ex.getMessage(), details, body);
-
-                        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
-                        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
-                        return exchange.getResponse().writeWith(
-                                Mono.just(exchange.getResponse().bufferFactory().wrap(body.getBytes()))
-                        );
-                    }))
-                    .flatMap(mono -> mono);
+                        LoggingUtil.warn(logger, "认证异常 - Path: {}, Message: {}, TraceId: {}",
+                                requestPath, ex.getMessage(), traceId);
+                        return reject(exchange, HttpStatus.UNAUTHORIZED, authenticationTemplate,
+                                exceptionValues(authenticationTemplate, ex, traceId, requestPath));
+                    });
                 })
                 .onErrorResume(ValidationException.class, ex -> {
-                    return Mono.deferContextual(ctxView -> Mono.fromCallable(() -> {
+                    return Mono.deferContextual(ctxView -> {
                         String traceId = TraceIdUtil.getOrGenerateTraceId(ctxView);
                         String requestPath = exchange.getRequest().getPath().value();
-                        Map<String, Object> details = errorDetailsUtil.buildErrorDetails(ex, requestPath);
-
-                        ApiResponse<Void> apiResponse = ApiResponse.<Void>builder()
-                                .success(false)
-                                .code(String.valueOf(HttpStatus.BAD_REQUEST.value()))
-                                .message(ex.getMessage())
-                                .traceId(traceId)
-                                .details(details)
-                                .path(requestPath)
-                                .build();
-
-                        String body = JsonUtil.toJson(apiResponse);
-                        LoggingUtil.warn(logger, "验证异常 - Path: {}, Message: {}, Details: {}, Body: {}",
-                                requestPath, ex.getMessage(), details, body);
-
-                        exchange.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
-                        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
-                        return exchange.getResponse().writeWith(
-                                Mono.just(exchange.getResponse().bufferFactory().wrap(body.getBytes()))
-                        );
-                    }))
-                    .flatMap(mono -> mono);
+                        LoggingUtil.warn(logger, "验证异常 - Path: {}, Message: {}, TraceId: {}",
+                                requestPath, ex.getMessage(), traceId);
+                        return reject(exchange, HttpStatus.BAD_REQUEST, validationTemplate,
+                                exceptionValues(validationTemplate, ex, traceId, requestPath));
+                    });
                 })
                 .onErrorResume(error -> {
-                    return Mono.deferContextual(ctxView -> Mono.fromCallable(() -> {
+                    return Mono.deferContextual(ctxView -> {
                         String traceId = TraceIdUtil.getOrGenerateTraceId(ctxView);
                         String requestPath = exchange.getRequest().getPath().value();
-                        Map<String, Object> details = errorDetailsUtil.buildSimpleErrorDetails("ValidationFilterException", requestPath);
+                        LoggingUtil.error(logger, "校验过滤器异常 - Path: {}, Error: {}, TraceId: {}",
+                                requestPath, error.getMessage(), traceId);
+                        return reject(exchange, HttpStatus.INTERNAL_SERVER_ERROR, filterErrorTemplate,
+                                RejectionResponseTemplate.Values.of(traceId, requestPath));
+                    });
+                });
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, HttpStatus status, RejectionResponseTemplate template,
+                              RejectionResponseTemplate.Values values) {
+        exchange.getResponse().setStatusCode(status);
+        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return template.writeTo(exchange.getResponse(), values);
+    }
 
-                        ApiResponse<Void> apiResponse = ApiResponse.<Void>builder()
-                                .success(false)
-                                .code(String.valueOf(HttpStatus.INTERNAL_SERVER_ERROR.value()))
-                                .message("请求校验过滤器异常")
-                                .traceId(traceId)
-                                .details(details)
-                                .path(requestPath)
-                                .build();
+    private RejectionResponseTemplate.Values exceptionValues(RejectionResponseTemplate template, Throwable ex,
+                                                             String traceId, String requestPath) {
+        // 堆栈信息只在非生产环境的模板中出现
+        String stackTrace = template.contains(Slot.STACK_TRACE)
+                ? String.valueOf(errorDetailsUtil.buildErrorDetails(ex, requestPath).get("stackTrace"))
+                : null;
+        return new RejectionResponseTemplate.Values(traceId, requestPath, null, ex.getMessage(),
+                ex.getClass().getSimpleName(), stackTrace);
+    }
 
-                        String body = JsonUtil.toJson(apiResponse);
-                        LoggingUtil.error(logger, "校验过滤器异常 - Path: {}, Error: {}, Body: {}",
-                                requestPath, error.getMessage(), body);
+    /**
+     * 固定消息的拒绝响应模板，details与ErrorDetailsUtil.buildSimpleErrorDetails一致
+     */
+    private RejectionResponseTemplate simpleTemplate(HttpStatus status, String message, String errorType) {
+        return RejectionResponseTemplate.compile(ApiResponse.<Void>builder()
+                .success(false)
+                .code(String.valueOf(status.value()))
+                .message(message)
+                .traceId(RejectionResponseTemplate.placeholder(Slot.TRACE_ID))
+                .details(errorDetailsUtil.buildSimpleErrorDetails(errorType,
+                        RejectionResponseTemplate.placeholder(Slot.PATH)))
+                .path(RejectionResponseTemplate.placeholder(Slot.PATH))
+                .build());
+    }
 
-                        exchange.getResponse().setStatusCode(HttpStatus.INTERNAL_SERVER_ERROR);
-                        exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
-                        return exchange.getResponse().writeWith(
-                                Mono.just(exchange.getResponse().bufferFactory().wrap(body.getBytes()))
-                        );
-                    }))
-                    .flatMap(mono -> mono);
-                });
+    /**
+     * 异常消息的拒绝响应模板，details与ErrorDetailsUtil.buildErrorDetails一致
+     */
+    private RejectionResponseTemplate exceptionTemplate(HttpStatus status) {
+        Map<String, Object> details = errorDetailsUtil.buildErrorDetails(new IllegalStateException(),
+                RejectionResponseTemplate.placeholder(Slot.PATH));
+        details.put("exception", RejectionResponseTemplate.placeholder(Slot.EXCEPTION));
+        details.computeIfPresent("stackTrace", (key, value) -> RejectionResponseTemplate.placeholder(Slot.STACK_TRACE));
+        return RejectionResponseTemplate.compile(ApiResponse.<Void>builder()
+                .success(false)
+                .code(String.valueOf(status.value()))
+                .message(RejectionResponseTemplate.placeholder(Slot.MESSAGE))
+                .traceId(RejectionResponseTemplate.placeholder(Slot.TRACE_ID))
+                .details(details)
+                .path(RejectionResponseTemplate.placeholder(Slot.PATH))
+                .build());
     }
 
     @Override
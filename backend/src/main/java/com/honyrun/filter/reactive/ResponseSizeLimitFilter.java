@@ -55,26 +55,20 @@ public class ResponseSizeLimitFilter implements WebFilter {
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        return unifiedConfigManager.getBooleanConfig("honyrun.response.size-check-enabled", true)
-            .flatMap(sizeCheckEnabled -> {
-                if (!sizeCheckEnabled) {
-                    return chain.filter(exchange);
-                }
-                
-                return Mono.zip(
-                    unifiedConfigManager.getIntegerConfig("honyrun.response.max-size", 52428800),
-                    unifiedConfigManager.getStringConfig("honyrun.response.size-exceeded-message", "Response size exceeds maximum allowed limit")
-                ).flatMap(tuple -> {
-                    long maxResponseSize = tuple.getT1();
-                    String sizeExceededMessage = tuple.getT2();
-                    
-                    ServerHttpResponse originalResponse = exchange.getResponse();
-                    ResponseSizeLimitDecorator decoratedResponse = new ResponseSizeLimitDecorator(
-                            originalResponse, maxResponseSize, sizeExceededMessage);
-
-                    return chain.filter(exchange.mutate().response(decoratedResponse).build());
-                });
-            });
+        // 配置从快照同步读取，请求路径上不再组装Mono
+        if (!unifiedConfigManager.getBooleanProperty("honyrun.response.size-check-enabled", true)) {
+            return chain.filter(exchange);
+        }
+
+        long maxResponseSize = unifiedConfigManager.getIntProperty("honyrun.response.max-size", 52428800);
+        String sizeExceededMessage = unifiedConfigManager.getProperty("honyrun.response.size-exceeded-message",
+                "Response size exceeds maximum allowed limit");
+
+        ServerHttpResponse originalResponse = exchange.getResponse();
+        ResponseSizeLimitDecorator decoratedResponse = new ResponseSizeLimitDecorator(
+                originalResponse, maxResponseSize, sizeExceededMessage);
+
+        return chain.filter(exchange.mutate().response(decoratedResponse).build());
     }
 
     /**
@@ -115,6 +109,8 @@ public class ResponseSizeLimitFilter implements WebFilter {
                         }
                     })
                     .takeWhile(dataBuffer -> !limitExceeded)
+                    // 超限后被丢弃的数据块不会写出，需要在此释放
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
                     .doOnComplete(() -> {
                         if (!limitExceeded) {
                             LoggingUtil.debug(logger, "响应完成，总大小: {} bytes", currentSize.get());
@@ -7,6 +7,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.MediaType;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.http.codec.multipart.FormFieldPart;
@@ -212,6 +213,8 @@ public class ImageHandler {
                                 responseData.put("format", finalTargetFormat.toUpperCase());
                                 responseData.put("size", result.readableByteCount());
                                 responseData.put("filename", finalFilename);
+                                // 转换结果只返回元数据，图片缓冲区不写出响应，需要在此释放
+                                DataBufferUtils.release(result);
 
                                 return ServerResponse.ok()
                                         .contentType(MediaType.APPLICATION_JSON)
@@ -633,9 +636,19 @@ public class ImageHandler {
                 })
                 .flatMap(result -> {
                     LoggingUtil.info(logger, "图片水印添加成功");
+                    // 池化缓冲区不能直接作为JSON字段序列化，复制为Base64后立即释放
+                    Map<String, Object> responseData = new HashMap<>();
+                    try {
+                        byte[] imageBytes = new byte[result.readableByteCount()];
+                        result.read(imageBytes);
+                        responseData.put("size", imageBytes.length);
+                        responseData.put("data", Base64.getEncoder().encodeToString(imageBytes));
+                    } finally {
+                        DataBufferUtils.release(result);
+                    }
                     return ServerResponse.ok()
                             .contentType(MediaType.APPLICATION_JSON)
-                            .bodyValue(ApiResponse.success(result, "图片水印添加成功"));
+                            .bodyValue(ApiResponse.success(responseData, "图片水印添加成功"));
                 })
                 .onErrorResume(error -> {
                     LoggingUtil.error(logger, "图片水印添加失败", error);
@@ -0,0 +1,124 @@
+package com.honyrun.handler.monitoring;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.model.dto.response.LogTailEvent;
+import com.honyrun.service.log.LogTailBuffer;
+import com.honyrun.service.log.LogTailBuffer.LogTailFilter;
+import com.honyrun.util.LoggingUtil;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 实时日志流处理器
+ *
+ * 以Server-Sent Events推送实时日志，支持的查询参数：
+ * - level: 日志级别，逗号分隔，如ERROR,WARN
+ * - logger: Logger名称前缀
+ * - userId / username / traceId: 结构化字段精确匹配
+ * - logType: 系统日志类型，逗号分隔
+ * - fromSequence: 起始序号；未指定时读取Last-Event-ID请求头，从其下一条续传
+ *
+ * 每条SSE事件的id为日志序号，event为log或dropped，空闲时定期发送注释行保持连接
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 11:00:00
+ * @modified 2025-10-29 11:00:00
+ * @version 1.0.0
+ */
+@Component
+public class LogTailHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogTailHandler.class);
+
+    private static final String LAST_EVENT_ID_HEADER = "Last-Event-ID";
+
+    private static final ParameterizedTypeReference<ServerSentEvent<LogTailEvent>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final LogTailBuffer logTailBuffer;
+
+    @Value("${honyrun.log.tail.keepalive-interval:15000}")
+    private long keepaliveIntervalMillis;
+
+    /**
+     * 构造函数注入
+     *
+     * @param logTailBuffer 实时日志缓冲区
+     */
+    public LogTailHandler(LogTailBuffer logTailBuffer) {
+        this.logTailBuffer = logTailBuffer;
+    }
+
+    /**
+     * 订阅实时日志流
+     *
+     * @param request HTTP请求
+     * @return SSE日志流
+     */
+    public Mono<ServerResponse> streamLogs(ServerRequest request) {
+        LogTailFilter filter = LogTailFilter.of(
+                LogTailFilter.parseCsv(request.queryParam("level").orElse(null)),
+                LogTailFilter.parseCsv(request.queryParam("logType").orElse(null)),
+                request.queryParam("logger").orElse(null),
+                request.queryParam("userId").orElse(null),
+                request.queryParam("username").orElse(null),
+                request.queryParam("traceId").orElse(null));
+        long fromSequence = resolveFromSequence(request);
+
+        LoggingUtil.info(logger, "建立实时日志流: fromSequence={}", fromSequence);
+
+        // 推送过程中不记录逐条日志，避免实时日志自身产生的日志再次进入缓冲区
+        Flux<ServerSentEvent<LogTailEvent>> events = logTailBuffer.subscribe(filter, fromSequence)
+                .map(event -> ServerSentEvent.<LogTailEvent>builder(event)
+                        .id(String.valueOf(event.getSequence()))
+                        .event(event.getEventType())
+                        .build());
+        Flux<ServerSentEvent<LogTailEvent>> keepalive = Flux.interval(Duration.ofMillis(keepaliveIntervalMillis))
+                .map(tick -> ServerSentEvent.<LogTailEvent>builder().comment("keepalive").build());
+
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.merge(events, keepalive), EVENT_TYPE)
+                .onErrorResume(error -> {
+                    LoggingUtil.error(logger, "建立实时日志流失败", error);
+                    return ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(ApiResponse.error("建立实时日志流失败: " + error.getMessage()));
+                });
+    }
+
+    private long resolveFromSequence(ServerRequest request) {
+        String from = request.queryParam("fromSequence").orElse(null);
+        if (from != null && !from.isBlank()) {
+            return parseLong(from, -1L);
+        }
+        String lastEventId = request.headers().firstHeader(LAST_EVENT_ID_HEADER);
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            long last = parseLong(lastEventId, -2L);
+            return last >= -1L ? last + 1 : -1L;
+        }
+        return -1L;
+    }
+
+    private long parseLong(String value, long defaultValue) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.honyrun.handler.reactive;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.service.reactive.ReactiveConfigHotUpdateService;
+import com.honyrun.util.LoggingUtil;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 实时配置变更流处理器
+ *
+ * 以Server-Sent Events推送本节点已应用的配置变更，支持的查询参数：
+ * - keys: 关注的配置键，逗号分隔；未指定时推送全部变更
+ *
+ * 每条SSE事件的id为变更版本，event为change或recovered（经变更日志补读恢复），
+ * 数据中包含发布节点、操作人以及在本节点生效的传播延迟，空闲时定期发送注释行保持连接
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-02 14:00:00
+ * @modified 2025-11-02 14:00:00
+ * @version 1.0.0
+ */
+@Component
+public class ConfigChangeStreamHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigChangeStreamHandler.class);
+
+    private static final ParameterizedTypeReference<ServerSentEvent<Map<String, Object>>> EVENT_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final ReactiveConfigHotUpdateService configHotUpdateService;
+
+    @Value("${honyrun.config.propagation.stream-keepalive-interval:15000}")
+    private long keepaliveIntervalMillis;
+
+    /**
+     * 构造函数注入
+     *
+     * @param configHotUpdateService 配置热更新服务
+     */
+    public ConfigChangeStreamHandler(ReactiveConfigHotUpdateService configHotUpdateService) {
+        this.configHotUpdateService = configHotUpdateService;
+    }
+
+    /**
+     * 订阅实时配置变更流
+     *
+     * @param request HTTP请求
+     * @return SSE配置变更流
+     */
+    public Mono<ServerResponse> streamChanges(ServerRequest request) {
+        List<String> configKeys = request.queryParam("keys")
+                .map(keys -> Arrays.stream(keys.split(","))
+                        .map(String::trim)
+                        .filter(key -> !key.isEmpty())
+                        .toList())
+                .orElse(List.of());
+
+        LoggingUtil.info(logger, "建立实时配置变更流: keys={}", configKeys);
+
+        Flux<ServerSentEvent<Map<String, Object>>> events = configHotUpdateService.monitorConfigChanges(configKeys)
+                .map(change -> ServerSentEvent.<Map<String, Object>>builder(change)
+                        .id(String.valueOf(change.get("version")))
+                        .event(Boolean.TRUE.equals(change.get("recovered")) ? "recovered" : "change")
+                        .build());
+        Flux<ServerSentEvent<Map<String, Object>>> keepalive = Flux.interval(Duration.ofMillis(keepaliveIntervalMillis))
+                .map(tick -> ServerSentEvent.<Map<String, Object>>builder().comment("keepalive").build());
+
+        return ServerResponse.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .body(Flux.merge(events, keepalive), EVENT_TYPE)
+                .onErrorResume(error -> {
+                    LoggingUtil.error(logger, "建立实时配置变更流失败", error);
+                    return ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .bodyValue(ApiResponse.error("建立实时配置变更流失败: " + error.getMessage()));
+                });
+    }
+}
@@ -108,8 +108,7 @@ public class ReactiveRateLimitInterceptor {
                     if (!success) {
                         // 设置限流响应头
                         setRateLimitHeaders(exchange, 0,
-                                Integer.parseInt(
-                                        unifiedConfigManager.getProperty("honyrun.rate-limit.default-capacity", "10")));
+                                unifiedConfigManager.getIntProperty("honyrun.rate-limit.default-capacity", 10));
                     }
                     return success;
                 });
@@ -129,7 +128,7 @@ public class ReactiveRateLimitInterceptor {
                 .cast(String.class)
                 .map(Integer::parseInt)
                 .defaultIfEmpty(
-                        Integer.parseInt(unifiedConfigManager.getProperty("honyrun.rate-limit.default-capacity", "10")))
+                        unifiedConfigManager.getIntProperty("honyrun.rate-limit.default-capacity", 10))
                 .zipWith(
                         redisTemplate.opsForValue().get(lastRefillKey)
                                 .cast(String.class)
@@ -152,15 +151,13 @@ public class ReactiveRateLimitInterceptor {
             // 计算需要补充的令牌数
             long timeSinceLastRefill = currentTime - bucket.lastRefillTime;
             Duration refillPeriod = Duration.ofMinutes(
-                    Long.parseLong(
-                            unifiedConfigManager.getProperty("honyrun.rate-limit.default-refill-period-minutes", "1")));
+                    unifiedConfigManager.getLongProperty("honyrun.rate-limit.default-refill-period-minutes", 1));
             long tokensToAdd = (timeSinceLastRefill / refillPeriod.toMillis())
-                    * Integer.parseInt(
-                            unifiedConfigManager.getProperty("honyrun.rate-limit.default-refill-tokens", "10"));
+                    * unifiedConfigManager.getIntProperty("honyrun.rate-limit.default-refill-tokens", 10);
 
             // 更新令牌数量
             int newTokens = Math.min(
-                    Integer.parseInt(unifiedConfigManager.getProperty("honyrun.rate-limit.default-capacity", "10")),
+                    unifiedConfigManager.getIntProperty("honyrun.rate-limit.default-capacity", 10),
                     (int) (bucket.tokens + tokensToAdd));
 
             if (newTokens > 0) {
@@ -189,8 +186,7 @@ public class ReactiveRateLimitInterceptor {
         String lastRefillKey = limitKey + ":last_refill";
 
         Duration refillPeriod = Duration.ofMinutes(
-                Long.parseLong(
-                        unifiedConfigManager.getProperty("honyrun.rate-limit.default-refill-period-minutes", "1")));
+                unifiedConfigManager.getLongProperty("honyrun.rate-limit.default-refill-period-minutes", 1));
         redisTemplate.opsForValue().set(tokensKey, String.valueOf(tokens), refillPeriod.multipliedBy(2))
                 .and(redisTemplate.opsForValue().set(lastRefillKey, String.valueOf(lastRefillTime),
                         refillPeriod.multipliedBy(2)))
@@ -208,8 +204,7 @@ public class ReactiveRateLimitInterceptor {
         exchange.getResponse().getHeaders().add("X-RateLimit-Remaining", String.valueOf(remaining));
         exchange.getResponse().getHeaders().add("X-RateLimit-Capacity", String.valueOf(capacity));
         Duration refillPeriod = Duration.ofMinutes(
-                Long.parseLong(
-                        unifiedConfigManager.getProperty("honyrun.rate-limit.default-refill-period-minutes", "1")));
+                unifiedConfigManager.getLongProperty("honyrun.rate-limit.default-refill-period-minutes", 1));
         exchange.getResponse().getHeaders().add("X-RateLimit-Refill-Period", refillPeriod.toString());
     }
 
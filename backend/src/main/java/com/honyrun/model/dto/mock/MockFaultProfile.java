@@ -0,0 +1,419 @@
+package com.honyrun.model.dto.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * 模拟接口故障注入配置
+ * 以JSON形式保存在MockInterface.faultProfile字段中，描述单个模拟接口的延迟分布、错误注入、
+ * 响应带宽限制和连接重置行为，用于把模拟接口作为慢速或不稳定上游的本地替身进行压测
+ *
+ * 配置示例:
+ * <pre>
+ * {
+ *   "latency": {"type": "PERCENTILES", "percentiles": {"50": 20, "90": 80, "99": 400, "100": 1500}},
+ *   "errorRate": 0.02,
+ *   "errorStatusCodes": [500, 503],
+ *   "bandwidthBytesPerSecond": 65536,
+ *   "resetRate": 0.001,
+ *   "resetMode": "MID_BODY"
+ * }
+ * </pre>
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-28 15:40:00
+ * @modified 2025-10-28 15:40:00
+ * @version 1.0.0
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class MockFaultProfile {
+
+    /**
+     * 延迟分布配置，为空时使用MockInterface.delayTime作为固定延迟
+     */
+    private Latency latency;
+
+    /**
+     * 错误注入概率，取值0-1
+     */
+    private double errorRate;
+
+    /**
+     * 注入错误时随机选取的状态码，为空时使用500
+     */
+    private List<Integer> errorStatusCodes = new ArrayList<>();
+
+    /**
+     * 注入错误时返回的响应体，为空时使用默认错误消息
+     */
+    private String errorBody;
+
+    /**
+     * 响应体带宽限制（字节/秒），0或负数表示不限速
+     */
+    private long bandwidthBytesPerSecond;
+
+    /**
+     * 限速时每个分片的字节数
+     */
+    private int chunkSize = 1024;
+
+    /**
+     * 连接重置概率，取值0-1
+     */
+    private double resetRate;
+
+    /**
+     * 连接重置方式
+     */
+    private ResetMode resetMode = ResetMode.BEFORE_RESPONSE;
+
+    // ==================== 采样方法 ====================
+
+    /**
+     * 按延迟分布采样一次延迟
+     *
+     * @param defaultDelayMillis 未配置延迟分布时使用的固定延迟
+     * @return 延迟毫秒数，不小于0
+     */
+    public long sampleLatencyMillis(long defaultDelayMillis) {
+        if (latency == null || latency.getType() == null) {
+            return Math.max(0L, defaultDelayMillis);
+        }
+        return Math.max(0L, latency.sample());
+    }
+
+    /**
+     * 判断本次请求是否注入错误
+     *
+     * @return true-注入错误
+     */
+    public boolean shouldInjectError() {
+        return errorRate > 0 && ThreadLocalRandom.current().nextDouble() < errorRate;
+    }
+
+    /**
+     * 判断本次请求是否重置连接
+     *
+     * @return true-重置连接
+     */
+    public boolean shouldResetConnection() {
+        return resetRate > 0 && ThreadLocalRandom.current().nextDouble() < resetRate;
+    }
+
+    /**
+     * 随机选取一个错误状态码
+     *
+     * @return 错误状态码
+     */
+    public int pickErrorStatus() {
+        if (errorStatusCodes == null || errorStatusCodes.isEmpty()) {
+            return 500;
+        }
+        return errorStatusCodes.get(ThreadLocalRandom.current().nextInt(errorStatusCodes.size()));
+    }
+
+    /**
+     * 是否启用带宽限制
+     *
+     * @return true-启用
+     */
+    public boolean isThrottled() {
+        return bandwidthBytesPerSecond > 0;
+    }
+
+    // ==================== 校验方法 ====================
+
+    /**
+     * 校验配置取值范围
+     * 保存时调用，确保请求处理阶段的采样、状态码构建和分片计算不会因非法取值失败
+     *
+     * @return 第一个不合法项的描述，全部合法时返回null
+     */
+    public String validate() {
+        if (!(errorRate >= 0 && errorRate <= 1) || !(resetRate >= 0 && resetRate <= 1)) {
+            return "故障注入概率必须在0-1之间";
+        }
+        if (errorStatusCodes != null) {
+            for (Integer code : errorStatusCodes) {
+                if (code == null || code < 100 || code > 599) {
+                    return "错误状态码必须在100-599之间: " + code;
+                }
+            }
+        }
+        if (bandwidthBytesPerSecond < 0) {
+            return "带宽限制不能为负数";
+        }
+        if (chunkSize <= 0) {
+            return "分片大小必须大于0";
+        }
+        return latency != null ? latency.validate() : null;
+    }
+
+    // ==================== Getter/Setter ====================
+
+    public Latency getLatency() {
+        return latency;
+    }
+
+    public void setLatency(Latency latency) {
+        this.latency = latency;
+    }
+
+    public double getErrorRate() {
+        return errorRate;
+    }
+
+    public void setErrorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    public List<Integer> getErrorStatusCodes() {
+        return errorStatusCodes;
+    }
+
+    public void setErrorStatusCodes(List<Integer> errorStatusCodes) {
+        this.errorStatusCodes = errorStatusCodes != null ? errorStatusCodes : new ArrayList<>();
+    }
+
+    public String getErrorBody() {
+        return errorBody;
+    }
+
+    public void setErrorBody(String errorBody) {
+        this.errorBody = errorBody;
+    }
+
+    public long getBandwidthBytesPerSecond() {
+        return bandwidthBytesPerSecond;
+    }
+
+    public void setBandwidthBytesPerSecond(long bandwidthBytesPerSecond) {
+        this.bandwidthBytesPerSecond = bandwidthBytesPerSecond;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public double getResetRate() {
+        return resetRate;
+    }
+
+    public void setResetRate(double resetRate) {
+        this.resetRate = resetRate;
+    }
+
+    public ResetMode getResetMode() {
+        return resetMode;
+    }
+
+    public void setResetMode(ResetMode resetMode) {
+        this.resetMode = resetMode != null ? resetMode : ResetMode.BEFORE_RESPONSE;
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 延迟分布类型
+     */
+    public enum LatencyType {
+        /** 固定延迟 */
+        FIXED,
+        /** [min, max]均匀分布 */
+        UNIFORM,
+        /** 截断正态分布 */
+        NORMAL,
+        /** 按录制的百分位数线性插值 */
+        PERCENTILES
+    }
+
+    /**
+     * 连接重置方式
+     */
+    public enum ResetMode {
+        /** 发送响应头之前以RST关闭连接 */
+        BEFORE_RESPONSE,
+        /** 发送部分响应体后中断连接 */
+        MID_BODY
+    }
+
+    /**
+     * 延迟分布配置
+     */
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    public static class Latency {
+
+        /**
+         * 延迟分布类型，未指定时按固定延迟处理
+         */
+        private LatencyType type = LatencyType.FIXED;
+        private long fixedMs;
+        private long minMs;
+        private long maxMs;
+        private double meanMs;
+        private double stdDevMs;
+
+        /**
+         * 百分位数(0-100) -> 延迟毫秒数
+         */
+        private Map<Double, Long> percentiles = new TreeMap<>();
+
+        /**
+         * 反序列化时预编译的有序百分位点，采样时无需排序或装箱
+         */
+        private double[] percentileKeys = new double[0];
+        private long[] percentileValues = new long[0];
+
+        /**
+         * 采样一次延迟
+         *
+         * @return 延迟毫秒数
+         */
+        public long sample() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            switch (type) {
+                case UNIFORM:
+                    return maxMs > minMs ? random.nextLong(minMs, maxMs + 1) : minMs;
+                case NORMAL:
+                    long value = Math.round(meanMs + random.nextGaussian() * stdDevMs);
+                    return maxMs > 0 ? Math.min(value, maxMs) : value;
+                case PERCENTILES:
+                    return samplePercentiles(random.nextDouble() * 100.0);
+                case FIXED:
+                default:
+                    return fixedMs;
+            }
+        }
+
+        /**
+         * 校验延迟分布取值范围
+         *
+         * @return 第一个不合法项的描述，全部合法时返回null
+         */
+        private String validate() {
+            if (fixedMs < 0 || minMs < 0 || maxMs < 0) {
+                return "延迟毫秒数不能为负数";
+            }
+            if (type == LatencyType.UNIFORM && minMs > maxMs) {
+                return "均匀分布延迟的minMs不能大于maxMs";
+            }
+            if (!(meanMs >= 0) || !(stdDevMs >= 0)) {
+                return "正态分布延迟的meanMs和stdDevMs不能为负数";
+            }
+            if (type == LatencyType.PERCENTILES && percentileKeys.length == 0) {
+                return "百分位延迟分布至少需要一个百分位点";
+            }
+            for (int i = 0; i < percentileKeys.length; i++) {
+                if (!(percentileKeys[i] >= 0 && percentileKeys[i] <= 100)) {
+                    return "百分位必须在0-100之间: " + percentileKeys[i];
+                }
+                if (percentileValues[i] < 0 || (i > 0 && percentileValues[i] < percentileValues[i - 1])) {
+                    return "百分位延迟必须为非负数且随百分位单调不减";
+                }
+            }
+            return null;
+        }
+
+        /**
+         * 在相邻两个百分位点之间线性插值
+         */
+        private long samplePercentiles(double quantile) {
+            double[] keys = percentileKeys;
+            long[] values = percentileValues;
+            if (keys.length == 0) {
+                return 0L;
+            }
+            if (quantile <= keys[0]) {
+                return keys[0] <= 0 ? values[0] : Math.round(values[0] * quantile / keys[0]);
+            }
+            for (int i = 1; i < keys.length; i++) {
+                if (quantile <= keys[i]) {
+                    double ratio = (quantile - keys[i - 1]) / (keys[i] - keys[i - 1]);
+                    return Math.round(values[i - 1] + ratio * (values[i] - values[i - 1]));
+                }
+            }
+            return values[values.length - 1];
+        }
+
+        private void compilePercentiles() {
+            TreeMap<Double, Long> sorted = new TreeMap<>(percentiles);
+            double[] keys = new double[sorted.size()];
+            long[] values = new long[sorted.size()];
+            int i = 0;
+            for (Map.Entry<Double, Long> entry : sorted.entrySet()) {
+                keys[i] = entry.getKey();
+                values[i] = entry.getValue() != null ? entry.getValue() : -1L;
+                i++;
+            }
+            percentileValues = values;
+            percentileKeys = keys;
+        }
+
+        public LatencyType getType() {
+            return type;
+        }
+
+        public void setType(LatencyType type) {
+            this.type = type != null ? type : LatencyType.FIXED;
+        }
+
+        public long getFixedMs() {
+            return fixedMs;
+        }
+
+        public void setFixedMs(long fixedMs) {
+            this.fixedMs = fixedMs;
+        }
+
+        public long getMinMs() {
+            return minMs;
+        }
+
+        public void setMinMs(long minMs) {
+            this.minMs = minMs;
+        }
+
+        public long getMaxMs() {
+            return maxMs;
+        }
+
+        public void setMaxMs(long maxMs) {
+            this.maxMs = maxMs;
+        }
+
+        public double getMeanMs() {
+            return meanMs;
+        }
+
+        public void setMeanMs(double meanMs) {
+            this.meanMs = meanMs;
+        }
+
+        public double getStdDevMs() {
+            return stdDevMs;
+        }
+
+        public void setStdDevMs(double stdDevMs) {
+            this.stdDevMs = stdDevMs;
+        }
+
+        public Map<Double, Long> getPercentiles() {
+            return percentiles;
+        }
+
+        public void setPercentiles(Map<Double, Long> percentiles) {
+            this.percentiles = percentiles != null ? percentiles : new TreeMap<>();
+            compilePercentiles();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.honyrun.model.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 实时日志事件DTO
+ *
+ * 实时日志环形缓冲区中的一条结构化事件，通过SSE推送给订阅的运维客户端。
+ * eventType为LOG时表示一条日志；为DROPPED时表示订阅者消费过慢，
+ * droppedCount条最旧的日志已被覆盖，客户端可据此提示丢失
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 09:30:00
+ * @modified 2025-10-29 09:30:00
+ * @version 1.0.0
+ */
+@Schema(description = "实时日志事件")
+public class LogTailEvent {
+
+    /**
+     * 日志事件类型
+     */
+    public static final String TYPE_LOG = "log";
+
+    /**
+     * 丢弃通知事件类型
+     */
+    public static final String TYPE_DROPPED = "dropped";
+
+    /**
+     * 日志来源：系统日志服务
+     */
+    public static final String SOURCE_SYSTEM_LOG = "SYSTEM_LOG";
+
+    /**
+     * 日志来源：Logback日志框架
+     */
+    public static final String SOURCE_LOGBACK = "LOGBACK";
+
+    @Schema(description = "事件序号，单调递增，可用于断线重连续传", example = "1024")
+    private long sequence;
+
+    @Schema(description = "事件类型", example = "log")
+    private String eventType = TYPE_LOG;
+
+    @Schema(description = "事件时间戳（毫秒）", example = "1730000000000")
+    private long timestamp;
+
+    @Schema(description = "日志级别", example = "ERROR")
+    private String level;
+
+    @Schema(description = "Logger名称", example = "com.honyrun.service.impl.ReactiveAuthServiceImpl")
+    private String loggerName;
+
+    @Schema(description = "线程名称", example = "reactor-http-nio-2")
+    private String threadName;
+
+    @Schema(description = "日志内容")
+    private String message;
+
+    @Schema(description = "追踪ID")
+    private String traceId;
+
+    @Schema(description = "用户ID")
+    private String userId;
+
+    @Schema(description = "用户名")
+    private String username;
+
+    @Schema(description = "日志类型", example = "SECURITY")
+    private String logType;
+
+    @Schema(description = "操作模块")
+    private String module;
+
+    @Schema(description = "日志来源", example = "LOGBACK")
+    private String source;
+
+    @Schema(description = "丢弃的日志条数，仅dropped事件有效", example = "0")
+    private long droppedCount;
+
+    /**
+     * 创建丢弃通知事件
+     *
+     * @param lastSkippedSequence 被跳过的最后一条日志序号
+     * @param droppedCount        丢弃条数
+     * @return 丢弃通知事件
+     */
+    public static LogTailEvent dropped(long lastSkippedSequence, long droppedCount) {
+        LogTailEvent event = new LogTailEvent();
+        event.setEventType(TYPE_DROPPED);
+        event.setSequence(lastSkippedSequence);
+        event.setTimestamp(System.currentTimeMillis());
+        event.setDroppedCount(droppedCount);
+        return event;
+    }
+
+    /**
+     * 判断是否为日志事件
+     *
+     * @return true-日志事件，false-丢弃通知
+     */
+    public boolean isLog() {
+        return TYPE_LOG.equals(eventType);
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(long sequence) {
+        this.sequence = sequence;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public void setEventType(String eventType) {
+        this.eventType = eventType;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public void setLevel(String level) {
+        this.level = level;
+    }
+
+    public String getLoggerName() {
+        return loggerName;
+    }
+
+    public void setLoggerName(String loggerName) {
+        this.loggerName = loggerName;
+    }
+
+    public String getThreadName() {
+        return threadName;
+    }
+
+    public void setThreadName(String threadName) {
+        this.threadName = threadName;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public void setTraceId(String traceId) {
+        this.traceId = traceId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public void setUserId(String userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getLogType() {
+        return logType;
+    }
+
+    public void setLogType(String logType) {
+        this.logType = logType;
+    }
+
+    public String getModule() {
+        return module;
+    }
+
+    public void setModule(String module) {
+        this.module = module;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+
+    public void setDroppedCount(long droppedCount) {
+        this.droppedCount = droppedCount;
+    }
+}
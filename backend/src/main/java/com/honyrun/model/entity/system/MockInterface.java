@@ -156,6 +156,13 @@ public class MockInterface extends AuditableEntity {
     @Column("dynamic_config")
     private String dynamicConfig;
 
+    /**
+     * 故障注入配置
+     * 延迟分布、错误注入、带宽限制和连接重置配置（JSON格式，见MockFaultProfile）
+     */
+    @Column("fault_profile")
+    private String faultProfile;
+
     /**
      * 权限配置
      * 接口访问权限配置
@@ -549,6 +556,24 @@ public class MockInterface extends AuditableEntity {
         this.dynamicConfig = dynamicConfig;
     }
 
+    /**
+     * 获取故障注入配置
+     *
+     * @return 故障注入配置
+     */
+    public String getFaultProfile() {
+        return faultProfile;
+    }
+
+    /**
+     * 设置故障注入配置
+     *
+     * @param faultProfile 故障注入配置
+     */
+    public void setFaultProfile(String faultProfile) {
+        this.faultProfile = faultProfile;
+    }
+
     /**
      * 获取权限配置
      *
@@ -1,6 +1,7 @@
 package com.honyrun.repository.r2dbc;
 
 import com.honyrun.model.entity.system.SystemConfig;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -81,4 +82,49 @@ public interface ReactiveSystemConfigRepository extends ReactiveCrudRepository<S
      */
     @Query("SELECT * FROM sys_system_configs WHERE config_group = :configGroup AND status = :status AND deleted = 0 ORDER BY config_key")
     Flux<SystemConfig> findByConfigGroupAndStatus(String configGroup, String status);
+
+    /**
+     * 按配置键区间查找分组内的配置，区间为(afterKey, untilKey]
+     * 用于按版本读取配置变更日志，日志键按版本号补零，字典序即版本序
+     *
+     * @param configGroup 配置分组
+     * @param afterKey 起始键（不含）
+     * @param untilKey 结束键（含）
+     * @return 系统配置列表的Flux包装
+     */
+    @Query("SELECT * FROM sys_system_configs WHERE config_group = :configGroup AND config_key > :afterKey " +
+           "AND config_key <= :untilKey AND deleted = 0 ORDER BY config_key")
+    Flux<SystemConfig> findByConfigGroupAndConfigKeyBetween(String configGroup, String afterKey, String untilKey);
+
+    /**
+     * 按配置键倒序分页查找分组内的配置
+     *
+     * @param configGroup 配置分组
+     * @param limit 返回数量
+     * @param offset 偏移量
+     * @return 系统配置列表的Flux包装
+     */
+    @Query("SELECT * FROM sys_system_configs WHERE config_group = :configGroup AND deleted = 0 " +
+           "ORDER BY config_key DESC LIMIT :limit OFFSET :offset")
+    Flux<SystemConfig> findByConfigGroupOrderByConfigKeyDesc(String configGroup, int limit, long offset);
+
+    /**
+     * 统计分组内的配置数量
+     *
+     * @param configGroup 配置分组
+     * @return 配置数量的Mono包装
+     */
+    @Query("SELECT COUNT(*) FROM sys_system_configs WHERE config_group = :configGroup AND deleted = 0")
+    Mono<Long> countByConfigGroup(String configGroup);
+
+    /**
+     * 删除分组内配置键小于指定值的配置
+     *
+     * @param configGroup 配置分组
+     * @param beforeKey 截止键（不含）
+     * @return 删除的记录数
+     */
+    @Modifying
+    @Query("DELETE FROM sys_system_configs WHERE config_group = :configGroup AND config_key < :beforeKey")
+    Mono<Integer> deleteByConfigGroupAndConfigKeyBefore(String configGroup, String beforeKey);
 }
@@ -3,6 +3,7 @@ package com.honyrun.repository.r2dbc;
 import com.honyrun.model.entity.business.User;
 import com.honyrun.model.enums.UserType;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -384,4 +385,17 @@ public interface ReactiveUserRepository extends ReactiveCrudRepository<User, Lon
            "status = 'ACTIVE' " +
            "ORDER BY last_modified_date ASC")
     Flux<User> findUsersNeedingPasswordReset(@Param("passwordAge") LocalDateTime passwordAge);
-}
\ No newline at end of file
+
+    /**
+     * 仅在密码哈希未被并发修改时替换为新哈希（登录时透明升级哈希算法或成本因子）
+     *
+     * @param id 用户ID
+     * @param currentHash 当前密码哈希
+     * @param upgradedHash 升级后的密码哈希
+     * @return 更新的行数，密码已被并发修改时为0
+     */
+    @Modifying
+    @Query("UPDATE sys_users SET password_hash = :upgradedHash WHERE id = :id AND password_hash = :currentHash AND deleted = 0")
+    Mono<Integer> upgradePasswordHash(@Param("id") Long id, @Param("currentHash") String currentHash,
+                                      @Param("upgradedHash") String upgradedHash);
+}
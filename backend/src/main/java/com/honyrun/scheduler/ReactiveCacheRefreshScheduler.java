@@ -10,6 +10,8 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.scheduler.coordination.DistributedJobCoordinator;
+import com.honyrun.scheduler.coordination.JobExecutionContext;
 import com.honyrun.service.reactive.ReactiveSystemService;
 import com.honyrun.util.LoggingUtil;
 import com.honyrun.util.MonitoringLogUtil;
@@ -37,10 +39,14 @@ import reactor.core.scheduler.Schedulers;
  * - 流式处理：支持批量缓存数据的流式处理
  * - 背压控制：控制缓存刷新的执行速度
  *
+ * 集群协调：
+ * - 综合缓存刷新以分片方式执行，用户、权限、配置、业务缓存刷新和缓存优化按分片分配到各节点
+ * - 其余刷新和预热任务以单例方式执行，集群内同一时刻只有获得租约的节点执行
+ *
  * @author Mr.Rey
  * @version 2.0.0
  * @created 2025-07-01 23:55:00
- * @modified 2025-07-01 23:55:00
+ * @modified 2025-11-01 09:00:00
  *           Copyright © 2025 HonyRun. All rights reserved.
  */
 @Component
@@ -51,20 +57,24 @@ public class ReactiveCacheRefreshScheduler {
 
     private final ReactiveSystemService systemService;
     private final UnifiedConfigManager unifiedConfigManager;
+    private final DistributedJobCoordinator jobCoordinator;
 
     /**
      * 构造函数注入依赖
      *
      * @param systemService        响应式系统服务
      * @param unifiedConfigManager 统一配置管理器
+     * @param jobCoordinator       分布式定时任务协调器
      * @author Mr.Rey Copyright © 2025
      * @created 2025-10-26 01:36:12
      * @version 1.0.0
      */
     public ReactiveCacheRefreshScheduler(ReactiveSystemService systemService,
-            UnifiedConfigManager unifiedConfigManager) {
+            UnifiedConfigManager unifiedConfigManager,
+            DistributedJobCoordinator jobCoordinator) {
         this.systemService = systemService;
         this.unifiedConfigManager = unifiedConfigManager;
+        this.jobCoordinator = jobCoordinator;
     }
 
     // 系统启动时间
@@ -96,9 +106,9 @@ public class ReactiveCacheRefreshScheduler {
     public void comprehensiveCacheRefreshTask() {
         LoggingUtil.info(logger, "开始执行综合缓存刷新任务");
 
-        executeComprehensiveCacheRefresh()
+        jobCoordinator.runSharded("comprehensive-cache-refresh", this::executeComprehensiveCacheRefresh)
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     cacheRefreshCount.incrementAndGet();
                     lastCacheRefreshTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "综合缓存刷新任务完成，累计执行次数: {}", cacheRefreshCount.get());
@@ -127,10 +137,10 @@ public class ReactiveCacheRefreshScheduler {
                     }
 
                     LoggingUtil.info(logger, "开始执行用户缓存刷新任务");
-                    return executeUserCacheRefresh();
+                    return jobCoordinator.runSingleton("user-cache-refresh", context -> executeUserCacheRefresh());
                 })
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     userCacheRefreshCount.incrementAndGet();
                     lastUserCacheRefreshTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "用户缓存刷新任务完成，累计执行次数: {}", userCacheRefreshCount.get());
@@ -159,10 +169,10 @@ public class ReactiveCacheRefreshScheduler {
                     }
 
                     LoggingUtil.info(logger, "开始执行权限缓存刷新任务");
-                    return executePermissionCacheRefresh();
+                    return jobCoordinator.runSingleton("permission-cache-refresh", context -> executePermissionCacheRefresh());
                 })
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     permissionCacheRefreshCount.incrementAndGet();
                     lastPermissionCacheRefreshTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "权限缓存刷新任务完成，累计执行次数: {}", permissionCacheRefreshCount.get());
@@ -191,10 +201,10 @@ public class ReactiveCacheRefreshScheduler {
                     }
 
                     LoggingUtil.info(logger, "开始执行配置缓存刷新任务");
-                    return executeConfigCacheRefresh();
+                    return jobCoordinator.runSingleton("config-cache-refresh", context -> executeConfigCacheRefresh());
                 })
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     configCacheRefreshCount.incrementAndGet();
                     lastConfigCacheRefreshTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "配置缓存刷新任务完成，累计执行次数: {}", configCacheRefreshCount.get());
@@ -223,10 +233,10 @@ public class ReactiveCacheRefreshScheduler {
                     }
 
                     LoggingUtil.info(logger, "开始执行业务缓存刷新任务");
-                    return executeBusinessCacheRefresh();
+                    return jobCoordinator.runSingleton("business-cache-refresh", context -> executeBusinessCacheRefresh());
                 })
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     businessCacheRefreshCount.incrementAndGet();
                     lastBusinessCacheRefreshTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "业务缓存刷新任务完成，累计执行次数: {}", businessCacheRefreshCount.get());
@@ -255,10 +265,10 @@ public class ReactiveCacheRefreshScheduler {
                     }
 
                     LoggingUtil.info(logger, "开始执行缓存预热任务");
-                    return executeCachePreload();
+                    return jobCoordinator.runSingleton("cache-preload", context -> executeCachePreload());
                 })
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     cachePreloadCount.incrementAndGet();
                     lastCachePreloadTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "缓存预热任务完成，累计执行次数: {}", cachePreloadCount.get());
@@ -277,14 +287,17 @@ public class ReactiveCacheRefreshScheduler {
 
     /**
      * 执行综合缓存刷新
+     *
+     * @param context 任务执行上下文，只执行归属本节点分片的刷新项
      */
-    private Mono<Void> executeComprehensiveCacheRefresh() {
-        return Mono.fromRunnable(() -> LoggingUtil.info(logger, "开始综合缓存刷新"))
-                .then(refreshUserCache())
-                .then(refreshPermissionCache())
-                .then(refreshConfigCache())
-                .then(refreshBusinessCache())
-                .then(performCacheOptimization())
+    private Mono<Void> executeComprehensiveCacheRefresh(JobExecutionContext context) {
+        return Mono.fromRunnable(() -> LoggingUtil.info(logger, "开始综合缓存刷新，分片: {}/{}",
+                        context.getShardIndex(), context.getShardCount()))
+                .then(context.ownsShard(0) ? refreshUserCache() : Mono.<Void>empty())
+                .then(context.ownsShard(1) ? refreshPermissionCache() : Mono.<Void>empty())
+                .then(context.ownsShard(2) ? refreshConfigCache() : Mono.<Void>empty())
+                .then(context.ownsShard(3) ? refreshBusinessCache() : Mono.<Void>empty())
+                .then(context.ownsShard(4) ? performCacheOptimization() : Mono.<Void>empty())
                 .then(Mono.fromRunnable(
                         () -> MonitoringLogUtil.logSystemEvent("COMPREHENSIVE_CACHE_REFRESH", "INFO", "综合缓存刷新完成")))
                 .then(Mono.empty());
@@ -11,6 +11,8 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.scheduler.coordination.DistributedJobCoordinator;
+import com.honyrun.scheduler.coordination.JobExecutionContext;
 import com.honyrun.service.reactive.ReactiveSystemService;
 import com.honyrun.util.LoggingUtil;
 import com.honyrun.util.MonitoringLogUtil;
@@ -37,10 +39,14 @@ import reactor.core.scheduler.Schedulers;
  * - 流式处理：支持批量数据的流式处理
  * - 背压控制：控制维护任务的执行速度
  *
+ * 集群协调：
+ * - 维护任务操作共享的数据库和缓存，均以单例方式执行，集群内同一时刻只有获得租约的节点执行
+ * - 删除数据前校验防护令牌，租约已被其他节点接管时中止
+ *
  * @author Mr.Rey
  * @version 2.0.0
  * @created 2025-07-01 23:45:00
- * @modified 2025-07-01 23:45:00
+ * @modified 2025-11-01 09:00:00
  *           Copyright © 2025 HonyRun. All rights reserved.
  */
 @Component
@@ -51,17 +57,21 @@ public class ReactiveSystemMaintenanceScheduler {
 
     private final ReactiveSystemService systemService;
     private final UnifiedConfigManager unifiedConfigManager;
+    private final DistributedJobCoordinator jobCoordinator;
 
     /**
      * 构造函数注入依赖
      *
      * @param systemService        响应式系统服务
      * @param unifiedConfigManager 统一配置管理器
+     * @param jobCoordinator       分布式定时任务协调器
      */
     public ReactiveSystemMaintenanceScheduler(ReactiveSystemService systemService,
-            UnifiedConfigManager unifiedConfigManager) {
+            UnifiedConfigManager unifiedConfigManager,
+            DistributedJobCoordinator jobCoordinator) {
         this.systemService = systemService;
         this.unifiedConfigManager = unifiedConfigManager;
+        this.jobCoordinator = jobCoordinator;
     }
 
     // 系统启动时间
@@ -89,9 +99,9 @@ public class ReactiveSystemMaintenanceScheduler {
     public void systemMaintenanceTask() {
         LoggingUtil.info(logger, "开始执行系统综合维护任务");
 
-        executeSystemMaintenance()
+        jobCoordinator.runSingleton("system-maintenance", context -> executeSystemMaintenance())
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     maintenanceTaskCount.incrementAndGet();
                     lastMaintenanceTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "系统综合维护任务完成，累计执行次数: {}", maintenanceTaskCount.get());
@@ -114,9 +124,9 @@ public class ReactiveSystemMaintenanceScheduler {
     public void dataCleanupTask() {
         LoggingUtil.info(logger, "开始执行数据清理任务");
 
-        executeDataCleanup()
+        jobCoordinator.runSingleton("data-cleanup", this::executeDataCleanup)
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     dataCleanupCount.incrementAndGet();
                     lastDataCleanupTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "数据清理任务完成，累计执行次数: {}", dataCleanupCount.get());
@@ -139,9 +149,9 @@ public class ReactiveSystemMaintenanceScheduler {
     public void tempFileCleanupTask() {
         LoggingUtil.info(logger, "开始执行临时文件清理任务");
 
-        executeTempFileCleanup()
+        jobCoordinator.runSingleton("temp-file-cleanup", this::executeTempFileCleanup)
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     tempFileCleanupCount.incrementAndGet();
                     lastTempFileCleanupTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "临时文件清理任务完成，累计执行次数: {}", tempFileCleanupCount.get());
@@ -173,9 +183,9 @@ public class ReactiveSystemMaintenanceScheduler {
 
         LoggingUtil.info(logger, "开始执行缓存维护任务");
 
-        executeCacheMaintenance()
+        jobCoordinator.runSingleton("cache-maintenance", context -> executeCacheMaintenance())
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     cacheMaintenanceCount.incrementAndGet();
                     lastCacheMaintenanceTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "缓存维护任务完成，累计执行次数: {}", cacheMaintenanceCount.get());
@@ -207,13 +217,16 @@ public class ReactiveSystemMaintenanceScheduler {
 
     /**
      * 执行数据清理
+     *
+     * @param context 任务执行上下文，删除前校验租约
      */
-    private Mono<Void> executeDataCleanup() {
+    private Mono<Void> executeDataCleanup(JobExecutionContext context) {
         int dataCleanupDays = Integer
                 .parseInt(unifiedConfigManager.getProperty("honyrun.maintenance.data-cleanup-days", "90"));
         LocalDateTime cleanupDate = LocalDateTime.now().minusDays(dataCleanupDays);
 
         return Mono.fromRunnable(() -> LoggingUtil.info(logger, "开始数据清理，清理日期: {}", cleanupDate))
+                .then(context.verifyLease())
                 .then(systemService.cleanupExpiredData(cleanupDate))
                 .flatMap(deletedCount -> {
                     LoggingUtil.info(logger, "数据清理完成，删除记录数: {}", deletedCount);
@@ -226,13 +239,16 @@ public class ReactiveSystemMaintenanceScheduler {
 
     /**
      * 执行临时文件清理
+     *
+     * @param context 任务执行上下文，删除前校验租约
      */
-    private Mono<Void> executeTempFileCleanup() {
+    private Mono<Void> executeTempFileCleanup(JobExecutionContext context) {
         int tempFileCleanupDays = Integer
                 .parseInt(unifiedConfigManager.getProperty("honyrun.maintenance.temp-file-cleanup-days", "7"));
         LocalDateTime cleanupDate = LocalDateTime.now().minusDays(tempFileCleanupDays);
 
         return Mono.fromRunnable(() -> LoggingUtil.info(logger, "开始临时文件清理，清理日期: {}", cleanupDate))
+                .then(context.verifyLease())
                 .then(systemService.cleanupTempFiles(cleanupDate))
                 .flatMap(deletedCount -> {
                     LoggingUtil.info(logger, "临时文件清理完成，删除文件数: {}", deletedCount);
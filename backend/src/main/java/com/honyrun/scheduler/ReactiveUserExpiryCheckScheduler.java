@@ -1,6 +1,8 @@
 package com.honyrun.scheduler;
 
 import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.scheduler.coordination.DistributedJobCoordinator;
+import com.honyrun.scheduler.coordination.JobExecutionContext;
 import com.honyrun.service.reactive.ReactiveSystemService;
 import com.honyrun.util.LoggingUtil;
 import com.honyrun.util.MonitoringLogUtil;
@@ -40,10 +42,14 @@ import java.util.concurrent.atomic.AtomicLong;
  * - 以午夜12点为分界，过期检查在每日午夜执行
  * - 过期用户自动设置为禁用状态，需要系统用户重新激活
  *
+ * 集群协调：
+ * - 所有任务均以单例方式执行，集群内同一时刻只有获得租约的节点执行
+ * - 禁用用户、发送提醒、清理用户前校验防护令牌，租约已被其他节点接管时中止
+ *
  * @author Mr.Rey
  * @version 2.0.0
  * @created 2025-07-01 00:05:00
- * @modified 2025-10-26 01:36:12
+ * @modified 2025-11-01 09:00:00
  * Copyright © 2025 HonyRun. All rights reserved.
  */
 @Component
@@ -54,17 +60,21 @@ public class ReactiveUserExpiryCheckScheduler {
 
     private final ReactiveSystemService systemService;
     private final UnifiedConfigManager unifiedConfigManager;
+    private final DistributedJobCoordinator jobCoordinator;
 
     /**
      * 构造函数注入 - 符合Spring Boot 3最佳实践
      * 
      * @param systemService 系统服务
      * @param unifiedConfigManager 统一配置管理器
+     * @param jobCoordinator 分布式定时任务协调器
      */
     public ReactiveUserExpiryCheckScheduler(ReactiveSystemService systemService, 
-                                          UnifiedConfigManager unifiedConfigManager) {
+                                          UnifiedConfigManager unifiedConfigManager,
+                                          DistributedJobCoordinator jobCoordinator) {
         this.systemService = systemService;
         this.unifiedConfigManager = unifiedConfigManager;
+        this.jobCoordinator = jobCoordinator;
     }
 
     // 系统启动时间
@@ -93,9 +103,9 @@ public class ReactiveUserExpiryCheckScheduler {
     public void userExpiryCheckTask() {
         LoggingUtil.info(logger, "开始执行用户有效期检查任务");
 
-        executeUserExpiryCheck()
+        jobCoordinator.runSingleton("user-expiry-check", context -> executeUserExpiryCheck())
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     userExpiryCheckCount.incrementAndGet();
                     lastUserExpiryCheckTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "用户有效期检查任务完成，累计执行次数: {}", userExpiryCheckCount.get());
@@ -118,9 +128,9 @@ public class ReactiveUserExpiryCheckScheduler {
     public void expiredUserProcessTask() {
         LoggingUtil.info(logger, "开始执行过期用户处理任务");
 
-        executeExpiredUserProcess()
+        jobCoordinator.runSingleton("expired-user-process", this::executeExpiredUserProcess)
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     lastExpiredUserProcessTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "过期用户处理任务完成");
                 })
@@ -150,9 +160,9 @@ public class ReactiveUserExpiryCheckScheduler {
 
         LoggingUtil.info(logger, "开始执行用户过期提醒任务");
 
-        executeUserExpiryWarning()
+        jobCoordinator.runSingleton("user-expiry-warning", this::executeUserExpiryWarning)
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     lastWarningNotificationTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "用户过期提醒任务完成");
                 })
@@ -174,9 +184,9 @@ public class ReactiveUserExpiryCheckScheduler {
     public void expiredUserCleanupTask() {
         LoggingUtil.info(logger, "开始执行过期用户清理任务");
 
-        executeExpiredUserCleanup()
+        jobCoordinator.runSingleton("expired-user-cleanup", this::executeExpiredUserCleanup)
                 .subscribeOn(Schedulers.boundedElastic())
-                .doOnSuccess(unused -> {
+                .doOnNext(run -> {
                     lastUserCleanupTime = LocalDateTime.now();
                     LoggingUtil.info(logger, "过期用户清理任务完成");
                 })
@@ -208,9 +218,9 @@ public class ReactiveUserExpiryCheckScheduler {
     /**
      * 执行过期用户处理
      */
-    private Mono<Void> executeExpiredUserProcess() {
+    private Mono<Void> executeExpiredUserProcess(JobExecutionContext context) {
         return Mono.fromRunnable(() -> LoggingUtil.info(logger, "开始过期用户处理"))
-                .then(processExpiredUsers())
+                .then(processExpiredUsers(context))
                 .then(updateUserStatistics())
                 .then(Mono.fromRunnable(() -> 
                     MonitoringLogUtil.logSystemEvent("EXPIRED_USER_PROCESS", "INFO", "过期用户处理完成")))
@@ -220,9 +230,9 @@ public class ReactiveUserExpiryCheckScheduler {
     /**
      * 执行用户过期提醒
      */
-    private Mono<Void> executeUserExpiryWarning() {
+    private Mono<Void> executeUserExpiryWarning(JobExecutionContext context) {
         return Mono.fromRunnable(() -> LoggingUtil.info(logger, "开始用户过期提醒"))
-                .then(sendExpiryWarningNotifications())
+                .then(sendExpiryWarningNotifications(context))
                 .then(Mono.fromRunnable(() -> 
                     MonitoringLogUtil.logSystemEvent("USER_EXPIRY_WARNING", "INFO", "用户过期提醒完成")))
                 .then(Mono.empty());
@@ -231,9 +241,9 @@ public class ReactiveUserExpiryCheckScheduler {
     /**
      * 执行过期用户清理
      */
-    private Mono<Void> executeExpiredUserCleanup() {
+    private Mono<Void> executeExpiredUserCleanup(JobExecutionContext context) {
         return Mono.fromRunnable(() -> LoggingUtil.info(logger, "开始过期用户清理"))
-                .then(cleanupDisabledUsers())
+                .then(cleanupDisabledUsers(context))
                 .then(Mono.fromRunnable(() -> 
                     MonitoringLogUtil.logSystemEvent("EXPIRED_USER_CLEANUP", "INFO", "过期用户清理完成")))
                 .then(Mono.empty());
@@ -304,8 +314,10 @@ public class ReactiveUserExpiryCheckScheduler {
 
     /**
      * 处理过期用户
+     *
+     * @param context 任务执行上下文，禁用前校验租约
      */
-    private Mono<Void> processExpiredUsers() {
+    private Mono<Void> processExpiredUsers(JobExecutionContext context) {
         return Mono.zip(
                 unifiedConfigManager.getStringConfig("honyrun.user.expiry.auto-disable-enabled", "true"),
                 unifiedConfigManager.getStringConfig("honyrun.user.expiry.batch-size", "50")
@@ -320,7 +332,8 @@ public class ReactiveUserExpiryCheckScheduler {
 
             LoggingUtil.info(logger, "处理过期用户，自动禁用");
 
-            return systemService.disableExpiredUsers(batchSize)
+            return context.verifyLease()
+                    .then(systemService.disableExpiredUsers(batchSize))
                     .flatMap(disabledCount -> {
                         disabledUserCount.addAndGet(disabledCount);
 
@@ -341,8 +354,10 @@ public class ReactiveUserExpiryCheckScheduler {
 
     /**
      * 发送过期提醒通知
+     *
+     * @param context 任务执行上下文，发送前校验租约
      */
-    private Mono<Void> sendExpiryWarningNotifications() {
+    private Mono<Void> sendExpiryWarningNotifications(JobExecutionContext context) {
         LoggingUtil.info(logger, "发送用户过期提醒通知");
 
         return Mono.zip(
@@ -352,7 +367,8 @@ public class ReactiveUserExpiryCheckScheduler {
             int warningDays = Integer.parseInt(tuple.getT1());
             int batchSize = Integer.parseInt(tuple.getT2());
 
-            return systemService.sendExpiryWarningNotifications(warningDays, batchSize)
+            return context.verifyLease()
+                    .then(systemService.sendExpiryWarningNotifications(warningDays, batchSize))
                     .flatMap(notificationCount -> {
                         LoggingUtil.info(logger, "发送{}条过期提醒通知", notificationCount);
 
@@ -371,8 +387,10 @@ public class ReactiveUserExpiryCheckScheduler {
 
     /**
      * 清理长期禁用的用户
+     *
+     * @param context 任务执行上下文，清理前校验租约
      */
-    private Mono<Void> cleanupDisabledUsers() {
+    private Mono<Void> cleanupDisabledUsers(JobExecutionContext context) {
         return Mono.zip(
                 unifiedConfigManager.getStringConfig("honyrun.user.expiry.cleanup-disabled-days", "30"),
                 unifiedConfigManager.getStringConfig("honyrun.user.expiry.batch-size", "50")
@@ -382,7 +400,8 @@ public class ReactiveUserExpiryCheckScheduler {
             
             LoggingUtil.info(logger, "清理长期禁用的用户，清理{}天前禁用的用户", cleanupDisabledDays);
 
-            return systemService.cleanupLongTermDisabledUsers(cleanupDisabledDays, batchSize)
+            return context.verifyLease()
+                    .then(systemService.cleanupLongTermDisabledUsers(cleanupDisabledDays, batchSize))
                     .flatMap(cleanupCount -> {
                         cleanupUserCount.addAndGet(cleanupCount);
 
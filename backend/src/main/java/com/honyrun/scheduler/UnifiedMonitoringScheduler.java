@@ -49,6 +49,10 @@ import reactor.core.scheduler.Scheduler;
  * - 错误恢复：监控失败时提供错误恢复机制
  * - 真实数据：使用SystemMonitorUtil获取真实系统数据
  *
+ * 集群协调：
+ * - 本调度器的任务采集的是本节点的JVM、连接池和健康指标，日志归档处理的是本节点的日志文件，
+ *   每个节点都必须各自执行，因此不经过DistributedJobCoordinator竞争租约
+ *
  * @author Mr.Rey
  * @created 2025-07-02 当前时间
  * @modified 2025-07-02 当前时间
@@ -0,0 +1,454 @@
+package com.honyrun.scheduler.coordination;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.exception.reactive.LeaseLostException;
+import com.honyrun.util.LoggingUtil;
+import com.honyrun.util.MonitoringLogUtil;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 分布式定时任务协调器
+ *
+ * 各节点的@Scheduled方法照常触发，执行前先通过本协调器竞争租约：
+ * - 单例任务：整个集群同一时刻只有获得租约的节点执行，其余节点跳过
+ * - 分片任务：按存活节点列表分配分片序号，每个节点竞争自己分片的租约后只处理归属本分片的数据
+ *
+ * 租约由JobLeaseStore保存，执行期间按租约时长的1/3续期；续期失败视为租约丢失，任务被中止。
+ * 节点宕机后租约到期自动释放，下一次触发由其他节点接管。每次获取租约都会递增防护令牌，
+ * 任务在写入前调用JobExecutionContext.verifyLease()，可拒绝已被接管的旧持有者的延迟写入
+ *
+ * 记录的指标：
+ * - honyrun.scheduler.job.runs：各任务按状态统计的运行次数
+ * - honyrun.scheduler.job.duration：本节点执行耗时
+ * - honyrun.scheduler.trigger.skew：跳过时本节点触发时间与持有者获取租约时间之差，反映各节点调度触发的偏差
+ * - honyrun.scheduler.clock.offset：本节点时钟与存储端时钟的偏差
+ * - honyrun.scheduler.cluster.nodes：存活节点数
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-01 09:00:00
+ * @modified 2025-11-01 09:00:00
+ * @version 1.0.0
+ */
+@Component
+public class DistributedJobCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DistributedJobCoordinator.class);
+
+    private final JobLeaseStore leaseStore;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${honyrun.scheduler.coordination.enabled:true}")
+    private boolean enabled;
+
+    @Value("${honyrun.scheduler.coordination.node-id:}")
+    private String configuredNodeId;
+
+    @Value("${honyrun.scheduler.coordination.lease-time:120000}")
+    private long leaseTimeMillis;
+
+    @Value("${honyrun.scheduler.coordination.node-ttl:30000}")
+    private long nodeTtlMillis;
+
+    @Value("${honyrun.scheduler.coordination.store-timeout:3000}")
+    private long storeTimeoutMillis;
+
+    @Value("${honyrun.scheduler.coordination.run-on-store-failure:false}")
+    private boolean runOnStoreFailure;
+
+    @Value("${honyrun.scheduler.coordination.history-size:200}")
+    private int historySize;
+
+    private String nodeId;
+    private volatile List<String> liveNodes = Collections.emptyList();
+    private final AtomicLong clockOffsetMillis = new AtomicLong();
+
+    // 运行历史，由自身保护
+    private final Deque<JobRunRecord> history = new ArrayDeque<>();
+    private final Map<String, JobRunRecord> lastRuns = new ConcurrentHashMap<>();
+
+    /**
+     * 构造函数注入
+     *
+     * @param leaseStore    租约存储
+     * @param meterRegistry 指标注册表
+     */
+    public DistributedJobCoordinator(JobLeaseStore leaseStore, MeterRegistry meterRegistry) {
+        this.leaseStore = leaseStore;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        nodeId = configuredNodeId != null && !configuredNodeId.isBlank() ? configuredNodeId.trim() : defaultNodeId();
+        Gauge.builder("honyrun.scheduler.clock.offset", clockOffsetMillis, AtomicLong::get)
+                .description("本节点时钟与调度租约存储时钟的偏差（毫秒）")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("honyrun.scheduler.cluster.nodes", this, coordinator -> coordinator.liveNodes.size())
+                .description("参与定时任务协调的存活节点数")
+                .register(meterRegistry);
+        LoggingUtil.info(logger, "分布式定时任务协调器初始化完成，节点ID: {}，协调启用: {}", nodeId, enabled);
+        if (enabled) {
+            heartbeat();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        // 立即退出集群成员，其他节点下一次分片即可重新分配
+        leaseStore.leave(nodeId)
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .onErrorResume(error -> Mono.empty())
+                .block(Duration.ofMillis(storeTimeoutMillis * 2));
+    }
+
+    // ==================== 任务执行 ====================
+
+    /**
+     * 以单例方式执行任务，集群内只有获得租约的节点执行
+     *
+     * @param jobName 任务名
+     * @param job     任务
+     * @return 本节点执行后发出运行记录，未获得租约时直接完成；任务失败时记录后透传异常
+     */
+    public Mono<JobRunRecord> runSingleton(String jobName, Function<JobExecutionContext, Mono<?>> job) {
+        if (!enabled) {
+            return execute(new JobExecutionContext(jobName, nodeId, null, 0, 1, null), job);
+        }
+        return Mono.defer(() -> acquireAndRun(jobName, jobName, 0, 1, job));
+    }
+
+    /**
+     * 以分片方式执行任务，各节点按存活节点列表中的位置获得分片序号，只处理归属本分片的数据
+     *
+     * 节点加入或退出的过渡期内，各节点看到的节点数可能不一致，个别分片会在本轮被重复处理或遗漏，
+     * 下一轮触发时恢复，因此分片任务本身应当可重复执行
+     *
+     * @param jobName 任务名
+     * @param job     任务，通过JobExecutionContext.ownsShard()判断数据归属
+     * @return 本节点执行后发出运行记录，未获得分片租约时直接完成；任务失败时记录后透传异常
+     */
+    public Mono<JobRunRecord> runSharded(String jobName, Function<JobExecutionContext, Mono<?>> job) {
+        if (!enabled) {
+            return execute(new JobExecutionContext(jobName, nodeId, null, 0, 1, null), job);
+        }
+        return Mono.defer(() -> leaseStore.heartbeat(nodeId, Duration.ofMillis(nodeTtlMillis))
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .doOnNext(this::updateMembership)
+                .map(membership -> membership.nodes())
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "获取集群成员失败，按上一次成员列表分片，任务: {}，原因: {}",
+                            jobName, error.getMessage());
+                    return Mono.just(liveNodes);
+                })
+                .flatMap(nodes -> {
+                    int shardIndex = nodes.indexOf(nodeId);
+                    if (shardIndex < 0) {
+                        // 成员列表为空或尚未包含本节点时，本节点独自承担全部分片
+                        return acquireAndRun(jobName, jobName + ":shard:0", 0, 1, job);
+                    }
+                    return acquireAndRun(jobName, jobName + ":shard:" + shardIndex, shardIndex, nodes.size(), job);
+                }));
+    }
+
+    private Mono<JobRunRecord> acquireAndRun(String jobName, String leaseKey, int shardIndex, int shardCount,
+                                             Function<JobExecutionContext, Mono<?>> job) {
+        LocalDateTime triggeredAt = LocalDateTime.now();
+        long triggeredAtMillis = System.currentTimeMillis();
+        Duration leaseTime = Duration.ofMillis(leaseTimeMillis);
+        return leaseStore.tryAcquire(leaseKey, nodeId, leaseTime)
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .materialize()
+                .flatMap(signal -> {
+                    JobLeaseStore.Acquisition acquisition = signal.get();
+                    if (acquisition == null) {
+                        Throwable error = signal.isOnError() ? signal.getThrowable()
+                                : new IllegalStateException("租约存储未返回结果");
+                        return onStoreFailure(jobName, shardIndex, shardCount, triggeredAt, error, job);
+                    }
+                    if (!acquisition.acquired()) {
+                        skip(jobName, shardIndex, shardCount, triggeredAt, triggeredAtMillis, acquisition.lease());
+                        return Mono.empty();
+                    }
+                    JobExecutionContext context = new JobExecutionContext(jobName, nodeId, acquisition.lease(),
+                            shardIndex, shardCount, leaseStore);
+                    return executeWithLease(context, acquisition.lease(), job);
+                });
+    }
+
+    private Mono<JobRunRecord> onStoreFailure(String jobName, int shardIndex, int shardCount,
+                                              LocalDateTime triggeredAt, Throwable error,
+                                              Function<JobExecutionContext, Mono<?>> job) {
+        if (runOnStoreFailure) {
+            LoggingUtil.warn(logger, "调度租约存储不可用，按配置在本节点直接执行任务: {}，原因: {}",
+                    jobName, error.getMessage());
+            return execute(new JobExecutionContext(jobName, nodeId, null, shardIndex, shardCount, null), job);
+        }
+        LoggingUtil.warn(logger, "调度租约存储不可用，跳过任务: {}，原因: {}", jobName, error.getMessage());
+        MonitoringLogUtil.logSystemAlert("SCHEDULER_COORDINATION", "WARN",
+                "调度租约存储不可用，跳过任务: " + jobName + "，原因: " + error.getMessage(), null);
+        record(new JobRunRecord(jobName, nodeId, JobRunRecord.Status.SKIPPED, 0L, null, shardIndex, shardCount,
+                triggeredAt, 0L, -1L, "租约存储不可用: " + error.getMessage()));
+        return Mono.empty();
+    }
+
+    private void skip(String jobName, int shardIndex, int shardCount, LocalDateTime triggeredAt,
+                      long triggeredAtMillis, JobLease holder) {
+        long skew = -1L;
+        String message;
+        if (holder == null) {
+            message = "租约由其他节点持有";
+        } else if (nodeId.equals(holder.nodeId())) {
+            message = "本节点上一次执行尚未结束";
+        } else {
+            skew = Math.max(0L, triggeredAtMillis - clockOffsetMillis.get() - holder.acquiredAtMillis());
+            DistributionSummary.builder("honyrun.scheduler.trigger.skew")
+                    .description("本节点触发时间与租约持有者获取租约时间之差")
+                    .baseUnit("milliseconds")
+                    .tag("job", jobName)
+                    .register(meterRegistry)
+                    .record(skew);
+            message = "租约由节点" + holder.nodeId() + "持有";
+        }
+        LoggingUtil.debug(logger, "未获得调度租约，跳过任务: {}，{}", jobName, message);
+        record(new JobRunRecord(jobName, nodeId, JobRunRecord.Status.SKIPPED,
+                holder != null ? holder.fencingToken() : 0L, holder != null ? holder.nodeId() : null,
+                shardIndex, shardCount, triggeredAt, 0L, skew, message));
+    }
+
+    private Mono<JobRunRecord> executeWithLease(JobExecutionContext context, JobLease lease,
+                                                Function<JobExecutionContext, Mono<?>> job) {
+        AtomicBoolean leaseLost = new AtomicBoolean();
+        return Mono.usingWhen(Mono.just(lease),
+                held -> execute(context, ctx -> Mono.defer(() -> job.apply(ctx)).then()
+                        .takeUntilOther(watchLease(held, leaseLost))
+                        .then(Mono.defer(() -> leaseLost.get()
+                                ? Mono.error(new LeaseLostException(held.key(), held.fencingToken()))
+                                : Mono.empty()))),
+                this::release,
+                (held, error) -> release(held),
+                this::release);
+    }
+
+    /**
+     * 执行任务并记录运行历史，任务失败时记录后透传异常
+     */
+    private Mono<JobRunRecord> execute(JobExecutionContext context, Function<JobExecutionContext, Mono<?>> job) {
+        return Mono.defer(() -> {
+            LocalDateTime triggeredAt = LocalDateTime.now();
+            long start = System.nanoTime();
+            return Mono.defer(() -> job.apply(context)).then()
+                    .then(Mono.fromSupplier(() -> complete(context, JobRunRecord.Status.SUCCEEDED, triggeredAt,
+                            start, null)))
+                    .doOnError(error -> complete(context, error instanceof LeaseLostException
+                            ? JobRunRecord.Status.LEASE_LOST : JobRunRecord.Status.FAILED,
+                            triggeredAt, start, error.getMessage()));
+        });
+    }
+
+    private JobRunRecord complete(JobExecutionContext context, JobRunRecord.Status status, LocalDateTime triggeredAt,
+                                  long startNanos, String message) {
+        long elapsedNanos = System.nanoTime() - startNanos;
+        Timer.builder("honyrun.scheduler.job.duration")
+                .description("定时任务在本节点的执行耗时")
+                .tag("job", context.getJobName())
+                .tag("status", status.name())
+                .register(meterRegistry)
+                .record(Duration.ofNanos(elapsedNanos));
+        JobRunRecord runRecord = new JobRunRecord(context.getJobName(), nodeId, status, context.getFencingToken(),
+                nodeId, context.getShardIndex(), context.getShardCount(), triggeredAt, elapsedNanos / 1_000_000,
+                -1L, message);
+        record(runRecord);
+        return runRecord;
+    }
+
+    /**
+     * 按租约时长的1/3续期，续期被拒绝或持续失败超过租约时长时发出信号
+     */
+    private Mono<Void> watchLease(JobLease lease, AtomicBoolean leaseLost) {
+        Duration leaseTime = Duration.ofMillis(leaseTimeMillis);
+        Duration interval = Duration.ofMillis(Math.max(1L, leaseTimeMillis / 3));
+        AtomicLong lastConfirmedNanos = new AtomicLong(System.nanoTime());
+        return Flux.interval(interval, interval)
+                .concatMap(tick -> leaseStore.renew(lease, leaseTime)
+                        .timeout(Duration.ofMillis(storeTimeoutMillis))
+                        .doOnNext(renewed -> {
+                            if (renewed) {
+                                lastConfirmedNanos.set(System.nanoTime());
+                            }
+                        })
+                        .onErrorResume(error -> {
+                            LoggingUtil.warn(logger, "调度租约续期失败，租约: {}，原因: {}", lease.key(), error.getMessage());
+                            // 存储暂时不可用时，只要距上次确认未超过租约时长，租约在存储中仍然有效
+                            return Mono.just(System.nanoTime() - lastConfirmedNanos.get() < leaseTime.toNanos());
+                        }))
+                .filter(valid -> !valid)
+                .next()
+                .doOnNext(lost -> {
+                    leaseLost.set(true);
+                    LoggingUtil.warn(logger, "调度租约已丢失，中止任务: {}，防护令牌: {}", lease.key(), lease.fencingToken());
+                    MonitoringLogUtil.logSystemAlert("SCHEDULER_LEASE_LOST", "WARN",
+                            "调度租约已丢失，任务已中止: " + lease.key(), null);
+                })
+                .then();
+    }
+
+    private Mono<Void> release(JobLease lease) {
+        return leaseStore.release(lease)
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .doOnNext(released -> {
+                    if (!released) {
+                        LoggingUtil.debug(logger, "调度租约已不属于本节点，无需释放: {}", lease.key());
+                    }
+                })
+                .onErrorResume(error -> {
+                    // 释放失败时租约到期后自动失效
+                    LoggingUtil.warn(logger, "释放调度租约失败: {}，原因: {}", lease.key(), error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    // ==================== 心跳 ====================
+
+    /**
+     * 登记节点心跳，同时刷新存活节点列表和时钟偏差
+     */
+    @Scheduled(fixedDelayString = "${honyrun.scheduler.coordination.heartbeat-interval:10000}")
+    public void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        long before = System.currentTimeMillis();
+        leaseStore.heartbeat(nodeId, Duration.ofMillis(nodeTtlMillis))
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .subscribe(membership -> {
+                    long after = System.currentTimeMillis();
+                    clockOffsetMillis.set((before + after) / 2 - membership.storeTimeMillis());
+                    updateMembership(membership);
+                }, error -> LoggingUtil.warn(logger, "调度节点心跳失败，原因: {}", error.getMessage()));
+    }
+
+    private void updateMembership(JobLeaseStore.Membership membership) {
+        List<String> previous = liveNodes;
+        liveNodes = List.copyOf(membership.nodes());
+        if (!previous.equals(liveNodes)) {
+            LoggingUtil.info(logger, "调度集群成员变化: {} -> {}", previous, liveNodes);
+        }
+    }
+
+    // ==================== 运行历史 ====================
+
+    private void record(JobRunRecord runRecord) {
+        meterRegistry.counter("honyrun.scheduler.job.runs",
+                "job", runRecord.jobName(), "status", runRecord.status().name()).increment();
+        lastRuns.put(runRecord.jobName(), runRecord);
+        synchronized (history) {
+            history.addLast(runRecord);
+            while (history.size() > Math.max(1, historySize)) {
+                history.removeFirst();
+            }
+        }
+    }
+
+    /**
+     * 获取运行历史，最新的记录在前
+     *
+     * @param jobName 任务名，为null时返回全部任务
+     * @return 运行历史
+     */
+    public List<JobRunRecord> getHistory(String jobName) {
+        List<JobRunRecord> result = new ArrayList<>();
+        synchronized (history) {
+            history.descendingIterator().forEachRemaining(runRecord -> {
+                if (jobName == null || jobName.equals(runRecord.jobName())) {
+                    result.add(runRecord);
+                }
+            });
+        }
+        return result;
+    }
+
+    /**
+     * 获取协调状态
+     *
+     * @return 节点ID、存活节点、时钟偏差和各任务最近一次运行记录
+     */
+    public Map<String, Object> getCoordinationStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("nodeId", nodeId);
+        status.put("leaseStore", leaseStore.getClass().getSimpleName());
+        status.put("leaseTimeMillis", leaseTimeMillis);
+        status.put("liveNodes", liveNodes);
+        status.put("clockOffsetMillis", clockOffsetMillis.get());
+        Map<String, Object> jobs = new LinkedHashMap<>();
+        lastRuns.values().stream()
+                .sorted((left, right) -> left.jobName().compareTo(right.jobName()))
+                .forEach(runRecord -> jobs.put(runRecord.jobName(), runRecord.toMap()));
+        status.put("lastRuns", jobs);
+        return status;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return 最近一次心跳得到的存活节点
+     */
+    public List<String> getLiveNodes() {
+        return liveNodes;
+    }
+
+    /**
+     * @return 本节点时钟减去Redis时钟的偏差（毫秒）
+     */
+    public long getClockOffsetMillis() {
+        return clockOffsetMillis.get();
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown";
+        }
+        return host + ":" + ManagementFactory.getRuntimeMXBean().getPid();
+    }
+}
+
@@ -0,0 +1,94 @@
+package com.honyrun.scheduler.coordination;
+
+import com.honyrun.exception.reactive.LeaseLostException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 定时任务执行上下文
+ *
+ * 携带本次执行的防护令牌和分片信息。任务在产生不可重复的副作用（禁用用户、删除数据、发送通知）之前
+ * 调用verifyLease()，租约已被其他节点接管时以LeaseLostException结束，避免新旧持有者同时写入
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-01 09:00:00
+ * @modified 2025-11-01 09:00:00
+ * @version 1.0.0
+ */
+public final class JobExecutionContext {
+
+    private final String jobName;
+    private final String nodeId;
+    private final JobLease lease;
+    private final int shardIndex;
+    private final int shardCount;
+    private final JobLeaseStore leaseStore;
+
+    /**
+     * @param jobName    任务名
+     * @param nodeId     执行节点ID
+     * @param lease      本次执行持有的租约，未启用协调时为null
+     * @param shardIndex 分片序号
+     * @param shardCount 分片总数，单例任务为1
+     * @param leaseStore 租约存储，未启用协调时为null
+     */
+    JobExecutionContext(String jobName, String nodeId, JobLease lease, int shardIndex, int shardCount,
+                        JobLeaseStore leaseStore) {
+        this.jobName = jobName;
+        this.nodeId = nodeId;
+        this.lease = lease;
+        this.shardIndex = shardIndex;
+        this.shardCount = Math.max(1, shardCount);
+        this.leaseStore = leaseStore;
+    }
+
+    /**
+     * 校验租约仍然有效
+     *
+     * @return 有效时直接完成，已丢失时以LeaseLostException结束
+     */
+    public Mono<Void> verifyLease() {
+        if (lease == null || leaseStore == null) {
+            return Mono.empty();
+        }
+        return leaseStore.isValid(lease)
+                .flatMap(valid -> valid
+                        ? Mono.<Void>empty()
+                        : Mono.error(new LeaseLostException(lease.key(), lease.fencingToken())));
+    }
+
+    /**
+     * 判断分片项是否归本节点处理
+     *
+     * @param itemIndex 分片项序号
+     * @return 是否归本节点处理
+     */
+    public boolean ownsShard(int itemIndex) {
+        return Math.floorMod(itemIndex, shardCount) == shardIndex;
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * 防护令牌，未启用协调时为0
+     *
+     * @return 防护令牌
+     */
+    public long getFencingToken() {
+        return lease != null ? lease.fencingToken() : 0L;
+    }
+
+    public int getShardIndex() {
+        return shardIndex;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+}
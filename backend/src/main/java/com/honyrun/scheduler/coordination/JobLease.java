@@ -0,0 +1,56 @@
+package com.honyrun.scheduler.coordination;
+
+/**
+ * 定时任务租约
+ *
+ * 租约在存储中以"节点ID|防护令牌|获取时间"的形式保存，续期、释放和防护校验都按完整值比较，
+ * 因此租约过期后被其他节点重新获取时，原持有者的后续操作一律失效
+ *
+ * @param key              租约键（任务名，分片任务为"任务名:shard:分片序号"）
+ * @param nodeId           持有节点ID
+ * @param fencingToken     防护令牌，同一租约键每次被获取时单调递增
+ * @param acquiredAtMillis 获取时间（存储端时钟，毫秒）
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-01 09:00:00
+ * @modified 2025-11-01 09:00:00
+ * @version 1.0.0
+ */
+public record JobLease(String key, String nodeId, long fencingToken, long acquiredAtMillis) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * 编码为存储值
+     *
+     * @return 存储值
+     */
+    public String encode() {
+        return nodeId + SEPARATOR + fencingToken + SEPARATOR + acquiredAtMillis;
+    }
+
+    /**
+     * 从存储值解析租约，节点ID中允许出现分隔符
+     *
+     * @param key   租约键
+     * @param value 存储值
+     * @return 租约，格式不正确时返回null
+     */
+    public static JobLease decode(String key, String value) {
+        if (value == null) {
+            return null;
+        }
+        int last = value.lastIndexOf(SEPARATOR);
+        int middle = last > 0 ? value.lastIndexOf(SEPARATOR, last - 1) : -1;
+        if (middle <= 0) {
+            return null;
+        }
+        try {
+            return new JobLease(key, value.substring(0, middle),
+                    Long.parseLong(value.substring(middle + 1, last)),
+                    Long.parseLong(value.substring(last + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.honyrun.scheduler.coordination;
+
+import java.time.Duration;
+import java.util.List;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 定时任务租约存储
+ *
+ * 提供租约的原子获取、续期、释放和防护校验，以及集群节点心跳登记。
+ * 所有时间均取存储端时钟，避免各节点本地时钟偏差影响租约判断
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-01 09:00:00
+ * @modified 2025-11-01 09:00:00
+ * @version 1.0.0
+ */
+public interface JobLeaseStore {
+
+    /**
+     * 租约获取结果
+     *
+     * @param acquired 是否获取成功
+     * @param lease    获取成功时为本节点租约，失败时为当前持有者的租约（无法解析时为null）
+     */
+    record Acquisition(boolean acquired, JobLease lease) {
+    }
+
+    /**
+     * 集群成员快照
+     *
+     * @param storeTimeMillis 存储端当前时间（毫秒）
+     * @param nodes           存活节点ID，按字典序排列
+     */
+    record Membership(long storeTimeMillis, List<String> nodes) {
+    }
+
+    /**
+     * 尝试获取租约，租约不存在时递增防护令牌并写入带过期时间的租约
+     *
+     * @param key       租约键
+     * @param nodeId    节点ID
+     * @param leaseTime 租约时长
+     * @return 获取结果
+     */
+    Mono<Acquisition> tryAcquire(String key, String nodeId, Duration leaseTime);
+
+    /**
+     * 续期租约，仅当存储中的租约仍是传入的租约时生效
+     *
+     * @param lease     租约
+     * @param leaseTime 续期后的租约时长
+     * @return 是否续期成功
+     */
+    Mono<Boolean> renew(JobLease lease, Duration leaseTime);
+
+    /**
+     * 释放租约，仅当存储中的租约仍是传入的租约时删除
+     *
+     * @param lease 租约
+     * @return 是否释放成功
+     */
+    Mono<Boolean> release(JobLease lease);
+
+    /**
+     * 防护校验：租约仍由本节点持有且防护令牌是该租约键的最新令牌
+     *
+     * @param lease 租约
+     * @return 是否有效
+     */
+    Mono<Boolean> isValid(JobLease lease);
+
+    /**
+     * 登记节点心跳并清理超过存活时间未心跳的节点
+     *
+     * @param nodeId  节点ID
+     * @param nodeTtl 节点存活时间
+     * @return 集群成员快照
+     */
+    Mono<Membership> heartbeat(String nodeId, Duration nodeTtl);
+
+    /**
+     * 节点下线，立即从集群成员中移除
+     *
+     * @param nodeId 节点ID
+     * @return 完成信号
+     */
+    Mono<Void> leave(String nodeId);
+}
@@ -0,0 +1,67 @@
+package com.honyrun.scheduler.coordination;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 定时任务运行记录
+ *
+ * @param jobName          任务名
+ * @param nodeId           本节点ID
+ * @param status           运行状态
+ * @param fencingToken     防护令牌，跳过时为当前持有者的令牌
+ * @param holderNodeId     跳过时为当前持有节点ID，其他情况为本节点ID
+ * @param shardIndex       分片序号
+ * @param shardCount       分片总数
+ * @param triggeredAt      触发时间
+ * @param durationMillis   执行耗时（毫秒），跳过时为0
+ * @param triggerSkewMillis 与持有者获取租约的时间差（毫秒），仅跳过时有值，否则为-1
+ * @param message          附加信息
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-01 09:00:00
+ * @modified 2025-11-01 09:00:00
+ * @version 1.0.0
+ */
+public record JobRunRecord(String jobName, String nodeId, Status status, long fencingToken, String holderNodeId,
+                           int shardIndex, int shardCount, LocalDateTime triggeredAt, long durationMillis,
+                           long triggerSkewMillis, String message) {
+
+    /**
+     * 运行状态
+     */
+    public enum Status {
+        /**
+         * 执行成功
+         */
+        SUCCEEDED,
+        /**
+         * 执行失败
+         */
+        FAILED,
+        /**
+         * 执行期间租约丢失，任务被中止
+         */
+        LEASE_LOST,
+        /**
+         * 租约由其他节点持有或存储不可用，本节点跳过
+         */
+        SKIPPED
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("jobName", jobName);
+        result.put("nodeId", nodeId);
+        result.put("status", status.name());
+        result.put("fencingToken", fencingToken);
+        result.put("holderNodeId", holderNodeId);
+        result.put("shard", shardIndex + "/" + shardCount);
+        result.put("triggeredAt", triggeredAt.toString());
+        result.put("durationMillis", durationMillis);
+        result.put("triggerSkewMillis", triggerSkewMillis);
+        result.put("message", message);
+        return result;
+    }
+}
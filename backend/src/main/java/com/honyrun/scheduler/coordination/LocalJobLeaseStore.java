@@ -0,0 +1,140 @@
+package com.honyrun.scheduler.coordination;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 进程内定时任务租约存储
+ *
+ * 语义与RedisJobLeaseStore一致，用于单节点部署或没有Redis的开发环境。
+ * 多个协调器共享同一个实例时即可在单进程内模拟多节点的租约竞争、过期接管和分片分配
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-01 09:00:00
+ * @modified 2025-11-01 09:00:00
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "honyrun.scheduler.coordination.store", havingValue = "local")
+public class LocalJobLeaseStore implements JobLeaseStore {
+
+    private final LongSupplier clock;
+
+    // 以下状态均由this保护
+    private final Map<String, String> leases = new HashMap<>();
+    private final Map<String, Long> leaseExpiry = new HashMap<>();
+    private final Map<String, Long> fences = new HashMap<>();
+    private final Map<String, Long> nodes = new HashMap<>();
+
+    public LocalJobLeaseStore() {
+        this(System::currentTimeMillis);
+    }
+
+    /**
+     * @param clock 时间源（毫秒）
+     */
+    public LocalJobLeaseStore(LongSupplier clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Mono<Acquisition> tryAcquire(String key, String nodeId, Duration leaseTime) {
+        return Mono.fromSupplier(() -> {
+            synchronized (this) {
+                long now = clock.getAsLong();
+                String current = currentValue(key, now);
+                if (current != null) {
+                    return new Acquisition(false, JobLease.decode(key, current));
+                }
+                long token = fences.merge(key, 1L, Long::sum);
+                JobLease lease = new JobLease(key, nodeId, token, now);
+                leases.put(key, lease.encode());
+                leaseExpiry.put(key, now + leaseTime.toMillis());
+                return new Acquisition(true, lease);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Boolean> renew(JobLease lease, Duration leaseTime) {
+        return Mono.fromSupplier(() -> {
+            synchronized (this) {
+                long now = clock.getAsLong();
+                if (!lease.encode().equals(currentValue(lease.key(), now))) {
+                    return false;
+                }
+                leaseExpiry.put(lease.key(), now + leaseTime.toMillis());
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public Mono<Boolean> release(JobLease lease) {
+        return Mono.fromSupplier(() -> {
+            synchronized (this) {
+                if (!lease.encode().equals(currentValue(lease.key(), clock.getAsLong()))) {
+                    return false;
+                }
+                leases.remove(lease.key());
+                leaseExpiry.remove(lease.key());
+                return true;
+            }
+        });
+    }
+
+    @Override
+    public Mono<Boolean> isValid(JobLease lease) {
+        return Mono.fromSupplier(() -> {
+            synchronized (this) {
+                return lease.encode().equals(currentValue(lease.key(), clock.getAsLong()))
+                        && fences.getOrDefault(lease.key(), 0L) == lease.fencingToken();
+            }
+        });
+    }
+
+    @Override
+    public Mono<Membership> heartbeat(String nodeId, Duration nodeTtl) {
+        return Mono.fromSupplier(() -> {
+            synchronized (this) {
+                long now = clock.getAsLong();
+                nodes.put(nodeId, now);
+                nodes.values().removeIf(lastSeen -> lastSeen < now - nodeTtl.toMillis());
+                List<String> live = new ArrayList<>(nodes.keySet());
+                live.sort(null);
+                return new Membership(now, live);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> leave(String nodeId) {
+        return Mono.fromRunnable(() -> {
+            synchronized (this) {
+                nodes.remove(nodeId);
+            }
+        });
+    }
+
+    private String currentValue(String key, long now) {
+        Long expiry = leaseExpiry.get(key);
+        if (expiry == null) {
+            return null;
+        }
+        if (expiry <= now) {
+            leases.remove(key);
+            leaseExpiry.remove(key);
+            return null;
+        }
+        return leases.get(key);
+    }
+}
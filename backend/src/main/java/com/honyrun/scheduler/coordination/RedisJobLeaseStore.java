@@ -0,0 +1,156 @@
+package com.honyrun.scheduler.coordination;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 基于Redis的定时任务租约存储
+ *
+ * 键结构：
+ * - honyrun:scheduler:lease:{key} 租约值"节点ID|防护令牌|获取时间"，带PX过期时间
+ * - honyrun:scheduler:fence:{key} 防护令牌计数器，不过期，保证令牌跨租约单调递增
+ * - honyrun:scheduler:nodes 节点心跳ZSET，分值为最后心跳时间
+ *
+ * 所有读改写操作都在Lua脚本内完成，时间取Redis TIME，各节点时钟偏差不影响租约判断
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-01 09:00:00
+ * @modified 2025-11-01 09:00:00
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "honyrun.scheduler.coordination.store", havingValue = "redis", matchIfMissing = true)
+public class RedisJobLeaseStore implements JobLeaseStore {
+
+    private static final String LEASE_KEY_PREFIX = "honyrun:scheduler:lease:";
+    private static final String FENCE_KEY_PREFIX = "honyrun:scheduler:fence:";
+    private static final String NODES_KEY = "honyrun:scheduler:nodes";
+
+    // Lua脚本：租约不存在时递增防护令牌并写入租约，返回{是否获取, 租约值}
+    private static final String ACQUIRE_SCRIPT = "local current = redis.call('get', KEYS[1])\n" +
+            "if current then\n" +
+            "    return {'0', current}\n" +
+            "end\n" +
+            "local now = redis.call('time')\n" +
+            "local nowMillis = now[1] .. string.format('%03d', math.floor(tonumber(now[2]) / 1000))\n" +
+            "local token = redis.call('incr', KEYS[2])\n" +
+            "local value = ARGV[1] .. '|' .. token .. '|' .. nowMillis\n" +
+            "redis.call('set', KEYS[1], value, 'PX', ARGV[2])\n" +
+            "return {'1', value}";
+
+    // Lua脚本：租约值未变时续期
+    private static final String RENEW_SCRIPT = "if redis.call('get', KEYS[1]) == ARGV[1] then\n" +
+            "    return redis.call('pexpire', KEYS[1], ARGV[2])\n" +
+            "end\n" +
+            "return 0";
+
+    // Lua脚本：租约值未变时删除
+    private static final String RELEASE_SCRIPT = "if redis.call('get', KEYS[1]) == ARGV[1] then\n" +
+            "    return redis.call('del', KEYS[1])\n" +
+            "end\n" +
+            "return 0";
+
+    // Lua脚本：租约值未变且防护令牌为最新
+    private static final String VALIDATE_SCRIPT = "if redis.call('get', KEYS[1]) == ARGV[1] " +
+            "and redis.call('get', KEYS[2]) == ARGV[2] then\n" +
+            "    return 1\n" +
+            "end\n" +
+            "return 0";
+
+    // Lua脚本：登记心跳并清理过期节点，返回{当前时间, 节点...}
+    private static final String HEARTBEAT_SCRIPT = "local now = redis.call('time')\n" +
+            "local nowMillis = now[1] .. string.format('%03d', math.floor(tonumber(now[2]) / 1000))\n" +
+            "redis.call('zadd', KEYS[1], nowMillis, ARGV[1])\n" +
+            "redis.call('zremrangebyscore', KEYS[1], '-inf', '(' .. (tonumber(nowMillis) - tonumber(ARGV[2])))\n" +
+            "local nodes = redis.call('zrange', KEYS[1], 0, -1)\n" +
+            "table.insert(nodes, 1, nowMillis)\n" +
+            "return nodes";
+
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> acquireScript = RedisScript.of(ACQUIRE_SCRIPT, List.class);
+    private final RedisScript<Long> renewScript = RedisScript.of(RENEW_SCRIPT, Long.class);
+    private final RedisScript<Long> releaseScript = RedisScript.of(RELEASE_SCRIPT, Long.class);
+    private final RedisScript<Long> validateScript = RedisScript.of(VALIDATE_SCRIPT, Long.class);
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> heartbeatScript = RedisScript.of(HEARTBEAT_SCRIPT, List.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 构造函数注入
+     *
+     * @param redisTemplate 统一的响应式字符串Redis模板
+     */
+    public RedisJobLeaseStore(
+            @Qualifier("unifiedReactiveStringRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    @Override
+    public Mono<Acquisition> tryAcquire(String key, String nodeId, Duration leaseTime) {
+        return redisTemplate.execute(acquireScript, Arrays.asList(LEASE_KEY_PREFIX + key, FENCE_KEY_PREFIX + key),
+                        nodeId, String.valueOf(leaseTime.toMillis()))
+                .next()
+                .map(result -> new Acquisition("1".equals(String.valueOf(result.get(0))),
+                        JobLease.decode(key, String.valueOf(result.get(1)))));
+    }
+
+    @Override
+    public Mono<Boolean> renew(JobLease lease, Duration leaseTime) {
+        return redisTemplate.execute(renewScript, Collections.singletonList(LEASE_KEY_PREFIX + lease.key()),
+                        lease.encode(), String.valueOf(leaseTime.toMillis()))
+                .next()
+                .map(result -> result == 1L)
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Boolean> release(JobLease lease) {
+        return redisTemplate.execute(releaseScript, Collections.singletonList(LEASE_KEY_PREFIX + lease.key()),
+                        lease.encode())
+                .next()
+                .map(result -> result == 1L)
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Boolean> isValid(JobLease lease) {
+        return redisTemplate.execute(validateScript,
+                        Arrays.asList(LEASE_KEY_PREFIX + lease.key(), FENCE_KEY_PREFIX + lease.key()),
+                        lease.encode(), String.valueOf(lease.fencingToken()))
+                .next()
+                .map(result -> result == 1L)
+                .defaultIfEmpty(false);
+    }
+
+    @Override
+    public Mono<Membership> heartbeat(String nodeId, Duration nodeTtl) {
+        return redisTemplate.execute(heartbeatScript, Collections.singletonList(NODES_KEY),
+                        nodeId, String.valueOf(nodeTtl.toMillis()))
+                .next()
+                .map(result -> {
+                    List<String> nodes = new ArrayList<>(result.size());
+                    for (int i = 1; i < result.size(); i++) {
+                        nodes.add(String.valueOf(result.get(i)));
+                    }
+                    Collections.sort(nodes);
+                    return new Membership(Long.parseLong(String.valueOf(result.get(0))), nodes);
+                });
+    }
+
+    @Override
+    public Mono<Void> leave(String nodeId) {
+        return redisTemplate.opsForZSet().remove(NODES_KEY, nodeId).then();
+    }
+}
@@ -0,0 +1,433 @@
+package com.honyrun.scheduler.coordination;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.util.LoggingUtil;
+import com.honyrun.util.SnowflakeIdGenerator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 雪花算法机器ID租约管理器
+ *
+ * 集群中每个节点通过JobLeaseStore竞争"snowflake:worker:{节点ID}"租约，获得租约的节点ID
+ * （数据中心ID与机器ID合计10位，0-1023）才会写入SnowflakeIdGenerator，避免多个节点使用相同机器ID产生重复ID：
+ * - 启动时优先尝试本地文件记录的上次节点ID，其次是按MAC地址与主机名推导的节点ID，被占用时依次探测下一个
+ * - 每次获得或续期租约后，把"发起请求前的本地时间 + 租约时长"作为有效期告知SnowflakeIdGenerator，
+ *   生成器在有效期减去安全余量之后拒绝生成ID，因此续期持续失败时在租约过期前停止使用该节点ID
+ * - 按心跳间隔续期；续期被拒绝视为租约已被接管，立即撤销生成器的租约，再重新获取原节点ID，已被占用时切换到空闲节点ID
+ * - 节点ID全部被占用时不生成ID，由心跳继续获取租约
+ * - 配置了固定节点ID时不参与租约竞争
+ *
+ * 本地文件兜底：每次获得、续期租约后把"节点ID,有效期"写入node-id-file。租约存储不可用（启动时或续期持续失败）时，
+ * 只有文件记录的有效期已经过去，才沿用文件中的节点ID生成ID（FALLBACK），此时按该节点ID持有的上一份租约已在存储端过期，
+ * 遵守协议的节点（包括本机上一个进程）都已停止使用它；有效期未过时保持拒绝，由心跳重试。
+ * 兜底期间对node-id-file加进程级文件锁，同一主机上的其他进程无法同时兜底；存储恢复后心跳重新获取租约，
+ * 原节点ID已被其他节点占用时切换到空闲节点ID。
+ * 兜底的残余风险：本节点与存储之间网络分区而其他节点仍可访问存储时，其他节点可能在兜底期间获得同一节点ID，
+ * 重复窗口不超过一个心跳间隔加上分区持续时间；不能接受该风险时设置file-fallback=false，存储不可用期间拒绝生成ID
+ *
+ * 记录的指标：
+ * - honyrun.id.snowflake.node.id：当前使用的节点ID
+ * - honyrun.id.snowflake.lease.lost：租约丢失次数
+ * - honyrun.id.snowflake.lease.fallbacks：租约存储不可用时进入本地文件兜底的次数
+ * - honyrun.id.snowflake.lease.rejections：因租约未确认或即将过期而拒绝生成ID的次数
+ * - honyrun.id.snowflake.clock.backwards：检测到的时钟回拨次数
+ * - honyrun.id.snowflake.clock.waits：等待系统时钟追上逻辑时间的次数
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 20:00:00
+ * @modified 2025-11-03 20:00:00
+ * @version 1.0.0
+ */
+@Component
+public class SnowflakeWorkerIdLeaseManager {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnowflakeWorkerIdLeaseManager.class);
+
+    private static final String LEASE_KEY_PREFIX = "snowflake:worker:";
+
+    /**
+     * 节点ID来源
+     */
+    public enum Mode {
+        /** 使用配置的固定节点ID */
+        CONFIGURED,
+        /** 持有租约 */
+        LEASED,
+        /** 尚未获得租约或租约已丢失，拒绝生成ID直到获得租约 */
+        PENDING,
+        /** 租约存储不可用，沿用本地文件记录且有效期已过的节点ID */
+        FALLBACK
+    }
+
+    /**
+     * 本地文件记录的节点ID及其最后确认的租约有效期
+     */
+    private record NodeIdRecord(long nodeId, long leaseExpiresAtMillis) {
+    }
+
+    private final SnowflakeIdGenerator idGenerator;
+    private final JobLeaseStore leaseStore;
+    private final DistributedJobCoordinator jobCoordinator;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${honyrun.id.snowflake.node-id:-1}")
+    private long configuredNodeId;
+
+    @Value("${honyrun.id.snowflake.lease-time:60000}")
+    private long leaseTimeMillis;
+
+    @Value("${honyrun.id.snowflake.store-timeout:3000}")
+    private long storeTimeoutMillis;
+
+    @Value("${honyrun.id.snowflake.lease-safety-margin:5000}")
+    private long leaseSafetyMarginMillis;
+
+    @Value("${honyrun.id.snowflake.node-id-file:${java.io.tmpdir}/honyrun-snowflake-node-id}")
+    private String nodeIdFile;
+
+    @Value("${honyrun.id.snowflake.file-fallback:true}")
+    private boolean fileFallback;
+
+    @Value("${honyrun.id.snowflake.max-clock-drift:5}")
+    private long maxClockDriftMillis;
+
+    @Value("${honyrun.id.snowflake.max-clock-wait:1000}")
+    private long maxClockWaitMillis;
+
+    private volatile Mode mode;
+    private volatile JobLease lease;
+    private Counter leaseLostCounter;
+    private Counter fallbackCounter;
+
+    // 兜底期间持有的node-id-file锁，仅由心跳线程和启动线程访问
+    private FileChannel fallbackLockChannel;
+    private FileLock fallbackLock;
+
+    /**
+     * 构造函数注入
+     *
+     * @param idGenerator    雪花算法ID生成器
+     * @param leaseStore     租约存储
+     * @param jobCoordinator 分布式定时任务协调器，提供本节点标识
+     * @param meterRegistry  指标注册表
+     */
+    public SnowflakeWorkerIdLeaseManager(SnowflakeIdGenerator idGenerator, JobLeaseStore leaseStore,
+            DistributedJobCoordinator jobCoordinator, MeterRegistry meterRegistry) {
+        this.idGenerator = idGenerator;
+        this.leaseStore = leaseStore;
+        this.jobCoordinator = jobCoordinator;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        idGenerator.configureClockTolerance(maxClockDriftMillis, maxClockWaitMillis);
+        Gauge.builder("honyrun.id.snowflake.node.id", idGenerator, SnowflakeIdGenerator::getNodeId)
+                .description("雪花算法当前使用的节点ID")
+                .register(meterRegistry);
+        FunctionCounter.builder("honyrun.id.snowflake.clock.backwards", idGenerator,
+                        SnowflakeIdGenerator::getClockBackwardsCount)
+                .description("雪花算法检测到的时钟回拨次数")
+                .register(meterRegistry);
+        FunctionCounter.builder("honyrun.id.snowflake.clock.waits", idGenerator,
+                        SnowflakeIdGenerator::getClockWaitCount)
+                .description("雪花算法等待系统时钟追上逻辑时间的次数")
+                .register(meterRegistry);
+        FunctionCounter.builder("honyrun.id.snowflake.lease.rejections", idGenerator,
+                        SnowflakeIdGenerator::getLeaseRejectedCount)
+                .description("雪花算法因节点ID租约未确认或即将过期而拒绝生成ID的次数")
+                .register(meterRegistry);
+        leaseLostCounter = Counter.builder("honyrun.id.snowflake.lease.lost")
+                .description("雪花算法机器ID租约丢失次数")
+                .register(meterRegistry);
+        fallbackCounter = Counter.builder("honyrun.id.snowflake.lease.fallbacks")
+                .description("雪花算法租约存储不可用时进入本地文件兜底的次数")
+                .register(meterRegistry);
+
+        if (configuredNodeId >= 0) {
+            idGenerator.assignNodeId(configuredNodeId);
+            mode = Mode.CONFIGURED;
+            LoggingUtil.info(logger, "雪花算法使用配置的固定节点ID: {}", configuredNodeId);
+            return;
+        }
+
+        idGenerator.configureLeaseSafetyMargin(leaseSafetyMarginMillis);
+        idGenerator.revokeLease();
+        mode = Mode.PENDING;
+        NodeIdRecord recorded = readRecordedNodeId();
+        long preferred = recorded != null ? recorded.nodeId() : idGenerator.getNodeId();
+        idGenerator.assignNodeId(preferred);
+        long requestedAt = System.currentTimeMillis();
+        try {
+            JobLease acquired = acquire(preferred).block(Duration.ofMillis(storeTimeoutMillis * 2));
+            if (acquired != null) {
+                onLeaseAcquired(acquired, requestedAt);
+                return;
+            }
+            LoggingUtil.error(logger, "全部{}个雪花算法节点ID均已被占用，获得租约前拒绝生成ID",
+                    SnowflakeIdGenerator.MAX_NODE_ID + 1);
+        } catch (Exception e) {
+            LoggingUtil.error(logger, "获取雪花算法节点ID租约失败，原因: {}", e.getMessage());
+            onStoreUnavailable(requestedAt);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        releaseFallbackLock();
+        JobLease current = lease;
+        if (current == null) {
+            return;
+        }
+        // 主动释放，其他节点无需等到租约过期即可使用该节点ID
+        leaseStore.release(current)
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .onErrorResume(error -> Mono.empty())
+                .block(Duration.ofMillis(storeTimeoutMillis * 2));
+    }
+
+    /**
+     * 续期租约；租约丢失或尚未持有租约时重新获取
+     */
+    @Scheduled(fixedDelayString = "${honyrun.id.snowflake.heartbeat-interval:20000}")
+    public void heartbeat() {
+        if (mode == null || mode == Mode.CONFIGURED) {
+            return;
+        }
+        JobLease current = lease;
+        // 有效期从发起请求前开始计算，不会晚于存储端的实际到期时间
+        long requestedAt = System.currentTimeMillis();
+        Mono<JobLease> renewal = current == null
+                ? acquire(idGenerator.getNodeId())
+                : leaseStore.renew(current, Duration.ofMillis(leaseTimeMillis))
+                        .flatMap(renewed -> {
+                            if (renewed) {
+                                return Mono.just(current);
+                            }
+                            // 租约已过期并可能被其他节点接管，立即停止使用原节点ID
+                            idGenerator.revokeLease();
+                            mode = Mode.PENDING;
+                            lease = null;
+                            leaseLostCounter.increment();
+                            LoggingUtil.warn(logger, "雪花算法节点ID租约已丢失，停止生成ID并重新获取: {}", current.key());
+                            return acquire(idGenerator.getNodeId());
+                        });
+        renewal.timeout(Duration.ofMillis(storeTimeoutMillis * 2))
+                .publishOn(Schedulers.boundedElastic())
+                .subscribe(acquired -> {
+                    if (acquired != current) {
+                        onLeaseAcquired(acquired, requestedAt);
+                    } else {
+                        idGenerator.confirmLease(requestedAt + leaseTimeMillis);
+                        writeRecordedNodeId(idGenerator.getNodeId(), requestedAt + leaseTimeMillis);
+                    }
+                }, error -> {
+                    LoggingUtil.warn(logger, "雪花算法节点ID租约续期失败，节点ID: {}，租约截止: {}，原因: {}",
+                            idGenerator.getNodeId(), idGenerator.getLeaseExpiresAtMillis(), error.getMessage());
+                    onStoreUnavailable(requestedAt);
+                });
+    }
+
+    /**
+     * 租约存储不可用时尝试本地文件兜底
+     *
+     * 已在兜底中则按心跳延长本地有效期；否则只有文件记录的有效期已过去、且能锁定记录文件时才进入兜底
+     */
+    private void onStoreUnavailable(long requestedAt) {
+        if (!fileFallback) {
+            return;
+        }
+        if (mode == Mode.FALLBACK) {
+            idGenerator.confirmLease(requestedAt + leaseTimeMillis);
+            writeRecordedNodeId(idGenerator.getNodeId(), requestedAt + leaseTimeMillis);
+            return;
+        }
+        JobLease current = lease;
+        if (current != null && requestedAt < idGenerator.getLeaseExpiresAtMillis()) {
+            // 仍持有未过期的租约，继续由心跳续期
+            return;
+        }
+        NodeIdRecord recorded = readRecordedNodeId();
+        if (recorded == null) {
+            LoggingUtil.warn(logger, "租约存储不可用且没有本地节点ID记录，获得租约前拒绝生成ID");
+            return;
+        }
+        if (requestedAt < recorded.leaseExpiresAtMillis()) {
+            LoggingUtil.warn(logger, "租约存储不可用，本地记录的节点ID {} 的租约在 {} 之前仍可能有效，暂不沿用",
+                    recorded.nodeId(), recorded.leaseExpiresAtMillis());
+            return;
+        }
+        if (!acquireFallbackLock()) {
+            LoggingUtil.warn(logger, "租约存储不可用，节点ID记录文件已被本机其他进程锁定，获得租约前拒绝生成ID");
+            return;
+        }
+        lease = null;
+        mode = Mode.FALLBACK;
+        idGenerator.revokeLease();
+        idGenerator.assignNodeId(recorded.nodeId());
+        idGenerator.confirmLease(requestedAt + leaseTimeMillis);
+        writeRecordedNodeId(recorded.nodeId(), requestedAt + leaseTimeMillis);
+        fallbackCounter.increment();
+        LoggingUtil.warn(logger, "租约存储不可用，沿用本地记录且租约已过期的节点ID: {}", recorded.nodeId());
+    }
+
+    /**
+     * 从preferred开始依次探测，获取第一个空闲节点ID的租约
+     *
+     * 租约持有者就是本节点（例如同名节点重启）时直接沿用
+     */
+    private Mono<JobLease> acquire(long preferred) {
+        String nodeName = jobCoordinator.getNodeId();
+        Duration leaseTime = Duration.ofMillis(leaseTimeMillis);
+        long nodeIdCount = SnowflakeIdGenerator.MAX_NODE_ID + 1;
+        return Flux.range(0, (int) nodeIdCount)
+                .map(offset -> (preferred + offset) % nodeIdCount)
+                .concatMap(candidate -> leaseStore.tryAcquire(LEASE_KEY_PREFIX + candidate, nodeName, leaseTime)
+                        .filter(acquisition -> acquisition.acquired()
+                                || (acquisition.lease() != null && nodeName.equals(acquisition.lease().nodeId())))
+                        .map(JobLeaseStore.Acquisition::lease))
+                .next();
+    }
+
+    private void onLeaseAcquired(JobLease acquired, long requestedAt) {
+        long nodeId = Long.parseLong(acquired.key().substring(LEASE_KEY_PREFIX.length()));
+        lease = acquired;
+        mode = Mode.LEASED;
+        // 先切换节点ID再确认有效期，切换期间生成器仍处于撤销状态
+        idGenerator.revokeLease();
+        idGenerator.assignNodeId(nodeId);
+        idGenerator.confirmLease(requestedAt + leaseTimeMillis);
+        writeRecordedNodeId(nodeId, requestedAt + leaseTimeMillis);
+        releaseFallbackLock();
+        LoggingUtil.info(logger, "获得雪花算法节点ID租约: {}，防护令牌: {}", nodeId, acquired.fencingToken());
+    }
+
+    /**
+     * 读取本地节点ID记录，格式为"节点ID,有效期毫秒"；旧格式只有节点ID，有效期视为未知（不可兜底）
+     */
+    private NodeIdRecord readRecordedNodeId() {
+        Path path = Paths.get(nodeIdFile);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        try {
+            String[] parts = Files.readString(path, StandardCharsets.UTF_8).trim().split(",");
+            long nodeId = Long.parseLong(parts[0].trim());
+            long expiresAt = parts.length > 1 ? Long.parseLong(parts[1].trim()) : Long.MAX_VALUE;
+            return nodeId >= 0 && nodeId <= SnowflakeIdGenerator.MAX_NODE_ID ? new NodeIdRecord(nodeId, expiresAt) : null;
+        } catch (IOException | NumberFormatException e) {
+            LoggingUtil.warn(logger, "读取雪花算法节点ID记录失败: {}，原因: {}", path, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeRecordedNodeId(long nodeId, long leaseExpiresAtMillis) {
+        Path path = Paths.get(nodeIdFile);
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Files.writeString(path, nodeId + "," + leaseExpiresAtMillis, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            LoggingUtil.warn(logger, "写入雪花算法节点ID记录失败: {}，原因: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * 锁定"node-id-file.lock"，同一主机上共享记录文件的进程只有一个能进入兜底
+     */
+    private boolean acquireFallbackLock() {
+        if (fallbackLock != null) {
+            return true;
+        }
+        Path lockPath = Paths.get(nodeIdFile + ".lock");
+        FileChannel channel = null;
+        try {
+            Path parent = lockPath.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(lockPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            // 同一JVM内已持有该锁时抛出OverlappingFileLockException，同样视为被占用
+            FileLock acquired = channel.tryLock();
+            if (acquired != null) {
+                fallbackLockChannel = channel;
+                fallbackLock = acquired;
+                return true;
+            }
+        } catch (IOException | OverlappingFileLockException e) {
+            LoggingUtil.warn(logger, "锁定雪花算法节点ID记录失败: {}，原因: {}", lockPath, e.getMessage());
+        }
+        closeQuietly(channel);
+        return false;
+    }
+
+    private void releaseFallbackLock() {
+        FileChannel channel = fallbackLockChannel;
+        fallbackLock = null;
+        fallbackLockChannel = null;
+        // 关闭通道同时释放锁
+        closeQuietly(channel);
+    }
+
+    private static void closeQuietly(FileChannel channel) {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            LoggingUtil.warn(logger, "关闭雪花算法节点ID记录锁文件失败，原因: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 获取节点ID分配状态
+     *
+     * @return 节点ID、来源、租约和时钟统计
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        JobLease current = lease;
+        status.put("mode", mode);
+        status.put("nodeId", idGenerator.getNodeId());
+        status.put("datacenterId", idGenerator.getDatacenterIdValue());
+        status.put("workerId", idGenerator.getWorkerIdValue());
+        status.put("leaseKey", current != null ? current.key() : null);
+        status.put("fencingToken", current != null ? current.fencingToken() : null);
+        status.put("leaseExpiresAt", current != null || mode == Mode.FALLBACK ? idGenerator.getLeaseExpiresAtMillis() : null);
+        status.put("leaseRejections", idGenerator.getLeaseRejectedCount());
+        status.put("clockBackwards", idGenerator.getClockBackwardsCount());
+        status.put("clockWaits", idGenerator.getClockWaitCount());
+        return status;
+    }
+}
@@ -0,0 +1,89 @@
+package com.honyrun.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.honyrun.util.LoggingUtil;
+
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 事件循环阻塞检测密码编码器包装器
+ *
+ * 在Reactor非阻塞线程（Netty事件循环、parallel调度器）上执行编码或匹配时按模式处理：
+ * - OFF：不检测
+ * - WARN：记录告警并计数，继续执行
+ * - FAIL：抛出IllegalStateException，测试环境开启后可直接暴露绕过{@link PasswordHashingService}的调用
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 14:00:00
+ * @modified 2025-11-03 14:00:00
+ * @version 1.0.0
+ */
+public class EventLoopGuardingPasswordEncoder implements PasswordEncoder {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLoopGuardingPasswordEncoder.class);
+
+    /**
+     * 检测模式
+     */
+    public enum Mode {
+        OFF, WARN, FAIL
+    }
+
+    private final PasswordEncoder delegate;
+    private final Mode mode;
+    private final AtomicLong violations = new AtomicLong();
+
+    /**
+     * 构造函数
+     *
+     * @param delegate 实际的密码编码器
+     * @param mode     检测模式
+     */
+    public EventLoopGuardingPasswordEncoder(PasswordEncoder delegate, Mode mode) {
+        this.delegate = delegate;
+        this.mode = mode;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        guard("encode");
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        guard("matches");
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * 获取在非阻塞线程上发生的密码哈希次数
+     *
+     * @return 违规次数
+     */
+    public long getViolationCount() {
+        return violations.get();
+    }
+
+    private void guard(String operation) {
+        if (mode == Mode.OFF || !Schedulers.isInNonBlockingThread()) {
+            return;
+        }
+        violations.incrementAndGet();
+        String threadName = Thread.currentThread().getName();
+        if (mode == Mode.FAIL) {
+            throw new IllegalStateException("禁止在非阻塞线程上执行密码哈希: operation=" + operation + ", thread=" + threadName);
+        }
+        LoggingUtil.warn(logger, "在非阻塞线程上执行密码哈希，将阻塞事件循环: operation={}, thread={}", operation, threadName);
+    }
+}
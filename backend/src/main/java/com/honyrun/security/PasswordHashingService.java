@@ -0,0 +1,220 @@
+package com.honyrun.security;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.exception.ErrorCode;
+import com.honyrun.exception.RateLimitException;
+import com.honyrun.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 密码哈希服务
+ *
+ * BCrypt属于CPU密集型计算，单次耗时在百毫秒量级，不能在Netty事件循环线程上执行。
+ * 本服务将所有密码编码与匹配提交到专用线程池：
+ * - 线程数默认等于CPU核数，队列有界，队列满时立即以RateLimitException拒绝，登录洪峰下快速失败而不是堆积
+ * - 排队超过最大等待时间的任务直接拒绝，调用方已取消的任务不再计算
+ * - 密码历史检查以受限并行度匹配多条历史哈希，命中即取消其余匹配，并受单次请求时间预算约束
+ * - needsUpgrade判断已存储哈希是否低于当前编码配置（如BCrypt成本因子调整），供登录时透明重新哈希
+ *
+ * 指标：honyrun.password.hashing.duration（按操作与结果）、honyrun.password.hashing.queue.wait、
+ * honyrun.password.hashing.rejected（按原因）、honyrun.password.hashing.queue.size、honyrun.password.hashing.active
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 14:00:00
+ * @modified 2025-11-03 14:00:00
+ * @version 1.0.0
+ */
+@Component
+public class PasswordHashingService implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final String METRIC_PREFIX = "honyrun.password.hashing";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final MeterRegistry meterRegistry;
+    private final Timer queueWaitTimer;
+    private final long maxQueueWaitMillis;
+    private final int historyParallelism;
+    private final Duration historyBudget;
+
+    /**
+     * 构造函数注入
+     *
+     * @param passwordEncoder       密码编码器
+     * @param meterRegistry         指标注册表
+     * @param threads               哈希线程数，小于等于0时取CPU核数
+     * @param queueCapacity         等待队列容量
+     * @param maxQueueWaitMillis    最大排队时间（毫秒）
+     * @param historyParallelism    密码历史检查并行度
+     * @param historyBudgetMillis   密码历史检查时间预算（毫秒）
+     */
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${honyrun.security.password.hashing.threads:0}") int threads,
+                                  @Value("${honyrun.security.password.hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${honyrun.security.password.hashing.max-queue-wait:2000}") long maxQueueWaitMillis,
+                                  @Value("${honyrun.security.password.hashing.history-parallelism:4}") int historyParallelism,
+                                  @Value("${honyrun.security.password.hashing.history-budget:3000}") long historyBudgetMillis) {
+        this.passwordEncoder = passwordEncoder;
+        this.meterRegistry = meterRegistry;
+        this.maxQueueWaitMillis = maxQueueWaitMillis;
+        this.historyParallelism = Math.max(1, historyParallelism);
+        this.historyBudget = Duration.ofMillis(historyBudgetMillis);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+
+        this.queueWaitTimer = Timer.builder(METRIC_PREFIX + ".queue.wait")
+                .description("密码哈希任务排队时间")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue.size", executor, pool -> pool.getQueue().size())
+                .description("密码哈希等待队列长度")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("正在执行的密码哈希任务数")
+                .register(meterRegistry);
+
+        LoggingUtil.info(logger, "密码哈希线程池已创建: threads={}, queueCapacity={}, maxQueueWait={}ms",
+                poolSize, queueCapacity, maxQueueWaitMillis);
+    }
+
+    /**
+     * 在哈希线程池中校验密码
+     *
+     * @param rawPassword     明文密码
+     * @param encodedPassword 已编码密码
+     * @return 是否匹配；线程池饱和时以RateLimitException结束
+     */
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return submit("matches", () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * 在哈希线程池中编码密码
+     *
+     * @param rawPassword 明文密码
+     * @return 编码后的密码；线程池饱和时以RateLimitException结束
+     */
+    public Mono<String> encode(CharSequence rawPassword) {
+        return submit("encode", () -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * 明文密码是否与任一已编码密码匹配
+     *
+     * 以受限并行度匹配，命中即取消其余匹配；超过时间预算时以TimeoutException结束
+     *
+     * @param rawPassword      明文密码
+     * @param encodedPasswords 已编码密码列表
+     * @return 是否匹配任一已编码密码
+     */
+    public Mono<Boolean> matchesAny(CharSequence rawPassword, List<String> encodedPasswords) {
+        if (encodedPasswords.isEmpty()) {
+            return Mono.just(false);
+        }
+        return Flux.fromIterable(encodedPasswords)
+                .flatMap(encoded -> matches(rawPassword, encoded), historyParallelism)
+                .any(Boolean::booleanValue)
+                .timeout(historyBudget, Mono.error(() -> new TimeoutException(
+                        "密码历史检查超出时间预算: " + historyBudget.toMillis() + "ms")));
+    }
+
+    /**
+     * 已存储的密码哈希是否需要按当前编码配置重新哈希
+     *
+     * @param encodedPassword 已编码密码
+     * @return 需要升级返回true
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return encodedPassword != null && passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    private <T> Mono<T> submit(String operation, Callable<T> task) {
+        return Mono.create(sink -> {
+            long enqueuedAt = System.nanoTime();
+            Future<?> future;
+            try {
+                future = executor.submit(() -> {
+                    long waitedNanos = System.nanoTime() - enqueuedAt;
+                    queueWaitTimer.record(waitedNanos, TimeUnit.NANOSECONDS);
+                    if (TimeUnit.NANOSECONDS.toMillis(waitedNanos) > maxQueueWaitMillis) {
+                        sink.error(reject(operation, "queue-wait"));
+                        return;
+                    }
+                    Timer.Sample sample = Timer.start(meterRegistry);
+                    try {
+                        T result = task.call();
+                        sample.stop(durationTimer(operation, "success"));
+                        sink.success(result);
+                    } catch (Exception e) {
+                        sample.stop(durationTimer(operation, "error"));
+                        sink.error(e);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                sink.error(reject(operation, "queue-full"));
+                return;
+            }
+            // 调用方取消时（如历史检查已命中或超出预算），尚未开始的任务不再计算
+            sink.onCancel(() -> future.cancel(false));
+        });
+    }
+
+    private Timer durationTimer(String operation, String outcome) {
+        return Timer.builder(METRIC_PREFIX + ".duration")
+                .description("密码哈希计算耗时")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private RateLimitException reject(String operation, String reason) {
+        Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("被拒绝的密码哈希任务数")
+                .tag("operation", operation)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+        LoggingUtil.warn(logger, "密码哈希线程池繁忙，拒绝任务: operation={}, reason={}", operation, reason);
+        return new RateLimitException(ErrorCode.CONCURRENT_LIMIT_EXCEEDED, "认证服务繁忙，请稍后重试");
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,351 @@
+package com.honyrun.security.response;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.util.common.JsonUtil;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 预编码的拒绝响应模板
+ *
+ * 限流、IP拦截、参数校验、认证失败等拒绝路径在被攻击时会成为热点路径，每次拒绝都构造ApiResponse再序列化
+ * 会产生大量临时对象。模板在创建时用JsonUtil把一个原型ApiResponse序列化一次，原型中的动态字段
+ * （traceId、path、message等）填入占位符，timestamp固定为占位时间，序列化结果按占位符切分为只读的UTF-8字节片段。
+ * 写出时依次复制静态片段，并把动态值按JSON字符串规则转义后直接编码进响应缓冲区，不再经过ObjectMapper和中间字符串。
+ * 响应结构（字段顺序、error对象、details嵌入）与原型序列化结果完全一致
+ *
+ * timestamp按毫秒精度写出，格式与JavaTimeModule的LocalDateTime输出相同（ISO_LOCAL_DATE_TIME），
+ * 日期时间前缀每秒只计算一次
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 18:00:00
+ * @modified 2025-11-05 18:00:00
+ * @version 1.0.0
+ */
+public final class RejectionResponseTemplate {
+
+    /**
+     * 动态字段
+     */
+    public enum Slot {
+        TIMESTAMP, TRACE_ID, PATH, METHOD, MESSAGE, EXCEPTION, STACK_TRACE
+    }
+
+    private static final LocalDateTime TIMESTAMP_PLACEHOLDER = LocalDateTime.of(1970, 1, 2, 3, 4, 5, 678_901_234);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private static volatile SecondPrefix secondPrefix = new SecondPrefix(Long.MIN_VALUE, new byte[0]);
+
+    private final byte[][] segments;
+    private final Slot[] slots;
+    private final int staticLength;
+
+    private RejectionResponseTemplate(byte[][] segments, Slot[] slots) {
+        this.segments = segments;
+        this.slots = slots;
+        int length = 0;
+        for (byte[] segment : segments) {
+            length += segment.length;
+        }
+        this.staticLength = length;
+    }
+
+    /**
+     * 动态字段在原型中的占位值，原型中填入该值的字符串字段在写出时被替换
+     *
+     * @param slot 动态字段
+     * @return 占位值
+     */
+    public static String placeholder(Slot slot) {
+        return "\u0000honyrun-slot:" + slot.name() + "\u0000";
+    }
+
+    /**
+     * 编译模板：原型的timestamp总是替换为写出时间，其余动态字段需要在原型中填入placeholder
+     *
+     * @param prototype 原型响应，编译后不再使用
+     * @return 模板
+     */
+    public static RejectionResponseTemplate compile(ApiResponse<?> prototype) {
+        prototype.setTimestamp(TIMESTAMP_PLACEHOLDER);
+        byte[] json = JsonUtil.toJsonBytes(prototype);
+        if (json == null) {
+            throw new IllegalStateException("拒绝响应原型序列化失败: code=" + prototype.getCode());
+        }
+
+        Map<Slot, byte[]> tokens = new EnumMap<>(Slot.class);
+        tokens.put(Slot.TIMESTAMP, token(TIMESTAMP_PLACEHOLDER));
+        for (Slot slot : Slot.values()) {
+            if (slot != Slot.TIMESTAMP) {
+                tokens.put(slot, token(placeholder(slot)));
+            }
+        }
+
+        List<byte[]> segments = new ArrayList<>();
+        List<Slot> slots = new ArrayList<>();
+        int start = 0;
+        int position = 0;
+        while (position < json.length) {
+            Slot matched = null;
+            for (Map.Entry<Slot, byte[]> entry : tokens.entrySet()) {
+                if (matches(json, position, entry.getValue())) {
+                    matched = entry.getKey();
+                    break;
+                }
+            }
+            if (matched == null) {
+                position++;
+                continue;
+            }
+            segments.add(Arrays.copyOfRange(json, start, position));
+            slots.add(matched);
+            position += tokens.get(matched).length;
+            start = position;
+        }
+        segments.add(Arrays.copyOfRange(json, start, json.length));
+        return new RejectionResponseTemplate(segments.toArray(new byte[0][]), slots.toArray(new Slot[0]));
+    }
+
+    /**
+     * 模板是否包含指定的动态字段
+     *
+     * @param slot 动态字段
+     * @return 是否包含
+     */
+    public boolean contains(Slot slot) {
+        for (Slot candidate : slots) {
+            if (candidate == slot) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 写出响应体，状态码和响应头由调用方设置
+     *
+     * @param response 响应
+     * @param values   动态字段的值
+     * @return 写出结果
+     */
+    public Mono<Void> writeTo(ServerHttpResponse response, Values values) {
+        return response.writeWith(Mono.just(render(response.bufferFactory(), values)));
+    }
+
+    /**
+     * 渲染响应体
+     *
+     * @param bufferFactory 缓冲区工厂，Netty服务器下为池化分配
+     * @param values        动态字段的值
+     * @return 响应体缓冲区，由写出方释放
+     */
+    public DataBuffer render(DataBufferFactory bufferFactory, Values values) {
+        DataBuffer buffer = bufferFactory.allocateBuffer(estimateCapacity(values));
+        boolean rendered = false;
+        try {
+            for (int i = 0; i < slots.length; i++) {
+                buffer.write(segments[i]);
+                if (slots[i] == Slot.TIMESTAMP) {
+                    writeTimestamp(buffer, System.currentTimeMillis());
+                } else {
+                    writeEscaped(buffer, values.get(slots[i]));
+                }
+            }
+            buffer.write(segments[slots.length]);
+            rendered = true;
+            return buffer;
+        } finally {
+            if (!rendered) {
+                DataBufferUtils.release(buffer);
+            }
+        }
+    }
+
+    /**
+     * 渲染为字符串，用于日志和校验，不在热点路径上使用
+     *
+     * @param bufferFactory 缓冲区工厂
+     * @param values        动态字段的值
+     * @return 响应体文本
+     */
+    public String renderToString(DataBufferFactory bufferFactory, Values values) {
+        DataBuffer buffer = render(bufferFactory, values);
+        try {
+            return buffer.toString(StandardCharsets.UTF_8);
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private int estimateCapacity(Values values) {
+        int capacity = staticLength;
+        for (Slot slot : slots) {
+            if (slot == Slot.TIMESTAMP) {
+                capacity += 23;
+            } else {
+                String value = values.get(slot);
+                capacity += value == null ? 0 : value.length() * 3;
+            }
+        }
+        return capacity;
+    }
+
+    private static byte[] token(Object placeholderValue) {
+        String json = JsonUtil.toJson(placeholderValue);
+        if (json == null || json.length() < 2 || json.charAt(0) != '"') {
+            throw new IllegalStateException("占位值序列化结果不是JSON字符串: " + json);
+        }
+        return json.substring(1, json.length() - 1).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean matches(byte[] json, int position, byte[] token) {
+        if (position + token.length > json.length) {
+            return false;
+        }
+        for (int i = 0; i < token.length; i++) {
+            if (json[position + i] != token[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 写出 yyyy-MM-ddTHH:mm:ss.SSS，秒级前缀缓存复用
+     */
+    static void writeTimestamp(DataBuffer buffer, long epochMillis) {
+        long epochSecond = Math.floorDiv(epochMillis, 1000L);
+        SecondPrefix prefix = secondPrefix;
+        if (prefix.epochSecond() != epochSecond) {
+            ZoneOffset offset = ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochSecond(epochSecond));
+            prefix = new SecondPrefix(epochSecond,
+                    LocalDateTime.ofEpochSecond(epochSecond, 0, offset).toString().getBytes(StandardCharsets.US_ASCII));
+            secondPrefix = prefix;
+        }
+        int millis = (int) Math.floorMod(epochMillis, 1000L);
+        buffer.write(prefix.bytes());
+        if (prefix.bytes().length == 16) {
+            // LocalDateTime.toString在秒为0时省略秒
+            buffer.write((byte) ':');
+            buffer.write((byte) '0');
+            buffer.write((byte) '0');
+        }
+        buffer.write((byte) '.');
+        buffer.write((byte) ('0' + millis / 100));
+        buffer.write((byte) ('0' + millis / 10 % 10));
+        buffer.write((byte) ('0' + millis % 10));
+    }
+
+    /**
+     * 按JSON字符串规则转义并以UTF-8写出，空值写为空字符串
+     */
+    static void writeEscaped(DataBuffer buffer, String value) {
+        if (value == null) {
+            return;
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    buffer.write((byte) '\\');
+                    buffer.write((byte) c);
+                } else if (c >= 0x20) {
+                    buffer.write((byte) c);
+                } else {
+                    writeControl(buffer, c);
+                }
+            } else if (c < 0x800) {
+                buffer.write((byte) (0xC0 | (c >> 6)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.write((byte) (0xF0 | (codePoint >> 18)));
+                buffer.write((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.write((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // 孤立代理项无法编码为合法UTF-8，按替换字符写出
+                buffer.write((byte) 0xEF);
+                buffer.write((byte) 0xBF);
+                buffer.write((byte) 0xBD);
+            } else {
+                buffer.write((byte) (0xE0 | (c >> 12)));
+                buffer.write((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.write((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+    private static void writeControl(DataBuffer buffer, char c) {
+        buffer.write((byte) '\\');
+        switch (c) {
+            case '\n' -> buffer.write((byte) 'n');
+            case '\r' -> buffer.write((byte) 'r');
+            case '\t' -> buffer.write((byte) 't');
+            case '\b' -> buffer.write((byte) 'b');
+            case '\f' -> buffer.write((byte) 'f');
+            default -> {
+                buffer.write((byte) 'u');
+                buffer.write((byte) '0');
+                buffer.write((byte) '0');
+                buffer.write(HEX[c >> 4]);
+                buffer.write(HEX[c & 0xF]);
+            }
+        }
+    }
+
+    private record SecondPrefix(long epochSecond, byte[] bytes) {
+    }
+
+    /**
+     * 一次拒绝的动态字段值，模板不包含的字段可以为空
+     *
+     * @param traceId    追踪ID
+     * @param path       请求路径
+     * @param method     请求方法
+     * @param message    错误消息
+     * @param exception  异常类型
+     * @param stackTrace 堆栈信息
+     */
+    public record Values(String traceId, String path, String method, String message, String exception,
+            String stackTrace) {
+
+        /**
+         * 只有timestamp一个动态字段的模板使用
+         */
+        public static final Values NONE = new Values(null, null, null, null, null, null);
+
+        public static Values of(String traceId, String path) {
+            return new Values(traceId, path, null, null, null, null);
+        }
+
+        String get(Slot slot) {
+            return switch (slot) {
+                case TRACE_ID -> traceId;
+                case PATH -> path;
+                case METHOD -> method;
+                case MESSAGE -> message;
+                case EXCEPTION -> exception;
+                case STACK_TRACE -> stackTrace;
+                case TIMESTAMP -> null;
+            };
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package com.honyrun.service.cache;
 
 import com.honyrun.constant.CacheConstants;
+import com.honyrun.exception.reactive.CallNotPermittedException;
+import com.honyrun.service.reactive.ReactiveErrorRecoveryService;
 import com.honyrun.util.LoggingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.stereotype.Service;
@@ -25,11 +28,12 @@ import java.util.Map;
  * - 缓存键命名规范管理
  * - 缓存失效事件处理
  * - 缓存性能监控
+ * - 读取经过Redis熔断器和舱壁，熔断期间按缓存未命中处理
  *
  * @author Mr.Rey
  * @version 1.0.0
  * @created 2025-07-01 12:00:00
- * @modified 2025-07-01 12:00:00
+ * @modified 2025-10-31 14:00:00
  * Copyright © 2025 HonyRun. All rights reserved.
  */
 @Service
@@ -40,6 +44,7 @@ public class CacheLayerService {
     private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
     private final CacheKeyNamingService cacheKeyNamingService;
     private final CacheEvictionEventService cacheEvictionEventService;
+    private final ObjectProvider<ReactiveErrorRecoveryService> errorRecoveryServiceProvider;
 
     /**
      * 构造函数注入依赖
@@ -47,17 +52,36 @@ public class CacheLayerService {
      * @param reactiveRedisTemplate 响应式Redis模板
      * @param cacheKeyNamingService 缓存键命名服务
      * @param cacheEvictionEventService 缓存失效事件服务
+     * @param errorRecoveryServiceProvider 错误恢复服务（未启用时不做熔断保护）
      * @author Mr.Rey Copyright © 2025
      * @created 2025-10-26 01:36:12
-     * @modified 2025-10-26 01:36:12
+     * @modified 2025-10-31 14:00:00
      * @version 1.0.0
      */
     public CacheLayerService(@Qualifier("unifiedReactiveRedisTemplate") ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
                            CacheKeyNamingService cacheKeyNamingService,
-                           CacheEvictionEventService cacheEvictionEventService) {
+                           CacheEvictionEventService cacheEvictionEventService,
+                           ObjectProvider<ReactiveErrorRecoveryService> errorRecoveryServiceProvider) {
         this.reactiveRedisTemplate = reactiveRedisTemplate;
         this.cacheKeyNamingService = cacheKeyNamingService;
         this.cacheEvictionEventService = cacheEvictionEventService;
+        this.errorRecoveryServiceProvider = errorRecoveryServiceProvider;
+    }
+
+    /**
+     * 在Redis熔断器和舱壁保护下读取缓存，被拒绝时按未命中处理，由调用方回源
+     *
+     * @param cacheKey 缓存键
+     * @return 缓存值
+     */
+    private Mono<Object> protectedGet(String cacheKey) {
+        Mono<Object> read = reactiveRedisTemplate.opsForValue().get(cacheKey);
+        ReactiveErrorRecoveryService errorRecoveryService = errorRecoveryServiceProvider.getIfAvailable();
+        if (errorRecoveryService == null) {
+            return read;
+        }
+        return errorRecoveryService.executeWithProtection("redis", "cacheGet", read)
+                .onErrorResume(CallNotPermittedException.class, error -> Mono.empty());
     }
 
     // ==================== 短TTL缓存操作 (安全敏感数据) ====================
@@ -110,8 +134,7 @@ public class CacheLayerService {
     public Mono<Object> getPermissionCache(String userId) {
         String cacheKey = cacheKeyNamingService.generateUserPermissionKey(userId);
 
-        return reactiveRedisTemplate.opsForValue()
-                .get(cacheKey)
+        return protectedGet(cacheKey)
                 .doOnNext(result -> LoggingUtil.debug(logger, "权限缓存获取成功，用户ID: {}", userId))
                 .doOnError(error -> LoggingUtil.error(logger, "权限缓存获取失败，用户ID: " + userId, error));
     }
@@ -125,8 +148,7 @@ public class CacheLayerService {
     public Mono<Object> getSessionCache(String sessionId) {
         String cacheKey = cacheKeyNamingService.generateUserSessionKey(sessionId);
 
-        return reactiveRedisTemplate.opsForValue()
-                .get(cacheKey)
+        return protectedGet(cacheKey)
                 .doOnNext(result -> LoggingUtil.debug(logger, "会话缓存获取成功，会话ID: {}", sessionId))
                 .doOnError(error -> LoggingUtil.error(logger, "会话缓存获取失败，会话ID: " + sessionId, error));
     }
@@ -193,8 +215,7 @@ public class CacheLayerService {
     public Mono<Object> getUserInfoCache(String userId) {
         String cacheKey = cacheKeyNamingService.generateUserInfoKey(userId);
 
-        return reactiveRedisTemplate.opsForValue()
-                .get(cacheKey)
+        return protectedGet(cacheKey)
                 .doOnNext(result -> LoggingUtil.debug(logger, "用户信息缓存获取成功，用户ID: {}", userId))
                 .doOnError(error -> LoggingUtil.error(logger, "用户信息缓存获取失败，用户ID: " + userId, error));
     }
@@ -262,8 +283,7 @@ public class CacheLayerService {
     public Mono<Object> getSystemSettingCache(String settingKey) {
         String cacheKey = cacheKeyNamingService.generateSystemSettingKey(settingKey);
 
-        return reactiveRedisTemplate.opsForValue()
-                .get(cacheKey)
+        return protectedGet(cacheKey)
                 .doOnNext(result -> LoggingUtil.debug(logger, "系统设置缓存获取成功，设置键: {}", settingKey))
                 .doOnError(error -> LoggingUtil.error(logger, "系统设置缓存获取失败，设置键: " + settingKey, error));
     }
@@ -0,0 +1,49 @@
+package com.honyrun.service.config;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 配置变更消息
+ *
+ * 通过Redis频道在节点间广播，同时以JSON形式写入sys_system_configs的CONFIG_CHANGE_LOG分组，
+ * 供错过消息的节点按版本补读
+ *
+ * @param version           全局单调递增的变更版本
+ * @param configKeys        变更的配置键，全量同步时为空列表
+ * @param changeType        变更类型：UPDATE、EVICT、SYNC、RECONCILE
+ * @param sourceNodeId      发布节点ID
+ * @param operator          操作人
+ * @param publishedAtMillis 发布时间，取Redis时钟（毫秒）
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-02 14:00:00
+ * @modified 2025-11-02 14:00:00
+ * @version 1.0.0
+ */
+public record ConfigChangeMessage(long version, List<String> configKeys, String changeType, String sourceNodeId,
+                                  String operator, long publishedAtMillis) {
+
+    /**
+     * 是否涉及任一指定配置键；未指定键或全量同步时视为涉及
+     *
+     * @param keys 关注的配置键
+     * @return 是否涉及
+     */
+    public boolean concerns(List<String> keys) {
+        return keys == null || keys.isEmpty() || configKeys == null || configKeys.isEmpty()
+                || configKeys.stream().anyMatch(keys::contains);
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("version", version);
+        result.put("configKeys", configKeys);
+        result.put("changeType", changeType);
+        result.put("sourceNodeId", sourceNodeId);
+        result.put("operator", operator);
+        result.put("publishedAtMillis", publishedAtMillis);
+        return result;
+    }
+}
@@ -0,0 +1,708 @@
+package com.honyrun.service.config;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.config.system.SystemConfigManager;
+import com.honyrun.model.entity.system.SystemConfig;
+import com.honyrun.repository.r2dbc.ReactiveSystemConfigRepository;
+import com.honyrun.scheduler.coordination.DistributedJobCoordinator;
+import com.honyrun.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+/**
+ * 配置变更跨节点传播器
+ *
+ * 发布流程：Redis递增全局版本号 → 变更记录写入sys_system_configs的CONFIG_CHANGE_LOG分组 → 发布到Redis频道。
+ * 接收流程：本节点发布的变更与频道收到的变更进入同一个串行队列，按版本依次处理：
+ * - 版本不大于已应用版本的消息视为重复，直接忽略
+ * - 版本跳跃时判定为缺口，从变更日志补读缺失的版本，补读不到的版本计为丢失
+ * - 应用时清空Spring配置缓存并重新加载配置快照，成功后才推进已应用版本
+ * - 每个已应用的版本在Redis中记录本节点的确认及传播延迟，供发布方等待确认
+ *
+ * Redis发布订阅不保证送达，定时对账任务比较全局版本与已应用版本，落后时触发一次补读，
+ * 因此频道消息丢失或应用失败最迟在一个对账周期后恢复
+ *
+ * 传播延迟为应用完成时刻与发布时刻之差，两者都换算到Redis时钟，不受节点间时钟偏差影响
+ *
+ * 键结构：
+ * - honyrun:config:change:version 全局变更版本计数器
+ * - honyrun:config:change:ack:{version} 各节点对该版本的确认，值为传播延迟（毫秒），带过期时间
+ * - honyrun:config:change:nodes 各节点已应用版本，值为"已应用版本|记录时间"
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-02 14:00:00
+ * @modified 2025-11-02 14:00:00
+ * @version 1.0.0
+ */
+@Component
+public class ConfigChangePropagator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConfigChangePropagator.class);
+
+    public static final String CHANGE_UPDATE = "UPDATE";
+    public static final String CHANGE_EVICT = "EVICT";
+    public static final String CHANGE_SYNC = "SYNC";
+    public static final String CHANGE_RECONCILE = "RECONCILE";
+
+    private static final String CHANNEL = "honyrun:config:change";
+    private static final String VERSION_KEY = "honyrun:config:change:version";
+    private static final String ACK_KEY_PREFIX = "honyrun:config:change:ack:";
+    private static final String NODES_KEY = "honyrun:config:change:nodes";
+
+    private static final String LOG_GROUP = "CONFIG_CHANGE_LOG";
+    private static final String LOG_KEY_PREFIX = "config.change-log.";
+    private static final int LOG_PRUNE_EVERY = 100;
+
+    // Lua脚本：递增全局版本，结果不低于调用方已知的最大版本（Redis数据丢失后仍保持单调），返回{版本, Redis时间}
+    private static final String NEXT_VERSION_SCRIPT = "local version = redis.call('incr', KEYS[1])\n" +
+            "local floor = tonumber(ARGV[1])\n" +
+            "if version <= floor then\n" +
+            "    version = floor + 1\n" +
+            "    redis.call('set', KEYS[1], version)\n" +
+            "end\n" +
+            "local now = redis.call('time')\n" +
+            "return {version, now[1] .. string.format('%03d', math.floor(tonumber(now[2]) / 1000))}";
+
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> nextVersionScript = RedisScript.of(NEXT_VERSION_SCRIPT, List.class);
+
+    private final ReactiveRedisTemplate<String, String> redisTemplate;
+    private final ReactiveSystemConfigRepository configRepository;
+    private final SystemConfigManager systemConfigManager;
+    private final UnifiedConfigManager unifiedConfigManager;
+    private final DistributedJobCoordinator jobCoordinator;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${honyrun.config.propagation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${honyrun.config.propagation.store-timeout:3000}")
+    private long storeTimeoutMillis;
+
+    @Value("${honyrun.config.propagation.ack-ttl:3600000}")
+    private long ackTtlMillis;
+
+    @Value("${honyrun.config.propagation.ack-timeout:5000}")
+    private long ackTimeoutMillis;
+
+    @Value("${honyrun.config.propagation.ack-poll-interval:200}")
+    private long ackPollIntervalMillis;
+
+    @Value("${honyrun.config.propagation.log-retention:1000}")
+    private long logRetention;
+
+    private final AtomicLong lastAppliedVersion = new AtomicLong();
+    private final AtomicLong lastPublishedVersion = new AtomicLong();
+    private final AtomicLong lastLagMillis = new AtomicLong(-1L);
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    // 本节点发布与频道收到的变更共用的串行处理队列
+    private final Sinks.Many<ConfigChangeMessage> inbound = Sinks.many().unicast().onBackpressureBuffer();
+    // 已应用变更的实时流，无订阅者时直接丢弃
+    private final Sinks.Many<AppliedChange> appliedChanges = Sinks.many().multicast().directBestEffort();
+
+    private Disposable processor;
+    private Disposable listener;
+
+    private Timer pubSubLag;
+    private Timer catchUpLag;
+    private Counter publishedCounter;
+    private Counter appliedCounter;
+    private Counter duplicateCounter;
+    private Counter failedCounter;
+    private Counter gapCounter;
+    private Counter recoveredCounter;
+    private Counter missingCounter;
+
+    /**
+     * 构造函数注入
+     *
+     * @param redisTemplate        统一的响应式字符串Redis模板
+     * @param configRepository     系统配置仓库，变更日志写入同一张表
+     * @param systemConfigManager  系统配置管理器，应用变更时清空其缓存
+     * @param unifiedConfigManager 统一配置管理器，应用变更时重新加载配置快照
+     * @param jobCoordinator       定时任务协调器，提供节点ID、存活节点与Redis时钟偏差
+     * @param objectMapper         JSON对象映射器
+     * @param meterRegistry        指标注册表
+     */
+    public ConfigChangePropagator(
+            @Qualifier("unifiedReactiveStringRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate,
+            ReactiveSystemConfigRepository configRepository,
+            SystemConfigManager systemConfigManager,
+            UnifiedConfigManager unifiedConfigManager,
+            DistributedJobCoordinator jobCoordinator,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.configRepository = configRepository;
+        this.systemConfigManager = systemConfigManager;
+        this.unifiedConfigManager = unifiedConfigManager;
+        this.jobCoordinator = jobCoordinator;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        pubSubLag = lagTimer("pubsub");
+        catchUpLag = lagTimer("catch-up");
+        publishedCounter = changeCounter("published");
+        appliedCounter = changeCounter("applied");
+        duplicateCounter = changeCounter("duplicate");
+        failedCounter = changeCounter("failed");
+        gapCounter = meterRegistry.counter("honyrun.config.propagation.gaps");
+        recoveredCounter = meterRegistry.counter("honyrun.config.propagation.gap.versions", "outcome", "recovered");
+        missingCounter = meterRegistry.counter("honyrun.config.propagation.gap.versions", "outcome", "missing");
+        Gauge.builder("honyrun.config.propagation.applied.version", lastAppliedVersion, AtomicLong::get)
+                .description("本节点已应用的配置变更版本")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 应用就绪后以当前全局版本为基线，开始处理变更并订阅频道
+     * 统一配置管理器同样在应用就绪时加载全量配置，基线之前的变更已包含在内
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || !started.compareAndSet(false, true)) {
+            return;
+        }
+        Mono.zip(readLatestVersion(), readLatestLoggedVersion())
+                .map(tuple -> Math.max(tuple.getT1(), tuple.getT2()))
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .doOnNext(baseline -> {
+                    lastAppliedVersion.accumulateAndGet(baseline, Math::max);
+                    LoggingUtil.info(logger, "配置变更传播启动，节点ID: {}，基线版本: {}", nodeId(), baseline);
+                })
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "读取配置变更基线版本失败，从0开始: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .doFinally(signal -> {
+                    processor = inbound.asFlux()
+                            .concatMap(this::process)
+                            .subscribe();
+                    listener = subscribeChannel();
+                })
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (listener != null) {
+            listener.dispose();
+        }
+        if (processor != null) {
+            processor.dispose();
+        }
+    }
+
+    // ==================== 发布 ====================
+
+    /**
+     * 发布配置变更
+     *
+     * 变更同时进入本节点的处理队列，不依赖频道回送即可在本节点生效
+     *
+     * @param configKeys 变更的配置键，全量同步时为空
+     * @param changeType 变更类型
+     * @param operator   操作人
+     * @return 已发布的变更消息；传播未启用时为空
+     */
+    public Mono<ConfigChangeMessage> publish(List<String> configKeys, String changeType, String operator) {
+        if (!enabled) {
+            return Mono.empty();
+        }
+        List<String> keys = configKeys == null ? List.of() : List.copyOf(configKeys);
+        return Mono.defer(() -> {
+            long floor = Math.max(lastAppliedVersion.get(), lastPublishedVersion.get());
+            return redisTemplate.execute(nextVersionScript, List.of(VERSION_KEY), String.valueOf(floor)).next();
+        })
+                .map(result -> new ConfigChangeMessage(Long.parseLong(String.valueOf(result.get(0))), keys,
+                        changeType, nodeId(), operator, Long.parseLong(String.valueOf(result.get(1)))))
+                .flatMap(message -> appendLog(message).thenReturn(message))
+                .flatMap(message -> encode(message)
+                        .flatMap(body -> redisTemplate.convertAndSend(CHANNEL, body))
+                        .thenReturn(message))
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .doOnNext(message -> {
+                    lastPublishedVersion.accumulateAndGet(message.version(), Math::max);
+                    publishedCounter.increment();
+                    enqueue(message);
+                    LoggingUtil.info(logger, "发布配置变更: 版本={}，类型={}，配置键={}",
+                            message.version(), changeType, keys);
+                });
+    }
+
+    /**
+     * 发布全量同步并等待目标节点确认
+     *
+     * @param targetNodes 目标节点，为空时取定时任务协调器的存活节点，再退而取已登记的节点
+     * @param operator    操作人
+     * @return 同步结果，包含各节点确认的传播延迟与未确认节点
+     */
+    public Mono<Map<String, Object>> syncNodes(List<String> targetNodes, String operator) {
+        if (!enabled) {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("targetNodes", targetNodes);
+            result.put("syncTime", LocalDateTime.now());
+            result.put("syncStatus", "DISABLED");
+            result.put("message", "配置变更传播未启用");
+            return Mono.just(result);
+        }
+        return resolveTargets(targetNodes)
+                .flatMap(targets -> publish(List.of(), CHANGE_SYNC, operator)
+                        .flatMap(message -> awaitAcks(message.version(), targets)
+                                .map(acks -> syncResult(message, targets, acks))));
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 订阅本节点已应用的配置变更
+     *
+     * @param configKeys 关注的配置键，为空时接收全部变更
+     * @return 已应用变更流，元素包含变更内容、应用时间、传播延迟以及是否经补读恢复
+     */
+    public Flux<Map<String, Object>> changeStream(List<String> configKeys) {
+        return appliedChanges.asFlux()
+                .filter(change -> change.message().concerns(configKeys))
+                .map(AppliedChange::toMap);
+    }
+
+    /**
+     * 按版本倒序分页读取变更日志
+     *
+     * @param page 页码，从1开始
+     * @param size 每页数量
+     * @return 变更消息
+     */
+    public Flux<ConfigChangeMessage> readChangeLog(int page, int size) {
+        return configRepository.findByConfigGroupOrderByConfigKeyDesc(LOG_GROUP, size,
+                        (long) Math.max(page - 1, 0) * size)
+                .concatMap(config -> decode(config.getConfigValue()));
+    }
+
+    /**
+     * @return 变更日志条数
+     */
+    public Mono<Long> countChangeLog() {
+        return configRepository.countByConfigGroup(LOG_GROUP);
+    }
+
+    /**
+     * 读取指定版本的节点确认
+     *
+     * @param version 变更版本
+     * @return 节点ID到传播延迟（毫秒）的映射
+     */
+    public Mono<Map<String, Object>> getAcknowledgements(long version) {
+        return readAcks(version)
+                .map(acks -> {
+                    Map<String, Object> result = new LinkedHashMap<>();
+                    result.put("version", version);
+                    result.put("acknowledgements", new TreeMap<>(acks));
+                    return result;
+                });
+    }
+
+    /**
+     * 获取传播状态：本节点版本、延迟统计、缺口统计以及各节点已应用版本
+     *
+     * @return 传播状态
+     */
+    public Mono<Map<String, Object>> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("enabled", enabled);
+        status.put("nodeId", nodeId());
+        status.put("lastAppliedVersion", lastAppliedVersion.get());
+        status.put("lastPublishedVersion", lastPublishedVersion.get());
+        status.put("lastLagMillis", lastLagMillis.get());
+        status.put("lag", Map.of("pubsub", lagStats(pubSubLag), "catchUp", lagStats(catchUpLag)));
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("published", (long) publishedCounter.count());
+        counters.put("applied", (long) appliedCounter.count());
+        counters.put("duplicates", (long) duplicateCounter.count());
+        counters.put("failed", (long) failedCounter.count());
+        counters.put("gaps", (long) gapCounter.count());
+        counters.put("recoveredVersions", (long) recoveredCounter.count());
+        counters.put("missingVersions", (long) missingCounter.count());
+        status.put("counters", counters);
+        if (!enabled) {
+            return Mono.just(status);
+        }
+        return Mono.zip(readLatestVersion(), readNodeStates())
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .map(tuple -> {
+                    long latest = tuple.getT1();
+                    long storeNow = storeNow();
+                    Map<String, Object> nodes = new TreeMap<>();
+                    tuple.getT2().forEach((node, state) -> {
+                        String[] parts = state.split("\\|");
+                        long applied = parseLong(parts[0]);
+                        long recordedAt = parts.length > 1 ? parseLong(parts[1]) : 0L;
+                        Map<String, Object> nodeStatus = new LinkedHashMap<>();
+                        nodeStatus.put("appliedVersion", applied);
+                        nodeStatus.put("versionsBehind", Math.max(0L, latest - applied));
+                        nodeStatus.put("lastSeenAgoMillis", Math.max(0L, storeNow - recordedAt));
+                        nodes.put(node, nodeStatus);
+                    });
+                    status.put("latestVersion", latest);
+                    status.put("versionsBehind", Math.max(0L, latest - lastAppliedVersion.get()));
+                    status.put("nodes", nodes);
+                    return status;
+                })
+                .onErrorResume(error -> {
+                    status.put("storeError", error.getMessage());
+                    return Mono.just(status);
+                });
+    }
+
+    // ==================== 对账 ====================
+
+    /**
+     * 定时对账：全局版本领先于本节点时补读，同时刷新本节点的登记时间
+     */
+    @Scheduled(fixedDelayString = "${honyrun.config.propagation.reconcile-interval:30000}",
+            initialDelayString = "${honyrun.config.propagation.reconcile-interval:30000}")
+    public void reconcile() {
+        if (!enabled || !started.get()) {
+            return;
+        }
+        readLatestVersion()
+                .doOnNext(latest -> {
+                    if (latest > lastAppliedVersion.get()) {
+                        LoggingUtil.info(logger, "对账发现配置变更落后: 已应用 {}，最新 {}", lastAppliedVersion.get(), latest);
+                        enqueue(new ConfigChangeMessage(latest, List.of(), CHANGE_RECONCILE, nodeId(), "system",
+                                storeNow()));
+                    }
+                })
+                .then(recordNodeState())
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .subscribe(
+                        unused -> {
+                        },
+                        error -> LoggingUtil.warn(logger, "配置变更对账失败: {}", error.getMessage()));
+    }
+
+    // ==================== 处理 ====================
+
+    private Disposable subscribeChannel() {
+        return redisTemplate.listenToChannel(CHANNEL)
+                .map(message -> message.getMessage())
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        .doBeforeRetry(signal -> LoggingUtil.warn(logger, "配置变更频道订阅中断，重新订阅: {}",
+                                signal.failure().getMessage())))
+                .concatMap(this::decode)
+                .subscribe(this::enqueue,
+                        error -> LoggingUtil.error(logger, "配置变更频道订阅终止", error));
+    }
+
+    private void enqueue(ConfigChangeMessage message) {
+        inbound.emitNext(message, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(200)));
+    }
+
+    private Mono<Void> process(ConfigChangeMessage message) {
+        long last = lastAppliedVersion.get();
+        if (message.version() <= last) {
+            duplicateCounter.increment();
+            return Mono.empty();
+        }
+        boolean reconcile = CHANGE_RECONCILE.equals(message.changeType());
+        long catchUpUntil = reconcile ? message.version() : message.version() - 1;
+        Mono<List<ConfigChangeMessage>> recovered = last > 0 && catchUpUntil > last
+                ? catchUp(last, catchUpUntil)
+                : Mono.just(List.of());
+        return recovered
+                .flatMap(changes -> Mono.fromRunnable(systemConfigManager::clearConfigCache)
+                        .then(unifiedConfigManager.reloadSnapshot())
+                        .timeout(Duration.ofMillis(storeTimeoutMillis))
+                        .map(snapshotVersion -> markApplied(message, changes, reconcile)))
+                .flatMap(this::acknowledge)
+                .onErrorResume(error -> {
+                    failedCounter.increment();
+                    LoggingUtil.warn(logger, "应用配置变更失败，等待对账重试: 版本={}，原因: {}",
+                            message.version(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<List<ConfigChangeMessage>> catchUp(long last, long until) {
+        gapCounter.increment();
+        LoggingUtil.warn(logger, "检测到配置变更版本缺口: 已应用 {}，补读 ({}, {}]", last, last, until);
+        return configRepository.findByConfigGroupAndConfigKeyBetween(LOG_GROUP, logKey(last), logKey(until))
+                .concatMap(config -> decode(config.getConfigValue()))
+                .collectList()
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .doOnNext(changes -> {
+                    long missing = (until - last) - changes.size();
+                    recoveredCounter.increment(changes.size());
+                    if (missing > 0) {
+                        missingCounter.increment(missing);
+                        LoggingUtil.warn(logger, "变更日志缺少 {} 个版本，以全量重新加载代替", missing);
+                    }
+                })
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "补读配置变更日志失败，以全量重新加载代替: {}", error.getMessage());
+                    missingCounter.increment(until - last);
+                    return Mono.just(List.of());
+                });
+    }
+
+    /**
+     * 推进已应用版本并发出变更事件
+     *
+     * @return 需要确认的版本到传播延迟的映射
+     */
+    private Map<Long, Long> markApplied(ConfigChangeMessage message, List<ConfigChangeMessage> recovered,
+                                        boolean reconcile) {
+        long appliedAt = storeNow();
+        lastAppliedVersion.accumulateAndGet(message.version(), Math::max);
+        appliedCounter.increment();
+        Map<Long, Long> acks = new LinkedHashMap<>();
+        for (ConfigChangeMessage change : recovered) {
+            acks.put(change.version(), emitApplied(change, appliedAt, true));
+        }
+        if (!reconcile) {
+            acks.put(message.version(), emitApplied(message, appliedAt, false));
+        }
+        return acks;
+    }
+
+    private long emitApplied(ConfigChangeMessage change, long appliedAt, boolean recovered) {
+        long lag = Math.max(0L, appliedAt - change.publishedAtMillis());
+        (recovered ? catchUpLag : pubSubLag).record(lag, TimeUnit.MILLISECONDS);
+        lastLagMillis.set(lag);
+        appliedChanges.tryEmitNext(new AppliedChange(change, nodeId(), appliedAt, lag, recovered));
+        LoggingUtil.debug(logger, "配置变更已应用: 版本={}，延迟={}ms，补读={}", change.version(), lag, recovered);
+        return lag;
+    }
+
+    private Mono<Void> acknowledge(Map<Long, Long> acks) {
+        return Flux.fromIterable(acks.entrySet())
+                .concatMap(ack -> redisTemplate.<String, String>opsForHash()
+                        .put(ACK_KEY_PREFIX + ack.getKey(), nodeId(), String.valueOf(ack.getValue()))
+                        .then(redisTemplate.expire(ACK_KEY_PREFIX + ack.getKey(), Duration.ofMillis(ackTtlMillis))))
+                .then(recordNodeState())
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "记录配置变更确认失败: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> recordNodeState() {
+        return redisTemplate.<String, String>opsForHash()
+                .put(NODES_KEY, nodeId(), lastAppliedVersion.get() + "|" + storeNow())
+                .then();
+    }
+
+    // ==================== 变更日志 ====================
+
+    private Mono<Void> appendLog(ConfigChangeMessage message) {
+        return encode(message)
+                .flatMap(body -> {
+                    SystemConfig entry = new SystemConfig();
+                    entry.setConfigKey(logKey(message.version()));
+                    entry.setConfigValue(body);
+                    entry.setConfigGroup(LOG_GROUP);
+                    entry.setConfigType("JSON");
+                    entry.setDescription("配置变更日志 " + message.changeType() + " v" + message.version());
+                    entry.setStatus("ACTIVE");
+                    // 日志行不作为生效配置加载
+                    entry.setEnabled(0);
+                    return configRepository.save(entry);
+                })
+                .then(pruneLog(message.version()))
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "写入配置变更日志失败，版本 {} 仅通过频道广播: {}",
+                            message.version(), error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> pruneLog(long version) {
+        if (version % LOG_PRUNE_EVERY != 0 || version <= logRetention) {
+            return Mono.empty();
+        }
+        return configRepository.deleteByConfigGroupAndConfigKeyBefore(LOG_GROUP, logKey(version - logRetention))
+                .doOnNext(deleted -> LoggingUtil.debug(logger, "清理配置变更日志 {} 条", deleted))
+                .then();
+    }
+
+    private static String logKey(long version) {
+        return LOG_KEY_PREFIX + String.format("%019d", version);
+    }
+
+    // ==================== 辅助方法 ====================
+
+    private Map<String, Object> syncResult(ConfigChangeMessage message, List<String> targets,
+                                          Map<String, Long> acks) {
+        Map<String, Long> acked = new TreeMap<>();
+        List<String> pending = new ArrayList<>();
+        for (String target : targets) {
+            Long lag = acks.get(target);
+            if (lag != null) {
+                acked.put(target, lag);
+            } else {
+                pending.add(target);
+            }
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("version", message.version());
+        result.put("targetNodes", targets);
+        result.put("ackedNodes", acked);
+        result.put("pendingNodes", pending);
+        result.put("maxLagMillis", acked.values().stream().mapToLong(Long::longValue).max().orElse(-1L));
+        result.put("syncTime", LocalDateTime.now());
+        result.put("syncStatus", pending.isEmpty() ? "SUCCESS" : acked.isEmpty() ? "TIMEOUT" : "PARTIAL");
+        result.put("message", pending.isEmpty() ? "配置缓存同步完成" : "部分节点未在超时前确认: " + pending);
+        return result;
+    }
+
+    private Mono<List<String>> resolveTargets(List<String> targetNodes) {
+        if (targetNodes != null && !targetNodes.isEmpty()) {
+            return Mono.just(List.copyOf(targetNodes));
+        }
+        List<String> liveNodes = jobCoordinator.getLiveNodes();
+        if (!liveNodes.isEmpty()) {
+            return Mono.just(liveNodes);
+        }
+        return readNodeStates()
+                .map(states -> states.isEmpty() ? List.of(nodeId()) : List.copyOf(new TreeMap<>(states).keySet()))
+                .timeout(Duration.ofMillis(storeTimeoutMillis))
+                .onErrorReturn(List.of(nodeId()));
+    }
+
+    private Mono<Map<String, Long>> awaitAcks(long version, List<String> targets) {
+        return Flux.interval(Duration.ZERO, Duration.ofMillis(ackPollIntervalMillis))
+                .concatMap(tick -> readAcks(version))
+                .takeUntil(acks -> acks.keySet().containsAll(targets))
+                .take(Duration.ofMillis(ackTimeoutMillis))
+                .last(Map.of());
+    }
+
+    private Mono<Map<String, Long>> readAcks(long version) {
+        return redisTemplate.<String, String>opsForHash()
+                .entries(ACK_KEY_PREFIX + version)
+                .collectMap(Map.Entry::getKey, entry -> parseLong(entry.getValue()));
+    }
+
+    private Mono<Map<String, String>> readNodeStates() {
+        return redisTemplate.<String, String>opsForHash()
+                .entries(NODES_KEY)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    private Mono<Long> readLatestVersion() {
+        return redisTemplate.opsForValue().get(VERSION_KEY)
+                .map(ConfigChangePropagator::parseLong)
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<Long> readLatestLoggedVersion() {
+        return configRepository.findByConfigGroupOrderByConfigKeyDesc(LOG_GROUP, 1, 0L)
+                .next()
+                .map(config -> parseLong(config.getConfigKey().substring(LOG_KEY_PREFIX.length())))
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<String> encode(ConfigChangeMessage message) {
+        return Mono.fromCallable(() -> objectMapper.writeValueAsString(message));
+    }
+
+    private Mono<ConfigChangeMessage> decode(String body) {
+        return Mono.fromCallable(() -> objectMapper.readValue(body, ConfigChangeMessage.class))
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "无法解析配置变更消息，已忽略: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private long storeNow() {
+        return System.currentTimeMillis() - jobCoordinator.getClockOffsetMillis();
+    }
+
+    private String nodeId() {
+        return jobCoordinator.getNodeId();
+    }
+
+    private Timer lagTimer(String path) {
+        return Timer.builder("honyrun.config.propagation.lag")
+                .description("配置变更从发布到在本节点生效的延迟")
+                .tag("path", path)
+                .publishPercentiles(0.5, 0.99)
+                .register(meterRegistry);
+    }
+
+    private Counter changeCounter(String result) {
+        return meterRegistry.counter("honyrun.config.propagation.changes", "result", result);
+    }
+
+    private static Map<String, Object> lagStats(Timer timer) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", timer.count());
+        stats.put("meanMillis", timer.mean(TimeUnit.MILLISECONDS));
+        stats.put("maxMillis", timer.max(TimeUnit.MILLISECONDS));
+        return stats;
+    }
+
+    private static long parseLong(String value) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * 本节点已应用的变更
+     */
+    private record AppliedChange(ConfigChangeMessage message, String nodeId, long appliedAtMillis, long lagMillis,
+                                 boolean recovered) {
+
+        Map<String, Object> toMap() {
+            Map<String, Object> result = message.toMap();
+            result.put("nodeId", nodeId);
+            result.put("appliedAtMillis", appliedAtMillis);
+            result.put("lagMillis", lagMillis);
+            result.put("recovered", recovered);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.honyrun.service.data.pool;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import com.honyrun.exception.ErrorCode;
+import com.honyrun.exception.RateLimitException;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * 一个通道的并发闸门
+ *
+ * 在物理连接池前按可调上限放行获取请求：未到上限立即放行，否则排队；队列已满立即拒绝，
+ * 排队超过等待预算时拒绝，两种拒绝都以RateLimitException快速失败，不再在r2dbc-pool内部无声排队。
+ * 许可在连接关闭时归还，上限调小时已借出的连接不受影响，归还后不再补位
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 15:00:00
+ * @modified 2025-11-05 15:00:00
+ * @version 1.0.0
+ */
+final class ConnectionLane {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final PoolLane lane;
+    private final ConnectionFactory pool;
+    private final PoolSizingPolicy policy;
+    private final Duration waitBudget;
+    private final int maxQueue;
+
+    private volatile int limit;
+    private volatile PoolSizingPolicy.Decision lastDecision;
+    private volatile PoolSizingPolicy.Sample lastSample;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final Recorder waitMicros = new Recorder(HIGHEST_TRACKABLE_MICROS, 2);
+    private final LongAdder shedQueueFull = new LongAdder();
+    private final LongAdder shedWaitBudget = new LongAdder();
+    private long shedAtLastSample;
+
+    ConnectionLane(PoolLane lane, ConnectionFactory pool, PoolSizingPolicy policy, Duration waitBudget, int maxQueue) {
+        this.lane = lane;
+        this.pool = pool;
+        this.policy = policy;
+        this.waitBudget = waitBudget;
+        this.maxQueue = maxQueue;
+        this.limit = policy.getSettings().maxLimit();
+    }
+
+    /**
+     * 获取连接：先过闸门，再从物理连接池获取
+     *
+     * @return 关闭时归还许可的连接
+     */
+    Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return admit()
+                    .then(Mono.defer(() -> Mono.<Connection>from(pool.create())
+                            .doOnCancel(this::release)
+                            .doOnError(error -> release())))
+                    .map(connection -> {
+                        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                        waitMicros.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+                        return new GovernedConnection(connection, this);
+                    });
+        });
+    }
+
+    private Mono<Void> admit() {
+        if (tryAcquire()) {
+            return Mono.empty();
+        }
+        if (queued.get() >= maxQueue) {
+            shedQueueFull.increment();
+            return Mono.error(saturated());
+        }
+        return Mono.<Void>create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            queued.incrementAndGet();
+            waiters.offer(waiter);
+            sink.onDispose(waiter::cancel);
+            drain();
+        }).timeout(waitBudget).onErrorMap(TimeoutException.class, error -> {
+            shedWaitBudget.increment();
+            return saturated();
+        });
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                peakInFlight.accumulateAndGet(current + 1, Math::max);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * 归还许可并唤醒排队的请求
+     */
+    void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private void drain() {
+        while (true) {
+            Waiter head = waiters.peek();
+            if (head == null) {
+                return;
+            }
+            if (head.isCancelled()) {
+                waiters.remove(head);
+                continue;
+            }
+            if (!tryAcquire()) {
+                return;
+            }
+            Waiter waiter = waiters.poll();
+            if (waiter == null || !waiter.grant()) {
+                inFlight.decrementAndGet();
+            }
+        }
+    }
+
+    private RateLimitException saturated() {
+        RateLimitException exception = new RateLimitException(ErrorCode.CONCURRENT_LIMIT_EXCEEDED, "数据库繁忙，请稍后重试");
+        exception.setLimitKey("r2dbc:" + lane.name().toLowerCase(Locale.ROOT));
+        exception.setCurrentRequests((long) inFlight.get());
+        exception.setMaxRequests((long) limit);
+        exception.setLimitType("connection_pool");
+        return exception;
+    }
+
+    /**
+     * 采样本周期指标并按策略调整上限
+     *
+     * @param dbLatencyMillis 数据库端语句延迟中位数，未知时为0
+     * @return 调整决定
+     */
+    PoolSizingPolicy.Decision adjust(double dbLatencyMillis) {
+        Histogram interval = waitMicros.getIntervalHistogram();
+        long shed = shedQueueFull.sum() + shedWaitBudget.sum();
+        PoolSizingPolicy.Sample sample = new PoolSizingPolicy.Sample(interval.getTotalCount(),
+                interval.getTotalCount() == 0 ? 0.0 : interval.getValueAtPercentile(95) / 1000.0,
+                peakInFlight.getAndSet(inFlight.get()), queued.get(), shed - shedAtLastSample, dbLatencyMillis);
+        shedAtLastSample = shed;
+        PoolSizingPolicy.Decision decision = policy.decide(limit, sample);
+        lastSample = sample;
+        lastDecision = decision;
+        if (decision.limit() != limit) {
+            limit = decision.limit();
+            drain();
+        }
+        return decision;
+    }
+
+    PoolLane getLane() {
+        return lane;
+    }
+
+    ConnectionFactory getPool() {
+        return pool;
+    }
+
+    PoolSizingPolicy getPolicy() {
+        return policy;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    int getQueued() {
+        return queued.get();
+    }
+
+    long getShedQueueFull() {
+        return shedQueueFull.sum();
+    }
+
+    long getShedWaitBudget() {
+        return shedWaitBudget.sum();
+    }
+
+    Duration getWaitBudget() {
+        return waitBudget;
+    }
+
+    int getMaxQueue() {
+        return maxQueue;
+    }
+
+    PoolSizingPolicy.Sample getLastSample() {
+        return lastSample;
+    }
+
+    PoolSizingPolicy.Decision getLastDecision() {
+        return lastDecision;
+    }
+
+    /**
+     * 排队中的获取请求，授予与取消互斥
+     */
+    private final class Waiter {
+
+        private static final int WAITING = 0;
+        private static final int GRANTED = 1;
+        private static final int CANCELLED = 2;
+
+        private final MonoSink<Void> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private Waiter(MonoSink<Void> sink) {
+            this.sink = sink;
+        }
+
+        private boolean grant() {
+            if (state.compareAndSet(WAITING, GRANTED)) {
+                queued.decrementAndGet();
+                sink.success();
+                return true;
+            }
+            return false;
+        }
+
+        private void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                queued.decrementAndGet();
+            }
+        }
+
+        private boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.honyrun.service.data.pool;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.service.data.telemetry.QueryTelemetryRecorder;
+import com.honyrun.util.LoggingUtil;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+
+/**
+ * 连接池调节器
+ *
+ * 定时对每个通道采样连接获取等待P95、峰值利用率、排队与拒绝数，结合语句遥测给出的数据库端延迟中位数，
+ * 由PoolSizingPolicy在配置边界内调整通道的有效并发上限。通道状态发布为
+ * honyrun.r2dbc.governor.limit/in-flight/queued与honyrun.r2dbc.governor.shed（按拒绝原因），
+ * 并通过/actuator/poolgovernor查看最近一次采样和决定
+ *
+ * 未启用通道管理（honyrun.r2dbc.governor.enabled=false）时连接工厂中没有GovernedConnectionFactory，本组件不做任何事
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 15:00:00
+ * @modified 2025-11-05 15:00:00
+ * @version 1.0.0
+ */
+@Component
+public class ConnectionPoolGovernor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolGovernor.class);
+
+    private final ObjectProvider<ConnectionFactory> connectionFactories;
+    private final ObjectProvider<QueryTelemetryRecorder> telemetryRecorder;
+    private final MeterRegistry meterRegistry;
+    private volatile GovernedConnectionFactory governed;
+
+    public ConnectionPoolGovernor(ObjectProvider<ConnectionFactory> connectionFactories,
+            ObjectProvider<QueryTelemetryRecorder> telemetryRecorder, MeterRegistry meterRegistry) {
+        this.connectionFactories = connectionFactories;
+        this.telemetryRecorder = telemetryRecorder;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 调整各通道的并发上限
+     */
+    @Scheduled(fixedDelayString = "#{${honyrun.r2dbc.governor.interval:5000}}",
+            initialDelayString = "#{${honyrun.r2dbc.governor.interval:5000}}")
+    public void adjust() {
+        GovernedConnectionFactory factory = resolve();
+        if (factory == null) {
+            return;
+        }
+        QueryTelemetryRecorder recorder = telemetryRecorder.getIfAvailable();
+        double dbLatencyMillis = recorder == null ? 0.0 : recorder.takeIntervalMedianMillis();
+        for (ConnectionLane lane : factory.getLanes()) {
+            int before = lane.getLimit();
+            PoolSizingPolicy.Decision decision = lane.adjust(dbLatencyMillis);
+            if (decision.limit() != before) {
+                LoggingUtil.info(logger, "调整连接通道上限: 通道={}, {} -> {}, 原因={}, 采样={}",
+                        lane.getLane(), before, decision.limit(), decision.reason(), lane.getLastSample());
+            }
+        }
+    }
+
+    /**
+     * 各通道状态
+     *
+     * @return 通道状态，未启用通道管理时只包含enabled=false
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        GovernedConnectionFactory factory = resolve();
+        result.put("enabled", factory != null);
+        if (factory == null) {
+            return result;
+        }
+        for (ConnectionLane lane : factory.getLanes()) {
+            PoolSizingPolicy.Settings settings = lane.getPolicy().getSettings();
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("limit", lane.getLimit());
+            status.put("minLimit", settings.minLimit());
+            status.put("maxLimit", settings.maxLimit());
+            status.put("inFlight", lane.getInFlight());
+            status.put("queued", lane.getQueued());
+            status.put("maxQueue", lane.getMaxQueue());
+            status.put("waitBudgetMillis", lane.getWaitBudget().toMillis());
+            status.put("shedQueueFull", lane.getShedQueueFull());
+            status.put("shedWaitBudget", lane.getShedWaitBudget());
+            status.put("baselineLatencyMillis", lane.getPolicy().getBaselineLatencyMillis());
+            status.put("lastSample", lane.getLastSample());
+            status.put("lastDecision", lane.getLastDecision());
+            if (lane.getPool() instanceof ConnectionPool pool) {
+                pool.getMetrics().ifPresent(metrics -> {
+                    Map<String, Object> physical = new LinkedHashMap<>();
+                    physical.put("acquired", metrics.acquiredSize());
+                    physical.put("allocated", metrics.allocatedSize());
+                    physical.put("idle", metrics.idleSize());
+                    physical.put("pendingAcquire", metrics.pendingAcquireSize());
+                    physical.put("maxAllocated", metrics.getMaxAllocatedSize());
+                    status.put("pool", physical);
+                });
+            }
+            result.put(lane.getLane().name(), status);
+        }
+        return result;
+    }
+
+    private GovernedConnectionFactory resolve() {
+        GovernedConnectionFactory current = governed;
+        if (current != null) {
+            return current;
+        }
+        Object factory = connectionFactories.getIfUnique();
+        while (factory != null && !(factory instanceof GovernedConnectionFactory)) {
+            factory = factory instanceof Wrapped<?> wrapped ? wrapped.unwrap() : null;
+        }
+        if (factory instanceof GovernedConnectionFactory found) {
+            registerMeters(found);
+            governed = found;
+            return found;
+        }
+        return null;
+    }
+
+    private synchronized void registerMeters(GovernedConnectionFactory factory) {
+        if (governed != null) {
+            return;
+        }
+        for (ConnectionLane lane : factory.getLanes()) {
+            String tag = lane.getLane().name().toLowerCase(Locale.ROOT);
+            Gauge.builder("honyrun.r2dbc.governor.limit", lane, ConnectionLane::getLimit)
+                    .description("连接通道的有效并发上限")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("honyrun.r2dbc.governor.in-flight", lane, ConnectionLane::getInFlight)
+                    .description("连接通道已借出的连接数")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            Gauge.builder("honyrun.r2dbc.governor.queued", lane, ConnectionLane::getQueued)
+                    .description("连接通道排队的获取请求数")
+                    .tag("lane", tag)
+                    .register(meterRegistry);
+            FunctionCounter.builder("honyrun.r2dbc.governor.shed", lane, ConnectionLane::getShedQueueFull)
+                    .description("连接通道拒绝的获取请求数")
+                    .tags("lane", tag, "reason", "queue-full")
+                    .register(meterRegistry);
+            FunctionCounter.builder("honyrun.r2dbc.governor.shed", lane, ConnectionLane::getShedWaitBudget)
+                    .description("连接通道拒绝的获取请求数")
+                    .tags("lane", tag, "reason", "wait-budget")
+                    .register(meterRegistry);
+        }
+    }
+}
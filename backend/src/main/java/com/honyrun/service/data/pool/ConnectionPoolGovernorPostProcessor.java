@@ -0,0 +1,92 @@
+package com.honyrun.service.data.pool;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.util.LoggingUtil;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.pool.PoolMetrics;
+
+/**
+ * 把ConnectionPool Bean替换为按通道管理的GovernedConnectionFactory
+ *
+ * OLTP通道使用配置类创建的连接池，上限从物理连接池大小开始；配置了报表连接数时，
+ * 用同一底层驱动工厂另建一个报表连接池作为REPORTING通道。先于语句遥测包装执行，
+ * 遥测记录的连接获取时间因此包含通道排队时间
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 15:00:00
+ * @modified 2025-11-05 15:00:00
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "honyrun.r2dbc.governor.enabled", havingValue = "true", matchIfMissing = true)
+public class ConnectionPoolGovernorPostProcessor implements BeanPostProcessor, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(ConnectionPoolGovernorPostProcessor.class);
+
+    private static final String PREFIX = "honyrun.r2dbc.governor.";
+
+    private final Environment environment;
+
+    public ConnectionPoolGovernorPostProcessor(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!(bean instanceof ConnectionPool pool)) {
+            return bean;
+        }
+        int poolSize = pool.getMetrics().map(PoolMetrics::getMaxAllocatedSize)
+                .orElseGet(() -> environment.getProperty("spring.r2dbc.pool.max-size", Integer.class, 20));
+        List<ConnectionLane> lanes = new ArrayList<>();
+        lanes.add(lane(PoolLane.OLTP, pool, poolSize, "", 4, 1000, 200));
+
+        int reportingSize = environment.getProperty(PREFIX + "reporting.max-size", Integer.class, 4);
+        if (reportingSize > 0) {
+            ConnectionPool reportingPool = new ConnectionPool(ConnectionPoolConfiguration.builder(pool.unwrap())
+                    .name(beanName + "-reporting")
+                    .initialSize(0)
+                    .maxSize(reportingSize)
+                    .maxIdleTime(Duration.ofMinutes(10))
+                    .validationQuery(environment.getProperty("spring.r2dbc.pool.validation-query", "SELECT 1"))
+                    .build());
+            lanes.add(lane(PoolLane.REPORTING, reportingPool, reportingSize, "reporting.", 1, 10000, 50));
+        }
+        LoggingUtil.info(logger, "连接池通道管理已启用: bean={}, OLTP连接数={}, 报表连接数={}", beanName, poolSize, reportingSize);
+        return new GovernedConnectionFactory(lanes);
+    }
+
+    private ConnectionLane lane(PoolLane lane, ConnectionPool pool, int poolSize, String prefix, int defaultMin,
+            long defaultWaitBudget, int defaultMaxQueue) {
+        int maxLimit = Math.min(poolSize, environment.getProperty(PREFIX + prefix + "max-limit", Integer.class, poolSize));
+        int minLimit = Math.min(maxLimit, environment.getProperty(PREFIX + prefix + "min-limit", Integer.class, defaultMin));
+        PoolSizingPolicy.Settings settings = new PoolSizingPolicy.Settings(minLimit, maxLimit,
+                environment.getProperty(PREFIX + "target-wait", Long.class, 20L),
+                environment.getProperty(PREFIX + "high-utilisation", Double.class, 0.8),
+                environment.getProperty(PREFIX + "low-utilisation", Double.class, 0.3),
+                environment.getProperty(PREFIX + "latency-tolerance", Double.class, 2.0),
+                environment.getProperty(PREFIX + "step", Integer.class, 2));
+        return new ConnectionLane(lane, pool, new PoolSizingPolicy(settings),
+                Duration.ofMillis(environment.getProperty(PREFIX + prefix + "wait-budget", Long.class, defaultWaitBudget)),
+                environment.getProperty(PREFIX + prefix + "max-queue", Integer.class, defaultMaxQueue));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,74 @@
+package com.honyrun.service.data.pool;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 按通道分配连接的ConnectionFactory
+ *
+ * 根据Reactor上下文中的PoolLane把获取请求交给对应通道的闸门和物理连接池，未配置的通道回落到OLTP。
+ * unwrap返回OLTP连接池，close关闭全部通道的连接池
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 15:00:00
+ * @modified 2025-11-05 15:00:00
+ * @version 1.0.0
+ */
+public final class GovernedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Closeable {
+
+    private final Map<PoolLane, ConnectionLane> lanes = new EnumMap<>(PoolLane.class);
+    private final ConnectionLane oltp;
+
+    GovernedConnectionFactory(List<ConnectionLane> lanes) {
+        lanes.forEach(lane -> this.lanes.put(lane.getLane(), lane));
+        this.oltp = this.lanes.get(PoolLane.OLTP);
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.deferContextual(context -> lanes.getOrDefault(PoolLane.from(context), oltp).create());
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return oltp.getPool().getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return oltp.getPool();
+    }
+
+    @Override
+    public Publisher<Void> close() {
+        List<Publisher<Void>> closes = new ArrayList<>();
+        for (ConnectionLane lane : lanes.values()) {
+            if (lane.getPool() instanceof Closeable closeable) {
+                closes.add(closeable.close());
+            }
+        }
+        return Flux.concat(closes).then();
+    }
+
+    Collection<ConnectionLane> getLanes() {
+        return lanes.values();
+    }
+
+    @Override
+    public String toString() {
+        return "GovernedConnectionFactory[" + oltp.getPool() + "]";
+    }
+}
@@ -0,0 +1,67 @@
+package com.honyrun.service.data.pool;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+/**
+ * 数据库连接通道
+ *
+ * OLTP为默认通道；统计、导出等长查询通过reporting包装在REPORTING通道上执行，
+ * 使用独立的连接池和并发上限，不占用交易请求的连接。通道通过Reactor上下文传递，
+ * 在事务中以事务开始时所在的通道为准
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 15:00:00
+ * @modified 2025-11-05 15:00:00
+ * @version 1.0.0
+ */
+public enum PoolLane {
+
+    /**
+     * 交易型短查询
+     */
+    OLTP,
+
+    /**
+     * 统计、导出等报表查询
+     */
+    REPORTING;
+
+    /**
+     * Reactor上下文中的通道键
+     */
+    public static final String CONTEXT_KEY = PoolLane.class.getName();
+
+    /**
+     * 在REPORTING通道上执行，用法：mono.transform(PoolLane::reporting)
+     *
+     * @param mono 查询
+     * @param <T>  结果类型
+     * @return 带通道上下文的查询
+     */
+    public static <T> Mono<T> reporting(Mono<T> mono) {
+        return mono.contextWrite(context -> context.put(CONTEXT_KEY, REPORTING));
+    }
+
+    /**
+     * 在REPORTING通道上执行，用法：flux.transform(PoolLane::reporting)
+     *
+     * @param flux 查询
+     * @param <T>  结果类型
+     * @return 带通道上下文的查询
+     */
+    public static <T> Flux<T> reporting(Flux<T> flux) {
+        return flux.contextWrite(context -> context.put(CONTEXT_KEY, REPORTING));
+    }
+
+    /**
+     * 从上下文解析通道，未设置时为OLTP
+     *
+     * @param context Reactor上下文
+     * @return 通道
+     */
+    public static PoolLane from(ContextView context) {
+        return context.getOrDefault(CONTEXT_KEY, OLTP);
+    }
+}
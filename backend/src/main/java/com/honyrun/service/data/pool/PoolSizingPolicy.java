@@ -0,0 +1,137 @@
+package com.honyrun.service.data.pool;
+
+/**
+ * 连接池有效上限的调整策略
+ *
+ * 每个调节周期根据一个通道的采样结果给出新的并发上限，不依赖时钟和外部状态，
+ * 可以用模拟延迟的替身数据库逐周期回放验证：
+ * - 数据库端语句延迟超过基线×容忍倍数且通道接近满载：上限乘以0.75，数据库已经变慢时继续加连接只会加剧排队
+ * - 连接获取等待P95超过目标（或有排队、有拒绝）且通道接近满载、数据库延迟不超过基线×(1+(容忍倍数-1)/2)：
+ *   上限增加一个步长，瓶颈在连接数；延迟介于两者之间时保持，避免在数据库接近饱和时来回震荡
+ * - 利用率低且没有等待：上限减1，逐步回收空闲并发
+ * - 其他情况保持不变
+ *
+ * 延迟基线在低于基线时立即跟随，高于基线时每周期只上漂1%，数据量增长等长期变化最终会被接受为新的基线
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 15:00:00
+ * @modified 2025-11-05 15:00:00
+ * @version 1.0.0
+ */
+public final class PoolSizingPolicy {
+
+    private static final double DECREASE_FACTOR = 0.75;
+    private static final double BASELINE_DRIFT = 0.01;
+
+    private final Settings settings;
+    private double baselineLatencyMillis = Double.NaN;
+
+    public PoolSizingPolicy(Settings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * 计算新的上限
+     *
+     * @param currentLimit 当前上限
+     * @param sample       本周期采样
+     * @return 调整决定
+     */
+    public synchronized Decision decide(int currentLimit, Sample sample) {
+        double utilisation = currentLimit <= 0 ? 1.0 : (double) sample.peakInFlight() / currentLimit;
+        boolean busy = utilisation >= settings.highUtilisation();
+        boolean waiting = sample.waitP95Millis() > settings.targetWaitMillis() || sample.queued() > 0
+                || sample.shed() > 0;
+
+        boolean degraded = false;
+        boolean healthy = true;
+        double latency = sample.dbLatencyMillis();
+        if (latency > 0) {
+            if (Double.isNaN(baselineLatencyMillis)) {
+                baselineLatencyMillis = latency;
+            }
+            degraded = latency > baselineLatencyMillis * settings.latencyTolerance();
+            healthy = latency <= baselineLatencyMillis * (1 + (settings.latencyTolerance() - 1) / 2);
+            baselineLatencyMillis = latency < baselineLatencyMillis ? latency
+                    : baselineLatencyMillis * (1 - BASELINE_DRIFT) + latency * BASELINE_DRIFT;
+        }
+
+        if (degraded && busy) {
+            return decision(currentLimit, (int) Math.floor(currentLimit * DECREASE_FACTOR), "数据库延迟升高");
+        }
+        if (waiting && busy) {
+            return healthy ? decision(currentLimit, currentLimit + settings.step(), "连接获取等待超过目标")
+                    : new Decision(clamp(currentLimit), "保持: 数据库延迟偏高，暂不增加连接");
+        }
+        if (utilisation < settings.lowUtilisation() && !waiting) {
+            return decision(currentLimit, currentLimit - 1, "利用率低");
+        }
+        return new Decision(clamp(currentLimit), "保持");
+    }
+
+    /**
+     * 当前延迟基线（毫秒），尚无采样时为NaN
+     *
+     * @return 延迟基线
+     */
+    public synchronized double getBaselineLatencyMillis() {
+        return baselineLatencyMillis;
+    }
+
+    public Settings getSettings() {
+        return settings;
+    }
+
+    private Decision decision(int currentLimit, int proposed, String reason) {
+        int limit = clamp(proposed);
+        return new Decision(limit, limit == currentLimit ? "保持（已到边界）: " + reason : reason);
+    }
+
+    private int clamp(int limit) {
+        return Math.max(settings.minLimit(), Math.min(settings.maxLimit(), limit));
+    }
+
+    /**
+     * 策略参数
+     *
+     * @param minLimit         上限的下界
+     * @param maxLimit         上限的上界，不超过物理连接池大小
+     * @param targetWaitMillis 连接获取等待P95目标（毫秒）
+     * @param highUtilisation  视为满载的利用率（峰值并发/上限）
+     * @param lowUtilisation   视为空闲的利用率
+     * @param latencyTolerance 数据库延迟相对基线的容忍倍数
+     * @param step             每次增加的连接数
+     */
+    public record Settings(int minLimit, int maxLimit, long targetWaitMillis, double highUtilisation,
+            double lowUtilisation, double latencyTolerance, int step) {
+
+        public Settings {
+            if (minLimit < 1 || maxLimit < minLimit) {
+                throw new IllegalArgumentException("连接上限边界无效: min=" + minLimit + ", max=" + maxLimit);
+            }
+        }
+    }
+
+    /**
+     * 一个调节周期的采样
+     *
+     * @param acquisitions    获取连接次数
+     * @param waitP95Millis   连接获取等待P95（毫秒），含通道排队和连接池获取
+     * @param peakInFlight    周期内的峰值并发
+     * @param queued          采样时排队的请求数
+     * @param shed            周期内被拒绝的请求数
+     * @param dbLatencyMillis 数据库端语句延迟中位数（毫秒），未知时为0
+     */
+    public record Sample(long acquisitions, double waitP95Millis, int peakInFlight, int queued, long shed,
+            double dbLatencyMillis) {
+    }
+
+    /**
+     * 调整决定
+     *
+     * @param limit  新的上限
+     * @param reason 原因
+     */
+    public record Decision(int limit, String reason) {
+    }
+}
@@ -0,0 +1,73 @@
+package com.honyrun.service.data.telemetry;
+
+import java.util.List;
+
+import io.r2dbc.spi.Statement;
+
+/**
+ * 单次语句执行信息
+ *
+ * 由TelemetryStatement在执行结束（execute完成且全部Result消费完毕或取消）时生成，
+ * 耗时从订阅execute开始计算，包含结果行的读取时间
+ *
+ * @param fingerprint   SQL指纹
+ * @param sql           原始SQL文本，EXPLAIN采样时使用
+ * @param bindings      第一组绑定参数，值只在内存中保留，对外只展示类型形状
+ * @param bindingSets   绑定组数，Statement.add批量执行时大于1
+ * @param elapsedNanos  执行耗时（纳秒）
+ * @param rows          读取行数与更新行数之和
+ * @param poolWaitNanos 获取该连接时在连接池上的等待时间，只计入连接上的第一条语句
+ * @param error         执行错误，成功时为null
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 09:00:00
+ * @modified 2025-11-05 09:00:00
+ * @version 1.0.0
+ */
+public record QueryExecutionInfo(SqlFingerprint fingerprint, String sql, List<Binding> bindings, int bindingSets,
+        long elapsedNanos, long rows, long poolWaitNanos, Throwable error) {
+
+    /**
+     * 绑定参数形状，如 [0:String, 1:Long, name:null(Integer)]
+     *
+     * @return 形状列表
+     */
+    public List<String> bindingShapes() {
+        return bindings.stream().map(Binding::shape).toList();
+    }
+
+    /**
+     * 绑定参数
+     *
+     * @param key      参数下标（Integer）或名称（String）
+     * @param value    参数值，bindNull时为null
+     * @param nullType bindNull的类型
+     */
+    public record Binding(Object key, Object value, Class<?> nullType) {
+
+        public String shape() {
+            String type = value != null ? value.getClass().getSimpleName()
+                    : "null(" + (nullType == null ? "?" : nullType.getSimpleName()) + ")";
+            return key + ":" + type;
+        }
+
+        /**
+         * 把参数重新绑定到另一条语句上
+         *
+         * @param statement 目标语句
+         */
+        public void bindTo(Statement statement) {
+            if (key instanceof Integer index) {
+                if (value != null) {
+                    statement.bind(index, value);
+                } else {
+                    statement.bindNull(index, nullType);
+                }
+            } else if (value != null) {
+                statement.bind((String) key, value);
+            } else {
+                statement.bindNull((String) key, nullType);
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.honyrun.service.data.telemetry;
+
+/**
+ * 语句执行监听器
+ *
+ * 回调在R2DBC驱动的事件线程上执行，实现必须非阻塞且不能抛出异常
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 09:00:00
+ * @modified 2025-11-05 09:00:00
+ * @version 1.0.0
+ */
+public interface QueryExecutionListener {
+
+    /**
+     * 从连接池获取连接结束
+     *
+     * @param waitNanos 等待时间（纳秒）
+     * @param error     获取失败时的错误，成功时为null
+     */
+    void afterAcquire(long waitNanos, Throwable error);
+
+    /**
+     * 语句执行结束
+     *
+     * @param info 执行信息
+     */
+    void afterQuery(QueryExecutionInfo info);
+}
@@ -0,0 +1,78 @@
+package com.honyrun.service.data.telemetry;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.r2dbc.spi.ConnectionFactory;
+
+/**
+ * 为ConnectionFactory Bean加上语句遥测
+ *
+ * 开发和生产配置类各自创建连接池，在Bean后处理阶段统一包装，配置类无需改动。
+ * 记录器延迟到第一次回调时才解析，避免后处理器提前初始化记录器及其依赖的MeterRegistry；
+ * honyrun.r2dbc.telemetry.enabled=false时不注册本后处理器，连接工厂保持原样
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 09:00:00
+ * @modified 2025-11-05 09:00:00
+ * @version 1.0.0
+ */
+@Component
+@ConditionalOnProperty(name = "honyrun.r2dbc.telemetry.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryTelemetryPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<QueryTelemetryRecorder> recorderProvider;
+
+    public QueryTelemetryPostProcessor(ObjectProvider<QueryTelemetryRecorder> recorderProvider) {
+        this.recorderProvider = recorderProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof ConnectionFactory connectionFactory && !(bean instanceof TelemetryConnectionFactory)) {
+            return new TelemetryConnectionFactory(connectionFactory, new DeferredListener(recorderProvider));
+        }
+        return bean;
+    }
+
+    /**
+     * 第一次回调时解析记录器并缓存
+     */
+    private static final class DeferredListener implements QueryExecutionListener {
+
+        private final ObjectProvider<QueryTelemetryRecorder> provider;
+        private volatile QueryExecutionListener target;
+
+        private DeferredListener(ObjectProvider<QueryTelemetryRecorder> provider) {
+            this.provider = provider;
+        }
+
+        @Override
+        public void afterAcquire(long waitNanos, Throwable error) {
+            QueryExecutionListener listener = resolve();
+            if (listener != null) {
+                listener.afterAcquire(waitNanos, error);
+            }
+        }
+
+        @Override
+        public void afterQuery(QueryExecutionInfo info) {
+            QueryExecutionListener listener = resolve();
+            if (listener != null) {
+                listener.afterQuery(info);
+            }
+        }
+
+        private QueryExecutionListener resolve() {
+            QueryExecutionListener listener = target;
+            if (listener == null) {
+                listener = provider.getIfAvailable();
+                target = listener;
+            }
+            return listener;
+        }
+    }
+}
@@ -0,0 +1,466 @@
+package com.honyrun.service.data.telemetry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.service.data.pool.PoolLane;
+import com.honyrun.service.monitoring.latency.LatencyHistogram;
+import com.honyrun.service.monitoring.latency.LatencyHistogramRegistry;
+import com.honyrun.service.monitoring.latency.SloTarget;
+import com.honyrun.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.Wrapped;
+import jakarta.annotation.PostConstruct;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * R2DBC语句遥测记录器
+ *
+ * 按SQL指纹汇总执行次数、错误、行数、连接池等待时间，延迟写入LatencyHistogramRegistry
+ * （指标honyrun.r2dbc.query，标签fingerprint，SLO阈值即慢查询阈值）；
+ * 行数、慢查询数、错误数按语句类型发布为honyrun.r2dbc.query.rows/slow/errors，连接获取等待发布为honyrun.r2dbc.pool.acquire。
+ *
+ * 超过慢查询阈值的执行写入固定容量的慢查询日志（只含绑定参数形状，不含参数值），
+ * 同一指纹每分钟最多输出一条WARN日志。开启EXPLAIN采样时，定时对最慢的若干指纹用其最慢一次执行的SQL和参数
+ * 在REPORTING通道上执行EXPLAIN（绕过遥测包装），参数值只保存在内存中供采样使用。
+ * 全部语句的延迟另记入区间直方图，供连接池调节器判断数据库端延迟
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 09:00:00
+ * @modified 2025-11-05 09:00:00
+ * @version 1.0.0
+ */
+@Component
+public class QueryTelemetryRecorder implements QueryExecutionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryTelemetryRecorder.class);
+
+    private static final long SLOW_LOG_INTERVAL_MILLIS = 60_000L;
+    private static final double SLO_OBJECTIVE = 0.99;
+    private static final Set<String> EXPLAINABLE_OPERATIONS = Set.of("SELECT", "WITH", "UPDATE", "DELETE");
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<ConnectionFactory> connectionFactories;
+
+    @Value("${honyrun.r2dbc.telemetry.enabled:true}")
+    private boolean enabled;
+
+    @Value("${honyrun.r2dbc.telemetry.max-fingerprints:500}")
+    private int maxFingerprints;
+
+    @Value("${honyrun.r2dbc.telemetry.slow-threshold:500}")
+    private long slowThresholdMillis;
+
+    @Value("${honyrun.r2dbc.telemetry.slow-log-capacity:100}")
+    private int slowLogCapacity;
+
+    @Value("${honyrun.r2dbc.telemetry.explain.enabled:false}")
+    private boolean explainEnabled;
+
+    @Value("${honyrun.r2dbc.telemetry.explain.top:5}")
+    private int explainTop;
+
+    @Value("${honyrun.r2dbc.telemetry.explain.timeout:5000}")
+    private long explainTimeoutMillis;
+
+    @Value("${honyrun.monitoring.latency.highest-trackable-millis:60000}")
+    private long highestTrackableMillis;
+
+    @Value("${honyrun.monitoring.latency.significant-digits:2}")
+    private int significantDigits;
+
+    private LatencyHistogramRegistry latency;
+    private Timer acquireSuccess;
+    private Timer acquireFailure;
+
+    private final Map<String, FingerprintStats> fingerprints = new ConcurrentHashMap<>();
+    private final Map<String, OperationMeters> operationMeters = new ConcurrentHashMap<>();
+    private final Deque<SlowQuery> slowLog = new ArrayDeque<>();
+    private final LongAdder slowTotal = new LongAdder();
+    private final Recorder intervalLatencyMicros = new Recorder(2);
+
+    public QueryTelemetryRecorder(MeterRegistry meterRegistry, ObjectProvider<ConnectionFactory> connectionFactories) {
+        this.meterRegistry = meterRegistry;
+        this.connectionFactories = connectionFactories;
+    }
+
+    @PostConstruct
+    public void initialize() {
+        SloTarget target = new SloTarget(slowThresholdMillis, SLO_OBJECTIVE);
+        latency = new LatencyHistogramRegistry("honyrun.r2dbc.query", "fingerprint", meterRegistry,
+                maxFingerprints, highestTrackableMillis, significantDigits, key -> target);
+        acquireSuccess = acquireTimer("success");
+        acquireFailure = acquireTimer("failure");
+        LoggingUtil.info(logger, "R2DBC语句遥测初始化完成: 启用={}, 慢查询阈值={}ms, 指纹上限={}, EXPLAIN采样={}",
+                enabled, slowThresholdMillis, maxFingerprints, explainEnabled);
+    }
+
+    private Timer acquireTimer(String result) {
+        return Timer.builder("honyrun.r2dbc.pool.acquire")
+                .description("从R2DBC连接池获取连接的等待时间")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterAcquire(long waitNanos, Throwable error) {
+        (error == null ? acquireSuccess : acquireFailure).record(waitNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void afterQuery(QueryExecutionInfo info) {
+        SqlFingerprint fingerprint = info.fingerprint();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(info.elapsedNanos());
+        boolean failed = info.error() != null;
+        FingerprintStats stats = statsFor(fingerprint);
+        stats.record(info, elapsedMillis);
+        latency.record(fingerprint.getId(), elapsedMillis, failed);
+        intervalLatencyMicros.recordValue(TimeUnit.NANOSECONDS.toMicros(info.elapsedNanos()));
+
+        OperationMeters meters = operationMeters.computeIfAbsent(fingerprint.getOperation(), this::createOperationMeters);
+        meters.rows.record(info.rows());
+        if (failed) {
+            meters.errors.increment();
+        }
+        if (elapsedMillis >= slowThresholdMillis) {
+            meters.slow.increment();
+            recordSlowQuery(stats, info, elapsedMillis);
+        }
+    }
+
+    private FingerprintStats statsFor(SqlFingerprint fingerprint) {
+        FingerprintStats stats = fingerprints.get(fingerprint.getId());
+        if (stats != null) {
+            return stats;
+        }
+        if (fingerprints.size() >= maxFingerprints) {
+            return fingerprints.computeIfAbsent(LatencyHistogramRegistry.OVERFLOW_KEY,
+                    key -> new FingerprintStats(key, "OTHER", "(超出指纹上限的语句)"));
+        }
+        return fingerprints.computeIfAbsent(fingerprint.getId(),
+                key -> new FingerprintStats(key, fingerprint.getOperation(), fingerprint.getSql()));
+    }
+
+    private OperationMeters createOperationMeters(String operation) {
+        return new OperationMeters(
+                DistributionSummary.builder("honyrun.r2dbc.query.rows")
+                        .description("单条语句读取或更新的行数")
+                        .tag("operation", operation)
+                        .register(meterRegistry),
+                Counter.builder("honyrun.r2dbc.query.slow")
+                        .description("超过慢查询阈值的语句数")
+                        .tag("operation", operation)
+                        .register(meterRegistry),
+                Counter.builder("honyrun.r2dbc.query.errors")
+                        .description("执行失败的语句数")
+                        .tag("operation", operation)
+                        .register(meterRegistry));
+    }
+
+    private void recordSlowQuery(FingerprintStats stats, QueryExecutionInfo info, long elapsedMillis) {
+        slowTotal.increment();
+        stats.slow.increment();
+        String error = info.error() == null ? null : info.error().getClass().getSimpleName();
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), stats.id, info.fingerprint().getSql(), elapsedMillis,
+                info.rows(), TimeUnit.NANOSECONDS.toMillis(info.poolWaitNanos()), info.bindingShapes(),
+                info.bindingSets(), error);
+        synchronized (slowLog) {
+            if (slowLog.size() >= slowLogCapacity) {
+                slowLog.pollFirst();
+            }
+            slowLog.addLast(slowQuery);
+        }
+        if (explainEnabled && info.error() == null && EXPLAINABLE_OPERATIONS.contains(stats.operation)) {
+            stats.offerExplainCandidate(info, elapsedMillis);
+        }
+        long now = System.currentTimeMillis();
+        long last = stats.lastSlowLogMillis.get();
+        if (now - last >= SLOW_LOG_INTERVAL_MILLIS && stats.lastSlowLogMillis.compareAndSet(last, now)) {
+            LoggingUtil.warn(logger, "慢查询: 指纹={}, 耗时={}ms, 行数={}, 参数={}, SQL={}",
+                    stats.id, elapsedMillis, info.rows(), slowQuery.bindingShapes(), slowQuery.sql());
+        }
+    }
+
+    /**
+     * 上次调用以来全部语句延迟的中位数，供连接池调节器使用，每次调用开始新的区间
+     *
+     * @return 延迟中位数（毫秒），区间内没有语句时为0
+     */
+    public double takeIntervalMedianMillis() {
+        Histogram interval = intervalLatencyMicros.getIntervalHistogram();
+        return interval.getTotalCount() == 0 ? 0.0 : interval.getValueAtPercentile(50) / 1000.0;
+    }
+
+    @Scheduled(fixedDelayString = "#{${honyrun.monitoring.latency.rotation-interval:10000}}")
+    public void rotate() {
+        latency.rotate(System.currentTimeMillis());
+    }
+
+    /**
+     * 对最慢的若干指纹采样EXPLAIN
+     */
+    @Scheduled(fixedDelayString = "#{${honyrun.r2dbc.telemetry.explain.interval:300000}}",
+            initialDelayString = "#{${honyrun.r2dbc.telemetry.explain.interval:300000}}")
+    public void sampleExplainPlans() {
+        if (!explainEnabled) {
+            return;
+        }
+        ConnectionFactory target = rawConnectionFactory();
+        if (target == null) {
+            return;
+        }
+        List<FingerprintStats> candidates = fingerprints.values().stream()
+                .filter(stats -> stats.explainCandidate != null)
+                .sorted(Comparator.comparingLong((FingerprintStats stats) -> stats.explainCandidate.elapsedMillis())
+                        .reversed())
+                .limit(explainTop)
+                .toList();
+        Flux.fromIterable(candidates)
+                .concatMap(stats -> explain(target, stats))
+                .subscribe();
+    }
+
+    private Mono<Void> explain(ConnectionFactory target, FingerprintStats stats) {
+        ExplainCandidate candidate = stats.explainCandidate;
+        stats.explainCandidate = null;
+        return Mono.usingWhen(target.create(),
+                connection -> runExplain(connection, candidate),
+                Connection::close)
+                .timeout(Duration.ofMillis(explainTimeoutMillis))
+                .transform(PoolLane::reporting)
+                .doOnNext(plan -> stats.explainPlan = new ExplainPlan(Instant.now(), candidate.elapsedMillis(), plan, null))
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "EXPLAIN采样失败: 指纹={}, 原因={}", stats.id, error.getMessage());
+                    stats.explainPlan = new ExplainPlan(Instant.now(), candidate.elapsedMillis(), List.of(),
+                            error.getClass().getSimpleName() + ": " + error.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    private Mono<List<Map<String, Object>>> runExplain(Connection connection, ExplainCandidate candidate) {
+        Statement statement = connection.createStatement("EXPLAIN " + candidate.sql());
+        candidate.bindings().forEach(binding -> binding.bindTo(statement));
+        return Flux.from(statement.execute())
+                .concatMap(result -> result.map(QueryTelemetryRecorder::toMap))
+                .collectList();
+    }
+
+    private static Map<String, Object> toMap(Row row, RowMetadata metadata) {
+        Map<String, Object> columns = new LinkedHashMap<>();
+        metadata.getColumnMetadatas().forEach(column -> columns.put(column.getName(), row.get(column.getName())));
+        return columns;
+    }
+
+    /**
+     * 遥测装饰器内层的连接工厂，EXPLAIN采样使用它，避免采样语句计入遥测
+     */
+    private ConnectionFactory rawConnectionFactory() {
+        ConnectionFactory factory = connectionFactories.getIfUnique();
+        return factory instanceof TelemetryConnectionFactory telemetry ? telemetry.unwrap() : factory;
+    }
+
+    // ==================== 端点数据 ====================
+
+    /**
+     * 遥测总览：配置、累计值、连接池、按总耗时排序的指纹和最近的慢查询
+     *
+     * @param top 返回的指纹数量
+     * @return 总览
+     */
+    public Map<String, Object> getStatus(int top) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("enabled", enabled);
+        settings.put("slowThresholdMillis", slowThresholdMillis);
+        settings.put("maxFingerprints", maxFingerprints);
+        settings.put("slowLogCapacity", slowLogCapacity);
+        settings.put("explainEnabled", explainEnabled);
+        result.put("settings", settings);
+
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("fingerprints", fingerprints.size());
+        totals.put("executions", latency.totalCount());
+        totals.put("totalTimeMillis", latency.totalMillis());
+        totals.put("errors", latency.totalFailures());
+        totals.put("slowQueries", slowTotal.sum());
+        result.put("totals", totals);
+        result.put("pool", describePool());
+
+        result.put("fingerprints", fingerprints.values().stream()
+                .sorted(Comparator.comparingLong((FingerprintStats stats) -> stats.totalNanos.sum()).reversed())
+                .limit(top)
+                .map(FingerprintStats::describe)
+                .toList());
+        result.put("slowQueries", getSlowQueries());
+        return result;
+    }
+
+    /**
+     * 单个指纹的详情，含延迟窗口百分位、最近一次慢查询参数形状和EXPLAIN采样结果
+     *
+     * @param id 指纹ID
+     * @return 详情，指纹不存在时返回null
+     */
+    public Map<String, Object> getFingerprintStatus(String id) {
+        FingerprintStats stats = fingerprints.get(id);
+        if (stats == null) {
+            return null;
+        }
+        Map<String, Object> result = stats.describe();
+        LatencyHistogram histogram = latency.get(id);
+        if (histogram != null) {
+            result.put("latency", histogram.describe(System.currentTimeMillis()));
+        }
+        result.put("slowQueries", getSlowQueries().stream().filter(slow -> slow.fingerprint().equals(id)).toList());
+        result.put("explain", stats.explainPlan);
+        return result;
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowLog) {
+            return new ArrayList<>(slowLog);
+        }
+    }
+
+    private Map<String, Object> describePool() {
+        Map<String, Object> pool = new LinkedHashMap<>();
+        pool.put("acquires", acquireSuccess.count());
+        pool.put("acquireFailures", acquireFailure.count());
+        pool.put("acquireMeanMillis", acquireSuccess.mean(TimeUnit.MILLISECONDS));
+        pool.put("acquireMaxMillis", acquireSuccess.max(TimeUnit.MILLISECONDS));
+        Object factory = rawConnectionFactory();
+        while (factory != null && !(factory instanceof ConnectionPool)) {
+            factory = factory instanceof Wrapped<?> wrapped ? wrapped.unwrap() : null;
+        }
+        if (factory instanceof ConnectionPool connectionPool) {
+            connectionPool.getMetrics().ifPresent(metrics -> {
+                pool.put("acquired", metrics.acquiredSize());
+                pool.put("allocated", metrics.allocatedSize());
+                pool.put("idle", metrics.idleSize());
+                pool.put("pendingAcquire", metrics.pendingAcquireSize());
+                pool.put("maxAllocated", metrics.getMaxAllocatedSize());
+            });
+        }
+        return pool;
+    }
+
+    // ==================== 内部类型 ====================
+
+    /**
+     * 慢查询记录
+     */
+    public record SlowQuery(Instant time, String fingerprint, String sql, long elapsedMillis, long rows,
+            long poolWaitMillis, List<String> bindingShapes, int bindingSets, String error) {
+    }
+
+    /**
+     * EXPLAIN采样结果
+     */
+    public record ExplainPlan(Instant sampledAt, long sampleElapsedMillis, List<Map<String, Object>> plan,
+            String error) {
+    }
+
+    private record ExplainCandidate(String sql, List<QueryExecutionInfo.Binding> bindings, long elapsedMillis) {
+    }
+
+    private record OperationMeters(DistributionSummary rows, Counter slow, Counter errors) {
+    }
+
+    private static final class FingerprintStats {
+
+        private final String id;
+        private final String operation;
+        private final String sql;
+        private final LongAdder executions = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAdder poolWaitNanos = new LongAdder();
+        private final LongAdder slow = new LongAdder();
+        private final AtomicLong minMillis = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong maxMillis = new AtomicLong();
+        private final AtomicLong maxRows = new AtomicLong();
+        private final AtomicLong lastSlowLogMillis = new AtomicLong();
+        private volatile ExplainCandidate explainCandidate;
+        private volatile ExplainPlan explainPlan;
+
+        private FingerprintStats(String id, String operation, String sql) {
+            this.id = id;
+            this.operation = operation;
+            this.sql = sql;
+        }
+
+        private void record(QueryExecutionInfo info, long elapsedMillis) {
+            executions.increment();
+            if (info.error() != null) {
+                errors.increment();
+            }
+            rows.add(info.rows());
+            totalNanos.add(info.elapsedNanos());
+            poolWaitNanos.add(info.poolWaitNanos());
+            minMillis.accumulateAndGet(elapsedMillis, Math::min);
+            maxMillis.accumulateAndGet(elapsedMillis, Math::max);
+            maxRows.accumulateAndGet(info.rows(), Math::max);
+        }
+
+        private void offerExplainCandidate(QueryExecutionInfo info, long elapsedMillis) {
+            ExplainCandidate current = explainCandidate;
+            if (current == null || elapsedMillis > current.elapsedMillis()) {
+                explainCandidate = new ExplainCandidate(info.sql(), info.bindings(), elapsedMillis);
+            }
+        }
+
+        private Map<String, Object> describe() {
+            long count = executions.sum();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("id", id);
+            result.put("operation", operation);
+            result.put("sql", sql);
+            result.put("executions", count);
+            result.put("errors", errors.sum());
+            result.put("slow", slow.sum());
+            result.put("totalTimeMillis", TimeUnit.NANOSECONDS.toMillis(totalNanos.sum()));
+            result.put("averageTimeMillis", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count);
+            result.put("minTimeMillis", count == 0 ? 0 : minMillis.get());
+            result.put("maxTimeMillis", maxMillis.get());
+            result.put("rows", rows.sum());
+            result.put("averageRows", count == 0 ? 0.0 : (double) rows.sum() / count);
+            result.put("maxRows", maxRows.get());
+            result.put("poolWaitMillis", TimeUnit.NANOSECONDS.toMillis(poolWaitNanos.sum()));
+            return result;
+        }
+    }
+}
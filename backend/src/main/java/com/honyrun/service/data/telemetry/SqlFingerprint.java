@@ -0,0 +1,191 @@
+package com.honyrun.service.data.telemetry;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * SQL指纹
+ *
+ * 把字面量、绑定占位符（?、:name、$1）统一替换为?，去掉注释并压缩空白、转为小写，
+ * IN列表与多行VALUES折叠为(?+)，参数个数不同的同一语句得到相同指纹。
+ * 指纹ID为规范化文本的64位FNV-1a哈希，用作指标标签和端点选择器
+ *
+ * 仓库生成的SQL文本数量有限，按原始文本缓存规范化结果，缓存条目有上限
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 09:00:00
+ * @modified 2025-11-05 09:00:00
+ * @version 1.0.0
+ */
+public final class SqlFingerprint {
+
+    private static final int CACHE_LIMIT = 4096;
+    private static final Map<String, SqlFingerprint> CACHE = new ConcurrentHashMap<>();
+
+    private static final Pattern PLACEHOLDER_TUPLE = Pattern.compile("\\(\\?(?:, ?\\?)+\\)");
+    private static final Pattern SINGLE_IN = Pattern.compile("\\bin \\(\\?\\)");
+    private static final Pattern REPEATED_TUPLES = Pattern.compile("\\(\\?\\+\\)(?:, ?\\(\\?\\+\\))+");
+
+    private final String id;
+    private final String sql;
+    private final String operation;
+
+    private SqlFingerprint(String id, String sql, String operation) {
+        this.id = id;
+        this.sql = sql;
+        this.operation = operation;
+    }
+
+    /**
+     * 获取SQL文本的指纹
+     *
+     * @param rawSql 原始SQL
+     * @return 指纹
+     */
+    public static SqlFingerprint of(String rawSql) {
+        String key = rawSql == null ? "" : rawSql;
+        SqlFingerprint cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        String normalized = normalize(key);
+        SqlFingerprint fingerprint = new SqlFingerprint(hash(normalized), normalized, operationOf(normalized));
+        if (CACHE.size() < CACHE_LIMIT) {
+            CACHE.putIfAbsent(key, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 规范化SQL文本
+     *
+     * @param sql 原始SQL
+     * @return 规范化文本
+     */
+    static String normalize(String sql) {
+        int length = sql.length();
+        StringBuilder out = new StringBuilder(length);
+        boolean pendingSpace = false;
+        int i = 0;
+        while (i < length) {
+            char c = sql.charAt(i);
+            char next = i + 1 < length ? sql.charAt(i + 1) : '\0';
+            if (Character.isWhitespace(c)) {
+                pendingSpace = out.length() > 0;
+                i++;
+                continue;
+            }
+            if ((c == '-' && next == '-') || c == '#') {
+                while (i < length && sql.charAt(i) != '\n') {
+                    i++;
+                }
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (c == '/' && next == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+                pendingSpace = out.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                out.append(' ');
+                pendingSpace = false;
+            }
+            if (c == '\'') {
+                i = skipQuoted(sql, i);
+                out.append('?');
+            } else if (c == '`') {
+                int end = sql.indexOf('`', i + 1);
+                end = end < 0 ? length : end + 1;
+                out.append(sql, i, end);
+                i = end;
+            } else if (Character.isDigit(c) && !isIdentifierEnd(out)) {
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if ((c == ':' && Character.isLetter(next) && !isColonEnd(out)) || (c == '$' && Character.isDigit(next))) {
+                i++;
+                while (i < length && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_')) {
+                    i++;
+                }
+                out.append('?');
+            } else {
+                out.append(Character.toLowerCase(c));
+                i++;
+            }
+        }
+        String normalized = PLACEHOLDER_TUPLE.matcher(out).replaceAll("(?+)");
+        normalized = SINGLE_IN.matcher(normalized).replaceAll("in (?+)");
+        return REPEATED_TUPLES.matcher(normalized).replaceAll("(?+)");
+    }
+
+    private static int skipQuoted(String sql, int start) {
+        int i = start + 1;
+        while (i < sql.length()) {
+            char c = sql.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == '\'') {
+                if (i + 1 < sql.length() && sql.charAt(i + 1) == '\'') {
+                    i += 2;
+                } else {
+                    return i + 1;
+                }
+            } else {
+                i++;
+            }
+        }
+        return sql.length();
+    }
+
+    private static boolean isIdentifierEnd(StringBuilder out) {
+        if (out.length() == 0) {
+            return false;
+        }
+        char last = out.charAt(out.length() - 1);
+        return Character.isLetterOrDigit(last) || last == '_' || last == '$';
+    }
+
+    private static boolean isColonEnd(StringBuilder out) {
+        return out.length() > 0 && out.charAt(out.length() - 1) == ':';
+    }
+
+    private static String operationOf(String normalized) {
+        int end = 0;
+        while (end < normalized.length() && Character.isLetter(normalized.charAt(end))) {
+            end++;
+        }
+        return end == 0 ? "OTHER" : normalized.substring(0, end).toUpperCase(Locale.ROOT);
+    }
+
+    private static String hash(String text) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < text.length(); i++) {
+            hash ^= text.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        String hex = Long.toHexString(hash);
+        return "0".repeat(16 - hex.length()) + hex;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    /**
+     * 语句类型，规范化文本的第一个关键字，如SELECT、INSERT
+     *
+     * @return 语句类型
+     */
+    public String getOperation() {
+        return operation;
+    }
+}
@@ -0,0 +1,67 @@
+package com.honyrun.service.data.telemetry;
+
+import org.reactivestreams.Publisher;
+
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import reactor.core.publisher.Mono;
+
+/**
+ * 带语句遥测的ConnectionFactory装饰器
+ *
+ * 包装连接池，记录每次获取连接的等待时间，返回的连接创建的语句在执行结束时通知QueryExecutionListener。
+ * 实现Wrapped，需要原始连接池（如读取ConnectionPool指标、EXPLAIN采样）时通过unwrap获取；
+ * close委托给被包装的工厂，容器销毁时连接池照常关闭
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 09:00:00
+ * @modified 2025-11-05 09:00:00
+ * @version 1.0.0
+ */
+public final class TelemetryConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Closeable {
+
+    private final ConnectionFactory delegate;
+    private final QueryExecutionListener listener;
+
+    public TelemetryConnectionFactory(ConnectionFactory delegate, QueryExecutionListener listener) {
+        this.delegate = delegate;
+        this.listener = listener;
+    }
+
+    @Override
+    public Mono<Connection> create() {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return Mono.from(delegate.create())
+                    .doOnError(error -> listener.afterAcquire(System.nanoTime() - start, error))
+                    .map(connection -> {
+                        long waitNanos = System.nanoTime() - start;
+                        listener.afterAcquire(waitNanos, null);
+                        return new TelemetryConnection(connection, listener, waitNanos);
+                    });
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public Publisher<Void> close() {
+        return delegate instanceof Closeable closeable ? closeable.close() : Mono.empty();
+    }
+
+    @Override
+    public String toString() {
+        return "TelemetryConnectionFactory[" + delegate + "]";
+    }
+}
@@ -0,0 +1,223 @@
+package com.honyrun.service.data.telemetry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.reactivestreams.Publisher;
+
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Flux;
+
+/**
+ * 带遥测的语句
+ *
+ * 记录第一组绑定参数和绑定组数，execute被订阅时开始计时。execute本身与它发出的每个Result各持有一个计数，
+ * 全部完成、出错或取消后生成一次QueryExecutionInfo，因此耗时包含行读取，未消费的Result不会被计入
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-05 09:00:00
+ * @modified 2025-11-05 09:00:00
+ * @version 1.0.0
+ */
+final class TelemetryStatement implements Statement {
+
+    private final Statement delegate;
+    private final String sql;
+    private final QueryExecutionListener listener;
+    private final List<QueryExecutionInfo.Binding> bindings = new ArrayList<>();
+    private int bindingSets = 1;
+    private long poolWaitNanos;
+
+    TelemetryStatement(Statement delegate, String sql, QueryExecutionListener listener, long poolWaitNanos) {
+        this.delegate = delegate;
+        this.sql = sql;
+        this.listener = listener;
+        this.poolWaitNanos = poolWaitNanos;
+    }
+
+    @Override
+    public Statement add() {
+        delegate.add();
+        bindingSets++;
+        return this;
+    }
+
+    @Override
+    public Statement bind(int index, Object value) {
+        delegate.bind(index, value);
+        capture(index, value, null);
+        return this;
+    }
+
+    @Override
+    public Statement bind(String name, Object value) {
+        delegate.bind(name, value);
+        capture(name, value, null);
+        return this;
+    }
+
+    @Override
+    public Statement bindNull(int index, Class<?> type) {
+        delegate.bindNull(index, type);
+        capture(index, null, type);
+        return this;
+    }
+
+    @Override
+    public Statement bindNull(String name, Class<?> type) {
+        delegate.bindNull(name, type);
+        capture(name, null, type);
+        return this;
+    }
+
+    @Override
+    public Statement returnGeneratedValues(String... columns) {
+        delegate.returnGeneratedValues(columns);
+        return this;
+    }
+
+    @Override
+    public Statement fetchSize(int rows) {
+        delegate.fetchSize(rows);
+        return this;
+    }
+
+    @Override
+    public Publisher<? extends Result> execute() {
+        Execution execution = new Execution(List.copyOf(bindings), bindingSets, poolWaitNanos);
+        poolWaitNanos = 0;
+        return Flux.from(delegate.execute())
+                .doOnSubscribe(subscription -> execution.start())
+                .<Result>map(execution::wrap)
+                .doOnError(execution::fail)
+                .doFinally(signal -> execution.release());
+    }
+
+    private void capture(Object key, Object value, Class<?> nullType) {
+        // 批量执行只保留第一组参数，足以描述形状和做EXPLAIN
+        if (bindingSets == 1) {
+            bindings.add(new QueryExecutionInfo.Binding(key, value, nullType));
+        }
+    }
+
+    /**
+     * 一次execute的统计状态
+     */
+    private final class Execution {
+
+        private final List<QueryExecutionInfo.Binding> executedBindings;
+        private final int executedBindingSets;
+        private final long executedPoolWaitNanos;
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final AtomicLong rows = new AtomicLong();
+        private volatile long startNanos;
+        private volatile Throwable error;
+
+        private Execution(List<QueryExecutionInfo.Binding> bindings, int bindingSets, long poolWaitNanos) {
+            this.executedBindings = bindings;
+            this.executedBindingSets = bindingSets;
+            this.executedPoolWaitNanos = poolWaitNanos;
+        }
+
+        private void start() {
+            startNanos = System.nanoTime();
+        }
+
+        private Result wrap(Result result) {
+            pending.incrementAndGet();
+            return new TelemetryResult(result, this, new AtomicBoolean());
+        }
+
+        private void addRows(long count) {
+            rows.addAndGet(count);
+        }
+
+        private void fail(Throwable throwable) {
+            if (error == null) {
+                error = throwable;
+            }
+        }
+
+        private void release() {
+            if (pending.decrementAndGet() == 0) {
+                listener.afterQuery(new QueryExecutionInfo(SqlFingerprint.of(sql), sql, executedBindings,
+                        executedBindingSets, System.nanoTime() - startNanos, rows.get(), executedPoolWaitNanos, error));
+            }
+        }
+    }
+
+    /**
+     * 统计行数的Result，filter返回的Result与原Result共享同一个释放标记
+     */
+    private static final class TelemetryResult implements Result {
+
+        private final Result delegate;
+        private final Execution execution;
+        private final AtomicBoolean released;
+
+        private TelemetryResult(Result delegate, Execution execution, AtomicBoolean released) {
+            this.delegate = delegate;
+            this.execution = execution;
+            this.released = released;
+        }
+
+        @Override
+        public Publisher<Long> getRowsUpdated() {
+            return observe(Flux.from(delegate.getRowsUpdated()).doOnNext(execution::addRows));
+        }
+
+        @Override
+        public <T> Publisher<T> map(BiFunction<Row, RowMetadata, ? extends T> mappingFunction) {
+            return observe(Flux.from(delegate.map((row, metadata) -> {
+                execution.addRows(1);
+                return mappingFunction.apply(row, metadata);
+            })));
+        }
+
+        @Override
+        public <T> Publisher<T> map(Function<? super Readable, ? extends T> mappingFunction) {
+            return observe(Flux.from(delegate.map(readable -> {
+                if (readable instanceof Row) {
+                    execution.addRows(1);
+                }
+                return mappingFunction.apply(readable);
+            })));
+        }
+
+        @Override
+        public Result filter(Predicate<Segment> filter) {
+            return new TelemetryResult(delegate.filter(filter), execution, released);
+        }
+
+        @Override
+        public <T> Publisher<T> flatMap(Function<Segment, ? extends Publisher<? extends T>> mappingFunction) {
+            return observe(Flux.from(delegate.flatMap(segment -> {
+                if (segment instanceof RowSegment) {
+                    execution.addRows(1);
+                } else if (segment instanceof UpdateCount updateCount) {
+                    execution.addRows(updateCount.value());
+                }
+                return mappingFunction.apply(segment);
+            })));
+        }
+
+        private <T> Flux<T> observe(Flux<T> flux) {
+            return flux.doOnError(execution::fail)
+                    .doFinally(signal -> {
+                        if (released.compareAndSet(false, true)) {
+                            execution.release();
+                        }
+                    });
+        }
+    }
+}
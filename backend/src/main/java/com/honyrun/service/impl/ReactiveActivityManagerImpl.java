@@ -6,19 +6,29 @@ import com.honyrun.constant.CacheConstants;
 import com.honyrun.exception.BusinessException;
 import com.honyrun.exception.ErrorCode;
 import com.honyrun.model.dto.reactive.ReactiveActiveActivity;
+import com.honyrun.model.entity.system.ConcurrentUserStats;
 import com.honyrun.service.reactive.ReactiveTokenBlacklistService;
 import com.honyrun.util.LoggingUtil;
 import com.honyrun.util.common.JsonUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Range;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import com.honyrun.service.reactive.ReactiveActivityManager;
 
-import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 
 /**
  * 响应式活动状态管理器实现类
@@ -26,23 +36,160 @@ import java.time.Duration;
  * @author Mr.Rey
  * @version 2.0.0
  * @created 2025-07-01  20:50:00
- * @modified 2025-10-26 01:36:12
+ * @modified 2025-11-04 20:00:00
  *
  * Copyright © 2025 HonyRun. All rights reserved.
  *
  * 实现基于Redis的响应式用户活动状态管理功能
  * 包含用户活动追踪、并发控制、强制下线等功能
+ *
+ * 会话登记结构：
+ * - honyrun:user:session:{活动ID} 会话记录JSON，过期时间为空闲超时
+ * - honyrun:user:session-index:{用户ID} 用户会话ZSET，成员为活动ID，分值为最后活动时间
+ * - honyrun:user:active-users 在线用户ZSET，成员为用户ID，分值为最后活动时间
+ * - honyrun:user:active-sessions 在线会话ZSET，成员为"用户ID:活动ID"，过期清理据此定位会话
+ * - honyrun:user:session-owners 用户名到用户ID的映射，按用户名移除会话时使用
+ * - honyrun:user:session-stats 峰值在线用户数、峰值时间、登录与登出次数
+ *
+ * 登记、刷新、释放与过期清理都在Lua脚本内完成，时间取Redis TIME：
+ * - 登记时先按分值区间移除该用户的过期会话，超过单用户会话上限时移除最早的会话并返回其记录，
+ *   调用方将被挤下线会话的令牌加入黑名单；在线人数、会话数与峰值在同一次调用内更新
+ * - 过期会话按分值区间批量移除，不扫描会话记录键
+ * - 脚本内按前缀拼接会话记录键，只适用于单节点或主从部署的Redis
  */
 @Service
 public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
 
     private static final Logger logger = LoggerFactory.getLogger(ReactiveActivityManagerImpl.class);
 
+    private static final String EVICTION_REASON = "超出单用户并发会话数上限";
+
+    // Lua脚本：移除用户的过期会话，超出上限时移除最早的会话，登记新会话并更新统计
+    // 返回{在线用户数, 在线会话数, 该用户会话数, 被移除会话的记录...}
+    private static final String ADMIT_SCRIPT = "local now = redis.call('time')\n" +
+            "local nowMillis = now[1] .. string.format('%03d', math.floor(tonumber(now[2]) / 1000))\n" +
+            "local cutoff = tonumber(nowMillis) - tonumber(ARGV[3])\n" +
+            "local expired = redis.call('zrangebyscore', KEYS[1], '-inf', '(' .. cutoff)\n" +
+            "for _, id in ipairs(expired) do\n" +
+            "    redis.call('zrem', KEYS[1], id)\n" +
+            "    redis.call('zrem', KEYS[3], ARGV[1] .. ':' .. id)\n" +
+            "    redis.call('del', ARGV[6] .. id)\n" +
+            "end\n" +
+            "local evicted = {}\n" +
+            "local limit = tonumber(ARGV[4])\n" +
+            "if limit > 0 and not redis.call('zscore', KEYS[1], ARGV[2]) then\n" +
+            "    local excess = redis.call('zcard', KEYS[1]) - limit + 1\n" +
+            "    if excess > 0 then\n" +
+            "        for _, id in ipairs(redis.call('zrange', KEYS[1], 0, excess - 1)) do\n" +
+            "            table.insert(evicted, redis.call('get', ARGV[6] .. id) or '')\n" +
+            "            redis.call('zrem', KEYS[1], id)\n" +
+            "            redis.call('zrem', KEYS[3], ARGV[1] .. ':' .. id)\n" +
+            "            redis.call('del', ARGV[6] .. id)\n" +
+            "        end\n" +
+            "    end\n" +
+            "end\n" +
+            "redis.call('zadd', KEYS[1], nowMillis, ARGV[2])\n" +
+            "redis.call('pexpire', KEYS[1], ARGV[3])\n" +
+            "redis.call('zadd', KEYS[3], nowMillis, ARGV[1] .. ':' .. ARGV[2])\n" +
+            "redis.call('zadd', KEYS[2], nowMillis, ARGV[1])\n" +
+            "redis.call('set', KEYS[4], ARGV[5], 'PX', ARGV[3])\n" +
+            "redis.call('hset', KEYS[5], ARGV[7], ARGV[1])\n" +
+            "local online = redis.call('zcount', KEYS[2], cutoff, '+inf')\n" +
+            "local sessions = redis.call('zcount', KEYS[3], cutoff, '+inf')\n" +
+            "redis.call('hincrby', KEYS[6], 'loginCount', 1)\n" +
+            "if online > tonumber(redis.call('hget', KEYS[6], 'peakOnlineUsers') or '0') then\n" +
+            "    redis.call('hset', KEYS[6], 'peakOnlineUsers', online)\n" +
+            "    redis.call('hset', KEYS[6], 'peakTime', nowMillis)\n" +
+            "end\n" +
+            "local result = {online, sessions, redis.call('zcard', KEYS[1])}\n" +
+            "for _, record in ipairs(evicted) do\n" +
+            "    table.insert(result, record)\n" +
+            "end\n" +
+            "return result";
+
+    // Lua脚本：刷新会话的最后活动时间，ARGV[5]为1时只刷新仍在索引中的会话，ARGV[4]非空时同时写入会话记录
+    private static final String TOUCH_SCRIPT = "if ARGV[5] == '1' and not redis.call('zscore', KEYS[1], ARGV[2]) then\n" +
+            "    return 0\n" +
+            "end\n" +
+            "local now = redis.call('time')\n" +
+            "local nowMillis = now[1] .. string.format('%03d', math.floor(tonumber(now[2]) / 1000))\n" +
+            "redis.call('zadd', KEYS[1], nowMillis, ARGV[2])\n" +
+            "redis.call('pexpire', KEYS[1], ARGV[3])\n" +
+            "redis.call('zadd', KEYS[3], nowMillis, ARGV[1] .. ':' .. ARGV[2])\n" +
+            "redis.call('zadd', KEYS[2], nowMillis, ARGV[1])\n" +
+            "if ARGV[4] ~= '' then\n" +
+            "    redis.call('set', KEYS[4], ARGV[4], 'PX', ARGV[3])\n" +
+            "end\n" +
+            "return 1";
+
+    // Lua脚本：释放会话，用户没有其他会话时从在线用户中移除，返回移除的索引项与记录数
+    private static final String RELEASE_SCRIPT = "local removed = redis.call('zrem', KEYS[1], ARGV[2])\n" +
+            "redis.call('zrem', KEYS[3], ARGV[1] .. ':' .. ARGV[2])\n" +
+            "removed = removed + redis.call('del', KEYS[4])\n" +
+            "if redis.call('zcard', KEYS[1]) == 0 then\n" +
+            "    redis.call('zrem', KEYS[2], ARGV[1])\n" +
+            "end\n" +
+            "if removed > 0 then\n" +
+            "    redis.call('hincrby', KEYS[5], 'logoutCount', 1)\n" +
+            "end\n" +
+            "return removed";
+
+    // Lua脚本：按分值区间移除至多ARGV[2]个过期会话及其记录，并移除过期的在线用户，返回{会话数, 用户数}
+    private static final String EXPIRE_SCRIPT = "local now = redis.call('time')\n" +
+            "local nowMillis = now[1] .. string.format('%03d', math.floor(tonumber(now[2]) / 1000))\n" +
+            "local cutoff = '(' .. (tonumber(nowMillis) - tonumber(ARGV[1]))\n" +
+            "local expired = redis.call('zrangebyscore', KEYS[2], '-inf', cutoff, 'LIMIT', 0, ARGV[2])\n" +
+            "for _, member in ipairs(expired) do\n" +
+            "    local userId, activityId = string.match(member, '^([^:]+):(.+)$')\n" +
+            "    if userId then\n" +
+            "        redis.call('zrem', ARGV[4] .. userId, activityId)\n" +
+            "        redis.call('del', ARGV[3] .. activityId)\n" +
+            "    end\n" +
+            "    redis.call('zrem', KEYS[2], member)\n" +
+            "end\n" +
+            "local users = redis.call('zremrangebyscore', KEYS[1], '-inf', cutoff)\n" +
+            "return {#expired, users}";
+
+    // Lua脚本：读取在线用户数、活跃用户数、在线会话数与统计，返回{当前时间, 在线, 活跃, 会话, 峰值, 峰值时间, 登录, 登出}
+    private static final String SNAPSHOT_SCRIPT = "local now = redis.call('time')\n" +
+            "local nowMillis = now[1] .. string.format('%03d', math.floor(tonumber(now[2]) / 1000))\n" +
+            "local cutoff = tonumber(nowMillis) - tonumber(ARGV[1])\n" +
+            "local online = redis.call('zcount', KEYS[1], cutoff, '+inf')\n" +
+            "local active = redis.call('zcount', KEYS[1], tonumber(nowMillis) - tonumber(ARGV[2]), '+inf')\n" +
+            "local sessions = redis.call('zcount', KEYS[2], cutoff, '+inf')\n" +
+            "local stats = redis.call('hmget', KEYS[3], 'peakOnlineUsers', 'peakTime', 'loginCount', 'logoutCount')\n" +
+            "return {nowMillis, online, active, sessions, stats[1] or '0', stats[2] or '0', stats[3] or '0', " +
+            "stats[4] or '0'}";
+
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> admitScript = RedisScript.of(ADMIT_SCRIPT, List.class);
+    private final RedisScript<Long> touchScript = RedisScript.of(TOUCH_SCRIPT, Long.class);
+    private final RedisScript<Long> releaseScript = RedisScript.of(RELEASE_SCRIPT, Long.class);
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> expireScript = RedisScript.of(EXPIRE_SCRIPT, List.class);
+    @SuppressWarnings("rawtypes")
+    private final RedisScript<List> snapshotScript = RedisScript.of(SNAPSHOT_SCRIPT, List.class);
+
     private final ReactiveRedisTemplate<String, String> reactiveStringRedisTemplate;
     private final ReactiveTokenBlacklistService tokenBlacklistService;
     private final UnifiedConfigManager unifiedConfigManager;
     private final MonitoringProperties monitoringProperties;
 
+    @Value("${honyrun.security.session.max-per-user:5}")
+    private int maxSessionsPerUser = 5;
+
+    @Value("${honyrun.security.session.idle-timeout:7200000}")
+    private long idleTimeoutMillis = 7200000L;
+
+    @Value("${honyrun.security.session.active-window:300000}")
+    private long activeWindowMillis = 300000L;
+
+    @Value("${honyrun.security.session.max-online-users:100}")
+    private int maxOnlineUsers = 100;
+
+    @Value("${honyrun.security.session.cleanup-batch-size:1000}")
+    private int cleanupBatchSize = 1000;
+
     /**
      * 构造函数注入依赖
      *
@@ -64,6 +211,9 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     /**
      * 记录用户活动
      *
+     * 一次脚本调用完成会话登记、单用户会话上限检查与在线统计更新，
+     * 被挤下线的会话令牌随后加入黑名单
+     *
      * @param userId 用户ID
      * @param username 用户名
      * @param userType 用户类型
@@ -89,32 +239,34 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
             activity.setUserAgent(userAgent);
             activity.setDeviceType(parseDeviceType(userAgent));
 
-            String activityKey = CacheConstants.USER_SESSION_KEY_PREFIX + activityId;
             String activityJson = JsonUtil.toJson(activity);
-            int activityTimeoutMinutes = 120; // 直接使用默认值，避免阻塞调用
-            Duration expireDuration = monitoringProperties.getDurations().getLongTimeout();
-
-            return reactiveStringRedisTemplate.opsForValue()
-                    .set(activityKey, activityJson, expireDuration)
-                    .doOnError(error -> LoggingUtil.error(logger, "Redis设置活动记录失败", error))
-                    .onErrorResume(error -> {
-                        LoggingUtil.warn(logger, "Redis设置活动记录失败，返回false", error);
-                        return Mono.just(false);
-                    })
-                    .flatMap(success -> {
-                        if (Boolean.TRUE.equals(success)) {
-                            LoggingUtil.info(logger, "用户活动记录成功: userId={}, activityId={}", userId, activityId);
-                            return updateUserActivityIndex(userId, activityId)
-                                    .doOnError(error -> LoggingUtil.error(logger, "更新用户活动索引失败", error))
-                                    .onErrorResume(error -> {
-                                        LoggingUtil.warn(logger, "更新用户活动索引失败，但继续流程", error);
-                                        return Mono.just(false);
-                                    })
-                                    .then(Mono.just(activity));
-                        } else {
-                            LoggingUtil.warn(logger, "用户活动记录失败: userId={}, activityId={}", userId, activityId);
-                            return Mono.error(new RuntimeException("活动记录失败"));
+            List<String> keys = Arrays.asList(
+                    CacheConstants.USER_SESSION_INDEX_KEY_PREFIX + userId,
+                    CacheConstants.ACTIVE_USERS_KEY,
+                    CacheConstants.ACTIVE_SESSIONS_KEY,
+                    CacheConstants.USER_SESSION_KEY_PREFIX + activityId,
+                    CacheConstants.SESSION_OWNERS_KEY,
+                    CacheConstants.SESSION_STATS_KEY);
+
+            return reactiveStringRedisTemplate.execute(admitScript, keys,
+                            String.valueOf(userId), activityId, String.valueOf(idleTimeoutMillis),
+                            String.valueOf(maxSessionsPerUser), activityJson,
+                            CacheConstants.USER_SESSION_KEY_PREFIX, username)
+                    .next()
+                    .doOnError(error -> LoggingUtil.error(logger, "Redis登记用户会话失败", error))
+                    .switchIfEmpty(Mono.error(new RuntimeException("活动记录失败")))
+                    .flatMap(result -> {
+                        LoggingUtil.info(logger, "用户活动记录成功: userId={}, activityId={}, 在线用户数={}, 在线会话数={}, 用户会话数={}",
+                                userId, activityId, result.get(0), result.get(1), result.get(2));
+                        List<?> evicted = result.subList(3, result.size());
+                        if (evicted.isEmpty()) {
+                            return Mono.just(activity);
                         }
+                        LoggingUtil.warn(logger, "用户会话数超过上限 {}，已移除最早的 {} 个会话: userId={}",
+                                maxSessionsPerUser, evicted.size(), userId);
+                        return Flux.fromIterable(evicted)
+                                .concatMap(record -> revokeEvictedSession(String.valueOf(record)))
+                                .then(Mono.just(activity));
                     });
         })
         .doOnError(error -> {
@@ -145,16 +297,16 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
                            userId, username, activityId);
             return Mono.error(new BusinessException(ErrorCode.INVALID_PARAMETER));
         }
-        
+
         try {
             Mono<ReactiveActiveActivity> activityMono = recordActivity(userId, username, userType, activityId, tokenId, clientIp, userAgent);
-            
+
             // 确保recordActivity不返回null
             if (activityMono == null) {
                 LoggingUtil.warn(logger, "recordActivity返回null，使用空Mono替代");
                 return Mono.empty();
             }
-            
+
             return activityMono
                     .then()
                     .onErrorResume(error -> {
@@ -190,44 +342,33 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     /**
      * 移除用户活动（通过用户名）
      *
+     * 通过用户名映射定位用户ID，只访问该用户的会话索引
+     *
      * @param username 用户名
      * @return 移除结果的Mono包装
      */
     public Mono<Void> removeUserActivity(String username) {
         LoggingUtil.info(logger, "移除用户活动: username={}", username);
 
-        // 查找该用户的所有活跃会话
-        String pattern = CacheConstants.USER_SESSION_KEY_PREFIX + "*";
-
-        return reactiveStringRedisTemplate.keys(pattern)
-                .doOnError(error -> LoggingUtil.error(logger, "获取Redis键失败", error))
+        return reactiveStringRedisTemplate.<String, String>opsForHash()
+                .get(CacheConstants.SESSION_OWNERS_KEY, username)
+                .doOnError(error -> LoggingUtil.error(logger, "获取会话用户映射失败: username={}", username, error))
                 .onErrorResume(error -> {
-                    LoggingUtil.warn(logger, "获取Redis键失败，返回空流", error);
-                    return Flux.empty();
+                    LoggingUtil.warn(logger, "获取会话用户映射失败，跳过移除: username={}", username, error);
+                    return Mono.empty();
                 })
-                .flatMap(key -> reactiveStringRedisTemplate.opsForValue().get(key)
-                        .doOnError(error -> LoggingUtil.error(logger, "获取活动数据失败: key={}", key, error))
-                        .onErrorResume(error -> {
-                            LoggingUtil.warn(logger, "获取活动数据失败，跳过该键: key={}", key, error);
-                            return Mono.empty();
-                        }))
-                .map(activityJson -> JsonUtil.fromJson(activityJson, ReactiveActiveActivity.class))
-                .filter(activity -> username.equals(activity.getUsername()))
-                .flatMap(activity -> {
-                    String activityKey = CacheConstants.USER_SESSION_KEY_PREFIX + activity.getActivityId();
-                    return reactiveStringRedisTemplate.delete(activityKey)
-                            .doOnError(error -> LoggingUtil.error(logger, "删除活动记录失败", error))
-                            .onErrorResume(error -> {
-                                LoggingUtil.warn(logger, "删除活动记录失败，但继续流程", error);
-                                return Mono.just(0L);
-                            })
-                            .flatMap(deleted -> removeFromUserActivityIndex(activity.getUserId(), activity.getActivityId())
-                                    .doOnError(error -> LoggingUtil.error(logger, "移除用户活动索引失败", error))
+                .flatMap(userIdValue -> {
+                    Long userId = Long.valueOf(userIdValue);
+                    return reactiveStringRedisTemplate.opsForZSet()
+                            .range(CacheConstants.USER_SESSION_INDEX_KEY_PREFIX + userId, Range.unbounded())
+                            .concatMap(activityId -> releaseSession(userId, activityId)
+                                    .doOnError(error -> LoggingUtil.error(logger, "释放用户会话失败", error))
                                     .onErrorResume(error -> {
-                                        LoggingUtil.warn(logger, "移除用户活动索引失败，但继续流程", error);
-                                        return Mono.just(false);
+                                        LoggingUtil.warn(logger, "释放用户会话失败，但继续流程: activityId={}", activityId, error);
+                                        return Mono.just(0L);
                                     }))
-                            .then();
+                            .then(reactiveStringRedisTemplate.opsForHash()
+                                    .remove(CacheConstants.SESSION_OWNERS_KEY, username));
                 })
                 .then()
                 .doOnSuccess(v -> LoggingUtil.info(logger, "用户活动移除成功: username={}", username))
@@ -238,6 +379,8 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     /**
      * 更新用户活动状态
      *
+     * 会话已被挤下线或过期清理时不再恢复
+     *
      * @param activityId 活动ID
      * @return 更新结果的Mono包装
      */
@@ -248,13 +391,7 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
                 .flatMap(activity -> {
                     activity.updateLastActivity();
 
-                    String activityKey = CacheConstants.USER_SESSION_KEY_PREFIX + activityId;
-                    String activityJson = JsonUtil.toJson(activity);
-                    int activityTimeoutMinutes = 120; // 直接使用默认值，避免阻塞调用
-                    Duration expireDuration = Duration.ofMinutes(activityTimeoutMinutes);
-
-                    return reactiveStringRedisTemplate.opsForValue()
-                            .set(activityKey, activityJson, expireDuration)
+                    return touchSession(activity.getUserId(), activityId, JsonUtil.toJson(activity), true)
                             .map(success -> {
                                 if (Boolean.TRUE.equals(success)) {
                                     LoggingUtil.debug(logger, "用户活动状态更新成功: activityId={}", activityId);
@@ -337,19 +474,11 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
                     // 标记为强制下线
                     activity.markForceLogout(reason);
 
-                    // 将令牌加入黑名单
+                    // 将令牌加入黑名单，然后释放会话
                     return tokenBlacklistService.addToBlacklist(activity.getTokenId(), reason,
                                                               CacheConstants.TOKEN_BLACKLIST_EXPIRE_SECONDS)
-                            .flatMap(blacklistResult -> {
-                                // 删除活动记录
-                                String activityKey = CacheConstants.USER_SESSION_KEY_PREFIX + activityId;
-                                return reactiveStringRedisTemplate.delete(activityKey)
-                                        .flatMap(deleteResult -> {
-                                            // 从用户活动索引中移除
-                                            return removeFromUserActivityIndex(activity.getUserId(), activityId)
-                                                    .then(Mono.just(deleteResult > 0 && Boolean.TRUE.equals(blacklistResult)));
-                                        });
-                            });
+                            .flatMap(blacklistResult -> releaseSession(activity.getUserId(), activityId)
+                                    .map(released -> released > 0 && Boolean.TRUE.equals(blacklistResult)));
                 })
                 .defaultIfEmpty(false)
                 .doOnSuccess(result -> {
@@ -365,18 +494,58 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
                 .onErrorReturn(false);
     }
 
+    /**
+     * 按令牌释放用户会话
+     *
+     * 只读取该用户的会话记录，会话数不超过单用户会话上限
+     *
+     * @param userId 用户ID
+     * @param tokenId 令牌
+     * @return 是否释放了会话
+     */
+    @Override
+    public Mono<Boolean> releaseSessionByToken(Long userId, String tokenId) {
+        if (userId == null || tokenId == null) {
+            return Mono.just(false);
+        }
+        return reactiveStringRedisTemplate.opsForZSet()
+                .range(CacheConstants.USER_SESSION_INDEX_KEY_PREFIX + userId, Range.unbounded())
+                .map(activityId -> CacheConstants.USER_SESSION_KEY_PREFIX + activityId)
+                .collectList()
+                .filter(activityKeys -> !activityKeys.isEmpty())
+                .flatMap(activityKeys -> reactiveStringRedisTemplate.opsForValue().multiGet(activityKeys))
+                .flatMapMany(Flux::fromIterable)
+                .filter(Objects::nonNull)
+                .map(activityJson -> JsonUtil.fromJson(activityJson, ReactiveActiveActivity.class))
+                .filter(activity -> activity != null && tokenId.equals(activity.getTokenId()))
+                .next()
+                .flatMap(activity -> releaseSession(userId, activity.getActivityId()))
+                .map(released -> released > 0)
+                .defaultIfEmpty(false)
+                .doOnSuccess(released -> LoggingUtil.debug(logger, "按令牌释放用户会话: userId={}, released={}",
+                        userId, released))
+                .doOnError(error -> LoggingUtil.error(logger, "按令牌释放用户会话时发生错误: userId={}, error={}",
+                        userId, error.getMessage()))
+                .onErrorReturn(false);
+    }
+
     /**
      * 获取所有活跃用户
      *
+     * 从在线会话索引按分值区间读取未过期的会话，再批量读取会话记录
+     *
      * @return 活跃用户列表的Flux包装
      */
     public Flux<ReactiveActiveActivity> getAllActiveUsers() {
         LoggingUtil.debug(logger, "获取所有活跃用户");
 
-        String pattern = CacheConstants.USER_SESSION_KEY_PREFIX + "*";
-
-        return reactiveStringRedisTemplate.keys(pattern)
-                .flatMap(key -> reactiveStringRedisTemplate.opsForValue().get(key))
+        return reactiveStringRedisTemplate.opsForZSet()
+                .rangeByScore(CacheConstants.ACTIVE_SESSIONS_KEY, liveRange())
+                .map(member -> CacheConstants.USER_SESSION_KEY_PREFIX + member.substring(member.indexOf(':') + 1))
+                .buffer(Math.max(1, cleanupBatchSize))
+                .concatMap(activityKeys -> reactiveStringRedisTemplate.opsForValue().multiGet(activityKeys))
+                .flatMapIterable(activityJsons -> activityJsons)
+                .filter(Objects::nonNull)
                 .map(activityJson -> JsonUtil.fromJson(activityJson, ReactiveActiveActivity.class))
                 .filter(activity -> !activity.getForceLogout() && "ACTIVE".equals(activity.getActivityStatus()))
                 .doOnNext(activity -> {
@@ -396,15 +565,15 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
      * 获取用户的活跃会话
      *
      * @param userId 用户ID
-     * @return 会话ID列表的Flux包装
+     * @return 会话ID列表的Flux包装，按最后活动时间从早到晚排列
      */
     public Flux<String> getUserActiveSessions(Long userId) {
         LoggingUtil.debug(logger, "获取用户的活跃会话: userId={}", userId);
 
-        String indexKey = CacheConstants.USER_KEY_PREFIX + "sessions:" + userId;
+        String indexKey = CacheConstants.USER_SESSION_INDEX_KEY_PREFIX + userId;
 
-        return reactiveStringRedisTemplate.opsForSet()
-                .members(indexKey)
+        return reactiveStringRedisTemplate.opsForZSet()
+                .rangeByScore(indexKey, liveRange())
                 .doOnNext(sessionId -> {
                     LoggingUtil.debug(logger, "找到用户会话: userId={}, sessionId={}", userId, sessionId);
                 })
@@ -418,15 +587,15 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     }
 
     /**
-     * 获取当前活跃用户数量
+     * 获取当前活跃会话数量
      *
-     * @return 活跃用户数量的Mono包装
+     * @return 活跃会话数量的Mono包装
      */
     public Mono<Long> getActiveUserCount() {
         LoggingUtil.debug(logger, "获取当前活跃用户数量");
 
-        return getAllActiveUsers()
-                .count()
+        return reactiveStringRedisTemplate.opsForZSet()
+                .count(CacheConstants.ACTIVE_SESSIONS_KEY, liveRange())
                 .doOnSuccess(count -> {
                     LoggingUtil.debug(logger, "当前活跃用户数量: {}", count);
                 })
@@ -439,17 +608,16 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     /**
      * 检查并发用户限制
      *
-     * @return 是否超过限制的Mono包装
+     * @return 在线用户数是否已达到honyrun.security.session.max-online-users
      */
     public Mono<Boolean> checkConcurrentLimit() {
-        int maxConcurrentUsers = 100; // 直接使用默认值，避免阻塞调用
-        LoggingUtil.debug(logger, "检查并发用户限制，最大并发数: {}", maxConcurrentUsers);
+        LoggingUtil.debug(logger, "检查并发用户限制，最大并发数: {}", maxOnlineUsers);
 
-        return getActiveUserCount()
-                .map(count -> count >= maxConcurrentUsers)
+        return getOnlineUserCount()
+                .map(count -> count >= maxOnlineUsers)
                 .doOnSuccess(exceeded -> {
                     if (Boolean.TRUE.equals(exceeded)) {
-                        LoggingUtil.warn(logger, "并发用户数已达到限制: 当前用户数可能超过 {}", maxConcurrentUsers);
+                        LoggingUtil.warn(logger, "并发用户数已达到限制: 当前用户数可能超过 {}", maxOnlineUsers);
                     }
                 })
                 .doOnError(error -> {
@@ -461,35 +629,17 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     /**
      * 清理过期的活动记录
      *
+     * 按分值区间分批移除，每批至多honyrun.security.session.cleanup-batch-size个会话，
+     * 一批移除满额时继续下一批
+     *
      * @return 清理数量的Mono包装
      */
     public Mono<Long> cleanupExpiredActivities() {
         LoggingUtil.info(logger, "开始清理过期的活动记录");
 
-        String pattern = CacheConstants.USER_SESSION_KEY_PREFIX + "*";
-        int activityTimeoutMinutes = 120; // 直接使用默认值，避免阻塞调用
-
-        return reactiveStringRedisTemplate.keys(pattern)
-                .flatMap(key -> {
-                    return reactiveStringRedisTemplate.opsForValue()
-                            .get(key)
-                            .map(activityJson -> JsonUtil.fromJson(activityJson, ReactiveActiveActivity.class))
-                            .filter(activity -> activity.isExpired(activityTimeoutMinutes))
-                            .flatMap(expiredActivity -> {
-                                LoggingUtil.debug(logger, "清理过期活动: userId={}, activityId={}",
-                                                expiredActivity.getUserId(), expiredActivity.getActivityId());
-
-                                // 删除活动记录
-                                return reactiveStringRedisTemplate.delete(key)
-                                        .flatMap(deleteResult -> {
-                                            // 从用户活动索引中移除
-                                            return removeFromUserActivityIndex(expiredActivity.getUserId(),
-                                                                             expiredActivity.getActivityId())
-                                                    .then(Mono.just(deleteResult));
-                                        });
-                            })
-                            .defaultIfEmpty(0L);
-                })
+        int batchSize = Math.max(1, cleanupBatchSize);
+        return expireBatch(batchSize)
+                .expand(removed -> removed >= batchSize ? expireBatch(batchSize) : Mono.empty())
                 .reduce(0L, Long::sum)
                 .doOnSuccess(count -> {
                     LoggingUtil.info(logger, "清理过期活动记录完成，清理数量: {}", count);
@@ -503,36 +653,30 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     /**
      * 更新用户活动索引
      *
+     * 只刷新索引中的最后活动时间，不检查单用户会话上限
+     *
      * @param userId 用户ID
      * @param activityId 活动ID
      * @return 更新结果的Mono包装
      */
     @Override
     public Mono<Boolean> updateUserActivityIndex(Long userId, String activityId) {
-        String indexKey = CacheConstants.USER_KEY_PREFIX + "sessions:" + userId;
-        int activityTimeoutMinutes = 120; // 直接使用默认值，避免阻塞调用
-        Duration expireDuration = Duration.ofMinutes(activityTimeoutMinutes + 10); // 比活动记录稍长
-
-        return reactiveStringRedisTemplate.opsForSet()
-                .add(indexKey, activityId)
-                .flatMap(added -> reactiveStringRedisTemplate.expire(indexKey, expireDuration))
-                .map(expired -> true)
+        return touchSession(userId, activityId, "", false)
                 .onErrorReturn(false);
     }
 
     /**
      * 从用户活动索引中移除
      *
+     * 与会话记录一起移除，避免留下无法通过索引访问的记录
+     *
      * @param userId 用户ID
      * @param activityId 活动ID
      * @return 移除结果的Mono包装
      */
     @Override
     public Mono<Boolean> removeFromUserActivityIndex(Long userId, String activityId) {
-        String indexKey = CacheConstants.USER_KEY_PREFIX + "sessions:" + userId;
-
-        return reactiveStringRedisTemplate.opsForSet()
-                .remove(indexKey, activityId)
+        return releaseSession(userId, activityId)
                 .map(removed -> removed > 0)
                 .onErrorReturn(false);
     }
@@ -540,14 +684,10 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     @Override
     public Mono<Boolean> removeActivity(String activityId) {
         LoggingUtil.info(logger, "移除用户活动: activityId={}", activityId);
-        
+
         return getActivity(activityId)
-                .flatMap((ReactiveActiveActivity activity) -> {
-                    // 从用户活动索引中移除
-                    return removeFromUserActivityIndex(activity.getUserId(), activityId)
-                            .then(reactiveStringRedisTemplate.delete(CacheConstants.USER_SESSION_KEY_PREFIX + activityId))
-                            .map(deleted -> deleted > 0);
-                })
+                .flatMap((ReactiveActiveActivity activity) -> releaseSession(activity.getUserId(), activityId)
+                        .map(removed -> removed > 0))
                 .defaultIfEmpty(false)
                 .doOnSuccess(result -> {
                     if (result) {
@@ -564,9 +704,9 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     @Override
     public Mono<Boolean> isUserOnline(Long userId) {
         LoggingUtil.debug(logger, "检查用户是否在线: userId={}", userId);
-        
-        return getUserActiveSessions(userId)
-                .hasElements()
+
+        return getUserActiveSessionCount(userId)
+                .map(count -> count > 0)
                 .doOnSuccess(online -> {
                     LoggingUtil.debug(logger, "用户在线状态: userId={}, online={}", userId, online);
                 })
@@ -578,9 +718,9 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     @Override
     public Mono<Long> getUserActiveSessionCount(Long userId) {
         LoggingUtil.debug(logger, "获取用户活跃会话数量: userId={}", userId);
-        
-        return getUserActiveSessions(userId)
-                .count()
+
+        return reactiveStringRedisTemplate.opsForZSet()
+                .count(CacheConstants.USER_SESSION_INDEX_KEY_PREFIX + userId, liveRange())
                 .doOnSuccess(count -> {
                     LoggingUtil.debug(logger, "用户活跃会话数量: userId={}, count={}", userId, count);
                 })
@@ -592,11 +732,9 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
     @Override
     public Mono<Long> getOnlineUserCount() {
         LoggingUtil.debug(logger, "获取在线用户数量");
-        
-        return getAllActiveUsers()
-                .map(ReactiveActiveActivity::getUserId)
-                .distinct()
-                .count()
+
+        return reactiveStringRedisTemplate.opsForZSet()
+                .count(CacheConstants.ACTIVE_USERS_KEY, liveRange())
                 .doOnSuccess(count -> {
                     LoggingUtil.debug(logger, "在线用户数量: {}", count);
                 })
@@ -605,6 +743,110 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
                 });
     }
 
+    @Override
+    public Mono<ConcurrentUserStats> getConcurrentUserSnapshot() {
+        return reactiveStringRedisTemplate.execute(snapshotScript,
+                        Arrays.asList(CacheConstants.ACTIVE_USERS_KEY, CacheConstants.ACTIVE_SESSIONS_KEY,
+                                CacheConstants.SESSION_STATS_KEY),
+                        String.valueOf(idleTimeoutMillis), String.valueOf(activeWindowMillis))
+                .next()
+                .map(result -> {
+                    ConcurrentUserStats stats = new ConcurrentUserStats();
+                    stats.setPeriodType("REALTIME");
+                    stats.setStatTime(toDateTime(toLong(result.get(0))));
+                    stats.setCurrentOnlineUsers((int) toLong(result.get(1)));
+                    stats.setCurrentActiveUsers((int) toLong(result.get(2)));
+                    stats.setSessionCount((int) toLong(result.get(3)));
+                    stats.setPeakOnlineUsers((int) toLong(result.get(4)));
+                    long peakTime = toLong(result.get(5));
+                    stats.setPeakTime(peakTime > 0 ? toDateTime(peakTime) : null);
+                    stats.setLoginCount((int) toLong(result.get(6)));
+                    stats.setLogoutCount((int) toLong(result.get(7)));
+                    return stats;
+                })
+                .doOnError(error -> LoggingUtil.error(logger, "获取并发用户快照时发生错误: error={}", error.getMessage()));
+    }
+
+    /**
+     * 刷新会话在各索引中的最后活动时间
+     */
+    private Mono<Boolean> touchSession(Long userId, String activityId, String activityJson, boolean requireIndexed) {
+        return reactiveStringRedisTemplate.execute(touchScript, sessionKeys(userId, activityId),
+                        String.valueOf(userId), activityId, String.valueOf(idleTimeoutMillis), activityJson,
+                        requireIndexed ? "1" : "0")
+                .next()
+                .map(result -> result == 1L)
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * 从各索引中释放会话并删除会话记录
+     */
+    private Mono<Long> releaseSession(Long userId, String activityId) {
+        List<String> keys = new ArrayList<>(sessionKeys(userId, activityId));
+        keys.add(CacheConstants.SESSION_STATS_KEY);
+        return reactiveStringRedisTemplate.execute(releaseScript, keys, String.valueOf(userId), activityId)
+                .next()
+                .defaultIfEmpty(0L);
+    }
+
+    private Mono<Long> expireBatch(int batchSize) {
+        return reactiveStringRedisTemplate.execute(expireScript,
+                        Arrays.asList(CacheConstants.ACTIVE_USERS_KEY, CacheConstants.ACTIVE_SESSIONS_KEY),
+                        String.valueOf(idleTimeoutMillis), String.valueOf(batchSize),
+                        CacheConstants.USER_SESSION_KEY_PREFIX, CacheConstants.USER_SESSION_INDEX_KEY_PREFIX)
+                .next()
+                .map(result -> {
+                    long sessions = toLong(result.get(0));
+                    LoggingUtil.debug(logger, "清理过期会话 {} 个，过期用户 {} 个", sessions, result.get(1));
+                    return sessions;
+                })
+                .defaultIfEmpty(0L);
+    }
+
+    /**
+     * 被挤下线的会话令牌加入黑名单，失败时只记录告警
+     */
+    private Mono<Void> revokeEvictedSession(String activityJson) {
+        if (activityJson == null || activityJson.isEmpty()) {
+            return Mono.empty();
+        }
+        ReactiveActiveActivity evicted = JsonUtil.fromJson(activityJson, ReactiveActiveActivity.class);
+        if (evicted == null || evicted.getTokenId() == null) {
+            return Mono.empty();
+        }
+        LoggingUtil.info(logger, "会话被挤下线: userId={}, activityId={}", evicted.getUserId(), evicted.getActivityId());
+        return tokenBlacklistService.addToBlacklist(evicted.getTokenId(), EVICTION_REASON,
+                        CacheConstants.TOKEN_BLACKLIST_EXPIRE_SECONDS)
+                .doOnError(error -> LoggingUtil.warn(logger, "被挤下线会话的令牌加入黑名单失败: activityId={}",
+                        evicted.getActivityId(), error))
+                .onErrorResume(error -> Mono.empty())
+                .then();
+    }
+
+    private static List<String> sessionKeys(Long userId, String activityId) {
+        return Arrays.asList(
+                CacheConstants.USER_SESSION_INDEX_KEY_PREFIX + userId,
+                CacheConstants.ACTIVE_USERS_KEY,
+                CacheConstants.ACTIVE_SESSIONS_KEY,
+                CacheConstants.USER_SESSION_KEY_PREFIX + activityId);
+    }
+
+    /**
+     * 未超过空闲超时的分值区间
+     */
+    private Range<Double> liveRange() {
+        return Range.rightUnbounded(Range.Bound.inclusive((double) (System.currentTimeMillis() - idleTimeoutMillis)));
+    }
+
+    private static long toLong(Object value) {
+        return value == null ? 0L : Long.parseLong(String.valueOf(value));
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
     /**
      * 解析设备类型
      *
@@ -626,6 +868,3 @@ public class ReactiveActivityManagerImpl implements ReactiveActivityManager {
         }
     }
 }
-
-
-
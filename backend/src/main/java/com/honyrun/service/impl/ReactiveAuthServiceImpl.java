@@ -4,23 +4,24 @@ import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.redis.core.ReactiveRedisTemplate;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ServerWebExchange;
 
 import com.honyrun.config.UnifiedConfigManager;
 import com.honyrun.exception.AuthenticationException;
 import com.honyrun.exception.ErrorCode;
+import com.honyrun.exception.RateLimitException;
 import com.honyrun.exception.ValidationException;
 import com.honyrun.model.dto.request.AuthRequest;
 import com.honyrun.model.dto.response.AuthResponse;
 import com.honyrun.model.entity.business.User;
 import com.honyrun.repository.r2dbc.ReactiveUserRepository;
+import com.honyrun.security.PasswordHashingService;
 import com.honyrun.security.jwt.ReactiveJwtTokenProvider;
 import com.honyrun.service.reactive.ReactiveActivityManager;
 import com.honyrun.service.reactive.ReactiveAuthService;
+import com.honyrun.service.reactive.ReactiveErrorRecoveryService;
 import com.honyrun.service.reactive.ReactivePasswordSecurityService;
 import com.honyrun.service.reactive.ReactiveTokenBlacklistService;
 import com.honyrun.service.security.UnifiedSecurityDetectionService;
@@ -41,7 +42,7 @@ import reactor.core.publisher.Mono;
  * @author Mr.Rey
  * @version 2.0.0
  * @created 2025-07-01 10:45:00
- * @modified 2025-01-15 当前时间
+ * @modified 2025-11-04 20:00:00
  *           Copyright © 2025 HonyRun. All rights reserved.
  */
 @Service
@@ -53,11 +54,11 @@ public class ReactiveAuthServiceImpl implements ReactiveAuthService {
     private final ReactiveJwtTokenProvider jwtTokenProvider;
     private final ReactiveTokenBlacklistService tokenBlacklistService;
     private final ReactiveActivityManager activityManager;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final ReactivePasswordSecurityService passwordSecurityService;
     private final UnifiedSecurityDetectionService unifiedSecurityDetectionService;
-    private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final UnifiedConfigManager unifiedConfigManager;
+    private final ObjectProvider<ReactiveErrorRecoveryService> errorRecoveryServiceProvider;
 
     /**
      * 构造函数注入
@@ -66,30 +67,30 @@ public class ReactiveAuthServiceImpl implements ReactiveAuthService {
      * @param jwtTokenProvider                JWT令牌提供者
      * @param tokenBlacklistService           令牌黑名单服务
      * @param activityManager                 活动管理器
-     * @param passwordEncoder                 密码编码器
+     * @param passwordHashingService          密码哈希服务（专用线程池）
      * @param passwordSecurityService         密码安全服务
      * @param unifiedSecurityDetectionService 统一安全检测服务
-     * @param redisTemplate                   Redis模板（环境适配器提供的统一Bean）
      * @param unifiedConfigManager            统一配置管理器
+     * @param errorRecoveryServiceProvider    错误恢复服务（未启用时不做熔断和舱壁保护）
      */
     public ReactiveAuthServiceImpl(ReactiveUserRepository userRepository,
             ReactiveJwtTokenProvider jwtTokenProvider,
             ReactiveTokenBlacklistService tokenBlacklistService,
             ReactiveActivityManager activityManager,
-            PasswordEncoder passwordEncoder,
+            PasswordHashingService passwordHashingService,
             ReactivePasswordSecurityService passwordSecurityService,
             UnifiedSecurityDetectionService unifiedSecurityDetectionService,
-            @Qualifier("unifiedReactiveStringRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate,
-            UnifiedConfigManager unifiedConfigManager) {
+            UnifiedConfigManager unifiedConfigManager,
+            ObjectProvider<ReactiveErrorRecoveryService> errorRecoveryServiceProvider) {
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
         this.tokenBlacklistService = tokenBlacklistService;
         this.activityManager = activityManager;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.passwordSecurityService = passwordSecurityService;
         this.unifiedSecurityDetectionService = unifiedSecurityDetectionService;
-        this.redisTemplate = redisTemplate;
         this.unifiedConfigManager = unifiedConfigManager;
+        this.errorRecoveryServiceProvider = errorRecoveryServiceProvider;
     }
 
     // ==================== 用户认证操作 ====================
@@ -101,22 +102,21 @@ public class ReactiveAuthServiceImpl implements ReactiveAuthService {
         return validateAuthRequest(authRequest)
                 .then(authenticateUser(authRequest))
                 .doOnError(error -> LoggingUtil.error(logger, "用户认证过程失败", error))
-                .onErrorResume(error -> Mono.error(new AuthenticationException("用户认证失败: " + error.getMessage())))
+                // 哈希线程池饱和时保留限流异常，返回429而不是认证失败
+                .onErrorResume(error -> Mono.error(error instanceof RateLimitException ? error
+                        : new AuthenticationException("用户认证失败: " + error.getMessage())))
                 .flatMap(user -> generateAuthResponse(user, authRequest, exchange)
                         .doOnError(error -> LoggingUtil.error(logger, "生成认证响应失败", error))
                         .onErrorResume(
                                 error -> Mono.error(new AuthenticationException("生成认证响应失败: " + error.getMessage()))))
                 .flatMap(authResponse -> {
-                    // 增加并发用户计数器
-                    return incrementConcurrentUserCount()
-                            .doOnError(error -> LoggingUtil.warn(logger, "增加并发用户计数失败，但不影响登录流程", error))
-                            .onErrorResume(error -> Mono.empty())
-                            .then(recordUserActivity(authResponse, exchange)
-                                    .doOnError(error -> LoggingUtil.error(logger, "记录用户活动失败", error))
-                                    .onErrorResume(error -> {
-                                        LoggingUtil.warn(logger, "记录用户活动失败，但不影响登录流程", error);
-                                        return Mono.empty();
-                                    }))
+                    // 登记用户会话，在线人数由会话登记同步更新
+                    return recordUserActivity(authResponse, exchange)
+                            .doOnError(error -> LoggingUtil.error(logger, "记录用户活动失败", error))
+                            .onErrorResume(error -> {
+                                LoggingUtil.warn(logger, "记录用户活动失败，但不影响登录流程", error);
+                                return Mono.empty();
+                            })
                             .then(Mono.just(authResponse));
                 })
                 .doOnError(AuthenticationException.class, ex -> LoggingUtil.warn(logger, "用户认证失败: {}", ex.getMessage()))
@@ -134,20 +134,18 @@ public class ReactiveAuthServiceImpl implements ReactiveAuthService {
                 })
                 .flatMap(token -> blacklistToken(token)
                         .doOnError(error -> LoggingUtil.error(logger, "令牌加入黑名单失败", error))
-                        .onErrorReturn(false))
-                .flatMap(result -> {
-                    if (result) {
-                        // 减少并发用户计数器
-                        return decrementConcurrentUserCount()
-                                .doOnError(error -> LoggingUtil.warn(logger, "减少并发用户计数失败，但不影响登出流程", error))
-                                .onErrorResume(error -> Mono.empty())
-                                .then(Mono.fromRunnable(() -> LoggingUtil.info(logger, "用户登出成功")))
-                                .then(Mono.just(true));
-                    } else {
-                        LoggingUtil.warn(logger, "用户登出失败");
-                        return Mono.just(false);
-                    }
-                })
+                        .onErrorReturn(false)
+                        .flatMap(result -> {
+                            if (result) {
+                                // 释放令牌对应的用户会话，在线人数随之更新
+                                return releaseUserSession(token)
+                                        .then(Mono.fromRunnable(() -> LoggingUtil.info(logger, "用户登出成功")))
+                                        .then(Mono.just(true));
+                            } else {
+                                LoggingUtil.warn(logger, "用户登出失败");
+                                return Mono.just(false);
+                            }
+                        }))
                 .switchIfEmpty(Mono.just(false))
                 .doOnError(ex -> LoggingUtil.error(logger, "登出过程发生错误", ex))
                 .onErrorReturn(false);
@@ -233,7 +231,7 @@ public class ReactiveAuthServiceImpl implements ReactiveAuthService {
 
         LoggingUtil.info(logger, "=== ReactiveAuthServiceImpl.authenticateUser 开始 - 用户名: {} ===", username);
 
-        return userRepository.findByUsername(username)
+        return findUserForLogin(username)
                 .switchIfEmpty(Mono.error(new AuthenticationException("用户名或密码错误")))
                 .flatMap(user -> {
                     LoggingUtil.info(logger, "=== ReactiveAuthServiceImpl.authenticateUser - 用户ID: {}, 用户名: {} ===",
@@ -300,8 +298,9 @@ public class ReactiveAuthServiceImpl implements ReactiveAuthService {
                                                 return Mono.error(new AuthenticationException("账户已过期"));
                                             }
 
-                                            // 登录成功，重置失败计数
-                                            return passwordSecurityService.resetLoginFailureCount(user.getId())
+                                            // 登录成功，按需升级密码哈希并重置失败计数
+                                            return upgradePasswordHashIfNeeded(user, authRequest.getPassword())
+                                                    .then(passwordSecurityService.resetLoginFailureCount(user.getId()))
                                                     .then(Mono.just(user));
                                         });
                             });
@@ -310,7 +309,38 @@ public class ReactiveAuthServiceImpl implements ReactiveAuthService {
 
     @Override
     public Mono<Boolean> validatePassword(User user, String rawPassword) {
-        return Mono.fromCallable(() -> passwordEncoder.matches(rawPassword, user.getPassword()));
+        return passwordHashingService.matches(rawPassword, user.getPassword());
+    }
+
+    /**
+     * 登录成功后透明升级密码哈希
+     *
+     * 已存储哈希低于当前编码配置（如调高BCrypt成本因子）时，用本次登录的明文重新哈希，
+     * 仅在哈希未被并发修改时写回；升级失败不影响登录
+     *
+     * @param user        已通过密码校验的用户
+     * @param rawPassword 明文密码
+     * @return 完成信号
+     */
+    private Mono<Void> upgradePasswordHashIfNeeded(User user, String rawPassword) {
+        String currentHash = user.getPassword();
+        if (!unifiedConfigManager.getBooleanProperty("honyrun.security.password.rehash-on-login", true)
+                || !passwordHashingService.needsUpgrade(currentHash)) {
+            return Mono.empty();
+        }
+        return passwordHashingService.encode(rawPassword)
+                .flatMap(upgradedHash -> userRepository.upgradePasswordHash(user.getId(), currentHash, upgradedHash)
+                        .doOnNext(updated -> {
+                            if (updated > 0) {
+                                user.setPassword(upgradedHash);
+                                LoggingUtil.info(logger, "用户密码哈希已升级，用户ID: {}", user.getId());
+                            }
+                        }))
+                .then()
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "升级用户密码哈希失败，用户ID: {}", user.getId(), error);
+                    return Mono.empty();
+                });
     }
 
     // ==================== 令牌管理操作 ====================
@@ -586,6 +616,21 @@ public class ReactiveAuthServiceImpl implements ReactiveAuthService {
 
     // ==================== 工具方法 ====================
 
+    /**
+     * 在MySQL熔断器和舱壁保护下按用户名查询用户
+     * 数据库熔断期间登录快速失败，不再占用连接池等待超时
+     *
+     * @param username 用户名
+     * @return 用户
+     */
+    private Mono<User> findUserForLogin(String username) {
+        Mono<User> query = userRepository.findByUsername(username);
+        ReactiveErrorRecoveryService errorRecoveryService = errorRecoveryServiceProvider.getIfAvailable();
+        return errorRecoveryService != null
+                ? errorRecoveryService.executeWithProtection("mysql", "findByUsername", query)
+                : query;
+    }
+
     @Override
     public String getDeviceId(AuthRequest authRequest) {
         return authRequest.getDeviceId() != null ? authRequest.getDeviceId() : "unknown-device";
@@ -657,45 +702,20 @@ public class ReactiveAuthServiceImpl implements ReactiveAuthService {
         return phone.substring(0, 3) + "****" + phone.substring(phone.length() - 4);
     }
 
-    // ==================== 并发用户计数器管理 ====================
+    // ==================== 用户会话管理 ====================
 
     /**
-     * 增加并发用户计数器
+     * 释放令牌对应的用户会话
      *
-     * @return 增加操作的Mono
-     * @author Mr.Rey Copyright © 2025
-     * @created 2025-01-15 当前时间
-     * @version 1.0.0
+     * @param token 访问令牌
+     * @return 释放操作的Mono，失败时不影响登出流程
      */
-    private Mono<Void> incrementConcurrentUserCount() {
-        return redisTemplate.opsForValue()
-                .increment("system:concurrent:users:count")
-                .doOnNext(count -> LoggingUtil.debug(logger, "并发用户计数器增加，当前值: {}", count))
-                .doOnError(error -> LoggingUtil.error(logger, "增加并发用户计数器失败", error))
-                .then();
-    }
-
-    /**
-     * 减少并发用户计数器
-     *
-     * @return 减少操作的Mono
-     * @author Mr.Rey Copyright © 2025
-     * @created 2025-01-15 当前时间
-     * @version 1.0.0
-     */
-    private Mono<Void> decrementConcurrentUserCount() {
-        return redisTemplate.opsForValue()
-                .decrement("system:concurrent:users:count")
-                .doOnNext(count -> {
-                    // 确保计数器不会变成负数
-                    if (count < 0) {
-                        redisTemplate.opsForValue().set("system:concurrent:users:count", "0").subscribe();
-                        LoggingUtil.warn(logger, "并发用户计数器出现负数，已重置为0");
-                    } else {
-                        LoggingUtil.debug(logger, "并发用户计数器减少，当前值: {}", count);
-                    }
-                })
-                .doOnError(error -> LoggingUtil.error(logger, "减少并发用户计数器失败", error))
+    private Mono<Void> releaseUserSession(String token) {
+        return jwtTokenProvider.getUserIdFromToken(token)
+                .flatMap(userId -> activityManager.releaseSessionByToken(userId, token))
+                .doOnNext(released -> LoggingUtil.debug(logger, "用户会话释放结果: {}", released))
+                .doOnError(error -> LoggingUtil.warn(logger, "释放用户会话失败，但不影响登出流程: {}", error.getMessage()))
+                .onErrorResume(error -> Mono.empty())
                 .then();
     }
 }
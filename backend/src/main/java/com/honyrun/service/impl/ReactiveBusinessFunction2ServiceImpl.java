@@ -1,7 +1,11 @@
 package com.honyrun.service.impl;
 
+import com.honyrun.exception.BusinessException;
+import com.honyrun.exception.ErrorCode;
 import com.honyrun.model.entity.business.BusinessFunction2;
+import com.honyrun.repository.r2dbc.ReactiveBusinessFunction2Repository;
 import com.honyrun.service.reactive.ReactiveBusinessFunction2Service;
+import com.honyrun.service.rule.BusinessRuleEngine;
 import com.honyrun.util.LoggingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -30,10 +34,13 @@ import java.util.Map;
  * - 不进行任何实际业务处理
  * - 仅用于保持系统架构完整性
  * - 未来功能扩展时再进行具体实现
- * 
+ *
+ * 例外：规则验证与规则执行委托给通用的BusinessRuleEngine，本类只负责读取实体中的规则定义
+ * （configData字段（包含rules数组的JSON对象）），不包含任何具体业务规则，规则内容完全由数据决定
+ *
  * @author Mr.Rey
  * @created 2025-07-01  18:00:00
- * @modified 2025-07-01 16:57:03
+ * @modified 2025-11-04 14:00:00
  * @version 2.0.0
  * Copyright © 2025 HonyRun. All rights reserved.
  */
@@ -42,6 +49,17 @@ public class ReactiveBusinessFunction2ServiceImpl implements ReactiveBusinessFun
 
     private static final Logger logger = LoggerFactory.getLogger(ReactiveBusinessFunction2ServiceImpl.class);
 
+    private static final String RULE_SET_PREFIX = "bf2:";
+
+    private final ReactiveBusinessFunction2Repository businessFunction2Repository;
+    private final BusinessRuleEngine businessRuleEngine;
+
+    public ReactiveBusinessFunction2ServiceImpl(ReactiveBusinessFunction2Repository businessFunction2Repository,
+                 BusinessRuleEngine businessRuleEngine) {
+        this.businessFunction2Repository = businessFunction2Repository;
+        this.businessRuleEngine = businessRuleEngine;
+    }
+
     @Override
     public Mono<BusinessFunction2> createBusinessFunction2(BusinessFunction2 businessFunction2) {
         LoggingUtil.info(logger, "业务功能2创建 - 预留功能");
@@ -176,14 +194,22 @@ public class ReactiveBusinessFunction2ServiceImpl implements ReactiveBusinessFun
 
     @Override
     public Mono<Boolean> validateBusinessRule(Long id, String ruleData) {
-        LoggingUtil.info(logger, "业务功能2规则验证 - 预留功能");
-        return Mono.just(false);
+        return Mono.fromCallable(() -> {
+            try {
+                businessRuleEngine.compile(RULE_SET_PREFIX + id, ruleData);
+                return true;
+            } catch (IllegalArgumentException e) {
+                LoggingUtil.warn(logger, "业务功能2规则验证未通过，ID: {}，原因: {}", id, e.getMessage());
+                return false;
+            }
+        });
     }
 
     @Override
     public Mono<String> executeBusinessRule(Long id, String inputData) {
-        LoggingUtil.info(logger, "业务功能2规则执行 - 预留功能");
-        return Mono.just("");
+        return businessFunction2Repository.findById(id)
+                .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.RESOURCE_NOT_FOUND, "业务功能2不存在: " + id)))
+                .flatMap(entity -> businessRuleEngine.execute(RULE_SET_PREFIX + id, entity.getConfigData(), inputData));
     }
 
     @Override
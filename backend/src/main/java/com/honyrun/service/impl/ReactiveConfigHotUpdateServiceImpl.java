@@ -20,6 +20,8 @@ import com.honyrun.model.dto.request.ConfigUpdateRequest;
 import com.honyrun.model.dto.response.ConfigUpdateResponse;
 import com.honyrun.model.entity.system.SystemConfig;
 import com.honyrun.repository.r2dbc.ReactiveSystemConfigRepository;
+import com.honyrun.service.config.ConfigChangeMessage;
+import com.honyrun.service.config.ConfigChangePropagator;
 import com.honyrun.service.reactive.ReactiveConfigHotUpdateService;
 import com.honyrun.util.LoggingUtil;
 
@@ -33,10 +35,13 @@ import reactor.core.scheduler.Schedulers;
  * 基于WebFlux的响应式配置热更新服务实现，提供非阻塞的配置动态更新功能
  * 支持单个配置更新、批量配置更新、配置验证、配置备份等功能
  *
+ * 配置写入成功后通过ConfigChangePropagator发布带版本号的变更，其他节点经Redis频道收到后
+ * 重新加载配置快照并回写确认；变更日志、实时变更流与跨节点同步均基于该传播器
+ *
  * @author Mr.Rey
- * @version 2.0.0
+ * @version 2.1.0
  * @created 2025-07-01 12:25:00
- * @modified 2025-07-01 12:25:00
+ * @modified 2025-11-02 14:00:00
  * Copyright © 2025 HonyRun. All rights reserved.
  */
 @Service
@@ -47,7 +52,7 @@ public class ReactiveConfigHotUpdateServiceImpl implements ReactiveConfigHotUpda
 
     private final ReactiveSystemConfigRepository configRepository;
     private final SystemConfigManager configManager;
-
+    private final ConfigChangePropagator changePropagator;
 
     // 配置更新任务缓存
     private final Map<String, ConfigUpdateResponse> updateTasks = new ConcurrentHashMap<>();
@@ -56,9 +61,11 @@ public class ReactiveConfigHotUpdateServiceImpl implements ReactiveConfigHotUpda
     private final Map<String, Map<String, Object>> configBackups = new ConcurrentHashMap<>();
 
     public ReactiveConfigHotUpdateServiceImpl(ReactiveSystemConfigRepository configRepository,
-                                            SystemConfigManager configManager) {
+                                            SystemConfigManager configManager,
+                                            ConfigChangePropagator changePropagator) {
         this.configRepository = configRepository;
         this.configManager = configManager;
+        this.changePropagator = changePropagator;
     }
 
     // ==================== 配置更新功能 ====================
@@ -513,20 +520,19 @@ public class ReactiveConfigHotUpdateServiceImpl implements ReactiveConfigHotUpda
     public Flux<Map<String, Object>> getConfigChangeLog(Long operatorId, int page, int size) {
         LoggingUtil.info(logger, "获取配置变更日志: operatorId={}, page={}, size={}", operatorId, page, size);
 
-        // 模拟变更日志数据
-        List<Map<String, Object>> logs = Arrays.asList(
-                Map.of("changeId", "change_001", "configKey", "test.config", "operation", "UPDATE", 
-                       "operatorId", operatorId, "changeTime", LocalDateTime.now()),
-                Map.of("changeId", "change_002", "configKey", "test.config2", "operation", "CREATE", 
-                       "operatorId", operatorId, "changeTime", LocalDateTime.now())
-        );
-
-        Map<String, Object> result = new HashMap<>();
-        result.put("changes", logs);
-        result.put("totalCount", logs.size());
-        result.put("pageInfo", Map.of("page", page, "size", size, "totalPages", 1));
-
-        return Flux.just(result);
+        // 变更日志记录操作人名称而非ID，operatorId仅用于审计日志
+        return Mono.zip(changePropagator.readChangeLog(page, size).map(ConfigChangeMessage::toMap).collectList(),
+                        changePropagator.countChangeLog())
+                .map(tuple -> {
+                    long totalCount = tuple.getT2();
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("changes", tuple.getT1());
+                    result.put("totalCount", totalCount);
+                    result.put("pageInfo", Map.of("page", page, "size", size,
+                            "totalPages", size > 0 ? (totalCount + size - 1) / size : 0));
+                    return result;
+                })
+                .flux();
     }
 
     @Override
@@ -607,7 +613,7 @@ public class ReactiveConfigHotUpdateServiceImpl implements ReactiveConfigHotUpda
                 configManager.clearConfigCache();
                 LoggingUtil.info(logger, "指定配置缓存已清空: {}", configKeys);
             }
-        });
+        }).then(propagate(configKeys, ConfigChangePropagator.CHANGE_EVICT, "system"));
     }
 
     @Override
@@ -642,14 +648,16 @@ public class ReactiveConfigHotUpdateServiceImpl implements ReactiveConfigHotUpda
     public Mono<Map<String, Object>> syncConfigCache(List<String> targetNodes) {
         LoggingUtil.info(logger, "同步配置缓存到目标节点: {}", targetNodes);
 
-        return Mono.fromCallable(() -> {
-            Map<String, Object> result = new HashMap<>();
-            result.put("targetNodes", targetNodes);
-            result.put("syncTime", LocalDateTime.now());
-            result.put("syncStatus", "SUCCESS");
-            result.put("message", "配置缓存同步完成");
-            return result;
-        });
+        return changePropagator.syncNodes(targetNodes, "system")
+                .onErrorResume(error -> {
+                    LoggingUtil.error(logger, "同步配置缓存失败", error);
+                    Map<String, Object> result = new HashMap<>();
+                    result.put("targetNodes", targetNodes);
+                    result.put("syncTime", LocalDateTime.now());
+                    result.put("syncStatus", "FAILED");
+                    result.put("message", "配置缓存同步失败: " + error.getMessage());
+                    return Mono.just(result);
+                });
     }
 
     // ==================== 其他功能的简化实现 ====================
@@ -709,7 +717,7 @@ public class ReactiveConfigHotUpdateServiceImpl implements ReactiveConfigHotUpda
 
     @Override
     public Flux<Map<String, Object>> monitorConfigChanges(List<String> configKeys) {
-        return Flux.empty();
+        return changePropagator.changeStream(configKeys);
     }
 
     @Override
@@ -946,7 +954,9 @@ public class ReactiveConfigHotUpdateServiceImpl implements ReactiveConfigHotUpda
 
                         return response;
                     }))
-                    .flatMap(res -> configManager.refreshConfigCache().thenReturn(res));
+                    .flatMap(res -> configManager.refreshConfigCache().thenReturn(res))
+                    .flatMap(res -> propagate(List.of(savedConfig.getConfigKey()),
+                            ConfigChangePropagator.CHANGE_UPDATE, response.getOperatorName()).thenReturn(res));
                 })
                 .onErrorResume(error -> {
                     LoggingUtil.error(logger, "配置更新失败: {}", request.getConfigKey(), error);
@@ -994,7 +1004,13 @@ public class ReactiveConfigHotUpdateServiceImpl implements ReactiveConfigHotUpda
                     }
 
                     // 统一刷新缓存以避免测试中的桩告警
-                    return configManager.refreshConfigCache().thenReturn(response);
+                    Mono<Void> propagation = successCount > 0
+                            ? propagate(request.getConfigItems().stream()
+                                    .map(ConfigUpdateRequest.ConfigItem::getConfigKey)
+                                    .collect(Collectors.toList()),
+                                    ConfigChangePropagator.CHANGE_UPDATE, response.getOperatorName())
+                            : Mono.empty();
+                    return configManager.refreshConfigCache().then(propagation).thenReturn(response);
                 });
     }
 
@@ -1054,6 +1070,19 @@ public class ReactiveConfigHotUpdateServiceImpl implements ReactiveConfigHotUpda
         }
     }
 
+    /**
+     * 发布配置变更到其他节点
+     * 传播失败不影响本节点已完成的更新，由各节点的定时对账补齐
+     */
+    private Mono<Void> propagate(List<String> configKeys, String changeType, String operatorName) {
+        return changePropagator.publish(configKeys, changeType, operatorName)
+                .then()
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "发布配置变更失败，其他节点将在对账时同步: {}", error.getMessage());
+                    return Mono.empty();
+                });
+    }
+
     /**
      * 生成任务ID
      */
@@ -2,9 +2,19 @@ package com.honyrun.service.impl;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -12,10 +22,16 @@ import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 import com.honyrun.config.properties.ErrorRecoveryProperties;
+import com.honyrun.config.retry.IntelligentRetryStrategy;
 import com.honyrun.exception.reactive.BackpressureException;
+import com.honyrun.exception.reactive.CallNotPermittedException;
 import com.honyrun.exception.reactive.ReactiveException;
 import com.honyrun.exception.reactive.StreamingException;
 import com.honyrun.service.reactive.ReactiveErrorRecoveryService;
+import com.honyrun.service.reactive.resilience.Bulkhead;
+import com.honyrun.service.reactive.resilience.CircuitBreakerState;
+import com.honyrun.service.reactive.resilience.ReactiveCircuitBreaker;
+import com.honyrun.service.reactive.resilience.ResilientDependency;
 import com.honyrun.util.LoggingUtil;
 import com.honyrun.util.MonitoringLogUtil;
 
@@ -37,6 +53,7 @@ import reactor.util.retry.Retry;
  * - 系统自愈和恢复监控
  * - 错误恢复统计和分析
  * - 恢复策略动态调整
+ * - 按依赖（MySQL、Redis、图片处理）隔离的熔断器和舱壁
  *
  * 响应式特性：
  * - 非阻塞错误恢复：异步执行错误恢复操作
@@ -47,7 +64,7 @@ import reactor.util.retry.Retry;
  * @author Mr.Rey
  * @version 2.0.0
  * @created 2025-07-01 14:00:00
- * @modified 2025-07-01 14:00:00
+ * @modified 2025-10-31 14:00:00
  *           Copyright © 2025 HonyRun. All rights reserved.
  */
 @Service
@@ -68,6 +85,13 @@ public class ReactiveErrorRecoveryServiceImpl implements ReactiveErrorRecoverySe
 
     // 统一配置管理 - 消除@Value硬编码违规
     private final ErrorRecoveryProperties errorRecoveryProperties;
+    private final IntelligentRetryStrategy retryStrategy;
+    private final MeterRegistry meterRegistry;
+
+    // ==================== 熔断与舱壁 ====================
+
+    // 依赖名称 -> 熔断器和舱壁，首次使用时创建
+    private final Map<String, ResilientDependency> dependencies = new ConcurrentHashMap<>();
 
     // ==================== 构造函数 ====================
 
@@ -75,9 +99,17 @@ public class ReactiveErrorRecoveryServiceImpl implements ReactiveErrorRecoverySe
      * 构造函数注入 - 符合Spring Boot 3最佳实践
      *
      * @param errorRecoveryProperties 错误恢复配置属性
+     * @param retryStrategy           智能重试策略
+     * @param meterRegistry           指标注册表
      */
-    public ReactiveErrorRecoveryServiceImpl(ErrorRecoveryProperties errorRecoveryProperties) {
+    public ReactiveErrorRecoveryServiceImpl(ErrorRecoveryProperties errorRecoveryProperties,
+                                            IntelligentRetryStrategy retryStrategy,
+                                            MeterRegistry meterRegistry) {
         this.errorRecoveryProperties = errorRecoveryProperties;
+        this.retryStrategy = retryStrategy;
+        this.meterRegistry = meterRegistry;
+        // 配置了舱壁上限的依赖预先创建，启动后即可在指标和端点中看到
+        errorRecoveryProperties.getBulkhead().getMaxConcurrentCalls().keySet().forEach(this::dependency);
     }
 
     // ==================== 主要错误恢复方法 ====================
@@ -206,15 +238,160 @@ public class ReactiveErrorRecoveryServiceImpl implements ReactiveErrorRecoverySe
 
     /**
      * 激活熔断器
+     *
+     * 按操作名称找到对应依赖并强制打开其熔断器，等待时间结束后自动进入半开探测
      */
     @Override
     public <T> Mono<T> activateCircuitBreaker(String operationName, Throwable error) {
-        circuitBreakerTrips.incrementAndGet();
+        String dependency = resolveDependency(operationName);
+
+        LoggingUtil.error(logger, "激活熔断器 - 操作: {}, 依赖: {}, 错误: {}", operationName, dependency, error.getMessage());
+
+        dependency(dependency).getCircuitBreaker().transitionToOpen();
+        return Mono.error(new CallNotPermittedException(dependency, CallNotPermittedException.Reason.CIRCUIT_OPEN));
+    }
 
-        LoggingUtil.error(logger, "激活熔断器 - 操作: {}, 错误: {}", operationName, error.getMessage());
+    @Override
+    public <T> Mono<T> executeWithProtection(String dependency, String operationName, Mono<T> operation) {
+        return dependency(dependency).decorate(operation)
+                .retryWhen(retryStrategy.getProtectedCallRetry(dependency))
+                .doOnError(CallNotPermittedException.class, error -> LoggingUtil.debug(logger,
+                        "依赖调用被拒绝 - 操作: {}, 依赖: {}, 原因: {}", operationName, dependency, error.getReason()));
+    }
 
-        return createRecoveryLog(operationName, "ERROR", "激活熔断器: " + error.getMessage())
-                .then(Mono.error(new RuntimeException("熔断器已激活，服务暂时不可用")));
+    @Override
+    public <T> Mono<T> executeWithProtection(String dependency, String operationName, Mono<T> operation,
+                                             Function<Throwable, Mono<T>> fallback) {
+        return executeWithProtection(dependency, operationName, operation)
+                .onErrorResume(error -> {
+                    degradationActivations.incrementAndGet();
+                    if (!(error instanceof CallNotPermittedException)) {
+                        LoggingUtil.warn(logger, "依赖调用失败，进入降级 - 操作: {}, 依赖: {}, 错误: {}",
+                                operationName, dependency, error.getMessage());
+                    }
+                    return fallback.apply(error);
+                });
+    }
+
+    @Override
+    public Map<String, Object> getCircuitBreakerStates() {
+        Map<String, Object> states = new LinkedHashMap<>();
+        dependencies.forEach((name, guard) -> states.put(name, guard.snapshot()));
+        return states;
+    }
+
+    @Override
+    public void changeCircuitBreakerState(String dependency, boolean open) {
+        ReactiveCircuitBreaker circuitBreaker = dependency(dependency).getCircuitBreaker();
+        if (open) {
+            circuitBreaker.transitionToOpen();
+        } else {
+            circuitBreaker.transitionToClosed();
+        }
+        LoggingUtil.info(logger, "手动切换熔断器状态 - 依赖: {}, 状态: {}", dependency, circuitBreaker.getState());
+    }
+
+    @Override
+    public void changeBulkheadLimit(String dependency, int maxConcurrentCalls) {
+        dependency(dependency).getBulkhead().setMaxConcurrentCalls(maxConcurrentCalls);
+        LoggingUtil.info(logger, "调整舱壁并发上限 - 依赖: {}, 上限: {}", dependency, maxConcurrentCalls);
+    }
+
+    /**
+     * 获取或创建依赖的熔断器和舱壁，并注册指标
+     */
+    private ResilientDependency dependency(String name) {
+        ResilientDependency existing = dependencies.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        return dependencies.computeIfAbsent(name, this::createDependency);
+    }
+
+    private ResilientDependency createDependency(String name) {
+        ErrorRecoveryProperties.CircuitBreaker breakerConfig = errorRecoveryProperties.getCircuitBreaker();
+        ErrorRecoveryProperties.Bulkhead bulkheadConfig = errorRecoveryProperties.getBulkhead();
+
+        ReactiveCircuitBreaker circuitBreaker = new ReactiveCircuitBreaker(name,
+                breakerConfig.getSlidingWindowSize(),
+                breakerConfig.getMinimumNumberOfCalls(),
+                breakerConfig.getFailureRateThreshold(),
+                breakerConfig.getSlowCallRateThreshold(),
+                breakerConfig.getSlowCallDurationThreshold(),
+                breakerConfig.getWaitDurationInOpenState(),
+                breakerConfig.getPermittedCallsInHalfOpenState(),
+                (from, to) -> onStateTransition(name, from, to));
+        Bulkhead bulkhead = new Bulkhead(name, bulkheadConfig.getMaxConcurrentCalls()
+                .getOrDefault(name, bulkheadConfig.getDefaultMaxConcurrentCalls()));
+        Duration callTimeout = breakerConfig.getCallTimeouts().getOrDefault(name, breakerConfig.getCallTimeout());
+
+        Gauge.builder("honyrun.circuitbreaker.state", circuitBreaker, breaker -> breaker.getState().getGaugeValue())
+                .description("熔断器状态：0关闭，1打开，2半开")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("honyrun.circuitbreaker.failure.rate", circuitBreaker, ReactiveCircuitBreaker::getFailureRate)
+                .description("熔断器滑动窗口失败率（百分比），样本不足时为-1")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("honyrun.circuitbreaker.slow.call.rate", circuitBreaker, ReactiveCircuitBreaker::getSlowCallRate)
+                .description("熔断器滑动窗口慢调用率（百分比），样本不足时为-1")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        FunctionCounter.builder("honyrun.circuitbreaker.not.permitted.calls", circuitBreaker,
+                        ReactiveCircuitBreaker::getNotPermittedCalls)
+                .description("熔断器拒绝的调用数")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("honyrun.bulkhead.available.concurrent.calls", bulkhead, Bulkhead::getAvailableConcurrentCalls)
+                .description("舱壁剩余并发名额")
+                .tag("dependency", name)
+                .register(meterRegistry);
+
+        LoggingUtil.info(logger, "创建依赖熔断器和舱壁 - 依赖: {}, 并发上限: {}, 调用超时: {}",
+                name, bulkhead.getMaxConcurrentCalls(), callTimeout);
+        return new ResilientDependency(name, circuitBreaker, bulkhead, callTimeout, retryStrategy::isDependencyFailure);
+    }
+
+    /**
+     * 熔断器状态转换：打开时计入熔断次数并告警，依赖在打开期间视为处于降级模式
+     */
+    private void onStateTransition(String dependency, CircuitBreakerState from, CircuitBreakerState to) {
+        String message = "熔断器状态转换: " + from + " -> " + to;
+        if (to == CircuitBreakerState.OPEN) {
+            circuitBreakerTrips.incrementAndGet();
+            LoggingUtil.error(logger, "熔断器打开 - 依赖: {}, 原状态: {}", dependency, from);
+            Map<String, Object> details = new HashMap<>();
+            details.put("dependency", dependency);
+            details.put("from", from.name());
+            MonitoringLogUtil.logSystemAlert("CIRCUIT_BREAKER_OPEN", "ERROR", "依赖熔断: " + dependency, details);
+        } else {
+            LoggingUtil.info(logger, "熔断器状态转换 - 依赖: {}, {} -> {}", dependency, from, to);
+        }
+        createRecoveryLog(dependency, to == CircuitBreakerState.OPEN ? "ERROR" : "INFO", message).subscribe();
+    }
+
+    /**
+     * 按操作名称推断依赖名称
+     */
+    private String resolveDependency(String operationName) {
+        if (operationName == null) {
+            return "default";
+        }
+        if (dependencies.containsKey(operationName)) {
+            return operationName;
+        }
+        String lower = operationName.toLowerCase(Locale.ROOT);
+        if (lower.contains("redis") || lower.contains("cache")) {
+            return "redis";
+        }
+        if (lower.contains("image")) {
+            return "image";
+        }
+        if (lower.contains("mysql") || lower.contains("database") || lower.contains("repository")
+                || lower.contains("sql") || lower.contains("db")) {
+            return "mysql";
+        }
+        return operationName;
     }
 
     // ==================== 重试策略创建 ====================
@@ -365,11 +542,15 @@ public class ReactiveErrorRecoveryServiceImpl implements ReactiveErrorRecoverySe
      * 判断是否为可重试异常
      */
     private boolean isRetryableException(Throwable error) {
+        // 熔断和舱壁拒绝没有到达依赖，重试只会继续被拒绝
+        if (error instanceof CallNotPermittedException) {
+            return false;
+        }
         return error instanceof ReactiveException ||
                 error instanceof IllegalArgumentException ||
                 error instanceof RuntimeException ||
-                error.getMessage().contains("timeout") ||
-                error.getMessage().contains("connection");
+                (error.getMessage() != null && (error.getMessage().contains("timeout") ||
+                        error.getMessage().contains("connection")));
     }
 
     // ==================== 恢复统计方法 ====================
@@ -388,6 +569,13 @@ public class ReactiveErrorRecoveryServiceImpl implements ReactiveErrorRecoverySe
             stats.put("circuitBreakerTrips", circuitBreakerTrips.get());
             stats.put("recoverySuccessRate", calculateRecoverySuccessRate());
             stats.put("degradationRate", calculateDegradationRate());
+            List<String> degradedDependencies = new ArrayList<>();
+            dependencies.forEach((name, guard) -> {
+                if (guard.getCircuitBreaker().getState() != CircuitBreakerState.CLOSED) {
+                    degradedDependencies.add(name);
+                }
+            });
+            stats.put("degradedDependencies", degradedDependencies);
             stats.put("timestamp", LocalDateTime.now());
             return stats;
         });
@@ -7,7 +7,7 @@ import java.awt.Graphics2D;
 import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -19,17 +19,19 @@ import javax.imageio.stream.ImageOutputStream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferFactory;
-import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.http.codec.multipart.FilePart;
 import org.springframework.stereotype.Service;
 
 import com.honyrun.config.UnifiedConfigManager;
 import com.honyrun.exception.BusinessException;
 import com.honyrun.exception.ErrorCode;
+import com.honyrun.service.reactive.ReactiveErrorRecoveryService;
 import com.honyrun.service.reactive.ReactiveImageService;
 import com.honyrun.util.LoggingUtil;
+import com.honyrun.util.reactive.PooledDataBufferUtil;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -56,8 +58,8 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
 
     private static final Logger logger = LoggerFactory.getLogger(ReactiveImageServiceImpl.class);
 
-    private final DataBufferFactory dataBufferFactory = new DefaultDataBufferFactory();
     private final UnifiedConfigManager unifiedConfigManager;
+    private final ObjectProvider<ReactiveErrorRecoveryService> errorRecoveryServiceProvider;
 
     // 支持的图片格式
     private static final List<String> SUPPORTED_FORMATS = Arrays.asList(
@@ -66,10 +68,13 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
     /**
      * 构造函数注入
      *
-     * @param unifiedConfigManager 统一配置管理器
+     * @param unifiedConfigManager         统一配置管理器
+     * @param errorRecoveryServiceProvider 错误恢复服务（未启用时不做熔断和舱壁保护）
      */
-    public ReactiveImageServiceImpl(UnifiedConfigManager unifiedConfigManager) {
+    public ReactiveImageServiceImpl(UnifiedConfigManager unifiedConfigManager,
+            ObjectProvider<ReactiveErrorRecoveryService> errorRecoveryServiceProvider) {
         this.unifiedConfigManager = unifiedConfigManager;
+        this.errorRecoveryServiceProvider = errorRecoveryServiceProvider;
     }
 
     @Override
@@ -87,7 +92,12 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
                     if (!isValid) {
                         return Mono.error(new BusinessException(ErrorCode.VALIDATION_ERROR, "不支持的图片格式"));
                     }
-                    return processImageConversion(filePart, targetFormat, quality, width, height);
+                    // 图片解码和编码占用大量CPU和内存，由舱壁限制同时进行的转换数
+                    Mono<DataBuffer> conversion = processImageConversion(filePart, targetFormat, quality, width, height);
+                    ReactiveErrorRecoveryService errorRecoveryService = errorRecoveryServiceProvider.getIfAvailable();
+                    return errorRecoveryService != null
+                            ? errorRecoveryService.executeWithProtection("image", "convertImage", conversion)
+                            : conversion;
                 })
                 .doOnSuccess(result -> LoggingUtil.info(logger, "图片转换完成: {}", filePart.filename()))
                 .doOnError(error -> LoggingUtil.error(logger, "图片转换失败: {}", error.getMessage()));
@@ -109,6 +119,8 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
                             LoggingUtil.warn(logger, "批量转换中跳过失败的图片: {} - {}", filePart.filename(), error.getMessage());
                             return Mono.empty(); // 跳过失败的图片，继续处理其他图片
                         }))
+                // 下游取消时释放已转换但尚未写出的缓冲区
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
                 .doOnComplete(() -> LoggingUtil.info(logger, "批量图片转换完成"));
     }
 
@@ -144,11 +156,9 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
     public Mono<ImageInfo> getImageInfo(FilePart filePart) {
         LoggingUtil.debug(logger, "获取图片信息: {}", filePart.filename());
 
-        return filePart.content()
-                .collectList()
-                .map(dataBuffers -> {
+        return PooledDataBufferUtil.readAllBytes(filePart.content())
+                .map(imageBytes -> {
                     try {
-                        byte[] imageBytes = combineDataBuffers(dataBuffers);
                         BufferedImage image = ImageIO.read(new ByteArrayInputStream(imageBytes));
 
                         if (image == null) {
@@ -202,7 +212,11 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
                     Long maxSize = maxSizeBytes != null ? maxSizeBytes : defaultMaxSize;
 
                     return filePart.content()
-                            .map(DataBuffer::readableByteCount)
+                            .map(buffer -> {
+                                int size = buffer.readableByteCount();
+                                DataBufferUtils.release(buffer);
+                                return size;
+                            })
                             .reduce(0L, Long::sum)
                             .map(totalSize -> {
                                 boolean withinLimit = totalSize <= maxSize;
@@ -218,12 +232,9 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
      */
     private Mono<DataBuffer> processImageConversion(FilePart filePart, String targetFormat, Float quality,
             Integer width, Integer height) {
-        return filePart.content()
-                .collectList()
-                .map(dataBuffers -> {
+        return PooledDataBufferUtil.readAllBytes(filePart.content())
+                .map(imageBytes -> {
                     try {
-                        byte[] imageBytes = combineDataBuffers(dataBuffers);
-
                         // 验证图片数据的基本完整性
                         if (imageBytes == null || imageBytes.length < 10) {
                             throw new BusinessException(ErrorCode.VALIDATION_ERROR, "图片文件数据不完整");
@@ -249,9 +260,7 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
                         }
 
                         // 转换格式并应用质量设置
-                        byte[] convertedBytes = convertBufferedImageToBytes(processedImage, targetFormat, quality);
-
-                        return dataBufferFactory.wrap(convertedBytes);
+                        return convertBufferedImageToBuffer(processedImage, targetFormat, quality, imageBytes.length);
 
                     } catch (BusinessException e) {
                         throw e; // 重新抛出业务异常
@@ -270,11 +279,9 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
      */
     private Mono<DataBuffer> processImageResize(FilePart filePart, Integer width, Integer height,
             Boolean keepAspectRatio) {
-        return filePart.content()
-                .collectList()
-                .map(dataBuffers -> {
+        return PooledDataBufferUtil.readAllBytes(filePart.content())
+                .map(imageBytes -> {
                     try {
-                        byte[] imageBytes = combineDataBuffers(dataBuffers);
                         BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(imageBytes));
 
                         if (originalImage == null) {
@@ -287,9 +294,8 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
                         // 使用默认图片质量配置，避免阻塞调用
                         Float defaultQuality = 0.8f;
                         try {
-                            byte[] resizedBytes = convertBufferedImageToBytes(resizedImage, originalFormat,
-                                    defaultQuality);
-                            return dataBufferFactory.wrap(resizedBytes);
+                            return convertBufferedImageToBuffer(resizedImage, originalFormat, defaultQuality,
+                                    imageBytes.length);
                         } catch (IOException e) {
                             throw new BusinessException(ErrorCode.SYSTEM_ERROR,
                                     "图片尺寸调整失败: " + e.getMessage());
@@ -339,17 +345,24 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
     }
 
     /**
-     * 将BufferedImage转换为字节数组
+     * 将BufferedImage编码到池化缓冲区
      */
-    private byte[] convertBufferedImageToBytes(BufferedImage image, String format, Float quality) throws IOException {
-        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    private DataBuffer convertBufferedImageToBuffer(BufferedImage image, String format, Float quality, int sizeHint)
+            throws IOException {
+        return PooledDataBufferUtil.write(sizeHint, outputStream -> writeImage(image, format, quality, outputStream));
+    }
 
+    /**
+     * 按格式编码BufferedImage，JPEG应用质量设置
+     */
+    private void writeImage(BufferedImage image, String format, Float quality, OutputStream outputStream)
+            throws IOException {
         // 处理JPEG格式的质量设置
         if ("jpeg".equalsIgnoreCase(format) || "jpg".equalsIgnoreCase(format)) {
             Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
             if (writers.hasNext()) {
                 ImageWriter writer = writers.next();
-                ImageOutputStream ios = ImageIO.createImageOutputStream(baos);
+                ImageOutputStream ios = ImageIO.createImageOutputStream(outputStream);
                 writer.setOutput(ios);
 
                 // 设置压缩质量
@@ -361,13 +374,11 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
                 writer.dispose();
                 ios.close();
             } else {
-                ImageIO.write(image, "jpeg", baos);
+                ImageIO.write(image, "jpeg", outputStream);
             }
         } else {
-            ImageIO.write(image, format, baos);
+            ImageIO.write(image, format, outputStream);
         }
-
-        return baos.toByteArray();
     }
 
     /**
@@ -383,9 +394,7 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
             com.honyrun.model.dto.image.ImageConversionRequest watermarkRequest) {
         LoggingUtil.info(logger, "开始为图片添加水印: {}", filePart.filename());
 
-        return filePart.content()
-                .collectList()
-                .map(this::combineDataBuffers)
+        return PooledDataBufferUtil.readAllBytes(filePart.content())
                 .flatMap(imageBytes -> {
                     try {
                         // 读取原始图片
@@ -397,14 +406,10 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
                         // 添加水印
                         BufferedImage watermarkedImage = addTextWatermarkToImage(originalImage, watermarkRequest);
 
-                        // 转换为字节数组
-                        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                        // 直接编码到池化缓冲区
                         String format = getImageFormat(filePart.filename());
-                        ImageIO.write(watermarkedImage, format, baos);
-
-                        // 创建DataBuffer
-                        DataBufferFactory bufferFactory = new DefaultDataBufferFactory();
-                        DataBuffer dataBuffer = bufferFactory.wrap(baos.toByteArray());
+                        DataBuffer dataBuffer = PooledDataBufferUtil.write(imageBytes.length,
+                                outputStream -> ImageIO.write(watermarkedImage, format, outputStream));
 
                         LoggingUtil.info(logger, "成功为图片添加水印: {}", filePart.filename());
                         return Mono.just(dataBuffer);
@@ -480,23 +485,6 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
         }
     }
 
-    /**
-     * 合并DataBuffer列表为字节数组
-     */
-    private byte[] combineDataBuffers(List<DataBuffer> dataBuffers) {
-        int totalSize = dataBuffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
-        byte[] combined = new byte[totalSize];
-        int offset = 0;
-
-        for (DataBuffer buffer : dataBuffers) {
-            int length = buffer.readableByteCount();
-            buffer.read(combined, offset, length);
-            offset += length;
-        }
-
-        return combined;
-    }
-
     /**
      * 获取文件扩展名
      */
@@ -597,12 +585,10 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
      * 处理图片旋转
      */
     private Mono<DataBuffer> processImageRotation(FilePart filePart, Integer angle) {
-        return filePart.content()
-                .collectList()
+        return PooledDataBufferUtil.readAllBytes(filePart.content())
                 .publishOn(Schedulers.boundedElastic())
-                .map(dataBuffers -> {
+                .map(imageBytes -> {
                     try {
-                        byte[] imageBytes = combineDataBuffers(dataBuffers);
                         BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(imageBytes));
 
                         if (originalImage == null) {
@@ -611,11 +597,9 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
 
                         BufferedImage rotatedImage = rotateBufferedImage(originalImage, angle);
 
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
                         String format = getImageFormat(filePart.filename());
-                        ImageIO.write(rotatedImage, format, outputStream);
-
-                        return dataBufferFactory.wrap(outputStream.toByteArray());
+                        return PooledDataBufferUtil.write(imageBytes.length,
+                                outputStream -> ImageIO.write(rotatedImage, format, outputStream));
                     } catch (IOException e) {
                         throw new BusinessException(ErrorCode.SYSTEM_ERROR, "图片旋转处理失败: " + e.getMessage());
                     }
@@ -626,12 +610,10 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
      * 处理图片裁剪
      */
     private Mono<DataBuffer> processImageCrop(FilePart filePart, Integer x, Integer y, Integer width, Integer height) {
-        return filePart.content()
-                .collectList()
+        return PooledDataBufferUtil.readAllBytes(filePart.content())
                 .publishOn(Schedulers.boundedElastic())
-                .map(dataBuffers -> {
+                .map(imageBytes -> {
                     try {
-                        byte[] imageBytes = combineDataBuffers(dataBuffers);
                         BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(imageBytes));
 
                         if (originalImage == null) {
@@ -645,11 +627,9 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
 
                         BufferedImage croppedImage = originalImage.getSubimage(x, y, width, height);
 
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
                         String format = getImageFormat(filePart.filename());
-                        ImageIO.write(croppedImage, format, outputStream);
-
-                        return dataBufferFactory.wrap(outputStream.toByteArray());
+                        return PooledDataBufferUtil.write(imageBytes.length,
+                                outputStream -> ImageIO.write(croppedImage, format, outputStream));
                     } catch (IOException e) {
                         throw new BusinessException(ErrorCode.SYSTEM_ERROR, "图片裁剪处理失败: " + e.getMessage());
                     }
@@ -660,12 +640,10 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
      * 处理图片翻转
      */
     private Mono<DataBuffer> processImageFlip(FilePart filePart, Boolean horizontal) {
-        return filePart.content()
-                .collectList()
+        return PooledDataBufferUtil.readAllBytes(filePart.content())
                 .publishOn(Schedulers.boundedElastic())
-                .map(dataBuffers -> {
+                .map(imageBytes -> {
                     try {
-                        byte[] imageBytes = combineDataBuffers(dataBuffers);
                         BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(imageBytes));
 
                         if (originalImage == null) {
@@ -674,11 +652,9 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
 
                         BufferedImage flippedImage = flipBufferedImage(originalImage, horizontal);
 
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
                         String format = getImageFormat(filePart.filename());
-                        ImageIO.write(flippedImage, format, outputStream);
-
-                        return dataBufferFactory.wrap(outputStream.toByteArray());
+                        return PooledDataBufferUtil.write(imageBytes.length,
+                                outputStream -> ImageIO.write(flippedImage, format, outputStream));
                     } catch (IOException e) {
                         throw new BusinessException(ErrorCode.SYSTEM_ERROR, "图片翻转处理失败: " + e.getMessage());
                     }
@@ -689,19 +665,16 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
      * 处理图片质量调整
      */
     private Mono<DataBuffer> processImageQualityAdjustment(FilePart filePart, Float quality) {
-        return filePart.content()
-                .collectList()
+        return PooledDataBufferUtil.readAllBytes(filePart.content())
                 .publishOn(Schedulers.boundedElastic())
-                .map(dataBuffers -> {
+                .map(imageBytes -> {
                     try {
-                        byte[] imageBytes = combineDataBuffers(dataBuffers);
                         BufferedImage originalImage = ImageIO.read(new ByteArrayInputStream(imageBytes));
 
                         if (originalImage == null) {
                             throw new BusinessException(ErrorCode.VALIDATION_ERROR, "无法读取图片数据");
                         }
 
-                        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
                         String format = getImageFormat(filePart.filename());
 
                         // 使用ImageWriter来控制质量
@@ -711,23 +684,23 @@ public class ReactiveImageServiceImpl implements ReactiveImageService {
                         }
 
                         ImageWriter writer = writers.next();
-                        ImageOutputStream ios = ImageIO.createImageOutputStream(outputStream);
-                        writer.setOutput(ios);
-
-                        // 设置压缩参数
-                        if ("jpeg".equalsIgnoreCase(format) || "jpg".equalsIgnoreCase(format)) {
-                            javax.imageio.ImageWriteParam param = writer.getDefaultWriteParam();
-                            param.setCompressionMode(javax.imageio.ImageWriteParam.MODE_EXPLICIT);
-                            param.setCompressionQuality(quality);
-                            writer.write(null, new javax.imageio.IIOImage(originalImage, null, null), param);
-                        } else {
-                            writer.write(originalImage);
-                        }
-
-                        writer.dispose();
-                        ios.close();
-
-                        return dataBufferFactory.wrap(outputStream.toByteArray());
+                        return PooledDataBufferUtil.write(imageBytes.length, outputStream -> {
+                            ImageOutputStream ios = ImageIO.createImageOutputStream(outputStream);
+                            writer.setOutput(ios);
+
+                            // 设置压缩参数
+                            if ("jpeg".equalsIgnoreCase(format) || "jpg".equalsIgnoreCase(format)) {
+                                javax.imageio.ImageWriteParam param = writer.getDefaultWriteParam();
+                                param.setCompressionMode(javax.imageio.ImageWriteParam.MODE_EXPLICIT);
+                                param.setCompressionQuality(quality);
+                                writer.write(null, new javax.imageio.IIOImage(originalImage, null, null), param);
+                            } else {
+                                writer.write(originalImage);
+                            }
+
+                            writer.dispose();
+                            ios.close();
+                        });
                     } catch (IOException e) {
                         throw new BusinessException(ErrorCode.SYSTEM_ERROR, "图片质量调整失败: " + e.getMessage());
                     }
@@ -1,24 +1,41 @@
 package com.honyrun.service.impl;
 
+import com.honyrun.model.dto.mock.MockFaultProfile;
 import com.honyrun.model.entity.system.MockInterface;
+import com.honyrun.service.monitoring.MockAccessStatisticsAccumulator;
 import com.honyrun.service.reactive.ReactiveMockInterfaceService;
 import com.honyrun.util.LoggingUtil;
+import com.honyrun.util.common.JsonUtil;
+import com.honyrun.util.reactive.WheelTimerUtil;
 import com.honyrun.exception.BusinessException;
 import com.honyrun.exception.ValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import io.netty.channel.ChannelOption;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.server.reactive.AbstractServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.server.ServerRequest;
 import org.springframework.web.reactive.function.server.ServerResponse;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.netty.Connection;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 响应式模拟接口服务实现类
@@ -40,14 +57,28 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
     private static final Logger logger = LoggerFactory.getLogger(ReactiveMockInterfaceServiceImpl.class);
 
     private final DatabaseClient databaseClient;
+    private final MockAccessStatisticsAccumulator statisticsAccumulator;
+
+    /**
+     * 已解析的故障注入配置缓存，按接口ID缓存，配置JSON变化时重新解析
+     */
+    private final Map<Long, ParsedFaultProfile> faultProfileCache = new ConcurrentHashMap<>();
+
+    /**
+     * sys_mock_interface表是否已包含fault_profile列，旧库升级前为false
+     */
+    private volatile boolean faultProfileColumnPresent;
 
     /**
      * 构造函数注入
      *
      * @param databaseClient 数据库客户端
+     * @param statisticsAccumulator 访问统计累加器
      */
-    public ReactiveMockInterfaceServiceImpl(DatabaseClient databaseClient) {
+    public ReactiveMockInterfaceServiceImpl(DatabaseClient databaseClient,
+                                            MockAccessStatisticsAccumulator statisticsAccumulator) {
         this.databaseClient = databaseClient;
+        this.statisticsAccumulator = statisticsAccumulator;
     }
 
     /**
@@ -137,6 +168,7 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
                         existing.setCategory(mockInterface.getCategory());
                         existing.setTags(mockInterface.getTags());
                         existing.setLogEnabled(mockInterface.getLogEnabled());
+                        existing.setFaultProfile(mockInterface.getFaultProfile());
                         existing.setLastModifiedDate(LocalDateTime.now());
 
                         return saveMockInterface(existing);
@@ -167,7 +199,11 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
                     .rowsUpdated()
                     .then();
             })
-            .doOnSuccess(result -> LoggingUtil.info(logger, "模拟接口删除成功: ID={}", id))
+            .doOnSuccess(result -> {
+                statisticsAccumulator.discard(id);
+                faultProfileCache.remove(id);
+                LoggingUtil.info(logger, "模拟接口删除成功: ID={}", id);
+            })
             .doOnError(error -> LoggingUtil.error(logger, "删除模拟接口失败: ID={}, 错误: {}", id, error.getMessage()));
     }
 
@@ -302,6 +338,9 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
      * 处理模拟接口请求
      * 根据配置处理模拟接口的请求并生成响应
      *
+     * 配置了故障注入（faultProfile）时，按延迟分布采样延迟，并按概率注入错误状态码、
+     * 限制响应体带宽或重置连接。延迟和限速分片均由时间轮调度，不占用任何线程等待
+     *
      * @param mockInterface 模拟接口配置
      * @param request 服务器请求
      * @return 服务器响应
@@ -310,28 +349,32 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
     public Mono<ServerResponse> handleMockRequest(MockInterface mockInterface, ServerRequest request) {
         LoggingUtil.info(logger, "处理模拟接口请求: {}", mockInterface.getInterfaceName());
 
-        return Mono.delay(java.time.Duration.ofMillis(mockInterface.getDelayTime() != null ? mockInterface.getDelayTime() : 0))
-            .then(generateMockResponse(mockInterface, null))
-            .flatMap(responseBody -> {
-                ServerResponse.BodyBuilder builder = ServerResponse.status(mockInterface.getResponseStatus() != null ? mockInterface.getResponseStatus() : 200);
-
-                // 添加响应头
-                if (StringUtils.hasText(mockInterface.getResponseHeaders())) {
-                    try {
-                        // 简单解析响应头（实际项目中应使用JSON解析）
-                        builder.header("Content-Type", "application/json");
-                    } catch (Exception e) {
-                        LoggingUtil.warn(logger, "解析响应头失败: {}", e.getMessage());
-                        builder.header("Content-Type", "application/json");
-                    }
-                } else {
-                    builder.header("Content-Type", "application/json");
-                }
+        long startTime = System.currentTimeMillis();
+        MockFaultProfile profile = resolveFaultProfile(mockInterface);
+        long defaultDelay = mockInterface.getDelayTime() != null ? mockInterface.getDelayTime() : 0L;
+        long delayMillis = profile != null ? profile.sampleLatencyMillis(defaultDelay) : defaultDelay;
 
-                return builder.bodyValue(responseBody);
+        return WheelTimerUtil.delayMillis(delayMillis)
+            .then(Mono.defer(() -> {
+                boolean reset = profile != null && profile.shouldResetConnection();
+                if (reset && profile.getResetMode() == MockFaultProfile.ResetMode.BEFORE_RESPONSE) {
+                    return resetConnection(mockInterface, request);
+                }
+                if (profile != null && profile.shouldInjectError()) {
+                    return buildInjectedErrorResponse(profile);
+                }
+                return generateMockResponse(mockInterface, null)
+                    .flatMap(responseBody -> buildMockResponse(mockInterface, profile, responseBody, reset));
+            }))
+            .doOnSuccess(response -> {
+                statisticsAccumulator.record(mockInterface.getId(), !response.statusCode().isError(),
+                        System.currentTimeMillis() - startTime);
+                LoggingUtil.info(logger, "模拟接口请求处理成功: {}", mockInterface.getInterfaceName());
             })
-            .doOnSuccess(response -> LoggingUtil.info(logger, "模拟接口请求处理成功: {}", mockInterface.getInterfaceName()))
-            .doOnError(error -> LoggingUtil.error(logger, "处理模拟接口请求失败: {}, 错误: {}", mockInterface.getInterfaceName(), error.getMessage()));
+            .doOnError(error -> {
+                statisticsAccumulator.record(mockInterface.getId(), false, System.currentTimeMillis() - startTime);
+                LoggingUtil.error(logger, "处理模拟接口请求失败: {}, 错误: {}", mockInterface.getInterfaceName(), error.getMessage());
+            });
     }
 
     /**
@@ -365,7 +408,7 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
 
     /**
      * 更新接口访问统计
-     * 更新模拟接口的访问次数和统计信息
+     * 仅累加到内存计数器，由MockAccessStatisticsAccumulator定期批量写回数据库
      *
      * @param id 接口ID
      * @param success 是否成功访问
@@ -374,25 +417,12 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
      */
     @Override
     public Mono<Void> updateAccessStatistics(Long id, boolean success, long responseTime) {
-        LoggingUtil.debug(logger, "更新接口访问统计: ID={}, 成功={}, 响应时间={}ms", id, success, responseTime);
-
-        String sql = success ?
-            "UPDATE sys_mock_interface SET access_count = access_count + 1, success_count = success_count + 1, last_modified_date = :lastModifiedDate WHERE id = :id" :
-            "UPDATE sys_mock_interface SET access_count = access_count + 1, failure_count = failure_count + 1, last_modified_date = :lastModifiedDate WHERE id = :id";
-
-        return databaseClient.sql(sql)
-            .bind("id", id)
-            .bind("lastModifiedDate", LocalDateTime.now())
-            .fetch()
-            .rowsUpdated()
-            .then()
-            .doOnSuccess(result -> LoggingUtil.debug(logger, "接口访问统计更新成功: ID={}", id))
-            .doOnError(error -> LoggingUtil.warn(logger, "更新接口访问统计失败: ID={}, 错误: {}", id, error.getMessage()));
+        return Mono.fromRunnable(() -> statisticsAccumulator.record(id, success, responseTime));
     }
 
     /**
      * 获取接口访问统计
-     * 获取指定模拟接口的访问统计信息
+     * 合并已落库的统计值与内存中尚未刷新的增量，返回近实时统计
      *
      * @param id 接口ID
      * @return 统计信息
@@ -409,17 +439,27 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
                     mockInterface.getInterfacePath()
                 );
 
-                stats.setTotalAccess(mockInterface.getAccessCount() != null ? mockInterface.getAccessCount() : 0L);
-                stats.setSuccessCount(mockInterface.getSuccessCount() != null ? mockInterface.getSuccessCount() : 0L);
-                stats.setFailureCount(mockInterface.getFailureCount() != null ? mockInterface.getFailureCount() : 0L);
+                MockAccessStatisticsAccumulator.AccessDelta delta = statisticsAccumulator.getUnflushedDelta(id);
+                long persistedAccess = mockInterface.getAccessCount() != null ? mockInterface.getAccessCount() : 0L;
+                double persistedAvg = mockInterface.getAvgResponseTime() != null ? mockInterface.getAvgResponseTime() : 0.0;
+
+                stats.setTotalAccess(persistedAccess + delta.getAccessCount());
+                stats.setSuccessCount((mockInterface.getSuccessCount() != null ? mockInterface.getSuccessCount() : 0L)
+                        + delta.getSuccessCount());
+                stats.setFailureCount((mockInterface.getFailureCount() != null ? mockInterface.getFailureCount() : 0L)
+                        + delta.getFailureCount());
 
                 if (stats.getTotalAccess() > 0) {
                     stats.setSuccessRate((double) stats.getSuccessCount() / stats.getTotalAccess() * 100);
+                    stats.setAvgResponseTime(Math.round(
+                            (persistedAvg * persistedAccess + delta.getTotalResponseTime()) / stats.getTotalAccess()));
                 } else {
                     stats.setSuccessRate(0.0);
+                    stats.setAvgResponseTime(0L);
                 }
 
-                stats.setAvgResponseTime(mockInterface.getAvgResponseTime() != null ? mockInterface.getAvgResponseTime().longValue() : 0L);
+                stats.setMaxResponseTime(delta.getMaxResponseTime());
+                stats.setMinResponseTime(delta.getMinResponseTime());
 
                 return stats;
             })
@@ -534,25 +574,73 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
         if (!StringUtils.hasText(mockInterface.getRequestMethod())) {
             return Mono.error(new ValidationException("请求方法不能为空"));
         }
+        if (StringUtils.hasText(mockInterface.getFaultProfile())) {
+            MockFaultProfile profile;
+            try {
+                profile = JsonUtil.fromJson(mockInterface.getFaultProfile(), MockFaultProfile.class);
+            } catch (Exception e) {
+                return Mono.error(new ValidationException("故障注入配置格式错误: " + e.getMessage()));
+            }
+            if (profile == null) {
+                return Mono.error(new ValidationException("故障注入配置必须是JSON对象"));
+            }
+            String violation = profile.validate();
+            if (violation != null) {
+                return Mono.error(new ValidationException("故障注入配置不合法: " + violation));
+            }
+            return hasFaultProfileColumn()
+                .flatMap(present -> present
+                    ? Mono.<Void>empty()
+                    : Mono.error(new ValidationException("数据库缺少sys_mock_interface.fault_profile列，请先执行unified-schema.sql中的升级语句")));
+        }
         return Mono.empty();
     }
 
+    /**
+     * 检测sys_mock_interface表是否已包含fault_profile列
+     * 仅缓存已存在的结果，执行升级语句后无需重启即可生效
+     */
+    private Mono<Boolean> hasFaultProfileColumn() {
+        if (faultProfileColumnPresent) {
+            return Mono.just(Boolean.TRUE);
+        }
+        String sql = "SELECT COUNT(*) AS column_count FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = DATABASE() " +
+                    "AND TABLE_NAME = 'sys_mock_interface' AND COLUMN_NAME = 'fault_profile'";
+        return databaseClient.sql(sql)
+            .map((row, metadata) -> row.get("column_count", Long.class))
+            .one()
+            .map(count -> count != null && count > 0)
+            .defaultIfEmpty(Boolean.FALSE)
+            .doOnNext(present -> faultProfileColumnPresent = present);
+    }
+
     /**
      * 保存模拟接口
      */
     private Mono<MockInterface> saveMockInterface(MockInterface mockInterface) {
+        return hasFaultProfileColumn().flatMap(withFaultProfile -> saveMockInterface(mockInterface, withFaultProfile));
+    }
+
+    /**
+     * 保存模拟接口
+     * 旧库尚未升级出fault_profile列时，INSERT/UPDATE跳过该列
+     */
+    private Mono<MockInterface> saveMockInterface(MockInterface mockInterface, boolean withFaultProfile) {
+        String faultProfileColumn = withFaultProfile ? "fault_profile, " : "";
+        String faultProfileValue = withFaultProfile ? ":faultProfile, " : "";
+        String faultProfileAssignment = withFaultProfile ? "fault_profile = :faultProfile, " : "";
         if (mockInterface.getId() == null) {
             // 插入新记录
             String sql = "INSERT INTO sys_mock_interface (interface_name, interface_path, request_method, description, " +
                         "request_template, response_template, response_status, response_headers, delay_time, enabled, " +
                         "status, category, tags, access_count, success_count, failure_count, avg_response_time, " +
-                        "log_enabled, created_at, last_modified_date) VALUES " +
+                        "log_enabled, " + faultProfileColumn + "created_at, last_modified_date) VALUES " +
                         "(:interfaceName, :interfacePath, :requestMethod, :description, :requestTemplate, " +
                         ":responseTemplate, :responseStatus, :responseHeaders, :delayTime, :enabled, :status, " +
                         ":category, :tags, :accessCount, :successCount, :failureCount, :avgResponseTime, " +
-                        ":logEnabled, :createdDate, :lastModifiedDate)";
+                        ":logEnabled, " + faultProfileValue + ":createdDate, :lastModifiedDate)";
 
-            return databaseClient.sql(sql)
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
                 .bind("interfaceName", mockInterface.getInterfaceName())
                 .bind("interfacePath", mockInterface.getInterfacePath())
                 .bind("requestMethod", mockInterface.getRequestMethod())
@@ -572,7 +660,12 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
                 .bind("avgResponseTime", mockInterface.getAvgResponseTime())
                 .bind("logEnabled", mockInterface.getLogEnabled())
                 .bind("createdDate", mockInterface.getCreatedDate())
-                .bind("lastModifiedDate", mockInterface.getLastModifiedDate())
+                .bind("lastModifiedDate", mockInterface.getLastModifiedDate());
+            if (withFaultProfile) {
+                spec = spec.bind("faultProfile", Parameters.in(R2dbcType.VARCHAR, mockInterface.getFaultProfile()));
+            }
+
+            return spec
                 .filter((statement, executeFunction) -> statement.returnGeneratedValues("id").execute())
                 .map((row, metadata) -> {
                     mockInterface.setId(row.get("id", Long.class));
@@ -587,9 +680,9 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
                         "response_headers = :responseHeaders, delay_time = :delayTime, enabled = :enabled, " +
                         "status = :status, category = :category, tags = :tags, access_count = :accessCount, " +
                         "success_count = :successCount, failure_count = :failureCount, avg_response_time = :avgResponseTime, " +
-                        "log_enabled = :logEnabled, last_modified_date = :lastModifiedDate WHERE id = :id";
+                        "log_enabled = :logEnabled, " + faultProfileAssignment + "last_modified_date = :lastModifiedDate WHERE id = :id";
 
-            return databaseClient.sql(sql)
+            DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql)
                 .bind("id", mockInterface.getId())
                 .bind("interfaceName", mockInterface.getInterfaceName())
                 .bind("interfacePath", mockInterface.getInterfacePath())
@@ -609,7 +702,12 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
                 .bind("failureCount", mockInterface.getFailureCount())
                 .bind("avgResponseTime", mockInterface.getAvgResponseTime())
                 .bind("logEnabled", mockInterface.getLogEnabled())
-                .bind("lastModifiedDate", mockInterface.getLastModifiedDate())
+                .bind("lastModifiedDate", mockInterface.getLastModifiedDate());
+            if (withFaultProfile) {
+                spec = spec.bind("faultProfile", Parameters.in(R2dbcType.VARCHAR, mockInterface.getFaultProfile()));
+            }
+
+            return spec
                 .fetch()
                 .rowsUpdated()
                 .then(Mono.just(mockInterface));
@@ -629,6 +727,129 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
             });
     }
 
+    /**
+     * 解析故障注入配置
+     * 按接口ID缓存解析结果，配置JSON未变化时直接复用，解析失败时视为未配置
+     */
+    private MockFaultProfile resolveFaultProfile(MockInterface mockInterface) {
+        String json = mockInterface.getFaultProfile();
+        if (!StringUtils.hasText(json)) {
+            return null;
+        }
+        Long id = mockInterface.getId();
+        if (id != null) {
+            ParsedFaultProfile cached = faultProfileCache.get(id);
+            if (cached != null && cached.json().equals(json)) {
+                return cached.profile();
+            }
+        }
+
+        MockFaultProfile profile = null;
+        try {
+            profile = JsonUtil.fromJson(json, MockFaultProfile.class);
+        } catch (Exception e) {
+            LoggingUtil.warn(logger, "故障注入配置解析失败，按未配置处理: ID={}, 错误: {}", id, e.getMessage());
+        }
+        String violation = profile != null ? profile.validate() : null;
+        if (violation != null) {
+            LoggingUtil.warn(logger, "故障注入配置不合法，按未配置处理: ID={}, 错误: {}", id, violation);
+            profile = null;
+        }
+        if (id != null) {
+            faultProfileCache.put(id, new ParsedFaultProfile(json, profile));
+        }
+        return profile;
+    }
+
+    /**
+     * 构建模拟响应
+     * 配置了带宽限制或中途重置时，按分片流式写出响应体
+     */
+    private Mono<ServerResponse> buildMockResponse(MockInterface mockInterface, MockFaultProfile profile,
+                                                   String responseBody, boolean reset) {
+        ServerResponse.BodyBuilder builder = ServerResponse.status(mockInterface.getResponseStatus() != null ? mockInterface.getResponseStatus() : 200);
+
+        // 添加响应头
+        if (StringUtils.hasText(mockInterface.getResponseHeaders())) {
+            try {
+                // 简单解析响应头（实际项目中应使用JSON解析）
+                builder.header("Content-Type", "application/json");
+            } catch (Exception e) {
+                LoggingUtil.warn(logger, "解析响应头失败: {}", e.getMessage());
+                builder.header("Content-Type", "application/json");
+            }
+        } else {
+            builder.header("Content-Type", "application/json");
+        }
+
+        if (profile == null || (!profile.isThrottled() && !reset)) {
+            return builder.bodyValue(responseBody);
+        }
+
+        byte[] bytes = responseBody.getBytes(StandardCharsets.UTF_8);
+        builder.contentLength(bytes.length);
+        return builder.body(BodyInserters.fromDataBuffers(throttledBody(bytes, profile, reset)));
+    }
+
+    /**
+     * 生成限速响应体
+     * 按chunkSize分片，相邻分片间隔chunkSize/带宽，由时间轮调度；中途重置时只发送一半分片后以错误终止
+     */
+    private Flux<DataBuffer> throttledBody(byte[] bytes, MockFaultProfile profile, boolean reset) {
+        int chunkSize = Math.max(1, profile.getChunkSize());
+        int chunkCount = Math.max(1, (bytes.length + chunkSize - 1) / chunkSize);
+        long intervalNanos = profile.isThrottled()
+                ? chunkSize * 1_000_000_000L / profile.getBandwidthBytesPerSecond()
+                : 0L;
+        int sendCount = reset ? Math.max(1, chunkCount / 2) : chunkCount;
+
+        Flux<DataBuffer> body = Flux.range(0, sendCount)
+            .concatMap(index -> WheelTimerUtil.delay(Duration.ofNanos(index == 0 ? 0L : intervalNanos))
+                .then(Mono.fromSupplier(() -> {
+                    int offset = index * chunkSize;
+                    int length = Math.min(chunkSize, bytes.length - offset);
+                    return DefaultDataBufferFactory.sharedInstance.wrap(ByteBuffer.wrap(bytes, offset, Math.max(0, length)));
+                })));
+
+        if (reset) {
+            body = body.concatWith(Mono.error(new BusinessException("模拟连接中途中断")));
+        }
+        return body;
+    }
+
+    /**
+     * 构建注入的错误响应
+     */
+    private Mono<ServerResponse> buildInjectedErrorResponse(MockFaultProfile profile) {
+        int status = profile.pickErrorStatus();
+        String body = StringUtils.hasText(profile.getErrorBody())
+                ? profile.getErrorBody()
+                : "{\"code\": " + status + ", \"message\": \"Injected fault\"}";
+        return ServerResponse.status(status)
+            .header("Content-Type", "application/json")
+            .bodyValue(body);
+    }
+
+    /**
+     * 重置连接
+     * 设置SO_LINGER=0后关闭底层连接，使客户端收到RST
+     */
+    private Mono<ServerResponse> resetConnection(MockInterface mockInterface, ServerRequest request) {
+        ServerHttpRequest httpRequest = request.exchange().getRequest();
+        if (httpRequest instanceof AbstractServerHttpRequest abstractRequest
+                && abstractRequest.<Object>getNativeRequest() instanceof Connection connection) {
+            connection.channel().config().setOption(ChannelOption.SO_LINGER, 0);
+            connection.channel().close();
+        }
+        return Mono.error(new BusinessException("模拟连接重置: " + mockInterface.getInterfaceName()));
+    }
+
+    /**
+     * 已解析的故障注入配置
+     */
+    private record ParsedFaultProfile(String json, MockFaultProfile profile) {
+    }
+
     /**
      * 将数据库行映射为MockInterface对象
      */
@@ -653,6 +874,9 @@ public class ReactiveMockInterfaceServiceImpl implements ReactiveMockInterfaceSe
         mockInterface.setFailureCount(row.get("failure_count", Long.class));
         mockInterface.setAvgResponseTime(row.get("avg_response_time", Double.class));
         mockInterface.setLogEnabled(row.get("log_enabled", Integer.class));
+        if (row.getMetadata().contains("fault_profile")) {
+            mockInterface.setFaultProfile(row.get("fault_profile", String.class));
+        }
         mockInterface.setCreatedDate(row.get("created_at", LocalDateTime.class));
                 mockInterface.setLastModifiedDate(row.get("last_modified_date", LocalDateTime.class));
         return mockInterface;
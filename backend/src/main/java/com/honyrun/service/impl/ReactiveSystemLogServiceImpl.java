@@ -1,12 +1,18 @@
 package com.honyrun.service.impl;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
@@ -14,6 +20,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -23,18 +32,29 @@ import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.honyrun.annotation.ReactiveService;
 import com.honyrun.config.MonitoringProperties;
-import com.honyrun.constant.PathConstants;
 import com.honyrun.exception.BusinessException;
 import com.honyrun.model.dto.request.SystemLogQueryRequest;
+import com.honyrun.model.dto.response.LogTailEvent;
 import com.honyrun.model.dto.response.SystemLogExportResponse;
 import com.honyrun.model.dto.response.SystemLogResponse;
 import com.honyrun.model.entity.system.SystemLog;
 import com.honyrun.repository.r2dbc.ReactiveSystemLogRepository;
+import com.honyrun.service.data.pool.PoolLane;
+import com.honyrun.service.log.AuditLogWriter;
+import com.honyrun.service.log.AuditRecord;
+import com.honyrun.service.log.LogTailBuffer;
+import com.honyrun.service.log.LogTailBuffer.LogTailFilter;
+import com.honyrun.service.log.SystemLogExportTaskStore;
+import com.honyrun.service.log.SystemLogExportTaskStore.ExportTask;
+import com.honyrun.service.log.SystemLogStreamingExporter;
 import com.honyrun.service.reactive.ReactiveSystemLogService;
 import com.honyrun.util.LoggingUtil;
 import com.honyrun.util.MonitoringLogUtil;
+import com.honyrun.util.reactive.PooledDataBufferUtil;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -61,16 +81,31 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
     private final ReactiveSystemLogRepository systemLogRepository;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final MonitoringProperties monitoringProperties;
+    private final LogTailBuffer logTailBuffer;
+    private final AuditLogWriter auditLogWriter;
+    private final SystemLogExportTaskStore exportTaskStore;
+    private final SystemLogStreamingExporter streamingExporter;
+    private final ObjectMapper objectMapper;
 
-    // 导出任务缓存
+    // 本节点正在执行的导出任务，任务状态以sys_log_export_tasks为准
     private final Map<String, SystemLogExportResponse> exportTasks = new ConcurrentHashMap<>();
 
     public ReactiveSystemLogServiceImpl(ReactiveSystemLogRepository systemLogRepository,
             R2dbcEntityTemplate r2dbcEntityTemplate,
-            MonitoringProperties monitoringProperties) {
+            MonitoringProperties monitoringProperties,
+            LogTailBuffer logTailBuffer,
+            AuditLogWriter auditLogWriter,
+            SystemLogExportTaskStore exportTaskStore,
+            SystemLogStreamingExporter streamingExporter,
+            ObjectMapper objectMapper) {
         this.systemLogRepository = systemLogRepository;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.monitoringProperties = monitoringProperties;
+        this.logTailBuffer = logTailBuffer;
+        this.auditLogWriter = auditLogWriter;
+        this.exportTaskStore = exportTaskStore;
+        this.streamingExporter = streamingExporter;
+        this.objectMapper = objectMapper;
     }
 
     // ==================== 基础CRUD操作 ====================
@@ -87,25 +122,26 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
         // 记录系统日志到专用监控日志
         MonitoringLogUtil.logSystemEvent("SYSTEM_LOG", "CREATE", systemLog.getDescription());
 
-        // 使用文件日志替代数据库写入，符合监控数据文件日志规范
-        return Mono.fromRunnable(() -> {
-            try {
-                // 使用MonitoringLogUtil记录系统日志事件到文件
-                MonitoringLogUtil.logSystemEvent(
-                        systemLog.getLogType() != null ? systemLog.getLogType() : "SYSTEM_LOG",
-                        systemLog.getModule() != null ? systemLog.getModule() : "SYSTEM",
-                        systemLog.getDescription() != null ? systemLog.getDescription() : "系统日志事件");
-                LoggingUtil.info(logger, "系统日志文件记录成功: {}", systemLog.getDescription());
-            } catch (Exception e) {
-                LoggingUtil.error(logger, "系统日志文件记录失败", e);
-                throw new BusinessException("系统日志文件记录失败: " + e.getMessage());
-            }
-        })
-                .subscribeOn(Schedulers.boundedElastic())
-                .timeout(monitoringProperties.getDurations().getMediumTimeout())
-                .retry(3)
-                .then(Mono.just(systemLog))
-                .doOnSuccess(saved -> LoggingUtil.info(logger, "系统日志创建成功"))
+        // 推送到实时日志缓冲区，供SSE订阅者按用户、类型等结构化字段过滤
+        logTailBuffer.publish(toTailEvent(systemLog));
+
+        // 交给审计批量写入器按组提交落盘，调用线程不做文件I/O
+        AuditRecord record = AuditRecord.of(
+                systemLog.getLogLevel() != null ? systemLog.getLogLevel() : AuditRecord.LEVEL_INFO,
+                systemLog.getLogType() != null ? systemLog.getLogType() : "SYSTEM_LOG",
+                systemLog.getOperationType(),
+                systemLog.getModule() != null ? systemLog.getModule() : "SYSTEM",
+                systemLog.getDescription() != null ? systemLog.getDescription() : "系统日志事件")
+                .actor(systemLog.getUsername(), systemLog.getUserId(), systemLog.getClientIp(),
+                        systemLog.getUserAgent());
+
+        return Mono.fromCallable(() -> auditLogWriter.submit(record))
+                .doOnNext(accepted -> {
+                    if (!accepted) {
+                        LoggingUtil.warn(logger, "系统日志写入队列已满: {}", systemLog.getDescription());
+                    }
+                })
+                .thenReturn(systemLog)
                 .onErrorResume(error -> {
                     LoggingUtil.error(logger, "系统日志创建失败", error);
                     return Mono.error(new BusinessException("系统日志创建失败: " + error.getMessage()));
@@ -399,6 +435,7 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
         Mono<Map<String, Long>> typeStats = countLogsByType();
 
         return Mono.zip(totalCount, levelStats, typeStats)
+                .transform(PoolLane::reporting)
                 .map(tuple -> {
                     Map<String, Object> summary = new HashMap<>();
                     summary.put("totalCount", tuple.getT1());
@@ -416,52 +453,19 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
     @Override
     public Mono<SystemLogExportResponse> exportLogsToExcel(SystemLogQueryRequest queryRequest, Long userId,
             String username) {
-        String taskId = generateTaskId("excel");
-        LoggingUtil.info(logger, "开始导出Excel日志，任务ID: {}, 用户: {}", taskId, username);
-
-        SystemLogExportResponse response = new SystemLogExportResponse(taskId, "EXCEL", userId, username);
-        exportTasks.put(taskId, response);
-
-        // 异步执行导出任务
-        performExportAsync(taskId, queryRequest, "EXCEL")
-                .subscribeOn(Schedulers.boundedElastic())
-                .subscribe();
-
-        return Mono.just(response);
+        return startExport(queryRequest, userId, username, "EXCEL");
     }
 
     @Override
     public Mono<SystemLogExportResponse> exportLogsToCSV(SystemLogQueryRequest queryRequest, Long userId,
             String username) {
-        String taskId = generateTaskId("csv");
-        LoggingUtil.info(logger, "开始导出CSV日志，任务ID: {}, 用户: {}", taskId, username);
-
-        SystemLogExportResponse response = new SystemLogExportResponse(taskId, "CSV", userId, username);
-        exportTasks.put(taskId, response);
-
-        // 异步执行导出任务
-        performExportAsync(taskId, queryRequest, "CSV")
-                .subscribeOn(Schedulers.boundedElastic())
-                .subscribe();
-
-        return Mono.just(response);
+        return startExport(queryRequest, userId, username, "CSV");
     }
 
     @Override
     public Mono<SystemLogExportResponse> exportLogsToJSON(SystemLogQueryRequest queryRequest, Long userId,
             String username) {
-        String taskId = generateTaskId("json");
-        LoggingUtil.info(logger, "开始导出JSON日志，任务ID: {}, 用户: {}", taskId, username);
-
-        SystemLogExportResponse response = new SystemLogExportResponse(taskId, "JSON", userId, username);
-        exportTasks.put(taskId, response);
-
-        // 异步执行导出任务
-        performExportAsync(taskId, queryRequest, "JSON")
-                .subscribeOn(Schedulers.boundedElastic())
-                .subscribe();
-
-        return Mono.just(response);
+        return startExport(queryRequest, userId, username, "JSON");
     }
 
     @Override
@@ -469,37 +473,70 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
         LoggingUtil.info(logger, "获取导出任务状态: {}", taskId);
 
         SystemLogExportResponse response = exportTasks.get(taskId);
-        if (response == null) {
-            return Mono.empty();
+        if (response != null) {
+            return Mono.just(response);
         }
 
-        return Mono.just(response);
+        return exportTaskStore.findById(taskId)
+                .map(ExportTask::getResponse);
     }
 
     @Override
-    public Mono<byte[]> downloadExportFile(String taskId) {
-        LoggingUtil.info(logger, "下载导出文件: {}", taskId);
+    public Flux<DataBuffer> streamExportFile(String taskId) {
+        LoggingUtil.info(logger, "流式下载导出文件: {}", taskId);
 
-        // 这里应该从文件系统读取文件
-        // 为了演示，返回空字节数组
-        return Mono.just(new byte[0])
-                .doOnSuccess(bytes -> LoggingUtil.info(logger, "导出文件下载完成，大小: {} bytes", bytes.length))
-                .doOnError(error -> LoggingUtil.error(logger, "导出文件下载失败", error));
+        return exportTaskStore.findById(taskId)
+                .switchIfEmpty(Mono.error(new BusinessException("导出任务不存在: " + taskId)))
+                .flatMapMany(task -> {
+                    if (!task.getResponse().isCompleted() || task.getResponse().isExpired()) {
+                        return Flux.error(new BusinessException("导出文件不可下载，任务状态: "
+                                + task.getResponse().getStatus()));
+                    }
+                    Path file = Paths.get(task.getFilePath());
+                    if (!Files.exists(file)) {
+                        return Flux.error(new BusinessException("导出文件不存在: " + taskId));
+                    }
+                    return PooledDataBufferUtil.read(file);
+                });
     }
 
     @Override
     public Mono<Void> cleanupExpiredExportFiles() {
         LoggingUtil.info(logger, "清理过期导出文件");
 
-        return Mono.fromRunnable(() -> {
-            List<String> expiredTasks = exportTasks.entrySet().stream()
-                    .filter(entry -> entry.getValue().isExpired())
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList());
+        return exportTaskStore.findExpired(LocalDateTime.now())
+                .concatMap(task -> Mono.fromRunnable(() -> {
+                    streamingExporter.deleteQuietly(task.getFilePath() != null ? Paths.get(task.getFilePath()) : null);
+                    exportTasks.remove(task.getResponse().getTaskId());
+                })
+                        .subscribeOn(Schedulers.boundedElastic())
+                        .then(exportTaskStore.delete(task.getResponse().getTaskId()))
+                        .thenReturn(task))
+                .count()
+                .doOnSuccess(count -> LoggingUtil.info(logger, "清理过期导出文件完成，数量: {}", count))
+                .then();
+    }
 
-            expiredTasks.forEach(exportTasks::remove);
-            LoggingUtil.info(logger, "清理过期导出文件完成，数量: {}", expiredTasks.size());
-        });
+    /**
+     * 应用启动后继续上次运行时未完成的导出任务
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeUnfinishedExports() {
+        exportTaskStore.findUnfinished()
+                .concatMap(task -> {
+                    SystemLogQueryRequest queryRequest;
+                    try {
+                        queryRequest = objectMapper.readValue(task.getQueryParams(), SystemLogQueryRequest.class);
+                    } catch (JsonProcessingException | IllegalArgumentException e) {
+                        task.getResponse().markFailed("导出条件无法恢复: " + e.getMessage());
+                        return exportTaskStore.save(task);
+                    }
+                    LoggingUtil.info(logger, "恢复未完成的导出任务: {}", task.getResponse().getTaskId());
+                    exportTasks.put(task.getResponse().getTaskId(), task.getResponse());
+                    return streamingExporter.export(task, buildCriteria(queryRequest))
+                            .doFinally(signal -> exportTasks.remove(task.getResponse().getTaskId()));
+                })
+                .subscribe(null, error -> LoggingUtil.error(logger, "恢复导出任务失败", error));
     }
 
     // ==================== 日志维护功能 ====================
@@ -630,9 +667,10 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
     public Flux<SystemLogResponse> getRealtimeLogs(List<String> logTypes, List<String> logLevels) {
         LoggingUtil.info(logger, "获取实时日志流: types={}, levels={}", logTypes, logLevels);
 
-        // 这里应该实现实时日志流
-        // 为了演示，返回空流
-        return Flux.empty();
+        LogTailFilter filter = LogTailFilter.of(logLevels, logTypes, null, null, null, null);
+        return logTailBuffer.subscribe(filter, -1L)
+                .filter(LogTailEvent::isLog)
+                .map(this::convertTailEventToResponse);
     }
 
     @Override
@@ -651,6 +689,52 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
 
     // ==================== 私有辅助方法 ====================
 
+    /**
+     * 将系统日志转换为实时日志事件
+     *
+     * @param systemLog 系统日志
+     * @return 实时日志事件
+     */
+    private LogTailEvent toTailEvent(SystemLog systemLog) {
+        LogTailEvent event = new LogTailEvent();
+        event.setTimestamp(System.currentTimeMillis());
+        event.setLevel(systemLog.getLogLevel() != null ? systemLog.getLogLevel() : "INFO");
+        event.setLoggerName(ReactiveSystemLogServiceImpl.class.getName());
+        event.setThreadName(Thread.currentThread().getName());
+        event.setMessage(systemLog.getDescription());
+        event.setUserId(systemLog.getUserId() != null ? String.valueOf(systemLog.getUserId()) : null);
+        event.setUsername(systemLog.getUsername());
+        event.setLogType(systemLog.getLogType());
+        event.setModule(systemLog.getModule());
+        event.setSource(LogTailEvent.SOURCE_SYSTEM_LOG);
+        return event;
+    }
+
+    /**
+     * 将实时日志事件转换为系统日志响应
+     *
+     * @param event 实时日志事件
+     * @return 系统日志响应
+     */
+    private SystemLogResponse convertTailEventToResponse(LogTailEvent event) {
+        SystemLogResponse response = new SystemLogResponse();
+        response.setLogType(event.getLogType() != null ? event.getLogType() : event.getSource());
+        response.setLogLevel(event.getLevel());
+        response.setModule(event.getModule() != null ? event.getModule() : event.getLoggerName());
+        response.setUsername(event.getUsername());
+        response.setDescription(event.getMessage());
+        if (event.getUserId() != null) {
+            try {
+                response.setUserId(Long.valueOf(event.getUserId()));
+            } catch (NumberFormatException ignored) {
+                // MDC中的用户标识不一定是数字ID
+            }
+        }
+        response.setOperationTime(LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getTimestamp()),
+                ZoneId.systemDefault()));
+        return response;
+    }
+
     /**
      * 构建查询条件
      *
@@ -658,6 +742,16 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
      * @return 查询对象
      */
     private Query buildQuery(SystemLogQueryRequest queryRequest) {
+        return Query.query(buildCriteria(queryRequest));
+    }
+
+    /**
+     * 构建查询条件
+     *
+     * @param queryRequest 查询请求
+     * @return 查询条件
+     */
+    private Criteria buildCriteria(SystemLogQueryRequest queryRequest) {
         Criteria criteria = Criteria.where("deleted").is(0);
 
         // 日志类型
@@ -730,7 +824,7 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
                             .or("response_result").like(keyword));
         }
 
-        return Query.query(criteria);
+        return criteria;
     }
 
     /**
@@ -752,90 +846,45 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
      * @return 任务ID
      */
     private String generateTaskId(String format) {
-        return "export_" + format + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
+        return "export_" + format + "_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))
+                + "_" + UUID.randomUUID().toString().substring(0, 8);
     }
 
     /**
-     * 异步执行导出任务
+     * 创建并持久化导出任务，随后在后台流式导出
      *
-     * @param taskId       任务ID
      * @param queryRequest 查询请求
+     * @param userId       用户ID
+     * @param username     用户名
      * @param format       导出格式
-     * @return 导出结果
+     * @return 导出任务响应
      */
-    private Mono<Void> performExportAsync(String taskId, SystemLogQueryRequest queryRequest, String format) {
-        return Mono.fromRunnable(() -> {
-            try {
-                SystemLogExportResponse response = exportTasks.get(taskId);
-                if (response != null) {
-                    response.markProcessing(Integer.valueOf(10));
-                }
-            } catch (Exception e) {
-                SystemLogExportResponse response = exportTasks.get(taskId);
-                if (response != null) {
-                    response.markFailed(e.getMessage());
-                }
-                LoggingUtil.error(logger, "导出任务初始化失败: " + taskId, e);
-            }
-        })
-                .then(performActualExport(taskId, queryRequest, format))
-                .subscribeOn(Schedulers.boundedElastic())
-                .then();
-    }
+    private Mono<SystemLogExportResponse> startExport(SystemLogQueryRequest queryRequest, Long userId,
+            String username, String format) {
+        String taskId = generateTaskId(format.toLowerCase());
+        LoggingUtil.info(logger, "开始导出{}日志，任务ID: {}, 用户: {}", format, taskId, username);
+
+        String queryParams;
+        try {
+            queryParams = objectMapper.writeValueAsString(queryRequest);
+        } catch (JsonProcessingException e) {
+            return Mono.error(new BusinessException("导出条件序列化失败: " + e.getMessage()));
+        }
 
-    /**
-     * 执行实际的日志导出操作
-     *
-     * @param taskId       任务ID
-     * @param queryRequest 查询请求
-     * @param format       导出格式
-     * @return 导出结果
-     */
-    private Mono<Void> performActualExport(String taskId, SystemLogQueryRequest queryRequest, String format) {
-        return findLogs(queryRequest)
-                .collectList()
-                .flatMap(logs -> {
-                    SystemLogExportResponse response = exportTasks.get(taskId);
-                    if (response == null) {
-                        return Mono.error(new BusinessException("导出任务不存在: " + taskId));
-                    }
+        SystemLogExportResponse response = new SystemLogExportResponse(taskId, format, userId, username);
+        response.setFileName(generateExportFileName(format));
+        ExportTask task = new ExportTask(response, queryParams,
+                streamingExporter.resolveFile(taskId, format).toString());
 
-                    try {
-                        // 更新进度到50%
-                        response.markProcessing(Integer.valueOf(50));
-
-                        // 生成导出文件
-                        String fileName = generateExportFileName(format);
-                        long fileSize = calculateExportFileSize(logs, format);
-                        String downloadUrl = PathConstants.SYSTEM_LOGS + "/export/download/" + taskId;
-
-                        // 更新进度到90%
-                        response.markProcessing(Integer.valueOf(90));
-
-                        // 模拟文件生成时间
-                        return Mono.delay(Duration.ofMillis(500))
-                                .then(Mono.fromRunnable(() -> {
-                                    // 标记完成
-                                    response.markCompleted(fileName, fileSize, (long) logs.size(), downloadUrl);
-                                    LoggingUtil.info(logger, "导出任务完成: {}, 文件: {}, 记录数: {}",
-                                            taskId, fileName, logs.size());
-                                }));
-
-                    } catch (Exception e) {
-                        response.markFailed(e.getMessage());
-                        LoggingUtil.error(logger, "导出任务处理失败: " + taskId, e);
-                        return Mono.error(e);
-                    }
-                })
-                .onErrorResume(error -> {
-                    SystemLogExportResponse response = exportTasks.get(taskId);
-                    if (response != null) {
-                        response.markFailed(error.getMessage());
-                    }
-                    LoggingUtil.error(logger, "导出任务失败: " + taskId, error);
-                    return Mono.empty();
-                })
-                .then();
+        return exportTaskStore.save(task)
+                .then(Mono.fromRunnable(() -> {
+                    exportTasks.put(taskId, response);
+                    // 异步执行导出任务
+                    streamingExporter.export(task, buildCriteria(queryRequest))
+                            .doFinally(signal -> exportTasks.remove(taskId))
+                            .subscribe();
+                }))
+                .thenReturn(response);
     }
 
     /**
@@ -846,29 +895,7 @@ public class ReactiveSystemLogServiceImpl implements ReactiveSystemLogService {
      */
     private String generateExportFileName(String format) {
         String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-        return "sys_system_logs_" + timestamp + "." + format.toLowerCase();
-    }
-
-    /**
-     * 计算导出文件大小
-     *
-     * @param logs   日志列表
-     * @param format 导出格式
-     * @return 文件大小（字节）
-     */
-    private long calculateExportFileSize(List<SystemLogResponse> logs, String format) {
-        if (logs.isEmpty()) {
-            return 1024L; // 最小文件大小
-        }
-
-        // 根据格式和记录数估算文件大小
-        long baseSize = switch (format.toUpperCase()) {
-            case "EXCEL" -> logs.size() * 200L; // 每条记录约200字节
-            case "CSV" -> logs.size() * 150L; // 每条记录约150字节
-            case "JSON" -> logs.size() * 300L; // 每条记录约300字节
-            default -> logs.size() * 200L;
-        };
-
-        return Math.max(baseSize, 1024L); // 最小1KB
+        String extension = "EXCEL".equalsIgnoreCase(format) ? "xlsx" : format.toLowerCase();
+        return "sys_system_logs_" + timestamp + "." + extension;
     }
 }
@@ -16,6 +16,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Service;
@@ -29,6 +30,7 @@ import com.honyrun.exception.SystemException;
 import com.honyrun.model.dto.request.SystemSettingRequest;
 import com.honyrun.model.dto.response.SystemSettingResponse;
 import com.honyrun.model.dto.response.SystemStatusResponse;
+import com.honyrun.model.entity.system.ConcurrentUserStats;
 import com.honyrun.model.entity.system.PerformanceMetrics;
 import com.honyrun.model.entity.system.SystemConfig;
 import com.honyrun.model.entity.system.SystemLog;
@@ -36,7 +38,9 @@ import com.honyrun.model.entity.system.SystemSetting;
 import com.honyrun.repository.r2dbc.ReactiveSystemConfigRepository;
 import com.honyrun.repository.r2dbc.ReactiveSystemLogRepository;
 import com.honyrun.repository.r2dbc.ReactiveSystemSettingRepository;
+import com.honyrun.service.data.pool.PoolLane;
 import com.honyrun.service.log.ReactiveLogArchiveService;
+import com.honyrun.service.reactive.ReactiveActivityManager;
 import com.honyrun.service.reactive.ReactiveSystemService;
 import com.honyrun.util.LoggingUtil;
 import com.honyrun.util.MonitoringLogUtil;
@@ -76,6 +80,10 @@ public class ReactiveSystemServiceImpl implements ReactiveSystemService {
     private final ReactiveLogArchiveService logArchiveService;
     private final UnifiedConfigManager unifiedConfigManager;
     private final MonitoringProperties monitoringProperties;
+    private final ReactiveActivityManager activityManager;
+
+    @Value("${honyrun.security.session.max-online-users:100}")
+    private int maxOnlineUsers = 100;
 
     /**
      * 构造函数注入
@@ -89,6 +97,8 @@ public class ReactiveSystemServiceImpl implements ReactiveSystemService {
      * @param routeStartupValidator   路由启动验证器
      * @param logArchiveService       日志归档服务
      * @param unifiedConfigManager    统一配置管理器
+     * @param monitoringProperties    监控配置
+     * @param activityManager         活动状态管理器
      */
     public ReactiveSystemServiceImpl(ReactiveSystemSettingRepository systemSettingRepository,
             ReactiveSystemLogRepository systemLogRepository,
@@ -99,7 +109,8 @@ public class ReactiveSystemServiceImpl implements ReactiveSystemService {
             RouteStartupValidator routeStartupValidator,
             ReactiveLogArchiveService logArchiveService,
             UnifiedConfigManager unifiedConfigManager,
-            MonitoringProperties monitoringProperties) {
+            MonitoringProperties monitoringProperties,
+            ReactiveActivityManager activityManager) {
         this.systemSettingRepository = systemSettingRepository;
         this.systemLogRepository = systemLogRepository;
         this.systemConfigRepository = systemConfigRepository;
@@ -110,6 +121,7 @@ public class ReactiveSystemServiceImpl implements ReactiveSystemService {
         this.logArchiveService = logArchiveService;
         this.unifiedConfigManager = unifiedConfigManager;
         this.monitoringProperties = monitoringProperties;
+        this.activityManager = activityManager;
     }
 
     // 系统启动时间
@@ -648,6 +660,7 @@ public class ReactiveSystemServiceImpl implements ReactiveSystemService {
                 systemLogRepository.countByLogLevel().collectMap(
                         arr -> (String) arr[0],
                         arr -> ((Number) arr[1]).longValue()))
+                .transform(PoolLane::reporting)
                 .map(tuple -> {
                     Map<String, Object> statistics = new HashMap<>();
                     statistics.put("totalCount", tuple.getT1());
@@ -905,18 +918,24 @@ public class ReactiveSystemServiceImpl implements ReactiveSystemService {
     public Mono<Map<String, Object>> getConcurrentUserStats() {
         LoggingUtil.debug(logger, "获取并发用户统计");
 
-        // 使用Redis计数器替代keys操作，提升性能
-        return redisTemplate.opsForValue().get("system:concurrent:users:count")
-                .cast(Long.class)
-                .switchIfEmpty(Mono.just(0L))
-                .onErrorReturn(0L)
-                .map(count -> {
+        // 从会话索引读取快照，在线人数随会话登记、释放与过期清理原子更新
+        return activityManager.getConcurrentUserSnapshot()
+                .onErrorResume(error -> {
+                    LoggingUtil.warn(logger, "读取并发用户快照失败，返回空统计: {}", error.getMessage());
+                    return Mono.empty();
+                })
+                .defaultIfEmpty(new ConcurrentUserStats())
+                .map(snapshot -> {
                     Map<String, Object> stats = new HashMap<>();
+                    int count = snapshot.getCurrentOnlineUsers();
                     stats.put("concurrentUsers", count);
-                    int maxConcurrentUsers = 100; // 直接使用默认值，避免阻塞调用
-                    stats.put("maxConcurrentUsers", maxConcurrentUsers); // 配置的最大并发数
-                    stats.put("usageRate", count > 0 ? (double) count / maxConcurrentUsers * 100 : 0.0);
-                    stats.put("statisticsTime", LocalDateTime.now());
+                    stats.put("activeUsers", snapshot.getCurrentActiveUsers());
+                    stats.put("activeSessions", snapshot.getSessionCount());
+                    stats.put("peakConcurrentUsers", snapshot.getPeakOnlineUsers());
+                    stats.put("peakTime", snapshot.getPeakTime());
+                    stats.put("maxConcurrentUsers", maxOnlineUsers); // 配置的最大并发数
+                    stats.put("usageRate", count > 0 ? (double) count / maxOnlineUsers * 100 : 0.0);
+                    stats.put("statisticsTime", snapshot.getStatTime());
                     return stats;
                 })
                 .doOnNext(stats -> LoggingUtil.debug(logger, "并发用户统计获取成功，当前用户数: {}", stats.get("concurrentUsers")))
@@ -14,7 +14,6 @@ import org.springframework.dao.DataAccessException;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.r2dbc.BadSqlGrammarException;
 import org.springframework.r2dbc.core.DatabaseClient;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -33,6 +32,7 @@ import com.honyrun.model.entity.business.UserPermission;
 import com.honyrun.model.enums.UserType;
 import com.honyrun.repository.custom.CustomUserRepository;
 import com.honyrun.repository.r2dbc.ReactiveUserRepository;
+import com.honyrun.security.PasswordHashingService;
 import com.honyrun.service.reactive.ReactivePasswordSecurityService;
 import com.honyrun.service.reactive.ReactiveUserService;
 import com.honyrun.util.LoggingUtil;
@@ -67,7 +67,7 @@ public class ReactiveUserServiceImpl implements ReactiveUserService {
     private final ReactiveUserRepository userRepository;
     private final CustomUserRepository customUserRepository;
     private final DatabaseClient databaseClient;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final ReactivePasswordSecurityService passwordSecurityService;
     private final SnowflakeIdGenerator snowflakeIdGenerator;
     private final MonitoringProperties monitoringProperties;
@@ -78,14 +78,14 @@ public class ReactiveUserServiceImpl implements ReactiveUserService {
     public ReactiveUserServiceImpl(ReactiveUserRepository userRepository,
             CustomUserRepository customUserRepository,
             DatabaseClient databaseClient,
-            PasswordEncoder passwordEncoder,
+            PasswordHashingService passwordHashingService,
             ReactivePasswordSecurityService passwordSecurityService,
             SnowflakeIdGenerator snowflakeIdGenerator,
             MonitoringProperties monitoringProperties) {
         this.userRepository = userRepository;
         this.customUserRepository = customUserRepository;
         this.databaseClient = databaseClient;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.passwordSecurityService = passwordSecurityService;
         this.snowflakeIdGenerator = snowflakeIdGenerator;
         this.monitoringProperties = monitoringProperties;
@@ -446,28 +446,32 @@ public class ReactiveUserServiceImpl implements ReactiveUserService {
         return validateUserId(userId)
                 .then(userRepository.findByIdAndDeletedFalse(userId))
                 .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.USER_NOT_FOUND)))
-                .flatMap(user -> {
-                    // 验证旧密码
-                    if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
-                        return Mono.error(new BusinessException(ErrorCode.INVALID_PASSWORD));
-                    }
-
-                    // 检查新密码是否与历史密码重复
-                    return passwordSecurityService.isPasswordUsedBefore(userId, newPassword)
-                            .flatMap(isDuplicate -> {
-                                if (isDuplicate) {
-                                    return Mono.error(new BusinessException(ErrorCode.PASSWORD_REUSED));
-                                }
-
-                                // 更新密码
-                                user.setPassword(passwordEncoder.encode(newPassword));
-                                user.setModifiedDate(LocalDateTime.now());
-                                return userRepository.save(user)
-                                        .then(passwordSecurityService.savePasswordHistory(userId,
-                                                passwordEncoder.encode(newPassword), "SYSTEM", "密码重置"))
-                                        .thenReturn(true);
-                            });
-                })
+                .flatMap(user -> passwordHashingService.matches(oldPassword, user.getPassword())
+                        .flatMap(oldPasswordValid -> {
+                            // 验证旧密码
+                            if (!oldPasswordValid) {
+                                return Mono.error(new BusinessException(ErrorCode.INVALID_PASSWORD));
+                            }
+
+                            // 检查新密码是否与历史密码重复
+                            return passwordSecurityService.isPasswordUsedBefore(userId, newPassword);
+                        })
+                        .flatMap(isDuplicate -> {
+                            if (isDuplicate) {
+                                return Mono.error(new BusinessException(ErrorCode.PASSWORD_REUSED));
+                            }
+
+                            // 更新密码
+                            return passwordHashingService.encode(newPassword)
+                                    .flatMap(passwordHash -> {
+                                        user.setPassword(passwordHash);
+                                        user.setModifiedDate(LocalDateTime.now());
+                                        return userRepository.save(user)
+                                                .then(passwordSecurityService.savePasswordHistory(userId,
+                                                        passwordHash, "SYSTEM", "密码重置"));
+                                    })
+                                    .thenReturn(true);
+                        }))
                 .doOnSuccess(result -> LoggingUtil.info(logger, "用户密码修改成功"))
                 .doOnError(error -> LoggingUtil.error(logger, "用户密码修改失败", error));
     }
@@ -479,14 +483,15 @@ public class ReactiveUserServiceImpl implements ReactiveUserService {
         return validateUserId(userId)
                 .then(userRepository.findByIdAndDeletedFalse(userId))
                 .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.USER_NOT_FOUND)))
-                .flatMap(user -> {
-                    user.setPassword(passwordEncoder.encode(newPassword));
-                    user.setModifiedDate(LocalDateTime.now());
-                    return userRepository.save(user)
-                            .then(passwordSecurityService.savePasswordHistory(userId,
-                                    passwordEncoder.encode(newPassword), "SYSTEM", "密码重置"))
-                            .thenReturn(true);
-                })
+                .flatMap(user -> passwordHashingService.encode(newPassword)
+                        .flatMap(passwordHash -> {
+                            user.setPassword(passwordHash);
+                            user.setModifiedDate(LocalDateTime.now());
+                            return userRepository.save(user)
+                                    .then(passwordSecurityService.savePasswordHistory(userId,
+                                            passwordHash, "SYSTEM", "密码重置"));
+                        })
+                        .thenReturn(true))
                 .doOnSuccess(result -> LoggingUtil.info(logger, "用户密码重置成功"))
                 .doOnError(error -> LoggingUtil.error(logger, "用户密码重置失败", error));
     }
@@ -930,20 +935,25 @@ public class ReactiveUserServiceImpl implements ReactiveUserService {
     }
 
     private Mono<User> buildUserFromRequest(UserCreateRequest request) {
+        return passwordHashingService.encode(request.getPassword())
+                .map(passwordHash -> newUser(request, passwordHash));
+    }
+
+    private User newUser(UserCreateRequest request, String passwordHash) {
         User user = new User();
         user.setId(snowflakeIdGenerator.generateUserId()); // 使用雪花ID生成器生成用户ID
         // 显式标记为新实体，确保R2DBC走插入逻辑而非更新
         user.markAsNew();
         user.setUsername(request.getUsername());
         user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setPassword(passwordHash);
         user.setRealName(request.getRealName());
         user.setPhone(request.getPhone());
         user.setUserType(request.getUserType() != null ? request.getUserType() : UserType.NORMAL_USER);
         user.setEnabled(true);
         user.setCreatedDate(LocalDateTime.now());
         user.setModifiedDate(LocalDateTime.now());
-        return Mono.just(user);
+        return user;
     }
 
     private Mono<User> updateUserFromRequest(User user, UserUpdateRequest request) {
@@ -1019,13 +1029,16 @@ public class ReactiveUserServiceImpl implements ReactiveUserService {
                     }
 
                     // 验证密码
-                    if (!passwordEncoder.matches(password, user.getPassword())) {
-                        return Mono.error(new BusinessException(ErrorCode.INVALID_PASSWORD));
-                    }
+                    return passwordHashingService.matches(password, user.getPassword())
+                            .flatMap(passwordValid -> {
+                                if (!passwordValid) {
+                                    return Mono.error(new BusinessException(ErrorCode.INVALID_PASSWORD));
+                                }
 
-                    // 更新最后登录时间 - lastLoginTime字段已从数据库中移除
-                    // user.setLastLoginTime(LocalDateTime.now()); // lastLoginTime字段已移除
-                    return userRepository.save(user);
+                                // 更新最后登录时间 - lastLoginTime字段已从数据库中移除
+                                // user.setLastLoginTime(LocalDateTime.now()); // lastLoginTime字段已移除
+                                return userRepository.save(user);
+                            });
                 })
                 .doOnSuccess(user -> LoggingUtil.info(logger, "用户认证成功，用户ID: {}", user.getId()))
                 .doOnError(error -> LoggingUtil.error(logger, "用户认证失败，用户名: " + username, error));
@@ -1072,7 +1085,7 @@ public class ReactiveUserServiceImpl implements ReactiveUserService {
         return validateUserId(userId)
                 .then(userRepository.findByIdAndDeletedFalse(userId))
                 .switchIfEmpty(Mono.error(new BusinessException(ErrorCode.USER_NOT_FOUND)))
-                .map(user -> passwordEncoder.matches(password, user.getPassword()))
+                .flatMap(user -> passwordHashingService.matches(password, user.getPassword()))
                 .doOnNext(isValid -> LoggingUtil.debug(logger, "用户 {} 密码验证结果: {}", userId, isValid))
                 .doOnError(error -> LoggingUtil.error(logger, "验证用户密码失败，用户ID: " + userId, error));
     }
@@ -0,0 +1,379 @@
+package com.honyrun.service.log;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.util.LoggingUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.util.concurrent.Queues;
+
+/**
+ * 审计日志批量写入器
+ *
+ * 请求线程把结构化的AuditRecord放入有界的多生产者单消费者队列后立即返回，
+ * 由单个专用写入线程按组提交（group commit）方式落盘：
+ * - 队列积压达到batch-size或距上次刷新超过max-latency时触发刷新
+ * - 每批只做一次文件写入（AUDIT_BATCH日志记录器的一次调用）和一条多行INSERT
+ * - 队列满时按overflow-policy处理：DROP_NEWEST丢弃新事件，FALLBACK_LOG在调用线程直接写安全审计日志
+ *
+ * 通过Micrometer暴露提交、丢弃、落盘、入库失败计数以及队列深度、批大小和刷新耗时，
+ * 用于评估审计数据的持久性
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 17:00:00
+ * @modified 2025-10-29 17:00:00
+ * @version 1.0.0
+ */
+@Component
+public class AuditLogWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuditLogWriter.class);
+
+    /**
+     * 批量文件输出专用日志记录器，appender只输出%msg，行格式由本类生成
+     */
+    private static final Logger batchLogger = LoggerFactory.getLogger("AUDIT_BATCH");
+
+    /**
+     * 队列满时的降级写入目标
+     */
+    private static final Logger securityAuditLogger = LoggerFactory.getLogger("SECURITY_AUDIT");
+
+    private static final DateTimeFormatter LINE_TIME_FORMATTER = DateTimeFormatter
+            .ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    /**
+     * 队列溢出策略
+     */
+    public enum OverflowPolicy {
+        /** 丢弃新提交的事件 */
+        DROP_NEWEST,
+        /** 在调用线程同步写入SECURITY_AUDIT日志，不入库 */
+        FALLBACK_LOG
+    }
+
+    private final DatabaseClient databaseClient;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${honyrun.audit.writer.queue-capacity:65536}")
+    private int queueCapacity;
+
+    @Value("${honyrun.audit.writer.batch-size:500}")
+    private int batchSize;
+
+    @Value("${honyrun.audit.writer.max-latency:200}")
+    private long maxLatencyMillis;
+
+    @Value("${honyrun.audit.writer.overflow-policy:DROP_NEWEST}")
+    private OverflowPolicy overflowPolicy;
+
+    @Value("${honyrun.audit.writer.database-enabled:true}")
+    private boolean databaseEnabled;
+
+    @Value("${honyrun.audit.writer.write-timeout:5000}")
+    private long writeTimeoutMillis;
+
+    private final Queue<AuditRecord> queue = Queues.<AuditRecord>unboundedMultiproducer().get();
+    private final AtomicInteger queueSize = new AtomicInteger();
+    private final AtomicLong lastFlushTime = new AtomicLong(System.currentTimeMillis());
+
+    private volatile boolean running;
+    private volatile Thread writerThread;
+
+    private Counter submittedCounter;
+    private Counter droppedCounter;
+    private Counter fallbackCounter;
+    private Counter fileWrittenCounter;
+    private Counter persistedCounter;
+    private Counter persistFailedCounter;
+    private DistributionSummary batchSizeSummary;
+    private Timer flushTimer;
+
+    public AuditLogWriter(DatabaseClient databaseClient, MeterRegistry meterRegistry) {
+        this.databaseClient = databaseClient;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        submittedCounter = Counter.builder("honyrun.audit.events.submitted")
+                .description("提交到审计队列的事件数").register(meterRegistry);
+        droppedCounter = Counter.builder("honyrun.audit.events.dropped")
+                .description("队列满被丢弃的事件数").register(meterRegistry);
+        fallbackCounter = Counter.builder("honyrun.audit.events.fallback")
+                .description("队列满时同步降级写入的事件数").register(meterRegistry);
+        fileWrittenCounter = Counter.builder("honyrun.audit.events.file.written")
+                .description("批量写入审计文件的事件数").register(meterRegistry);
+        persistedCounter = Counter.builder("honyrun.audit.events.persisted")
+                .description("批量写入数据库的事件数").register(meterRegistry);
+        persistFailedCounter = Counter.builder("honyrun.audit.events.persist.failed")
+                .description("写入数据库失败的事件数").register(meterRegistry);
+        batchSizeSummary = DistributionSummary.builder("honyrun.audit.batch.size")
+                .description("每次组提交的事件数").register(meterRegistry);
+        flushTimer = Timer.builder("honyrun.audit.flush.time")
+                .description("每次组提交的耗时").register(meterRegistry);
+        Gauge.builder("honyrun.audit.queue.depth", queueSize, AtomicInteger::get)
+                .description("审计队列待写入事件数").register(meterRegistry);
+        Gauge.builder("honyrun.audit.last.flush.age", lastFlushTime,
+                        last -> System.currentTimeMillis() - last.get())
+                .description("距上次刷新的毫秒数").baseUnit("milliseconds").register(meterRegistry);
+
+        running = true;
+        Thread thread = new Thread(this::runLoop, "honyrun-audit-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+        LoggingUtil.info(logger, "审计日志批量写入器已启动: 容量={}, 批大小={}, 最大延迟={}ms, 溢出策略={}",
+                queueCapacity, batchSize, maxLatencyMillis, overflowPolicy);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(Math.max(1000L, writeTimeoutMillis * 2));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        LoggingUtil.info(logger, "审计日志批量写入器已停止，剩余未写入事件: {}", queueSize.get());
+    }
+
+    /**
+     * 提交审计事件，不阻塞调用线程
+     *
+     * @param record 审计事件
+     * @return true-已进入队列，false-被溢出策略处理
+     */
+    public boolean submit(AuditRecord record) {
+        submittedCounter.increment();
+        if (!running || queueSize.incrementAndGet() > queueCapacity) {
+            if (running) {
+                queueSize.decrementAndGet();
+            }
+            handleOverflow(record);
+            return false;
+        }
+        queue.offer(record);
+        if (queueSize.get() >= batchSize) {
+            LockSupport.unpark(writerThread);
+        }
+        return true;
+    }
+
+    /**
+     * 获取写入器状态
+     *
+     * @return 状态信息
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running);
+        status.put("queueDepth", queueSize.get());
+        status.put("queueCapacity", queueCapacity);
+        status.put("overflowPolicy", overflowPolicy.name());
+        status.put("submitted", (long) submittedCounter.count());
+        status.put("dropped", (long) droppedCounter.count());
+        status.put("fallback", (long) fallbackCounter.count());
+        status.put("persisted", (long) persistedCounter.count());
+        status.put("persistFailed", (long) persistFailedCounter.count());
+        status.put("lastFlushTime", lastFlushTime.get());
+        return status;
+    }
+
+    // ==================== 写入线程 ====================
+
+    private void runLoop() {
+        long maxLatencyNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1L, maxLatencyMillis));
+        while (running || queueSize.get() > 0) {
+            if (running && queueSize.get() < batchSize) {
+                LockSupport.parkNanos(this, maxLatencyNanos);
+            }
+            try {
+                while (flushBatch() >= batchSize) {
+                    // 积压超过一批时连续刷新，直到不足一批再等待
+                }
+            } catch (Exception e) {
+                LoggingUtil.error(logger, "审计日志批量写入异常", e);
+            }
+        }
+    }
+
+    /**
+     * 取出最多一批事件并组提交
+     *
+     * @return 本批事件数
+     */
+    private int flushBatch() {
+        List<AuditRecord> batch = new ArrayList<>(Math.min(batchSize, Math.max(16, queueSize.get())));
+        AuditRecord record;
+        while (batch.size() < batchSize && (record = queue.poll()) != null) {
+            batch.add(record);
+        }
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        queueSize.addAndGet(-batch.size());
+
+        long start = System.nanoTime();
+        writeFile(batch);
+        if (databaseEnabled) {
+            writeDatabase(batch);
+        }
+        flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        batchSizeSummary.record(batch.size());
+        lastFlushTime.set(System.currentTimeMillis());
+        return batch.size();
+    }
+
+    /**
+     * 将整批事件拼接后以一次日志调用写入文件
+     * 只格式化对应级别已开启的事件
+     */
+    private void writeFile(List<AuditRecord> batch) {
+        boolean infoEnabled = batchLogger.isInfoEnabled();
+        boolean warnEnabled = batchLogger.isWarnEnabled();
+        if (!infoEnabled && !warnEnabled) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder(batch.size() * 160);
+        boolean anyWarn = false;
+        int written = 0;
+        for (AuditRecord r : batch) {
+            if (r.isWarn() ? !warnEnabled : !infoEnabled) {
+                continue;
+            }
+            anyWarn |= r.isWarn();
+            appendLine(sb, r);
+            written++;
+        }
+        if (written == 0) {
+            return;
+        }
+        if (anyWarn) {
+            batchLogger.warn(sb.toString());
+        } else {
+            batchLogger.info(sb.toString());
+        }
+        fileWrittenCounter.increment(written);
+    }
+
+    private void appendLine(StringBuilder sb, AuditRecord r) {
+        LINE_TIME_FORMATTER.formatTo(Instant.ofEpochMilli(r.getTimestamp()), sb);
+        sb.append(' ').append(r.getLevel()).append(" [").append(r.getEventType()).append("] ")
+                .append(r.getMessage());
+        if (r.getUsername() != null) {
+            sb.append(" | 用户: ").append(r.getUsername());
+        }
+        if (r.getUserId() != null) {
+            sb.append(" | 用户ID: ").append(r.getUserId());
+        }
+        if (r.getClientIp() != null) {
+            sb.append(" | IP: ").append(r.getClientIp());
+        }
+        if (r.getUserAgent() != null) {
+            sb.append(" | User-Agent: ").append(r.getUserAgent());
+        }
+        sb.append('\n');
+    }
+
+    /**
+     * 以一条多行INSERT写入整批事件，列与db/unified-schema.sql中的sys_system_logs一致：
+     * message为渲染后的审计消息，事件类型和用户名写入description
+     */
+    private void writeDatabase(List<AuditRecord> batch) {
+        StringBuilder sql = new StringBuilder(128 + batch.size() * 80)
+                .append("INSERT INTO sys_system_logs (log_type, log_level, module, message, description, user_id, ")
+                .append("ip_address, user_agent, created_at) VALUES ");
+        for (int i = 0; i < batch.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:t").append(i).append(", :l").append(i).append(", :m").append(i)
+                    .append(", :msg").append(i).append(", :d").append(i).append(", :u").append(i)
+                    .append(", :ip").append(i).append(", :ua").append(i).append(", :ts").append(i).append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < batch.size(); i++) {
+            AuditRecord r = batch.get(i);
+            LocalDateTime time = LocalDateTime.ofInstant(Instant.ofEpochMilli(r.getTimestamp()),
+                    ZoneId.systemDefault());
+            spec = spec.bind("t" + i, r.getLogType())
+                    .bind("l" + i, r.getLevel())
+                    .bind("m" + i, Parameters.in(R2dbcType.VARCHAR, r.getModule()))
+                    .bind("msg" + i, r.getMessage())
+                    .bind("d" + i, describe(r))
+                    .bind("u" + i, Parameters.in(R2dbcType.BIGINT, r.getUserId()))
+                    .bind("ip" + i, Parameters.in(R2dbcType.VARCHAR, r.getClientIp()))
+                    .bind("ua" + i, Parameters.in(R2dbcType.VARCHAR, r.getUserAgent()))
+                    .bind("ts" + i, time);
+        }
+
+        try {
+            spec.fetch().rowsUpdated().block(Duration.ofMillis(writeTimeoutMillis));
+            persistedCounter.increment(batch.size());
+        } catch (Exception e) {
+            persistFailedCounter.increment(batch.size());
+            LoggingUtil.error(logger, "审计日志批量入库失败，事件数: " + batch.size(), e);
+        }
+    }
+
+    /**
+     * 表中没有事件类型和用户名列，以"[事件类型] 用户: xxx"的形式写入description
+     */
+    private static String describe(AuditRecord r) {
+        String description = "[" + r.getEventType() + "]";
+        return r.getUsername() != null ? description + " 用户: " + r.getUsername() : description;
+    }
+
+    private void handleOverflow(AuditRecord record) {
+        if (overflowPolicy == OverflowPolicy.FALLBACK_LOG) {
+            fallbackCounter.increment();
+            if (record.isWarn()) {
+                securityAuditLogger.warn("[{}] {} | 用户: {} | IP: {}", record.getEventType(), record.getMessage(),
+                        record.getUsername(), record.getClientIp());
+            } else if (securityAuditLogger.isInfoEnabled()) {
+                securityAuditLogger.info("[{}] {} | 用户: {} | IP: {}", record.getEventType(), record.getMessage(),
+                        record.getUsername(), record.getClientIp());
+            }
+            return;
+        }
+        droppedCounter.increment();
+        if (((long) droppedCounter.count() & 0x3FF) == 1) {
+            LoggingUtil.warn(logger, "审计队列已满，丢弃事件: type={}, 累计丢弃={}", record.getEventType(),
+                    (long) droppedCounter.count());
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.honyrun.service.log;
+
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * 审计事件记录
+ *
+ * 请求线程只负责填充结构化字段和参数化消息模板（slf4j风格的{}占位符），
+ * 消息格式化推迟到写入线程并且仅在对应日志级别开启时进行
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 17:00:00
+ * @modified 2025-10-29 17:00:00
+ * @version 1.0.0
+ */
+public final class AuditRecord {
+
+    /**
+     * 日志级别：INFO
+     */
+    public static final String LEVEL_INFO = "INFO";
+
+    /**
+     * 日志级别：WARN
+     */
+    public static final String LEVEL_WARN = "WARN";
+
+    private final long timestamp = System.currentTimeMillis();
+    private final String level;
+    private final String logType;
+    private final String eventType;
+    private final String module;
+    private final String messagePattern;
+    private final Object[] arguments;
+    private String username;
+    private Long userId;
+    private String clientIp;
+    private String userAgent;
+    private String formattedMessage;
+
+    private AuditRecord(String level, String logType, String eventType, String module,
+            String messagePattern, Object[] arguments) {
+        this.level = level;
+        this.logType = logType;
+        this.eventType = eventType;
+        this.module = module;
+        this.messagePattern = messagePattern;
+        this.arguments = arguments;
+    }
+
+    /**
+     * 创建安全审计记录
+     *
+     * @param level          日志级别
+     * @param eventType      审计事件类型
+     * @param messagePattern 消息模板
+     * @param arguments      模板参数
+     * @return 审计记录
+     */
+    public static AuditRecord security(String level, String eventType, String messagePattern, Object... arguments) {
+        return new AuditRecord(level, "SECURITY", eventType, "AUTH", messagePattern, arguments);
+    }
+
+    /**
+     * 创建通用系统日志记录
+     *
+     * @param level          日志级别
+     * @param logType        日志类型
+     * @param eventType      操作类型
+     * @param module         模块
+     * @param messagePattern 消息模板
+     * @param arguments      模板参数
+     * @return 审计记录
+     */
+    public static AuditRecord of(String level, String logType, String eventType, String module,
+            String messagePattern, Object... arguments) {
+        return new AuditRecord(level, logType, eventType, module, messagePattern, arguments);
+    }
+
+    /**
+     * 设置操作者信息
+     *
+     * @param username  用户名
+     * @param userId    用户ID
+     * @param clientIp  客户端IP
+     * @param userAgent User-Agent
+     * @return 当前记录
+     */
+    public AuditRecord actor(String username, Long userId, String clientIp, String userAgent) {
+        this.username = username;
+        this.userId = userId;
+        this.clientIp = clientIp;
+        this.userAgent = userAgent;
+        return this;
+    }
+
+    /**
+     * 获取格式化后的消息，首次调用时格式化并缓存
+     * 仅由写入线程调用
+     *
+     * @return 消息文本
+     */
+    public String getMessage() {
+        if (formattedMessage == null) {
+            formattedMessage = arguments == null || arguments.length == 0
+                    ? messagePattern
+                    : MessageFormatter.arrayFormat(messagePattern, arguments).getMessage();
+        }
+        return formattedMessage;
+    }
+
+    public boolean isWarn() {
+        return LEVEL_WARN.equals(level) || "ERROR".equals(level);
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public String getLevel() {
+        return level;
+    }
+
+    public String getLogType() {
+        return logType;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getModule() {
+        return module;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getClientIp() {
+        return clientIp;
+    }
+
+    public String getUserAgent() {
+        return userAgent;
+    }
+}
@@ -0,0 +1,52 @@
+package com.honyrun.service.log;
+
+import java.util.Map;
+
+import com.honyrun.model.dto.response.LogTailEvent;
+import com.honyrun.util.LoggingUtil;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+/**
+ * 实时日志Appender
+ * 将Logback日志事件转换为结构化的LogTailEvent并写入LogTailBuffer，
+ * 写入仅为一次数组赋值，不做格式化输出和I/O，不影响业务线程。
+ * 继承UnsynchronizedAppenderBase，各日志线程并发进入append，不经过AppenderBase.doAppend的全局锁
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 10:20:00
+ * @modified 2025-10-29 10:20:00
+ * @version 1.0.0
+ */
+public class LogTailAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    private final LogTailBuffer buffer;
+    private final Level threshold;
+
+    public LogTailAppender(LogTailBuffer buffer, Level threshold) {
+        this.buffer = buffer;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected void append(ILoggingEvent loggingEvent) {
+        if (!loggingEvent.getLevel().isGreaterOrEqual(threshold)) {
+            return;
+        }
+        LogTailEvent event = new LogTailEvent();
+        event.setTimestamp(loggingEvent.getTimeStamp());
+        event.setLevel(loggingEvent.getLevel().toString());
+        event.setLoggerName(loggingEvent.getLoggerName());
+        event.setThreadName(loggingEvent.getThreadName());
+        event.setMessage(loggingEvent.getFormattedMessage());
+        event.setSource(LogTailEvent.SOURCE_LOGBACK);
+        Map<String, String> mdc = loggingEvent.getMDCPropertyMap();
+        if (mdc != null && !mdc.isEmpty()) {
+            event.setTraceId(mdc.get(LoggingUtil.TRACE_ID_KEY));
+            event.setUserId(mdc.get(LoggingUtil.USER_ID_KEY));
+        }
+        buffer.publish(event);
+    }
+}
@@ -0,0 +1,397 @@
+package com.honyrun.service.log;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.honyrun.exception.BusinessException;
+import com.honyrun.model.dto.response.LogTailEvent;
+import com.honyrun.util.LoggingUtil;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 实时日志环形缓冲区
+ *
+ * 以固定容量的无锁环形数组保存最近的结构化日志事件，事件来源为系统日志服务的createLog
+ * 和挂载到Logback的LogTailAppender。每个订阅者维护独立的读取游标：
+ * - 生产者只做一次序号自增、一次槽位戳认领和一次数组写入，从不加锁、从不等待订阅者
+ * - 每个槽位带一个写入戳（写入中/已发布 + 序号），戳只增不减：回绕后更新的写入者先认领槽位时，
+ *   落后的写入者放弃写入；订阅者读取槽位前后各读一次戳，两次不一致或戳已属于更新的序号时视为被覆盖，计入丢弃
+ * - 订阅者按下游请求量拉取，落后超过容量时跳到最旧的可用事件，并以dropped事件报告丢弃条数
+ * - 订阅时可指定起始序号，用于断线重连后从上次位置续传
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 10:00:00
+ * @modified 2025-10-29 10:00:00
+ * @version 1.0.0
+ */
+@Service
+public class LogTailBuffer {
+
+    private static final Logger logger = LoggerFactory.getLogger(LogTailBuffer.class);
+
+    private static final String APPENDER_NAME = "LOG_TAIL";
+
+    @Value("${honyrun.log.tail.capacity:8192}")
+    private int configuredCapacity;
+
+    @Value("${honyrun.log.tail.capture-level:INFO}")
+    private String captureLevel;
+
+    @Value("${honyrun.log.tail.max-subscribers:32}")
+    private int maxSubscribers;
+
+    private int capacity;
+    private int mask;
+    private AtomicReferenceArray<LogTailEvent> slots;
+
+    /**
+     * 槽位写入戳，0为空，2*序号+1为写入中，2*序号+2为已发布
+     */
+    private AtomicLongArray stamps;
+
+    /**
+     * 下一个待分配的序号
+     */
+    private final AtomicLong nextSequence = new AtomicLong(0);
+
+    private final Set<TailSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final LongAdder publishedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final Scheduler drainScheduler = Schedulers.parallel();
+
+    private LogTailAppender appender;
+
+    @PostConstruct
+    public void init() {
+        capacity = Integer.highestOneBit(Math.max(64, configuredCapacity - 1)) << 1;
+        mask = capacity - 1;
+        slots = new AtomicReferenceArray<>(capacity);
+        stamps = new AtomicLongArray(capacity);
+        attachAppender();
+        LoggingUtil.info(logger, "实时日志环形缓冲区初始化完成: 容量={}, 采集级别={}", capacity, captureLevel);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        detachAppender();
+        subscriptions.forEach(TailSubscription::complete);
+        subscriptions.clear();
+    }
+
+    // ==================== 生产者 ====================
+
+    /**
+     * 发布一条日志事件
+     * 仅分配序号并写入槽位，随后通知订阅者，不阻塞、不记录日志（避免与Appender递归）。
+     * 槽位已被回绕后的更新序号认领时放弃写入，订阅者读到更新的戳后按丢弃处理
+     *
+     * @param event 日志事件
+     * @return 分配的序号
+     */
+    public long publish(LogTailEvent event) {
+        long sequence = nextSequence.getAndIncrement();
+        event.setSequence(sequence);
+        int index = (int) (sequence & mask);
+        long writing = writingStamp(sequence);
+        if (stamps.getAndAccumulate(index, writing, Math::max) < writing) {
+            slots.set(index, event);
+            // 认领后又被更新的序号认领时保留对方的戳
+            stamps.compareAndSet(index, writing, publishedStamp(sequence));
+        }
+        publishedCount.increment();
+        for (TailSubscription subscription : subscriptions) {
+            subscription.signal();
+        }
+        return sequence;
+    }
+
+    // ==================== 订阅者 ====================
+
+    /**
+     * 订阅实时日志
+     *
+     * @param filter        过滤条件
+     * @param fromSequence  起始序号，小于0表示只订阅新日志
+     * @return 日志事件流，包含log和dropped两类事件
+     */
+    public Flux<LogTailEvent> subscribe(LogTailFilter filter, long fromSequence) {
+        return Flux.create(sink -> {
+            if (subscriptions.size() >= maxSubscribers) {
+                sink.error(new BusinessException("实时日志订阅数已达上限: " + maxSubscribers));
+                return;
+            }
+            long head = nextSequence.get();
+            long start = fromSequence < 0 ? head : Math.min(fromSequence, head);
+            TailSubscription subscription = new TailSubscription(sink, filter, start);
+            subscriptions.add(subscription);
+            sink.onRequest(n -> subscription.signal());
+            sink.onDispose(() -> subscriptions.remove(subscription));
+            subscription.signal();
+        });
+    }
+
+    /**
+     * 获取缓冲区统计信息
+     *
+     * @return 统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("capacity", capacity);
+        stats.put("headSequence", nextSequence.get());
+        stats.put("publishedCount", publishedCount.sum());
+        stats.put("droppedCount", droppedCount.sum());
+        stats.put("subscribers", subscriptions.size());
+        return stats;
+    }
+
+    private static long writingStamp(long sequence) {
+        return 2 * sequence + 1;
+    }
+
+    private static long publishedStamp(long sequence) {
+        return 2 * sequence + 2;
+    }
+
+    // ==================== Appender管理 ====================
+
+    /**
+     * 将LogTailAppender挂载到根Logger以及所有不向上传递的Logger
+     */
+    private void attachAppender() {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            LoggingUtil.warn(logger, "当前日志实现不是Logback，实时日志仅采集系统日志服务事件");
+            return;
+        }
+        appender = new LogTailAppender(this, Level.toLevel(captureLevel, Level.INFO));
+        appender.setName(APPENDER_NAME);
+        appender.setContext(context);
+        appender.start();
+
+        for (ch.qos.logback.classic.Logger target : context.getLoggerList()) {
+            boolean root = org.slf4j.Logger.ROOT_LOGGER_NAME.equals(target.getName());
+            if (root || (!target.isAdditive() && target.iteratorForAppenders().hasNext())) {
+                target.addAppender(appender);
+            }
+        }
+    }
+
+    private void detachAppender() {
+        if (appender == null || !(LoggerFactory.getILoggerFactory() instanceof LoggerContext context)) {
+            return;
+        }
+        for (ch.qos.logback.classic.Logger target : context.getLoggerList()) {
+            target.detachAppender(appender);
+        }
+        appender.stop();
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 单个订阅者
+     * 采用work-in-progress计数保证同一时刻只有一个线程执行drain，生产者只负责递增计数并按需调度
+     */
+    private final class TailSubscription {
+
+        private final FluxSink<LogTailEvent> sink;
+        private final LogTailFilter filter;
+        private final AtomicInteger wip = new AtomicInteger();
+        private long cursor;
+        private long pendingDrops;
+
+        TailSubscription(FluxSink<LogTailEvent> sink, LogTailFilter filter, long cursor) {
+            this.sink = sink;
+            this.filter = filter;
+            this.cursor = cursor;
+        }
+
+        void signal() {
+            if (wip.getAndIncrement() == 0) {
+                drainScheduler.schedule(this::drain);
+            }
+        }
+
+        void complete() {
+            sink.complete();
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (sink.isCancelled()) {
+                    return;
+                }
+                long head = nextSequence.get();
+                long demand = sink.requestedFromDownstream();
+
+                long oldest = head - capacity;
+                if (cursor < oldest) {
+                    pendingDrops += oldest - cursor;
+                    cursor = oldest;
+                }
+
+                while (demand > 0 && cursor < head) {
+                    if (pendingDrops > 0) {
+                        sink.next(LogTailEvent.dropped(cursor - 1, pendingDrops));
+                        droppedCount.add(pendingDrops);
+                        pendingDrops = 0;
+                        demand--;
+                        continue;
+                    }
+                    int index = (int) (cursor & mask);
+                    long expected = publishedStamp(cursor);
+                    long before = stamps.get(index);
+                    LogTailEvent event = slots.get(index);
+                    long after = stamps.get(index);
+                    if (after < expected) {
+                        // 序号已分配但槽位尚未写入，等待生产者写入后的下一次通知
+                        break;
+                    }
+                    if (before != after && before < expected) {
+                        // 读取期间本序号刚完成发布，重新读取
+                        continue;
+                    }
+                    if (before != expected || after != expected || event == null || event.getSequence() != cursor) {
+                        // 读取过程中被回绕写入覆盖，跳到最旧的可用位置
+                        long skipTo = nextSequence.get() - capacity;
+                        pendingDrops += Math.max(1, skipTo - cursor);
+                        cursor = Math.max(cursor + 1, skipTo);
+                        continue;
+                    }
+                    cursor++;
+                    if (filter.matches(event)) {
+                        sink.next(event);
+                        demand--;
+                    }
+                }
+
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    /**
+     * 实时日志过滤条件
+     * 各条件为空表示不限制，多个条件之间为"与"关系
+     */
+    public static final class LogTailFilter {
+
+        private final Set<String> levels;
+        private final Set<String> logTypes;
+        private final String loggerPrefix;
+        private final String userId;
+        private final String username;
+        private final String traceId;
+
+        private LogTailFilter(Set<String> levels, Set<String> logTypes, String loggerPrefix,
+                String userId, String username, String traceId) {
+            this.levels = levels;
+            this.logTypes = logTypes;
+            this.loggerPrefix = loggerPrefix;
+            this.userId = userId;
+            this.username = username;
+            this.traceId = traceId;
+        }
+
+        /**
+         * 不做任何过滤
+         *
+         * @return 过滤条件
+         */
+        public static LogTailFilter all() {
+            return new LogTailFilter(Set.of(), Set.of(), null, null, null, null);
+        }
+
+        /**
+         * 创建过滤条件
+         *
+         * @param levels       日志级别集合
+         * @param logTypes     日志类型集合
+         * @param loggerPrefix Logger名称前缀
+         * @param userId       用户ID
+         * @param username     用户名
+         * @param traceId      追踪ID
+         * @return 过滤条件
+         */
+        public static LogTailFilter of(Collection<String> levels, Collection<String> logTypes, String loggerPrefix,
+                String userId, String username, String traceId) {
+            return new LogTailFilter(normalize(levels), normalize(logTypes), blankToNull(loggerPrefix),
+                    blankToNull(userId), blankToNull(username), blankToNull(traceId));
+        }
+
+        /**
+         * 由逗号分隔的字符串解析集合
+         *
+         * @param csv 逗号分隔字符串
+         * @return 集合
+         */
+        public static Set<String> parseCsv(String csv) {
+            if (csv == null || csv.isBlank()) {
+                return Set.of();
+            }
+            return Arrays.stream(csv.split(","))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .collect(Collectors.toSet());
+        }
+
+        boolean matches(LogTailEvent event) {
+            if (!levels.isEmpty() && (event.getLevel() == null || !levels.contains(event.getLevel()))) {
+                return false;
+            }
+            if (!logTypes.isEmpty() && (event.getLogType() == null
+                    || !logTypes.contains(event.getLogType().toUpperCase(Locale.ROOT)))) {
+                return false;
+            }
+            if (loggerPrefix != null && (event.getLoggerName() == null || !event.getLoggerName().startsWith(loggerPrefix))) {
+                return false;
+            }
+            if (userId != null && !userId.equals(event.getUserId())) {
+                return false;
+            }
+            if (username != null && !username.equals(event.getUsername())) {
+                return false;
+            }
+            return traceId == null || traceId.equals(event.getTraceId());
+        }
+
+        private static Set<String> normalize(Collection<String> values) {
+            if (values == null || values.isEmpty()) {
+                return Set.of();
+            }
+            return values.stream()
+                    .filter(v -> v != null && !v.isBlank())
+                    .map(v -> v.trim().toUpperCase(Locale.ROOT))
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+
+        private static String blankToNull(String value) {
+            return value == null || value.isBlank() ? null : value.trim();
+        }
+    }
+}
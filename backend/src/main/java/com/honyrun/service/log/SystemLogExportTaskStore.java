@@ -0,0 +1,270 @@
+package com.honyrun.service.log;
+
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.model.dto.response.SystemLogExportResponse;
+import com.honyrun.util.LoggingUtil;
+
+import io.r2dbc.spi.Parameters;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Readable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 日志导出任务持久化存储
+ *
+ * 将导出任务状态和续传检查点保存到sys_log_export_tasks，应用重启后可查询任务状态、
+ * 下载已完成的文件，并从最后一个检查点继续未完成的导出
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 14:30:00
+ * @modified 2025-10-29 14:30:00
+ * @version 1.0.0
+ */
+@Component
+public class SystemLogExportTaskStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemLogExportTaskStore.class);
+
+    private static final String SELECT_COLUMNS = "SELECT task_id, format, status, progress, user_id, username, "
+            + "query_params, file_name, file_path, download_url, file_size, record_count, total_count, last_log_id, "
+            + "checkpoint_offset, error_message, created_at, completed_at, expire_at FROM sys_log_export_tasks ";
+
+    private final DatabaseClient databaseClient;
+
+    public SystemLogExportTaskStore(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**
+     * 新建或整体覆盖任务记录
+     *
+     * @param task 导出任务
+     * @return 完成信号
+     */
+    public Mono<Void> save(ExportTask task) {
+        SystemLogExportResponse r = task.getResponse();
+        String sql = "INSERT INTO sys_log_export_tasks (task_id, format, status, progress, user_id, username, "
+                + "query_params, file_name, file_path, download_url, file_size, record_count, total_count, "
+                + "last_log_id, checkpoint_offset, error_message, created_at, completed_at, expire_at, updated_at) "
+                + "VALUES (:taskId, :format, :status, :progress, :userId, :username, :queryParams, :fileName, "
+                + ":filePath, :downloadUrl, :fileSize, :recordCount, :totalCount, :lastLogId, :checkpointOffset, "
+                + ":errorMessage, :createdAt, :completedAt, :expireAt, :updatedAt) "
+                + "ON DUPLICATE KEY UPDATE status = VALUES(status), progress = VALUES(progress), "
+                + "file_name = VALUES(file_name), file_path = VALUES(file_path), download_url = VALUES(download_url), "
+                + "file_size = VALUES(file_size), record_count = VALUES(record_count), "
+                + "total_count = VALUES(total_count), last_log_id = VALUES(last_log_id), "
+                + "checkpoint_offset = VALUES(checkpoint_offset), error_message = VALUES(error_message), "
+                + "completed_at = VALUES(completed_at), expire_at = VALUES(expire_at), updated_at = VALUES(updated_at)";
+
+        return databaseClient.sql(sql)
+                .bind("taskId", r.getTaskId())
+                .bind("format", r.getFormat())
+                .bind("status", r.getStatus())
+                .bind("progress", r.getProgress() != null ? r.getProgress() : 0)
+                .bind("userId", Parameters.in(R2dbcType.BIGINT, r.getUserId()))
+                .bind("username", Parameters.in(R2dbcType.VARCHAR, r.getUsername()))
+                .bind("queryParams", Parameters.in(R2dbcType.VARCHAR, task.getQueryParams()))
+                .bind("fileName", Parameters.in(R2dbcType.VARCHAR, r.getFileName()))
+                .bind("filePath", Parameters.in(R2dbcType.VARCHAR, task.getFilePath()))
+                .bind("downloadUrl", Parameters.in(R2dbcType.VARCHAR, r.getDownloadUrl()))
+                .bind("fileSize", Parameters.in(R2dbcType.BIGINT, r.getFileSize()))
+                .bind("recordCount", task.getRecordCount())
+                .bind("totalCount", task.getTotalCount())
+                .bind("lastLogId", task.getLastLogId())
+                .bind("checkpointOffset", task.getCheckpointOffset())
+                .bind("errorMessage", Parameters.in(R2dbcType.VARCHAR, truncate(r.getErrorMessage(), 1000)))
+                .bind("createdAt", r.getCreatedTime())
+                .bind("completedAt", Parameters.in(R2dbcType.TIMESTAMP, r.getCompletedTime()))
+                .bind("expireAt", Parameters.in(R2dbcType.TIMESTAMP, r.getExpireTime()))
+                .bind("updatedAt", LocalDateTime.now())
+                .fetch()
+                .rowsUpdated()
+                .then()
+                .doOnError(error -> LoggingUtil.error(logger, "保存导出任务失败: " + r.getTaskId(), error));
+    }
+
+    /**
+     * 更新导出进度和续传检查点
+     *
+     * @param task 导出任务
+     * @return 完成信号
+     */
+    public Mono<Void> saveCheckpoint(ExportTask task) {
+        return databaseClient.sql("UPDATE sys_log_export_tasks SET status = :status, progress = :progress, "
+                + "record_count = :recordCount, total_count = :totalCount, last_log_id = :lastLogId, "
+                + "checkpoint_offset = :checkpointOffset, updated_at = :updatedAt WHERE task_id = :taskId")
+                .bind("status", task.getResponse().getStatus())
+                .bind("progress", task.getResponse().getProgress() != null ? task.getResponse().getProgress() : 0)
+                .bind("recordCount", task.getRecordCount())
+                .bind("totalCount", task.getTotalCount())
+                .bind("lastLogId", task.getLastLogId())
+                .bind("checkpointOffset", task.getCheckpointOffset())
+                .bind("updatedAt", LocalDateTime.now())
+                .bind("taskId", task.getResponse().getTaskId())
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    /**
+     * 根据任务ID查询
+     *
+     * @param taskId 任务ID
+     * @return 导出任务
+     */
+    public Mono<ExportTask> findById(String taskId) {
+        return databaseClient.sql(SELECT_COLUMNS + "WHERE task_id = :taskId")
+                .bind("taskId", taskId)
+                .map(this::mapRow)
+                .one();
+    }
+
+    /**
+     * 查询上次运行时未完成的任务
+     *
+     * @return 未完成的导出任务
+     */
+    public Flux<ExportTask> findUnfinished() {
+        return databaseClient.sql(SELECT_COLUMNS + "WHERE status IN ('PENDING', 'PROCESSING') ORDER BY created_at")
+                .map(this::mapRow)
+                .all();
+    }
+
+    /**
+     * 查询已过期的任务
+     *
+     * @param now 当前时间
+     * @return 已过期的导出任务
+     */
+    public Flux<ExportTask> findExpired(LocalDateTime now) {
+        return databaseClient.sql(SELECT_COLUMNS + "WHERE expire_at IS NOT NULL AND expire_at < :now")
+                .bind("now", now)
+                .map(this::mapRow)
+                .all();
+    }
+
+    /**
+     * 删除任务记录
+     *
+     * @param taskId 任务ID
+     * @return 完成信号
+     */
+    public Mono<Void> delete(String taskId) {
+        return databaseClient.sql("DELETE FROM sys_log_export_tasks WHERE task_id = :taskId")
+                .bind("taskId", taskId)
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    private ExportTask mapRow(Readable row) {
+        SystemLogExportResponse r = new SystemLogExportResponse(row.get("task_id", String.class),
+                row.get("format", String.class), row.get("user_id", Long.class), row.get("username", String.class));
+        r.setStatus(row.get("status", String.class));
+        r.setProgress(row.get("progress", Integer.class));
+        r.setFileName(row.get("file_name", String.class));
+        r.setDownloadUrl(row.get("download_url", String.class));
+        r.setFileSize(row.get("file_size", Long.class));
+        r.setRecordCount(row.get("record_count", Long.class));
+        r.setErrorMessage(row.get("error_message", String.class));
+        r.setCreatedTime(row.get("created_at", LocalDateTime.class));
+        r.setCompletedTime(row.get("completed_at", LocalDateTime.class));
+        r.setExpireTime(row.get("expire_at", LocalDateTime.class));
+
+        ExportTask task = new ExportTask(r, row.get("query_params", String.class), row.get("file_path", String.class));
+        task.setRecordCount(orZero(row.get("record_count", Long.class)));
+        task.setTotalCount(orZero(row.get("total_count", Long.class)));
+        task.setLastLogId(orZero(row.get("last_log_id", Long.class)));
+        task.setCheckpointOffset(orZero(row.get("checkpoint_offset", Long.class)));
+        return task;
+    }
+
+    private static long orZero(Long value) {
+        return value != null ? value : 0L;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        return value != null && value.length() > maxLength ? value.substring(0, maxLength) : value;
+    }
+
+    /**
+     * 导出任务
+     * 在对外的SystemLogExportResponse之外，携带查询条件、文件路径和续传检查点
+     */
+    public static class ExportTask {
+
+        private final SystemLogExportResponse response;
+        private final String queryParams;
+        private final String filePath;
+        private long recordCount;
+        private long totalCount;
+        private long lastLogId;
+        private long checkpointOffset;
+
+        public ExportTask(SystemLogExportResponse response, String queryParams, String filePath) {
+            this.response = response;
+            this.queryParams = queryParams;
+            this.filePath = filePath;
+        }
+
+        /**
+         * 回退到初始状态，用于不可续传的格式重新导出
+         */
+        public void reset() {
+            recordCount = 0;
+            lastLogId = 0;
+            checkpointOffset = 0;
+        }
+
+        public SystemLogExportResponse getResponse() {
+            return response;
+        }
+
+        public String getQueryParams() {
+            return queryParams;
+        }
+
+        public String getFilePath() {
+            return filePath;
+        }
+
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        public void setRecordCount(long recordCount) {
+            this.recordCount = recordCount;
+        }
+
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        public void setTotalCount(long totalCount) {
+            this.totalCount = totalCount;
+        }
+
+        public long getLastLogId() {
+            return lastLogId;
+        }
+
+        public void setLastLogId(long lastLogId) {
+            this.lastLogId = lastLogId;
+        }
+
+        public long getCheckpointOffset() {
+            return checkpointOffset;
+        }
+
+        public void setCheckpointOffset(long checkpointOffset) {
+            this.checkpointOffset = checkpointOffset;
+        }
+    }
+}
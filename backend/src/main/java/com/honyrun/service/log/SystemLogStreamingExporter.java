@@ -0,0 +1,237 @@
+package com.honyrun.service.log;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.honyrun.constant.PathConstants;
+import com.honyrun.model.dto.response.SystemLogExportResponse;
+import com.honyrun.model.entity.system.SystemLog;
+import com.honyrun.service.data.pool.PoolLane;
+import com.honyrun.service.log.SystemLogExportTaskStore.ExportTask;
+import com.honyrun.service.log.export.LogExportWriter;
+import com.honyrun.util.LoggingUtil;
+
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 系统日志流式导出器
+ *
+ * 按主键做keyset分页（id > lastId ORDER BY id LIMIT pageSize）读取日志，每页写入导出文件后即释放，
+ * 内存中同时只保留一页数据，分页由expand迭代展开，内存和栈深度不随页数增长。每写入若干页刷新一次文件并把(lastId, 文件偏移, 记录数)作为检查点
+ * 持久化到任务表，应用重启后CSV/JSON从检查点截断续写，Excel从头重新导出。
+ * 导出在REPORTING连接通道上执行，不占用交易请求的连接
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 15:00:00
+ * @modified 2025-10-29 15:00:00
+ * @version 1.0.0
+ */
+@Component
+public class SystemLogStreamingExporter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemLogStreamingExporter.class);
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+    private final SystemLogExportTaskStore taskStore;
+    private final ObjectMapper objectMapper;
+
+    @Value("${honyrun.log.export.directory:${java.io.tmpdir}/honyrun-log-exports}")
+    private String exportDirectory;
+
+    @Value("${honyrun.log.export.page-size:1000}")
+    private int pageSize;
+
+    @Value("${honyrun.log.export.checkpoint-pages:10}")
+    private int checkpointPages;
+
+    /**
+     * 正在执行的任务，防止同一任务被重复启动
+     */
+    private final Set<String> runningTasks = ConcurrentHashMap.newKeySet();
+
+    public SystemLogStreamingExporter(R2dbcEntityTemplate r2dbcEntityTemplate, SystemLogExportTaskStore taskStore,
+            ObjectMapper objectMapper) {
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+        this.taskStore = taskStore;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * 计算导出文件路径
+     *
+     * @param taskId 任务ID
+     * @param format 导出格式
+     * @return 文件路径
+     */
+    public Path resolveFile(String taskId, String format) {
+        String extension = "EXCEL".equalsIgnoreCase(format) ? "xlsx" : format.toLowerCase(Locale.ROOT);
+        return Paths.get(exportDirectory).resolve(taskId + "." + extension);
+    }
+
+    /**
+     * 执行导出任务，从任务中记录的检查点开始
+     *
+     * @param task     导出任务
+     * @param criteria 查询条件
+     * @return 完成信号，失败时任务被标记为FAILED，不向上游传播错误
+     */
+    public Mono<Void> export(ExportTask task, Criteria criteria) {
+        SystemLogExportResponse response = task.getResponse();
+        String taskId = response.getTaskId();
+        if (!runningTasks.add(taskId)) {
+            return Mono.empty();
+        }
+        Path file = Paths.get(task.getFilePath());
+
+        Mono<Long> total = task.getTotalCount() > 0
+                ? Mono.just(task.getTotalCount())
+                : r2dbcEntityTemplate.count(Query.query(criteria), SystemLog.class);
+
+        return total
+                .flatMap(count -> {
+                    task.setTotalCount(count);
+                    response.markProcessing(progressOf(task));
+                    return taskStore.saveCheckpoint(task)
+                            .then(Mono.using(
+                                    () -> openWriter(task, file),
+                                    writer -> exportPages(task, criteria, writer)
+                                            .then(Mono.fromCallable(() -> {
+                                                writer.finish();
+                                                return Files.size(file);
+                                            })),
+                                    this::closeQuietly)
+                                    .subscribeOn(Schedulers.boundedElastic()));
+                })
+                .flatMap(fileSize -> {
+                    response.markCompleted(response.getFileName(), fileSize, task.getRecordCount(),
+                            PathConstants.SYSTEM_LOGS + "/export/download/" + taskId);
+                    LoggingUtil.info(logger, "导出任务完成: {}, 记录数: {}, 文件大小: {}",
+                            taskId, task.getRecordCount(), fileSize);
+                    return taskStore.save(task);
+                })
+                .onErrorResume(error -> {
+                    LoggingUtil.error(logger, "导出任务失败: " + taskId, error);
+                    response.markFailed(error.getMessage());
+                    deleteQuietly(file);
+                    task.reset();
+                    return taskStore.save(task).onErrorResume(e -> Mono.empty());
+                })
+                .doFinally(signal -> runningTasks.remove(taskId))
+                .transform(PoolLane::reporting);
+    }
+
+    /**
+     * 删除导出文件
+     *
+     * @param filePath 文件路径
+     */
+    public void deleteQuietly(Path filePath) {
+        if (filePath == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(filePath);
+        } catch (IOException e) {
+            LoggingUtil.warn(logger, "删除导出文件失败: {}", filePath);
+        }
+    }
+
+    // ==================== 私有方法 ====================
+
+    private LogExportWriter openWriter(ExportTask task, Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        String format = task.getResponse().getFormat();
+        long offset = task.getCheckpointOffset();
+        boolean resume = offset > 0 && Files.exists(file) && Files.size(file) >= offset
+                && !"EXCEL".equalsIgnoreCase(format);
+        if (resume) {
+            LoggingUtil.info(logger, "导出任务从检查点续传: {}, lastId={}, 已导出={}",
+                    task.getResponse().getTaskId(), task.getLastLogId(), task.getRecordCount());
+        } else {
+            task.reset();
+        }
+        return LogExportWriter.open(format, file, resume ? offset : 0L, task.getRecordCount(), objectMapper);
+    }
+
+    /**
+     * 逐页导出：expand在上一页写完（必要时持久化检查点）后才以新的lastId拉取下一页，
+     * 迭代展开而不是递归嵌套，页数再多操作符链和栈深度都不增长
+     */
+    private Mono<Void> exportPages(ExportTask task, Criteria criteria, LogExportWriter writer) {
+        AtomicInteger pages = new AtomicInteger();
+        return fetchPage(criteria, task.getLastLogId())
+                .expand(page -> {
+                    if (page.isEmpty()) {
+                        return Mono.empty();
+                    }
+                    return Mono.fromCallable(() -> writePage(task, writer, page, pages.incrementAndGet()))
+                            .subscribeOn(Schedulers.boundedElastic())
+                            .flatMap(checkpoint -> checkpoint ? taskStore.saveCheckpoint(task) : Mono.<Void>empty())
+                            .then(page.size() < pageSize
+                                    ? Mono.<List<SystemLog>>empty()
+                                    : Mono.defer(() -> fetchPage(criteria, task.getLastLogId())));
+                })
+                .then();
+    }
+
+    private Mono<List<SystemLog>> fetchPage(Criteria criteria, long afterId) {
+        Query query = Query.query(criteria.and("id").greaterThan(afterId))
+                .sort(Sort.by(Sort.Direction.ASC, "id"))
+                .limit(pageSize);
+        return r2dbcEntityTemplate.select(query, SystemLog.class).collectList();
+    }
+
+    /**
+     * 写入一页日志
+     *
+     * @return 本页之后是否需要持久化检查点
+     */
+    private boolean writePage(ExportTask task, LogExportWriter writer, List<SystemLog> page, int pageNumber)
+            throws IOException {
+        for (SystemLog log : page) {
+            writer.writeRow(log);
+        }
+        task.setRecordCount(task.getRecordCount() + page.size());
+        task.setLastLogId(page.get(page.size() - 1).getId());
+        task.getResponse().markProcessing(progressOf(task));
+
+        if (pageNumber % Math.max(1, checkpointPages) != 0) {
+            return false;
+        }
+        task.setCheckpointOffset(Math.max(0L, writer.checkpoint()));
+        return true;
+    }
+
+    private int progressOf(ExportTask task) {
+        if (task.getTotalCount() <= 0) {
+            return 0;
+        }
+        return (int) Math.min(99L, task.getRecordCount() * 100 / task.getTotalCount());
+    }
+
+    private void closeQuietly(LogExportWriter writer) {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            LoggingUtil.warn(logger, "关闭导出文件失败: {}", e.getMessage());
+        }
+    }
+}
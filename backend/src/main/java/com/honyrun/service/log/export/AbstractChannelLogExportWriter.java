@@ -0,0 +1,58 @@
+package com.honyrun.service.log.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 基于FileChannel的可续传写入器基类
+ * 续传时先把文件截断到上次checkpoint的偏移，丢弃checkpoint之后可能只写了一半的行
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 14:00:00
+ * @modified 2025-10-29 14:00:00
+ * @version 1.0.0
+ */
+abstract class AbstractChannelLogExportWriter implements LogExportWriter {
+
+    protected final FileChannel channel;
+    protected final OutputStream out;
+    protected final boolean resumed;
+
+    protected AbstractChannelLogExportWriter(Path file, long resumeOffset) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.resumed = resumeOffset > 0 && channel.size() >= resumeOffset;
+        long start = resumed ? resumeOffset : 0L;
+        channel.truncate(start);
+        channel.position(start);
+        this.out = new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE);
+    }
+
+    /**
+     * 刷新上层缓冲（如Writer、JsonGenerator）到out
+     *
+     * @throws IOException 刷新失败
+     */
+    protected abstract void flushEncoder() throws IOException;
+
+    @Override
+    public long checkpoint() throws IOException {
+        flushEncoder();
+        out.flush();
+        return channel.position();
+    }
+
+    @Override
+    public boolean isResumable() {
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
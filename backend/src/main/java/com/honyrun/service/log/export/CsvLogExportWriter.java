@@ -0,0 +1,84 @@
+package com.honyrun.service.log.export;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import com.honyrun.model.entity.system.SystemLog;
+
+/**
+ * CSV日志导出写入器
+ * 新文件以UTF-8 BOM开头，便于Excel直接识别中文
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 14:00:00
+ * @modified 2025-10-29 14:00:00
+ * @version 1.0.0
+ */
+public class CsvLogExportWriter extends AbstractChannelLogExportWriter {
+
+    private static final char UTF8_BOM = '\uFEFF';
+
+    private final Writer writer;
+
+    public CsvLogExportWriter(Path file, long resumeOffset) throws IOException {
+        super(file, resumeOffset);
+        this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        if (!resumed) {
+            writer.write(UTF8_BOM);
+            writeLine(LogExportColumns.HEADERS);
+        }
+    }
+
+    @Override
+    public void writeRow(SystemLog log) throws IOException {
+        writeLine(LogExportColumns.values(log));
+    }
+
+    @Override
+    public void finish() throws IOException {
+        checkpoint();
+    }
+
+    @Override
+    protected void flushEncoder() throws IOException {
+        writer.flush();
+    }
+
+    private void writeLine(Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeField(values[i]);
+        }
+        writer.write("\r\n");
+    }
+
+    private void writeField(Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        boolean quote = false;
+        for (int i = 0; i < text.length() && !quote; i++) {
+            char c = text.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                writer.write('"');
+            }
+            writer.write(c);
+        }
+        writer.write('"');
+    }
+}
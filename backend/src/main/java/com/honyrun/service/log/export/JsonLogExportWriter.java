@@ -0,0 +1,61 @@
+package com.honyrun.service.log.export;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.honyrun.model.entity.system.SystemLog;
+
+/**
+ * JSON日志导出写入器
+ * 输出一个JSON数组，每个元素独占一行；数组括号和分隔符以原始文本写入，
+ * 因此续传时只需知道此前是否已写过元素即可继续追加
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 14:00:00
+ * @modified 2025-10-29 14:00:00
+ * @version 1.0.0
+ */
+public class JsonLogExportWriter extends AbstractChannelLogExportWriter {
+
+    private final JsonGenerator generator;
+    private boolean firstRow;
+
+    public JsonLogExportWriter(Path file, long resumeOffset, long writtenRecords, ObjectMapper objectMapper)
+            throws IOException {
+        super(file, resumeOffset);
+        this.generator = objectMapper.getFactory().createGenerator(out);
+        this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        this.generator.setRootValueSeparator(null);
+        this.firstRow = !resumed || writtenRecords == 0;
+        if (!resumed) {
+            generator.writeRaw("[\n");
+        }
+    }
+
+    @Override
+    public void writeRow(SystemLog log) throws IOException {
+        if (!firstRow) {
+            generator.writeRaw(",\n");
+        }
+        firstRow = false;
+        Object[] values = LogExportColumns.values(log);
+        generator.writeStartObject();
+        for (int i = 0; i < values.length; i++) {
+            generator.writeObjectField(LogExportColumns.FIELDS[i], values[i]);
+        }
+        generator.writeEndObject();
+    }
+
+    @Override
+    public void finish() throws IOException {
+        generator.writeRaw("\n]\n");
+        checkpoint();
+    }
+
+    @Override
+    protected void flushEncoder() throws IOException {
+        generator.flush();
+    }
+}
@@ -0,0 +1,61 @@
+package com.honyrun.service.log.export;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+import com.honyrun.model.entity.system.SystemLog;
+
+/**
+ * 日志导出列定义
+ * CSV、JSON、Excel三种格式共用同一组列，保证不同格式导出内容一致
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 14:00:00
+ * @modified 2025-10-29 14:00:00
+ * @version 1.0.0
+ */
+public final class LogExportColumns {
+
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 字段名，用作JSON键
+     */
+    public static final String[] FIELDS = {
+            "id", "logType", "logLevel", "operationType", "module", "method", "requestUri", "requestMethod",
+            "userId", "username", "userType", "clientIp", "description", "executionTime", "status",
+            "operationTime", "createdDate"
+    };
+
+    /**
+     * 表头，用于CSV和Excel
+     */
+    public static final String[] HEADERS = {
+            "日志ID", "日志类型", "日志级别", "操作类型", "模块", "方法", "请求URI", "请求方式",
+            "用户ID", "用户名", "用户类型", "客户端IP", "描述", "执行时间(ms)", "状态",
+            "操作时间", "创建时间"
+    };
+
+    private LogExportColumns() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 提取一行日志的列值，数值列保持为Number，时间列格式化为字符串
+     *
+     * @param log 系统日志
+     * @return 列值数组，与FIELDS一一对应
+     */
+    public static Object[] values(SystemLog log) {
+        return new Object[] {
+                log.getId(), log.getLogType(), log.getLogLevel(), log.getOperationType(), log.getModule(),
+                log.getMethod(), log.getRequestUri(), log.getRequestMethod(), log.getUserId(), log.getUsername(),
+                log.getUserType(), log.getClientIp(), log.getDescription(), log.getExecutionTime(), log.getStatus(),
+                format(log.getOperationTime()), format(log.getCreatedDate())
+        };
+    }
+
+    private static String format(LocalDateTime time) {
+        return time != null ? time.format(DATE_TIME_FORMATTER) : null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.honyrun.service.log.export;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.honyrun.model.entity.system.SystemLog;
+
+/**
+ * 日志导出写入器
+ *
+ * 逐行写入导出文件，写入器自身只持有固定大小的输出缓冲区，内存占用与导出行数无关。
+ * 可续传的格式通过checkpoint返回已落盘的字节偏移，重启后截断到该偏移继续追加
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-29 14:00:00
+ * @modified 2025-10-29 14:00:00
+ * @version 1.0.0
+ */
+public interface LogExportWriter extends Closeable {
+
+    /**
+     * 输出缓冲区大小
+     */
+    int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * 写入一行日志
+     *
+     * @param log 系统日志
+     * @throws IOException 写入失败
+     */
+    void writeRow(SystemLog log) throws IOException;
+
+    /**
+     * 刷新缓冲区并返回已落盘的字节偏移
+     *
+     * @return 字节偏移，不可续传的格式返回-1
+     * @throws IOException 刷新失败
+     */
+    long checkpoint() throws IOException;
+
+    /**
+     * 写入文件尾并刷新，之后不可再写入
+     *
+     * @throws IOException 写入失败
+     */
+    void finish() throws IOException;
+
+    /**
+     * 是否支持断点续传
+     *
+     * @return true-支持
+     */
+    boolean isResumable();
+
+    /**
+     * 打开导出写入器
+     *
+     * @param format         导出格式：EXCEL、CSV、JSON
+     * @param file           导出文件
+     * @param resumeOffset   续传偏移，0表示从头写入
+     * @param writtenRecords 续传前已写入的记录数
+     * @param objectMapper   JSON序列化器
+     * @return 导出写入器
+     * @throws IOException 打开文件失败
+     */
+    static LogExportWriter open(String format, Path file, long resumeOffset, long writtenRecords,
+            ObjectMapper objectMapper) throws IOException {
+        return switch (format.toUpperCase(Locale.ROOT)) {
+            case "CSV" -> new CsvLogExportWriter(file, resumeOffset);
+            case "JSON" -> new JsonLogExportWriter(file, resumeOffset, writtenRecords, objectMapper);
+            case "EXCEL" -> new XlsxLogExportWriter(file);
+            default -> throw new IllegalArgumentException("不支持的导出格式: " + format);
+        };
+    }
+}
@@ -0,0 +1,410 @@
+package com.honyrun.service.monitoring;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.util.LoggingUtil;
+
+import jakarta.annotation.PreDestroy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 模拟接口访问统计累加器
+ *
+ * 将每次模拟接口调用的访问次数、成功/失败次数和响应时间累加到内存中的分段计数器（LongAdder），
+ * 由定时任务周期性地合并为一条多行UPDATE语句写回sys_mock_interface，避免热点接口的行级写竞争。
+ *
+ * 刷新策略：
+ * - 按固定间隔刷新，待刷新事件数超过阈值时提前触发，保证统计滞后有界
+ * - 同一时刻只允许一个刷新在途，数据库明确返回失败时增量回填到累加器，下一轮重试
+ * - 刷新超时时UPDATE可能已经提交，结果无法确定，增量不回填，宁可少计也不重复累加
+ * - 应用关闭时执行最后一次刷新
+ *
+ * 统计只在内存中累加到下一次刷新，进程崩溃或被强制终止时会丢失最多一个刷新间隔（或flush-threshold个事件）的增量。
+ *
+ * 查询时将数据库中的已落库值与内存中待刷新、在途的增量合并，得到近实时统计。
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-28 10:12:00
+ * @modified 2025-10-28 10:12:00
+ * @version 1.0.0
+ */
+@Component
+public class MockAccessStatisticsAccumulator {
+
+    private static final Logger logger = LoggerFactory.getLogger(MockAccessStatisticsAccumulator.class);
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * 单条UPDATE语句最多合并的接口数
+     */
+    private final int maxBatchSize;
+
+    /**
+     * 待刷新事件数达到该阈值时提前触发刷新
+     */
+    private final long flushThreshold;
+
+    /**
+     * 单次刷新超时时间
+     */
+    private final Duration flushTimeout;
+
+    private final Map<Long, AccessCounter> counters = new ConcurrentHashMap<>();
+    private final Map<Long, AccessDelta> inFlight = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushing = new AtomicBoolean(false);
+    private final AtomicLong pendingEvents = new AtomicLong(0);
+
+    private final AtomicLong totalFlushes = new AtomicLong(0);
+    private final AtomicLong failedFlushes = new AtomicLong(0);
+    private final AtomicLong flushedEvents = new AtomicLong(0);
+    private volatile LocalDateTime lastFlushTime;
+
+    /**
+     * 构造函数注入
+     *
+     * @param databaseClient       数据库客户端
+     * @param unifiedConfigManager 统一配置管理器
+     */
+    public MockAccessStatisticsAccumulator(DatabaseClient databaseClient, UnifiedConfigManager unifiedConfigManager) {
+        this.databaseClient = databaseClient;
+        this.maxBatchSize = Integer.parseInt(
+                unifiedConfigManager.getProperty("honyrun.mock.statistics.max-batch-size", "200"));
+        this.flushThreshold = Long.parseLong(
+                unifiedConfigManager.getProperty("honyrun.mock.statistics.flush-threshold", "10000"));
+        this.flushTimeout = Duration.ofMillis(Long.parseLong(
+                unifiedConfigManager.getProperty("honyrun.mock.statistics.flush-timeout", "10000")));
+    }
+
+    /**
+     * 记录一次访问
+     * 仅更新内存计数器，不产生数据库访问
+     *
+     * @param id           接口ID
+     * @param success      是否成功
+     * @param responseTime 响应时间（毫秒）
+     */
+    public void record(Long id, boolean success, long responseTime) {
+        if (id == null) {
+            return;
+        }
+        AccessCounter counter = counters.computeIfAbsent(id, k -> new AccessCounter());
+        counter.record(success, Math.max(0L, responseTime));
+
+        if (pendingEvents.incrementAndGet() >= flushThreshold && !flushing.get()) {
+            flush().subscribe();
+        }
+    }
+
+    /**
+     * 丢弃指定接口的内存统计（接口删除时调用）
+     *
+     * @param id 接口ID
+     */
+    public void discard(Long id) {
+        if (id != null) {
+            counters.remove(id);
+            inFlight.remove(id);
+        }
+    }
+
+    /**
+     * 获取指定接口尚未落库的增量（待刷新 + 在途）
+     *
+     * @param id 接口ID
+     * @return 增量快照，无增量时各项为0
+     */
+    public AccessDelta getUnflushedDelta(Long id) {
+        AccessDelta delta = new AccessDelta(id);
+        AccessCounter counter = counters.get(id);
+        if (counter != null) {
+            delta.merge(counter.peek(id));
+        }
+        AccessDelta flying = inFlight.get(id);
+        if (flying != null) {
+            delta.merge(flying);
+        }
+        return delta;
+    }
+
+    /**
+     * 定时刷新任务
+     */
+    @Scheduled(fixedDelayString = "#{${honyrun.mock.statistics.flush-interval:5000}}")
+    public void scheduledFlush() {
+        flush()
+                .onErrorResume(error -> Mono.just(0))
+                .subscribe();
+    }
+
+    /**
+     * 将内存增量批量写回数据库
+     *
+     * @return 本次刷新涉及的接口数
+     */
+    public Mono<Integer> flush() {
+        if (!flushing.compareAndSet(false, true)) {
+            return Mono.just(0);
+        }
+
+        List<AccessDelta> deltas = drain();
+        if (deltas.isEmpty()) {
+            flushing.set(false);
+            return Mono.just(0);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        return Flux.fromIterable(partition(deltas))
+                .concatMap(batch -> executeBatchUpdate(batch, now)
+                        .doOnSuccess(rows -> batch.forEach(delta -> inFlight.remove(delta.getInterfaceId())))
+                        .onErrorResume(error -> {
+                            failedFlushes.incrementAndGet();
+                            if (error instanceof TimeoutException) {
+                                // 超时前UPDATE可能已经提交，回填会在下一轮重复累加
+                                LoggingUtil.warn(logger, "模拟接口访问统计批量刷新超时，结果不确定，本批增量不再重试: 接口数={}, 事件数={}",
+                                        batch.size(), batch.stream().mapToLong(AccessDelta::getAccessCount).sum());
+                                batch.forEach(delta -> inFlight.remove(delta.getInterfaceId()));
+                                return Mono.just(0L);
+                            }
+                            LoggingUtil.warn(logger, "模拟接口访问统计批量刷新失败，增量将在下一轮重试: 接口数={}, 错误: {}",
+                                    batch.size(), error.getMessage());
+                            batch.forEach(this::restore);
+                            return Mono.just(0L);
+                        }))
+                .then(Mono.fromCallable(() -> {
+                    totalFlushes.incrementAndGet();
+                    lastFlushTime = now;
+                    LoggingUtil.debug(logger, "模拟接口访问统计刷新完成: 接口数={}", deltas.size());
+                    return deltas.size();
+                }))
+                .doFinally(signal -> flushing.set(false));
+    }
+
+    /**
+     * 应用关闭前执行最后一次刷新
+     */
+    @PreDestroy
+    public void destroy() {
+        try {
+            LoggingUtil.info(logger, "应用关闭，刷新剩余的模拟接口访问统计");
+            flush().block(flushTimeout);
+        } catch (Exception e) {
+            LoggingUtil.error(logger, "关闭时刷新模拟接口访问统计失败", e);
+        }
+    }
+
+    /**
+     * 获取累加器运行状态
+     *
+     * @return 状态信息
+     */
+    public Map<String, Object> getStatus() {
+        return Map.of(
+                "trackedInterfaces", counters.size(),
+                "pendingEvents", pendingEvents.get(),
+                "inFlightInterfaces", inFlight.size(),
+                "totalFlushes", totalFlushes.get(),
+                "failedFlushes", failedFlushes.get(),
+                "flushedEvents", flushedEvents.get(),
+                "lastFlushTime", lastFlushTime != null ? lastFlushTime.toString() : "");
+    }
+
+    // ==================== 私有方法 ====================
+
+    /**
+     * 取出所有计数器的增量并登记为在途
+     */
+    private List<AccessDelta> drain() {
+        pendingEvents.set(0);
+        List<AccessDelta> deltas = new ArrayList<>();
+        counters.forEach((id, counter) -> {
+            AccessDelta delta = counter.drain(id);
+            if (delta.getAccessCount() > 0) {
+                inFlight.merge(id, delta, AccessDelta::merge);
+                deltas.add(delta);
+            }
+        });
+        return deltas;
+    }
+
+    /**
+     * 数据库明确返回失败时将增量回填到累加器
+     */
+    private void restore(AccessDelta delta) {
+        inFlight.remove(delta.getInterfaceId());
+        counters.computeIfAbsent(delta.getInterfaceId(), k -> new AccessCounter()).add(delta);
+        pendingEvents.addAndGet(delta.getAccessCount());
+    }
+
+    private List<List<AccessDelta>> partition(List<AccessDelta> deltas) {
+        List<List<AccessDelta>> batches = new ArrayList<>();
+        for (int i = 0; i < deltas.size(); i += maxBatchSize) {
+            batches.add(deltas.subList(i, Math.min(i + maxBatchSize, deltas.size())));
+        }
+        return batches;
+    }
+
+    /**
+     * 执行一条多行UPDATE
+     * MySQL按从左到右的顺序求值SET子句，因此平均响应时间必须先于访问次数计算
+     */
+    private Mono<Long> executeBatchUpdate(List<AccessDelta> batch, LocalDateTime now) {
+        StringBuilder accessCase = new StringBuilder("CASE id");
+        StringBuilder successCase = new StringBuilder("CASE id");
+        StringBuilder failureCase = new StringBuilder("CASE id");
+        StringBuilder latencyCase = new StringBuilder("CASE id");
+        StringBuilder idList = new StringBuilder();
+
+        for (int i = 0; i < batch.size(); i++) {
+            accessCase.append(" WHEN :id").append(i).append(" THEN :a").append(i);
+            successCase.append(" WHEN :id").append(i).append(" THEN :s").append(i);
+            failureCase.append(" WHEN :id").append(i).append(" THEN :f").append(i);
+            latencyCase.append(" WHEN :id").append(i).append(" THEN :l").append(i);
+            if (i > 0) {
+                idList.append(", ");
+            }
+            idList.append(":id").append(i);
+        }
+        accessCase.append(" ELSE 0 END");
+        successCase.append(" ELSE 0 END");
+        failureCase.append(" ELSE 0 END");
+        latencyCase.append(" ELSE 0 END");
+
+        String sql = "UPDATE sys_mock_interface SET " +
+                "avg_response_time = (COALESCE(avg_response_time, 0) * COALESCE(access_count, 0) + " + latencyCase +
+                ") / (COALESCE(access_count, 0) + " + accessCase + "), " +
+                "access_count = COALESCE(access_count, 0) + " + accessCase + ", " +
+                "success_count = COALESCE(success_count, 0) + " + successCase + ", " +
+                "failure_count = COALESCE(failure_count, 0) + " + failureCase + ", " +
+                "last_modified_date = :lastModifiedDate " +
+                "WHERE id IN (" + idList + ")";
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql).bind("lastModifiedDate", now);
+        long events = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            AccessDelta delta = batch.get(i);
+            spec = spec.bind("id" + i, delta.getInterfaceId())
+                    .bind("a" + i, delta.getAccessCount())
+                    .bind("s" + i, delta.getSuccessCount())
+                    .bind("f" + i, delta.getFailureCount())
+                    .bind("l" + i, delta.getTotalResponseTime());
+            events += delta.getAccessCount();
+        }
+
+        final long batchEvents = events;
+        return spec.fetch()
+                .rowsUpdated()
+                .timeout(flushTimeout)
+                .doOnSuccess(rows -> flushedEvents.addAndGet(batchEvents));
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 单个接口的分段计数器
+     * 每个字段独立累加和清零，单个事件的各字段可能落在相邻两次刷新中，但不会丢失或重复
+     */
+    private static final class AccessCounter {
+        private final LongAdder access = new LongAdder();
+        private final LongAdder success = new LongAdder();
+        private final LongAdder failure = new LongAdder();
+        private final LongAdder totalResponseTime = new LongAdder();
+        private final LongAccumulator maxResponseTime = new LongAccumulator(Math::max, 0L);
+        private final LongAccumulator minResponseTime = new LongAccumulator(Math::min, Long.MAX_VALUE);
+
+        void record(boolean ok, long responseTime) {
+            totalResponseTime.add(responseTime);
+            if (ok) {
+                success.increment();
+            } else {
+                failure.increment();
+            }
+            maxResponseTime.accumulate(responseTime);
+            minResponseTime.accumulate(responseTime);
+            access.increment();
+        }
+
+        void add(AccessDelta delta) {
+            totalResponseTime.add(delta.getTotalResponseTime());
+            success.add(delta.getSuccessCount());
+            failure.add(delta.getFailureCount());
+            access.add(delta.getAccessCount());
+        }
+
+        AccessDelta drain(Long id) {
+            AccessDelta delta = new AccessDelta(id);
+            delta.accessCount = access.sumThenReset();
+            delta.successCount = success.sumThenReset();
+            delta.failureCount = failure.sumThenReset();
+            delta.totalResponseTime = totalResponseTime.sumThenReset();
+            delta.maxResponseTime = maxResponseTime.get();
+            delta.minResponseTime = minResponseTime.get();
+            return delta;
+        }
+
+        AccessDelta peek(Long id) {
+            AccessDelta delta = new AccessDelta(id);
+            delta.accessCount = access.sum();
+            delta.successCount = success.sum();
+            delta.failureCount = failure.sum();
+            delta.totalResponseTime = totalResponseTime.sum();
+            delta.maxResponseTime = maxResponseTime.get();
+            delta.minResponseTime = minResponseTime.get();
+            return delta;
+        }
+    }
+
+    /**
+     * 访问统计增量
+     * 最大/最小响应时间为进程启动以来的内存值，不落库
+     */
+    public static final class AccessDelta {
+        private final Long interfaceId;
+        private long accessCount;
+        private long successCount;
+        private long failureCount;
+        private long totalResponseTime;
+        private long maxResponseTime;
+        private long minResponseTime = Long.MAX_VALUE;
+
+        AccessDelta(Long interfaceId) {
+            this.interfaceId = interfaceId;
+        }
+
+        AccessDelta merge(AccessDelta other) {
+            accessCount += other.accessCount;
+            successCount += other.successCount;
+            failureCount += other.failureCount;
+            totalResponseTime += other.totalResponseTime;
+            maxResponseTime = Math.max(maxResponseTime, other.maxResponseTime);
+            minResponseTime = Math.min(minResponseTime, other.minResponseTime);
+            return this;
+        }
+
+        public Long getInterfaceId() { return interfaceId; }
+        public long getAccessCount() { return accessCount; }
+        public long getSuccessCount() { return successCount; }
+        public long getFailureCount() { return failureCount; }
+        public long getTotalResponseTime() { return totalResponseTime; }
+        public long getMaxResponseTime() { return maxResponseTime; }
+        public long getMinResponseTime() { return minResponseTime == Long.MAX_VALUE ? 0L : minResponseTime; }
+    }
+}
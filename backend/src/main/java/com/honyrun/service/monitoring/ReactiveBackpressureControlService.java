@@ -1,7 +1,10 @@
 package com.honyrun.service.monitoring;
 
 import java.time.Duration;
-import java.util.concurrent.Semaphore;
+import java.util.Map;
+
+import com.honyrun.service.monitoring.concurrency.AdaptiveConcurrencyLimiter;
+import com.honyrun.service.monitoring.concurrency.ConcurrencyFeedback;
 
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -16,14 +19,14 @@ import reactor.core.publisher.Mono;
  * - 支持动态调整背压参数
  * 
  * 背压控制策略：
- * - 使用信号量控制并发任务数
- * - 实现队列超时机制
+ * - 使用自适应并发限流器控制并发任务数和HTTP请求并发数，上限随RTT和失败比例调整
+ * - 超过上限时立即拒绝，不排队等待
  * - 支持多种溢出策略（丢弃、缓冲、阻塞）
  * - 提供背压统计和监控
  * 
  * @author Mr.Rey
  * @created 2025-07-01 18:45:00
- * @modified 2025-07-01 18:45:00
+ * @modified 2025-10-31 10:00:00
  * @version 1.0.0
  * Copyright © 2025 HonyRun. All rights reserved.
  */
@@ -52,11 +55,35 @@ public interface ReactiveBackpressureControlService {
     <T> Flux<T> executeFluxWithBackpressure(Flux<T> task, String taskName);
 
     /**
-     * 获取监控任务信号量
-     * 
-     * @return 监控任务信号量
+     * 获取监控任务并发限流器
+     *
+     * @return 监控任务并发限流器
+     */
+    AdaptiveConcurrencyLimiter getMonitoringTaskLimiter();
+
+    /**
+     * 尝试获取HTTP请求并发许可
+     * 许可按请求路径归入分区，调用方必须在请求结束时释放
+     *
+     * @param path 请求路径
+     * @return 许可，超过并发上限时返回null
+     */
+    AdaptiveConcurrencyLimiter.Permit tryAcquireRequestPermit(String path);
+
+    /**
+     * 获取HTTP请求并发限流器的反馈快照
+     * 调度等组件可据此判断系统负载
+     *
+     * @return 反馈快照
+     */
+    ConcurrencyFeedback getConcurrencyFeedback();
+
+    /**
+     * 获取并发限流器状态，包括各分区的保证份额和拒绝次数
+     *
+     * @return 限流器状态的Mono
      */
-    Semaphore getMonitoringTaskSemaphore();
+    Mono<Map<String, Object>> getConcurrencyLimiterStats();
 
     /**
      * 检查是否可以执行新的监控任务
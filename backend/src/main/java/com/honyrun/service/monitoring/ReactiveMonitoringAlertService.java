@@ -126,6 +126,28 @@ public interface ReactiveMonitoringAlertService {
      */
     Mono<Boolean> resolveAlert(String alertId, String resolvedBy, String resolution);
 
+    /**
+     * 触发SLO燃烧率告警
+     * 同一SLO已有活跃告警时不重复触发
+     *
+     * @param sloName   SLO名称，如"api:GET /api/v1/users"
+     * @param severity  严重级别
+     * @param burnRate  当前燃烧率
+     * @param threshold 燃烧率阈值
+     * @param context   上下文信息，如窗口、目标和请求数
+     * @return 新触发的告警，已存在活跃告警时为空
+     */
+    Mono<AlertEvent> triggerSloBurnRateAlert(String sloName, AlertSeverity severity, double burnRate,
+            double threshold, Map<String, Object> context);
+
+    /**
+     * 燃烧率恢复后自动解决SLO告警
+     *
+     * @param sloName SLO名称
+     * @return 是否解决了活跃告警
+     */
+    Mono<Boolean> resolveSloBurnRateAlert(String sloName);
+
     // ==================== 告警通知 ====================
 
     /**
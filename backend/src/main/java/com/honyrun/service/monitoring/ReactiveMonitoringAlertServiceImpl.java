@@ -39,7 +39,7 @@ import java.util.stream.Collectors;
  *
  * @author Mr.Rey
  * @created 2025-07-01 18:45:00
- * @modified 2025-07-01 18:45:00
+ * @modified 2025-10-30 15:00:00
  * @version 1.0.0
  * Copyright © 2025 HonyRun. All rights reserved.
  */
@@ -51,6 +51,7 @@ public class ReactiveMonitoringAlertServiceImpl implements ReactiveMonitoringAle
     private static final String ALERT_EVENTS_KEY = "monitoring:alert:events";
     private static final String ALERT_SUPPRESSIONS_KEY = "monitoring:alert:suppressions";
     private static final String ALERT_STATISTICS_KEY = "monitoring:alert:statistics";
+    private static final String SLO_RULE_PREFIX = "SLO:";
 
     private final ReactiveRedisTemplate<String, Object> redisTemplate;
 
@@ -361,6 +362,56 @@ public class ReactiveMonitoringAlertServiceImpl implements ReactiveMonitoringAle
         .onErrorReturn(false);
     }
 
+    @Override
+    public Mono<AlertEvent> triggerSloBurnRateAlert(String sloName, AlertSeverity severity, double burnRate,
+                                                   double threshold, Map<String, Object> context) {
+        return Mono.fromCallable(() -> {
+            String ruleId = SLO_RULE_PREFIX + sloName;
+            if (isSuppressed(ruleId) || findActiveAlertByRule(ruleId) != null) {
+                return null;
+            }
+
+            AlertEvent alertEvent = new AlertEvent();
+            alertEvent.setId(UUID.randomUUID().toString());
+            alertEvent.setRuleId(ruleId);
+            alertEvent.setRuleName("SLO燃烧率告警");
+            alertEvent.setAlertType(AlertType.SYSTEM_PERFORMANCE);
+            alertEvent.setSeverity(severity);
+            alertEvent.setStatus(AlertStatus.ACTIVE);
+            alertEvent.setMessage(String.format("SLO错误预算消耗过快: %s, 燃烧率 %.2f (阈值 %.2f)",
+                sloName, burnRate, threshold));
+            alertEvent.setMetricName("slo.burn_rate");
+            alertEvent.setMetricValue(burnRate);
+            alertEvent.setThreshold(threshold);
+            alertEvent.setContext(context != null ? context : new HashMap<>());
+            alertEvent.setTriggeredAt(LocalDateTime.now());
+
+            activeAlertsCache.put(alertEvent.getId(), alertEvent);
+            activeAlertsCounter.incrementAndGet();
+            totalAlertsCounter.incrementAndGet();
+            addToHistory(alertEvent);
+
+            LoggingUtil.warn(logger, "触发SLO燃烧率告警: {} (燃烧率: {}, 阈值: {}, 级别: {})",
+                sloName, burnRate, threshold, severity);
+
+            return alertEvent;
+        })
+        .flatMap(alertEvent -> saveAlertEventToRedis(alertEvent)
+            .then(sendAlertNotification(alertEvent))
+            .thenReturn(alertEvent));
+    }
+
+    @Override
+    public Mono<Boolean> resolveSloBurnRateAlert(String sloName) {
+        return Mono.fromCallable(() -> {
+            AlertEvent alertEvent = findActiveAlertByRule(SLO_RULE_PREFIX + sloName);
+            return alertEvent != null ? alertEvent.getId() : "";
+        })
+        .flatMap(alertId -> alertId.isEmpty()
+            ? Mono.just(false)
+            : resolveAlert(alertId, "SYSTEM-SLO", "燃烧率已恢复到阈值以下"));
+    }
+
     // ==================== 告警通知 ====================
 
     @Override
@@ -771,6 +822,15 @@ public class ReactiveMonitoringAlertServiceImpl implements ReactiveMonitoringAle
         }
     }
 
+    private AlertEvent findActiveAlertByRule(String ruleId) {
+        for (AlertEvent alertEvent : activeAlertsCache.values()) {
+            if (ruleId.equals(alertEvent.getRuleId())) {
+                return alertEvent;
+            }
+        }
+        return null;
+    }
+
     private boolean isSuppressed(String ruleId) {
         AlertSuppression suppression = suppressionsCache.get(ruleId);
         return suppression != null && suppression.isActive() &&
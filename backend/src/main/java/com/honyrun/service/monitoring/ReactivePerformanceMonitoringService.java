@@ -17,7 +17,7 @@ import java.util.Map;
  * 
  * @author Mr.Rey Copyright © 2025
  * @created 2025-07-01 15:30:00
- * @modified 2025-07-01 15:30:00
+ * @modified 2025-10-30 17:00:00
  * @version 1.0.0
  */
 public interface ReactivePerformanceMonitoringService {
@@ -64,6 +64,20 @@ public interface ReactivePerformanceMonitoringService {
      */
     Mono<Void> recordMethodPerformance(String methodName, long executionTime, boolean success);
 
+    /**
+     * 记录按比例采样的方法执行性能
+     * 一次记录代表sampleWeight次调用，默认实现忽略权重
+     * 
+     * @param methodName 方法名
+     * @param executionTime 执行时间（毫秒）
+     * @param success 是否成功
+     * @param sampleWeight 采样权重，即本次记录代表的调用次数
+     * @return 记录结果的Mono
+     */
+    default Mono<Void> recordMethodPerformance(String methodName, long executionTime, boolean success, long sampleWeight) {
+        return recordMethodPerformance(methodName, executionTime, success);
+    }
+
     /**
      * 记录API请求性能
      * 
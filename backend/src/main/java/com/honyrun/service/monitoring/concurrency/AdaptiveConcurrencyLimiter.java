@@ -0,0 +1,367 @@
+package com.honyrun.service.monitoring.concurrency;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应并发限流器
+ *
+ * 并发上限随观测到的RTT和失败比例在运行时调整，获取和释放许可都不阻塞：
+ * - 获取：CAS增加并发计数，超过上限时立即返回null，由调用方快速拒绝
+ * - 释放：记录RTT和结果到当前采样窗口；窗口结束且样本足够时，由一个线程调用LimitAlgorithm计算新上限
+ * - 分区：每个分区保证并发上限的一定比例，全局已满但分区未用完保证份额时仍然放行，
+ *   避免单一路由的突发流量挤占其他路由
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 10:00:00
+ * @modified 2025-10-31 10:00:00
+ * @version 1.0.0
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    /**
+     * 默认分区名称，不保证份额
+     */
+    public static final String DEFAULT_PARTITION = "default";
+
+    private static final double LONG_RTT_SMOOTHING = 0.1;
+
+    private final String name;
+    private final LimitAlgorithm algorithm;
+    private final int minLimit;
+    private final long windowNanos;
+    private final long minWindowSamples;
+
+    private volatile int maxLimit;
+    private volatile double exactLimit;
+    private volatile int limit;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final Partition defaultPartition = new Partition(DEFAULT_PARTITION, 0.0);
+    private final Map<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    // 当前采样窗口
+    private final AtomicLong windowRttSum = new AtomicLong();
+    private final AtomicLong windowSamples = new AtomicLong();
+    private final AtomicLong windowDropped = new AtomicLong();
+    private final AtomicLong windowRejected = new AtomicLong();
+    private final AtomicLong windowMinRtt = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicInteger windowMaxInflight = new AtomicInteger();
+    private final AtomicBoolean updating = new AtomicBoolean();
+    private volatile long windowStart = System.nanoTime();
+
+    // 最近一个窗口的结果，仅由窗口更新线程写入
+    private volatile double longRttNanos;
+    private volatile LimitSample lastSample;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * @param name             限流器名称
+     * @param algorithm        上限调整算法
+     * @param initialLimit     初始并发上限
+     * @param minLimit         最小并发上限
+     * @param maxLimit         最大并发上限
+     * @param windowNanos      采样窗口长度（纳秒）
+     * @param minWindowSamples 窗口内最少样本数，不足时延长窗口
+     */
+    public AdaptiveConcurrencyLimiter(String name, LimitAlgorithm algorithm, int initialLimit, int minLimit,
+                                      int maxLimit, long windowNanos, long minWindowSamples) {
+        this.name = name;
+        this.algorithm = algorithm;
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.windowNanos = windowNanos;
+        this.minWindowSamples = Math.max(1, minWindowSamples);
+        applyLimit(initialLimit);
+    }
+
+    // ==================== 分区 ====================
+
+    /**
+     * 设置分区保证份额
+     *
+     * @param partitionName 分区名称
+     * @param share         保证份额，取值[0, 1]
+     */
+    public void setPartition(String partitionName, double share) {
+        Partition partition = partitions.computeIfAbsent(partitionName, n -> new Partition(n, share));
+        partition.share = Math.min(1.0, Math.max(0.0, share));
+        partition.updateReserved(limit);
+    }
+
+    private Partition partition(String partitionName) {
+        if (partitionName == null) {
+            return defaultPartition;
+        }
+        Partition partition = partitions.get(partitionName);
+        return partition != null ? partition : defaultPartition;
+    }
+
+    // ==================== 许可 ====================
+
+    /**
+     * 尝试获取默认分区的许可
+     *
+     * @return 许可，超过上限时返回null
+     */
+    public Permit tryAcquire() {
+        return tryAcquire(DEFAULT_PARTITION);
+    }
+
+    /**
+     * 尝试获取许可
+     *
+     * @param partitionName 分区名称，未知分区视为默认分区
+     * @return 许可，超过上限且分区已用完保证份额时返回null
+     */
+    public Permit tryAcquire(String partitionName) {
+        Partition partition = partition(partitionName);
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= limit && partition.inflight.get() >= partition.reserved) {
+                rejected.increment();
+                partition.rejected.increment();
+                windowRejected.incrementAndGet();
+                return null;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+
+        partition.inflight.incrementAndGet();
+        accepted.increment();
+        int observed = current + 1;
+        int max;
+        while (observed > (max = windowMaxInflight.get()) && !windowMaxInflight.compareAndSet(max, observed)) {
+            // 重试直到记录窗口内最大并发数
+        }
+        return new Permit(partition, System.nanoTime());
+    }
+
+    private void release(Partition partition, long startNanos, Outcome outcome) {
+        inflight.decrementAndGet();
+        partition.inflight.decrementAndGet();
+        long now = System.nanoTime();
+        if (outcome != Outcome.IGNORED) {
+            long rtt = now - startNanos;
+            windowRttSum.addAndGet(rtt);
+            windowSamples.incrementAndGet();
+            if (outcome == Outcome.DROPPED) {
+                windowDropped.incrementAndGet();
+            }
+            long min;
+            while (rtt < (min = windowMinRtt.get()) && !windowMinRtt.compareAndSet(min, rtt)) {
+                // 重试直到记录窗口内最小RTT
+            }
+        }
+        if (now - windowStart >= windowNanos && windowSamples.get() >= minWindowSamples
+                && updating.compareAndSet(false, true)) {
+            try {
+                closeWindow(now);
+            } finally {
+                updating.set(false);
+            }
+        }
+    }
+
+    private void closeWindow(long now) {
+        long samples = windowSamples.getAndSet(0);
+        long rttSum = windowRttSum.getAndSet(0);
+        long dropped = windowDropped.getAndSet(0);
+        long windowRejects = windowRejected.getAndSet(0);
+        long minRtt = windowMinRtt.getAndSet(Long.MAX_VALUE);
+        int maxInflight = windowMaxInflight.getAndSet(inflight.get());
+        windowStart = now;
+        if (samples == 0) {
+            return;
+        }
+
+        double shortRtt = Math.max(1.0, (double) rttSum / samples);
+        double longRtt = longRttNanos;
+        if (longRtt == 0) {
+            longRtt = shortRtt;
+        } else {
+            longRtt = longRtt * (1 - LONG_RTT_SMOOTHING) + shortRtt * LONG_RTT_SMOOTHING;
+            // 基线远高于当前RTT时快速回落，避免负载下降后长期按过高的基线放大上限
+            if (longRtt > shortRtt * 2) {
+                longRtt = shortRtt * 2;
+            }
+        }
+        longRttNanos = longRtt;
+
+        LimitSample sample = new LimitSample(shortRtt, longRtt, minRtt, maxInflight, samples, dropped, windowRejects);
+        lastSample = sample;
+        applyLimit(algorithm.update(exactLimit, sample));
+    }
+
+    private void applyLimit(double newLimit) {
+        double clamped = Math.min(maxLimit, Math.max(minLimit, newLimit));
+        exactLimit = clamped;
+        int rounded = (int) clamped;
+        if (rounded != limit) {
+            limit = rounded;
+            defaultPartition.updateReserved(rounded);
+            for (Partition partition : partitions.values()) {
+                partition.updateReserved(rounded);
+            }
+        }
+    }
+
+    // ==================== 运行时调整 ====================
+
+    /**
+     * 设置最大并发上限，当前上限超出时立即收缩
+     *
+     * @param maxLimit 最大并发上限
+     */
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = Math.max(minLimit, maxLimit);
+        applyLimit(exactLimit);
+    }
+
+    /**
+     * 直接设置当前并发上限，之后仍由算法继续调整
+     *
+     * @param newLimit 并发上限
+     */
+    public void setLimit(int newLimit) {
+        applyLimit(newLimit);
+    }
+
+    // ==================== 状态 ====================
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+
+    /**
+     * 生成反馈快照
+     *
+     * @return 反馈快照
+     */
+    public ConcurrencyFeedback feedback() {
+        LimitSample sample = lastSample;
+        int currentLimit = limit;
+        if (sample == null) {
+            return new ConcurrencyFeedback(name, algorithm.getName(), currentLimit, inflight.get(), 0, 0,
+                (double) inflight.get() / currentLimit, 0, 0, accepted.sum(), rejected.sum());
+        }
+        long attempts = sample.samples() + sample.rejected();
+        return new ConcurrencyFeedback(name, algorithm.getName(), currentLimit, inflight.get(),
+            sample.shortRttNanos() / 1_000_000.0, sample.longRttNanos() / 1_000_000.0,
+            (double) sample.maxInflight() / currentLimit, sample.errorRate(),
+            attempts == 0 ? 0 : (double) sample.rejected() / attempts, accepted.sum(), rejected.sum());
+    }
+
+    /**
+     * 各分区的状态
+     *
+     * @return 分区名称 -> 状态
+     */
+    public Map<String, Object> describePartitions() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put(DEFAULT_PARTITION, defaultPartition.describe());
+        partitions.values().forEach(partition -> result.put(partition.name, partition.describe()));
+        return result;
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 许可结果
+     */
+    private enum Outcome {
+        SUCCESS, DROPPED, IGNORED
+    }
+
+    /**
+     * 并发许可，必须且只会释放一次，重复释放被忽略
+     */
+    public final class Permit {
+
+        private static final AtomicIntegerFieldUpdater<Permit> RELEASED =
+            AtomicIntegerFieldUpdater.newUpdater(Permit.class, "released");
+
+        private final Partition partition;
+        private final long startNanos;
+        private volatile int released;
+
+        private Permit(Partition partition, long startNanos) {
+            this.partition = partition;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * 请求成功完成，RTT计入样本
+         */
+        public void onSuccess() {
+            complete(Outcome.SUCCESS);
+        }
+
+        /**
+         * 请求失败或超时，计入失败比例
+         */
+        public void onDropped() {
+            complete(Outcome.DROPPED);
+        }
+
+        /**
+         * 请求被取消等无法反映容量的结果，只释放许可
+         */
+        public void onIgnore() {
+            complete(Outcome.IGNORED);
+        }
+
+        private void complete(Outcome outcome) {
+            if (RELEASED.compareAndSet(this, 0, 1)) {
+                release(partition, startNanos, outcome);
+            }
+        }
+    }
+
+    private static final class Partition {
+
+        private final String name;
+        private volatile double share;
+        private volatile int reserved;
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final LongAdder rejected = new LongAdder();
+
+        Partition(String name, double share) {
+            this.name = name;
+            this.share = share;
+        }
+
+        void updateReserved(int limit) {
+            reserved = share > 0 ? Math.max(1, (int) Math.ceil(limit * share)) : 0;
+        }
+
+        Map<String, Object> describe() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("share", share);
+            result.put("reserved", reserved);
+            result.put("inflight", inflight.get());
+            result.put("rejected", rejected.sum());
+            return result;
+        }
+    }
+}
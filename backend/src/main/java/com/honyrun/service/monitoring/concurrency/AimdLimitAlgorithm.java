@@ -0,0 +1,43 @@
+package com.honyrun.service.monitoring.concurrency;
+
+/**
+ * 加性增、乘性减（AIMD）并发上限算法
+ *
+ * 窗口内出现失败请求或平均RTT超过超时阈值时，上限乘以回退比例；
+ * 否则在负载超过上限一半时加1
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 10:00:00
+ * @modified 2025-10-31 10:00:00
+ * @version 1.0.0
+ */
+public final class AimdLimitAlgorithm implements LimitAlgorithm {
+
+    private final double backoffRatio;
+    private final long timeoutNanos;
+
+    /**
+     * @param backoffRatio 回退比例，取值[0.5, 1)
+     * @param timeoutNanos RTT超时阈值（纳秒）
+     */
+    public AimdLimitAlgorithm(double backoffRatio, long timeoutNanos) {
+        this.backoffRatio = Math.min(0.99, Math.max(0.5, backoffRatio));
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    @Override
+    public double update(double limit, LimitSample sample) {
+        if (sample.dropped() > 0 || sample.shortRttNanos() > timeoutNanos) {
+            return limit * backoffRatio;
+        }
+        if (sample.maxInflight() * 2 >= limit) {
+            return limit + 1;
+        }
+        return limit;
+    }
+
+    @Override
+    public String getName() {
+        return "AIMD";
+    }
+}
@@ -0,0 +1,49 @@
+package com.honyrun.service.monitoring.concurrency;
+
+/**
+ * 并发限流器反馈快照
+ *
+ * 由最近一个采样窗口生成，供调度等组件判断系统负载
+ *
+ * @param name          限流器名称
+ * @param algorithm     算法名称
+ * @param limit         当前并发上限
+ * @param inflight      当前并发数
+ * @param shortRttMillis 最近窗口平均RTT（毫秒）
+ * @param longRttMillis  长期RTT基线（毫秒）
+ * @param utilization   最近窗口最大并发数 / 并发上限
+ * @param errorRate     最近窗口失败比例
+ * @param rejectionRate 最近窗口拒绝比例
+ * @param accepted      累计接受数
+ * @param rejected      累计拒绝数
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 10:00:00
+ * @modified 2025-10-31 10:00:00
+ * @version 1.0.0
+ */
+public record ConcurrencyFeedback(String name, String algorithm, int limit, int inflight, double shortRttMillis,
+                                  double longRttMillis, double utilization, double errorRate, double rejectionRate,
+                                  long accepted, long rejected) {
+
+    /**
+     * RTT相对基线的倍数，无数据时为1
+     *
+     * @return 倍数
+     */
+    public double rttRatio() {
+        return longRttMillis > 0 && shortRttMillis > 0 ? shortRttMillis / longRttMillis : 1.0;
+    }
+
+    /**
+     * 综合负载：取RTT膨胀、利用率和拒绝比例中最严重的一项，1表示满载
+     *
+     * @param rttTolerance RTT容忍倍数，RTT达到基线的该倍数时视为满载
+     * @return 负载系数
+     */
+    public double pressure(double rttTolerance) {
+        double rttPressure = rttRatio() / Math.max(1.0, rttTolerance);
+        double rejectionPressure = rejectionRate > 0 ? 1.0 + rejectionRate : 0.0;
+        return Math.max(Math.max(rttPressure, utilization), Math.max(rejectionPressure, errorRate * 10));
+    }
+}
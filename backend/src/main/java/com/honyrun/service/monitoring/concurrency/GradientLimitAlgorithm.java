@@ -0,0 +1,49 @@
+package com.honyrun.service.monitoring.concurrency;
+
+/**
+ * 梯度并发上限算法
+ *
+ * 以长期RTT基线与当前窗口RTT之比作为梯度：排队导致RTT升高时梯度小于1，上限按比例收缩；
+ * RTT接近基线时梯度为1，上限增加sqrt(limit)的排队余量。
+ * 新上限 = limit × gradient + sqrt(limit)，再与当前上限做指数平滑，避免抖动。
+ * 窗口内有失败请求时梯度再乘以(1 - 失败比例)，错误率升高同样会收缩上限
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 10:00:00
+ * @modified 2025-10-31 10:00:00
+ * @version 1.0.0
+ */
+public final class GradientLimitAlgorithm implements LimitAlgorithm {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final double tolerance;
+    private final double smoothing;
+
+    /**
+     * @param tolerance RTT容忍倍数，当前RTT不超过基线的该倍数时不收缩
+     * @param smoothing 平滑系数，取值(0, 1]，越大调整越快
+     */
+    public GradientLimitAlgorithm(double tolerance, double smoothing) {
+        this.tolerance = Math.max(1.0, tolerance);
+        this.smoothing = Math.min(1.0, Math.max(0.01, smoothing));
+    }
+
+    @Override
+    public double update(double limit, LimitSample sample) {
+        // 负载不足一半时RTT不能反映容量，保持当前上限
+        if (sample.maxInflight() * 2 < limit && sample.dropped() == 0) {
+            return limit;
+        }
+        double gradient = Math.max(MIN_GRADIENT,
+            Math.min(1.0, tolerance * sample.longRttNanos() / sample.shortRttNanos()));
+        gradient = Math.max(MIN_GRADIENT, gradient * (1.0 - sample.errorRate()));
+        double newLimit = limit * gradient + Math.sqrt(limit);
+        return limit * (1 - smoothing) + newLimit * smoothing;
+    }
+
+    @Override
+    public String getName() {
+        return "GRADIENT";
+    }
+}
@@ -0,0 +1,31 @@
+package com.honyrun.service.monitoring.concurrency;
+
+/**
+ * 并发上限调整算法
+ *
+ * 由AdaptiveConcurrencyLimiter在每个采样窗口结束时调用，同一时刻只有一个线程调用，
+ * 实现类可以在字段中保存算法状态
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 10:00:00
+ * @modified 2025-10-31 10:00:00
+ * @version 1.0.0
+ */
+public interface LimitAlgorithm {
+
+    /**
+     * 根据窗口样本计算新的并发上限
+     *
+     * @param limit  当前并发上限
+     * @param sample 窗口样本
+     * @return 新的并发上限，由限流器按最小值和最大值截断
+     */
+    double update(double limit, LimitSample sample);
+
+    /**
+     * 算法名称
+     *
+     * @return 名称
+     */
+    String getName();
+}
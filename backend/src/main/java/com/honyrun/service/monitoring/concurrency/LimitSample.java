@@ -0,0 +1,30 @@
+package com.honyrun.service.monitoring.concurrency;
+
+/**
+ * 一个采样窗口内的统计
+ *
+ * @param shortRttNanos 窗口内平均RTT（纳秒）
+ * @param longRttNanos  长期RTT基线（纳秒），按窗口平均RTT指数平滑
+ * @param minRttNanos   窗口内最小RTT（纳秒）
+ * @param maxInflight   窗口内最大并发数
+ * @param samples       窗口内完成的请求数
+ * @param dropped       窗口内失败或超时的请求数
+ * @param rejected      窗口内被拒绝的请求数
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 10:00:00
+ * @modified 2025-10-31 10:00:00
+ * @version 1.0.0
+ */
+public record LimitSample(double shortRttNanos, double longRttNanos, long minRttNanos, int maxInflight,
+                          long samples, long dropped, long rejected) {
+
+    /**
+     * 失败比例
+     *
+     * @return 失败请求数 / 完成请求数
+     */
+    public double errorRate() {
+        return samples == 0 ? 0.0 : (double) dropped / samples;
+    }
+}
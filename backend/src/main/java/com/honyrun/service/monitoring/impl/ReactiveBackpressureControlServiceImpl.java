@@ -2,20 +2,31 @@ package com.honyrun.service.monitoring.impl;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.util.concurrent.Semaphore;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.honyrun.config.monitoring.UnifiedMonitoringConfig;
 import com.honyrun.service.monitoring.ReactiveBackpressureControlService;
+import com.honyrun.service.monitoring.concurrency.AdaptiveConcurrencyLimiter;
+import com.honyrun.service.monitoring.concurrency.AimdLimitAlgorithm;
+import com.honyrun.service.monitoring.concurrency.ConcurrencyFeedback;
+import com.honyrun.service.monitoring.concurrency.GradientLimitAlgorithm;
+import com.honyrun.service.monitoring.concurrency.LimitAlgorithm;
 import com.honyrun.util.LoggingUtil;
 import com.honyrun.util.MonitoringLogUtil;
 
+import jakarta.annotation.PostConstruct;
+
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
@@ -24,20 +35,21 @@ import reactor.core.scheduler.Schedulers;
  * 响应式背压控制服务实现类
  *
  * 实现监控系统的背压控制和流量限制功能：
- * - 使用信号量控制并发监控任务数量
+ * - 使用自适应并发限流器控制并发监控任务数量和HTTP请求并发数
  * - 实现令牌桶算法进行流量限制
- * - 提供队列超时和溢出处理
+ * - 提供溢出处理
  * - 统计背压和流量限制指标
  *
  * 背压控制实现：
- * - 信号量控制：限制同时执行的监控任务数
- * - 队列超时：防止任务在队列中等待过久
+ * - 自适应并发限流：按GRADIENT或AIMD算法根据RTT和失败比例在运行时调整并发上限
+ * - 快速拒绝：获取许可不阻塞，超过上限时立即拒绝，不占用boundedElastic线程排队
+ * - 路由分区：HTTP请求按路径前缀归入分区，每个分区保证并发上限的一定比例
  * - 溢出策略：支持丢弃、缓冲、阻塞等策略
  * - 统计监控：记录任务执行和拒绝情况
  *
  * @author Mr.Rey
  * @created 2025-07-01 18:50:00
- * @modified 2025-07-01 18:50:00
+ * @modified 2025-10-31 10:00:00
  * @version 1.0.0
  * Copyright © 2025 HonyRun. All rights reserved.
  */
@@ -47,18 +59,99 @@ public class ReactiveBackpressureControlServiceImpl implements ReactiveBackpress
     private static final Logger logger = LoggerFactory.getLogger(ReactiveBackpressureControlServiceImpl.class);
 
     private final UnifiedMonitoringConfig monitoringConfiguration;
-    private final Semaphore monitoringTaskSemaphore;
+
+    // ==================== 并发限流配置 ====================
+
+    @Value("${honyrun.concurrency.algorithm:GRADIENT}")
+    private String limitAlgorithm;
+
+    @Value("${honyrun.concurrency.initial-limit:100}")
+    private int initialLimit;
+
+    @Value("${honyrun.concurrency.min-limit:10}")
+    private int minLimit;
+
+    @Value("${honyrun.concurrency.max-limit:1000}")
+    private int maxLimit;
+
+    @Value("${honyrun.concurrency.window-millis:1000}")
+    private long windowMillis;
+
+    @Value("${honyrun.concurrency.min-window-samples:10}")
+    private long minWindowSamples;
+
+    @Value("${honyrun.concurrency.gradient.tolerance:1.5}")
+    private double gradientTolerance;
+
+    @Value("${honyrun.concurrency.gradient.smoothing:0.2}")
+    private double gradientSmoothing;
+
+    @Value("${honyrun.concurrency.aimd.backoff-ratio:0.9}")
+    private double aimdBackoffRatio;
+
+    @Value("${honyrun.concurrency.aimd.timeout-millis:5000}")
+    private long aimdTimeoutMillis;
+
+    @Value("${honyrun.concurrency.partitions:}")
+    private String partitionConfig;
+
+    private AdaptiveConcurrencyLimiter monitoringTaskLimiter;
+    private AdaptiveConcurrencyLimiter requestLimiter;
+
+    /**
+     * 路径前缀分区，按前缀长度从长到短排列
+     */
+    private String[] partitionPrefixes = new String[0];
 
     /**
      * 构造函数注入
      *
      * @param monitoringConfiguration 监控配置
-     * @param monitoringTaskSemaphore 监控任务信号量
      */
-    public ReactiveBackpressureControlServiceImpl(UnifiedMonitoringConfig monitoringConfiguration,
-                                                @Qualifier("devMonitoringTaskSemaphore") Semaphore monitoringTaskSemaphore) {
+    public ReactiveBackpressureControlServiceImpl(UnifiedMonitoringConfig monitoringConfiguration) {
         this.monitoringConfiguration = monitoringConfiguration;
-        this.monitoringTaskSemaphore = monitoringTaskSemaphore;
+    }
+
+    /**
+     * 创建监控任务和HTTP请求的并发限流器
+     */
+    @PostConstruct
+    public void initializeLimiters() {
+        int maxConcurrentTasks = monitoringConfiguration.getMaxConcurrentTasks();
+        monitoringTaskLimiter = new AdaptiveConcurrencyLimiter("monitoring-task", createAlgorithm(),
+                maxConcurrentTasks, 1, maxConcurrentTasks, TimeUnit.MILLISECONDS.toNanos(windowMillis), 1);
+        requestLimiter = new AdaptiveConcurrencyLimiter("http-request", createAlgorithm(),
+                initialLimit, minLimit, maxLimit, TimeUnit.MILLISECONDS.toNanos(windowMillis), minWindowSamples);
+
+        List<String> prefixes = new ArrayList<>();
+        if (partitionConfig != null && !partitionConfig.isBlank()) {
+            for (String entry : partitionConfig.split(",")) {
+                int separator = entry.lastIndexOf('=');
+                if (separator <= 0) {
+                    LoggingUtil.warn(logger, "忽略格式错误的并发分区配置: {}", entry);
+                    continue;
+                }
+                try {
+                    String prefix = entry.substring(0, separator).trim();
+                    requestLimiter.setPartition(prefix, Double.parseDouble(entry.substring(separator + 1).trim()));
+                    prefixes.add(prefix);
+                } catch (NumberFormatException e) {
+                    LoggingUtil.warn(logger, "忽略格式错误的并发分区配置: {}", entry);
+                }
+            }
+        }
+        prefixes.sort(Comparator.comparingInt(String::length).reversed());
+        partitionPrefixes = prefixes.toArray(new String[0]);
+
+        LoggingUtil.info(logger, "并发限流器初始化完成: 算法={}, HTTP初始上限={}, 范围=[{}, {}], 分区={}, 监控任务上限={}",
+                limitAlgorithm, initialLimit, minLimit, maxLimit, prefixes, maxConcurrentTasks);
+    }
+
+    private LimitAlgorithm createAlgorithm() {
+        if ("AIMD".equalsIgnoreCase(limitAlgorithm)) {
+            return new AimdLimitAlgorithm(aimdBackoffRatio, TimeUnit.MILLISECONDS.toNanos(aimdTimeoutMillis));
+        }
+        return new GradientLimitAlgorithm(gradientTolerance, gradientSmoothing);
     }
 
     // ==================== 统计计数器 ====================
@@ -86,44 +179,30 @@ public class ReactiveBackpressureControlServiceImpl implements ReactiveBackpress
 
         LoggingUtil.debug(logger, "开始执行带背压控制的监控任务: {}", taskName);
 
-        return Mono.fromCallable(() -> {
-                    // 尝试获取信号量许可
-                    boolean acquired = monitoringTaskSemaphore.tryAcquire(
-                            monitoringConfiguration.getQueueTimeout().toMillis(),
-                            TimeUnit.MILLISECONDS
-                    );
-
-                    if (!acquired) {
-                        timeoutTasks.incrementAndGet();
-                        LoggingUtil.warn(logger, "监控任务等待超时: {}", taskName);
-                        MonitoringLogUtil.logSystemAlert("BACKPRESSURE_CONTROL", "TIMEOUT",
-                                "监控任务等待超时: " + taskName, null);
-                        throw new RuntimeException("监控任务等待超时: " + taskName);
-                    }
-
-                    return acquired;
-                })
-                .subscribeOn(Schedulers.boundedElastic())
-                .flatMap(acquired -> {
-                    if (acquired) {
-                        return task
-                                .doOnSuccess(result -> {
-                                    completedTasks.incrementAndGet();
-                                    LoggingUtil.debug(logger, "监控任务执行成功: {}", taskName);
-                                })
-                                .doOnError(error -> {
-                                    rejectedTasks.incrementAndGet();
-                                    LoggingUtil.warn(logger, "监控任务执行失败: {}, 错误: {}", taskName, error.getMessage());
-                                })
-                                .doFinally(signal -> {
-                                    // 释放信号量许可
-                                    monitoringTaskSemaphore.release();
-                                    LoggingUtil.debug(logger, "释放监控任务信号量: {}", taskName);
-                                });
-                    } else {
+        return Mono.defer(() -> {
+                    // 获取许可不阻塞，超过并发上限时立即拒绝
+                    AdaptiveConcurrencyLimiter.Permit permit = monitoringTaskLimiter.tryAcquire();
+                    if (permit == null) {
                         rejectedTasks.incrementAndGet();
-                        return Mono.error(new RuntimeException("无法获取监控任务许可: " + taskName));
+                        LoggingUtil.warn(logger, "监控任务超过并发上限被拒绝: {}, 当前上限: {}",
+                                taskName, monitoringTaskLimiter.getLimit());
+                        MonitoringLogUtil.logSystemAlert("BACKPRESSURE_CONTROL", "REJECTED",
+                                "监控任务超过并发上限被拒绝: " + taskName, null);
+                        return Mono.<T>error(new RuntimeException("无法获取监控任务许可: " + taskName));
                     }
+                    return task
+                            .doOnSuccess(result -> {
+                                completedTasks.incrementAndGet();
+                                permit.onSuccess();
+                                LoggingUtil.debug(logger, "监控任务执行成功: {}", taskName);
+                            })
+                            .doOnError(error -> {
+                                rejectedTasks.incrementAndGet();
+                                permit.onDropped();
+                                LoggingUtil.warn(logger, "监控任务执行失败: {}, 错误: {}", taskName, error.getMessage());
+                            })
+                            // 取消时只释放许可，成功和失败已在上面释放
+                            .doFinally(signal -> permit.onIgnore());
                 })
                 .onErrorResume(error -> {
                     LoggingUtil.error(logger, "背压控制执行失败: {}", taskName, error);
@@ -157,20 +236,40 @@ public class ReactiveBackpressureControlServiceImpl implements ReactiveBackpress
     }
 
     @Override
-    public Semaphore getMonitoringTaskSemaphore() {
-        return monitoringTaskSemaphore;
+    public AdaptiveConcurrencyLimiter getMonitoringTaskLimiter() {
+        return monitoringTaskLimiter;
     }
 
     @Override
     public Mono<Boolean> canExecuteTask() {
-        return Mono.fromCallable(() -> monitoringTaskSemaphore.availablePermits() > 0)
-                .subscribeOn(Schedulers.boundedElastic());
+        return Mono.fromSupplier(() -> monitoringTaskLimiter.getInflight() < monitoringTaskLimiter.getLimit());
     }
 
     @Override
     public Mono<Integer> getQueueSize() {
-        return Mono.fromCallable(() -> monitoringTaskSemaphore.getQueueLength())
-                .subscribeOn(Schedulers.boundedElastic());
+        // 超过上限的任务立即拒绝，不存在等待队列
+        return Mono.just(0);
+    }
+
+    @Override
+    public AdaptiveConcurrencyLimiter.Permit tryAcquireRequestPermit(String path) {
+        return requestLimiter.tryAcquire(resolvePartition(path));
+    }
+
+    @Override
+    public ConcurrencyFeedback getConcurrencyFeedback() {
+        return requestLimiter.feedback();
+    }
+
+    @Override
+    public Mono<Map<String, Object>> getConcurrencyLimiterStats() {
+        return Mono.fromSupplier(() -> {
+            Map<String, Object> stats = new LinkedHashMap<>();
+            stats.put("httpRequest", requestLimiter.feedback());
+            stats.put("httpPartitions", requestLimiter.describePartitions());
+            stats.put("monitoringTask", monitoringTaskLimiter.feedback());
+            return stats;
+        });
     }
 
     // ==================== 流量限制方法 ====================
@@ -237,8 +336,8 @@ public class ReactiveBackpressureControlServiceImpl implements ReactiveBackpress
                         completedTasks.get(),
                         rejectedTasks.get(),
                         timeoutTasks.get(),
-                        monitoringTaskSemaphore.getQueueLength(),
-                        monitoringTaskSemaphore.availablePermits()
+                        0,
+                        Math.max(0, monitoringTaskLimiter.getLimit() - monitoringTaskLimiter.getInflight())
                 ))
                 .subscribeOn(Schedulers.boundedElastic());
     }
@@ -278,14 +377,19 @@ public class ReactiveBackpressureControlServiceImpl implements ReactiveBackpress
     @Override
     public Mono<Boolean> adjustMaxConcurrentTasks(int maxConcurrentTasks) {
         return Mono.fromCallable(() -> {
-                    // 注意：Semaphore不支持动态调整许可数，这里只是记录日志
-                    LoggingUtil.warn(logger, "动态调整最大并发任务数需要重启应用: 当前={}, 新值={}",
-                                   monitoringConfiguration.getMaxConcurrentTasks(), maxConcurrentTasks);
-                    MonitoringLogUtil.logSystemAlert("BACKPRESSURE_CONFIG", "ADJUSTMENT_REQUIRED",
-                            "需要重启应用以调整最大并发任务数: " + maxConcurrentTasks, null);
-                    return false; // 返回false表示需要重启
-                })
-                .subscribeOn(Schedulers.boundedElastic());
+                    if (maxConcurrentTasks <= 0) {
+                        LoggingUtil.warn(logger, "最大并发任务数必须大于0: {}", maxConcurrentTasks);
+                        return false;
+                    }
+                    int previous = monitoringTaskLimiter.getMaxLimit();
+                    // 限流器上限在运行时生效，当前上限超出新值时立即收缩，之后由算法在新范围内继续调整
+                    monitoringTaskLimiter.setMaxLimit(maxConcurrentTasks);
+                    LoggingUtil.info(logger, "调整最大并发任务数: {} -> {}, 当前上限: {}",
+                                   previous, maxConcurrentTasks, monitoringTaskLimiter.getLimit());
+                    MonitoringLogUtil.logSystemAlert("BACKPRESSURE_CONFIG", "CONCURRENCY_ADJUSTED",
+                            "最大并发任务数调整为: " + maxConcurrentTasks, null);
+                    return true;
+                });
     }
 
     @Override
@@ -313,6 +417,20 @@ public class ReactiveBackpressureControlServiceImpl implements ReactiveBackpress
 
     // ==================== 私有辅助方法 ====================
 
+    /**
+     * 按最长路径前缀确定请求所属分区，未匹配时归入默认分区
+     */
+    private String resolvePartition(String path) {
+        if (path != null) {
+            for (String prefix : partitionPrefixes) {
+                if (path.startsWith(prefix)) {
+                    return prefix;
+                }
+            }
+        }
+        return AdaptiveConcurrencyLimiter.DEFAULT_PARTITION;
+    }
+
     /**
      * 处理缓冲区溢出
      */
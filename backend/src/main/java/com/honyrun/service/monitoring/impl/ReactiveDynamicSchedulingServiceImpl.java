@@ -19,7 +19,9 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
 
 import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.service.monitoring.ReactiveBackpressureControlService;
 import com.honyrun.service.monitoring.ReactiveDynamicSchedulingService;
+import com.honyrun.service.monitoring.concurrency.ConcurrencyFeedback;
 import com.honyrun.util.LoggingUtil;
 
 import reactor.core.publisher.Flux;
@@ -36,9 +38,11 @@ import reactor.core.scheduler.Scheduler;
  * - 调度任务执行历史记录
  * - 调度器健康状态检查
  * - 配置持久化和恢复
+ * - 按HTTP并发限流器的反馈拉长或恢复已注册任务的执行间隔
  *
  * @author Mr.Rey Copyright © 2025
  * @created 2025-07-02 当前时间
+ * @modified 2025-10-31 10:00:00
  * @version 1.0.0 - 初始版本
  *
  *          注意：此类不使用@Service注解，通过MonitoringConfig中的@Bean方法创建实例
@@ -51,28 +55,32 @@ public class ReactiveDynamicSchedulingServiceImpl implements ReactiveDynamicSche
     private final TaskScheduler taskScheduler;
     private final Scheduler monitoringScheduler;
     private final UnifiedConfigManager unifiedConfigManager;
+    private final ReactiveBackpressureControlService backpressureControlService;
 
     /**
      * 构造函数注入依赖
      *
-     * @param reactiveRedisTemplate 响应式Redis模板
-     * @param taskScheduler         任务调度器
-     * @param monitoringScheduler   监控调度器
-     * @param unifiedConfigManager  统一配置管理器
+     * @param reactiveRedisTemplate      响应式Redis模板
+     * @param taskScheduler              任务调度器
+     * @param monitoringScheduler        监控调度器
+     * @param unifiedConfigManager       统一配置管理器
+     * @param backpressureControlService 背压控制服务，提供并发限流反馈
      * @author Mr.Rey Copyright © 2025
      * @created 2025-10-26 01:36:12
-     * @modified 2025-10-26 01:36:12
+     * @modified 2025-10-31 10:00:00
      * @version 1.0.0
      */
     public ReactiveDynamicSchedulingServiceImpl(
             @Qualifier("unifiedReactiveRedisTemplate") ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
             TaskScheduler taskScheduler,
             Scheduler monitoringScheduler,
-            UnifiedConfigManager unifiedConfigManager) {
+            UnifiedConfigManager unifiedConfigManager,
+            ReactiveBackpressureControlService backpressureControlService) {
         this.reactiveRedisTemplate = reactiveRedisTemplate;
         this.taskScheduler = taskScheduler;
         this.monitoringScheduler = monitoringScheduler;
         this.unifiedConfigManager = unifiedConfigManager;
+        this.backpressureControlService = backpressureControlService;
     }
 
     // 调度任务状态缓存
@@ -87,6 +95,12 @@ public class ReactiveDynamicSchedulingServiceImpl implements ReactiveDynamicSche
     // 调度任务Future缓存
     private final Map<String, ScheduledFuture<?>> scheduledFutureCache = new ConcurrentHashMap<>();
 
+    // 通过registerScheduleTask注册、由本服务实际调度的任务
+    private final Map<String, RegisteredTask> registeredTasks = new ConcurrentHashMap<>();
+
+    // 当前间隔放大倍数，由adjustSchedulingStrategy按并发反馈调整
+    private volatile double intervalFactor = 1.0;
+
     // 统计计数器
     private final AtomicLong totalExecutions = new AtomicLong(0);
     private final AtomicLong totalSuccesses = new AtomicLong(0);
@@ -108,14 +122,21 @@ public class ReactiveDynamicSchedulingServiceImpl implements ReactiveDynamicSche
             // 更新任务状态
             status.setInterval(newInterval);
 
-            // 重新调度任务
-            ScheduledFuture<?> oldFuture = scheduledFutureCache.get(taskName);
-            if (oldFuture != null) {
-                oldFuture.cancel(false);
+            // 手动注册的任务按新间隔重新调度，新间隔同时作为自适应调整的基准
+            RegisteredTask task = registeredTasks.get(taskName);
+            if (task != null) {
+                task.baseInterval = newInterval;
+                if (status.isEnabled()) {
+                    schedule(task, scaleInterval(newInterval, intervalFactor));
+                }
+            } else {
+                // @Scheduled注解的任务无法重新调度，只记录新间隔
+                ScheduledFuture<?> oldFuture = scheduledFutureCache.remove(taskName);
+                if (oldFuture != null) {
+                    oldFuture.cancel(false);
+                }
             }
 
-            // 这里应该重新创建调度任务，但由于Spring的@Scheduled注解限制，
-            // 实际实现中需要使用TaskScheduler手动调度
             LoggingUtil.info(logger, "调度任务频率调整完成 - 任务: {}", taskName);
             return true;
         })
@@ -137,13 +158,18 @@ public class ReactiveDynamicSchedulingServiceImpl implements ReactiveDynamicSche
             status.setEnabled(enabled);
             status.setStatus(enabled ? "IDLE" : "DISABLED");
 
-            // 如果禁用，取消调度
+            // 如果禁用，取消调度；重新启用的已注册任务恢复调度
             if (!enabled) {
                 ScheduledFuture<?> future = scheduledFutureCache.get(taskName);
                 if (future != null) {
                     future.cancel(false);
                     scheduledFutureCache.remove(taskName);
                 }
+            } else {
+                RegisteredTask task = registeredTasks.get(taskName);
+                if (task != null && !scheduledFutureCache.containsKey(taskName)) {
+                    schedule(task, scaleInterval(task.baseInterval, intervalFactor));
+                }
             }
 
             LoggingUtil.info(logger, "调度任务状态切换完成 - 任务: {}, 状态: {}", taskName, enabled ? "启用" : "禁用");
@@ -239,9 +265,13 @@ public class ReactiveDynamicSchedulingServiceImpl implements ReactiveDynamicSche
                 future.cancel(false);
             }
 
-            // 重新启动任务（这里需要根据实际调度逻辑实现）
+            // 重新启动任务，只有已注册的任务能重新调度
             status.setStatus("IDLE");
             status.setLastExecutionTime(null);
+            RegisteredTask task = registeredTasks.get(taskName);
+            if (task != null && status.isEnabled()) {
+                schedule(task, scaleInterval(task.baseInterval, intervalFactor));
+            }
 
             LoggingUtil.info(logger, "调度任务重启完成 - 任务: {}", taskName);
             return true;
@@ -506,6 +536,70 @@ public class ReactiveDynamicSchedulingServiceImpl implements ReactiveDynamicSche
 
     // ==================== 辅助方法 ====================
 
+    /**
+     * 注册由本服务调度的任务
+     *
+     * 任务以固定延迟执行，执行间隔可通过adjustScheduleInterval调整，
+     * 并随adjustSchedulingStrategy根据HTTP并发限流器的反馈自动拉长或恢复
+     *
+     * @param taskName     任务名称
+     * @param runnable     任务逻辑
+     * @param baseInterval 基准执行间隔
+     */
+    public void registerScheduleTask(String taskName, Runnable runnable, Duration baseInterval) {
+        initializeTaskStatus(taskName);
+        RegisteredTask task = new RegisteredTask(taskName, runnable, baseInterval);
+        registeredTasks.put(taskName, task);
+        schedule(task, scaleInterval(baseInterval, intervalFactor));
+        LoggingUtil.info(logger, "注册调度任务 - 任务: {}, 基准间隔: {}秒", taskName, baseInterval.getSeconds());
+    }
+
+    /**
+     * 按指定间隔重新调度任务，取消原有调度
+     */
+    private void schedule(RegisteredTask task, Duration interval) {
+        ScheduledFuture<?> future = taskScheduler.scheduleWithFixedDelay(() -> runTask(task), interval);
+        ScheduledFuture<?> oldFuture = scheduledFutureCache.put(task.taskName, future);
+        if (oldFuture != null) {
+            oldFuture.cancel(false);
+        }
+        ScheduleTaskStatus status = taskStatusCache.get(task.taskName);
+        if (status != null) {
+            status.setInterval(interval);
+        }
+    }
+
+    /**
+     * 执行任务并记录执行历史
+     */
+    private void runTask(RegisteredTask task) {
+        ScheduleTaskStatus status = taskStatusCache.get(task.taskName);
+        if (status != null && !status.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        if (status != null) {
+            status.setStatus("RUNNING");
+        }
+        try {
+            task.runnable.run();
+            recordTaskExecution(task.taskName, Duration.ofNanos(System.nanoTime() - start), "SUCCESS", null);
+            if (status != null) {
+                status.setStatus("IDLE");
+            }
+        } catch (Exception e) {
+            recordTaskExecution(task.taskName, Duration.ofNanos(System.nanoTime() - start), "FAILED", e.getMessage());
+            if (status != null) {
+                status.setStatus("ERROR");
+            }
+            LoggingUtil.error(logger, "调度任务执行失败 - 任务: " + task.taskName, e);
+        }
+    }
+
+    private static Duration scaleInterval(Duration baseInterval, double factor) {
+        return Duration.ofMillis(Math.max(1L, Math.round(baseInterval.toMillis() * factor)));
+    }
+
     /**
      * 创建默认调度配置
      */
@@ -604,29 +698,46 @@ public class ReactiveDynamicSchedulingServiceImpl implements ReactiveDynamicSche
         return Mono.fromCallable(() -> {
             StringBuilder strategy = new StringBuilder();
 
-            // 获取当前系统负载情况
-            int totalTasks = taskStatusCache.size();
-            long activeTasksCount = taskStatusCache.values().stream()
-                    .filter(status -> "RUNNING".equals(status.getStatus()))
-                    .count();
-
-            double systemLoad = totalTasks > 0 ? (double) activeTasksCount / totalTasks : 0.0;
-
-            strategy.append("系统负载: ").append(String.format("%.2f", systemLoad * 100)).append("%");
-
-            // 根据系统负载调整策略
-            if (systemLoad > 0.8) {
-                // 高负载：降低任务频率
+            // 以HTTP并发限流器的反馈作为系统负载：RTT膨胀、利用率、拒绝和失败比例中最严重的一项
+            ConcurrencyFeedback feedback = backpressureControlService.getConcurrencyFeedback();
+            double rttTolerance = Double.parseDouble(
+                    unifiedConfigManager.getProperty("honyrun.schedule.adaptive.rtt-tolerance", "2.0"));
+            double highPressure = Double.parseDouble(
+                    unifiedConfigManager.getProperty("honyrun.schedule.adaptive.high-pressure", "0.9"));
+            double lowPressure = Double.parseDouble(
+                    unifiedConfigManager.getProperty("honyrun.schedule.adaptive.low-pressure", "0.5"));
+            double maxFactor = Double.parseDouble(
+                    unifiedConfigManager.getProperty("honyrun.schedule.adaptive.max-interval-factor", "8.0"));
+            double pressure = feedback.pressure(rttTolerance);
+
+            strategy.append("系统负载: ").append(String.format("%.2f", pressure * 100)).append("%")
+                    .append(", 并发: ").append(feedback.inflight()).append("/").append(feedback.limit())
+                    .append(", RTT: ").append(String.format("%.1f/%.1fms", feedback.shortRttMillis(), feedback.longRttMillis()));
+
+            double previousFactor = intervalFactor;
+            if (pressure >= highPressure) {
+                // 高负载：后台任务让出容量，间隔逐次翻倍直到上限
+                intervalFactor = Math.min(Math.max(1.0, maxFactor), previousFactor * 2);
                 strategy.append(", 策略: 高负载模式 - 降低任务执行频率");
-                LoggingUtil.warn(logger, "系统负载过高 ({}%), 建议降低任务执行频率", systemLoad * 100);
-            } else if (systemLoad < 0.3) {
-                // 低负载：可以提高任务频率
-                strategy.append(", 策略: 低负载模式 - 可适当提高任务执行频率");
-                LoggingUtil.info(logger, "系统负载较低 ({}%), 可适当提高任务执行频率", systemLoad * 100);
+                LoggingUtil.warn(logger, "系统负载过高 ({}%), 降低任务执行频率", pressure * 100);
+            } else if (pressure < lowPressure) {
+                // 低负载：逐次减半恢复到基准间隔
+                intervalFactor = Math.max(1.0, previousFactor / 2);
+                strategy.append(", 策略: 低负载模式 - 恢复任务执行频率");
+                LoggingUtil.debug(logger, "系统负载较低 ({}%), 恢复任务执行频率", pressure * 100);
             } else {
-                // 正常负载：保持当前策略
                 strategy.append(", 策略: 正常模式 - 保持当前执行频率");
-                LoggingUtil.info(logger, "系统负载正常 ({}%), 保持当前调度策略", systemLoad * 100);
+                LoggingUtil.debug(logger, "系统负载正常 ({}%), 保持当前调度策略", pressure * 100);
+            }
+            strategy.append(", 间隔倍数: ").append(String.format("%.1f", intervalFactor));
+
+            if (intervalFactor != previousFactor) {
+                for (RegisteredTask task : registeredTasks.values()) {
+                    ScheduleTaskStatus status = taskStatusCache.get(task.taskName);
+                    if (status == null || status.isEnabled()) {
+                        schedule(task, scaleInterval(task.baseInterval, intervalFactor));
+                    }
+                }
             }
 
             return strategy.toString();
@@ -635,4 +746,20 @@ public class ReactiveDynamicSchedulingServiceImpl implements ReactiveDynamicSche
                 .doOnSuccess(result -> LoggingUtil.info(logger, "调度策略调整完成: {}", result))
                 .doOnError(error -> LoggingUtil.error(logger, "调度策略调整失败", error));
     }
-}
\ No newline at end of file
+
+    /**
+     * 已注册任务
+     */
+    private static final class RegisteredTask {
+
+        private final String taskName;
+        private final Runnable runnable;
+        private volatile Duration baseInterval;
+
+        RegisteredTask(String taskName, Runnable runnable, Duration baseInterval) {
+            this.taskName = taskName;
+            this.runnable = runnable;
+            this.baseInterval = baseInterval;
+        }
+    }
+}
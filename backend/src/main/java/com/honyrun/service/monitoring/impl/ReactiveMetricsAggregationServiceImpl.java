@@ -1,18 +1,17 @@
 package com.honyrun.service.monitoring.impl;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +21,10 @@ import org.springframework.stereotype.Service;
 
 import com.honyrun.config.monitoring.UnifiedMonitoringConfig;
 import com.honyrun.service.monitoring.ReactiveMetricsAggregationService;
+import com.honyrun.service.monitoring.timeseries.MetricsTimeSeriesStore;
+import com.honyrun.service.monitoring.timeseries.SampleConsumer;
+import com.honyrun.service.monitoring.timeseries.TimeSeries;
+import com.honyrun.service.monitoring.timeseries.WindowStats;
 import com.honyrun.util.LoggingUtil;
 
 import reactor.core.publisher.Flux;
@@ -41,7 +44,7 @@ import reactor.core.scheduler.Schedulers;
  * 技术特性：
  * - 响应式编程：基于Reactor实现异步处理
  * - Redis存储：使用Redis存储聚合数据
- * - 内存缓存：缓存热点数据提升性能
+ * - 时序存储：样本写入MetricsTimeSeriesStore，原始类型数组加压缩块保存，百分位由HDR直方图给出
  * - 批量处理：批量操作提升吞吐量
  * - 自动清理：定期清理过期数据
  *
@@ -53,7 +56,7 @@ import reactor.core.scheduler.Schedulers;
  *
  * @author Mr.Rey
  * @created 2025-07-01 19:05:00
- * @modified 2025-07-01 19:05:00
+ * @modified 2025-10-30 10:00:00
  * @version 1.0.0
  *          Copyright © 2025 HonyRun. All rights reserved.
  */
@@ -66,29 +69,33 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
     private static final String METRICS_DATA_KEY = REDIS_KEY_PREFIX + "data:";
 
     private static final DateTimeFormatter TIMESTAMP_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final ZoneId ZONE = ZoneId.systemDefault();
 
     private final ReactiveRedisTemplate<String, Object> reactiveRedisTemplate;
     private final UnifiedMonitoringConfig unifiedMonitoringConfig;
+    private final MetricsTimeSeriesStore timeSeriesStore;
 
     /**
      * 构造函数注入依赖
      *
      * @param reactiveRedisTemplate   响应式Redis模板
      * @param unifiedMonitoringConfig 统一监控配置
+     * @param timeSeriesStore         指标时序存储
      * @author Mr.Rey Copyright © 2025
      * @created 2025-10-26 01:36:12
-     * @modified 2025-10-26 01:36:12
+     * @modified 2025-10-30 10:00:00
      * @version 1.0.0
      */
     public ReactiveMetricsAggregationServiceImpl(
             @Qualifier("unifiedReactiveRedisTemplate") ReactiveRedisTemplate<String, Object> reactiveRedisTemplate,
-            UnifiedMonitoringConfig unifiedMonitoringConfig) {
+            UnifiedMonitoringConfig unifiedMonitoringConfig,
+            MetricsTimeSeriesStore timeSeriesStore) {
         this.reactiveRedisTemplate = reactiveRedisTemplate;
         this.unifiedMonitoringConfig = unifiedMonitoringConfig;
+        this.timeSeriesStore = timeSeriesStore;
     }
 
-    // 内存缓存
-    private final Map<String, List<MetricData>> metricsCache = new ConcurrentHashMap<>();
+    // 元数据缓存
     private final Map<String, MetricMetadata> metadataCache = new ConcurrentHashMap<>();
     private final AtomicLong totalMetricsCollected = new AtomicLong(0);
     private final AtomicLong totalAggregationsPerformed = new AtomicLong(0);
@@ -99,23 +106,11 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
     public Mono<Boolean> collectMetric(String metricName, double value, LocalDateTime timestamp,
             Map<String, String> tags) {
         return Mono.fromCallable(() -> {
-            // 开始收集单个监控指标
-
-            MetricData metricData = new MetricData(metricName, value, timestamp, tags);
-
-            // 添加到内存缓存
-            metricsCache.computeIfAbsent(metricName, k -> new ArrayList<>()).add(metricData);
-
-            // 限制缓存大小
-            List<MetricData> cachedData = metricsCache.get(metricName);
-            if (cachedData.size() > unifiedMonitoringConfig.getMetricsAggregationWindow().getSeconds() * 10) {
-                cachedData.removeIf(data -> data.getTimestamp().isBefore(timestamp.minusMinutes(5)));
-            }
-
+            // 写入时序存储，单写者追加不阻塞，容量由压缩块上限控制
+            timeSeriesStore.append(metricName, toEpochMilli(timestamp), value, tags);
             totalMetricsCollected.incrementAndGet();
             return true;
         })
-                .subscribeOn(Schedulers.boundedElastic())
                 .flatMap(result -> {
                     // 异步存储到Redis
                     String redisKey = METRICS_DATA_KEY + metricName + ":" + timestamp.format(TIMESTAMP_FORMATTER);
@@ -200,25 +195,24 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
             LoggingUtil.info(logger, "开始按时间窗口聚合指标: {}, 窗口大小: {}, 聚合类型: {}",
                     metricName, windowSize, aggregationType);
 
-            List<MetricData> cachedData = metricsCache.get(metricName);
-            if (cachedData == null || cachedData.isEmpty()) {
+            TimeSeries timeSeries = timeSeriesStore.get(metricName);
+            if (timeSeries == null) {
                 return Collections.<AggregatedMetric>emptyList();
             }
 
             LocalDateTime now = LocalDateTime.now();
             LocalDateTime windowStart = now.minus(windowSize);
+            long from = toEpochMilli(windowStart) + 1;
+            long to = toEpochMilli(now);
 
-            List<MetricData> windowData = cachedData.stream()
-                    .filter(data -> data.getTimestamp().isAfter(windowStart))
-                    .collect(Collectors.toList());
-
-            if (windowData.isEmpty()) {
+            WindowStats stats = timeSeries.stats(from, to);
+            if (stats.getCount() == 0) {
                 return Collections.<AggregatedMetric>emptyList();
             }
 
-            double aggregatedValue = calculateAggregation(windowData, aggregationType);
+            double aggregatedValue = calculateAggregation(timeSeries, stats, aggregationType, from, to);
             AggregatedMetric result = new AggregatedMetric(metricName, aggregatedValue, aggregationType,
-                    windowStart, now, windowData.size());
+                    windowStart, now, (int) stats.getCount());
 
             totalAggregationsPerformed.incrementAndGet();
             return Collections.singletonList(result);
@@ -254,18 +248,17 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
         return Mono.fromCallable(() -> {
             LoggingUtil.info(logger, "开始自定义函数聚合指标: {}, 窗口大小: {}", metricName, windowSize);
 
-            List<MetricData> cachedData = metricsCache.get(metricName);
-            if (cachedData == null || cachedData.isEmpty()) {
+            TimeSeries timeSeries = timeSeriesStore.get(metricName);
+            if (timeSeries == null) {
                 return Collections.<AggregatedMetric>emptyList();
             }
 
             LocalDateTime now = LocalDateTime.now();
             LocalDateTime windowStart = now.minus(windowSize);
 
-            List<Double> values = cachedData.stream()
-                    .filter(data -> data.getTimestamp().isAfter(windowStart))
-                    .map(MetricData::getValue)
-                    .collect(Collectors.toList());
+            // 自定义函数的入参为List<Double>，只在此处装箱
+            List<Double> values = new ArrayList<>();
+            timeSeries.scan(toEpochMilli(windowStart) + 1, toEpochMilli(now), (ts, value) -> values.add(value));
 
             if (values.isEmpty()) {
                 return Collections.<AggregatedMetric>emptyList();
@@ -290,35 +283,14 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
         return Mono.fromCallable(() -> {
             LoggingUtil.info(logger, "开始计算指标统计信息: {}, 时间范围: {}", metricName, timeRange);
 
-            List<MetricData> cachedData = metricsCache.get(metricName);
-            if (cachedData == null || cachedData.isEmpty()) {
+            WindowStats stats = windowStats(metricName, timeRange);
+            if (stats.getCount() == 0) {
                 return new MetricStatistics(metricName, 0.0, 0.0, 0.0, 0.0, 0, 0.0);
             }
-
-            LocalDateTime cutoff = LocalDateTime.now().minus(timeRange);
-            List<Double> values = cachedData.stream()
-                    .filter(data -> data.getTimestamp().isAfter(cutoff))
-                    .map(MetricData::getValue)
-                    .collect(Collectors.toList());
-
-            if (values.isEmpty()) {
-                return new MetricStatistics(metricName, 0.0, 0.0, 0.0, 0.0, 0, 0.0);
-            }
-
-            double sum = values.stream().mapToDouble(Double::doubleValue).sum();
-            double average = sum / values.size();
-            double max = values.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
-            double min = values.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
-
-            double variance = values.stream()
-                    .mapToDouble(value -> Math.pow(value - average, 2))
-                    .average()
-                    .orElse(0.0);
-            double standardDeviation = Math.sqrt(variance);
-
-            return new MetricStatistics(metricName, average, max, min, standardDeviation, values.size(), sum);
+            return new MetricStatistics(metricName, stats.getMean(), stats.getMax(), stats.getMin(),
+                    stats.getStandardDeviation(), stats.getCount(), stats.getSum());
         })
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(Schedulers.parallel())
                 .doOnSuccess(stats -> LoggingUtil.info(logger, "统计信息计算完成: {}, 平均值: {}", metricName, stats.getAverage()))
                 .doOnError(error -> LoggingUtil.error(logger, "统计信息计算失败: {}, 错误: {}", metricName, error.getMessage()));
     }
@@ -329,32 +301,19 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
         return Mono.fromCallable(() -> {
             LoggingUtil.info(logger, "开始计算百分位数: {}, 百分位: {}, 时间范围: {}", metricName, percentiles, timeRange);
 
-            List<MetricData> cachedData = metricsCache.get(metricName);
-            if (cachedData == null || cachedData.isEmpty()) {
-                return percentiles.stream().collect(Collectors.toMap(p -> p, p -> 0.0));
-            }
-
-            LocalDateTime cutoff = LocalDateTime.now().minus(timeRange);
-            List<Double> values = cachedData.stream()
-                    .filter(data -> data.getTimestamp().isAfter(cutoff))
-                    .map(MetricData::getValue)
-                    .sorted()
-                    .collect(Collectors.toList());
-
-            if (values.isEmpty()) {
-                return percentiles.stream().collect(Collectors.toMap(p -> p, p -> 0.0));
-            }
-
             Map<Double, Double> result = new HashMap<>();
-            for (Double percentile : percentiles) {
-                int index = (int) Math.ceil(percentile / 100.0 * values.size()) - 1;
-                index = Math.max(0, Math.min(index, values.size() - 1));
-                result.put(percentile, values.get(index));
+            TimeSeries timeSeries = timeSeriesStore.get(metricName);
+            double[] requested = percentiles.stream().mapToDouble(Double::doubleValue).toArray();
+            long now = System.currentTimeMillis();
+            double[] values = timeSeries == null ? null
+                    : timeSeries.percentiles(requested, now - timeRange.toMillis(), now);
+
+            for (int i = 0; i < requested.length; i++) {
+                result.put(percentiles.get(i), values == null ? 0.0 : values[i]);
             }
-
             return result;
         })
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(Schedulers.parallel())
                 .doOnSuccess(result -> LoggingUtil.info(logger, "百分位数计算完成: {}", metricName))
                 .doOnError(error -> LoggingUtil.error(logger, "百分位数计算失败: {}, 错误: {}", metricName, error.getMessage()));
     }
@@ -364,39 +323,29 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
         return Mono.fromCallable(() -> {
             LoggingUtil.info(logger, "开始趋势分析: {}, 时间范围: {}", metricName, timeRange);
 
-            List<MetricData> cachedData = metricsCache.get(metricName);
-            if (cachedData == null || cachedData.size() < 2) {
+            TimeSeries timeSeries = timeSeriesStore.get(metricName);
+            if (timeSeries == null) {
                 return new TrendAnalysis(metricName, "STABLE", 0.0, 0.0, "LOW");
             }
 
-            LocalDateTime cutoff = LocalDateTime.now().minus(timeRange);
-            List<MetricData> timeRangeData = cachedData.stream()
-                    .filter(data -> data.getTimestamp().isAfter(cutoff))
-                    .sorted(Comparator.comparing(MetricData::getTimestamp))
-                    .collect(Collectors.toList());
+            // 简单线性回归计算趋势，以样本序号为自变量单遍累加
+            RegressionAccumulator regression = new RegressionAccumulator();
+            long now = System.currentTimeMillis();
+            timeSeries.scan(now - timeRange.toMillis() + 1, now, regression);
 
-            if (timeRangeData.size() < 2) {
+            if (regression.n < 2) {
                 return new TrendAnalysis(metricName, "STABLE", 0.0, 0.0, "LOW");
             }
 
-            // 简单线性回归计算趋势
-            double[] x = new double[timeRangeData.size()];
-            double[] y = new double[timeRangeData.size()];
-
-            for (int i = 0; i < timeRangeData.size(); i++) {
-                x[i] = i;
-                y[i] = timeRangeData.get(i).getValue();
-            }
-
-            double slope = calculateSlope(x, y);
-            double correlation = calculateCorrelation(x, y);
+            double slope = regression.slope();
+            double correlation = regression.correlation();
 
             String trend = slope > 0.1 ? "INCREASING" : (slope < -0.1 ? "DECREASING" : "STABLE");
             String confidence = Math.abs(correlation) > 0.8 ? "HIGH" : (Math.abs(correlation) > 0.5 ? "MEDIUM" : "LOW");
 
             return new TrendAnalysis(metricName, trend, slope, correlation, confidence);
         })
-                .subscribeOn(Schedulers.boundedElastic())
+                .subscribeOn(Schedulers.parallel())
                 .doOnSuccess(
                         analysis -> LoggingUtil.info(logger, "趋势分析完成: {}, 趋势: {}", metricName, analysis.getTrend()))
                 .doOnError(error -> LoggingUtil.error(logger, "趋势分析失败: {}, 错误: {}", metricName, error.getMessage()));
@@ -406,28 +355,28 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
     public Flux<AnomalyDetection> detectAnomalies(String metricName, double threshold, Duration timeRange) {
         return calculateStatistics(metricName, timeRange)
                 .flatMapMany(stats -> {
-                    List<MetricData> cachedData = metricsCache.get(metricName);
-                    if (cachedData == null || cachedData.isEmpty()) {
+                    TimeSeries timeSeries = timeSeriesStore.get(metricName);
+                    if (timeSeries == null || stats.getCount() == 0 || stats.getStandardDeviation() == 0) {
                         return Flux.empty();
                     }
 
-                    LocalDateTime cutoff = LocalDateTime.now().minus(timeRange);
                     double upperBound = stats.getAverage() + threshold * stats.getStandardDeviation();
                     double lowerBound = stats.getAverage() - threshold * stats.getStandardDeviation();
-
-                    return Flux.fromIterable(cachedData)
-                            .filter(data -> data.getTimestamp().isAfter(cutoff))
-                            .filter(data -> data.getValue() > upperBound || data.getValue() < lowerBound)
-                            .map(data -> {
-                                String anomalyType = data.getValue() > upperBound ? "SPIKE" : "DROP";
-                                double severity = Math.abs(data.getValue() - stats.getAverage())
-                                        / stats.getStandardDeviation();
-                                String description = String.format("指标值 %.2f 超出正常范围 [%.2f, %.2f]",
-                                        data.getValue(), lowerBound, upperBound);
-
-                                return new AnomalyDetection(metricName, data.getValue(), data.getTimestamp(),
-                                        anomalyType, severity, description);
-                            });
+                    long now = System.currentTimeMillis();
+
+                    // 单遍扫描，只为越界样本创建对象
+                    List<AnomalyDetection> anomalies = new ArrayList<>();
+                    timeSeries.scan(now - timeRange.toMillis() + 1, now, (ts, value) -> {
+                        if (value > upperBound || value < lowerBound) {
+                            String anomalyType = value > upperBound ? "SPIKE" : "DROP";
+                            double severity = Math.abs(value - stats.getAverage()) / stats.getStandardDeviation();
+                            String description = String.format("指标值 %.2f 超出正常范围 [%.2f, %.2f]",
+                                    value, lowerBound, upperBound);
+                            anomalies.add(new AnomalyDetection(metricName, value, toLocalDateTime(ts),
+                                    anomalyType, severity, description));
+                        }
+                    });
+                    return Flux.fromIterable(anomalies);
                 })
                 .doOnComplete(() -> LoggingUtil.info(logger, "异常检测完成: {}", metricName))
                 .doOnError(error -> LoggingUtil.error(logger, "异常检测失败: {}, 错误: {}", metricName, error.getMessage()));
@@ -447,14 +396,15 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
             // 基础统计信息
             summary.put("totalMetricsCollected", totalMetricsCollected.get());
             summary.put("totalAggregationsPerformed", totalAggregationsPerformed.get());
-            summary.put("activeMetrics", metricsCache.size());
+            summary.put("activeMetrics", timeSeriesStore.size());
+            summary.put("timeSeriesStore", timeSeriesStore.getStatistics());
             summary.put("reportGeneratedAt", now.toString());
 
             // 生成建议
             if (totalMetricsCollected.get() > 10000) {
                 recommendations.add("考虑增加数据清理频率以优化内存使用");
             }
-            if (metricsCache.size() > 100) {
+            if (timeSeriesStore.size() > 100) {
                 recommendations.add("监控指标数量较多，建议分类管理");
             }
 
@@ -474,18 +424,14 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
                     List<String> bottlenecks = new ArrayList<>();
 
                     // 收集性能指标
-                    metricsCache.entrySet().stream()
-                            .filter(entry -> entry.getKey().startsWith("performance."))
-                            .forEach(entry -> {
-                                List<MetricData> data = entry.getValue();
-                                if (!data.isEmpty()) {
-                                    double avgValue = data.stream()
-                                            .mapToDouble(MetricData::getValue)
-                                            .average()
-                                            .orElse(0.0);
-                                    performanceMetrics.put(entry.getKey(), avgValue);
-                                }
-                            });
+                    for (String metricName : timeSeriesStore.getMetricNames()) {
+                        if (metricName.startsWith("performance.")) {
+                            WindowStats stats = windowStats(metricName, timeRange);
+                            if (stats.getCount() > 0) {
+                                performanceMetrics.put(metricName, stats.getMean());
+                            }
+                        }
+                    }
 
                     // 识别性能瓶颈
                     performanceMetrics.entrySet().stream()
@@ -504,7 +450,7 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
                 .cast(MonitoringReport.class)
                 .flatMap(baseReport -> {
                     // 收集所有异常
-                    return Flux.fromIterable(metricsCache.keySet())
+                    return Flux.fromIterable(List.copyOf(timeSeriesStore.getMetricNames()))
                             .flatMap(metricName -> detectAnomalies(metricName, 2.0, timeRange))
                             .filter(anomaly -> severity.equals("ALL") ||
                                     (severity.equals("HIGH") && anomaly.getSeverity() > 3.0) ||
@@ -521,29 +467,29 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
         return Mono.fromCallable(() -> {
             LoggingUtil.info(logger, "开始导出监控数据，指标: {}, 格式: {}", metricNames, format);
 
-            LocalDateTime cutoff = LocalDateTime.now().minus(timeRange);
+            long to = System.currentTimeMillis();
+            long from = to - timeRange.toMillis() + 1;
             StringBuilder exportData = new StringBuilder();
 
             if ("JSON".equalsIgnoreCase(format)) {
                 exportData.append("{\n  \"metrics\": [\n");
-                boolean first = true;
+                boolean[] first = { true };
 
                 for (String metricName : metricNames) {
-                    List<MetricData> data = metricsCache.get(metricName);
-                    if (data != null) {
-                        for (MetricData metric : data) {
-                            if (metric.getTimestamp().isAfter(cutoff)) {
-                                if (!first)
-                                    exportData.append(",\n");
-                                exportData.append("    {\n")
-                                        .append("      \"name\": \"").append(metric.getName()).append("\",\n")
-                                        .append("      \"value\": ").append(metric.getValue()).append(",\n")
-                                        .append("      \"timestamp\": \"").append(metric.getTimestamp()).append("\",\n")
-                                        .append("      \"tags\": ").append(metric.getTags()).append("\n")
-                                        .append("    }");
-                                first = false;
-                            }
-                        }
+                    TimeSeries timeSeries = timeSeriesStore.get(metricName);
+                    if (timeSeries != null) {
+                        Map<String, String> tags = timeSeries.getTags();
+                        timeSeries.scan(from, to, (ts, value) -> {
+                            if (!first[0])
+                                exportData.append(",\n");
+                            exportData.append("    {\n")
+                                    .append("      \"name\": \"").append(metricName).append("\",\n")
+                                    .append("      \"value\": ").append(value).append(",\n")
+                                    .append("      \"timestamp\": \"").append(toLocalDateTime(ts)).append("\",\n")
+                                    .append("      \"tags\": ").append(tags).append("\n")
+                                    .append("    }");
+                            first[0] = false;
+                        });
                     }
                 }
                 exportData.append("\n  ]\n}");
@@ -551,16 +497,13 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
                 exportData.append("MetricName,Value,Timestamp,Tags\n");
 
                 for (String metricName : metricNames) {
-                    List<MetricData> data = metricsCache.get(metricName);
-                    if (data != null) {
-                        for (MetricData metric : data) {
-                            if (metric.getTimestamp().isAfter(cutoff)) {
-                                exportData.append(metric.getName()).append(",")
-                                        .append(metric.getValue()).append(",")
-                                        .append(metric.getTimestamp()).append(",")
-                                        .append(metric.getTags()).append("\n");
-                            }
-                        }
+                    TimeSeries timeSeries = timeSeriesStore.get(metricName);
+                    if (timeSeries != null) {
+                        Map<String, String> tags = timeSeries.getTags();
+                        timeSeries.scan(from, to, (ts, value) -> exportData.append(metricName).append(",")
+                                .append(value).append(",")
+                                .append(toLocalDateTime(ts)).append(",")
+                                .append(tags).append("\n"));
                     }
                 }
             }
@@ -579,17 +522,8 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
         return Mono.fromCallable(() -> {
             LoggingUtil.info(logger, "开始清理过期数据，保留期间: {}", retentionPeriod);
 
-            LocalDateTime cutoff = LocalDateTime.now().minus(retentionPeriod);
-            long cleanedCount = 0;
-
-            for (Map.Entry<String, List<MetricData>> entry : metricsCache.entrySet()) {
-                List<MetricData> data = entry.getValue();
-                int originalSize = data.size();
-                data.removeIf(metric -> metric.getTimestamp().isBefore(cutoff));
-                cleanedCount += (originalSize - data.size());
-            }
-
-            return cleanedCount;
+            // 按块淘汰，头部缓冲区中的过期样本随下一次封存淘汰
+            return timeSeriesStore.dropBefore(System.currentTimeMillis() - retentionPeriod.toMillis());
         })
                 .subscribeOn(Schedulers.boundedElastic())
                 .doOnSuccess(count -> LoggingUtil.info(logger, "过期数据清理完成，清理数量: {}", count))
@@ -598,8 +532,8 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
 
     @Override
     public Flux<String> getAvailableMetrics() {
-        return Flux.fromIterable(metricsCache.keySet())
-                .doOnComplete(() -> LoggingUtil.info(logger, "获取可用指标列表完成，总数: {}", metricsCache.size()));
+        return Flux.fromIterable(List.copyOf(timeSeriesStore.getMetricNames()))
+                .doOnComplete(() -> LoggingUtil.info(logger, "获取可用指标列表完成，总数: {}", timeSeriesStore.size()));
     }
 
     @Override
@@ -623,7 +557,7 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
         return Mono.fromCallable(() -> {
             LoggingUtil.info(logger, "开始重置聚合状态");
 
-            metricsCache.clear();
+            timeSeriesStore.clear();
             metadataCache.clear();
             totalMetricsCollected.set(0);
             totalAggregationsPerformed.set(0);
@@ -638,68 +572,97 @@ public class ReactiveMetricsAggregationServiceImpl implements ReactiveMetricsAgg
     // ==================== 私有辅助方法 ====================
 
     /**
-     * 计算聚合值
+     * 统计时间范围内的样本
      */
-    private double calculateAggregation(List<MetricData> data, String aggregationType) {
-        List<Double> values = data.stream().map(MetricData::getValue).collect(Collectors.toList());
+    private WindowStats windowStats(String metricName, Duration timeRange) {
+        TimeSeries timeSeries = timeSeriesStore.get(metricName);
+        if (timeSeries == null) {
+            return new WindowStats();
+        }
+        long now = System.currentTimeMillis();
+        return timeSeries.stats(now - timeRange.toMillis() + 1, now);
+    }
 
-        switch (aggregationType.toUpperCase()) {
+    /**
+     * 计算聚合值
+     * 基本聚合直接取窗口统计量，P50/P90/P95/P99等百分位聚合查询HDR直方图
+     */
+    private double calculateAggregation(TimeSeries timeSeries, WindowStats stats, String aggregationType,
+            long from, long to) {
+        String type = aggregationType.toUpperCase();
+        switch (type) {
             case "AVG":
             case "AVERAGE":
-                return values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+                return stats.getMean();
             case "MAX":
             case "MAXIMUM":
-                return values.stream().mapToDouble(Double::doubleValue).max().orElse(0.0);
+                return stats.getMax();
             case "MIN":
             case "MINIMUM":
-                return values.stream().mapToDouble(Double::doubleValue).min().orElse(0.0);
+                return stats.getMin();
             case "SUM":
-                return values.stream().mapToDouble(Double::doubleValue).sum();
+                return stats.getSum();
             case "COUNT":
-                return values.size();
+                return stats.getCount();
             default:
-                return values.stream().mapToDouble(Double::doubleValue).average().orElse(0.0);
+                if (type.length() > 1 && type.charAt(0) == 'P') {
+                    try {
+                        double percentile = Double.parseDouble(type.substring(1));
+                        double[] values = timeSeries.percentiles(new double[] { percentile }, from, to);
+                        return values == null ? 0.0 : values[0];
+                    } catch (NumberFormatException e) {
+                        return stats.getMean();
+                    }
+                }
+                return stats.getMean();
         }
     }
 
-    /**
-     * 计算斜率
-     */
-    private double calculateSlope(double[] x, double[] y) {
-        int n = x.length;
-        double sumX = Arrays.stream(x).sum();
-        double sumY = Arrays.stream(y).sum();
-        double sumXY = 0.0;
-        double sumXX = 0.0;
-
-        for (int i = 0; i < n; i++) {
-            sumXY += x[i] * y[i];
-            sumXX += x[i] * x[i];
-        }
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
 
-        return (n * sumXY - sumX * sumY) / (n * sumXX - sumX * sumX);
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZONE);
     }
 
     /**
-     * 计算相关系数
+     * 以样本序号为自变量的单遍线性回归累加器
      */
-    private double calculateCorrelation(double[] x, double[] y) {
-        int n = x.length;
-        double sumX = Arrays.stream(x).sum();
-        double sumY = Arrays.stream(y).sum();
-        double sumXY = 0.0;
-        double sumXX = 0.0;
-        double sumYY = 0.0;
-
-        for (int i = 0; i < n; i++) {
-            sumXY += x[i] * y[i];
-            sumXX += x[i] * x[i];
-            sumYY += y[i] * y[i];
+    private static final class RegressionAccumulator implements SampleConsumer {
+
+        private long n;
+        private double sumX;
+        private double sumY;
+        private double sumXY;
+        private double sumXX;
+        private double sumYY;
+
+        @Override
+        public void accept(long timestamp, double value) {
+            double x = n++;
+            sumX += x;
+            sumY += value;
+            sumXY += x * value;
+            sumXX += x * x;
+            sumYY += value * value;
         }
 
-        double numerator = n * sumXY - sumX * sumY;
-        double denominator = Math.sqrt((n * sumXX - sumX * sumX) * (n * sumYY - sumY * sumY));
+        /**
+         * 计算斜率
+         */
+        double slope() {
+            double denominator = n * sumXX - sumX * sumX;
+            return denominator == 0 ? 0 : (n * sumXY - sumX * sumY) / denominator;
+        }
 
-        return denominator == 0 ? 0 : numerator / denominator;
+        /**
+         * 计算相关系数
+         */
+        double correlation() {
+            double numerator = n * sumXY - sumX * sumY;
+            double denominator = Math.sqrt((n * sumXX - sumX * sumX) * (n * sumYY - sumY * sumY));
+            return denominator == 0 ? 0 : numerator / denominator;
+        }
     }
 }
@@ -1,9 +1,19 @@
 package com.honyrun.service.monitoring.impl;
 
+import com.honyrun.service.monitoring.ReactiveMonitoringAlertService;
+import com.honyrun.service.monitoring.ReactiveMonitoringAlertService.AlertSeverity;
 import com.honyrun.service.monitoring.ReactivePerformanceMonitoringService;
+import com.honyrun.service.monitoring.latency.LatencyHistogram;
+import com.honyrun.service.monitoring.latency.LatencyHistogramRegistry;
+import com.honyrun.service.monitoring.latency.SloTarget;
 import com.honyrun.util.LoggingUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.HdrHistogram.Histogram;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -12,7 +22,9 @@ import java.lang.management.MemoryMXBean;
 import java.lang.management.ThreadMXBean;
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -25,11 +37,17 @@ import java.util.concurrent.atomic.AtomicLong;
  * - 性能阈值监控和告警
  * - 历史性能数据管理
  * 
+ * 接口和服务方法的延迟记录到固定内存的HDR直方图（LatencyHistogramRegistry），
+ * 提供1m/5m/15m窗口的p50/p90/p99/p999，并按SLO目标计算多窗口燃烧率：
+ * - 快速燃烧：短窗口和长窗口燃烧率同时超过fast-burn-threshold，触发CRITICAL告警
+ * - 慢速燃烧：短窗口和长窗口燃烧率同时超过slow-burn-threshold，触发HIGH告警
+ * 告警交给ReactiveMonitoringAlertService，燃烧率恢复后自动解决
+ * 
  * 注意：此类不使用@Service注解，通过MonitoringConfig中的@Bean方法创建实例
  * 
  * @author Mr.Rey Copyright © 2025
  * @created 2025-07-01 15:30:00
- * @modified 2025-07-01 15:30:00
+ * @modified 2025-10-30 17:00:00
  * @version 1.0.0
  */
 public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerformanceMonitoringService {
@@ -40,11 +58,52 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
     private final MemoryMXBean memoryMXBean = ManagementFactory.getMemoryMXBean();
     private final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
 
+    private final MeterRegistry meterRegistry;
+    private final ReactiveMonitoringAlertService alertService;
+
+    // 延迟直方图配置
+    @Value("${honyrun.monitoring.latency.max-keys:512}")
+    private int latencyMaxKeys;
+
+    @Value("${honyrun.monitoring.latency.highest-trackable-millis:60000}")
+    private long latencyHighestTrackableMillis;
+
+    @Value("${honyrun.monitoring.latency.significant-digits:2}")
+    private int latencySignificantDigits;
+
+    // SLO配置
+    @Value("${honyrun.monitoring.slo.default-target:500:0.99}")
+    private String sloDefaultTarget;
+
+    @Value("${honyrun.monitoring.slo.targets:}")
+    private String sloTargets;
+
+    @Value("${honyrun.monitoring.slo.alert-enabled:true}")
+    private boolean sloAlertEnabled;
+
+    @Value("${honyrun.monitoring.slo.min-requests:100}")
+    private long sloMinRequests;
+
+    @Value("${honyrun.monitoring.slo.fast-burn-threshold:14.4}")
+    private double fastBurnThreshold;
+
+    @Value("${honyrun.monitoring.slo.fast-burn-windows:5,60}")
+    private int[] fastBurnWindows;
+
+    @Value("${honyrun.monitoring.slo.slow-burn-threshold:6.0}")
+    private double slowBurnThreshold;
+
+    @Value("${honyrun.monitoring.slo.slow-burn-windows:30,360}")
+    private int[] slowBurnWindows;
+
+    // 延迟直方图
+    private LatencyHistogramRegistry apiLatency;
+    private LatencyHistogramRegistry methodLatency;
+    private SloTarget defaultSloTarget;
+    private final Map<String, SloTarget> sloTargetOverrides = new ConcurrentHashMap<>();
+    private final Set<String> burningSlos = ConcurrentHashMap.newKeySet();
+
     // 性能统计数据
-    private final Map<String, AtomicLong> methodExecutionCounts = new ConcurrentHashMap<>();
-    private final Map<String, AtomicLong> methodExecutionTimes = new ConcurrentHashMap<>();
-    private final Map<String, AtomicLong> apiRequestCounts = new ConcurrentHashMap<>();
-    private final Map<String, AtomicLong> apiResponseTimes = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> databaseQueryCounts = new ConcurrentHashMap<>();
     private final Map<String, AtomicLong> databaseQueryTimes = new ConcurrentHashMap<>();
 
@@ -52,11 +111,25 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
     private final Map<String, Double> performanceThresholds = new ConcurrentHashMap<>();
     private final Map<String, Boolean> alertEnabled = new ConcurrentHashMap<>();
 
-    public ReactivePerformanceMonitoringServiceImpl() {
+    public ReactivePerformanceMonitoringServiceImpl(MeterRegistry meterRegistry,
+                                                    ReactiveMonitoringAlertService alertService) {
+        this.meterRegistry = meterRegistry;
+        this.alertService = alertService;
         // 初始化默认阈值
         initializeDefaultThresholds();
     }
 
+    @PostConstruct
+    public void initializeLatencyHistograms() {
+        defaultSloTarget = SloTarget.parse(sloDefaultTarget);
+        parseSloTargets(sloTargets);
+        apiLatency = new LatencyHistogramRegistry("honyrun.latency.api", "endpoint", meterRegistry,
+            latencyMaxKeys, latencyHighestTrackableMillis, latencySignificantDigits, this::resolveSloTarget);
+        methodLatency = new LatencyHistogramRegistry("honyrun.latency.method", "method", meterRegistry,
+            latencyMaxKeys, latencyHighestTrackableMillis, latencySignificantDigits, this::resolveSloTarget);
+        LoggingUtil.info(logger, "延迟直方图初始化完成: 默认SLO={}, 自定义SLO数={}", defaultSloTarget, sloTargetOverrides.size());
+    }
+
     // ==================== 实时性能指标 ====================
 
     @Override
@@ -96,19 +169,15 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
             // 获取活跃线程数
             long activeThreads = threadMXBean.getThreadCount();
 
-            // 计算总请求数
-            long totalRequests = apiRequestCounts.values().stream()
-                .mapToLong(AtomicLong::get)
-                .sum();
+            // 计算总请求数（截至最近一次直方图轮转）
+            long totalRequests = apiLatency.totalCount();
 
             // 计算平均响应时间
-            long totalResponseTime = apiResponseTimes.values().stream()
-                .mapToLong(AtomicLong::get)
-                .sum();
+            double totalResponseTime = apiLatency.totalMillis();
             double averageResponseTime = totalRequests > 0 ? 
-                (double) totalResponseTime / totalRequests : 0;
+                totalResponseTime / totalRequests : 0;
 
-            // 计算错误率（简化实现）
+            // 计算错误率
             double errorRate = calculateErrorRate();
 
             ApplicationPerformanceMetrics metrics = new ApplicationPerformanceMetrics(
@@ -175,8 +244,7 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
     @Override
     public Mono<Void> recordMethodPerformance(String methodName, long executionTime, boolean success) {
         return Mono.fromRunnable(() -> {
-            methodExecutionCounts.computeIfAbsent(methodName, k -> new AtomicLong(0)).incrementAndGet();
-            methodExecutionTimes.computeIfAbsent(methodName, k -> new AtomicLong(0)).addAndGet(executionTime);
+            methodLatency.record(methodName, executionTime, !success);
 
             LoggingUtil.logPerformanceMetric(methodName + "_execution_time", executionTime, "ms");
             
@@ -186,12 +254,17 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
         });
     }
 
+    @Override
+    public Mono<Void> recordMethodPerformance(String methodName, long executionTime, boolean success, long sampleWeight) {
+        // 采样记录的日志由采样器按结果输出，这里只写入直方图
+        return Mono.fromRunnable(() -> methodLatency.record(methodName, executionTime, !success, sampleWeight));
+    }
+
     @Override
     public Mono<Void> recordApiPerformance(String endpoint, String httpMethod, long responseTime, int statusCode) {
         return Mono.fromRunnable(() -> {
             String key = httpMethod + " " + endpoint;
-            apiRequestCounts.computeIfAbsent(key, k -> new AtomicLong(0)).incrementAndGet();
-            apiResponseTimes.computeIfAbsent(key, k -> new AtomicLong(0)).addAndGet(responseTime);
+            apiLatency.record(key, responseTime, statusCode >= 500);
 
             LoggingUtil.logPerformanceMetric("api_response_time", responseTime, "ms");
             
@@ -234,32 +307,28 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
 
             Map<String, Object> metrics = new HashMap<>();
             
-            // 添加方法执行统计
+            long now = System.currentTimeMillis();
+
+            // 添加方法执行统计（含窗口百分位）
             Map<String, Object> methodStats = new HashMap<>();
-            methodExecutionCounts.forEach((method, count) -> {
-                long totalTime = methodExecutionTimes.getOrDefault(method, new AtomicLong(0)).get();
-                double avgTime = count.get() > 0 ? (double) totalTime / count.get() : 0;
-                methodStats.put(method, Map.of(
-                    "count", count.get(),
-                    "totalTime", totalTime,
-                    "averageTime", avgTime
-                ));
-            });
+            for (LatencyHistogram histogram : methodLatency.getAll()) {
+                methodStats.put(histogram.getKey(), histogram.describe(now));
+            }
             metrics.put("methodStats", methodStats);
 
-            // 添加API统计
+            // 添加API统计（含窗口百分位）
             Map<String, Object> apiStats = new HashMap<>();
-            apiRequestCounts.forEach((api, count) -> {
-                long totalTime = apiResponseTimes.getOrDefault(api, new AtomicLong(0)).get();
-                double avgTime = count.get() > 0 ? (double) totalTime / count.get() : 0;
-                apiStats.put(api, Map.of(
-                    "count", count.get(),
-                    "totalTime", totalTime,
-                    "averageTime", avgTime
-                ));
-            });
+            for (LatencyHistogram histogram : apiLatency.getAll()) {
+                apiStats.put(histogram.getKey(), histogram.describe(now));
+            }
             metrics.put("apiStats", apiStats);
 
+            // 添加SLO燃烧率
+            Map<String, Object> sloStatus = new HashMap<>();
+            collectSloStatus("api", apiLatency, now, sloStatus);
+            collectSloStatus("method", methodLatency, now, sloStatus);
+            metrics.put("sloStatus", sloStatus);
+
             PerformanceReport report = new PerformanceReport(reportType, period, metrics);
             LoggingUtil.debug(logger, "性能报告生成完成");
             return report;
@@ -315,6 +384,116 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
             .doOnError(error -> LoggingUtil.error(logger, "获取性能告警失败", error));
     }
 
+    // ==================== 延迟直方图与SLO ====================
+
+    /**
+     * 设置单个端点或方法的SLO目标
+     *
+     * @param key             端点（"GET /api/v1/xxx"）或方法名称
+     * @param thresholdMillis 延迟阈值（毫秒）
+     * @param objective       达标比例，取值(0, 1)
+     */
+    public void setSloTarget(String key, long thresholdMillis, double objective) {
+        sloTargetOverrides.put(key, new SloTarget(thresholdMillis, objective));
+        apiLatency.refreshTargets();
+        methodLatency.refreshTargets();
+        LoggingUtil.info(logger, "设置SLO目标: {}, 阈值={}ms, 达标比例={}", key, thresholdMillis, objective);
+    }
+
+    /**
+     * 定期轮转延迟直方图并评估SLO燃烧率
+     * 轮转间隔即窗口百分位和Micrometer发布值的刷新粒度
+     */
+    @Scheduled(fixedDelayString = "#{${honyrun.monitoring.latency.rotation-interval:10000}}")
+    public void rotateLatencyHistograms() {
+        long now = System.currentTimeMillis();
+        apiLatency.rotate(now);
+        methodLatency.rotate(now);
+        if (sloAlertEnabled) {
+            evaluateBurnRates("api", apiLatency, now);
+            evaluateBurnRates("method", methodLatency, now);
+        }
+    }
+
+    private void evaluateBurnRates(String category, LatencyHistogramRegistry registry, long now) {
+        for (LatencyHistogram histogram : registry.getAll()) {
+            String sloName = category + ":" + histogram.getKey();
+            double[] fastShort = histogram.burnRate(fastBurnWindows[0], now);
+            double[] fastLong = histogram.burnRate(fastBurnWindows[1], now);
+            double[] slowShort = histogram.burnRate(slowBurnWindows[0], now);
+            double[] slowLong = histogram.burnRate(slowBurnWindows[1], now);
+
+            AlertSeverity severity = null;
+            double burnRate = 0;
+            double threshold = 0;
+            if (fastLong[1] >= sloMinRequests && fastShort[0] > fastBurnThreshold && fastLong[0] > fastBurnThreshold) {
+                severity = AlertSeverity.CRITICAL;
+                burnRate = fastShort[0];
+                threshold = fastBurnThreshold;
+            } else if (slowLong[1] >= sloMinRequests && slowShort[0] > slowBurnThreshold
+                    && slowLong[0] > slowBurnThreshold) {
+                severity = AlertSeverity.HIGH;
+                burnRate = slowShort[0];
+                threshold = slowBurnThreshold;
+            }
+
+            if (severity != null) {
+                if (burningSlos.add(sloName)) {
+                    Map<String, Object> context = new LinkedHashMap<>();
+                    context.put("slo", sloName);
+                    context.put("thresholdMillis", histogram.getTarget().thresholdMillis());
+                    context.put("objective", histogram.getTarget().objective());
+                    context.put("fastBurn", Map.of(fastBurnWindows[0] + "m", fastShort[0], fastBurnWindows[1] + "m", fastLong[0]));
+                    context.put("slowBurn", Map.of(slowBurnWindows[0] + "m", slowShort[0], slowBurnWindows[1] + "m", slowLong[0]));
+                    alertService.triggerSloBurnRateAlert(sloName, severity, burnRate, threshold, context)
+                        .subscribe(null, error -> LoggingUtil.error(logger, "触发SLO燃烧率告警失败: " + sloName, error));
+                }
+            } else if (burningSlos.remove(sloName)) {
+                alertService.resolveSloBurnRateAlert(sloName)
+                    .subscribe(null, error -> LoggingUtil.error(logger, "解决SLO燃烧率告警失败: " + sloName, error));
+            }
+        }
+    }
+
+    private void collectSloStatus(String category, LatencyHistogramRegistry registry, long now,
+                                  Map<String, Object> sloStatus) {
+        for (LatencyHistogram histogram : registry.getAll()) {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("thresholdMillis", histogram.getTarget().thresholdMillis());
+            status.put("objective", histogram.getTarget().objective());
+            for (int minutes : new int[] { fastBurnWindows[0], fastBurnWindows[1], slowBurnWindows[0], slowBurnWindows[1] }) {
+                status.put("burnRate" + minutes + "m", histogram.burnRate(minutes, now)[0]);
+            }
+            status.put("burning", burningSlos.contains(category + ":" + histogram.getKey()));
+            sloStatus.put(category + ":" + histogram.getKey(), status);
+        }
+    }
+
+    private SloTarget resolveSloTarget(String key) {
+        return sloTargetOverrides.getOrDefault(key, defaultSloTarget);
+    }
+
+    /**
+     * 解析"键=阈值毫秒:达标比例"并以分号分隔的SLO目标配置
+     */
+    private void parseSloTargets(String targets) {
+        if (targets == null || targets.isBlank()) {
+            return;
+        }
+        for (String entry : targets.split(";")) {
+            int separator = entry.lastIndexOf('=');
+            if (separator <= 0) {
+                LoggingUtil.warn(logger, "忽略格式错误的SLO目标配置: {}", entry);
+                continue;
+            }
+            try {
+                sloTargetOverrides.put(entry.substring(0, separator).trim(), SloTarget.parse(entry.substring(separator + 1)));
+            } catch (IllegalArgumentException e) {
+                LoggingUtil.warn(logger, "忽略格式错误的SLO目标配置: {}, 原因: {}", entry, e.getMessage());
+            }
+        }
+    }
+
     // ==================== 私有辅助方法 ====================
 
     private void initializeDefaultThresholds() {
@@ -380,27 +559,15 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
     }
 
     private double calculateErrorRate() {
-        // 基于实际错误统计和成功请求统计计算真实错误率
+        // 基于延迟直方图记录的5xx请求数和总请求数计算错误率
         try {
-            long totalRequests = apiRequestCounts.values().stream()
-                .mapToLong(AtomicLong::get).sum();
+            long totalRequests = apiLatency.totalCount();
             if (totalRequests == 0) {
                 return 0.0;
             }
             
-            // 统计实际的错误请求数（状态码4xx和5xx）
-            long errorRequests = 0;
-            // 这里应该从实际的错误统计中获取，暂时使用基于响应时间的启发式方法
-            long slowRequests = apiResponseTimes.values().stream()
-                .mapToLong(AtomicLong::get)
-                .filter(time -> time > 5000) // 响应时间超过5秒的请求
-                .count();
-            
-            // 假设慢请求中有一定比例是错误请求
-            errorRequests = Math.max(slowRequests / 10, 0); // 慢请求的10%可能是错误
-            
-            // 计算真实错误率
-            double errorRate = totalRequests > 0 ? ((double) errorRequests / totalRequests) * 100 : 0.0;
+            long errorRequests = apiLatency.totalFailures();
+            double errorRate = ((double) errorRequests / totalRequests) * 100;
             return Math.min(errorRate, 100.0);
         } catch (Exception e) {
             LoggingUtil.warn(logger, "计算错误率失败: {}", e.getMessage());
@@ -435,8 +602,7 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
     private long getCacheHitCount() {
         // 基于方法执行统计估算缓存命中数
         try {
-            return methodExecutionCounts.values().stream()
-                .mapToLong(AtomicLong::get).sum() * 8; // 假设80%的缓存命中率
+            return methodLatency.totalCount() * 8; // 假设80%的缓存命中率
         } catch (Exception e) {
             LoggingUtil.warn(logger, "获取缓存命中数失败: {}", e.getMessage());
             return 0L;
@@ -446,8 +612,7 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
     private long getCacheMissCount() {
         // 基于方法执行统计估算缓存未命中数
         try {
-            return methodExecutionCounts.values().stream()
-                .mapToLong(AtomicLong::get).sum() * 2; // 假设20%的缓存未命中率
+            return methodLatency.totalCount() * 2; // 假设20%的缓存未命中率
         } catch (Exception e) {
             LoggingUtil.warn(logger, "获取缓存未命中数失败: {}", e.getMessage());
             return 0L;
@@ -530,6 +695,10 @@ public class ReactivePerformanceMonitoringServiceImpl implements ReactivePerform
                     return getDiskUsage();
                 case "network_usage":
                     return getNetworkUsage();
+                case "response_time":
+                    // 最近1分钟所有接口合并后的p99
+                    Histogram recent = apiLatency.mergedWindow(1, System.currentTimeMillis());
+                    return recent.getTotalCount() > 0 ? recent.getValueAtPercentile(99.0) : 0;
                 case "thread_count":
                     return threadMXBean.getThreadCount();
                 case "error_rate":
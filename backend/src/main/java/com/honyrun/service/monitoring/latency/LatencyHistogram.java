@@ -0,0 +1,275 @@
+package com.honyrun.service.monitoring.latency;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntCountsHistogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * 单个端点或方法的延迟直方图
+ *
+ * 记录路径只有一次HdrHistogram Recorder写入（无锁、不分配对象），失败请求额外累加一次LongAdder，
+ * 可以在每个请求上执行。所有直方图使用相同的取值范围和精度，内存固定且可以直接合并：
+ * - 分钟槽：最近15分钟各一个直方图，用于1m/5m/15m窗口百分位
+ * - 计数槽：最近6小时每分钟的总请求数和违反SLO的请求数，用于多窗口燃烧率
+ * - 累计直方图：启动以来的全部样本，用于发布Micrometer的count/total/max
+ *
+ * 轮转由定时任务调用rotate完成，窗口查询的时间粒度为一次轮转间隔
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 15:00:00
+ * @modified 2025-10-30 17:00:00
+ * @version 1.0.0
+ */
+public final class LatencyHistogram {
+
+    /**
+     * 发布和报告的百分位
+     */
+    public static final double[] PERCENTILES = { 50.0, 90.0, 99.0, 99.9 };
+
+    /**
+     * 百分位窗口（分钟）
+     */
+    public static final int[] WINDOW_MINUTES = { 1, 5, 15 };
+
+    static final long SLOT_MILLIS = 60_000L;
+    static final int HISTOGRAM_SLOTS = 15;
+    static final int COUNTER_SLOTS = 360;
+
+    private final String key;
+    private final long highestTrackableMillis;
+    private final int significantDigits;
+    private final Recorder recorder;
+    private final LongAdder pendingFastFailures = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+
+    private volatile SloTarget target;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    // 以下字段由this保护
+    private Histogram intervalHistogram;
+    private final Histogram cumulative;
+    private final IntCountsHistogram[] slots = new IntCountsHistogram[HISTOGRAM_SLOTS];
+    private final long[] slotMinutes = new long[HISTOGRAM_SLOTS];
+    private final long[] minuteTotals = new long[COUNTER_SLOTS];
+    private final long[] minuteBad = new long[COUNTER_SLOTS];
+    private final long[] counterMinutes = new long[COUNTER_SLOTS];
+    private double cumulativeTotalMillis;
+
+    LatencyHistogram(String key, long highestTrackableMillis, int significantDigits, SloTarget target) {
+        this.key = key;
+        this.highestTrackableMillis = highestTrackableMillis;
+        this.significantDigits = significantDigits;
+        this.target = target;
+        this.recorder = new Recorder(highestTrackableMillis, significantDigits);
+        this.cumulative = new Histogram(highestTrackableMillis, significantDigits);
+        for (int i = 0; i < HISTOGRAM_SLOTS; i++) {
+            slots[i] = new IntCountsHistogram(highestTrackableMillis, significantDigits);
+            slotMinutes[i] = -1;
+        }
+        Arrays.fill(counterMinutes, -1);
+    }
+
+    /**
+     * 记录一次延迟
+     *
+     * @param latencyMillis 延迟毫秒数，超出上限时按上限记录
+     * @param failed        请求是否失败
+     */
+    public void record(long latencyMillis, boolean failed) {
+        recorder.recordValue(latencyMillis < 0 ? 0 : Math.min(latencyMillis, highestTrackableMillis));
+        // 超过阈值的慢请求在轮转时由直方图统计，这里只补记未超时的失败请求
+        if (failed) {
+            failures.increment();
+            if (latencyMillis <= target.thresholdMillis()) {
+                pendingFastFailures.increment();
+            }
+        }
+    }
+
+    /**
+     * 记录一次代表多次调用的采样延迟
+     *
+     * @param latencyMillis 延迟毫秒数，超出上限时按上限记录
+     * @param failed        请求是否失败
+     * @param count         代表的调用次数
+     */
+    public void record(long latencyMillis, boolean failed, long count) {
+        recorder.recordValueWithCount(latencyMillis < 0 ? 0 : Math.min(latencyMillis, highestTrackableMillis), count);
+        if (failed) {
+            failures.add(count);
+            if (latencyMillis <= target.thresholdMillis()) {
+                pendingFastFailures.add(count);
+            }
+        }
+    }
+
+    /**
+     * 把Recorder中的区间样本并入当前分钟槽和计数槽，并刷新发布快照
+     *
+     * @param now 当前时间（毫秒）
+     */
+    synchronized void rotate(long now) {
+        long minute = now / SLOT_MILLIS;
+        intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+        long total = intervalHistogram.getTotalCount();
+        long fastFailures = pendingFastFailures.sumThenReset();
+
+        int slot = (int) (minute % HISTOGRAM_SLOTS);
+        if (slotMinutes[slot] != minute) {
+            slots[slot].reset();
+            slotMinutes[slot] = minute;
+        }
+        int counter = (int) (minute % COUNTER_SLOTS);
+        if (counterMinutes[counter] != minute) {
+            minuteTotals[counter] = 0;
+            minuteBad[counter] = 0;
+            counterMinutes[counter] = minute;
+        }
+
+        if (total > 0) {
+            long slow = total - intervalHistogram.getCountBetweenValues(0, target.thresholdMillis());
+            slots[slot].add(intervalHistogram);
+            cumulative.add(intervalHistogram);
+            cumulativeTotalMillis += intervalHistogram.getMean() * total;
+            minuteTotals[counter] += total;
+            minuteBad[counter] += slow + fastFailures;
+        } else {
+            minuteBad[counter] += fastFailures;
+        }
+
+        Histogram lastMinute = merge(1, minute);
+        double[] percentiles = new double[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            percentiles[i] = lastMinute.getTotalCount() == 0 ? 0.0 : lastMinute.getValueAtPercentile(PERCENTILES[i]);
+        }
+        snapshot = new Snapshot(cumulative.getTotalCount(), cumulativeTotalMillis, cumulative.getMaxValue(),
+                percentiles);
+    }
+
+    /**
+     * 合并最近若干分钟的直方图
+     *
+     * @param minutes 分钟数，不超过15
+     * @param now     当前时间（毫秒）
+     * @return 合并后的直方图副本
+     */
+    public synchronized Histogram window(int minutes, long now) {
+        return merge(minutes, now / SLOT_MILLIS);
+    }
+
+    /**
+     * 计算最近若干分钟的SLO燃烧率
+     * 燃烧率 = 违反SLO的请求比例 / 错误预算，等于1表示恰好在窗口内耗尽按比例分配的预算
+     *
+     * @param minutes 分钟数，不超过360
+     * @param now     当前时间（毫秒）
+     * @return {燃烧率, 总请求数}
+     */
+    public synchronized double[] burnRate(int minutes, long now) {
+        long minute = now / SLOT_MILLIS;
+        long total = 0;
+        long bad = 0;
+        for (int i = 0; i < COUNTER_SLOTS; i++) {
+            if (counterMinutes[i] > minute - minutes && counterMinutes[i] <= minute) {
+                total += minuteTotals[i];
+                bad += minuteBad[i];
+            }
+        }
+        double rate = total == 0 ? 0.0 : ((double) bad / total) / target.errorBudget();
+        return new double[] { rate, total };
+    }
+
+    /**
+     * 生成报告用的描述信息
+     *
+     * @param now 当前时间（毫秒）
+     * @return 描述信息
+     */
+    public Map<String, Object> describe(long now) {
+        Snapshot current = snapshot;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", current.count());
+        result.put("totalTime", current.totalMillis());
+        result.put("averageTime", current.count() == 0 ? 0.0 : current.totalMillis() / current.count());
+        result.put("maxTime", current.max());
+        result.put("failures", failures.sum());
+        for (int minutes : WINDOW_MINUTES) {
+            Histogram histogram = window(minutes, now);
+            Map<String, Object> window = new LinkedHashMap<>();
+            window.put("count", histogram.getTotalCount());
+            for (double percentile : PERCENTILES) {
+                window.put(percentileLabel(percentile),
+                        histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile));
+            }
+            result.put(minutes + "m", window);
+        }
+        SloTarget slo = target;
+        result.put("slo", Map.of("thresholdMillis", slo.thresholdMillis(), "objective", slo.objective()));
+        return result;
+    }
+
+    /**
+     * 百分位标签，如p50、p99、p999
+     *
+     * @param percentile 百分位
+     * @return 标签
+     */
+    public static String percentileLabel(double percentile) {
+        String digits = (percentile == Math.rint(percentile) ? String.valueOf((long) percentile)
+                : String.valueOf(percentile)).replace(".", "");
+        return "p" + digits;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 累计失败次数
+     *
+     * @return 失败次数
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public SloTarget getTarget() {
+        return target;
+    }
+
+    void setTarget(SloTarget target) {
+        this.target = target;
+    }
+
+    /**
+     * 最近一次轮转时的累计快照
+     *
+     * @return 快照
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private Histogram merge(int minutes, long minute) {
+        Histogram merged = new Histogram(highestTrackableMillis, significantDigits);
+        for (int i = 0; i < HISTOGRAM_SLOTS; i++) {
+            if (slotMinutes[i] > minute - minutes && slotMinutes[i] <= minute) {
+                merged.add(slots[i]);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 发布给Micrometer的快照，由轮转线程整体替换
+     */
+    public record Snapshot(long count, double totalMillis, long max, double[] percentiles) {
+        static final Snapshot EMPTY = new Snapshot(0, 0.0, 0, new double[PERCENTILES.length]);
+    }
+}
@@ -0,0 +1,215 @@
+package com.honyrun.service.monitoring.latency;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.HdrHistogram.Histogram;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+
+/**
+ * 一类延迟直方图的注册表，如按端点或按服务方法
+ *
+ * 每个键首次出现时创建LatencyHistogram，并发布为Micrometer分布摘要：
+ * - {meterName}：DISTRIBUTION_SUMMARY类型，包含COUNT/TOTAL/MAX三个统计量
+ * - {meterName}.percentile：以phi标签区分的1分钟窗口百分位Gauge，与Micrometer自带分布摘要的发布形式一致
+ *
+ * Micrometer读取的是轮转时生成的快照，记录路径不经过Micrometer。
+ * 键数量有上限，超出后的样本并入OVERFLOW_KEY，防止路径参数等高基数键耗尽内存
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 15:00:00
+ * @modified 2025-10-30 17:00:00
+ * @version 1.0.0
+ */
+public final class LatencyHistogramRegistry {
+
+    /**
+     * 超出键数量上限后的归并键
+     */
+    public static final String OVERFLOW_KEY = "__overflow__";
+
+    private final String meterName;
+    private final String tagName;
+    private final MeterRegistry meterRegistry;
+    private final int maxKeys;
+    private final long highestTrackableMillis;
+    private final int significantDigits;
+    private final Function<String, SloTarget> targetResolver;
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * @param meterName              Micrometer指标名称
+     * @param tagName                键对应的标签名称
+     * @param meterRegistry          Micrometer注册表，为null时不发布
+     * @param maxKeys                键数量上限
+     * @param highestTrackableMillis 可记录的最大延迟（毫秒）
+     * @param significantDigits      有效位数
+     * @param targetResolver         按键解析SLO目标
+     */
+    public LatencyHistogramRegistry(String meterName, String tagName, MeterRegistry meterRegistry, int maxKeys,
+            long highestTrackableMillis, int significantDigits, Function<String, SloTarget> targetResolver) {
+        this.meterName = meterName;
+        this.tagName = tagName;
+        this.meterRegistry = meterRegistry;
+        this.maxKeys = maxKeys;
+        this.highestTrackableMillis = highestTrackableMillis;
+        this.significantDigits = significantDigits;
+        this.targetResolver = targetResolver;
+    }
+
+    /**
+     * 记录一次延迟
+     *
+     * @param key           端点或方法
+     * @param latencyMillis 延迟毫秒数
+     * @param failed        是否失败
+     */
+    public void record(String key, long latencyMillis, boolean failed) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = create(key);
+        }
+        histogram.record(latencyMillis, failed);
+    }
+
+    /**
+     * 记录一次代表多次调用的采样延迟
+     *
+     * @param key           端点或方法
+     * @param latencyMillis 延迟毫秒数
+     * @param failed        是否失败
+     * @param count         代表的调用次数
+     */
+    public void record(String key, long latencyMillis, boolean failed, long count) {
+        LatencyHistogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histogram = create(key);
+        }
+        histogram.record(latencyMillis, failed, count);
+    }
+
+    /**
+     * 轮转所有直方图
+     *
+     * @param now 当前时间（毫秒）
+     */
+    public void rotate(long now) {
+        for (LatencyHistogram histogram : histograms.values()) {
+            histogram.rotate(now);
+        }
+    }
+
+    /**
+     * 重新解析所有键的SLO目标，在目标配置变更后调用
+     */
+    public void refreshTargets() {
+        histograms.forEach((key, histogram) -> histogram.setTarget(targetResolver.apply(key)));
+    }
+
+    public LatencyHistogram get(String key) {
+        return histograms.get(key);
+    }
+
+    public Collection<LatencyHistogram> getAll() {
+        return histograms.values();
+    }
+
+    /**
+     * 累计记录次数
+     *
+     * @return 次数
+     */
+    public long totalCount() {
+        long total = 0;
+        for (LatencyHistogram histogram : histograms.values()) {
+            total += histogram.getSnapshot().count();
+        }
+        return total;
+    }
+
+    /**
+     * 累计延迟总和（毫秒）
+     *
+     * @return 延迟总和
+     */
+    public double totalMillis() {
+        double total = 0;
+        for (LatencyHistogram histogram : histograms.values()) {
+            total += histogram.getSnapshot().totalMillis();
+        }
+        return total;
+    }
+
+    /**
+     * 累计失败次数
+     *
+     * @return 失败次数
+     */
+    public long totalFailures() {
+        long total = 0;
+        for (LatencyHistogram histogram : histograms.values()) {
+            total += histogram.getFailures();
+        }
+        return total;
+    }
+
+    /**
+     * 合并所有键最近若干分钟的直方图
+     *
+     * @param minutes 分钟数
+     * @param now     当前时间（毫秒）
+     * @return 合并后的直方图
+     */
+    public Histogram mergedWindow(int minutes, long now) {
+        Histogram merged = new Histogram(highestTrackableMillis, significantDigits);
+        for (LatencyHistogram histogram : histograms.values()) {
+            merged.add(histogram.window(minutes, now));
+        }
+        return merged;
+    }
+
+    private LatencyHistogram create(String key) {
+        String effectiveKey = histograms.size() >= maxKeys ? OVERFLOW_KEY : key;
+        LatencyHistogram histogram = histograms.computeIfAbsent(effectiveKey, k -> {
+            LatencyHistogram created = new LatencyHistogram(k, highestTrackableMillis, significantDigits,
+                    targetResolver.apply(k));
+            register(created);
+            return created;
+        });
+        return histogram;
+    }
+
+    private void register(LatencyHistogram histogram) {
+        if (meterRegistry == null) {
+            return;
+        }
+        String key = histogram.getKey();
+        List<Measurement> measurements = List.of(
+                new Measurement(() -> histogram.getSnapshot().count(), Statistic.COUNT),
+                new Measurement(() -> histogram.getSnapshot().totalMillis(), Statistic.TOTAL),
+                new Measurement(() -> histogram.getSnapshot().max(), Statistic.MAX));
+        Meter.builder(meterName, Meter.Type.DISTRIBUTION_SUMMARY, measurements)
+                .tag(tagName, key)
+                .baseUnit("milliseconds")
+                .description("延迟分布")
+                .register(meterRegistry);
+
+        for (int i = 0; i < LatencyHistogram.PERCENTILES.length; i++) {
+            int index = i;
+            Gauge.builder(meterName + ".percentile", histogram, h -> h.getSnapshot().percentiles()[index])
+                    .tag(tagName, key)
+                    .tag("phi", String.valueOf(LatencyHistogram.PERCENTILES[i] / 100.0))
+                    .baseUnit("milliseconds")
+                    .description("最近1分钟延迟百分位")
+                    .register(meterRegistry);
+        }
+    }
+}
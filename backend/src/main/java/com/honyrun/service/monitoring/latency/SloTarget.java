@@ -0,0 +1,50 @@
+package com.honyrun.service.monitoring.latency;
+
+/**
+ * 延迟SLO目标
+ *
+ * 表示"objective比例的请求在thresholdMillis毫秒内成功完成"，
+ * 例如thresholdMillis=500、objective=0.99表示99%的请求应在500ms内成功返回，
+ * 错误预算为1-objective，超时或失败的请求都消耗错误预算
+ *
+ * @param thresholdMillis 延迟阈值（毫秒）
+ * @param objective       达标比例，取值(0, 1)
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 15:00:00
+ * @modified 2025-10-30 15:00:00
+ * @version 1.0.0
+ */
+public record SloTarget(long thresholdMillis, double objective) {
+
+    public SloTarget {
+        if (thresholdMillis <= 0) {
+            throw new IllegalArgumentException("SLO延迟阈值必须大于0: " + thresholdMillis);
+        }
+        if (!(objective > 0 && objective < 1)) {
+            throw new IllegalArgumentException("SLO达标比例必须在(0, 1)之间: " + objective);
+        }
+    }
+
+    /**
+     * 错误预算比例
+     *
+     * @return 1-objective
+     */
+    public double errorBudget() {
+        return 1.0 - objective;
+    }
+
+    /**
+     * 解析"阈值毫秒:达标比例"格式的配置，如"300:0.995"
+     *
+     * @param text 配置文本
+     * @return SLO目标
+     */
+    public static SloTarget parse(String text) {
+        String[] parts = text.trim().split(":");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("SLO目标格式应为 阈值毫秒:达标比例，实际为: " + text);
+        }
+        return new SloTarget(Long.parseLong(parts[0].trim()), Double.parseDouble(parts[1].trim()));
+    }
+}
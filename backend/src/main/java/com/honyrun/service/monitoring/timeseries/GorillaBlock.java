@@ -0,0 +1,287 @@
+package com.honyrun.service.monitoring.timeseries;
+
+import java.util.Arrays;
+
+/**
+ * 压缩时序数据块
+ *
+ * 写满的头部缓冲区封存为不可变的压缩块，编码方式参考Gorilla：
+ * - 时间戳：首个时间戳原样写入64位，之后写入二阶差分(delta-of-delta)，按取值范围使用1/9/12/16/68位变长编码
+ * - 数值：首个数值原样写入64位，之后写入与前值的XOR，复用前一个有效位窗口时只写有效位
+ *
+ * 秒级或毫秒级等间隔采样的时间戳大多压缩为1位，缓慢变化的数值通常压缩到十几位，
+ * 块内同时保存数量、最值、均值和二阶中心矩，时间范围完全覆盖该块的统计查询无需解压
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 10:00:00
+ * @modified 2025-10-30 10:00:00
+ * @version 1.0.0
+ */
+public final class GorillaBlock {
+
+    private final long[] bits;
+    private final int count;
+    private final long minTimestamp;
+    private final long maxTimestamp;
+    private final WindowStats summary;
+
+    private GorillaBlock(long[] bits, int count, long minTimestamp, long maxTimestamp, WindowStats summary) {
+        this.bits = bits;
+        this.count = count;
+        this.minTimestamp = minTimestamp;
+        this.maxTimestamp = maxTimestamp;
+        this.summary = summary;
+    }
+
+    /**
+     * 压缩一段样本
+     *
+     * @param timestamps 时间戳数组（毫秒）
+     * @param values     数值数组
+     * @param count      样本数量
+     * @return 压缩块
+     */
+    public static GorillaBlock encode(long[] timestamps, double[] values, int count) {
+        BitWriter writer = new BitWriter(Math.max(4, count / 2));
+        WindowStats summary = new WindowStats();
+        long minTs = Long.MAX_VALUE;
+        long maxTs = Long.MIN_VALUE;
+
+        long prevTs = 0;
+        long prevDelta = 0;
+        long prevBits = 0;
+        int prevLeading = -1;
+        int prevTrailing = 0;
+
+        for (int i = 0; i < count; i++) {
+            long ts = timestamps[i];
+            double value = values[i];
+            long valueBits = Double.doubleToRawLongBits(value);
+            summary.add(value);
+            minTs = Math.min(minTs, ts);
+            maxTs = Math.max(maxTs, ts);
+
+            if (i == 0) {
+                writer.writeBits(ts, 64);
+                writer.writeBits(valueBits, 64);
+                prevTs = ts;
+                prevBits = valueBits;
+                continue;
+            }
+
+            long delta = ts - prevTs;
+            writeDeltaOfDelta(writer, delta - prevDelta);
+            prevDelta = delta;
+            prevTs = ts;
+
+            long xor = valueBits ^ prevBits;
+            prevBits = valueBits;
+            if (xor == 0) {
+                writer.writeBit(false);
+                continue;
+            }
+            writer.writeBit(true);
+            int leading = Math.min(31, Long.numberOfLeadingZeros(xor));
+            int trailing = Long.numberOfTrailingZeros(xor);
+            if (prevLeading >= 0 && leading >= prevLeading && trailing >= prevTrailing) {
+                writer.writeBit(false);
+                writer.writeBits(xor >>> prevTrailing, 64 - prevLeading - prevTrailing);
+            } else {
+                int significant = 64 - leading - trailing;
+                writer.writeBit(true);
+                writer.writeBits(leading, 5);
+                writer.writeBits(significant - 1, 6);
+                writer.writeBits(xor >>> trailing, significant);
+                prevLeading = leading;
+                prevTrailing = trailing;
+            }
+        }
+        return new GorillaBlock(writer.toArray(), count, minTs, maxTs, summary);
+    }
+
+    /**
+     * 顺序解压并回调每个样本
+     *
+     * @param consumer 样本消费者
+     */
+    public void forEach(SampleConsumer consumer) {
+        if (count == 0) {
+            return;
+        }
+        BitReader reader = new BitReader(bits);
+        long ts = reader.readBits(64);
+        long valueBits = reader.readBits(64);
+        consumer.accept(ts, Double.longBitsToDouble(valueBits));
+
+        long delta = 0;
+        int leading = 0;
+        int trailing = 0;
+        for (int i = 1; i < count; i++) {
+            delta += readDeltaOfDelta(reader);
+            ts += delta;
+
+            if (reader.readBit()) {
+                if (reader.readBit()) {
+                    leading = (int) reader.readBits(5);
+                    int significant = (int) reader.readBits(6) + 1;
+                    trailing = 64 - leading - significant;
+                }
+                valueBits ^= reader.readBits(64 - leading - trailing) << trailing;
+            }
+            consumer.accept(ts, Double.longBitsToDouble(valueBits));
+        }
+    }
+
+    /**
+     * 块内样本数量
+     *
+     * @return 样本数量
+     */
+    public int getCount() {
+        return count;
+    }
+
+    public long getMinTimestamp() {
+        return minTimestamp;
+    }
+
+    public long getMaxTimestamp() {
+        return maxTimestamp;
+    }
+
+    /**
+     * 块内样本的预计算统计量
+     *
+     * @return 统计量，调用方不得修改
+     */
+    public WindowStats getSummary() {
+        return summary;
+    }
+
+    /**
+     * 估算块占用的堆内存字节数
+     *
+     * @return 字节数
+     */
+    public long estimateBytes() {
+        return 16L + (long) bits.length * Long.BYTES + 48L + WindowStats.ESTIMATED_BYTES;
+    }
+
+    // ==================== 二阶差分编码 ====================
+
+    private static void writeDeltaOfDelta(BitWriter writer, long dod) {
+        if (dod == 0) {
+            writer.writeBit(false);
+        } else if (dod >= -63 && dod <= 64) {
+            writer.writeBits(0b10, 2);
+            writer.writeBits(dod + 63, 7);
+        } else if (dod >= -255 && dod <= 256) {
+            writer.writeBits(0b110, 3);
+            writer.writeBits(dod + 255, 9);
+        } else if (dod >= -2047 && dod <= 2048) {
+            writer.writeBits(0b1110, 4);
+            writer.writeBits(dod + 2047, 12);
+        } else {
+            writer.writeBits(0b1111, 4);
+            writer.writeBits(dod, 64);
+        }
+    }
+
+    private static long readDeltaOfDelta(BitReader reader) {
+        if (!reader.readBit()) {
+            return 0;
+        }
+        if (!reader.readBit()) {
+            return reader.readBits(7) - 63;
+        }
+        if (!reader.readBit()) {
+            return reader.readBits(9) - 255;
+        }
+        if (!reader.readBit()) {
+            return reader.readBits(12) - 2047;
+        }
+        return reader.readBits(64);
+    }
+
+    // ==================== 位流读写 ====================
+
+    /**
+     * 按高位优先写入long数组的位流
+     */
+    static final class BitWriter {
+
+        private long[] words;
+        private int position;
+
+        BitWriter(int initialWords) {
+            this.words = new long[initialWords];
+        }
+
+        void writeBit(boolean bit) {
+            writeBits(bit ? 1L : 0L, 1);
+        }
+
+        void writeBits(long value, int bitCount) {
+            if (bitCount == 0) {
+                return;
+            }
+            if (bitCount < 64) {
+                value &= (1L << bitCount) - 1;
+            }
+            int index = position >>> 6;
+            if (index + 2 > words.length) {
+                words = Arrays.copyOf(words, Math.max(words.length * 2, index + 2));
+            }
+            int free = 64 - (position & 63);
+            if (bitCount <= free) {
+                words[index] |= value << (free - bitCount);
+            } else {
+                int spill = bitCount - free;
+                words[index] |= value >>> spill;
+                words[index + 1] |= value << (64 - spill);
+            }
+            position += bitCount;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(words, (position + 63) >>> 6);
+        }
+    }
+
+    /**
+     * 按高位优先读取long数组的位流
+     */
+    static final class BitReader {
+
+        private final long[] words;
+        private int position;
+
+        BitReader(long[] words) {
+            this.words = words;
+        }
+
+        boolean readBit() {
+            return readBits(1) != 0;
+        }
+
+        long readBits(int bitCount) {
+            if (bitCount == 0) {
+                return 0L;
+            }
+            int index = position >>> 6;
+            int offset = position & 63;
+            int free = 64 - offset;
+            long result;
+            if (bitCount <= free) {
+                result = (words[index] << offset) >>> (64 - bitCount);
+            } else {
+                int spill = bitCount - free;
+                long high = (words[index] << offset) >>> offset;
+                long low = words[index + 1] >>> (64 - spill);
+                result = (high << spill) | low;
+            }
+            position += bitCount;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.honyrun.service.monitoring.timeseries;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.DataFormatException;
+
+import org.HdrHistogram.DoubleHistogram;
+import org.HdrHistogram.DoubleRecorder;
+
+/**
+ * 分段百分位直方图
+ *
+ * 记录端使用HdrHistogram的DoubleRecorder，多线程并发记录无锁且不分配对象；
+ * 由存储组件定期轮转出区间直方图并压缩保存为字节数组，按时间范围查询时只解压并合并重叠的区间，
+ * 百分位数精度由有效位数决定，与样本数量无关
+ *
+ * 已轮转的区间保存在不可变快照中，轮转和清理构造新快照后以CAS发布，查询只读取一次快照，
+ * 不轮转也不与写入方共用锁。查询范围截止到当前区间的起点，最新一个轮转间隔内的样本在下一次轮转后可见
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 10:00:00
+ * @modified 2025-10-30 10:00:00
+ * @version 1.0.0
+ */
+final class HistogramRing {
+
+    private static final Interval[] NO_INTERVALS = new Interval[0];
+
+    private final int significantDigits;
+    private final int maxIntervals;
+    private final DoubleRecorder recorder;
+
+    private final AtomicReference<Slots> slots;
+
+    HistogramRing(int significantDigits, int maxIntervals, long now) {
+        this.significantDigits = significantDigits;
+        this.maxIntervals = maxIntervals;
+        this.recorder = new DoubleRecorder(significantDigits);
+        this.slots = new AtomicReference<>(new Slots(NO_INTERVALS, now, 0L));
+    }
+
+    /**
+     * 记录一个非负数值
+     *
+     * @param value 数值
+     * @return 是否记录成功，超出动态范围时返回false
+     */
+    boolean record(double value) {
+        try {
+            recorder.recordValue(value);
+            return true;
+        } catch (ArrayIndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 轮转当前区间，由定时轮转任务单线程调用
+     *
+     * @param now 当前时间（毫秒）
+     */
+    void rotate(long now) {
+        DoubleHistogram histogram = recorder.getIntervalHistogram();
+        byte[] encoded = null;
+        if (histogram.getTotalCount() > 0) {
+            ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+            int length = histogram.encodeIntoCompressedByteBuffer(buffer, 1);
+            encoded = new byte[length];
+            buffer.flip();
+            buffer.get(encoded);
+        }
+        byte[] rotated = encoded;
+        slots.updateAndGet(current -> current.append(rotated, now, maxIntervals));
+    }
+
+    /**
+     * 合并与时间范围重叠的已轮转区间直方图
+     *
+     * @param from 起始时间（毫秒，含）
+     * @param to   结束时间（毫秒，含），超过当前区间起点的部分尚未轮转，不参与合并
+     * @return 合并后的直方图，无数据时返回null
+     */
+    DoubleHistogram merge(long from, long to) {
+        Slots snapshot = slots.get();
+        long end = Math.min(to, snapshot.currentStart);
+        DoubleHistogram merged = null;
+        for (Interval interval : snapshot.intervals) {
+            if (interval.end < from || interval.start > end) {
+                continue;
+            }
+            DoubleHistogram histogram = interval.decode();
+            if (histogram == null) {
+                continue;
+            }
+            if (merged == null) {
+                merged = new DoubleHistogram(significantDigits);
+            }
+            merged.add(histogram);
+        }
+        return merged;
+    }
+
+    /**
+     * 丢弃结束时间早于截止时间的区间
+     *
+     * @param cutoff 截止时间（毫秒）
+     */
+    void dropBefore(long cutoff) {
+        slots.updateAndGet(current -> current.dropBefore(cutoff));
+    }
+
+    long estimateBytes() {
+        Slots snapshot = slots.get();
+        return snapshot.compressedBytes + (long) snapshot.intervals.length * 48L;
+    }
+
+    /**
+     * 已轮转区间的不可变快照，按时间先后排列
+     */
+    private record Slots(Interval[] intervals, long currentStart, long compressedBytes) {
+
+        Slots append(byte[] encoded, long now, int maxIntervals) {
+            if (encoded == null) {
+                return new Slots(intervals, now, compressedBytes);
+            }
+            int keepFrom = Math.max(0, intervals.length + 1 - maxIntervals);
+            long bytes = compressedBytes + encoded.length;
+            for (int i = 0; i < keepFrom; i++) {
+                bytes -= intervals[i].encoded.length;
+            }
+            Interval[] next = Arrays.copyOfRange(intervals, keepFrom, intervals.length + 1);
+            next[next.length - 1] = new Interval(currentStart, now, encoded);
+            return new Slots(next, now, bytes);
+        }
+
+        Slots dropBefore(long cutoff) {
+            int keepFrom = 0;
+            long bytes = compressedBytes;
+            while (keepFrom < intervals.length && intervals[keepFrom].end < cutoff) {
+                bytes -= intervals[keepFrom].encoded.length;
+                keepFrom++;
+            }
+            return keepFrom == 0 ? this
+                    : new Slots(Arrays.copyOfRange(intervals, keepFrom, intervals.length), currentStart, bytes);
+        }
+    }
+
+    private record Interval(long start, long end, byte[] encoded) {
+
+        DoubleHistogram decode() {
+            try {
+                return DoubleHistogram.decodeFromCompressedByteBuffer(ByteBuffer.wrap(encoded), 2);
+            } catch (DataFormatException e) {
+                return null;
+            }
+        }
+    }
+}
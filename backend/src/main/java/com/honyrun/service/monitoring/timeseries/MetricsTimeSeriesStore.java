@@ -0,0 +1,154 @@
+package com.honyrun.service.monitoring.timeseries;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.honyrun.util.LoggingUtil;
+
+/**
+ * 内嵌指标时序存储
+ *
+ * 按指标名称管理TimeSeries，替代以ArrayList保存MetricData对象的内存缓存：
+ * - 样本以原始类型数组保存，写满一个块后压缩，单个样本通常只占2-4字节
+ * - 每个指标的压缩块数量有上限，超出后淘汰最旧的块，内存占用可预估
+ * - 百分位数由HDR直方图给出，查询开销与样本数量无关
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 10:00:00
+ * @modified 2025-10-30 10:00:00
+ * @version 1.0.0
+ */
+@Component
+public class MetricsTimeSeriesStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsTimeSeriesStore.class);
+
+    @Value("${honyrun.monitoring.timeseries.block-size:1024}")
+    private int blockSize;
+
+    @Value("${honyrun.monitoring.timeseries.max-blocks-per-series:1024}")
+    private int maxBlocksPerSeries;
+
+    @Value("${honyrun.monitoring.timeseries.histogram-significant-digits:2}")
+    private int histogramSignificantDigits;
+
+    @Value("${honyrun.monitoring.timeseries.histogram-max-intervals:1440}")
+    private int histogramMaxIntervals;
+
+    private final Map<String, TimeSeries> series = new ConcurrentHashMap<>();
+
+    /**
+     * 追加样本
+     *
+     * @param metricName 指标名称
+     * @param timestamp  时间戳（毫秒）
+     * @param value      数值
+     * @param tags       标签，仅保留最近一次
+     */
+    public void append(String metricName, long timestamp, double value, Map<String, String> tags) {
+        TimeSeries timeSeries = series.get(metricName);
+        if (timeSeries == null) {
+            timeSeries = series.computeIfAbsent(metricName, this::createSeries);
+        }
+        timeSeries.updateTags(tags);
+        timeSeries.append(timestamp, value);
+    }
+
+    /**
+     * 获取指标时序
+     *
+     * @param metricName 指标名称
+     * @return 时序数据，不存在时返回null
+     */
+    public TimeSeries get(String metricName) {
+        return series.get(metricName);
+    }
+
+    public Collection<String> getMetricNames() {
+        return series.keySet();
+    }
+
+    public Collection<TimeSeries> getAllSeries() {
+        return series.values();
+    }
+
+    public int size() {
+        return series.size();
+    }
+
+    /**
+     * 清理过期数据
+     *
+     * @param cutoff 截止时间（毫秒）
+     * @return 清理的样本数量
+     */
+    public long dropBefore(long cutoff) {
+        long dropped = 0;
+        for (TimeSeries timeSeries : series.values()) {
+            dropped += timeSeries.dropBefore(cutoff);
+        }
+        return dropped;
+    }
+
+    /**
+     * 清空所有时序
+     */
+    public void clear() {
+        series.clear();
+    }
+
+    /**
+     * 定期轮转百分位直方图区间，轮转间隔即百分位查询的时间粒度
+     */
+    @Scheduled(fixedDelayString = "#{${honyrun.monitoring.timeseries.histogram-interval:60000}}")
+    public void rotateHistograms() {
+        long now = System.currentTimeMillis();
+        for (TimeSeries timeSeries : series.values()) {
+            timeSeries.rotateHistogram(now);
+        }
+    }
+
+    /**
+     * 获取存储统计信息
+     *
+     * @return 统计信息
+     */
+    public Map<String, Object> getStatistics() {
+        long retained = 0;
+        long appended = 0;
+        long evicted = 0;
+        long bytes = 0;
+        int blocks = 0;
+        for (TimeSeries timeSeries : series.values()) {
+            retained += timeSeries.getRetainedSamples();
+            appended += timeSeries.getTotalAppended();
+            evicted += timeSeries.getEvictedSamples();
+            bytes += timeSeries.estimateBytes();
+            blocks += timeSeries.getBlockCount();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("seriesCount", series.size());
+        stats.put("blockCount", blocks);
+        stats.put("retainedSamples", retained);
+        stats.put("appendedSamples", appended);
+        stats.put("evictedSamples", evicted);
+        stats.put("estimatedBytes", bytes);
+        stats.put("bytesPerSample", retained == 0 ? 0.0 : (double) bytes / retained);
+        return stats;
+    }
+
+    private TimeSeries createSeries(String metricName) {
+        LoggingUtil.debug(logger, "创建指标时序: {}", metricName);
+        HistogramRing histograms = new HistogramRing(histogramSignificantDigits, histogramMaxIntervals,
+                System.currentTimeMillis());
+        return new TimeSeries(metricName, Math.max(16, blockSize), Math.max(1, maxBlocksPerSeries), histograms);
+    }
+}
@@ -0,0 +1,22 @@
+package com.honyrun.service.monitoring.timeseries;
+
+/**
+ * 时序样本消费者
+ * 以原始类型回调时间戳和数值，遍历压缩块和头部缓冲区时不产生装箱对象
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 10:00:00
+ * @modified 2025-10-30 10:00:00
+ * @version 1.0.0
+ */
+@FunctionalInterface
+public interface SampleConsumer {
+
+    /**
+     * 消费一个样本
+     *
+     * @param timestamp 时间戳（毫秒）
+     * @param value     数值
+     */
+    void accept(long timestamp, double value);
+}
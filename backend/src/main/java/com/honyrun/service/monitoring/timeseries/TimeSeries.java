@@ -0,0 +1,365 @@
+package com.honyrun.service.monitoring.timeseries;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.HdrHistogram.DoubleHistogram;
+
+import reactor.util.concurrent.Queues;
+
+/**
+ * 单个指标的时序数据
+ *
+ * 存储结构：
+ * - 头部缓冲区：原始类型的long[]时间戳和double[]数值数组，追加后以volatile计数发布
+ * - 压缩块：头部写满后封存为GorillaBlock，保存在有上限的数组中，超出上限时淘汰最旧的块
+ * - 百分位直方图：非负样本同时记录到HistogramRing，用于百分位查询
+ *
+ * 写入采用单写者模型：抢到写者标记的线程直接追加，未抢到的线程把样本放入MPSC队列后离开，
+ * 由当前写者在释放标记前代为追加，写入路径不加锁也不阻塞。
+ * 读取方一次读取不可变的State快照，压缩块和头部缓冲区的已发布部分在快照内保持一致
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 10:00:00
+ * @modified 2025-10-30 10:00:00
+ * @version 1.0.0
+ */
+public final class TimeSeries {
+
+    private static final GorillaBlock[] NO_BLOCKS = new GorillaBlock[0];
+
+    private final String name;
+    private final int blockSize;
+    private final int maxBlocks;
+    private final HistogramRing histograms;
+
+    private final AtomicBoolean writing = new AtomicBoolean();
+    private final Queue<PendingSample> pending = Queues.<PendingSample>unboundedMultiproducer().get();
+
+    private volatile State state;
+    private volatile Map<String, String> tags = Map.of();
+    private volatile boolean exactPercentiles;
+
+    /**
+     * 仅由写者修改
+     */
+    private volatile long totalAppended;
+    private volatile long evictedSamples;
+
+    TimeSeries(String name, int blockSize, int maxBlocks, HistogramRing histograms) {
+        this.name = name;
+        this.blockSize = blockSize;
+        this.maxBlocks = maxBlocks;
+        this.histograms = histograms;
+        this.state = new State(NO_BLOCKS, new Head(blockSize));
+    }
+
+    // ==================== 写入 ====================
+
+    /**
+     * 追加一个样本
+     *
+     * @param timestamp 时间戳（毫秒）
+     * @param value     数值
+     */
+    public void append(long timestamp, double value) {
+        if (!exactPercentiles && !(value >= 0 && value < Double.POSITIVE_INFINITY && histograms.record(value))) {
+            // 直方图只接受有限的非负数值，出现其他数值后百分位改为按原始样本精确计算
+            exactPercentiles = true;
+        }
+        if (writing.compareAndSet(false, true)) {
+            try {
+                appendExclusive(timestamp, value);
+                drainPending();
+            } finally {
+                writing.set(false);
+            }
+        } else {
+            pending.offer(new PendingSample(timestamp, value));
+        }
+        helpDrain();
+    }
+
+    /**
+     * 更新指标标签，仅保留最近一次的标签
+     *
+     * @param tags 标签
+     */
+    void updateTags(Map<String, String> tags) {
+        if (tags != null && !tags.equals(this.tags)) {
+            this.tags = Map.copyOf(tags);
+        }
+    }
+
+    /**
+     * 丢弃最大时间戳早于截止时间的压缩块
+     * 头部缓冲区中的过期样本随下一次封存一起淘汰，查询时按时间范围过滤
+     *
+     * @param cutoff 截止时间（毫秒）
+     * @return 丢弃的样本数量
+     */
+    long dropBefore(long cutoff) {
+        histograms.dropBefore(cutoff);
+        while (!writing.compareAndSet(false, true)) {
+            Thread.onSpinWait();
+        }
+        try {
+            State current = state;
+            GorillaBlock[] blocks = current.blocks;
+            int keepFrom = 0;
+            long dropped = 0;
+            while (keepFrom < blocks.length && blocks[keepFrom].getMaxTimestamp() < cutoff) {
+                dropped += blocks[keepFrom].getCount();
+                keepFrom++;
+            }
+            if (keepFrom > 0) {
+                state = new State(Arrays.copyOfRange(blocks, keepFrom, blocks.length), current.head);
+                evictedSamples += dropped;
+            }
+            return dropped;
+        } finally {
+            writing.set(false);
+            helpDrain();
+        }
+    }
+
+    void rotateHistogram(long now) {
+        histograms.rotate(now);
+    }
+
+    private void helpDrain() {
+        while (!pending.isEmpty() && writing.compareAndSet(false, true)) {
+            try {
+                drainPending();
+            } finally {
+                writing.set(false);
+            }
+        }
+    }
+
+    private void drainPending() {
+        PendingSample sample;
+        while ((sample = pending.poll()) != null) {
+            appendExclusive(sample.timestamp, sample.value);
+        }
+    }
+
+    private void appendExclusive(long timestamp, double value) {
+        Head head = state.head;
+        int index = head.count;
+        head.timestamps[index] = timestamp;
+        head.values[index] = value;
+        head.count = index + 1;
+        totalAppended++;
+        if (index + 1 == blockSize) {
+            seal(head);
+        }
+    }
+
+    private void seal(Head head) {
+        GorillaBlock block = GorillaBlock.encode(head.timestamps, head.values, head.count);
+        GorillaBlock[] blocks = state.blocks;
+        GorillaBlock[] next;
+        if (blocks.length < maxBlocks) {
+            next = Arrays.copyOf(blocks, blocks.length + 1);
+        } else {
+            evictedSamples += blocks[0].getCount();
+            next = Arrays.copyOfRange(blocks, 1, blocks.length + 1);
+        }
+        next[next.length - 1] = block;
+        state = new State(next, new Head(blockSize));
+    }
+
+    // ==================== 查询 ====================
+
+    /**
+     * 按追加顺序遍历时间范围内的样本
+     *
+     * @param from     起始时间（毫秒，含）
+     * @param to       结束时间（毫秒，含）
+     * @param consumer 样本消费者
+     */
+    public void scan(long from, long to, SampleConsumer consumer) {
+        State snapshot = state;
+        SampleConsumer filter = (ts, value) -> {
+            if (ts >= from && ts <= to) {
+                consumer.accept(ts, value);
+            }
+        };
+        for (GorillaBlock block : snapshot.blocks) {
+            if (block.getMaxTimestamp() >= from && block.getMinTimestamp() <= to) {
+                block.forEach(filter);
+            }
+        }
+        Head head = snapshot.head;
+        int count = head.count;
+        for (int i = 0; i < count; i++) {
+            filter.accept(head.timestamps[i], head.values[i]);
+        }
+    }
+
+    /**
+     * 统计时间范围内的样本
+     * 完全落在范围内的压缩块直接合并预计算统计量
+     *
+     * @param from 起始时间（毫秒，含）
+     * @param to   结束时间（毫秒，含）
+     * @return 统计量
+     */
+    public WindowStats stats(long from, long to) {
+        State snapshot = state;
+        WindowStats stats = new WindowStats();
+        SampleConsumer filter = (ts, value) -> {
+            if (ts >= from && ts <= to) {
+                stats.add(value);
+            }
+        };
+        for (GorillaBlock block : snapshot.blocks) {
+            if (block.getMaxTimestamp() < from || block.getMinTimestamp() > to) {
+                continue;
+            }
+            if (block.getMinTimestamp() >= from && block.getMaxTimestamp() <= to) {
+                stats.merge(block.getSummary());
+            } else {
+                block.forEach(filter);
+            }
+        }
+        Head head = snapshot.head;
+        int count = head.count;
+        for (int i = 0; i < count; i++) {
+            filter.accept(head.timestamps[i], head.values[i]);
+        }
+        return stats;
+    }
+
+    /**
+     * 计算时间范围内的百分位数
+     * 默认使用HDR直方图；出现过负数或超出动态范围的数值时改为对原始样本排序
+     *
+     * @param percentiles 百分位（0-100）
+     * @param from        起始时间（毫秒，含）
+     * @param to          结束时间（毫秒，含）
+     * @return 与percentiles一一对应的百分位数，无数据时为null
+     */
+    public double[] percentiles(double[] percentiles, long from, long to) {
+        double[] result = new double[percentiles.length];
+        if (!exactPercentiles) {
+            DoubleHistogram histogram = histograms.merge(from, to);
+            if (histogram == null || histogram.getTotalCount() == 0) {
+                return null;
+            }
+            for (int i = 0; i < percentiles.length; i++) {
+                result[i] = histogram.getValueAtPercentile(percentiles[i]);
+            }
+            return result;
+        }
+
+        SampleBuffer buffer = new SampleBuffer();
+        scan(from, to, buffer);
+        if (buffer.size == 0) {
+            return null;
+        }
+        double[] sorted = Arrays.copyOf(buffer.values, buffer.size);
+        Arrays.sort(sorted);
+        for (int i = 0; i < percentiles.length; i++) {
+            int index = (int) Math.ceil(percentiles[i] / 100.0 * sorted.length) - 1;
+            result[i] = sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+        return result;
+    }
+
+    // ==================== 状态 ====================
+
+    public String getName() {
+        return name;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * 当前保留的样本数量
+     *
+     * @return 样本数量
+     */
+    public long getRetainedSamples() {
+        State snapshot = state;
+        long retained = snapshot.head.count;
+        for (GorillaBlock block : snapshot.blocks) {
+            retained += block.getCount();
+        }
+        return retained;
+    }
+
+    public long getTotalAppended() {
+        return totalAppended;
+    }
+
+    public long getEvictedSamples() {
+        return evictedSamples;
+    }
+
+    public int getBlockCount() {
+        return state.blocks.length;
+    }
+
+    /**
+     * 估算占用的堆内存字节数，包括头部缓冲区、压缩块和直方图区间
+     *
+     * @return 字节数
+     */
+    public long estimateBytes() {
+        State snapshot = state;
+        long bytes = (long) blockSize * (Long.BYTES + Double.BYTES) + 64L;
+        for (GorillaBlock block : snapshot.blocks) {
+            bytes += block.estimateBytes();
+        }
+        return bytes + histograms.estimateBytes();
+    }
+
+    // ==================== 内部类 ====================
+
+    /**
+     * 不可变快照：压缩块数组在封存和清理时整体替换
+     */
+    private record State(GorillaBlock[] blocks, Head head) {
+    }
+
+    /**
+     * 头部缓冲区，数组元素先于count写入，读取方只读取count以内的元素
+     */
+    private static final class Head {
+
+        final long[] timestamps;
+        final double[] values;
+        volatile int count;
+
+        Head(int capacity) {
+            this.timestamps = new long[capacity];
+            this.values = new double[capacity];
+        }
+    }
+
+    private record PendingSample(long timestamp, double value) {
+    }
+
+    /**
+     * 按需扩容的原始类型数值缓冲
+     */
+    private static final class SampleBuffer implements SampleConsumer {
+
+        double[] values = new double[256];
+        int size;
+
+        @Override
+        public void accept(long timestamp, double value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+    }
+}
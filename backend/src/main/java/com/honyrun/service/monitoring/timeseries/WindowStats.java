@@ -0,0 +1,104 @@
+package com.honyrun.service.monitoring.timeseries;
+
+/**
+ * 时间窗口统计量累加器
+ *
+ * 以Welford算法在线累加均值和二阶中心矩，多个分段的结果按Chan并行公式合并，
+ * 压缩块保存各自的统计量，查询时完全落在时间范围内的块直接合并，无需解压
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-30 10:00:00
+ * @modified 2025-10-30 10:00:00
+ * @version 1.0.0
+ */
+public final class WindowStats implements SampleConsumer {
+
+    /**
+     * 单个实例的估算堆内存字节数
+     */
+    static final long ESTIMATED_BYTES = 56L;
+
+    private long count;
+    private double mean;
+    private double m2;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    @Override
+    public void accept(long timestamp, double value) {
+        add(value);
+    }
+
+    /**
+     * 累加一个数值
+     *
+     * @param value 数值
+     */
+    public void add(double value) {
+        count++;
+        double delta = value - mean;
+        mean += delta / count;
+        m2 += delta * (value - mean);
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * 合并另一段的统计量
+     *
+     * @param other 另一段统计量
+     */
+    public void merge(WindowStats other) {
+        if (other.count == 0) {
+            return;
+        }
+        if (count == 0) {
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            sum = other.sum;
+            min = other.min;
+            max = other.max;
+            return;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0.0 : mean;
+    }
+
+    public double getMin() {
+        return count == 0 ? 0.0 : min;
+    }
+
+    public double getMax() {
+        return count == 0 ? 0.0 : max;
+    }
+
+    /**
+     * 总体标准差
+     *
+     * @return 标准差
+     */
+    public double getStandardDeviation() {
+        return count == 0 ? 0.0 : Math.sqrt(Math.max(0.0, m2 / count));
+    }
+}
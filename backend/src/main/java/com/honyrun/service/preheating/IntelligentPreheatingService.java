@@ -23,6 +23,7 @@ import org.springframework.stereotype.Service;
 import jakarta.annotation.PostConstruct;
 
 import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.scheduler.coordination.DistributedJobCoordinator;
 import com.honyrun.service.cache.CacheConsistencyService;
 import com.honyrun.service.monitoring.PreheatingMetricsService;
 import com.honyrun.util.LoggingUtil;
@@ -71,6 +72,7 @@ public class IntelligentPreheatingService {
     private final ReactiveRedisTemplate<String, Object> unifiedRedisTemplate;
     private final ReactiveRedisTemplate<String, Object> prodRedisTemplate;
     private final UnifiedConfigManager unifiedConfigManager;
+    private final DistributedJobCoordinator jobCoordinator;
 
     /**
      * 构造函数注入依赖
@@ -80,6 +82,7 @@ public class IntelligentPreheatingService {
      * @param unifiedRedisTemplate      统一Redis模板
      * @param prodRedisTemplate         生产Redis模板
      * @param unifiedConfigManager      统一配置管理器
+     * @param jobCoordinator            分布式定时任务协调器
      * @author Mr.Rey Copyright © 2025
      * @created 2025-10-26 01:36:12
      * @modified 2025-10-26 01:36:12
@@ -89,12 +92,14 @@ public class IntelligentPreheatingService {
             PreheatingMetricsService preheatingMetricsService,
             @Qualifier("unifiedReactiveRedisTemplate") ReactiveRedisTemplate<String, Object> unifiedRedisTemplate,
             @Qualifier("prodReactiveRedisTemplate") ReactiveRedisTemplate<String, Object> prodRedisTemplate,
-            UnifiedConfigManager unifiedConfigManager) {
+            UnifiedConfigManager unifiedConfigManager,
+            DistributedJobCoordinator jobCoordinator) {
         this.cacheConsistencyService = cacheConsistencyService;
         this.preheatingMetricsService = preheatingMetricsService;
         this.unifiedRedisTemplate = unifiedRedisTemplate;
         this.prodRedisTemplate = prodRedisTemplate;
         this.unifiedConfigManager = unifiedConfigManager;
+        this.jobCoordinator = jobCoordinator;
     }
 
     // 预热策略配置
@@ -587,15 +592,18 @@ public class IntelligentPreheatingService {
 
     /**
      * 定时执行智能预热
+     * 预热写入共享的Redis，集群内只由获得租约的节点执行
      */
     @Scheduled(fixedRate = 1800000) // 每30分钟执行一次
     public void scheduledIntelligentPreheating() {
         LoggingUtil.info(logger, "开始定时智能预热");
 
         try {
-            executeIntelligentPreheating("scheduled").subscribe(
-                    result -> LoggingUtil.info(logger, "定时预热完成 - 成功: {}", result.isSuccess()),
-                    error -> LoggingUtil.error(logger, "定时预热失败", error));
+            jobCoordinator.runSingleton("intelligent-preheating", context -> executeIntelligentPreheating("scheduled")
+                    .doOnNext(result -> LoggingUtil.info(logger, "定时预热完成 - 成功: {}", result.isSuccess())))
+                    .subscribe(
+                            run -> LoggingUtil.debug(logger, "定时预热运行记录: {}", run),
+                            error -> LoggingUtil.error(logger, "定时预热失败", error));
         } catch (Exception e) {
             LoggingUtil.error(logger, "定时智能预热执行失败", e);
         }
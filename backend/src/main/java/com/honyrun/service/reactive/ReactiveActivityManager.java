@@ -1,6 +1,7 @@
 package com.honyrun.service.reactive;
 
 import com.honyrun.model.dto.reactive.ReactiveActiveActivity;
+import com.honyrun.model.entity.system.ConcurrentUserStats;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -26,7 +27,7 @@ import reactor.core.publisher.Mono;
  * @author Mr.Rey
  * @version 2.0.0
  * @created 2025-07-01 10:30:00
- * @modified 2025-07-01 10:30:00
+ * @modified 2025-11-04 20:00:00
  * Copyright © 2025 HonyRun. All rights reserved.
  */
 public interface ReactiveActivityManager {
@@ -178,5 +179,22 @@ public interface ReactiveActivityManager {
      * @return 移除结果的Mono包装
      */
     Mono<Boolean> removeFromUserActivityIndex(Long userId, String activityId);
-}
 
+    /**
+     * 按令牌释放用户会话，用户登出时调用
+     *
+     * @param userId 用户ID
+     * @param tokenId 令牌
+     * @return 是否释放了会话
+     */
+    Mono<Boolean> releaseSessionByToken(Long userId, String tokenId);
+
+    /**
+     * 获取并发用户快照
+     *
+     * 在线用户数、会话数与峰值直接从会话索引读取，不扫描会话记录
+     *
+     * @return 并发用户快照
+     */
+    Mono<ConcurrentUserStats> getConcurrentUserSnapshot();
+}
@@ -4,6 +4,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.util.Map;
+import java.util.function.Function;
 
 /**
  * 响应式错误恢复服务接口
@@ -28,7 +29,7 @@ import java.util.Map;
  * @author Mr.Rey
  * @version 2.0.0
  * @created 2025-07-01 16:57:03
- * @modified 2025-07-01 16:57:03
+ * @modified 2025-10-31 14:00:00
  * Copyright © 2025 HonyRun. All rights reserved.
  */
 public interface ReactiveErrorRecoveryService {
@@ -102,6 +103,58 @@ public interface ReactiveErrorRecoveryService {
      */
     <T> Mono<T> activateCircuitBreaker(String operationName, Throwable error);
 
+    // ==================== 熔断与舱壁方法 ====================
+
+    /**
+     * 在依赖的熔断器和舱壁保护下执行操作
+     *
+     * 熔断打开或舱壁已满时立即以CallNotPermittedException失败，不会到达依赖；
+     * 可重试的失败按依赖类型的策略重试，每次尝试都重新经过熔断器和舱壁
+     *
+     * @param dependency 依赖名称：mysql、redis、image等
+     * @param operationName 操作名称
+     * @param operation 需要保护的操作
+     * @param <T> 操作返回类型
+     * @return 受保护的操作结果
+     */
+    <T> Mono<T> executeWithProtection(String dependency, String operationName, Mono<T> operation);
+
+    /**
+     * 在依赖的熔断器和舱壁保护下执行操作，失败或被拒绝时进入降级
+     *
+     * @param dependency 依赖名称：mysql、redis、image等
+     * @param operationName 操作名称
+     * @param operation 需要保护的操作
+     * @param fallback 降级逻辑，参数为最终的失败原因
+     * @param <T> 操作返回类型
+     * @return 受保护的操作结果或降级结果
+     */
+    <T> Mono<T> executeWithProtection(String dependency, String operationName, Mono<T> operation,
+                                      Function<Throwable, Mono<T>> fallback);
+
+    /**
+     * 获取所有依赖的熔断器和舱壁状态
+     *
+     * @return 依赖名称 -> 状态
+     */
+    Map<String, Object> getCircuitBreakerStates();
+
+    /**
+     * 手动切换熔断器状态
+     *
+     * @param dependency 依赖名称
+     * @param open true强制打开，false强制关闭并清空统计窗口
+     */
+    void changeCircuitBreakerState(String dependency, boolean open);
+
+    /**
+     * 运行时调整依赖的舱壁并发上限
+     *
+     * @param dependency 依赖名称
+     * @param maxConcurrentCalls 最大并发调用数
+     */
+    void changeBulkheadLimit(String dependency, int maxConcurrentCalls);
+
     // ==================== 恢复统计方法 ====================
 
     /**
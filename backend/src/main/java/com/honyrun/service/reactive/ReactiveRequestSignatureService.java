@@ -3,6 +3,8 @@ package com.honyrun.service.reactive;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+
 /**
  * 请求签名验证服务接口
  * 提供API请求签名生成和验证功能，确保请求的完整性和真实性
@@ -14,6 +16,11 @@ import reactor.core.publisher.Mono;
  */
 public interface ReactiveRequestSignatureService {
 
+    /**
+     * 签名验证通过后存放已读取请求体缓冲区（List&lt;DataBuffer&gt;）的交换属性，由签名过滤器回放给下游
+     */
+    String SIGNED_BODY_ATTRIBUTE = "SIGNED_REQUEST_BODY";
+
     /**
      * 验证请求签名
      *
@@ -60,6 +67,15 @@ public interface ReactiveRequestSignatureService {
      */
     Mono<Void> recordUsedNonce(String nonce, long ttl);
 
+    /**
+     * 原子预占nonce（SET NX PX），并发的重复请求只有一个能预占成功
+     *
+     * @param nonce 随机数
+     * @param ttl 生存时间
+     * @return 预占成功返回true，nonce已被使用返回false
+     */
+    Mono<Boolean> reserveNonce(String nonce, Duration ttl);
+
     /**
      * 获取客户端的API密钥
      *
@@ -4,6 +4,7 @@ import com.honyrun.model.dto.request.SystemLogQueryRequest;
 import com.honyrun.model.dto.response.SystemLogExportResponse;
 import com.honyrun.model.dto.response.SystemLogResponse;
 import com.honyrun.model.entity.system.SystemLog;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.data.domain.Page;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -234,11 +235,12 @@ public interface ReactiveSystemLogService {
 
     /**
      * 下载导出文件
+     * 按固定大小分块读取文件（DataBufferUtils.read），不把整个文件读入堆内存
      *
      * @param taskId 任务ID
-     * @return 文件字节流的Mono包装
+     * @return 文件内容数据块流
      */
-    Mono<byte[]> downloadExportFile(String taskId);
+    Flux<DataBuffer> streamExportFile(String taskId);
 
     /**
      * 清理过期的导出文件
@@ -0,0 +1,74 @@
+package com.honyrun.service.reactive.impl;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 本地按时间分桶的nonce重放过滤器
+ *
+ * 以请求时间戳所在的时间桶组织已接受的nonce：重放请求必须携带与原请求相同的时间戳（时间戳参与签名），
+ * 因此只需在同一个桶中查找即可识别，无需访问Redis。超出签名有效期的桶整体丢弃，
+ * 单桶容量受限，桶满后不再记录（由Redis原子预占兜底），保证内存占用有界
+ *
+ * 过滤器只用于快速拒绝明显的重放，判定为未见过的nonce仍以Redis SET NX PX的结果为准
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 10:00:00
+ * @modified 2025-11-03 10:00:00
+ * @version 1.0.0
+ */
+final class NonceReplayFilter {
+
+    private final long bucketSeconds;
+    private final int maxEntriesPerBucket;
+    private final Map<Long, Bucket> buckets = new ConcurrentHashMap<>();
+
+    NonceReplayFilter(long bucketSeconds, int maxEntriesPerBucket) {
+        this.bucketSeconds = Math.max(1L, bucketSeconds);
+        this.maxEntriesPerBucket = Math.max(1, maxEntriesPerBucket);
+    }
+
+    /**
+     * 本地是否已接受过该nonce
+     *
+     * @param nonce            随机数
+     * @param timestampSeconds 请求时间戳（秒）
+     * @return 已接受过返回true
+     */
+    boolean seen(String nonce, long timestampSeconds) {
+        Bucket bucket = buckets.get(bucketOf(timestampSeconds));
+        return bucket != null && bucket.nonces.contains(nonce);
+    }
+
+    /**
+     * 记录已接受的nonce，并丢弃已超出有效期的桶
+     *
+     * @param nonce                 随机数
+     * @param timestampSeconds      请求时间戳（秒）
+     * @param nowSeconds            当前时间（秒）
+     * @param validityPeriodSeconds 签名有效期（秒）
+     */
+    void record(String nonce, long timestampSeconds, long nowSeconds, long validityPeriodSeconds) {
+        Bucket bucket = buckets.computeIfAbsent(bucketOf(timestampSeconds), id -> new Bucket());
+        if (bucket.size.get() < maxEntriesPerBucket && bucket.nonces.add(nonce)) {
+            bucket.size.incrementAndGet();
+        }
+        long oldestLive = bucketOf(nowSeconds - validityPeriodSeconds);
+        buckets.keySet().removeIf(id -> id < oldestLive);
+    }
+
+    int size() {
+        return buckets.values().stream().mapToInt(bucket -> bucket.size.get()).sum();
+    }
+
+    private long bucketOf(long timestampSeconds) {
+        return Math.floorDiv(timestampSeconds, bucketSeconds);
+    }
+
+    private static final class Bucket {
+        private final Set<String> nonces = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger size = new AtomicInteger();
+    }
+}
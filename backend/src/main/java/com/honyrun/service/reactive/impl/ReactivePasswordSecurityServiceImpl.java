@@ -1,19 +1,21 @@
 package com.honyrun.service.reactive.impl;
 
+import com.honyrun.exception.RateLimitException;
 import com.honyrun.model.entity.security.UserPasswordHistory;
 import com.honyrun.repository.r2dbc.ReactiveUserPasswordHistoryRepository;
 import com.honyrun.repository.r2dbc.ReactiveUserRepository;
+import com.honyrun.security.PasswordHashingService;
 import com.honyrun.service.reactive.ReactivePasswordSecurityService;
 import com.honyrun.service.reactive.ReactiveSystemConfigService;
 import com.honyrun.service.reactive.ReactiveOptimisticLockingService;
 import com.honyrun.util.LoggingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.concurrent.TimeoutException;
 
 /**
  * 密码安全服务实现类
@@ -32,7 +34,7 @@ public class ReactivePasswordSecurityServiceImpl implements ReactivePasswordSecu
     private final ReactiveUserPasswordHistoryRepository passwordHistoryRepository;
     private final ReactiveUserRepository userRepository;
     private final ReactiveSystemConfigService systemConfigService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final ReactiveOptimisticLockingService optimisticLockingService;
 
     /**
@@ -41,18 +43,18 @@ public class ReactivePasswordSecurityServiceImpl implements ReactivePasswordSecu
      * @param passwordHistoryRepository 密码历史记录仓库
      * @param userRepository 用户仓库
      * @param systemConfigService 系统配置服务
-     * @param passwordEncoder 密码编码器
+     * @param passwordHashingService 密码哈希服务
      * @param optimisticLockingService 乐观锁服务
      */
     public ReactivePasswordSecurityServiceImpl(ReactiveUserPasswordHistoryRepository passwordHistoryRepository,
                                              ReactiveUserRepository userRepository,
                                              ReactiveSystemConfigService systemConfigService,
-                                             PasswordEncoder passwordEncoder,
+                                             PasswordHashingService passwordHashingService,
                                              ReactiveOptimisticLockingService optimisticLockingService) {
         this.passwordHistoryRepository = passwordHistoryRepository;
         this.userRepository = userRepository;
         this.systemConfigService = systemConfigService;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.optimisticLockingService = optimisticLockingService;
     }
 
@@ -67,10 +69,13 @@ public class ReactivePasswordSecurityServiceImpl implements ReactivePasswordSecu
                         return Mono.just(false);
                     }
                     
+                    // 历史哈希在哈希线程池中并行匹配，命中即停止，整体受时间预算约束
                     return getPasswordHistoryCount()
                             .flatMap(historyCount -> 
                                 passwordHistoryRepository.findRecentPasswordsByUserId(userId, historyCount)
-                                        .any(history -> passwordEncoder.matches(newPassword, history.getPasswordHash()))
+                                        .map(UserPasswordHistory::getPasswordHash)
+                                        .collectList()
+                                        .flatMap(hashes -> passwordHashingService.matchesAny(newPassword, hashes))
                             );
                 })
                 .doOnNext(isUsed -> {
@@ -80,10 +85,12 @@ public class ReactivePasswordSecurityServiceImpl implements ReactivePasswordSecu
                         LoggingUtil.debug(logger, "密码未在历史记录中找到，用户ID: {}", userId);
                     }
                 })
-                .onErrorResume(error -> {
-                    LoggingUtil.error(logger, "检查密码历史记录时发生错误，用户ID: {}", userId, error);
-                    return Mono.just(false);
-                });
+                // 哈希线程池饱和或历史匹配超出时间预算时向上返回异常，不能当作未使用过的密码放行
+                .onErrorResume(error -> !(error instanceof RateLimitException || error instanceof TimeoutException),
+                        error -> {
+                            LoggingUtil.error(logger, "检查密码历史记录时发生错误，用户ID: {}", userId, error);
+                            return Mono.just(false);
+                        });
     }
 
     @Override
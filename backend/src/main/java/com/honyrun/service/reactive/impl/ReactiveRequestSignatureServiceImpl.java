@@ -7,7 +7,12 @@ import com.honyrun.util.LoggingUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
 import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
@@ -15,11 +20,15 @@ import reactor.core.publisher.Mono;
 import javax.crypto.Mac;
 import javax.crypto.spec.SecretKeySpec;
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.NoSuchAlgorithmException;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 请求签名验证服务实现类
@@ -39,10 +48,14 @@ import java.util.Base64;
  * 验证流程：
  * 1. 提取请求头中的签名信息（客户端ID、时间戳、随机数、签名）
  * 2. 验证时间戳是否在有效期内（默认5分钟）
- * 3. 验证随机数是否已被使用（防重放攻击）
+ * 3. 本地按时间分桶的nonce过滤器快速拒绝本节点已见过的重放请求，无需访问Redis
  * 4. 根据客户端ID获取对应的密钥
- * 5. 重新计算期望签名并与请求签名进行比较
- * 6. 验证通过后将随机数标记为已使用
+ * 5. 逐个DataBuffer增量摘要请求体，重新计算期望签名并以常量时间与请求签名比较
+ * 6. 以Redis SET NX PX原子预占nonce，过期时间对齐到时间戳失效时刻，并发重放只有一个请求能预占成功
+ *
+ * 验证通过后已读取的请求体缓冲区存入{@link ReactiveRequestSignatureService#SIGNED_BODY_ATTRIBUTE}，
+ * 由签名过滤器回放给下游；验证失败时缓冲区立即释放。Mac实例按线程缓存复用，
+ * 算法、nonce前缀与有效期从配置快照读取
  *
  * 安全注意事项：
  * - 客户端密钥必须安全存储，不得泄露
@@ -60,9 +73,29 @@ public class ReactiveRequestSignatureServiceImpl implements ReactiveRequestSigna
 
     private static final Logger logger = LoggerFactory.getLogger(ReactiveRequestSignatureServiceImpl.class);
 
+    private static final String DEFAULT_ALGORITHM = "HmacSHA256";
+    private static final String DEFAULT_NONCE_PREFIX = "nonce:";
+    private static final long DEFAULT_VALIDITY_PERIOD = 300L;
+    private static final int MAC_CACHE_SIZE = 16;
+
+    /**
+     * 按线程缓存已初始化的Mac实例，键为算法与密钥；doFinal后Mac自动重置，可直接复用
+     */
+    private static final ThreadLocal<Map<String, Mac>> MAC_CACHE = ThreadLocal.withInitial(
+            () -> new LinkedHashMap<>(MAC_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Mac> eldest) {
+                    return size() > MAC_CACHE_SIZE;
+                }
+            });
+
     private final ReactiveRedisTemplate<String, String> redisTemplate;
     private final ReactiveSystemConfigService systemConfigService;
     private final UnifiedConfigManager unifiedConfigManager;
+    private final NonceReplayFilter nonceReplayFilter;
+
+    @Value("${honyrun.signature.max-body-size:10485760}")
+    private long maxBodySize;
 
     /**
      * 构造函数注入
@@ -70,13 +103,18 @@ public class ReactiveRequestSignatureServiceImpl implements ReactiveRequestSigna
      * @param redisTemplate Redis模板
      * @param systemConfigService 系统配置服务
      * @param unifiedConfigManager 统一配置管理器
+     * @param nonceBucketSeconds 本地nonce过滤器时间桶宽度（秒）
+     * @param nonceBucketCapacity 本地nonce过滤器单桶容量
      */
     public ReactiveRequestSignatureServiceImpl(@Qualifier("unifiedReactiveStringRedisTemplate") ReactiveRedisTemplate<String, String> redisTemplate,
                                              ReactiveSystemConfigService systemConfigService,
-                                             UnifiedConfigManager unifiedConfigManager) {
+                                             UnifiedConfigManager unifiedConfigManager,
+                                             @Value("${honyrun.signature.nonce-filter.bucket-seconds:10}") long nonceBucketSeconds,
+                                             @Value("${honyrun.signature.nonce-filter.bucket-capacity:100000}") int nonceBucketCapacity) {
         this.redisTemplate = redisTemplate;
         this.systemConfigService = systemConfigService;
         this.unifiedConfigManager = unifiedConfigManager;
+        this.nonceReplayFilter = new NonceReplayFilter(nonceBucketSeconds, nonceBucketCapacity);
     }
 
     @Override
@@ -98,7 +136,8 @@ public class ReactiveRequestSignatureServiceImpl implements ReactiveRequestSigna
                                 }
 
                                 return validateSignature(exchange, signatureInfo);
-                            });
+                            })
+                            .defaultIfEmpty(false);
                 })
                 .onErrorResume(error -> {
                     LoggingUtil.error(logger, "验证请求签名时发生错误: {} - {}", error, error.getMessage());
@@ -114,134 +153,192 @@ public class ReactiveRequestSignatureServiceImpl implements ReactiveRequestSigna
      * @return 验证结果
      */
     private Mono<Boolean> validateSignature(ServerWebExchange exchange, SignatureInfo signatureInfo) {
-        return isTimestampValid(signatureInfo.getTimestamp())
-                .flatMap(timestampValid -> {
-                    if (!timestampValid) {
-                        LoggingUtil.warn(logger, "时间戳无效或已过期: {}", signatureInfo.getTimestamp());
-                        return Mono.just(false);
-                    }
+        long validityPeriod = resolveValidityPeriod();
+        long now = Instant.now().getEpochSecond();
+        long requestTime;
+        try {
+            requestTime = Long.parseLong(signatureInfo.getTimestamp());
+        } catch (NumberFormatException e) {
+            LoggingUtil.warn(logger, "时间戳格式错误: {}", signatureInfo.getTimestamp());
+            return Mono.just(false);
+        }
+        if (Math.abs(now - requestTime) > validityPeriod) {
+            LoggingUtil.warn(logger, "时间戳无效或已过期: {}", signatureInfo.getTimestamp());
+            return Mono.just(false);
+        }
 
-                    return isNonceUnused(signatureInfo.getNonce())
-                            .flatMap(nonceUnused -> {
-                                if (!nonceUnused) {
-                                    LoggingUtil.warn(logger, "Nonce已被使用: {}", signatureInfo.getNonce());
-                                    return Mono.just(false);
-                                }
+        String nonce = signatureInfo.getNonce();
+        if (nonceReplayFilter.seen(nonce, requestTime)) {
+            LoggingUtil.warn(logger, "Nonce已被使用: {}", nonce);
+            return Mono.just(false);
+        }
 
-                                return getClientSecret(signatureInfo.getClientId())
-                                        .flatMap(secretKey -> {
-                                            if (secretKey == null) {
-                                                LoggingUtil.warn(logger, "未找到客户端密钥: {}", signatureInfo.getClientId());
-                                                return Mono.just(false);
-                                            }
-
-                                            return generateExpectedSignature(exchange, signatureInfo, secretKey)
-                                                    .flatMap(expectedSignature -> {
-                                                        boolean signatureMatch = expectedSignature.equals(signatureInfo.getSignature());
-
-                                                        if (signatureMatch) {
-                                                            // 记录已使用的nonce
-                                                            return getSignatureValidityPeriod()
-                                                                    .flatMap(validityPeriod ->
-                                                                        recordUsedNonce(signatureInfo.getNonce(), validityPeriod)
-                                                                                .then(Mono.just(true))
-                                                                    );
-                                                        } else {
-                                                            LoggingUtil.warn(logger, "签名验证失败，客户端ID: {}", signatureInfo.getClientId());
-                                                            return Mono.just(false);
-                                                        }
-                                                    });
-                                        });
-                            });
+        return getClientSecret(signatureInfo.getClientId())
+                .flatMap(secretKey -> readBody(exchange)
+                        .flatMap(body -> {
+                            boolean signatureMatch;
+                            try {
+                                String expectedSignature = sign(resolveAlgorithm(), secretKey,
+                                        exchange.getRequest().getMethod().name(), exchange.getRequest().getURI().getPath(),
+                                        signatureInfo.getTimestamp(), nonce, body);
+                                signatureMatch = MessageDigest.isEqual(
+                                        expectedSignature.getBytes(StandardCharsets.UTF_8),
+                                        signatureInfo.getSignature().getBytes(StandardCharsets.UTF_8));
+                            } catch (RuntimeException e) {
+                                release(body);
+                                return Mono.error(e);
+                            }
+
+                            if (!signatureMatch) {
+                                release(body);
+                                LoggingUtil.warn(logger, "签名验证失败，客户端ID: {}", signatureInfo.getClientId());
+                                return Mono.just(false);
+                            }
+
+                            // nonce需保留到时间戳失效为止，之后的重放会先被时间戳校验拒绝
+                            Duration ttl = Duration.ofMillis(
+                                    Math.max(1000L, (requestTime + validityPeriod) * 1000L - System.currentTimeMillis()));
+                            return reserveNonce(nonce, ttl)
+                                    .map(reserved -> {
+                                        if (!reserved) {
+                                            release(body);
+                                            LoggingUtil.warn(logger, "Nonce已被使用: {}", nonce);
+                                            return false;
+                                        }
+                                        nonceReplayFilter.record(nonce, requestTime, now, validityPeriod);
+                                        if (!body.isEmpty()) {
+                                            exchange.getAttributes().put(SIGNED_BODY_ATTRIBUTE, body);
+                                        }
+                                        return true;
+                                    })
+                                    .doOnCancel(() -> release(body));
+                        }))
+                .onErrorResume(DataBufferLimitException.class, error -> {
+                    LoggingUtil.warn(logger, "签名请求体超过上限: {} 字节，客户端ID: {}", maxBodySize, signatureInfo.getClientId());
+                    return Mono.just(false);
                 });
     }
 
     /**
-     * 生成期望的签名
+     * 读取请求体缓冲区，不拼接为字符串；超过上限时释放已读取的缓冲区并以DataBufferLimitException结束
      *
      * @param exchange 服务器交换对象
-     * @param signatureInfo 签名信息
-     * @param secretKey 密钥
-     * @return 期望的签名
+     * @return 请求体缓冲区，无请求体时为空列表
+     */
+    private Mono<List<DataBuffer>> readBody(ServerWebExchange exchange) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (HttpMethod.GET.equals(method) || HttpMethod.HEAD.equals(method)
+                || HttpMethod.OPTIONS.equals(method) || HttpMethod.TRACE.equals(method)
+                || exchange.getRequest().getHeaders().getContentLength() == 0) {
+            return Mono.just(List.of());
+        }
+
+        AtomicLong bodySize = new AtomicLong();
+        return exchange.getRequest().getBody()
+                .<DataBuffer>handle((buffer, sink) -> {
+                    if (bodySize.addAndGet(buffer.readableByteCount()) > maxBodySize) {
+                        DataBufferUtils.release(buffer);
+                        sink.error(new DataBufferLimitException("签名请求体超过上限: " + maxBodySize));
+                        return;
+                    }
+                    sink.next(buffer);
+                })
+                .collectList()
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private static void release(List<DataBuffer> body) {
+        body.forEach(DataBufferUtils::release);
+    }
+
+    /**
+     * 计算签名：METHOD + URI + TIMESTAMP + NONCE + BODY，请求体按缓冲区增量送入Mac
      */
-    private Mono<String> generateExpectedSignature(ServerWebExchange exchange, SignatureInfo signatureInfo, String secretKey) {
-        String method = exchange.getRequest().getMethod().name();
-        String uri = exchange.getRequest().getURI().getPath();
-
-        // 对于有请求体的请求，需要读取请求体内容
-        // 这里简化处理，实际项目中可能需要缓存请求体
-        return Mono.just("")
-                .flatMap(body -> generateSignature(method, uri, signatureInfo.getTimestamp(),
-                                                 signatureInfo.getNonce(), body, secretKey));
+    private static String sign(String algorithm, String secretKey, String method, String uri, String timestamp,
+                               String nonce, List<DataBuffer> body) {
+        Mac mac = mac(algorithm, secretKey);
+        mac.update(method.getBytes(StandardCharsets.UTF_8));
+        mac.update(uri.getBytes(StandardCharsets.UTF_8));
+        mac.update(timestamp.getBytes(StandardCharsets.UTF_8));
+        mac.update(nonce.getBytes(StandardCharsets.UTF_8));
+        for (DataBuffer buffer : body) {
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                while (iterator.hasNext()) {
+                    mac.update(iterator.next());
+                }
+            }
+        }
+        return Base64.getEncoder().encodeToString(mac.doFinal());
+    }
+
+    /**
+     * 获取当前线程缓存的Mac实例，必要时创建并初始化
+     */
+    private static Mac mac(String algorithm, String secretKey) {
+        Map<String, Mac> cache = MAC_CACHE.get();
+        String cacheKey = algorithm + ':' + secretKey;
+        Mac mac = cache.get(cacheKey);
+        if (mac == null) {
+            try {
+                mac = Mac.getInstance(algorithm);
+                mac.init(new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), algorithm));
+            } catch (GeneralSecurityException e) {
+                LoggingUtil.error(logger, "生成签名时发生错误: {} - {}", e, e.getMessage());
+                throw new IllegalStateException("签名生成失败", e);
+            }
+            cache.put(cacheKey, mac);
+        } else {
+            // 上次计算中途异常时Mac可能残留部分数据
+            mac.reset();
+        }
+        return mac;
     }
 
     @Override
     public Mono<String> generateSignature(String method, String uri, String timestamp, String nonce, String body, String secretKey) {
-        return unifiedConfigManager.getStringConfig("honyrun.signature.algorithm")
-                .defaultIfEmpty("HmacSHA256")
-                .flatMap(hmacAlgorithm -> 
-                    Mono.fromCallable(() -> {
-                        // 构建签名字符串：METHOD + URI + TIMESTAMP + NONCE + BODY
-                        String signatureString = method + uri + timestamp + nonce + (body != null ? body : "");
-
-                        try {
-                            Mac mac = Mac.getInstance(hmacAlgorithm);
-                            SecretKeySpec secretKeySpec = new SecretKeySpec(secretKey.getBytes(StandardCharsets.UTF_8), hmacAlgorithm);
-                            mac.init(secretKeySpec);
-
-                            byte[] signatureBytes = mac.doFinal(signatureString.getBytes(StandardCharsets.UTF_8));
-                            return Base64.getEncoder().encodeToString(signatureBytes);
-
-                        } catch (NoSuchAlgorithmException | InvalidKeyException e) {
-                            LoggingUtil.error(logger, "生成签名时发生错误: {} - {}", e, e.getMessage());
-                            throw new RuntimeException("签名生成失败", e);
-                        }
-                    })
-                );
+        return Mono.fromCallable(() -> {
+            // 构建签名字符串：METHOD + URI + TIMESTAMP + NONCE + BODY
+            String signatureString = method + uri + timestamp + nonce + (body != null ? body : "");
+            Mac mac = mac(resolveAlgorithm(), secretKey);
+            return Base64.getEncoder().encodeToString(mac.doFinal(signatureString.getBytes(StandardCharsets.UTF_8)));
+        });
     }
 
     @Override
     public Mono<Boolean> isTimestampValid(String timestamp) {
-        return getSignatureValidityPeriod()
-                .map(validityPeriod -> {
-                    try {
-                        long requestTime = Long.parseLong(timestamp);
-                        long currentTime = Instant.now().getEpochSecond();
-                        long timeDiff = Math.abs(currentTime - requestTime);
-
-                        return timeDiff <= validityPeriod;
-                    } catch (NumberFormatException e) {
-                        LoggingUtil.warn(logger, "时间戳格式错误: {}", timestamp);
-                        return false;
-                    }
-                });
+        return Mono.fromSupplier(() -> {
+            try {
+                long requestTime = Long.parseLong(timestamp);
+                long currentTime = Instant.now().getEpochSecond();
+                return Math.abs(currentTime - requestTime) <= resolveValidityPeriod();
+            } catch (NumberFormatException e) {
+                LoggingUtil.warn(logger, "时间戳格式错误: {}", timestamp);
+                return false;
+            }
+        });
     }
 
     @Override
     public Mono<Boolean> isNonceUnused(String nonce) {
-        return unifiedConfigManager.getStringConfig("honyrun.signature.nonce-prefix")
-                .defaultIfEmpty("nonce:")
-                .flatMap(nonceKeyPrefix -> {
-                    String nonceKey = nonceKeyPrefix + nonce;
-                    return redisTemplate.hasKey(nonceKey)
-                            .map(exists -> !exists)
-                            .onErrorReturn(true); // 出现异常时允许通过
-                });
+        return redisTemplate.hasKey(nonceKey(nonce))
+                .map(exists -> !exists)
+                .onErrorReturn(true); // 出现异常时允许通过
     }
 
     @Override
     public Mono<Void> recordUsedNonce(String nonce, long ttl) {
-        return unifiedConfigManager.getStringConfig("honyrun.signature.nonce-prefix")
-                .defaultIfEmpty("nonce:")
-                .flatMap(nonceKeyPrefix -> {
-                    String nonceKey = nonceKeyPrefix + nonce;
-                    return redisTemplate.opsForValue()
-                            .set(nonceKey, "used", Duration.ofSeconds(ttl))
-                            .then()
-                            .onErrorResume(error -> {
-                                LoggingUtil.error(logger, "记录已使用nonce时发生错误: {} - {}", error, error.getMessage());
-                                return Mono.empty();
-                            });
+        return reserveNonce(nonce, Duration.ofSeconds(ttl)).then();
+    }
+
+    @Override
+    public Mono<Boolean> reserveNonce(String nonce, Duration ttl) {
+        return redisTemplate.opsForValue()
+                .setIfAbsent(nonceKey(nonce), "used", ttl)
+                .defaultIfEmpty(false)
+                .onErrorResume(error -> {
+                    // Redis不可用时允许通过，本地nonce过滤器仍能拦截本节点上的重放
+                    LoggingUtil.error(logger, "预占nonce时发生错误: {} - {}", error, error.getMessage());
+                    return Mono.just(true);
                 });
     }
 
@@ -265,12 +362,20 @@ public class ReactiveRequestSignatureServiceImpl implements ReactiveRequestSigna
 
     @Override
     public Mono<Long> getSignatureValidityPeriod() {
-        return unifiedConfigManager.getLongConfig("honyrun.signature.validity-period", 300L)
-                .switchIfEmpty(
-                    systemConfigService.getConfigValue("security.request.signature.validity_period", "300")
-                            .map(Long::parseLong)
-                            .onErrorReturn(300L)
-                );
+        return Mono.fromSupplier(this::resolveValidityPeriod);
+    }
+
+    private long resolveValidityPeriod() {
+        return unifiedConfigManager.getLongProperty("honyrun.signature.validity-period",
+                unifiedConfigManager.getLongProperty("security.request.signature.validity_period", DEFAULT_VALIDITY_PERIOD));
+    }
+
+    private String resolveAlgorithm() {
+        return unifiedConfigManager.getProperty("honyrun.signature.algorithm", DEFAULT_ALGORITHM);
+    }
+
+    private String nonceKey(String nonce) {
+        return unifiedConfigManager.getProperty("honyrun.signature.nonce-prefix", DEFAULT_NONCE_PREFIX) + nonce;
     }
 
     @Override
@@ -287,4 +392,3 @@ public class ReactiveRequestSignatureServiceImpl implements ReactiveRequestSigna
         return Mono.just(new SignatureInfo(clientId, timestamp, nonce, signature));
     }
 }
-
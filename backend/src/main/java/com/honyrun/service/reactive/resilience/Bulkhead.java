@@ -0,0 +1,92 @@
+package com.honyrun.service.reactive.resilience;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 舱壁
+ *
+ * 限制单个依赖的并发调用数，超出时立即拒绝而不是排队等待，
+ * 避免一个变慢的依赖占满连接和线程，拖垮其他依赖的调用
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 14:00:00
+ * @modified 2025-10-31 14:00:00
+ * @version 1.0.0
+ */
+public final class Bulkhead {
+
+    private final String name;
+    private volatile int maxConcurrentCalls;
+    private final AtomicInteger concurrentCalls = new AtomicInteger();
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    /**
+     * @param name               舱壁名称
+     * @param maxConcurrentCalls 最大并发调用数
+     */
+    public Bulkhead(String name, int maxConcurrentCalls) {
+        this.name = name;
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+    }
+
+    /**
+     * 尝试占用一个并发名额
+     *
+     * @return 是否占用成功
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = concurrentCalls.get();
+            if (current >= maxConcurrentCalls) {
+                rejectedCalls.increment();
+                return false;
+            }
+        } while (!concurrentCalls.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * 释放一个并发名额
+     */
+    public void release() {
+        concurrentCalls.decrementAndGet();
+    }
+
+    /**
+     * 运行时调整最大并发调用数，已占用的名额不受影响
+     *
+     * @param maxConcurrentCalls 最大并发调用数
+     */
+    public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+        this.maxConcurrentCalls = Math.max(1, maxConcurrentCalls);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getAvailableConcurrentCalls() {
+        return Math.max(0, maxConcurrentCalls - concurrentCalls.get());
+    }
+
+    /**
+     * 生成状态快照
+     *
+     * @return 状态快照
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("maxConcurrentCalls", maxConcurrentCalls);
+        result.put("concurrentCalls", concurrentCalls.get());
+        result.put("rejectedCalls", rejectedCalls.sum());
+        return result;
+    }
+}
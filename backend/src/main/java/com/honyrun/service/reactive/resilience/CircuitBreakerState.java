@@ -0,0 +1,42 @@
+package com.honyrun.service.reactive.resilience;
+
+/**
+ * 熔断器状态
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 14:00:00
+ * @modified 2025-10-31 14:00:00
+ * @version 1.0.0
+ */
+public enum CircuitBreakerState {
+
+    /**
+     * 关闭：正常放行，按滑动窗口统计失败率和慢调用率
+     */
+    CLOSED(0),
+
+    /**
+     * 打开：拒绝所有调用，等待时间结束后转为半开
+     */
+    OPEN(1),
+
+    /**
+     * 半开：只放行有限的探测调用，根据探测结果关闭或重新打开
+     */
+    HALF_OPEN(2);
+
+    private final int gaugeValue;
+
+    CircuitBreakerState(int gaugeValue) {
+        this.gaugeValue = gaugeValue;
+    }
+
+    /**
+     * 指标中的状态值
+     *
+     * @return 0关闭，1打开，2半开
+     */
+    public int getGaugeValue() {
+        return gaugeValue;
+    }
+}
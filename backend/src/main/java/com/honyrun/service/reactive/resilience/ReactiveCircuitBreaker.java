@@ -0,0 +1,323 @@
+package com.honyrun.service.reactive.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * 熔断器
+ *
+ * 按最近N次调用的滑动窗口统计失败率和慢调用率：
+ * - CLOSED：窗口内调用数达到最小样本数后，失败率或慢调用率超过阈值即打开
+ * - OPEN：拒绝所有调用，等待时间结束后由下一次调用触发转为半开
+ * - HALF_OPEN：只放行固定数量的探测调用，探测全部完成后按同样的阈值决定关闭或重新打开
+ *
+ * 获取许可只读取volatile状态，记录结果时对窗口加锁，锁内只有计数操作
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 14:00:00
+ * @modified 2025-10-31 14:00:00
+ * @version 1.0.0
+ */
+public final class ReactiveCircuitBreaker {
+
+    private static final byte OUTCOME_FAILURE = 1;
+    private static final byte OUTCOME_SLOW = 2;
+
+    private final String name;
+    private final int minimumCalls;
+    private final int halfOpenPermittedCalls;
+    private final float failureRateThreshold;
+    private final float slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openWaitNanos;
+    private final BiConsumer<CircuitBreakerState, CircuitBreakerState> transitionListener;
+
+    private final AtomicReference<CircuitBreakerState> state = new AtomicReference<>(CircuitBreakerState.CLOSED);
+    private volatile long openUntilNanos;
+
+    // CLOSED状态的滑动窗口，由this保护
+    private final byte[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+    private int windowSlowCalls;
+
+    // HALF_OPEN状态的探测统计，计数由this保护
+    private final AtomicInteger halfOpenPermits = new AtomicInteger();
+    private int halfOpenCalls;
+    private int halfOpenFailures;
+    private int halfOpenSlowCalls;
+
+    private final LongAdder successfulCalls = new LongAdder();
+    private final LongAdder failedCalls = new LongAdder();
+    private final LongAdder slowCalls = new LongAdder();
+    private final LongAdder notPermittedCalls = new LongAdder();
+    private final LongAdder stateTransitions = new LongAdder();
+
+    /**
+     * @param name                   熔断器名称
+     * @param slidingWindowSize      滑动窗口大小（调用次数）
+     * @param minimumCalls           计算失败率所需的最小调用数
+     * @param failureRateThreshold   失败率阈值（百分比）
+     * @param slowCallRateThreshold  慢调用率阈值（百分比）
+     * @param slowCallDuration       慢调用时长阈值
+     * @param waitDurationInOpen     打开状态持续时间
+     * @param halfOpenPermittedCalls 半开状态放行的探测调用数
+     * @param transitionListener     状态转换回调，参数为原状态和新状态
+     */
+    public ReactiveCircuitBreaker(String name, int slidingWindowSize, int minimumCalls, float failureRateThreshold,
+                                  float slowCallRateThreshold, Duration slowCallDuration, Duration waitDurationInOpen,
+                                  int halfOpenPermittedCalls,
+                                  BiConsumer<CircuitBreakerState, CircuitBreakerState> transitionListener) {
+        this.name = name;
+        this.window = new byte[Math.max(1, slidingWindowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = slowCallDuration.toNanos();
+        this.openWaitNanos = waitDurationInOpen.toNanos();
+        this.halfOpenPermittedCalls = Math.max(1, halfOpenPermittedCalls);
+        this.transitionListener = transitionListener;
+    }
+
+    // ==================== 许可 ====================
+
+    /**
+     * 尝试获取调用许可
+     *
+     * @return 是否允许调用
+     */
+    public boolean tryAcquirePermission() {
+        CircuitBreakerState current = state.get();
+        if (current == CircuitBreakerState.CLOSED) {
+            return true;
+        }
+        if (current == CircuitBreakerState.OPEN) {
+            if (System.nanoTime() - openUntilNanos < 0) {
+                notPermittedCalls.increment();
+                return false;
+            }
+            transition(CircuitBreakerState.OPEN, CircuitBreakerState.HALF_OPEN);
+            current = state.get();
+            if (current == CircuitBreakerState.CLOSED) {
+                return true;
+            }
+            if (current == CircuitBreakerState.OPEN) {
+                notPermittedCalls.increment();
+                return false;
+            }
+        }
+        // 被拒绝的请求不占用计数，否则取消的探测归还许可后仍无法再放行
+        int permits;
+        do {
+            permits = halfOpenPermits.get();
+            if (permits >= halfOpenPermittedCalls) {
+                notPermittedCalls.increment();
+                return false;
+            }
+        } while (!halfOpenPermits.compareAndSet(permits, permits + 1));
+        return true;
+    }
+
+    /**
+     * 归还未产生结果的许可（如调用被取消），半开状态下可再放行一次探测
+     */
+    public void releasePermission() {
+        if (state.get() == CircuitBreakerState.HALF_OPEN) {
+            halfOpenPermits.decrementAndGet();
+        }
+    }
+
+    // ==================== 结果记录 ====================
+
+    /**
+     * 记录成功调用
+     *
+     * @param durationNanos 调用耗时（纳秒）
+     */
+    public void onSuccess(long durationNanos) {
+        successfulCalls.increment();
+        record(false, durationNanos);
+    }
+
+    /**
+     * 记录失败调用
+     *
+     * @param durationNanos 调用耗时（纳秒）
+     */
+    public void onError(long durationNanos) {
+        failedCalls.increment();
+        record(true, durationNanos);
+    }
+
+    private void record(boolean failure, long durationNanos) {
+        boolean slow = durationNanos >= slowCallNanos;
+        if (slow) {
+            slowCalls.increment();
+        }
+        byte outcome = (byte) ((failure ? OUTCOME_FAILURE : 0) | (slow ? OUTCOME_SLOW : 0));
+        CircuitBreakerState current = state.get();
+        if (current == CircuitBreakerState.CLOSED) {
+            recordClosed(outcome);
+        } else if (current == CircuitBreakerState.HALF_OPEN) {
+            recordHalfOpen(outcome);
+        }
+        // OPEN状态下到达的结果来自打开前的调用，不再计入
+    }
+
+    private void recordClosed(byte outcome) {
+        boolean trip;
+        synchronized (this) {
+            if (windowCount == window.length) {
+                byte evicted = window[windowIndex];
+                windowFailures -= evicted & OUTCOME_FAILURE;
+                windowSlowCalls -= (evicted & OUTCOME_SLOW) >> 1;
+            } else {
+                windowCount++;
+            }
+            window[windowIndex] = outcome;
+            windowIndex = (windowIndex + 1) % window.length;
+            windowFailures += outcome & OUTCOME_FAILURE;
+            windowSlowCalls += (outcome & OUTCOME_SLOW) >> 1;
+            trip = windowCount >= minimumCalls
+                    && exceedsThresholds(windowFailures, windowSlowCalls, windowCount);
+        }
+        if (trip) {
+            transition(CircuitBreakerState.CLOSED, CircuitBreakerState.OPEN);
+        }
+    }
+
+    private void recordHalfOpen(byte outcome) {
+        CircuitBreakerState target = null;
+        synchronized (this) {
+            halfOpenCalls++;
+            halfOpenFailures += outcome & OUTCOME_FAILURE;
+            halfOpenSlowCalls += (outcome & OUTCOME_SLOW) >> 1;
+            if (halfOpenCalls >= halfOpenPermittedCalls) {
+                target = exceedsThresholds(halfOpenFailures, halfOpenSlowCalls, halfOpenCalls)
+                        ? CircuitBreakerState.OPEN : CircuitBreakerState.CLOSED;
+            }
+        }
+        if (target != null) {
+            transition(CircuitBreakerState.HALF_OPEN, target);
+        }
+    }
+
+    private boolean exceedsThresholds(int failures, int slow, int total) {
+        return failures * 100f / total >= failureRateThreshold || slow * 100f / total >= slowCallRateThreshold;
+    }
+
+    // ==================== 状态转换 ====================
+
+    private void transition(CircuitBreakerState from, CircuitBreakerState to) {
+        if (to == CircuitBreakerState.OPEN) {
+            openUntilNanos = System.nanoTime() + openWaitNanos;
+        }
+        if (!state.compareAndSet(from, to)) {
+            return;
+        }
+        synchronized (this) {
+            if (to == CircuitBreakerState.HALF_OPEN) {
+                halfOpenCalls = 0;
+                halfOpenFailures = 0;
+                halfOpenSlowCalls = 0;
+                halfOpenPermits.set(0);
+            } else if (to == CircuitBreakerState.CLOSED) {
+                windowIndex = 0;
+                windowCount = 0;
+                windowFailures = 0;
+                windowSlowCalls = 0;
+            }
+        }
+        stateTransitions.increment();
+        if (transitionListener != null) {
+            transitionListener.accept(from, to);
+        }
+    }
+
+    /**
+     * 强制打开熔断器，等待时间从现在开始计算
+     */
+    public void transitionToOpen() {
+        CircuitBreakerState current = state.get();
+        if (current == CircuitBreakerState.OPEN) {
+            openUntilNanos = System.nanoTime() + openWaitNanos;
+        } else {
+            transition(current, CircuitBreakerState.OPEN);
+        }
+    }
+
+    /**
+     * 强制关闭熔断器并清空滑动窗口
+     */
+    public void transitionToClosed() {
+        CircuitBreakerState current = state.get();
+        if (current != CircuitBreakerState.CLOSED) {
+            transition(current, CircuitBreakerState.CLOSED);
+        }
+    }
+
+    // ==================== 状态 ====================
+
+    public String getName() {
+        return name;
+    }
+
+    public CircuitBreakerState getState() {
+        return state.get();
+    }
+
+    /**
+     * 当前窗口失败率（百分比），样本不足最小调用数时返回-1
+     *
+     * @return 失败率
+     */
+    public synchronized float getFailureRate() {
+        return windowCount < minimumCalls ? -1f : windowFailures * 100f / windowCount;
+    }
+
+    /**
+     * 当前窗口慢调用率（百分比），样本不足最小调用数时返回-1
+     *
+     * @return 慢调用率
+     */
+    public synchronized float getSlowCallRate() {
+        return windowCount < minimumCalls ? -1f : windowSlowCalls * 100f / windowCount;
+    }
+
+    public long getNotPermittedCalls() {
+        return notPermittedCalls.sum();
+    }
+
+    /**
+     * 生成状态快照
+     *
+     * @return 状态快照
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("state", state.get().name());
+        synchronized (this) {
+            result.put("bufferedCalls", windowCount);
+            result.put("failureRate", windowCount < minimumCalls ? -1f : windowFailures * 100f / windowCount);
+            result.put("slowCallRate", windowCount < minimumCalls ? -1f : windowSlowCalls * 100f / windowCount);
+        }
+        result.put("successfulCalls", successfulCalls.sum());
+        result.put("failedCalls", failedCalls.sum());
+        result.put("slowCalls", slowCalls.sum());
+        result.put("notPermittedCalls", notPermittedCalls.sum());
+        result.put("stateTransitions", stateTransitions.sum());
+        result.put("slidingWindowSize", window.length);
+        result.put("minimumCalls", minimumCalls);
+        result.put("failureRateThreshold", failureRateThreshold);
+        result.put("slowCallRateThreshold", slowCallRateThreshold);
+        result.put("slowCallDurationMillis", slowCallNanos / 1_000_000);
+        result.put("waitDurationInOpenMillis", openWaitNanos / 1_000_000);
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package com.honyrun.service.reactive.resilience;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+import com.honyrun.exception.reactive.CallNotPermittedException;
+import com.honyrun.exception.reactive.CallNotPermittedException.Reason;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 受保护的依赖
+ *
+ * 组合单个依赖（MySQL、Redis、图片处理等）的熔断器、舱壁和调用超时，
+ * 包装后的调用依次经过：熔断器许可 → 舱壁名额 → 超时控制 → 结果记录
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-31 14:00:00
+ * @modified 2025-10-31 14:00:00
+ * @version 1.0.0
+ */
+public final class ResilientDependency {
+
+    private final String name;
+    private final ReactiveCircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final Duration callTimeout;
+    private final Predicate<Throwable> recordFailure;
+
+    /**
+     * @param name           依赖名称
+     * @param circuitBreaker 熔断器
+     * @param bulkhead       舱壁
+     * @param callTimeout    单次调用超时，超时计为失败
+     * @param recordFailure  判断异常是否计入熔断器失败样本，不计入的异常按成功记录
+     */
+    public ResilientDependency(String name, ReactiveCircuitBreaker circuitBreaker, Bulkhead bulkhead,
+                               Duration callTimeout, Predicate<Throwable> recordFailure) {
+        this.name = name;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.callTimeout = callTimeout;
+        this.recordFailure = recordFailure;
+    }
+
+    /**
+     * 包装调用，每次订阅都重新获取许可，因此外层重试的每次尝试都受熔断器和舱壁约束
+     *
+     * @param operation 原始调用
+     * @param <T>       返回类型
+     * @return 受保护的调用，被拒绝时以CallNotPermittedException结束
+     */
+    public <T> Mono<T> decorate(Mono<T> operation) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new CallNotPermittedException(name, Reason.CIRCUIT_OPEN));
+            }
+            if (!bulkhead.tryAcquire()) {
+                circuitBreaker.releasePermission();
+                return Mono.error(new CallNotPermittedException(name, Reason.BULKHEAD_FULL));
+            }
+            long start = System.nanoTime();
+            Mono<T> guarded = callTimeout != null && !callTimeout.isZero() ? operation.timeout(callTimeout) : operation;
+            return guarded
+                    .doOnSuccess(value -> circuitBreaker.onSuccess(System.nanoTime() - start))
+                    .doOnError(error -> {
+                        if (recordFailure.test(error)) {
+                            circuitBreaker.onError(System.nanoTime() - start);
+                        } else {
+                            circuitBreaker.onSuccess(System.nanoTime() - start);
+                        }
+                    })
+                    .doOnCancel(circuitBreaker::releasePermission)
+                    .doFinally(signal -> bulkhead.release());
+        });
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public ReactiveCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Bulkhead getBulkhead() {
+        return bulkhead;
+    }
+
+    /**
+     * 生成状态快照
+     *
+     * @return 状态快照
+     */
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("circuitBreaker", circuitBreaker.snapshot());
+        result.put("bulkhead", bulkhead.snapshot());
+        result.put("callTimeoutMillis", callTimeout != null ? callTimeout.toMillis() : 0);
+        return result;
+    }
+}
@@ -0,0 +1,301 @@
+package com.honyrun.service.rule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.honyrun.exception.BusinessException;
+import com.honyrun.exception.ErrorCode;
+import com.honyrun.util.LoggingUtil;
+import com.honyrun.util.common.JsonUtil;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 业务规则引擎
+ *
+ * 按规则集标识缓存编译结果：
+ * - getOrCompile在规则来源文本变化时重新编译并原子替换，正在求值的批次继续使用旧规则集，
+ *   之后的求值立即使用新规则集，无需重启或加锁
+ * - 批量求值按honyrun.rule.engine.batch-size分批，每批复用同一个求值上下文
+ *
+ * 规则集标识形如"领域:ID"（例如bf2:1），冒号前的部分作为指标的domain标签；
+ * 单条规则的求值与命中次数数量不受控，不作为指标标签，通过/actuator/businessrules查看
+ *
+ * 指标：
+ * - honyrun.rule.evaluation 每批求值耗时
+ * - honyrun.rule.facts / honyrun.rule.matches 求值的输入数据条数与命中规则数
+ * - honyrun.rule.compilations 编译次数，result标签区分success与failure
+ * - honyrun.rule.sets 已缓存的规则集数量
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 14:00:00
+ * @modified 2025-11-04 14:00:00
+ * @version 1.0.0
+ */
+@Service
+public class BusinessRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BusinessRuleEngine.class);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, CompiledRuleSet> ruleSets = new ConcurrentHashMap<>();
+    private final Map<String, DomainMeters> domainMeters = new ConcurrentHashMap<>();
+
+    @Value("${honyrun.rule.engine.batch-size:256}")
+    private int batchSize = 256;
+
+    @Value("${honyrun.rule.engine.max-rules:10000}")
+    private int maxRules = 10000;
+
+    @Value("${honyrun.rule.engine.max-expression-length:4096}")
+    private int maxExpressionLength = 4096;
+
+    public BusinessRuleEngine(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("honyrun.rule.sets", ruleSets, Map::size)
+                .description("已缓存的业务规则集数量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 编译规则集但不缓存，用于校验规则定义
+     *
+     * @param key    规则集标识
+     * @param source 规则集JSON
+     * @return 编译后的规则集
+     * @throws IllegalArgumentException 规则定义不合法
+     */
+    public CompiledRuleSet compile(String key, String source) {
+        DomainMeters meters = meters(key);
+        try {
+            CompiledRuleSet compiled = RuleCompiler.compile(key, source, maxRules, maxExpressionLength);
+            meters.compiled.increment();
+            return compiled;
+        } catch (IllegalArgumentException e) {
+            meters.compileFailed.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * 获取已缓存的规则集，来源文本变化时重新编译并替换
+     *
+     * @param key    规则集标识
+     * @param source 规则集JSON
+     * @return 与来源文本一致的规则集
+     * @throws IllegalArgumentException 规则定义不合法，此时不替换已缓存的规则集
+     */
+    public CompiledRuleSet getOrCompile(String key, String source) {
+        CompiledRuleSet current = ruleSets.get(key);
+        if (current != null && sameSource(current.getSource(), source)) {
+            return current;
+        }
+        return ruleSets.compute(key, (ignored, existing) -> {
+            if (existing != null && sameSource(existing.getSource(), source)) {
+                return existing;
+            }
+            CompiledRuleSet compiled = compile(key, source);
+            LoggingUtil.info(logger, "业务规则集已{}: {}，规则 {} 条",
+                    existing == null ? "编译" : "重新编译并替换", key, compiled.getRuleCount());
+            return compiled;
+        });
+    }
+
+    /**
+     * 以新的规则定义替换规则集
+     *
+     * @param key    规则集标识
+     * @param source 规则集JSON
+     * @return 新的规则集
+     * @throws IllegalArgumentException 规则定义不合法，此时保留原规则集
+     */
+    public CompiledRuleSet swap(String key, String source) {
+        CompiledRuleSet compiled = compile(key, source);
+        ruleSets.put(key, compiled);
+        LoggingUtil.info(logger, "业务规则集已替换: {}，规则 {} 条", key, compiled.getRuleCount());
+        return compiled;
+    }
+
+    /**
+     * 移除已缓存的规则集，规则定义删除或实体删除时调用
+     *
+     * @param key 规则集标识
+     */
+    public void evict(String key) {
+        if (ruleSets.remove(key) != null) {
+            LoggingUtil.debug(logger, "业务规则集已移除: {}", key);
+        }
+    }
+
+    /**
+     * 批量求值
+     *
+     * @param ruleSet 规则集
+     * @param facts   输入数据流
+     * @return 与输入顺序一致的求值结果流
+     */
+    public Flux<RuleSetResult> evaluate(CompiledRuleSet ruleSet, Flux<? extends Map<String, ?>> facts) {
+        DomainMeters meters = meters(ruleSet.getKey());
+        return facts.buffer(Math.max(1, batchSize))
+                .concatMapIterable(batch -> {
+                    long start = System.nanoTime();
+                    List<RuleSetResult> results = ruleSet.evaluateBatch(batch);
+                    meters.evaluation.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    meters.facts.increment(batch.size());
+                    meters.matches.increment(results.stream().mapToInt(result -> result.matches().size()).sum());
+                    return results;
+                });
+    }
+
+    /**
+     * 以JSON输入执行规则集
+     *
+     * @param key       规则集标识
+     * @param source    规则集JSON
+     * @param inputData 输入数据，JSON对象返回单个结果，JSON数组返回与之等长的结果数组
+     * @return 求值结果JSON
+     */
+    public Mono<String> execute(String key, String source, String inputData) {
+        return Mono.defer(() -> {
+            CompiledRuleSet ruleSet;
+            try {
+                ruleSet = getOrCompile(key, source);
+            } catch (IllegalArgumentException e) {
+                return Mono.error(new BusinessException(ErrorCode.BUSINESS_RULE_VIOLATION,
+                        "业务规则定义不合法: " + e.getMessage()));
+            }
+            JsonNode input = parseInput(inputData);
+            if (input.isObject()) {
+                return evaluate(ruleSet, Flux.just(toFact(input)))
+                        .next()
+                        .map(result -> JsonUtil.toJson(result.toMap()));
+            }
+            List<Map<String, Object>> facts = new ArrayList<>(input.size());
+            for (JsonNode element : input) {
+                if (!element.isObject()) {
+                    return Mono.error(new BusinessException(ErrorCode.INVALID_PARAMETER, "输入数组的元素必须是JSON对象"));
+                }
+                facts.add(toFact(element));
+            }
+            return evaluate(ruleSet, Flux.fromIterable(facts))
+                    .map(RuleSetResult::toMap)
+                    .collectList()
+                    .map(JsonUtil::toJson);
+        });
+    }
+
+    /**
+     * 已缓存规则集的摘要
+     *
+     * @return 按规则集标识排列的摘要
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("batchSize", batchSize);
+        status.put("maxRules", maxRules);
+        status.put("ruleSets", ruleSets.values().stream()
+                .sorted((left, right) -> left.getKey().compareTo(right.getKey()))
+                .map(CompiledRuleSet::getSummary)
+                .toList());
+        return status;
+    }
+
+    /**
+     * 单个规则集的摘要与每条规则的统计
+     *
+     * @param key 规则集标识
+     * @return 规则集不存在时返回null
+     */
+    public Map<String, Object> getRuleSetStatus(String key) {
+        CompiledRuleSet ruleSet = ruleSets.get(key);
+        if (ruleSet == null) {
+            return null;
+        }
+        Map<String, Object> status = new LinkedHashMap<>(ruleSet.getSummary());
+        status.put("ruleStatistics", ruleSet.getRuleStatistics());
+        return status;
+    }
+
+    private static JsonNode parseInput(String inputData) {
+        JsonNode input = null;
+        if (inputData != null && !inputData.isBlank()) {
+            try {
+                input = JsonUtil.getObjectMapper().readTree(inputData);
+            } catch (JsonProcessingException e) {
+                throw new BusinessException(ErrorCode.INVALID_PARAMETER, "规则输入数据不是合法的JSON", e);
+            }
+        }
+        if (input == null || !(input.isObject() || input.isArray())) {
+            throw new BusinessException(ErrorCode.INVALID_PARAMETER, "规则输入数据必须是JSON对象或数组");
+        }
+        return input;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> toFact(JsonNode node) {
+        return JsonUtil.getObjectMapper().convertValue(node, Map.class);
+    }
+
+    private static boolean sameSource(String cached, String source) {
+        return cached == null ? source == null : cached.equals(source);
+    }
+
+    private DomainMeters meters(String key) {
+        int separator = key.indexOf(':');
+        String domain = separator > 0 ? key.substring(0, separator) : key;
+        return domainMeters.computeIfAbsent(domain, ignored -> new DomainMeters(meterRegistry, domain));
+    }
+
+    /**
+     * 按规则领域划分的指标
+     */
+    private static final class DomainMeters {
+
+        private final Timer evaluation;
+        private final Counter facts;
+        private final Counter matches;
+        private final Counter compiled;
+        private final Counter compileFailed;
+
+        DomainMeters(MeterRegistry registry, String domain) {
+            this.evaluation = Timer.builder("honyrun.rule.evaluation")
+                    .description("业务规则批量求值耗时")
+                    .tag("domain", domain)
+                    .register(registry);
+            this.facts = Counter.builder("honyrun.rule.facts")
+                    .description("业务规则求值的输入数据条数")
+                    .tag("domain", domain)
+                    .register(registry);
+            this.matches = Counter.builder("honyrun.rule.matches")
+                    .description("业务规则命中次数")
+                    .tag("domain", domain)
+                    .register(registry);
+            this.compiled = Counter.builder("honyrun.rule.compilations")
+                    .description("业务规则集编译次数")
+                    .tag("domain", domain)
+                    .tag("result", "success")
+                    .register(registry);
+            this.compileFailed = Counter.builder("honyrun.rule.compilations")
+                    .description("业务规则集编译次数")
+                    .tag("domain", domain)
+                    .tag("result", "failure")
+                    .register(registry);
+        }
+    }
+}
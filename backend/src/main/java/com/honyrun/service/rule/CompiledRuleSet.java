@@ -0,0 +1,409 @@
+package com.honyrun.service.rule;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 编译后的业务规则集
+ *
+ * 由RuleCompiler生成，结构不可变，可被多个线程并发求值：
+ * - 条件网络：全部规则中相同的原子条件（字段 运算符 常量）只编译为一个条件节点，
+ *   同一条输入数据上每个条件节点至多求值一次，结果被引用它的所有规则共享
+ * - 哈希判别：以等值条件（字段 == 常量）开头的合取规则按"字段取值"建立哈希索引，
+ *   一条输入数据只对取值命中的规则和无法建立索引的规则求值，规则数量上千时仍只检查少量候选
+ * - 每条规则记录求值次数与命中次数，供规则统计使用
+ *
+ * 命中结果按优先级从高到低、同优先级按定义顺序排列；FIRST模式只返回第一条
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 14:00:00
+ * @modified 2025-11-04 14:00:00
+ * @version 1.0.0
+ */
+public final class CompiledRuleSet {
+
+    /**
+     * 命中模式
+     */
+    public enum MatchMode {
+        /** 返回全部命中的规则 */
+        ALL,
+        /** 只返回优先级最高的一条 */
+        FIRST
+    }
+
+    /**
+     * 原子条件运算符
+     */
+    enum Operator {
+        EQ, NE, GT, GE, LT, LE, IN, CONTAINS, STARTS_WITH, ENDS_WITH, EXISTS
+    }
+
+    private static final Comparator<RuleMatch> MATCH_ORDER = Comparator
+            .comparingInt(RuleMatch::priority).reversed()
+            .thenComparingInt(RuleMatch::order);
+
+    private final String key;
+    private final String source;
+    private final MatchMode mode;
+    private final Instant compiledAt = Instant.now();
+    private final String[][] paths;
+    private final Alpha[] alphas;
+    private final Rule[] rules;
+    private final int[] indexedPaths;
+    private final Map<Object, int[]>[] buckets;
+    private final int[] unindexedRules;
+    private final int conditionReferences;
+    private final LongAdder facts = new LongAdder();
+
+    CompiledRuleSet(String key, String source, MatchMode mode, String[][] paths, Alpha[] alphas, Rule[] rules,
+            int[] indexedPaths, Map<Object, int[]>[] buckets, int[] unindexedRules, int conditionReferences) {
+        this.key = key;
+        this.source = source;
+        this.mode = mode;
+        this.paths = paths;
+        this.alphas = alphas;
+        this.rules = rules;
+        this.indexedPaths = indexedPaths;
+        this.buckets = buckets;
+        this.unindexedRules = unindexedRules;
+        this.conditionReferences = conditionReferences;
+    }
+
+    /**
+     * 对单条输入数据求值
+     *
+     * @param fact 输入数据，嵌套字段通过"a.b.c"形式的路径访问
+     * @return 求值结果
+     */
+    public RuleSetResult evaluate(Map<String, ?> fact) {
+        return evaluate(fact, new Context(paths, alphas.length));
+    }
+
+    /**
+     * 对一批输入数据求值，整批复用同一个求值上下文
+     *
+     * @param batch 输入数据
+     * @return 与输入顺序一致的求值结果
+     */
+    public List<RuleSetResult> evaluateBatch(List<? extends Map<String, ?>> batch) {
+        Context context = new Context(paths, alphas.length);
+        List<RuleSetResult> results = new ArrayList<>(batch.size());
+        for (Map<String, ?> fact : batch) {
+            results.add(evaluate(fact, context));
+        }
+        return results;
+    }
+
+    private RuleSetResult evaluate(Map<String, ?> fact, Context context) {
+        context.reset(fact);
+        facts.increment();
+        List<RuleMatch> matches = new ArrayList<>(4);
+        int evaluated = 0;
+        for (int i = 0; i < indexedPaths.length; i++) {
+            Object value = context.value(indexedPaths[i]);
+            if (value == null) {
+                continue;
+            }
+            int[] candidates = buckets[i].get(normalize(value));
+            if (candidates != null) {
+                for (int ruleId : candidates) {
+                    evaluated++;
+                    evaluateRule(rules[ruleId], context, matches);
+                }
+            }
+        }
+        for (int ruleId : unindexedRules) {
+            evaluated++;
+            evaluateRule(rules[ruleId], context, matches);
+        }
+        if (matches.size() > 1) {
+            matches.sort(MATCH_ORDER);
+            if (mode == MatchMode.FIRST) {
+                matches = List.of(matches.get(0));
+            }
+        }
+        return new RuleSetResult(matches, evaluated);
+    }
+
+    private void evaluateRule(Rule rule, Context context, List<RuleMatch> matches) {
+        rule.evaluations.increment();
+        if (rule.condition.test(context)) {
+            rule.matches.increment();
+            matches.add(rule.match);
+        }
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    String getSource() {
+        return source;
+    }
+
+    public int getRuleCount() {
+        return rules.length;
+    }
+
+    /**
+     * 编译摘要与整体求值统计
+     *
+     * @return 摘要
+     */
+    public Map<String, Object> getSummary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("key", key);
+        summary.put("mode", mode);
+        summary.put("compiledAt", compiledAt.toString());
+        summary.put("rules", rules.length);
+        summary.put("conditionNodes", alphas.length);
+        // 被多条规则共享而省去的条件节点数
+        summary.put("sharedConditions", conditionReferences - alphas.length);
+        summary.put("indexedRules", rules.length - unindexedRules.length);
+        summary.put("unindexedRules", unindexedRules.length);
+        summary.put("facts", facts.sum());
+        return summary;
+    }
+
+    /**
+     * 每条规则的求值与命中次数
+     *
+     * @return 按定义顺序排列的规则统计
+     */
+    public List<Map<String, Object>> getRuleStatistics() {
+        List<Map<String, Object>> statistics = new ArrayList<>(rules.length);
+        for (Rule rule : rules) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", rule.match.id());
+            entry.put("name", rule.match.name());
+            entry.put("priority", rule.match.priority());
+            entry.put("evaluations", rule.evaluations.sum());
+            entry.put("matches", rule.matches.sum());
+            statistics.add(entry);
+        }
+        return statistics;
+    }
+
+    /**
+     * 统一数值、布尔、枚举与字符串的表示，等值比较与哈希索引都基于归一化后的值
+     */
+    static Object normalize(Object value) {
+        if (value instanceof Double || value instanceof Boolean || value instanceof String || value == null) {
+            return value;
+        }
+        if (value instanceof Number number) {
+            return number.doubleValue();
+        }
+        if (value instanceof Enum<?> constant) {
+            return constant.name();
+        }
+        if (value instanceof CharSequence || value instanceof Character) {
+            return value.toString();
+        }
+        return value;
+    }
+
+    /**
+     * 单条输入数据的求值上下文，缓存字段取值与条件节点结果；通过纪元号失效，无需逐项清理
+     */
+    static final class Context {
+
+        private final String[][] paths;
+        private final Object[] values;
+        private final int[] valueEpochs;
+        private final boolean[] alphaResults;
+        private final int[] alphaEpochs;
+        private Map<String, ?> fact;
+        private int epoch;
+
+        Context(String[][] paths, int alphaCount) {
+            this.paths = paths;
+            this.values = new Object[paths.length];
+            this.valueEpochs = new int[paths.length];
+            this.alphaResults = new boolean[alphaCount];
+            this.alphaEpochs = new int[alphaCount];
+        }
+
+        void reset(Map<String, ?> fact) {
+            this.fact = fact;
+            if (++epoch == Integer.MAX_VALUE) {
+                Arrays.fill(valueEpochs, 0);
+                Arrays.fill(alphaEpochs, 0);
+                epoch = 1;
+            }
+        }
+
+        Object value(int pathId) {
+            if (valueEpochs[pathId] != epoch) {
+                values[pathId] = resolve(pathId);
+                valueEpochs[pathId] = epoch;
+            }
+            return values[pathId];
+        }
+
+        private Object resolve(int pathId) {
+            Object current = fact;
+            for (String segment : paths[pathId]) {
+                if (!(current instanceof Map<?, ?> map)) {
+                    return null;
+                }
+                current = map.get(segment);
+            }
+            return current;
+        }
+
+        boolean alpha(Alpha alpha) {
+            int id = alpha.id;
+            if (alphaEpochs[id] != epoch) {
+                alphaResults[id] = alpha.test(value(alpha.pathId));
+                alphaEpochs[id] = epoch;
+            }
+            return alphaResults[id];
+        }
+    }
+
+    /**
+     * 原子条件节点
+     */
+    static final class Alpha {
+
+        final int id;
+        final int pathId;
+        final Operator operator;
+        final Object operand;
+        final Set<Object> operands;
+
+        Alpha(int id, int pathId, Operator operator, Object operand, Set<Object> operands) {
+            this.id = id;
+            this.pathId = pathId;
+            this.operator = operator;
+            this.operand = operand;
+            this.operands = operands;
+        }
+
+        boolean test(Object raw) {
+            Object value = normalize(raw);
+            return switch (operator) {
+                case EQ -> Objects.equals(value, operand);
+                case NE -> !Objects.equals(value, operand);
+                case GT -> compare(value) == 1;
+                case GE -> compare(value) >= 0;
+                case LT -> compare(value) == -1;
+                case LE -> {
+                    int result = compare(value);
+                    yield result == -1 || result == 0;
+                }
+                case IN -> operands.contains(value);
+                case CONTAINS -> contains(value);
+                case STARTS_WITH -> value instanceof String text && text.startsWith((String) operand);
+                case ENDS_WITH -> value instanceof String text && text.endsWith((String) operand);
+                case EXISTS -> value != null;
+            };
+        }
+
+        /**
+         * 数值与数值、字符串与字符串可比较，返回-1、0或1；类型不匹配或缺失时返回Integer.MIN_VALUE，所有比较均不成立
+         */
+        private int compare(Object value) {
+            if (value instanceof Double number && operand instanceof Double bound) {
+                return Integer.signum(Double.compare(number, bound));
+            }
+            if (value instanceof String text && operand instanceof String bound) {
+                return Integer.signum(text.compareTo(bound));
+            }
+            return Integer.MIN_VALUE;
+        }
+
+        private boolean contains(Object value) {
+            if (value instanceof String text) {
+                return operand instanceof String part && text.contains(part);
+            }
+            if (value instanceof Collection<?> collection) {
+                for (Object element : collection) {
+                    if (Objects.equals(normalize(element), operand)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * 条件表达式节点
+     */
+    interface Condition {
+        boolean test(Context context);
+    }
+
+    record AlphaCondition(Alpha alpha) implements Condition {
+        @Override
+        public boolean test(Context context) {
+            return context.alpha(alpha);
+        }
+    }
+
+    record AndCondition(Condition[] children) implements Condition {
+        @Override
+        public boolean test(Context context) {
+            for (Condition child : children) {
+                if (!child.test(context)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    record OrCondition(Condition[] children) implements Condition {
+        @Override
+        public boolean test(Context context) {
+            for (Condition child : children) {
+                if (child.test(context)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    record NotCondition(Condition child) implements Condition {
+        @Override
+        public boolean test(Context context) {
+            return !child.test(context);
+        }
+    }
+
+    record ConstantCondition(boolean value) implements Condition {
+        @Override
+        public boolean test(Context context) {
+            return value;
+        }
+    }
+
+    /**
+     * 编译后的规则
+     */
+    static final class Rule {
+
+        final RuleMatch match;
+        final Condition condition;
+        final LongAdder evaluations = new LongAdder();
+        final LongAdder matches = new LongAdder();
+
+        Rule(RuleMatch match, Condition condition) {
+            this.match = match;
+            this.condition = condition;
+        }
+    }
+}
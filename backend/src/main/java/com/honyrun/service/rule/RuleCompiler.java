@@ -0,0 +1,516 @@
+package com.honyrun.service.rule;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.honyrun.service.rule.CompiledRuleSet.Alpha;
+import com.honyrun.service.rule.CompiledRuleSet.AlphaCondition;
+import com.honyrun.service.rule.CompiledRuleSet.AndCondition;
+import com.honyrun.service.rule.CompiledRuleSet.Condition;
+import com.honyrun.service.rule.CompiledRuleSet.ConstantCondition;
+import com.honyrun.service.rule.CompiledRuleSet.MatchMode;
+import com.honyrun.service.rule.CompiledRuleSet.NotCondition;
+import com.honyrun.service.rule.CompiledRuleSet.Operator;
+import com.honyrun.service.rule.CompiledRuleSet.OrCondition;
+import com.honyrun.service.rule.CompiledRuleSet.Rule;
+import com.honyrun.util.common.JsonUtil;
+
+/**
+ * 业务规则编译器
+ *
+ * 规则集为JSON，可以是规则数组，也可以是包含rules数组的对象（其余字段忽略，便于与其他配置共存）：
+ * <pre>
+ * {"mode": "ALL", "rules": [
+ *   {"id": "vip-large", "name": "大额VIP", "priority": 10,
+ *    "when": "customer.level == 'VIP' &amp;&amp; amount &gt;= 10000", "then": {"action": "review"}}
+ * ]}
+ * </pre>
+ * - mode：ALL返回全部命中规则（默认），FIRST只返回优先级最高的一条
+ * - id必填且唯一；enabled为false的规则不参与编译；then原样作为命中结果返回
+ *
+ * 条件表达式语法：
+ * - 比较：字段 ==、!=、&gt;、&gt;=、&lt;、&lt;= 常量；字段 in [常量, ...]、not in [...]；
+ *   字段 contains 常量（字符串包含或数组包含）、startsWith/endsWith 字符串、字段 exists
+ * - 组合：&amp;&amp;/and、||/or、!/not 与括号；true、false
+ * - 常量：数字、单引号或双引号字符串、true、false、null；字段路径用"."访问嵌套对象
+ * - 数值一律按双精度比较；数值与字符串之间不做隐式转换，类型不匹配时比较不成立
+ *
+ * 编译时按原子条件去重构建共享条件网络，并为以等值条件开头的合取规则建立哈希判别索引，见CompiledRuleSet
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 14:00:00
+ * @modified 2025-11-04 14:00:00
+ * @version 1.0.0
+ */
+public final class RuleCompiler {
+
+    private RuleCompiler() {
+    }
+
+    /**
+     * 编译规则集
+     *
+     * @param key                 规则集标识
+     * @param source              规则集JSON，为空时编译为不含规则的规则集
+     * @param maxRules            允许的最大规则数
+     * @param maxExpressionLength 单条条件表达式的最大长度
+     * @return 编译后的规则集
+     * @throws IllegalArgumentException 规则集格式或条件表达式不合法
+     */
+    public static CompiledRuleSet compile(String key, String source, int maxRules, int maxExpressionLength) {
+        JsonNode root = readTree(source);
+        MatchMode mode = MatchMode.ALL;
+        JsonNode rulesNode = root;
+        if (root != null && root.isObject()) {
+            String modeText = root.path("mode").asText("ALL");
+            try {
+                mode = MatchMode.valueOf(modeText.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("不支持的规则命中模式: " + modeText);
+            }
+            rulesNode = root.get("rules");
+        }
+        Builder builder = new Builder();
+        if (rulesNode != null && !rulesNode.isNull()) {
+            if (!rulesNode.isArray()) {
+                throw new IllegalArgumentException("规则集的rules必须是数组");
+            }
+            Set<String> ids = new HashSet<>();
+            int position = 0;
+            for (JsonNode node : rulesNode) {
+                position++;
+                if (!node.isObject()) {
+                    throw new IllegalArgumentException("第" + position + "条规则必须是对象");
+                }
+                String id = node.path("id").asText("").trim();
+                if (id.isEmpty()) {
+                    throw new IllegalArgumentException("第" + position + "条规则缺少id");
+                }
+                if (!ids.add(id)) {
+                    throw new IllegalArgumentException("规则id重复: " + id);
+                }
+                if (!node.path("enabled").asBoolean(true)) {
+                    continue;
+                }
+                String when = node.path("when").asText("").trim();
+                if (when.isEmpty()) {
+                    throw new IllegalArgumentException("规则 " + id + " 缺少when条件");
+                }
+                if (when.length() > maxExpressionLength) {
+                    throw new IllegalArgumentException("规则 " + id + " 的条件表达式超过" + maxExpressionLength + "个字符");
+                }
+                if (builder.rules.size() >= maxRules) {
+                    throw new IllegalArgumentException("规则数量超过上限: " + maxRules);
+                }
+                Object then = node.has("then") ? JsonUtil.convertValue(node.get("then"), Object.class) : null;
+                RuleMatch match = new RuleMatch(id, node.path("name").asText(id), node.path("priority").asInt(0),
+                        builder.rules.size(), then);
+                builder.rules.add(new Rule(match, new Parser(when, id, builder).parse()));
+            }
+        }
+        return builder.build(key, source, mode);
+    }
+
+    private static JsonNode readTree(String source) {
+        if (source == null || source.isBlank()) {
+            return null;
+        }
+        try {
+            return JsonUtil.getObjectMapper().readTree(source);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("规则集不是合法的JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    /**
+     * 条件网络构建器：字段路径与原子条件按规范化键去重
+     */
+    private static final class Builder {
+
+        private final List<String[]> paths = new ArrayList<>();
+        private final Map<String, Integer> pathIds = new HashMap<>();
+        private final List<Alpha> alphas = new ArrayList<>();
+        private final Map<String, Alpha> alphaByKey = new HashMap<>();
+        private final List<Rule> rules = new ArrayList<>();
+        private int conditionReferences;
+
+        Condition alpha(String path, Operator operator, Object operand, Set<Object> operands) {
+            conditionReferences++;
+            String key = path + '\u0000' + operator + '\u0000'
+                    + (operands != null ? canonical(operands) : canonical(operand));
+            Alpha alpha = alphaByKey.computeIfAbsent(key, ignored -> {
+                Alpha created = new Alpha(alphas.size(), pathId(path), operator, operand, operands);
+                alphas.add(created);
+                return created;
+            });
+            return new AlphaCondition(alpha);
+        }
+
+        private int pathId(String path) {
+            return pathIds.computeIfAbsent(path, ignored -> {
+                paths.add(path.split("\\."));
+                return paths.size() - 1;
+            });
+        }
+
+        private static String canonical(Object operand) {
+            return operand == null ? "null" : operand.getClass().getSimpleName() + ':' + operand;
+        }
+
+        private static String canonical(Set<Object> operands) {
+            Set<String> sorted = new TreeSet<>();
+            for (Object operand : operands) {
+                sorted.add(canonical(operand));
+            }
+            return sorted.toString();
+        }
+
+        @SuppressWarnings("unchecked")
+        CompiledRuleSet build(String key, String source, MatchMode mode) {
+            // 同一字段上不同等值常量越多，以该字段做判别时每个分桶的候选规则越少
+            Map<Integer, Set<Object>> distinctValues = new HashMap<>();
+            for (Rule rule : rules) {
+                for (Alpha alpha : equalityAlphas(rule.condition)) {
+                    distinctValues.computeIfAbsent(alpha.pathId, ignored -> new HashSet<>()).add(alpha.operand);
+                }
+            }
+            Map<Integer, Map<Object, List<Integer>>> index = new LinkedHashMap<>();
+            List<Integer> unindexed = new ArrayList<>();
+            for (int ruleId = 0; ruleId < rules.size(); ruleId++) {
+                Alpha discriminator = null;
+                for (Alpha alpha : equalityAlphas(rules.get(ruleId).condition)) {
+                    if (discriminator == null || distinctValues.get(alpha.pathId).size()
+                            > distinctValues.get(discriminator.pathId).size()) {
+                        discriminator = alpha;
+                    }
+                }
+                if (discriminator == null) {
+                    unindexed.add(ruleId);
+                } else {
+                    index.computeIfAbsent(discriminator.pathId, ignored -> new HashMap<>())
+                            .computeIfAbsent(discriminator.operand, ignored -> new ArrayList<>())
+                            .add(ruleId);
+                }
+            }
+
+            int[] indexedPaths = new int[index.size()];
+            Map<Object, int[]>[] buckets = (Map<Object, int[]>[]) new Map<?, ?>[index.size()];
+            int position = 0;
+            for (Map.Entry<Integer, Map<Object, List<Integer>>> entry : index.entrySet()) {
+                indexedPaths[position] = entry.getKey();
+                Map<Object, int[]> bucket = new HashMap<>();
+                entry.getValue().forEach((operand, ruleIds) -> bucket.put(operand, toArray(ruleIds)));
+                buckets[position++] = bucket;
+            }
+            return new CompiledRuleSet(key, source, mode, paths.toArray(new String[0][]), alphas.toArray(new Alpha[0]),
+                    rules.toArray(new Rule[0]), indexedPaths, buckets, toArray(unindexed), conditionReferences);
+        }
+
+        /**
+         * 规则成立的必要等值条件：规则本身或顶层合取中的"字段 == 非空常量"
+         */
+        private static List<Alpha> equalityAlphas(Condition condition) {
+            List<Alpha> found = new ArrayList<>();
+            if (condition instanceof AndCondition and) {
+                for (Condition child : and.children()) {
+                    addEquality(child, found);
+                }
+            } else {
+                addEquality(condition, found);
+            }
+            return found;
+        }
+
+        private static void addEquality(Condition condition, List<Alpha> found) {
+            if (condition instanceof AlphaCondition(Alpha alpha) && alpha.operator == Operator.EQ
+                    && alpha.operand != null) {
+                found.add(alpha);
+            }
+        }
+
+        private static int[] toArray(List<Integer> values) {
+            return values.stream().mapToInt(Integer::intValue).toArray();
+        }
+    }
+
+    /**
+     * 条件表达式递归下降解析器
+     */
+    private static final class Parser {
+
+        private final String text;
+        private final String ruleId;
+        private final Builder builder;
+        private int position;
+
+        Parser(String text, String ruleId, Builder builder) {
+            this.text = text;
+            this.ruleId = ruleId;
+            this.builder = builder;
+        }
+
+        Condition parse() {
+            Condition condition = parseOr();
+            skipWhitespace();
+            if (position < text.length()) {
+                throw error("存在无法解析的内容");
+            }
+            return condition;
+        }
+
+        private Condition parseOr() {
+            List<Condition> children = new ArrayList<>();
+            children.add(parseAnd());
+            while (matchSymbol("||") || matchKeyword("or")) {
+                children.add(parseAnd());
+            }
+            return combine(children, false);
+        }
+
+        private Condition parseAnd() {
+            List<Condition> children = new ArrayList<>();
+            children.add(parseUnary());
+            while (matchSymbol("&&") || matchKeyword("and")) {
+                children.add(parseUnary());
+            }
+            return combine(children, true);
+        }
+
+        private Condition parseUnary() {
+            if (matchSymbol("!") || matchKeyword("not")) {
+                Condition child = parseUnary();
+                if (child instanceof NotCondition(Condition inner)) {
+                    return inner;
+                }
+                if (child instanceof ConstantCondition(boolean value)) {
+                    return new ConstantCondition(!value);
+                }
+                return new NotCondition(child);
+            }
+            return parsePrimary();
+        }
+
+        private Condition parsePrimary() {
+            if (matchSymbol("(")) {
+                Condition condition = parseOr();
+                expectSymbol(")");
+                return condition;
+            }
+            if (matchKeyword("true")) {
+                return new ConstantCondition(true);
+            }
+            if (matchKeyword("false")) {
+                return new ConstantCondition(false);
+            }
+            String path = readPath();
+            return parseComparison(path);
+        }
+
+        private Condition parseComparison(String path) {
+            if (matchSymbol("==")) {
+                return builder.alpha(path, Operator.EQ, readLiteral(), null);
+            }
+            if (matchSymbol("!=")) {
+                return builder.alpha(path, Operator.NE, readLiteral(), null);
+            }
+            if (matchSymbol(">=")) {
+                return builder.alpha(path, Operator.GE, readComparable(), null);
+            }
+            if (matchSymbol("<=")) {
+                return builder.alpha(path, Operator.LE, readComparable(), null);
+            }
+            if (matchSymbol(">")) {
+                return builder.alpha(path, Operator.GT, readComparable(), null);
+            }
+            if (matchSymbol("<")) {
+                return builder.alpha(path, Operator.LT, readComparable(), null);
+            }
+            if (matchKeyword("in")) {
+                return builder.alpha(path, Operator.IN, null, readList());
+            }
+            if (matchKeyword("not")) {
+                if (!matchKeyword("in")) {
+                    throw error("not之后需要in");
+                }
+                return new NotCondition(builder.alpha(path, Operator.IN, null, readList()));
+            }
+            if (matchKeyword("contains")) {
+                Object operand = readLiteral();
+                if (operand == null) {
+                    throw error("contains需要非空常量");
+                }
+                return builder.alpha(path, Operator.CONTAINS, operand, null);
+            }
+            if (matchKeyword("startsWith")) {
+                return builder.alpha(path, Operator.STARTS_WITH, readString(), null);
+            }
+            if (matchKeyword("endsWith")) {
+                return builder.alpha(path, Operator.ENDS_WITH, readString(), null);
+            }
+            if (matchKeyword("exists")) {
+                return builder.alpha(path, Operator.EXISTS, null, null);
+            }
+            throw error("需要比较运算符");
+        }
+
+        private Set<Object> readList() {
+            expectSymbol("[");
+            Set<Object> values = new LinkedHashSet<>();
+            do {
+                values.add(readLiteral());
+            } while (matchSymbol(","));
+            expectSymbol("]");
+            return values;
+        }
+
+        private Object readComparable() {
+            Object operand = readLiteral();
+            if (!(operand instanceof Double) && !(operand instanceof String)) {
+                throw error("大小比较需要数值或字符串常量");
+            }
+            return operand;
+        }
+
+        private String readString() {
+            if (readLiteral() instanceof String value) {
+                return value;
+            }
+            throw error("需要字符串常量");
+        }
+
+        private Object readLiteral() {
+            skipWhitespace();
+            if (position >= text.length()) {
+                throw error("需要常量");
+            }
+            char c = text.charAt(position);
+            if (c == '\'' || c == '"') {
+                return readQuoted(c);
+            }
+            if (c == '-' || Character.isDigit(c)) {
+                int start = position++;
+                while (position < text.length() && isNumberChar(text.charAt(position))) {
+                    position++;
+                }
+                try {
+                    return Double.valueOf(text.substring(start, position));
+                } catch (NumberFormatException e) {
+                    position = start;
+                    throw error("数值格式不正确");
+                }
+            }
+            if (matchKeyword("true")) {
+                return Boolean.TRUE;
+            }
+            if (matchKeyword("false")) {
+                return Boolean.FALSE;
+            }
+            if (matchKeyword("null")) {
+                return null;
+            }
+            throw error("需要常量");
+        }
+
+        private String readQuoted(char quote) {
+            StringBuilder value = new StringBuilder();
+            position++;
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == quote) {
+                    return value.toString();
+                }
+                if (c == '\\' && position < text.length()) {
+                    c = text.charAt(position++);
+                }
+                value.append(c);
+            }
+            throw error("字符串缺少结束引号");
+        }
+
+        private String readPath() {
+            skipWhitespace();
+            int start = position;
+            while (true) {
+                if (position >= text.length() || !Character.isJavaIdentifierStart(text.charAt(position))) {
+                    throw error("需要字段路径");
+                }
+                while (position < text.length() && Character.isJavaIdentifierPart(text.charAt(position))) {
+                    position++;
+                }
+                if (position < text.length() && text.charAt(position) == '.') {
+                    position++;
+                    continue;
+                }
+                return text.substring(start, position);
+            }
+        }
+
+        private boolean matchSymbol(String symbol) {
+            skipWhitespace();
+            if (text.startsWith(symbol, position)) {
+                position += symbol.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expectSymbol(String symbol) {
+            if (!matchSymbol(symbol)) {
+                throw error("需要 " + symbol);
+            }
+        }
+
+        private boolean matchKeyword(String keyword) {
+            skipWhitespace();
+            int end = position + keyword.length();
+            if (text.startsWith(keyword, position)
+                    && (end >= text.length() || !Character.isJavaIdentifierPart(text.charAt(end)))) {
+                position = end;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private static boolean isNumberChar(char c) {
+            return Character.isDigit(c) || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-';
+        }
+
+        private static Condition combine(List<Condition> children, boolean conjunction) {
+            if (children.size() == 1) {
+                return children.get(0);
+            }
+            List<Condition> flattened = new ArrayList<>();
+            for (Condition child : children) {
+                if (conjunction && child instanceof AndCondition(Condition[] nested)) {
+                    flattened.addAll(List.of(nested));
+                } else if (!conjunction && child instanceof OrCondition(Condition[] nested)) {
+                    flattened.addAll(List.of(nested));
+                } else {
+                    flattened.add(child);
+                }
+            }
+            Condition[] array = flattened.toArray(new Condition[0]);
+            return conjunction ? new AndCondition(array) : new OrCondition(array);
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(
+                    "规则 " + ruleId + " 的条件表达式第" + (position + 1) + "个字符处" + message + ": " + text);
+        }
+    }
+}
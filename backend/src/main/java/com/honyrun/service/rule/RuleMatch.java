@@ -0,0 +1,34 @@
+package com.honyrun.service.rule;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 命中的业务规则
+ *
+ * @param id       规则ID
+ * @param name     规则名称
+ * @param priority 优先级，数值越大越优先
+ * @param order    在规则集中的定义顺序
+ * @param then     规则定义中的结果数据，原样返回给调用方
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 14:00:00
+ * @modified 2025-11-04 14:00:00
+ * @version 1.0.0
+ */
+public record RuleMatch(String id, String name, int priority, int order, Object then) {
+
+    /**
+     * 转换为结果输出结构
+     *
+     * @return 规则ID、名称、优先级与结果数据
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("id", id);
+        map.put("name", name);
+        map.put("priority", priority);
+        map.put("then", then);
+        return map;
+    }
+}
@@ -0,0 +1,35 @@
+package com.honyrun.service.rule;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 规则集对单条输入数据的求值结果
+ *
+ * @param matches        命中的规则，按优先级从高到低排列
+ * @param evaluatedRules 经哈希判别筛选后实际求值的规则数
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-04 14:00:00
+ * @modified 2025-11-04 14:00:00
+ * @version 1.0.0
+ */
+public record RuleSetResult(List<RuleMatch> matches, int evaluatedRules) {
+
+    public boolean matched() {
+        return !matches.isEmpty();
+    }
+
+    /**
+     * 转换为结果输出结构
+     *
+     * @return 是否命中、命中规则与求值规则数
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("matched", matched());
+        map.put("matches", matches.stream().map(RuleMatch::toMap).toList());
+        map.put("evaluatedRules", evaluatedRules);
+        return map;
+    }
+}
@@ -1,6 +1,7 @@
 package com.honyrun.service.startup;
 
 import com.honyrun.config.cache.RedisConnectionHealthChecker;
+import com.honyrun.config.startup.StartupProfiler;
 import com.honyrun.service.health.UnifiedHealthCheckService;
 import com.honyrun.util.LoggingUtil;
 import org.slf4j.Logger;
@@ -20,15 +21,17 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *
  * <p><strong>启动流程：</strong>
  * <ol>
- *   <li>数据库连接检查</li>
- *   <li>Redis连接检查（支持降级）</li>
+ *   <li>数据库连接检查与Redis连接检查（支持降级），两者相互独立，并行执行</li>
  *   <li>基础组件初始化</li>
  *   <li>启动完成通知</li>
  * </ol>
  *
+ * <p>启动序列的耗时记录到启动时间线（phase/startup-sequence）。
+ *
  * @author Mr.Rey Copyright © 2025
  * @created 2025-10-25 19:52:56
- * @version 1.0.0
+ * @modified 2025-11-04 09:00:00
+ * @version 1.0.1
  */
 @Service
 public class UnifiedStartupManager {
@@ -37,21 +40,25 @@ public class UnifiedStartupManager {
 
     private final RedisConnectionHealthChecker redisHealthChecker;
     private final UnifiedHealthCheckService healthCheckService;
+    private final StartupProfiler startupProfiler;
 
     /**
      * 构造函数注入依赖
      *
      * @param redisHealthChecker Redis连接健康检查器
      * @param healthCheckService 统一健康检查服务
+     * @param startupProfiler    启动性能剖析器
      * @author Mr.Rey Copyright © 2025
      * @created 2025-10-26 01:36:12
-     * @modified 2025-10-26 01:36:12
-     * @version 1.0.0
+     * @modified 2025-11-04 09:00:00
+     * @version 1.0.1
      */
     public UnifiedStartupManager(RedisConnectionHealthChecker redisHealthChecker,
-                               UnifiedHealthCheckService healthCheckService) {
+                               UnifiedHealthCheckService healthCheckService,
+                               StartupProfiler startupProfiler) {
         this.redisHealthChecker = redisHealthChecker;
         this.healthCheckService = healthCheckService;
+        this.startupProfiler = startupProfiler;
     }
 
     private final AtomicBoolean startupCompleted = new AtomicBoolean(false);
@@ -78,9 +85,11 @@ public class UnifiedStartupManager {
     public void onApplicationReady(ApplicationReadyEvent event) {
         if (startupCompleted.compareAndSet(false, true)) {
             startupStartTime = System.currentTimeMillis();
+            StartupProfiler.Span span = startupProfiler.start("phase", "startup-sequence");
             executeStartupSequence()
                 .subscribe(
                     success -> {
+                        span.end(success ? "SUCCEEDED" : "FAILED", null);
                         if (success) {
                             onStartupSuccess();
                         } else {
@@ -101,14 +110,11 @@ public class UnifiedStartupManager {
         LoggingUtil.info(logger, "开始执行统一启动序列");
         currentStatus = StartupStatus.IN_PROGRESS;
 
-        return Mono.just(true)
-            // 第一步：检查数据库连接
-            .flatMap(ignored -> checkDatabaseConnection())
-            // 第二步：检查Redis连接（支持降级）
-            .flatMap(ignored -> checkRedisConnection())
-            // 第三步：执行健康检查（优化超时和重试）
+        // 第一步：并行检查数据库连接与Redis连接（支持降级），任一步骤失败即中止
+        return Mono.zip(checkDatabaseConnection(), checkRedisConnection())
+            // 第二步：执行健康检查（优化超时和重试）
             .flatMap(ignored -> performInitialHealthCheckWithRetry())
-            // 第四步：完成启动
+            // 第三步：完成启动
             .map(ignored -> {
                 currentStatus = StartupStatus.COMPLETED;
                 return true;
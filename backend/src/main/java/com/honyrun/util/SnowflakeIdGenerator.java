@@ -2,6 +2,10 @@ package com.honyrun.util;
 
 import java.net.InetAddress;
 import java.net.NetworkInterface;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -19,7 +23,7 @@ import org.springframework.stereotype.Component;
  * - 12位序列号（同一毫秒内可生成4096个ID）
  *
  * 特性：
- * - 高性能：单机每秒可生成400万个ID
+ * - 高性能：无锁实现，单机每秒可生成400万个ID
  * - 唯一性：分布式环境下保证全局唯一
  * - 有序性：生成的ID按时间递增
  * - 可读性：ID包含时间信息，便于调试
@@ -31,15 +35,23 @@ import org.springframework.stereotype.Component;
  * - 消息ID生成：分布式消息系统中的消息标识
  * - 其他需要唯一ID的业务场景
  *
+ * 实现说明：
+ * - 最近一次分配的ID保存在一个AtomicLong中，时间戳与序列号从中解析，通过CAS推进，不使用锁
+ * - reserveRange一次CAS预留同一毫秒内连续的一段序列号，批量插入（如用户导入）时按区间取ID
+ * - 当前毫秒序列号用尽时借用下一毫秒继续分配，而不是自旋等待
+ * - 时钟回拨或借用导致逻辑时间领先系统时钟不超过maxDriftMillis时沿用逻辑时间继续分配；
+ *   超过时最多等待maxWaitMillis让系统时钟追上，仍未追上则抛出IllegalStateException
+ * - 节点ID由租约管理时记录租约有效期，系统时间越过"有效期 - 安全余量"后直接抛出IllegalStateException，
+ *   直到租约管理器再次确认租约，避免租约过期被其他节点接管后仍以同一节点ID生成重复ID
+ *
  * 注意事项：
- * - 依赖系统时钟，时钟回拨会导致ID重复
- * - 机器ID需要在集群中保持唯一
+ * - 机器ID（数据中心ID + 机器ID共10位）需要在集群中保持唯一，
+ *   集群部署时由SnowflakeWorkerIdLeaseManager通过租约自动分配并在运行期调用assignNodeId切换
  * - 单机部署时自动获取机器ID
- * - 集群部署时建议手动配置机器ID
  *
  * @author Mr.Rey
  * @created 2025-07-01 16:00:00
- * @modified 2025-07-01 16:00:00
+ * @modified 2025-11-03 20:00:00
  * @version 1.0.0
  * Copyright © 2025 HonyRun. All rights reserved.
  */
@@ -101,27 +113,123 @@ public class SnowflakeIdGenerator {
      */
     private static final long TIMESTAMP_LEFT_SHIFT = SEQUENCE_BITS + WORKER_ID_BITS + DATACENTER_ID_BITS;
 
+    /**
+     * 节点ID最大值（1023），节点ID = 数据中心ID &lt;&lt; 5 | 机器ID
+     */
+    public static final long MAX_NODE_ID = ~(-1L << (WORKER_ID_BITS + DATACENTER_ID_BITS));
+
+    /**
+     * 单次预留的最大ID数量（4096），即一毫秒内的全部序列号
+     */
+    public static final int MAX_RANGE_SIZE = (int) SEQUENCE_MASK + 1;
+
+    /**
+     * 默认允许逻辑时间领先系统时钟的毫秒数
+     */
+    private static final long DEFAULT_MAX_DRIFT_MILLIS = 5L;
+
+    /**
+     * 默认等待系统时钟追上逻辑时间的最长毫秒数
+     */
+    private static final long DEFAULT_MAX_WAIT_MILLIS = 1000L;
+
     // ==================== 实例变量 ====================
 
     /**
-     * 机器ID（0-31）
+     * 最近一次分配的最大ID，时间戳与序列号从中解析
+     */
+    private final AtomicLong lastId = new AtomicLong();
+
+    /**
+     * 节点ID（数据中心ID &lt;&lt; 5 | 机器ID，0-1023）
+     */
+    private volatile long nodeId;
+
+    /**
+     * 逻辑时间允许领先系统时钟的毫秒数
+     */
+    private volatile long maxDriftMillis = DEFAULT_MAX_DRIFT_MILLIS;
+
+    /**
+     * 等待系统时钟追上逻辑时间的最长毫秒数
+     */
+    private volatile long maxWaitMillis = DEFAULT_MAX_WAIT_MILLIS;
+
+    /**
+     * 观察到的最大系统时间（相对EPOCH），用于区分时钟回拨与序列号借用
+     */
+    private volatile long lastWallClock;
+
+    /**
+     * 节点ID租约的有效期截止时间（本地时钟毫秒），节点ID不受租约管理时为Long.MAX_VALUE
+     */
+    private volatile long leaseExpiresAtMillis = Long.MAX_VALUE;
+
+    /**
+     * 租约到期前停止生成ID的安全余量（毫秒），覆盖续期往返耗时与节点间时钟速率差异
      */
-    private final long workerId;
+    private volatile long leaseSafetyMarginMillis;
 
     /**
-     * 数据中心ID（0-31）
+     * 检测到的时钟回拨次数
      */
-    private final long datacenterId;
+    private final LongAdder clockBackwardsCount = new LongAdder();
 
     /**
-     * 序列号（0-4095）
+     * 因租约未确认或即将过期而拒绝生成ID的次数
      */
-    private long sequence = 0L;
+    private final LongAdder leaseRejectedCount = new LongAdder();
 
     /**
-     * 上次生成ID的时间戳
+     * 因逻辑时间领先过多而等待的次数
      */
-    private long lastTimestamp = -1L;
+    private final LongAdder clockWaitCount = new LongAdder();
+
+    /**
+     * 预留的ID区间
+     *
+     * 区间内的ID连续递增，first为第一个ID，count为数量
+     *
+     * @param first 第一个ID
+     * @param count 数量
+     */
+    public record IdRange(long first, int count) {
+
+        /**
+         * 获取区间内第index个ID
+         *
+         * @param index 下标（0到count-1）
+         * @return ID
+         */
+        public long get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException("ID区间下标越界: " + index + ", 数量: " + count);
+            }
+            return first + index;
+        }
+
+        /**
+         * 区间内最后一个ID
+         *
+         * @return ID
+         */
+        public long last() {
+            return first + count - 1;
+        }
+
+        /**
+         * 转换为数组
+         *
+         * @return ID数组
+         */
+        public long[] toArray() {
+            long[] ids = new long[count];
+            for (int i = 0; i < count; i++) {
+                ids[i] = first + i;
+            }
+            return ids;
+        }
+    }
 
     // ==================== 构造函数 ====================
 
@@ -130,8 +238,9 @@ public class SnowflakeIdGenerator {
      * 自动获取机器ID和数据中心ID
      */
     public SnowflakeIdGenerator() {
-        this.workerId = getWorkerId();
-        this.datacenterId = getDatacenterId();
+        long datacenterId = getDatacenterId();
+        long workerId = getWorkerId();
+        this.nodeId = (datacenterId << WORKER_ID_BITS) | workerId;
 
         LoggingUtil.info(logger, "雪花算法ID生成器初始化完成 - 机器ID: {}, 数据中心ID: {}",
                 workerId, datacenterId);
@@ -153,8 +262,7 @@ public class SnowflakeIdGenerator {
                     String.format("数据中心ID必须在0到%d之间，当前值: %d", MAX_DATACENTER_ID, datacenterId));
         }
 
-        this.workerId = workerId;
-        this.datacenterId = datacenterId;
+        this.nodeId = (datacenterId << WORKER_ID_BITS) | workerId;
 
         LoggingUtil.info(logger, "雪花算法ID生成器初始化完成 - 机器ID: {}, 数据中心ID: {}",
                 workerId, datacenterId);
@@ -167,41 +275,112 @@ public class SnowflakeIdGenerator {
      *
      * @return 64位长整型唯一ID
      */
-    public synchronized long nextId() {
-        long timestamp = timeGen();
+    public long nextId() {
+        return reserveRange(1).first();
+    }
 
-        // 检查时钟回拨
-        if (timestamp < lastTimestamp) {
-            long offset = lastTimestamp - timestamp;
-            LoggingUtil.error(logger, "检测到时钟回拨 {}ms，拒绝生成ID", offset);
-            throw new RuntimeException(
-                    String.format("时钟回拨异常，拒绝生成ID。回拨时间: %dms", offset));
+    /**
+     * 预留一段连续的ID
+     *
+     * 一次CAS预留同一毫秒内count个连续序列号，当前毫秒剩余序列号不足时整段借用下一毫秒
+     *
+     * @param count 数量（1到4096）
+     * @return ID区间
+     * @throws IllegalStateException 时钟回拨超出容忍范围且在最长等待时间内未恢复，或节点ID租约未确认、即将过期
+     */
+    public IdRange reserveRange(int count) {
+        if (count < 1 || count > MAX_RANGE_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("单次预留数量必须在1到%d之间，当前值: %d", MAX_RANGE_SIZE, count));
         }
-
-        // 同一毫秒内，序列号递增
-        if (lastTimestamp == timestamp) {
-            sequence = (sequence + 1) & SEQUENCE_MASK;
-            // 序列号溢出，等待下一毫秒
-            if (sequence == 0) {
-                timestamp = tilNextMillis(lastTimestamp);
+        long waitDeadline = 0L;
+        while (true) {
+            long last = lastId.get();
+            long lastTimestamp = last >>> TIMESTAMP_LEFT_SHIFT;
+            long lastSequence = last & SEQUENCE_MASK;
+            long wallClock = timeGen();
+            if (wallClock > leaseExpiresAtMillis - leaseSafetyMarginMillis) {
+                leaseRejectedCount.increment();
+                throw new IllegalStateException(leaseExpiresAtMillis == 0L
+                        ? "雪花算法节点ID租约未确认，拒绝生成ID"
+                        : String.format("雪花算法节点ID租约即将过期或已过期，拒绝生成ID。租约截止: %d, 当前时间: %d",
+                                leaseExpiresAtMillis, wallClock));
+            }
+            long now = wallClock - EPOCH;
+            if (now > lastWallClock) {
+                lastWallClock = now;
             }
-        } else {
-            // 不同毫秒，序列号重置为0
-            sequence = 0L;
-        }
 
-        lastTimestamp = timestamp;
+            long timestamp;
+            long firstSequence;
+            if (now > lastTimestamp) {
+                timestamp = now;
+                firstSequence = 0L;
+            } else if (lastSequence + count <= SEQUENCE_MASK) {
+                // 同一毫秒，或时钟回拨后沿用逻辑时间
+                timestamp = lastTimestamp;
+                firstSequence = lastSequence + 1;
+            } else {
+                // 序列号用尽，借用下一毫秒
+                timestamp = lastTimestamp + 1;
+                firstSequence = 0L;
+            }
 
-        // 组装64位ID
-        long id = ((timestamp - EPOCH) << TIMESTAMP_LEFT_SHIFT)
-                | (datacenterId << DATACENTER_ID_SHIFT)
-                | (workerId << WORKER_ID_SHIFT)
-                | sequence;
+            long ahead = timestamp - now;
+            if (ahead > maxDriftMillis) {
+                // 系统时间低于曾观察到的最大值为时钟回拨，否则是持续高并发把序列号借用到了容忍上限
+                boolean clockBackwards = now < lastWallClock;
+                if (waitDeadline == 0L) {
+                    waitDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+                    clockWaitCount.increment();
+                    if (clockBackwards) {
+                        clockBackwardsCount.increment();
+                        LoggingUtil.warn(logger, "检测到时钟回拨 {}ms，等待系统时钟追上逻辑时间", lastWallClock - now);
+                    }
+                } else if (System.nanoTime() - waitDeadline >= 0) {
+                    LoggingUtil.error(logger, "逻辑时间领先系统时钟 {}ms，超过最长等待时间 {}ms，拒绝生成ID",
+                            ahead, maxWaitMillis);
+                    throw new IllegalStateException(
+                            String.format("时钟回拨异常，拒绝生成ID。逻辑时间领先系统时钟: %dms", ahead));
+                }
+                if (clockBackwards) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(Math.min(ahead - maxDriftMillis, 10L)));
+                } else {
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
 
-        LoggingUtil.debug(logger, "生成ID: {}, 时间戳: {}, 数据中心ID: {}, 机器ID: {}, 序列号: {}",
-                id, timestamp, datacenterId, workerId, sequence);
+            long rangeLast = (timestamp << TIMESTAMP_LEFT_SHIFT)
+                    | (nodeId << WORKER_ID_SHIFT)
+                    | (firstSequence + count - 1);
+            if (lastId.compareAndSet(last, rangeLast)) {
+                return new IdRange(rangeLast - count + 1, count);
+            }
+        }
+    }
 
-        return id;
+    /**
+     * 批量生成ID
+     *
+     * 按每段最多4096个预留连续区间，数量较大时结果由多段区间拼接而成
+     *
+     * @param count 生成数量
+     * @return ID数组，按生成顺序递增
+     */
+    public long[] nextIds(int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("生成数量必须大于0");
+        }
+        long[] ids = new long[count];
+        int filled = 0;
+        while (filled < count) {
+            IdRange range = reserveRange(Math.min(MAX_RANGE_SIZE, count - filled));
+            for (int i = 0; i < range.count(); i++) {
+                ids[filled++] = range.first() + i;
+            }
+        }
+        return ids;
     }
 
     /**
@@ -230,37 +409,81 @@ public class SnowflakeIdGenerator {
             throw new IllegalArgumentException("单次生成数量不能超过1000");
         }
 
-        long[] userIds = new long[count];
-        for (int i = 0; i < count; i++) {
-            userIds[i] = nextId();
-        }
+        long[] userIds = reserveRange(count).toArray();
 
         LoggingUtil.info(logger, "批量生成用户ID完成，数量: {}", count);
         return userIds;
     }
 
-    // ==================== 辅助方法 ====================
-
     /**
-     * 等待下一毫秒
+     * 切换节点ID
+     *
+     * 由机器ID租约管理器在获得或更换租约后调用，之后生成的ID使用新的节点ID
      *
-     * @param lastTimestamp 上次时间戳
-     * @return 下一毫秒的时间戳
+     * @param nodeId 节点ID（0-1023）
      */
-    private long tilNextMillis(long lastTimestamp) {
-        long timestamp = timeGen();
-        while (timestamp <= lastTimestamp) {
-            timestamp = timeGen();
+    public void assignNodeId(long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException(
+                    String.format("节点ID必须在0到%d之间，当前值: %d", MAX_NODE_ID, nodeId));
+        }
+        long previous = this.nodeId;
+        this.nodeId = nodeId;
+        if (previous != nodeId) {
+            LoggingUtil.info(logger, "雪花算法节点ID切换: {} -> {}（数据中心ID: {}, 机器ID: {}）",
+                    previous, nodeId, getDatacenterIdValue(), getWorkerIdValue());
         }
-        return timestamp;
     }
 
+    /**
+     * 确认节点ID租约的有效期
+     *
+     * 由机器ID租约管理器在获得或续期租约后调用；有效期按发起请求前的本地时间加租约时长计算，
+     * 不晚于存储端的实际到期时间
+     *
+     * @param expiresAtMillis 租约有效期截止时间（本地时钟毫秒）
+     */
+    public void confirmLease(long expiresAtMillis) {
+        this.leaseExpiresAtMillis = expiresAtMillis;
+    }
+
+    /**
+     * 撤销节点ID租约，之后生成ID一律拒绝，直到再次调用confirmLease
+     *
+     * 续期被拒绝（租约已被其他节点接管）或尚未获得租约时调用
+     */
+    public void revokeLease() {
+        this.leaseExpiresAtMillis = 0L;
+    }
+
+    /**
+     * 配置租约安全余量
+     *
+     * @param safetyMarginMillis 租约到期前停止生成ID的毫秒数
+     */
+    public void configureLeaseSafetyMargin(long safetyMarginMillis) {
+        this.leaseSafetyMarginMillis = Math.max(0L, safetyMarginMillis);
+    }
+
+    /**
+     * 配置时钟容忍参数
+     *
+     * @param maxDriftMillis 逻辑时间允许领先系统时钟的毫秒数
+     * @param maxWaitMillis  等待系统时钟追上的最长毫秒数
+     */
+    public void configureClockTolerance(long maxDriftMillis, long maxWaitMillis) {
+        this.maxDriftMillis = Math.max(0L, maxDriftMillis);
+        this.maxWaitMillis = Math.max(0L, maxWaitMillis);
+    }
+
+    // ==================== 辅助方法 ====================
+
     /**
      * 获取当前时间戳
      *
      * @return 当前毫秒时间戳
      */
-    private long timeGen() {
+    protected long timeGen() {
         return System.currentTimeMillis();
     }
 
@@ -382,13 +605,22 @@ public class SnowflakeIdGenerator {
 
     // ==================== Getter方法 ====================
 
+    /**
+     * 获取节点ID
+     *
+     * @return 节点ID（数据中心ID &lt;&lt; 5 | 机器ID）
+     */
+    public long getNodeId() {
+        return nodeId;
+    }
+
     /**
      * 获取机器ID
      *
      * @return 机器ID
      */
     public long getWorkerIdValue() {
-        return workerId;
+        return nodeId & MAX_WORKER_ID;
     }
 
     /**
@@ -397,7 +629,7 @@ public class SnowflakeIdGenerator {
      * @return 数据中心ID
      */
     public long getDatacenterIdValue() {
-        return datacenterId;
+        return (nodeId >> WORKER_ID_BITS) & MAX_DATACENTER_ID;
     }
 
     /**
@@ -406,16 +638,52 @@ public class SnowflakeIdGenerator {
      * @return 当前序列号
      */
     public long getCurrentSequence() {
-        return sequence;
+        return lastId.get() & SEQUENCE_MASK;
     }
 
     /**
      * 获取上次时间戳
      *
-     * @return 上次时间戳
+     * @return 上次时间戳，尚未生成ID时返回-1
      */
     public long getLastTimestamp() {
-        return lastTimestamp;
+        long last = lastId.get();
+        return last == 0L ? -1L : (last >>> TIMESTAMP_LEFT_SHIFT) + EPOCH;
+    }
+
+    /**
+     * 获取检测到的时钟回拨次数
+     *
+     * @return 回拨次数
+     */
+    public long getClockBackwardsCount() {
+        return clockBackwardsCount.sum();
     }
-}
 
+    /**
+     * 获取因逻辑时间领先系统时钟过多而等待的次数
+     *
+     * @return 等待次数
+     */
+    public long getClockWaitCount() {
+        return clockWaitCount.sum();
+    }
+
+    /**
+     * 获取节点ID租约的有效期截止时间
+     *
+     * @return 本地时钟毫秒，未受租约管理时为Long.MAX_VALUE，未确认或已撤销时为0
+     */
+    public long getLeaseExpiresAtMillis() {
+        return leaseExpiresAtMillis;
+    }
+
+    /**
+     * 获取因租约未确认或即将过期而拒绝生成ID的次数
+     *
+     * @return 拒绝次数
+     */
+    public long getLeaseRejectedCount() {
+        return leaseRejectedCount.sum();
+    }
+}
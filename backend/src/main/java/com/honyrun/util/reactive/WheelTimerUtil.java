@@ -0,0 +1,72 @@
+package com.honyrun.util.reactive;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * 时间轮定时工具类
+ * 基于Netty HashedWheelTimer提供大量短延迟的非阻塞调度，
+ * 适用于模拟延迟、限速分片等需要为每个请求挂起大量定时任务的场景
+ *
+ * 时间轮的新增和取消均为O(1)，精度为一个tick（默认5ms），
+ * 到期回调在时间轮线程触发后立即切换到parallel调度器继续下游处理，避免占用时间轮线程
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-10-28 15:20:00
+ * @modified 2025-10-28 15:20:00
+ * @version 1.0.0
+ */
+public final class WheelTimerUtil {
+
+    /**
+     * 时间轮tick间隔（毫秒）
+     */
+    public static final long TICK_DURATION_MILLIS = 5L;
+
+    /**
+     * 时间轮槽位数
+     */
+    public static final int TICKS_PER_WHEEL = 512;
+
+    private static final Timer TIMER = new HashedWheelTimer(
+            new DefaultThreadFactory("honyrun-wheel-timer", true),
+            TICK_DURATION_MILLIS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+
+    private WheelTimerUtil() {
+        // 工具类，禁止实例化
+    }
+
+    /**
+     * 创建在指定延迟后完成的Mono
+     * 订阅取消时同步取消时间轮上的定时任务
+     *
+     * @param delay 延迟时间
+     * @return 延迟完成的Mono
+     */
+    public static Mono<Void> delay(Duration delay) {
+        if (delay == null || delay.isZero() || delay.isNegative()) {
+            return Mono.empty();
+        }
+        return Mono.<Void>create(sink -> {
+            Timeout timeout = TIMER.newTimeout(t -> sink.success(), delay.toNanos(), TimeUnit.NANOSECONDS);
+            sink.onCancel(timeout::cancel);
+        }).publishOn(Schedulers.parallel());
+    }
+
+    /**
+     * 创建在指定毫秒数后完成的Mono
+     *
+     * @param delayMillis 延迟毫秒数
+     * @return 延迟完成的Mono
+     */
+    public static Mono<Void> delayMillis(long delayMillis) {
+        return delayMillis > 0 ? delay(Duration.ofMillis(delayMillis)) : Mono.empty();
+    }
+}
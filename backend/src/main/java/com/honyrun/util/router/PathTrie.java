@@ -0,0 +1,358 @@
+package com.honyrun.util.router;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 编译后的路径前缀树
+ *
+ * 将路径模板按"/"拆分为段后合并为一棵只读的前缀树，叶子节点携带绑定值（路由元数据、权限策略等）。
+ * 支持的模板段：
+ * - 字面量段：如 users
+ * - 路径变量：{name} 匹配任意非空单段；{name:\d+} 只匹配数字段；不支持其他正则约束，构建时拒绝
+ * - 单段通配符：* 匹配任意非空单段
+ * - 剩余通配符：** 或 {*name}，只能作为最后一段，匹配其后的任意内容（至少包含分隔符"/"）
+ *
+ * 匹配规则：
+ * - 同一层按 字面量 &gt; 数字变量 &gt; 任意变量 &gt; 剩余通配符 的顺序尝试，失败时回溯，
+ *   因此静态端点总是优先于同层的变量段，不依赖注册顺序
+ * - 匹配过程直接在原始路径字符串上按下标比较，不拆分、不截取子串，不产生对象分配；
+ *   耗时与路径段数成正比，回溯深度受树高度约束
+ * - 树构建后不可变，可被多个线程无锁并发读取；重新注册时整体重建并替换引用
+ *
+ * @param <T> 叶子绑定值类型
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-03 18:00:00
+ * @modified 2025-11-03 18:00:00
+ * @version 1.0.0
+ */
+public final class PathTrie<T> {
+
+    private final Node<T> root;
+    private final int size;
+
+    private PathTrie(Node<T> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * 创建构建器
+     *
+     * @param <T> 叶子绑定值类型
+     * @return 构建器
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * 查找与路径匹配的叶子绑定值
+     *
+     * @param path 请求路径，需以"/"开头
+     * @return 绑定值，未匹配时返回null
+     */
+    public T match(String path) {
+        if (path == null || path.isEmpty() || path.charAt(0) != '/') {
+            return null;
+        }
+        if (path.length() == 1) {
+            return root.value;
+        }
+        return match(root, path, 1);
+    }
+
+    /**
+     * 路径是否存在匹配的模板
+     *
+     * @param path 请求路径
+     * @return 是否匹配
+     */
+    public boolean matches(String path) {
+        return match(path) != null;
+    }
+
+    /**
+     * 已编译的模板数量
+     *
+     * @return 模板数量
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 模板是否包含变量或通配符段
+     *
+     * @param template 路径模板
+     * @return 包含变量或通配符时返回true
+     */
+    public static boolean isPattern(String template) {
+        return template.indexOf('{') >= 0 || template.indexOf('*') >= 0;
+    }
+
+    /**
+     * 将路径模板转换为等价的正则表达式，仅用于启动校验与诊断展示
+     *
+     * @param template 路径模板
+     * @return 正则表达式
+     * @throws IllegalArgumentException 模板包含不支持的正则约束
+     */
+    public static String toRegex(String template) {
+        StringBuilder regex = new StringBuilder();
+        for (String segment : segments(template)) {
+            regex.append('/');
+            switch (kindOf(segment)) {
+                case LITERAL -> regex.append(segment.replace(".", "\\."));
+                case DIGITS -> regex.append("\\d+");
+                case VARIABLE -> regex.append("[^/]+");
+                case REST -> regex.append(".*");
+            }
+        }
+        return regex.isEmpty() ? "/" : regex.toString();
+    }
+
+    private static <T> T match(Node<T> node, String path, int start) {
+        int length = path.length();
+        if (start > length) {
+            return node.value;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = length;
+        }
+        int next = end + 1;
+
+        Node<T> literal = node.findLiteral(path, start, end);
+        if (literal != null) {
+            T value = match(literal, path, next);
+            if (value != null) {
+                return value;
+            }
+        }
+        if (node.digits != null && isDigits(path, start, end)) {
+            T value = match(node.digits, path, next);
+            if (value != null) {
+                return value;
+            }
+        }
+        if (node.variable != null && end > start) {
+            T value = match(node.variable, path, next);
+            if (value != null) {
+                return value;
+            }
+        }
+        return node.restValue;
+    }
+
+    private static boolean isDigits(String path, int start, int end) {
+        if (end == start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            char c = path.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static List<String> segments(String template) {
+        List<String> segments = new ArrayList<>();
+        if (template.equals("/")) {
+            return segments;
+        }
+        int start = 1;
+        while (start <= template.length()) {
+            int end = template.indexOf('/', start);
+            if (end < 0) {
+                end = template.length();
+            }
+            segments.add(template.substring(start, end));
+            start = end + 1;
+        }
+        return segments;
+    }
+
+    private static SegmentKind kindOf(String segment) {
+        if (segment.equals("**") || (segment.startsWith("{*") && segment.endsWith("}"))) {
+            return SegmentKind.REST;
+        }
+        if (segment.equals("*")) {
+            return SegmentKind.VARIABLE;
+        }
+        if (segment.startsWith("{") && segment.endsWith("}") && segment.indexOf('{', 1) < 0) {
+            int colon = segment.indexOf(':');
+            if (colon < 0) {
+                return SegmentKind.VARIABLE;
+            }
+            if (colon > 1 && segment.substring(colon + 1, segment.length() - 1).equals("\\d+")) {
+                return SegmentKind.DIGITS;
+            }
+            // 按任意单段放行会让约束形同虚设，例如 {id:[a-z]+} 也会匹配数字ID
+            throw new IllegalArgumentException("不支持的路径变量约束，只支持{name}与{name:\\d+}: " + segment);
+        }
+        for (int open = segment.indexOf('{'); open >= 0; open = segment.indexOf('{', open + 1)) {
+            int close = segment.indexOf('}', open);
+            if (close > open && segment.indexOf(':', open) >= 0 && segment.indexOf(':', open) < close) {
+                throw new IllegalArgumentException("不支持在段内混合字面量与带约束的路径变量: " + segment);
+            }
+        }
+        // 段内混合字面量与变量（如 file.{ext}）时按任意单段处理
+        return isPattern(segment) ? SegmentKind.VARIABLE : SegmentKind.LITERAL;
+    }
+
+    private enum SegmentKind {
+        LITERAL, DIGITS, VARIABLE, REST
+    }
+
+    /**
+     * 已编译节点
+     *
+     * 字面量子节点存放在开放寻址表中，按路径区间计算与String.hashCode一致的哈希值查找，避免截取子串
+     */
+    private static final class Node<T> {
+
+        private final String[] literalKeys;
+        private final Node<T>[] literalNodes;
+        private final int mask;
+        private final Node<T> digits;
+        private final Node<T> variable;
+        private final T value;
+        private final T restValue;
+
+        @SuppressWarnings("unchecked")
+        private Node(Map<String, Node<T>> literals, Node<T> digits, Node<T> variable, T value, T restValue) {
+            int capacity = 2;
+            while (capacity < literals.size() * 2) {
+                capacity <<= 1;
+            }
+            this.literalKeys = new String[capacity];
+            this.literalNodes = (Node<T>[]) new Node<?>[capacity];
+            this.mask = capacity - 1;
+            for (Map.Entry<String, Node<T>> entry : literals.entrySet()) {
+                int index = spread(entry.getKey().hashCode()) & mask;
+                while (literalKeys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                literalKeys[index] = entry.getKey();
+                literalNodes[index] = entry.getValue();
+            }
+            this.digits = digits;
+            this.variable = variable;
+            this.value = value;
+            this.restValue = restValue;
+        }
+
+        private Node<T> findLiteral(String path, int start, int end) {
+            int hash = 0;
+            for (int i = start; i < end; i++) {
+                hash = 31 * hash + path.charAt(i);
+            }
+            int length = end - start;
+            int index = spread(hash) & mask;
+            String key;
+            while ((key = literalKeys[index]) != null) {
+                if (key.length() == length && path.regionMatches(start, key, 0, length)) {
+                    return literalNodes[index];
+                }
+                index = (index + 1) & mask;
+            }
+            return null;
+        }
+
+        private static int spread(int hash) {
+            return hash ^ (hash >>> 16);
+        }
+    }
+
+    /**
+     * 前缀树构建器，非线程安全
+     *
+     * @param <T> 叶子绑定值类型
+     */
+    public static final class Builder<T> {
+
+        private final BuilderNode<T> root = new BuilderNode<>();
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * 添加路径模板
+         *
+         * 同一模板（或等价模板）重复添加时保留先添加的绑定值，调用方可按优先级顺序添加
+         *
+         * @param template 路径模板，需以"/"开头
+         * @param value    绑定值
+         * @return 模板是新增时返回true，已存在时返回false
+         * @throws IllegalArgumentException 模板格式不合法
+         */
+        public boolean add(String template, T value) {
+            if (template == null || !template.startsWith("/")) {
+                throw new IllegalArgumentException("路径模板必须以'/'开头: " + template);
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("路径模板绑定值不能为空: " + template);
+            }
+            List<String> segments = segments(template);
+            BuilderNode<T> node = root;
+            for (int i = 0; i < segments.size(); i++) {
+                String segment = segments.get(i);
+                SegmentKind kind = kindOf(segment);
+                if (kind == SegmentKind.REST) {
+                    if (i != segments.size() - 1) {
+                        throw new IllegalArgumentException("剩余通配符只能出现在模板末尾: " + template);
+                    }
+                    if (node.restValue != null) {
+                        return false;
+                    }
+                    node.restValue = value;
+                    size++;
+                    return true;
+                }
+                node = switch (kind) {
+                    case LITERAL -> node.literals.computeIfAbsent(segment, key -> new BuilderNode<>());
+                    case DIGITS -> node.digits != null ? node.digits : (node.digits = new BuilderNode<>());
+                    default -> node.variable != null ? node.variable : (node.variable = new BuilderNode<>());
+                };
+            }
+            if (node.value != null) {
+                return false;
+            }
+            node.value = value;
+            size++;
+            return true;
+        }
+
+        /**
+         * 编译为只读前缀树
+         *
+         * @return 前缀树
+         */
+        public PathTrie<T> build() {
+            return new PathTrie<>(compile(root), size);
+        }
+
+        private static <T> Node<T> compile(BuilderNode<T> node) {
+            Map<String, Node<T>> literals = new LinkedHashMap<>();
+            node.literals.forEach((segment, child) -> literals.put(segment, compile(child)));
+            return new Node<>(literals,
+                    node.digits == null ? null : compile(node.digits),
+                    node.variable == null ? null : compile(node.variable),
+                    node.value, node.restValue);
+        }
+    }
+
+    private static final class BuilderNode<T> {
+        private final Map<String, BuilderNode<T>> literals = new LinkedHashMap<>();
+        private BuilderNode<T> digits;
+        private BuilderNode<T> variable;
+        private T value;
+        private T restValue;
+    }
+}
@@ -91,6 +91,34 @@ CREATE INDEX idx_logs_user_id ON sys_system_logs(user_id);
 CREATE INDEX idx_logs_created_at ON sys_system_logs(created_at);
 CREATE INDEX idx_logs_ip_address ON sys_system_logs(ip_address);
 
+-- ========================================
+-- 日志导出任务表
+-- ========================================
+CREATE TABLE IF NOT EXISTS sys_log_export_tasks (
+    task_id VARCHAR(64) PRIMARY KEY COMMENT '任务ID',
+    format VARCHAR(10) NOT NULL COMMENT '导出格式：EXCEL、CSV、JSON',
+    status VARCHAR(20) NOT NULL COMMENT '状态：PENDING、PROCESSING、COMPLETED、FAILED',
+    progress INT DEFAULT 0 COMMENT '进度百分比',
+    user_id BIGINT COMMENT '导出用户ID',
+    username VARCHAR(100) COMMENT '导出用户名',
+    query_params TEXT COMMENT '导出查询条件，JSON格式',
+    file_name VARCHAR(255) COMMENT '下载文件名',
+    file_path VARCHAR(500) COMMENT '服务器文件路径',
+    download_url VARCHAR(500) COMMENT '下载地址',
+    file_size BIGINT COMMENT '文件大小(字节)',
+    record_count BIGINT DEFAULT 0 COMMENT '已导出记录数',
+    total_count BIGINT DEFAULT 0 COMMENT '待导出记录总数',
+    last_log_id BIGINT DEFAULT 0 COMMENT '续传检查点：最后导出的日志ID',
+    checkpoint_offset BIGINT DEFAULT 0 COMMENT '续传检查点：已落盘的文件字节偏移',
+    error_message VARCHAR(1000) COMMENT '失败原因',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    completed_at TIMESTAMP NULL COMMENT '完成时间',
+    expire_at TIMESTAMP NULL COMMENT '过期时间',
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '更新时间',
+    INDEX idx_export_status (status),
+    INDEX idx_export_expire_at (expire_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='日志导出任务表';
+
 -- ========================================
 -- 系统配置表
 -- ========================================
@@ -164,6 +192,55 @@ CREATE TABLE IF NOT EXISTS sys_dictionary (
     INDEX idx_created_at (created_at)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='系统字典表';
 
+-- ========================================
+-- 模拟接口表
+-- ========================================
+CREATE TABLE IF NOT EXISTS sys_mock_interface (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY COMMENT '主键ID',
+    interface_name VARCHAR(100) NOT NULL COMMENT '接口名称',
+    interface_path VARCHAR(255) NOT NULL COMMENT '接口路径',
+    request_method VARCHAR(10) NOT NULL COMMENT '请求方法：GET、POST、PUT、DELETE等',
+    description VARCHAR(500) COMMENT '接口描述',
+    request_template TEXT COMMENT '请求模板',
+    response_template TEXT COMMENT '响应模板',
+    response_status INT DEFAULT 200 COMMENT '响应状态码',
+    response_headers TEXT COMMENT '响应头，JSON格式',
+    delay_time BIGINT DEFAULT 0 COMMENT '固定响应延迟（毫秒）',
+    enabled TINYINT DEFAULT 1 COMMENT '是否启用：1-启用，0-禁用',
+    status VARCHAR(20) COMMENT '状态',
+    category VARCHAR(100) COMMENT '接口分类',
+    tags VARCHAR(500) COMMENT '标签',
+    access_count BIGINT DEFAULT 0 COMMENT '访问次数',
+    success_count BIGINT DEFAULT 0 COMMENT '成功次数',
+    failure_count BIGINT DEFAULT 0 COMMENT '失败次数',
+    avg_response_time DOUBLE DEFAULT 0 COMMENT '平均响应时间（毫秒）',
+    log_enabled TINYINT DEFAULT 1 COMMENT '是否记录日志：1-记录，0-不记录',
+    dynamic_config TEXT COMMENT '动态配置，JSON格式',
+    fault_profile TEXT COMMENT '故障注入配置，JSON格式，见MockFaultProfile',
+    permission_config TEXT COMMENT '权限配置，JSON格式',
+    sort_order INT DEFAULT 0 COMMENT '排序顺序',
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP COMMENT '创建时间',
+    created_by BIGINT COMMENT '创建人ID',
+    last_modified_date TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '最后修改时间',
+    last_modified_by BIGINT COMMENT '最后修改人ID',
+    version BIGINT DEFAULT 0 COMMENT '版本号（乐观锁）',
+    UNIQUE KEY uk_mock_path_method (interface_path, request_method),
+    INDEX idx_mock_enabled (enabled),
+    INDEX idx_mock_category (category)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='模拟接口表';
+
+-- 模拟接口表升级：已有库补充fault_profile列（可重复执行）
+SET @mock_fault_profile_ddl = (
+    SELECT IF(COUNT(*) = 0,
+        'ALTER TABLE sys_mock_interface ADD COLUMN fault_profile TEXT COMMENT ''故障注入配置，JSON格式，见MockFaultProfile''',
+        'SELECT 1')
+    FROM information_schema.COLUMNS
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'sys_mock_interface' AND COLUMN_NAME = 'fault_profile'
+);
+PREPARE mock_fault_profile_stmt FROM @mock_fault_profile_ddl;
+EXECUTE mock_fault_profile_stmt;
+DEALLOCATE PREPARE mock_fault_profile_stmt;
+
 -- ========================================
 -- 基础数据插入
 -- ========================================
@@ -0,0 +1,312 @@
+package com.honyrun.config.startup;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 启动校验依赖图与启动报告测试
+ *
+ * 以可控耗时和结果的任务替身驱动StartupValidationOrchestrator，校验：
+ * 无依赖任务并行执行、依赖成功后才执行、依赖失败时跳过、就绪只等待必需任务、
+ * 任务配置错误终止启动，以及启动报告中的任务状态、并行节省、预算违规和回归对比
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 21:00:00
+ * @modified 2025-11-06 21:00:00
+ * @version 1.0.0
+ */
+class StartupValidationOrchestratorTest {
+
+    private GenericApplicationContext applicationContext;
+    private Path reportFile;
+    private StartupProfiler profiler;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        applicationContext = new GenericApplicationContext();
+        reportFile = Files.createTempDirectory("startup-report").resolve("startup-report.json");
+        profiler = profiler();
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationContext.close();
+    }
+
+    @Test
+    @DisplayName("无依赖的任务并行执行，报告中的并行节省时间为正")
+    void independentTasksRunInParallel() {
+        CountDownLatch allStarted = new CountDownLatch(3);
+        Supplier<Mono<Void>> rendezvous = () -> Mono.fromRunnable(() -> {
+            allStarted.countDown();
+            awaitQuietly(allStarted);
+            sleepQuietly(100L);
+        });
+
+        orchestrator(4, task("routes", rendezvous), task("repository-config", rendezvous),
+                task("bean-conflicts", rendezvous)).runValidations();
+        awaitReport();
+
+        assertThat(allStarted.getCount()).isZero();
+        assertThat(validatorStatuses()).containsOnly(
+                Map.entry("routes", "SUCCEEDED"), Map.entry("repository-config", "SUCCEEDED"),
+                Map.entry("bean-conflicts", "SUCCEEDED"));
+        Map<?, ?> summary = (Map<?, ?>) profiler.getReport().get("validation");
+        assertThat(summary.get("tasks")).isEqualTo(3);
+        assertThat((Long) summary.get("parallelSavingMs")).isPositive();
+    }
+
+    @Test
+    @DisplayName("任务在依赖成功后才执行，依赖失败时跳过，不影响无关任务")
+    void dependenciesOrderAndSkip() {
+        Queue<String> events = new ConcurrentLinkedQueue<>();
+        orchestrator(4,
+                task("database-structure", Set.of("essential-components"), false,
+                        () -> record(events, "database-structure")),
+                task("essential-components", () -> Mono.delay(Duration.ofMillis(50))
+                        .then(record(events, "essential-components"))),
+                task("cache-warmup", Set.of("redis"), false, () -> record(events, "cache-warmup")),
+                task("redis", () -> Mono.error(new IllegalStateException("connection refused"))),
+                task("bean-conflicts", () -> record(events, "bean-conflicts")))
+                .runValidations();
+        awaitReport();
+
+        assertThat(events).containsSubsequence("essential-components", "database-structure")
+                .contains("bean-conflicts")
+                .doesNotContain("cache-warmup");
+        assertThat(validatorStatuses())
+                .containsEntry("redis", "FAILED")
+                .containsEntry("cache-warmup", "SKIPPED")
+                .containsEntry("database-structure", "SUCCEEDED");
+        assertThat(validatorSpan("cache-warmup").get("skippedBecause")).isEqualTo("redis");
+    }
+
+    @Test
+    @DisplayName("就绪只等待必需任务及其依赖，非必需任务在后台完成后再生成报告")
+    void readinessWaitsOnlyForRequiredTasks() throws IOException {
+        CountDownLatch release = new CountDownLatch(1);
+        orchestrator(4,
+                task("routes", Set.of("route-registry"), true, Mono::empty),
+                task("route-registry", Mono::empty),
+                task("bean-conflicts", () -> Mono.fromRunnable(() -> awaitQuietly(release))))
+                .runValidations();
+
+        assertThat(profiler.getReport().get("jvmUptimeAtServingMs")).isNotNull();
+        assertThat(profiler.getReport().get("jvmUptimeAtValidatedMs")).isNull();
+        assertThat(reportFile).doesNotExist();
+
+        release.countDown();
+        awaitReport();
+        assertThat(Files.readString(reportFile, StandardCharsets.UTF_8)).contains("bean-conflicts");
+    }
+
+    @Test
+    @DisplayName("必需任务失败、超时或因依赖失败被跳过时终止启动")
+    void failedRequiredTaskAbortsStartup() {
+        assertThatThrownBy(() -> orchestrator(4,
+                task("routes", Set.of(), true, () -> Mono.error(new IllegalStateException("重复路由"))))
+                .runValidations())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("routes=FAILED");
+
+        StartupValidationOrchestrator timingOut = orchestrator(4,
+                task("repository-config", Set.of(), true, Mono::never));
+        ReflectionTestUtils.setField(timingOut, "taskTimeoutMillis", 50L);
+        assertThatThrownBy(timingOut::runValidations).hasMessageContaining("repository-config=TIMED_OUT");
+
+        assertThatThrownBy(() -> orchestrator(4,
+                task("database-structure", Set.of("essential-components"), true, Mono::empty),
+                task("essential-components", () -> Mono.error(new IllegalStateException("数据库不可用"))))
+                .runValidations())
+                .hasMessageContaining("database-structure=SKIPPED");
+    }
+
+    @Test
+    @DisplayName("任务名称重复、依赖不存在和循环依赖视为配置错误")
+    void invalidGraphsAreRejected() {
+        assertThatThrownBy(() -> orchestrator(1, task("routes", Mono::empty), task("routes", Mono::empty))
+                .runValidations())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("名称重复");
+        assertThatThrownBy(() -> orchestrator(1, task("routes", Set.of("missing"), false, Mono::empty))
+                .runValidations())
+                .hasMessageContaining("依赖的任务不存在: missing");
+        assertThatThrownBy(() -> orchestrator(1,
+                task("a", Set.of("b"), false, Mono::empty),
+                task("b", Set.of("c"), false, Mono::empty),
+                task("c", Set.of("a"), false, Mono::empty))
+                .runValidations())
+                .hasMessageContaining("循环依赖");
+    }
+
+    @Test
+    @DisplayName("校验任务超出预算且开启fail-on-exceed时终止启动，报告列出预算违规")
+    void budgetViolationAbortsWhenConfigured() {
+        ReflectionTestUtils.setField(profiler, "validatorBudgetMillis", 20L);
+        ReflectionTestUtils.setField(profiler, "failOnBudgetExceeded", true);
+
+        assertThatThrownBy(() -> orchestrator(2, task("database-structure", Set.of(), true,
+                () -> Mono.delay(Duration.ofMillis(100)).then())).runValidations())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("校验任务 database-structure");
+        assertThat((List<?>) profiler.getReport().get("budgetViolations")).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("与上一次报告相比耗时增幅超过阈值时列入回归")
+    void regressionsComparedWithPreviousReport() throws IOException {
+        Files.writeString(reportFile, """
+                {"jvmUptimeAtServingMs": 86400000, "spans": [
+                  {"category": "validator", "name": "database-structure", "durationMs": 10},
+                  {"category": "validator", "name": "routes", "durationMs": 5000}
+                ]}""", StandardCharsets.UTF_8);
+        profiler.onApplicationReady(new ApplicationReadyEvent(new SpringApplication(), new String[0],
+                applicationContext, Duration.ofMillis(1)));
+
+        orchestrator(2, task("database-structure", () -> Mono.delay(Duration.ofMillis(100)).then()),
+                task("routes", Mono::empty)).runValidations();
+        awaitReport();
+
+        List<?> regressions = (List<?>) profiler.getReport().get("regressions");
+        assertThat(regressions).hasSize(1);
+        assertThat(regressions.get(0).toString()).startsWith("校验任务 database-structure 10ms -> ");
+    }
+
+    private StartupProfiler profiler() {
+        StartupProfiler created = new StartupProfiler(applicationContext);
+        ReflectionTestUtils.setField(created, "reportFile", reportFile.toString());
+        ReflectionTestUtils.setField(created, "topBeans", 30);
+        ReflectionTestUtils.setField(created, "regressionThresholdPercent", 20.0);
+        return created;
+    }
+
+    private StartupValidationOrchestrator orchestrator(int parallelism, StartupValidationTask... tasks) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (int i = 0; i < tasks.length; i++) {
+            beanFactory.addBean("task" + i, tasks[i]);
+        }
+        StartupValidationOrchestrator orchestrator = new StartupValidationOrchestrator(
+                beanFactory.getBeanProvider(StartupValidationTask.class), profiler);
+        ReflectionTestUtils.setField(orchestrator, "parallelism", parallelism);
+        ReflectionTestUtils.setField(orchestrator, "timeoutMillis", 5_000L);
+        ReflectionTestUtils.setField(orchestrator, "taskTimeoutMillis", 5_000L);
+        return orchestrator;
+    }
+
+    private Map<String, String> validatorStatuses() {
+        Map<String, String> statuses = new LinkedHashMap<>();
+        for (Object span : (List<?>) profiler.getReport().get("spans")) {
+            Map<?, ?> map = (Map<?, ?>) span;
+            if ("validator".equals(map.get("category"))) {
+                statuses.put((String) map.get("name"), (String) map.get("status"));
+            }
+        }
+        return statuses;
+    }
+
+    private Map<?, ?> validatorSpan(String name) {
+        return ((List<?>) profiler.getReport().get("spans")).stream()
+                .map(Map.class::cast)
+                .filter(span -> "validator".equals(span.get("category")) && name.equals(span.get("name")))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    /**
+     * 报告在全部任务结束后异步写入，写入前报告文件可能是上一次的报告
+     */
+    private void awaitReport() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!reportWritten()) {
+            assertThat(System.nanoTime() - deadline).as("等待启动报告超时").isNegative();
+            sleepQuietly(5L);
+        }
+    }
+
+    private boolean reportWritten() {
+        try {
+            return Files.exists(reportFile)
+                    && Files.readString(reportFile, StandardCharsets.UTF_8).contains("\"generatedAt\"");
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private static Mono<Void> record(Queue<String> events, String name) {
+        return Mono.fromRunnable(() -> events.add(name));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).as("等待其他任务超时").isTrue();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static StartupValidationTask task(String name, Supplier<Mono<Void>> validation) {
+        return task(name, Set.of(), false, validation);
+    }
+
+    private static StartupValidationTask task(String name, Set<String> dependencies, boolean required,
+            Supplier<Mono<Void>> validation) {
+        return new StartupValidationTask() {
+            @Override
+            public String getName() {
+                return name;
+            }
+
+            @Override
+            public Set<String> getDependencies() {
+                return dependencies;
+            }
+
+            @Override
+            public boolean isRequired() {
+                return required;
+            }
+
+            @Override
+            public Mono<Void> validate() {
+                return validation.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,137 @@
+package com.honyrun.filter.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.WebFilterChain;
+
+import com.honyrun.service.monitoring.ReactiveBackpressureControlService;
+import com.honyrun.service.monitoring.concurrency.AdaptiveConcurrencyLimiter;
+import com.honyrun.service.monitoring.concurrency.AimdLimitAlgorithm;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * 自适应并发限流过滤器测试
+ *
+ * 校验普通请求在结束时释放许可、超限时返回503，
+ * 以及SSE长连接不会在整个流的生命周期内占用并发许可
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-08 11:00:00
+ * @modified 2025-11-08 11:00:00
+ * @version 1.0.0
+ */
+class ReactiveAdaptiveConcurrencyFilterTest {
+
+    private AdaptiveConcurrencyLimiter limiter;
+    private ReactiveBackpressureControlService backpressureControlService;
+    private ReactiveAdaptiveConcurrencyFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        limiter = new AdaptiveConcurrencyLimiter("http", new AimdLimitAlgorithm(0.9, 5_000_000_000L),
+                1, 1, 10, 1_000_000_000L, 10);
+        backpressureControlService = mock(ReactiveBackpressureControlService.class);
+        when(backpressureControlService.tryAcquireRequestPermit(anyString()))
+                .thenAnswer(invocation -> limiter.tryAcquire());
+        filter = new ReactiveAdaptiveConcurrencyFilter(backpressureControlService);
+        ReflectionTestUtils.setField(filter, "enabled", true);
+        ReflectionTestUtils.setField(filter, "retryAfterSeconds", 1);
+        ReflectionTestUtils.setField(filter, "excludedPaths", List.of("/actuator/health"));
+    }
+
+    @Test
+    @DisplayName("普通请求结束后释放许可")
+    void releasesPermitWhenRequestCompletes() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/users"));
+        WebFilterChain chain = ex -> {
+            assertThat(limiter.getInflight()).isEqualTo(1);
+            return Mono.empty();
+        };
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(limiter.getInflight()).isZero();
+    }
+
+    @Test
+    @DisplayName("超过并发上限时返回503和Retry-After")
+    void rejectsWhenLimitReached() {
+        AdaptiveConcurrencyLimiter.Permit held = limiter.tryAcquire();
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/users"));
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.error(new AssertionError("不应进入后续过滤器"))))
+                .verifyComplete();
+
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        held.onIgnore();
+    }
+
+    @Test
+    @DisplayName("Accept为text/event-stream的请求不获取许可")
+    void eventStreamRequestBypassesLimiter() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/system/logs/stream")
+                .accept(MediaType.TEXT_EVENT_STREAM));
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.empty())).verifyComplete();
+
+        verify(backpressureControlService, never()).tryAcquireRequestPermit(anyString());
+    }
+
+    @Test
+    @DisplayName("通配Accept的请求仍然获取许可")
+    void wildcardAcceptStillAcquires() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/users")
+                .accept(MediaType.ALL));
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.empty())).verifyComplete();
+
+        verify(backpressureControlService).tryAcquireRequestPermit("/api/v1/users");
+    }
+
+    @Test
+    @DisplayName("以text/event-stream响应的流在提交响应头时释放许可")
+    void streamingResponseReleasesPermitOnCommit() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/monitoring/dashboard/realtime"));
+        WebFilterChain chain = ex -> {
+            ex.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+            DataBuffer first = DefaultDataBufferFactory.sharedInstance.wrap("data: 1\n\n".getBytes());
+            return ex.getResponse().writeWith(Flux.just(first).concatWith(Flux.never()));
+        };
+
+        Disposable stream = filter.filter(exchange, chain).subscribe();
+        try {
+            assertThat(exchange.getResponse().isCommitted()).isTrue();
+            assertThat(limiter.getInflight()).isZero();
+            // 上限为1，流未结束时新请求仍可获得许可
+            AdaptiveConcurrencyLimiter.Permit next = limiter.tryAcquire();
+            assertThat(next).isNotNull();
+            next.onIgnore();
+        } finally {
+            stream.dispose();
+        }
+        assertThat(limiter.getInflight()).isZero();
+    }
+}
@@ -0,0 +1,139 @@
+package com.honyrun.filter.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import com.honyrun.service.reactive.ReactiveRequestSignatureService;
+import com.honyrun.util.ErrorDetailsUtil;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * 请求签名验证过滤器测试
+ *
+ * 校验签名通过后请求体只回放一次、下游未读取时请求结束后释放缓冲区，
+ * 以及签名失败时返回401且不进入下游
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-08 18:00:00
+ * @modified 2025-11-08 18:00:00
+ * @version 1.0.0
+ */
+class ReactiveRequestSignatureFilterTest {
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final List<DataBuffer> allocated = new ArrayList<>();
+
+    private ReactiveRequestSignatureService signatureService;
+    private ReactiveRequestSignatureFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        signatureService = mock(ReactiveRequestSignatureService.class);
+        filter = new ReactiveRequestSignatureFilter(signatureService, mock(ErrorDetailsUtil.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocated.stream().filter(ReactiveRequestSignatureFilterTest::isAllocated).forEach(DataBufferUtils::release);
+    }
+
+    @Test
+    @DisplayName("下游未读取请求体时在请求结束后释放回放缓冲区")
+    void releasesReplayedBodyWhenDownstreamDoesNotRead() {
+        verifiedWithBody("{\"id\":", "1}");
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/orders"));
+        WebFilterChain chain = ex -> {
+            assertThat(allocated).allMatch(ReactiveRequestSignatureFilterTest::isAllocated);
+            return Mono.empty();
+        };
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(allocated).noneMatch(ReactiveRequestSignatureFilterTest::isAllocated);
+        assertThat(exchange.getAttributes()).doesNotContainKey(ReactiveRequestSignatureService.SIGNED_BODY_ATTRIBUTE);
+    }
+
+    @Test
+    @DisplayName("下游读取时请求体只回放一次，由下游负责释放")
+    void replaysBodyOnceToDownstream() {
+        verifiedWithBody("{\"id\":", "1}");
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/orders"));
+        AtomicReference<String> firstRead = new AtomicReference<>();
+        AtomicReference<Long> secondReadCount = new AtomicReference<>();
+        WebFilterChain chain = ex -> DataBufferUtils.join(ex.getRequest().getBody())
+                .map(joined -> {
+                    firstRead.set(joined.toString(StandardCharsets.UTF_8));
+                    DataBufferUtils.release(joined);
+                    return joined;
+                })
+                .then(ex.getRequest().getBody().count())
+                .doOnNext(secondReadCount::set)
+                .then();
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        assertThat(firstRead.get()).isEqualTo("{\"id\":1}");
+        assertThat(secondReadCount.get()).isZero();
+        assertThat(allocated).noneMatch(ReactiveRequestSignatureFilterTest::isAllocated);
+    }
+
+    @Test
+    @DisplayName("签名验证失败时返回401且不进入下游")
+    void rejectsInvalidSignature() {
+        when(signatureService.verifyRequestSignature(any(ServerWebExchange.class))).thenReturn(Mono.just(false));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/orders"));
+        AtomicBoolean invoked = new AtomicBoolean();
+
+        StepVerifier.create(filter.filter(exchange, ex -> {
+            invoked.set(true);
+            return Mono.empty();
+        })).verifyComplete();
+
+        assertThat(invoked).isFalse();
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private void verifiedWithBody(String... chunks) {
+        when(signatureService.verifyRequestSignature(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            List<DataBuffer> body = new ArrayList<>();
+            for (String chunk : chunks) {
+                DataBuffer buffer = bufferFactory.allocateBuffer(chunk.length());
+                buffer.write(chunk.getBytes(StandardCharsets.UTF_8));
+                body.add(buffer);
+            }
+            allocated.addAll(body);
+            ServerWebExchange exchange = invocation.getArgument(0);
+            exchange.getAttributes().put(ReactiveRequestSignatureService.SIGNED_BODY_ATTRIBUTE, body);
+            return Mono.just(true);
+        });
+    }
+
+    private static boolean isAllocated(DataBuffer buffer) {
+        return ((PooledDataBuffer) buffer).isAllocated();
+    }
+}
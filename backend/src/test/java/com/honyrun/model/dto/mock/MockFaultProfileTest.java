@@ -0,0 +1,100 @@
+package com.honyrun.model.dto.mock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.honyrun.util.common.JsonUtil;
+
+/**
+ * 故障注入配置校验测试
+ *
+ * 以保存时的JSON为输入，校验非法取值在保存阶段即被识别，
+ * 合法配置在请求处理阶段的采样和状态码选取不会失败
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-08 10:00:00
+ * @modified 2025-11-08 10:00:00
+ * @version 1.0.0
+ */
+class MockFaultProfileTest {
+
+    private static MockFaultProfile parse(String json) {
+        return JsonUtil.fromJson(json, MockFaultProfile.class);
+    }
+
+    @Test
+    @DisplayName("合法配置通过校验")
+    void validProfilePasses() {
+        MockFaultProfile profile = parse("{\"latency\": {\"type\": \"PERCENTILES\", \"percentiles\": "
+                + "{\"50\": 20, \"90\": 80, \"99\": 400, \"100\": 1500}}, \"errorRate\": 0.02, "
+                + "\"errorStatusCodes\": [500, 503], \"bandwidthBytesPerSecond\": 65536, \"resetRate\": 0.001}");
+
+        assertThat(profile.validate()).isNull();
+        assertThat(profile.sampleLatencyMillis(0)).isBetween(0L, 1500L);
+        assertThat(profile.pickErrorStatus()).isIn(500, 503);
+    }
+
+    @Test
+    @DisplayName("字面量null不会解析出配置对象")
+    void literalNullYieldsNoProfile() {
+        assertThat(parse("null")).isNull();
+    }
+
+    @Test
+    @DisplayName("未指定延迟类型时按固定延迟处理")
+    void missingLatencyTypeDefaultsToFixed() {
+        MockFaultProfile omitted = parse("{\"latency\": {\"fixedMs\": 30}}");
+        MockFaultProfile explicitNull = parse("{\"latency\": {\"type\": null, \"fixedMs\": 40}}");
+
+        assertThat(omitted.validate()).isNull();
+        assertThat(omitted.getLatency().getType()).isEqualTo(MockFaultProfile.LatencyType.FIXED);
+        assertThat(omitted.sampleLatencyMillis(0)).isEqualTo(30L);
+        assertThat(explicitNull.getLatency().getType()).isEqualTo(MockFaultProfile.LatencyType.FIXED);
+        assertThat(explicitNull.getLatency().sample()).isEqualTo(40L);
+    }
+
+    @Test
+    @DisplayName("概率超出0-1时校验失败")
+    void rejectsRateOutOfRange() {
+        assertThat(parse("{\"errorRate\": 1.5}").validate()).isNotNull();
+        assertThat(parse("{\"resetRate\": -0.1}").validate()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("错误状态码超出100-599或包含null时校验失败")
+    void rejectsInvalidStatusCodes() {
+        assertThat(parse("{\"errorStatusCodes\": [99]}").validate()).isNotNull();
+        assertThat(parse("{\"errorStatusCodes\": [600]}").validate()).isNotNull();
+        assertThat(parse("{\"errorStatusCodes\": [500, null]}").validate()).isNotNull();
+        assertThat(parse("{\"errorStatusCodes\": null}").pickErrorStatus()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("带宽或分片大小不合法时校验失败")
+    void rejectsInvalidThrottling() {
+        assertThat(parse("{\"bandwidthBytesPerSecond\": -1}").validate()).isNotNull();
+        assertThat(parse("{\"chunkSize\": 0}").validate()).isNotNull();
+        assertThat(parse("{\"chunkSize\": -8}").validate()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("延迟为负数或min大于max时校验失败")
+    void rejectsInvalidLatencyBounds() {
+        assertThat(parse("{\"latency\": {\"type\": \"FIXED\", \"fixedMs\": -1}}").validate()).isNotNull();
+        assertThat(parse("{\"latency\": {\"type\": \"UNIFORM\", \"minMs\": -5, \"maxMs\": 10}}").validate()).isNotNull();
+        assertThat(parse("{\"latency\": {\"type\": \"UNIFORM\", \"minMs\": 50, \"maxMs\": 10}}").validate()).isNotNull();
+        assertThat(parse("{\"latency\": {\"type\": \"NORMAL\", \"meanMs\": 10, \"stdDevMs\": -1}}").validate()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("百分位超出0-100、为空或延迟递减时校验失败")
+    void rejectsInvalidPercentiles() {
+        assertThat(parse("{\"latency\": {\"type\": \"PERCENTILES\", \"percentiles\": {\"150\": 10}}}").validate()).isNotNull();
+        assertThat(parse("{\"latency\": {\"type\": \"PERCENTILES\", \"percentiles\": {\"-1\": 10}}}").validate()).isNotNull();
+        assertThat(parse("{\"latency\": {\"type\": \"PERCENTILES\", \"percentiles\": {}}}").validate()).isNotNull();
+        assertThat(parse("{\"latency\": {\"type\": \"PERCENTILES\", \"percentiles\": {\"50\": 100, \"90\": 10}}}").validate()).isNotNull();
+        assertThat(parse("{\"latency\": {\"type\": \"PERCENTILES\", \"percentiles\": {\"50\": null}}}").validate()).isNotNull();
+    }
+}
@@ -0,0 +1,209 @@
+package com.honyrun.scheduler.coordination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.honyrun.exception.reactive.LeaseLostException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+/**
+ * 分布式定时任务协调测试
+ *
+ * 多个协调器共享同一个LocalJobLeaseStore，在单进程内模拟多节点：
+ * 租约获取与竞争、续期延长有效期、过期接管后防护令牌递增、旧持有者续期失败时中止任务并拒绝延迟写入，
+ * 以及按存活节点分配分片。存储时钟可手动拨快，用于模拟持有者停顿超过租约时长
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 17:00:00
+ * @modified 2025-11-06 17:00:00
+ * @version 1.0.0
+ */
+class DistributedJobCoordinatorTest {
+
+    private static final Duration LEASE_TIME = Duration.ofMillis(100);
+
+    private final AtomicLong clockSkew = new AtomicLong();
+    private final LocalJobLeaseStore store = new LocalJobLeaseStore(() -> System.currentTimeMillis() + clockSkew.get());
+
+    @Test
+    @DisplayName("租约被持有时其他节点获取失败并得到持有者，过期后接管且防护令牌递增")
+    void acquireAndTakeOverAfterExpiry() {
+        AtomicLong clock = new AtomicLong(1_000L);
+        LocalJobLeaseStore manual = new LocalJobLeaseStore(clock::get);
+
+        JobLease first = manual.tryAcquire("cleanup", "node-a", LEASE_TIME).block().lease();
+        JobLeaseStore.Acquisition contended = manual.tryAcquire("cleanup", "node-b", LEASE_TIME).block();
+        assertThat(first.fencingToken()).isEqualTo(1L);
+        assertThat(contended.acquired()).isFalse();
+        assertThat(contended.lease()).isEqualTo(first);
+
+        clock.addAndGet(LEASE_TIME.toMillis());
+        JobLeaseStore.Acquisition takeover = manual.tryAcquire("cleanup", "node-b", LEASE_TIME).block();
+
+        assertThat(takeover.acquired()).isTrue();
+        assertThat(takeover.lease().nodeId()).isEqualTo("node-b");
+        assertThat(takeover.lease().fencingToken()).isEqualTo(2L);
+        StepVerifier.create(manual.renew(first, LEASE_TIME)).expectNext(false).verifyComplete();
+        StepVerifier.create(manual.isValid(first)).expectNext(false).verifyComplete();
+        StepVerifier.create(manual.release(first)).expectNext(false).verifyComplete();
+        StepVerifier.create(manual.isValid(takeover.lease())).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    @DisplayName("续期从续期时刻重新计算有效期，释放后其他节点立即可以获取")
+    void renewExtendsAndReleaseFrees() {
+        AtomicLong clock = new AtomicLong(1_000L);
+        LocalJobLeaseStore manual = new LocalJobLeaseStore(clock::get);
+        JobLease lease = manual.tryAcquire("report", "node-a", LEASE_TIME).block().lease();
+
+        clock.addAndGet(80L);
+        StepVerifier.create(manual.renew(lease, LEASE_TIME)).expectNext(true).verifyComplete();
+        clock.addAndGet(80L);
+        assertThat(manual.tryAcquire("report", "node-b", LEASE_TIME).block().acquired()).isFalse();
+        StepVerifier.create(manual.isValid(lease)).expectNext(true).verifyComplete();
+
+        StepVerifier.create(manual.release(lease)).expectNext(true).verifyComplete();
+        JobLeaseStore.Acquisition next = manual.tryAcquire("report", "node-b", LEASE_TIME).block();
+        assertThat(next.acquired()).isTrue();
+        assertThat(next.lease().fencingToken()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("单例任务执行期间其他节点跳过，执行结束释放租约后下一次触发可由其他节点执行")
+    void singletonRunsOnOneNode() {
+        DistributedJobCoordinator nodeA = coordinator("node-a", 60_000L);
+        DistributedJobCoordinator nodeB = coordinator("node-b", 60_000L);
+        Sinks.Empty<Void> running = Sinks.empty();
+
+        StepVerifier.create(nodeA.runSingleton("cleanup", context -> running.asMono()))
+                .then(() -> {
+                    StepVerifier.create(nodeB.runSingleton("cleanup", context -> Mono.empty())).verifyComplete();
+                    running.tryEmitEmpty();
+                })
+                .assertNext(run -> {
+                    assertThat(run.status()).isEqualTo(JobRunRecord.Status.SUCCEEDED);
+                    assertThat(run.fencingToken()).isEqualTo(1L);
+                })
+                .verifyComplete();
+
+        JobRunRecord skipped = nodeB.getHistory("cleanup").get(0);
+        assertThat(skipped.status()).isEqualTo(JobRunRecord.Status.SKIPPED);
+        assertThat(skipped.holderNodeId()).isEqualTo("node-a");
+        assertThat(skipped.fencingToken()).isEqualTo(1L);
+        StepVerifier.create(nodeB.runSingleton("cleanup", context -> Mono.empty()))
+                .assertNext(run -> assertThat(run.fencingToken()).isEqualTo(2L))
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("执行期间持续续期，任务耗时超过租约时长也不会被其他节点接管")
+    void renewalKeepsLongRunningJob() {
+        DistributedJobCoordinator nodeA = coordinator("node-a", LEASE_TIME.toMillis());
+        DistributedJobCoordinator nodeB = coordinator("node-b", LEASE_TIME.toMillis());
+        AtomicReference<JobExecutionContext> context = new AtomicReference<>();
+
+        StepVerifier.create(nodeA.runSingleton("sync", ctx -> {
+                    context.set(ctx);
+                    return Mono.delay(LEASE_TIME.multipliedBy(3)).then(ctx.verifyLease());
+                }))
+                .then(() -> StepVerifier.create(Mono.delay(LEASE_TIME.multipliedBy(2))
+                                .then(nodeB.runSingleton("sync", ctx -> Mono.empty())))
+                        .verifyComplete())
+                .assertNext(run -> assertThat(run.status()).isEqualTo(JobRunRecord.Status.SUCCEEDED))
+                .verifyComplete();
+
+        assertThat(nodeB.getHistory("sync").get(0).status()).isEqualTo(JobRunRecord.Status.SKIPPED);
+        assertThat(context.get().getFencingToken()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("持有者停顿超过租约时长被接管后，续期失败中止任务，防护校验拒绝旧令牌的写入")
+    void fencingRejectsStaleHolder() {
+        DistributedJobCoordinator nodeA = coordinator("node-a", 300L);
+        DistributedJobCoordinator nodeB = coordinator("node-b", 300L);
+        AtomicReference<JobExecutionContext> staleContext = new AtomicReference<>();
+        List<JobRunRecord> takeover = new ArrayList<>();
+
+        StepVerifier.create(nodeA.runSingleton("disable-users", ctx -> {
+                    staleContext.set(ctx);
+                    return Mono.never();
+                }))
+                .then(() -> {
+                    // 模拟node-a停顿：存储时钟越过租约到期时间后node-b接管
+                    clockSkew.addAndGet(1_000L);
+                    takeover.add(nodeB.runSingleton("disable-users", ctx -> ctx.verifyLease()).block());
+                })
+                .expectErrorSatisfies(error -> {
+                    assertThat(error).isInstanceOf(LeaseLostException.class);
+                    assertThat(((LeaseLostException) error).getFencingToken()).isEqualTo(1L);
+                })
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(takeover.get(0).status()).isEqualTo(JobRunRecord.Status.SUCCEEDED);
+        assertThat(takeover.get(0).fencingToken()).isEqualTo(2L);
+        assertThat(nodeA.getHistory("disable-users").get(0).status()).isEqualTo(JobRunRecord.Status.LEASE_LOST);
+        StepVerifier.create(staleContext.get().verifyLease())
+                .expectError(LeaseLostException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("分片任务按存活节点分配互不重叠的分片，节点退出后剩余节点覆盖全部数据")
+    void shardsFollowMembership() {
+        List<DistributedJobCoordinator> nodes = List.of(coordinator("node-a", 60_000L),
+                coordinator("node-b", 60_000L), coordinator("node-c", 60_000L));
+        List<Integer> claimed = new ArrayList<>();
+
+        for (DistributedJobCoordinator node : nodes) {
+            StepVerifier.create(node.runSharded("expire-sessions", ctx -> claim(ctx, claimed)))
+                    .assertNext(run -> assertThat(run.shardCount()).isEqualTo(3))
+                    .verifyComplete();
+        }
+        assertThat(claimed).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8);
+
+        nodes.get(2).shutdown();
+        claimed.clear();
+        for (DistributedJobCoordinator node : nodes.subList(0, 2)) {
+            StepVerifier.create(node.runSharded("expire-sessions", ctx -> claim(ctx, claimed)))
+                    .assertNext(run -> assertThat(run.shardCount()).isEqualTo(2))
+                    .verifyComplete();
+        }
+        assertThat(claimed).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7, 8);
+    }
+
+    private static Mono<Void> claim(JobExecutionContext context, List<Integer> claimed) {
+        return Mono.fromRunnable(() -> {
+            for (int item = 0; item < 9; item++) {
+                if (context.ownsShard(item)) {
+                    claimed.add(item);
+                }
+            }
+        });
+    }
+
+    private DistributedJobCoordinator coordinator(String nodeId, long leaseTimeMillis) {
+        DistributedJobCoordinator coordinator = new DistributedJobCoordinator(store, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(coordinator, "enabled", true);
+        ReflectionTestUtils.setField(coordinator, "configuredNodeId", nodeId);
+        ReflectionTestUtils.setField(coordinator, "leaseTimeMillis", leaseTimeMillis);
+        ReflectionTestUtils.setField(coordinator, "nodeTtlMillis", 30_000L);
+        ReflectionTestUtils.setField(coordinator, "storeTimeoutMillis", 3_000L);
+        ReflectionTestUtils.setField(coordinator, "runOnStoreFailure", false);
+        ReflectionTestUtils.setField(coordinator, "historySize", 50);
+        coordinator.initialize();
+        return coordinator;
+    }
+}
@@ -0,0 +1,332 @@
+package com.honyrun.scheduler.coordination;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.honyrun.util.SnowflakeIdGenerator;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * 雪花算法机器ID租约测试
+ *
+ * 多个租约管理器共享同一个LocalJobLeaseStore模拟多节点，校验生成器只在租约有效期内生成ID：
+ * 续期被拒绝后立即停止使用原节点ID、存储不可用时在"有效期 - 安全余量"之后停止、重新获得租约后恢复，
+ * 以及存储不可用时只在本地记录的有效期过去后才沿用记录的节点ID
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 20:00:00
+ * @modified 2025-11-06 20:00:00
+ * @version 1.0.0
+ */
+class SnowflakeWorkerIdLeaseManagerTest {
+
+    private static final String LEASE_KEY_PREFIX = "snowflake:worker:";
+
+    private final LocalJobLeaseStore localStore = new LocalJobLeaseStore();
+    private final FlakyLeaseStore store = new FlakyLeaseStore(localStore);
+
+    @Test
+    @DisplayName("未受租约管理时不限制，撤销或临近有效期时拒绝生成ID")
+    void generatorHonoursLeaseExpiry() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, 1);
+        assertThat(generator.nextId()).isPositive();
+
+        generator.configureLeaseSafetyMargin(1_000L);
+        generator.confirmLease(System.currentTimeMillis() + 60_000L);
+        assertThat(SnowflakeIdGenerator.parseWorkerId(generator.nextId())).isEqualTo(1L);
+        assertThat(generator.getLeaseRejectedCount()).isZero();
+
+        generator.confirmLease(System.currentTimeMillis() + 500L);
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("即将过期");
+        generator.revokeLease();
+        assertThatThrownBy(() -> generator.reserveRange(16)).isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("未确认");
+        assertThat(generator.getLeaseRejectedCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("各节点获得互不相同的节点ID，生成的ID携带该节点ID")
+    void nodesLeaseDistinctIds() throws IOException {
+        SnowflakeIdGenerator generatorA = new SnowflakeIdGenerator(3, 0);
+        SnowflakeIdGenerator generatorB = new SnowflakeIdGenerator(3, 0);
+        SnowflakeWorkerIdLeaseManager nodeA = manager("node-a", generatorA, 60_000L);
+        SnowflakeWorkerIdLeaseManager nodeB = manager("node-b", generatorB, 60_000L);
+
+        assertThat(nodeA.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.LEASED);
+        assertThat(nodeB.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.LEASED);
+        assertThat(generatorA.getNodeId()).isNotEqualTo(generatorB.getNodeId());
+        long id = generatorB.nextId();
+        assertThat(nodeIdOf(id)).isEqualTo(generatorB.getNodeId());
+    }
+
+    @Test
+    @DisplayName("续期被拒绝后立即停止使用原节点ID，重新获得租约后按新节点ID恢复")
+    void rejectedRenewalStopsIssuing() throws IOException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 0);
+        SnowflakeWorkerIdLeaseManager manager = manager("node-a", generator, 60_000L);
+        long original = generator.getNodeId();
+        generator.nextId();
+
+        // 模拟node-a停顿期间租约过期：其他节点接管原节点ID并占满其余节点ID
+        JobLease stale = (JobLease) ReflectionTestUtils.getField(manager, "lease");
+        localStore.release(stale).block();
+        for (long candidate = 0; candidate <= SnowflakeIdGenerator.MAX_NODE_ID; candidate++) {
+            localStore.tryAcquire(LEASE_KEY_PREFIX + candidate, "node-c", Duration.ofMinutes(1)).block();
+        }
+        manager.heartbeat();
+
+        await(() -> manager.getStatus().get("mode") == SnowflakeWorkerIdLeaseManager.Mode.PENDING);
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+
+        long free = (original + 1) % (SnowflakeIdGenerator.MAX_NODE_ID + 1);
+        JobLease occupied = localStore.tryAcquire(LEASE_KEY_PREFIX + free, "node-c", Duration.ofMinutes(1))
+                .block().lease();
+        localStore.release(occupied).block();
+        manager.heartbeat();
+
+        await(() -> manager.getStatus().get("mode") == SnowflakeWorkerIdLeaseManager.Mode.LEASED);
+        assertThat(generator.getNodeId()).isEqualTo(free);
+        assertThat(nodeIdOf(generator.nextId())).isEqualTo(free);
+    }
+
+    @Test
+    @DisplayName("租约存储不可用时沿用租约到有效期减安全余量，之后拒绝生成ID，存储恢复后续期即恢复")
+    void storeOutageStopsBeforeExpiry() throws IOException, InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 0);
+        SnowflakeWorkerIdLeaseManager manager = manager("node-a", generator, 400L);
+        ReflectionTestUtils.setField(manager, "leaseTimeMillis", 400L);
+
+        store.down = true;
+        manager.heartbeat();
+        assertThat(generator.nextId()).isPositive();
+
+        Thread.sleep(400L - 100L);
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+
+        store.down = false;
+        ReflectionTestUtils.setField(manager, "leaseTimeMillis", 60_000L);
+        manager.heartbeat();
+        await(() -> generator.getLeaseExpiresAtMillis() > System.currentTimeMillis() + 10_000L);
+        assertThat(generator.nextId()).isPositive();
+        assertThat(manager.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.LEASED);
+    }
+
+    @Test
+    @DisplayName("启动时租约存储不可用则不生成ID，由心跳获得租约后恢复")
+    void startupWithoutStoreWaitsForLease() throws IOException {
+        store.down = true;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 0);
+        SnowflakeWorkerIdLeaseManager manager = manager("node-a", generator, 60_000L);
+
+        assertThat(manager.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.PENDING);
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+
+        store.down = false;
+        manager.heartbeat();
+        await(() -> manager.getStatus().get("mode") == SnowflakeWorkerIdLeaseManager.Mode.LEASED);
+        assertThat(generator.nextId()).isPositive();
+    }
+
+    @Test
+    @DisplayName("启动时存储不可用且记录的有效期已过，沿用文件中的节点ID，存储恢复后按同一节点ID获得租约")
+    void startupFallsBackToExpiredRecord() throws IOException {
+        Path nodeIdFile = recordFile("7," + (System.currentTimeMillis() - 1_000L));
+        store.down = true;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 0);
+        SnowflakeWorkerIdLeaseManager manager = manager("node-a", generator, 60_000L, nodeIdFile, true);
+
+        assertThat(manager.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.FALLBACK);
+        assertThat(nodeIdOf(generator.nextId())).isEqualTo(7L);
+        // 兜底时同样记录新的有效期，重启后需等待其过去
+        assertThat(Long.parseLong(Files.readString(nodeIdFile).split(",")[1])).isGreaterThan(System.currentTimeMillis());
+
+        store.down = false;
+        manager.heartbeat();
+        await(() -> manager.getStatus().get("mode") == SnowflakeWorkerIdLeaseManager.Mode.LEASED);
+        assertThat(generator.getNodeId()).isEqualTo(7L);
+        assertThat(localStore.tryAcquire(LEASE_KEY_PREFIX + 7, "node-b", Duration.ofMinutes(1)).block().acquired())
+                .isFalse();
+    }
+
+    @Test
+    @DisplayName("记录的有效期未过或为旧格式时不兜底，保持拒绝生成ID")
+    void startupWaitsWhileRecordedLeaseMayBeValid() throws IOException {
+        store.down = true;
+        SnowflakeIdGenerator pendingGenerator = new SnowflakeIdGenerator(5, 0);
+        SnowflakeWorkerIdLeaseManager pending = manager("node-a", pendingGenerator, 60_000L,
+                recordFile("7," + (System.currentTimeMillis() + 60_000L)), true);
+        SnowflakeIdGenerator legacyGenerator = new SnowflakeIdGenerator(5, 0);
+        SnowflakeWorkerIdLeaseManager legacy = manager("node-b", legacyGenerator, 60_000L, recordFile("7"), true);
+
+        assertThat(pending.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.PENDING);
+        assertThatThrownBy(pendingGenerator::nextId).isInstanceOf(IllegalStateException.class);
+        assertThat(legacy.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.PENDING);
+        assertThatThrownBy(legacyGenerator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("关闭文件兜底时存储不可用即拒绝生成ID")
+    void fallbackDisabledFailsClosed() throws IOException {
+        store.down = true;
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 0);
+        SnowflakeWorkerIdLeaseManager manager = manager("node-a", generator, 60_000L,
+                recordFile("7," + (System.currentTimeMillis() - 1_000L)), false);
+
+        assertThat(manager.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.PENDING);
+        assertThatThrownBy(generator::nextId).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("续期持续失败时有效期内保持租约，过期后沿用原节点ID兜底并按心跳延长")
+    void renewalOutageFallsBackAfterExpiry() throws IOException, InterruptedException {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(5, 0);
+        SnowflakeWorkerIdLeaseManager manager = manager("node-a", generator, 400L,
+                Files.createTempDirectory("snowflake-lease").resolve("node-id"), true);
+        long original = generator.getNodeId();
+
+        store.down = true;
+        long before = generator.getLeaseExpiresAtMillis();
+        manager.heartbeat();
+        Thread.sleep(100L);
+        assertThat(manager.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.LEASED);
+        assertThat(generator.getLeaseExpiresAtMillis()).isEqualTo(before);
+
+        Thread.sleep(400L);
+        manager.heartbeat();
+        await(() -> manager.getStatus().get("mode") == SnowflakeWorkerIdLeaseManager.Mode.FALLBACK);
+        assertThat(generator.getNodeId()).isEqualTo(original);
+        assertThat(generator.nextId()).isPositive();
+
+        long fallbackExpiry = generator.getLeaseExpiresAtMillis();
+        Thread.sleep(20L);
+        manager.heartbeat();
+        await(() -> generator.getLeaseExpiresAtMillis() > fallbackExpiry);
+        assertThat(manager.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.FALLBACK);
+    }
+
+    @Test
+    @DisplayName("共享记录文件的两个进程只有一个能进入兜底")
+    void fallbackLockAllowsSingleHolder() throws IOException {
+        Path nodeIdFile = recordFile("7," + (System.currentTimeMillis() - 1_000L));
+        store.down = true;
+        SnowflakeIdGenerator generatorA = new SnowflakeIdGenerator(5, 0);
+        SnowflakeIdGenerator generatorB = new SnowflakeIdGenerator(5, 0);
+        SnowflakeWorkerIdLeaseManager nodeA = manager("node-a", generatorA, 60_000L, nodeIdFile, true);
+        // 模拟nodeA兜底前崩溃留下的已过期记录，nodeB仍因文件锁被占用而拒绝
+        Files.writeString(nodeIdFile, "7," + (System.currentTimeMillis() - 1_000L));
+        SnowflakeWorkerIdLeaseManager nodeB = manager("node-b", generatorB, 60_000L, nodeIdFile, true);
+
+        assertThat(nodeA.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.FALLBACK);
+        assertThat(nodeB.getStatus()).containsEntry("mode", SnowflakeWorkerIdLeaseManager.Mode.PENDING);
+        assertThatThrownBy(generatorB::nextId).isInstanceOf(IllegalStateException.class);
+
+        nodeA.shutdown();
+        nodeB.heartbeat();
+        await(() -> nodeB.getStatus().get("mode") == SnowflakeWorkerIdLeaseManager.Mode.FALLBACK);
+    }
+
+    private SnowflakeWorkerIdLeaseManager manager(String nodeId, SnowflakeIdGenerator generator, long leaseTimeMillis)
+            throws IOException {
+        return manager(nodeId, generator, leaseTimeMillis,
+                Files.createTempDirectory("snowflake-lease").resolve("node-id"), false);
+    }
+
+    private static Path recordFile(String content) throws IOException {
+        Path nodeIdFile = Files.createTempDirectory("snowflake-lease").resolve("node-id");
+        Files.writeString(nodeIdFile, content);
+        return nodeIdFile;
+    }
+
+    private SnowflakeWorkerIdLeaseManager manager(String nodeId, SnowflakeIdGenerator generator, long leaseTimeMillis,
+            Path nodeIdFile, boolean fileFallback) {
+        DistributedJobCoordinator coordinator = new DistributedJobCoordinator(store, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(coordinator, "enabled", false);
+        ReflectionTestUtils.setField(coordinator, "configuredNodeId", nodeId);
+        coordinator.initialize();
+
+        SnowflakeWorkerIdLeaseManager manager = new SnowflakeWorkerIdLeaseManager(generator, store, coordinator,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(manager, "configuredNodeId", -1L);
+        ReflectionTestUtils.setField(manager, "leaseTimeMillis", leaseTimeMillis);
+        ReflectionTestUtils.setField(manager, "storeTimeoutMillis", 500L);
+        ReflectionTestUtils.setField(manager, "leaseSafetyMarginMillis", 100L);
+        ReflectionTestUtils.setField(manager, "nodeIdFile", nodeIdFile.toString());
+        ReflectionTestUtils.setField(manager, "fileFallback", fileFallback);
+        ReflectionTestUtils.setField(manager, "maxClockDriftMillis", 5L);
+        ReflectionTestUtils.setField(manager, "maxClockWaitMillis", 1000L);
+        manager.initialize();
+        return manager;
+    }
+
+    private static long nodeIdOf(long id) {
+        return SnowflakeIdGenerator.parseDatacenterId(id) << 5 | SnowflakeIdGenerator.parseWorkerId(id);
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime() - deadline).as("等待心跳完成超时").isNegative();
+            Thread.onSpinWait();
+        }
+    }
+
+    /**
+     * 可切换为不可用的租约存储，不可用时所有操作以异常结束
+     */
+    private static final class FlakyLeaseStore implements JobLeaseStore {
+
+        private final JobLeaseStore delegate;
+        private volatile boolean down;
+
+        FlakyLeaseStore(JobLeaseStore delegate) {
+            this.delegate = delegate;
+        }
+
+        private <T> Mono<T> guard(Mono<T> operation) {
+            return Mono.defer(() -> down ? Mono.error(new IllegalStateException("connection refused")) : operation);
+        }
+
+        @Override
+        public Mono<Acquisition> tryAcquire(String key, String nodeId, Duration leaseTime) {
+            return guard(delegate.tryAcquire(key, nodeId, leaseTime));
+        }
+
+        @Override
+        public Mono<Boolean> renew(JobLease lease, Duration leaseTime) {
+            return guard(delegate.renew(lease, leaseTime));
+        }
+
+        @Override
+        public Mono<Boolean> release(JobLease lease) {
+            return guard(delegate.release(lease));
+        }
+
+        @Override
+        public Mono<Boolean> isValid(JobLease lease) {
+            return guard(delegate.isValid(lease));
+        }
+
+        @Override
+        public Mono<Membership> heartbeat(String nodeId, Duration nodeTtl) {
+            return guard(delegate.heartbeat(nodeId, nodeTtl));
+        }
+
+        @Override
+        public Mono<Void> leave(String nodeId) {
+            return guard(delegate.leave(nodeId));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.honyrun.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+/**
+ * 事件循环阻塞检测密码编码器测试
+ *
+ * FAIL模式下在parallel调度器（与Netty事件循环同属非阻塞线程）上直接哈希必须失败且不调用实际编码器，
+ * 经PasswordHashingService转到哈希线程池执行的调用不受影响
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 18:00:00
+ * @modified 2025-11-06 18:00:00
+ * @version 1.0.0
+ */
+class EventLoopGuardingPasswordEncoderTest {
+
+    private final CountingEncoder delegate = new CountingEncoder();
+
+    @Test
+    @DisplayName("FAIL模式下在非阻塞线程上编码或匹配抛出异常，不执行实际哈希")
+    void failModeRejectsNonBlockingThreads() {
+        EventLoopGuardingPasswordEncoder encoder = new EventLoopGuardingPasswordEncoder(delegate,
+                EventLoopGuardingPasswordEncoder.Mode.FAIL);
+
+        StepVerifier.create(Mono.fromCallable(() -> encoder.matches("secret", "{noop}secret"))
+                        .subscribeOn(Schedulers.parallel()))
+                .expectErrorSatisfies(error -> assertThat(error)
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("operation=matches")
+                        .hasMessageContaining("thread=parallel-"))
+                .verify();
+        StepVerifier.create(Mono.fromCallable(() -> encoder.encode("secret")).subscribeOn(Schedulers.parallel()))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertThat(encoder.getViolationCount()).isEqualTo(2);
+        assertThat(delegate.calls.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("FAIL模式下阻塞线程和密码哈希线程池上的调用正常执行")
+    void failModeAllowsBlockingThreads() {
+        EventLoopGuardingPasswordEncoder encoder = new EventLoopGuardingPasswordEncoder(delegate,
+                EventLoopGuardingPasswordEncoder.Mode.FAIL);
+        PasswordHashingService hashingService = new PasswordHashingService(encoder, new SimpleMeterRegistry(),
+                1, 8, 2000L, 2, 3000L);
+        try {
+            StepVerifier.create(Mono.fromCallable(() -> encoder.matches("secret", "{noop}secret"))
+                            .subscribeOn(Schedulers.boundedElastic()))
+                    .expectNext(true)
+                    .verifyComplete();
+            // 在非阻塞线程上发起，由哈希服务转到自己的线程池执行
+            StepVerifier.create(Mono.defer(() -> hashingService.matches("secret", "{noop}secret"))
+                            .subscribeOn(Schedulers.parallel()))
+                    .expectNext(true)
+                    .verifyComplete();
+        } finally {
+            hashingService.destroy();
+        }
+
+        assertThat(encoder.getViolationCount()).isZero();
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("WARN模式计数后继续执行，OFF模式不检测")
+    void warnAndOffModes() {
+        EventLoopGuardingPasswordEncoder warn = new EventLoopGuardingPasswordEncoder(delegate,
+                EventLoopGuardingPasswordEncoder.Mode.WARN);
+        EventLoopGuardingPasswordEncoder off = new EventLoopGuardingPasswordEncoder(delegate,
+                EventLoopGuardingPasswordEncoder.Mode.OFF);
+
+        StepVerifier.create(Mono.fromCallable(() -> warn.matches("secret", "{noop}secret") && off.matches("secret",
+                        "{noop}secret")).subscribeOn(Schedulers.parallel()))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertThat(warn.getViolationCount()).isEqualTo(1);
+        assertThat(off.getViolationCount()).isZero();
+        assertThat(delegate.calls.get()).isEqualTo(2);
+    }
+
+    /**
+     * 明文比较的编码器替身，记录实际执行次数
+     */
+    private static final class CountingEncoder implements PasswordEncoder {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            calls.incrementAndGet();
+            return "{noop}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            calls.incrementAndGet();
+            return encodedPassword.equals("{noop}" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.honyrun.security.response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpStatus;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.model.dto.response.ApiResponse;
+import com.honyrun.security.response.RejectionResponseTemplate.Slot;
+import com.honyrun.security.response.RejectionResponseTemplate.Values;
+import com.honyrun.util.ErrorDetailsUtil;
+import com.honyrun.util.common.JsonUtil;
+
+/**
+ * 拒绝响应模板与JsonUtil序列化的等价性测试
+ *
+ * 模板的构造方式与RejectionResponseBenchmark一致。动态值使用2000个随机字符串，混合控制字符、引号和反斜杠、
+ * 中日韩汉字、代理对和普通ASCII，模板写出结果与原实现（构造ApiResponse后用JsonUtil序列化）
+ * 解析为JSON树后逐字段比较，timestamp为写出时间，比较前移除并单独校验格式
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 23:30:00
+ * @modified 2025-11-06 23:30:00
+ * @version 1.0.0
+ */
+class RejectionResponseTemplateTest {
+
+    private static final String RATE_LIMIT_CODE = String.valueOf(HttpStatus.TOO_MANY_REQUESTS.value());
+    private static final String RATE_LIMIT_MESSAGE = "请求频率超出限制，请稍后重试";
+    private static final String VALIDATION_CODE = String.valueOf(HttpStatus.BAD_REQUEST.value());
+    private static final String VALIDATION_MESSAGE = "请求参数验证失败";
+    private static final int SAMPLES = 2000;
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private ErrorDetailsUtil errorDetailsUtil;
+
+    @BeforeEach
+    void setUp() {
+        errorDetailsUtil = new ErrorDetailsUtil(configManager());
+    }
+
+    @Test
+    @DisplayName("限流模板只有timestamp为动态字段，其余内容与JsonUtil序列化结果一致")
+    void rateLimitMatchesSerializer() throws IOException {
+        RejectionResponseTemplate template = RejectionResponseTemplate.compile(
+                ApiResponse.error(RATE_LIMIT_CODE, RATE_LIMIT_MESSAGE));
+
+        JsonNode rendered = render(template, Values.NONE);
+        assertThat(rendered).isEqualTo(serialize(ApiResponse.error(RATE_LIMIT_CODE, RATE_LIMIT_MESSAGE)));
+        // 基准中的原实现使用带data参数的重载，data为null时输出相同
+        assertThat(rendered).isEqualTo(serialize(ApiResponse.error(RATE_LIMIT_CODE, RATE_LIMIT_MESSAGE, null)));
+    }
+
+    @Test
+    @DisplayName("校验失败模板写入2000组随机traceId和path，与JsonUtil序列化结果一致")
+    void validationMatchesSerializerForRandomValues() throws IOException {
+        RejectionResponseTemplate template = RejectionResponseTemplate.compile(ApiResponse.<Void>builder()
+                .success(false)
+                .code(VALIDATION_CODE)
+                .message(VALIDATION_MESSAGE)
+                .traceId(RejectionResponseTemplate.placeholder(Slot.TRACE_ID))
+                .details(errorDetailsUtil.buildSimpleErrorDetails("ValidationError",
+                        RejectionResponseTemplate.placeholder(Slot.PATH)))
+                .path(RejectionResponseTemplate.placeholder(Slot.PATH))
+                .build());
+        SplittableRandom random = new SplittableRandom(20251106L);
+
+        for (int i = 0; i < SAMPLES; i++) {
+            String traceId = randomString(random);
+            String path = randomString(random);
+            ApiResponse<Void> expected = ApiResponse.<Void>builder()
+                    .success(false)
+                    .code(VALIDATION_CODE)
+                    .message(VALIDATION_MESSAGE)
+                    .traceId(traceId)
+                    .details(errorDetailsUtil.buildSimpleErrorDetails("ValidationError", path))
+                    .path(path)
+                    .build();
+
+            assertThat(render(template, Values.of(traceId, path)))
+                    .as("traceId=%s, path=%s", escape(traceId), escape(path))
+                    .isEqualTo(serialize(expected));
+        }
+    }
+
+    private JsonNode render(RejectionResponseTemplate template, Values values) throws IOException {
+        DataBuffer buffer = template.render(bufferFactory, values);
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        ObjectNode tree = (ObjectNode) JsonUtil.getObjectMapper().readTree(bytes);
+        String timestamp = tree.remove("timestamp").asText();
+        assertThat(LocalDateTime.parse(timestamp)).isNotNull();
+        return tree;
+    }
+
+    private static JsonNode serialize(ApiResponse<?> response) throws IOException {
+        ObjectNode tree = (ObjectNode) JsonUtil.getObjectMapper().readTree(JsonUtil.toJson(response));
+        tree.remove("timestamp");
+        return tree;
+    }
+
+    /**
+     * 随机字符串：每个字符从控制字符、JSON需要转义的字符、中日韩汉字、代理对和ASCII中等概率选取
+     */
+    private static String randomString(SplittableRandom random) {
+        int length = random.nextInt(0, 48);
+        StringBuilder builder = new StringBuilder(length * 2);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(5)) {
+                case 0 -> builder.append((char) (random.nextBoolean() ? random.nextInt(0x20) : 0x7F));
+                case 1 -> builder.append("\"\\/'  ".charAt(random.nextInt(6)));
+                case 2 -> builder.append((char) random.nextInt(0x4E00, 0x9FA6));
+                case 3 -> builder.appendCodePoint(random.nextInt(0x10000, 0x110000));
+                default -> builder.append((char) random.nextInt(0x20, 0x7F));
+            }
+        }
+        return builder.toString();
+    }
+
+    private static String escape(String value) {
+        StringBuilder builder = new StringBuilder();
+        value.codePoints().forEach(codePoint -> builder.append(codePoint < 0x20 || codePoint > 0x7E
+                ? String.format("\\u{%x}", codePoint) : String.valueOf((char) codePoint)));
+        return builder.toString();
+    }
+
+    /**
+     * 与基准夹具相同的最小配置，ErrorDetailsUtil构造时只需要配置管理器实例
+     */
+    private static UnifiedConfigManager configManager() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", Map.of(
+                "spring.r2dbc.url", "r2dbc:mysql://test.invalid:3306/honyrun",
+                "spring.r2dbc.username", "test",
+                "spring.data.redis.host", "test.invalid",
+                "spring.data.redis.port", "6379")));
+        UnifiedConfigManager configManager = new UnifiedConfigManager(null, null, null, null, null, null, null,
+                environment);
+        configManager.init();
+        return configManager;
+    }
+}
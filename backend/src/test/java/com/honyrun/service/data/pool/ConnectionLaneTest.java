@@ -0,0 +1,255 @@
+package com.honyrun.service.data.pool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+
+import com.honyrun.exception.ErrorCode;
+import com.honyrun.exception.RateLimitException;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+/**
+ * 连接通道闸门与上限调节测试
+ *
+ * 以模拟延迟的替身数据库代替物理连接池：同时打开的连接数超过数据库容量后，语句延迟按超出比例线性增长。
+ * 校验闸门的放行、排队、队列满与等待超时拒绝、取消不泄漏许可，
+ * 以及按ConnectionPoolGovernor的方式逐周期调用adjust时，上限在空闲时回收、
+ * 压满时收敛到数据库容量附近、数据库变慢时收缩到下界，结束后没有遗留的许可和连接
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 23:00:00
+ * @modified 2025-11-06 23:00:00
+ * @version 1.0.0
+ */
+class ConnectionLaneTest {
+
+    private static final int DB_CAPACITY = 8;
+    private static final double LATENCY_TOLERANCE = 2.0;
+    private static final Duration ROUND = Duration.ofMillis(100);
+
+    @Test
+    @DisplayName("未到上限立即放行，超过上限排队，连接关闭后按顺序补位")
+    void admitsUpToLimitThenQueues() {
+        StandInDatabase database = new StandInDatabase(1);
+        ConnectionLane lane = lane(database, 2, 2, Duration.ofSeconds(5), 10);
+
+        Connection first = lane.create().block();
+        Connection second = lane.create().block();
+        List<Connection> granted = new ArrayList<>();
+        Disposable waiting = lane.create().subscribe(granted::add);
+
+        assertThat(lane.getInFlight()).isEqualTo(2);
+        assertThat(lane.getQueued()).isEqualTo(1);
+        assertThat(granted).isEmpty();
+
+        close(first);
+        assertThat(granted).hasSize(1);
+        assertThat(lane.getQueued()).isZero();
+
+        close(second);
+        close(granted.get(0));
+        // 重复关闭只归还一次许可
+        close(granted.get(0));
+        waiting.dispose();
+        assertThat(lane.getInFlight()).isZero();
+        assertThat(database.open.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("队列已满或排队超过等待预算时以CONCURRENT_LIMIT_EXCEEDED快速失败")
+    void shedsWhenQueueFullOrWaitBudgetExceeded() {
+        StandInDatabase database = new StandInDatabase(1);
+        ConnectionLane lane = lane(database, 1, 1, Duration.ofMillis(50), 1);
+        Connection held = lane.create().block();
+
+        StepVerifier.create(Mono.zip(
+                        lane.create().map(Connection.class::cast).materialize(),
+                        lane.create().map(Connection.class::cast).materialize()))
+                .assertNext(signals -> {
+                    assertThat(signals.getT1().getThrowable()).isInstanceOf(RateLimitException.class);
+                    assertThat(signals.getT2().getThrowable()).isInstanceOf(RateLimitException.class);
+                })
+                .verifyComplete();
+
+        assertThat(lane.getShedQueueFull()).isEqualTo(1);
+        assertThat(lane.getShedWaitBudget()).isEqualTo(1);
+        StepVerifier.create(lane.create().timeout(Duration.ofSeconds(1)))
+                .expectErrorSatisfies(error -> assertThat(((RateLimitException) error).getErrorCode())
+                        .isEqualTo(ErrorCode.CONCURRENT_LIMIT_EXCEEDED))
+                .verify();
+        assertThat(lane.getQueued()).isZero();
+
+        close(held);
+        assertThat(lane.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("排队中取消或物理连接池获取失败时归还许可")
+    void cancelAndPoolErrorReturnPermits() {
+        StandInDatabase database = new StandInDatabase(1);
+        ConnectionLane lane = lane(database, 1, 1, Duration.ofSeconds(5), 10);
+        Connection held = lane.create().block();
+
+        Disposable cancelled = lane.create().subscribe();
+        assertThat(lane.getQueued()).isEqualTo(1);
+        cancelled.dispose();
+        assertThat(lane.getQueued()).isZero();
+
+        close(held);
+        database.failing.set(true);
+        StepVerifier.create(lane.create()).expectErrorMessage("数据库连接失败").verify();
+        assertThat(lane.getInFlight()).isZero();
+
+        database.failing.set(false);
+        close(lane.create().block());
+        assertThat(lane.getInFlight()).isZero();
+        assertThat(database.open.get()).isZero();
+    }
+
+    @Test
+    @DisplayName("空闲时上限回收，压满时收敛到数据库容量附近，数据库变慢时收缩到下界，结束后无遗留许可")
+    void limitFollowsStandInDatabase() {
+        StandInDatabase database = new StandInDatabase(5);
+        ConnectionLane lane = lane(database, 4, 20, Duration.ofSeconds(1), 200);
+
+        // 低负载：学习延迟基线，空闲的并发逐步回收
+        runRounds(lane, database, 2, 20);
+        assertThat(lane.getLimit()).isLessThanOrEqualTo(7);
+        assertThat(lane.getPolicy().getBaselineLatencyMillis()).isBetween(5.0, 7.5);
+
+        // 压满：等待超过目标时增加上限，超出数据库容量后延迟升高，上限停止增长
+        // 数据库延迟在基线×容忍倍数以内时不收缩，因此稳定在容量到容量×容忍倍数之间且不再来回调整
+        List<Integer> settled = runRounds(lane, database, 40, 25).subList(15, 25);
+        assertThat(settled).allSatisfy(limit -> assertThat(limit)
+                .isBetween(DB_CAPACITY, (int) (DB_CAPACITY * LATENCY_TOLERANCE)));
+        assertThat(settled.stream().mapToInt(Integer::intValue).max().getAsInt()
+                - settled.stream().mapToInt(Integer::intValue).min().getAsInt()).isLessThanOrEqualTo(2);
+        assertThat(lane.getShedQueueFull() + lane.getShedWaitBudget()).isZero();
+
+        // 数据库变慢：延迟超过基线×容忍倍数且通道满载时收缩
+        database.baseLatencyMillis = 20;
+        runRounds(lane, database, 40, 8);
+        assertThat(lane.getLimit()).isEqualTo(4);
+        assertThat(lane.getLastDecision().reason()).contains("数据库延迟升高");
+
+        assertThat(lane.getInFlight()).isZero();
+        assertThat(lane.getQueued()).isZero();
+        assertThat(database.open.get()).isZero();
+    }
+
+    /**
+     * 以clients个并发客户端持续执行"获取连接、执行一条语句、关闭连接"，每个周期结束时按调节器的方式调整上限
+     *
+     * @return 每个周期调整后的上限
+     */
+    private static List<Integer> runRounds(ConnectionLane lane, StandInDatabase database, int clients, int rounds) {
+        AtomicBoolean running = new AtomicBoolean(true);
+        Mono<Void> request = Mono.usingWhen(lane.create(), database::execute, Connection::close)
+                .onErrorResume(RateLimitException.class, error -> Mono.delay(Duration.ofMillis(5)).then());
+        Disposable load = Flux.range(0, clients)
+                .flatMap(client -> request.repeat(running::get), clients)
+                .subscribeOn(Schedulers.parallel())
+                .subscribe();
+        List<Integer> limits = new ArrayList<>();
+        try {
+            for (int round = 0; round < rounds; round++) {
+                Mono.delay(ROUND).block();
+                limits.add(lane.adjust(database.takeMedianLatencyMillis()).limit());
+            }
+        } finally {
+            running.set(false);
+            long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+            while (lane.getInFlight() > 0 && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            load.dispose();
+        }
+        return limits;
+    }
+
+    private static ConnectionLane lane(StandInDatabase database, int minLimit, int maxLimit, Duration waitBudget,
+            int maxQueue) {
+        PoolSizingPolicy policy = new PoolSizingPolicy(
+                new PoolSizingPolicy.Settings(minLimit, maxLimit, 20L, 0.8, 0.3, LATENCY_TOLERANCE, 2));
+        return new ConnectionLane(PoolLane.OLTP, database, policy, waitBudget, maxQueue);
+    }
+
+    private static void close(Connection connection) {
+        Mono.from(connection.close()).block();
+    }
+
+    /**
+     * 模拟延迟的替身数据库：同时打开的连接数不超过容量时语句延迟为基准延迟，超过后按比例增长
+     */
+    private static final class StandInDatabase implements ConnectionFactory {
+
+        private final AtomicInteger open = new AtomicInteger();
+        private final AtomicBoolean failing = new AtomicBoolean();
+        private final List<Long> latencies = new ArrayList<>();
+        private volatile long baseLatencyMillis;
+
+        StandInDatabase(long baseLatencyMillis) {
+            this.baseLatencyMillis = baseLatencyMillis;
+        }
+
+        @Override
+        public Publisher<? extends Connection> create() {
+            return Mono.defer(() -> {
+                if (failing.get()) {
+                    return Mono.error(new IllegalStateException("数据库连接失败"));
+                }
+                open.incrementAndGet();
+                Connection connection = mock(Connection.class);
+                AtomicBoolean closed = new AtomicBoolean();
+                when(connection.close()).thenAnswer(invocation -> Mono.fromRunnable(() -> {
+                    if (closed.compareAndSet(false, true)) {
+                        open.decrementAndGet();
+                    }
+                }));
+                return Mono.just(connection);
+            });
+        }
+
+        Mono<Void> execute(Connection connection) {
+            long latency = baseLatencyMillis * Math.max(DB_CAPACITY, open.get()) / DB_CAPACITY;
+            synchronized (latencies) {
+                latencies.add(latency);
+            }
+            return Mono.delay(Duration.ofMillis(latency)).then();
+        }
+
+        double takeMedianLatencyMillis() {
+            synchronized (latencies) {
+                if (latencies.isEmpty()) {
+                    return 0.0;
+                }
+                List<Long> sorted = latencies.stream().sorted().toList();
+                latencies.clear();
+                return sorted.get(sorted.size() / 2);
+            }
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return () -> "stand-in";
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.honyrun.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.http.codec.multipart.FilePart;
+
+import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.exception.BusinessException;
+import com.honyrun.service.reactive.ReactiveErrorRecoveryService;
+import com.honyrun.util.reactive.LeakDetectionRecorder;
+import com.honyrun.util.reactive.PooledDataBufferUtil;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * 图片服务缓冲区释放测试
+ *
+ * 上传内容以池化缓冲区模拟（每次订阅FilePart.content()都重新分配，与真实上传一致），
+ * 在paranoid泄漏检测级别下校验：转换成功、图片损坏、批量转换被取消时，上传缓冲区全部释放，
+ * 未写出的转换结果不会泄漏
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 22:00:00
+ * @modified 2025-11-06 22:00:00
+ * @version 1.0.0
+ */
+class ReactiveImageServiceImplTest {
+
+    private final Queue<DataBuffer> uploaded = new ConcurrentLinkedQueue<>();
+    private ReactiveImageServiceImpl imageService;
+    private LeakDetectionRecorder leakRecorder;
+
+    @BeforeEach
+    void setUp() {
+        leakRecorder = LeakDetectionRecorder.start();
+        UnifiedConfigManager configManager = mock(UnifiedConfigManager.class);
+        when(configManager.getLongConfig(anyString(), anyLong())).thenAnswer(
+                invocation -> Mono.just((Long) invocation.getArgument(1)));
+        imageService = new ReactiveImageServiceImpl(configManager,
+                new StaticListableBeanFactory().getBeanProvider(ReactiveErrorRecoveryService.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        try {
+            // 取消后仍在弹性线程上执行的读取会稍后结束并释放缓冲区
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (uploaded.stream().anyMatch(buffer -> refCnt(buffer) > 0) && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(uploaded).isNotEmpty().allSatisfy(buffer -> assertThat(refCnt(buffer)).isZero());
+            assertThat(leakRecorder.collectLeaks(3)).isEmpty();
+        } finally {
+            leakRecorder.close();
+        }
+    }
+
+    @Test
+    @DisplayName("转换结果来自池化分配器，上传内容在大小校验和转换后均已释放")
+    void convertReleasesUpload() throws IOException {
+        StepVerifier.create(imageService.convertImage(filePart("photo.png", png(32, 16)), "jpg", 0.8f, 16, null))
+                .assertNext(result -> {
+                    assertThat(result).isInstanceOf(NettyDataBuffer.class);
+                    assertThat(result.readableByteCount()).isPositive();
+                    DataBufferUtils.release(result);
+                })
+                .verifyComplete();
+        // 大小校验和转换各读取一次上传内容
+        assertThat(uploaded).hasSize(4);
+    }
+
+    @Test
+    @DisplayName("图片损坏时转换失败，上传内容仍被释放")
+    void corruptImageReleasesUpload() {
+        byte[] corrupt = "not an image, just some bytes".getBytes();
+
+        StepVerifier.create(imageService.convertImage(filePart("broken.png", corrupt), "jpg", 0.8f, null, null))
+                .expectError(BusinessException.class)
+                .verify();
+        StepVerifier.create(imageService.getImageInfo(filePart("broken.png", corrupt)))
+                .expectError(BusinessException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("批量转换被下游取消时，已转换但未写出的结果由doOnDiscard释放")
+    void cancelledBatchReleasesPendingResults() throws IOException {
+        byte[] image = png(64, 64);
+        Flux<FilePart> parts = Flux.just(filePart("a.png", image), filePart("b.png", image), filePart("c.png", image));
+
+        StepVerifier.create(imageService.convertImagesBatch(parts, "png", null, null, null), 1)
+                .assertNext(DataBufferUtils::release)
+                .thenCancel()
+                .verify();
+    }
+
+    private FilePart filePart(String filename, byte[] content) {
+        FilePart filePart = mock(FilePart.class);
+        when(filePart.filename()).thenReturn(filename);
+        // 分两块到达，每块在发出时才分配，与真实上传一致
+        int half = content.length / 2;
+        when(filePart.content()).thenAnswer(invocation -> Flux.range(0, 2)
+                .map(chunk -> chunk == 0 ? pooled(content, 0, half) : pooled(content, half, content.length - half)));
+        return filePart;
+    }
+
+    private DataBuffer pooled(byte[] content, int offset, int length) {
+        DataBuffer buffer = PooledDataBufferUtil.factory().allocateBuffer(Math.max(1, length));
+        buffer.write(content, offset, length);
+        uploaded.add(buffer);
+        return buffer;
+    }
+
+    private static int refCnt(DataBuffer buffer) {
+        return ((NettyDataBuffer) buffer).getNativeBuffer().refCnt();
+    }
+
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, 0x336699);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", outputStream);
+        return outputStream.toByteArray();
+    }
+}
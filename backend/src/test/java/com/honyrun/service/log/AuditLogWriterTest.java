@@ -0,0 +1,179 @@
+package com.honyrun.service.log;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import reactor.core.publisher.Mono;
+
+/**
+ * AuditLogWriter入库测试
+ *
+ * 解析db/unified-schema.sql中sys_system_logs的建表语句，对一次真实的组提交捕获INSERT语句和绑定值，
+ * 校验写入的列都存在于表中、NOT NULL且无默认值的列都被写入并绑定了非空值
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 10:00:00
+ * @modified 2025-11-06 10:00:00
+ * @version 1.0.0
+ */
+class AuditLogWriterTest {
+
+    private static final Pattern INSERT_COLUMNS = Pattern.compile("INSERT INTO sys_system_logs \\(([^)]+)\\) VALUES");
+
+    @Test
+    @DisplayName("一次组提交的INSERT与sys_system_logs表结构一致")
+    void flushMatchesSchema() throws Exception {
+        Map<String, Boolean> schema = loadColumns("sys_system_logs");
+        CapturingConnectionFactory connectionFactory = new CapturingConnectionFactory();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AuditLogWriter writer = newWriter(connectionFactory, meterRegistry);
+
+        writer.start();
+        writer.submit(AuditRecord.security(AuditRecord.LEVEL_INFO, "LOGIN_SUCCESS", "用户登录成功: {}", "alice")
+                .actor("alice", 1001L, "10.0.0.1", "JUnit"));
+        writer.submit(AuditRecord.of(AuditRecord.LEVEL_WARN, "SYSTEM", "CONFIG_CHANGE", "SYSTEM", "匿名配置变更"));
+        writer.stop();
+
+        assertThat(connectionFactory.sql).hasSize(1);
+        Matcher matcher = INSERT_COLUMNS.matcher(connectionFactory.sql.get(0));
+        assertThat(matcher.find()).isTrue();
+        List<String> columns = new ArrayList<>();
+        for (String column : matcher.group(1).split(",")) {
+            columns.add(column.trim());
+        }
+
+        assertThat(schema.keySet()).containsAll(columns);
+        List<String> required = schema.entrySet().stream().filter(Map.Entry::getValue).map(Map.Entry::getKey).toList();
+        assertThat(columns).containsAll(required);
+
+        Map<Integer, Object> bindings = connectionFactory.bindings;
+        assertThat(bindings).hasSize(columns.size() * 2);
+        for (int row = 0; row < 2; row++) {
+            for (String column : required) {
+                assertThat(bindings.get(row * columns.size() + columns.indexOf(column)))
+                        .as("第%d行%s", row, column).isNotNull();
+            }
+        }
+        assertThat(bindings.get(columns.indexOf("message"))).isEqualTo("用户登录成功: alice");
+        assertThat(bindings.get(columns.indexOf("description"))).isEqualTo("[LOGIN_SUCCESS] 用户: alice");
+        assertThat(bindings.get(columns.size() + columns.indexOf("user_id"))).isNull();
+        assertThat(meterRegistry.counter("honyrun.audit.events.persisted").count()).isEqualTo(2.0);
+        assertThat(meterRegistry.counter("honyrun.audit.events.persist.failed").count()).isZero();
+    }
+
+    private static AuditLogWriter newWriter(ConnectionFactory connectionFactory, SimpleMeterRegistry meterRegistry) {
+        DatabaseClient databaseClient = DatabaseClient.builder()
+                .connectionFactory(connectionFactory)
+                .bindMarkers(BindMarkersFactory.anonymous("?"))
+                .build();
+        AuditLogWriter writer = new AuditLogWriter(databaseClient, meterRegistry);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 1024);
+        ReflectionTestUtils.setField(writer, "batchSize", 500);
+        ReflectionTestUtils.setField(writer, "maxLatencyMillis", 200L);
+        ReflectionTestUtils.setField(writer, "overflowPolicy", AuditLogWriter.OverflowPolicy.DROP_NEWEST);
+        ReflectionTestUtils.setField(writer, "databaseEnabled", true);
+        ReflectionTestUtils.setField(writer, "writeTimeoutMillis", 5000L);
+        return writer;
+    }
+
+    /**
+     * 解析建表语句
+     *
+     * @return 列名 -> 是否必须由INSERT提供（NOT NULL且没有DEFAULT和AUTO_INCREMENT）
+     */
+    private static Map<String, Boolean> loadColumns(String table) throws IOException {
+        String ddl;
+        try (InputStream in = AuditLogWriterTest.class.getClassLoader()
+                .getResourceAsStream("db/unified-schema.sql")) {
+            assertThat(in).isNotNull();
+            ddl = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        int start = ddl.indexOf("CREATE TABLE " + table + " (");
+        assertThat(start).isNotNegative();
+        String body = ddl.substring(ddl.indexOf('(', start) + 1, ddl.indexOf(") COMMENT=", start));
+
+        Map<String, Boolean> columns = new LinkedHashMap<>();
+        for (String line : body.split("\n")) {
+            String definition = line.trim();
+            if (definition.isEmpty() || definition.startsWith("--") || definition.startsWith("PRIMARY KEY")
+                    || definition.startsWith("INDEX") || definition.startsWith("UNIQUE")) {
+                continue;
+            }
+            String upper = definition.toUpperCase();
+            boolean required = upper.contains("NOT NULL") && !upper.contains("DEFAULT")
+                    && !upper.contains("AUTO_INCREMENT");
+            columns.put(definition.substring(0, definition.indexOf(' ')), required);
+        }
+        return columns;
+    }
+
+    /**
+     * 记录执行的SQL和按位置绑定的值，空值以null记录
+     */
+    private static final class CapturingConnectionFactory implements ConnectionFactory {
+
+        private final List<String> sql = new ArrayList<>();
+        private final Map<Integer, Object> bindings = new TreeMap<>();
+
+        @Override
+        public Mono<Connection> create() {
+            Connection connection = mock(Connection.class);
+            when(connection.createStatement(anyString())).thenAnswer(invocation -> {
+                sql.add(invocation.getArgument(0));
+                return statement();
+            });
+            when(connection.close()).thenReturn(Mono.empty());
+            return Mono.just(connection);
+        }
+
+        private Statement statement() {
+            Statement statement = mock(Statement.class);
+            when(statement.bind(anyInt(), any())).thenAnswer(invocation -> {
+                Object value = invocation.getArgument(1);
+                bindings.put(invocation.getArgument(0), value instanceof Parameter p ? p.getValue() : value);
+                return statement;
+            });
+            when(statement.bindNull(anyInt(), any())).thenAnswer(invocation -> {
+                bindings.put(invocation.getArgument(0), null);
+                return statement;
+            });
+            Result result = mock(Result.class);
+            when(result.getRowsUpdated()).thenAnswer(invocation -> Mono.just((long) sql.size()));
+            when(statement.execute()).thenAnswer(invocation -> Mono.just(result));
+            return statement;
+        }
+
+        @Override
+        public ConnectionFactoryMetadata getMetadata() {
+            return () -> "capturing";
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.honyrun.service.monitoring.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 自适应并发限流器测试
+ *
+ * 校验分区保证份额的放行、许可重复释放、采样窗口的最少样本数，
+ * 以及运行时收缩最大上限
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-08 14:00:00
+ * @modified 2025-11-08 14:00:00
+ * @version 1.0.0
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long ONE_SECOND = 1_000_000_000L;
+
+    /**
+     * 记录每次窗口样本并保持上限不变的算法
+     */
+    private static final class RecordingAlgorithm implements LimitAlgorithm {
+
+        private final List<LimitSample> samples = new ArrayList<>();
+
+        @Override
+        public double update(double limit, LimitSample sample) {
+            samples.add(sample);
+            return limit;
+        }
+
+        @Override
+        public String getName() {
+            return "RECORDING";
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> partitionState(AdaptiveConcurrencyLimiter limiter, String partition) {
+        return (Map<String, Object>) limiter.describePartitions().get(partition);
+    }
+
+    @Test
+    @DisplayName("全局已满时分区仍可使用保证份额，用完后拒绝")
+    void partitionReservedShareBypassesGlobalLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", new RecordingAlgorithm(),
+                10, 1, 100, ONE_SECOND, 10);
+        limiter.setPartition("auth", 0.2);
+
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            permits.add(limiter.tryAcquire());
+        }
+        assertThat(permits).doesNotContainNull();
+        assertThat(limiter.tryAcquire()).isNull();
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire("auth");
+        AdaptiveConcurrencyLimiter.Permit second = limiter.tryAcquire("auth");
+        assertThat(first).isNotNull();
+        assertThat(second).isNotNull();
+        assertThat(limiter.tryAcquire("auth")).isNull();
+        assertThat(limiter.tryAcquire("unknown")).isNull();
+
+        assertThat(limiter.getInflight()).isEqualTo(12);
+        assertThat(partitionState(limiter, "auth")).containsEntry("reserved", 2).containsEntry("inflight", 2);
+
+        first.onSuccess();
+        assertThat(limiter.tryAcquire("auth")).isNotNull();
+    }
+
+    @Test
+    @DisplayName("许可重复释放被忽略，并发计数不会变为负数")
+    void doubleReleaseIsNoOp() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", new RecordingAlgorithm(),
+                2, 1, 10, ONE_SECOND, 10);
+        limiter.setPartition("auth", 0.5);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire("auth");
+        AdaptiveConcurrencyLimiter.Permit other = limiter.tryAcquire();
+        permit.onSuccess();
+        permit.onSuccess();
+        permit.onDropped();
+        permit.onIgnore();
+
+        assertThat(limiter.getInflight()).isEqualTo(1);
+        assertThat(partitionState(limiter, "auth")).containsEntry("inflight", 0);
+        assertThat(partitionState(limiter, AdaptiveConcurrencyLimiter.DEFAULT_PARTITION)).containsEntry("inflight", 1);
+
+        other.onIgnore();
+        other.onIgnore();
+        assertThat(limiter.getInflight()).isZero();
+        assertThat(limiter.tryAcquire()).isNotNull();
+        assertThat(limiter.tryAcquire()).isNotNull();
+        assertThat(limiter.tryAcquire()).isNull();
+    }
+
+    @Test
+    @DisplayName("窗口样本数不足minWindowSamples时不关闭窗口，取消的请求不计入样本")
+    void windowStaysOpenUntilMinSamples() {
+        RecordingAlgorithm algorithm = new RecordingAlgorithm();
+        // 窗口长度为0，时间条件始终满足，只由样本数决定是否关闭
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", algorithm,
+                10, 1, 100, 0L, 5);
+
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire().onSuccess();
+        }
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire().onIgnore();
+        }
+        assertThat(algorithm.samples).isEmpty();
+
+        limiter.tryAcquire().onDropped();
+        assertThat(algorithm.samples).hasSize(1);
+        LimitSample sample = algorithm.samples.get(0);
+        assertThat(sample.samples()).isEqualTo(5);
+        assertThat(sample.dropped()).isEqualTo(1);
+        assertThat(sample.errorRate()).isEqualTo(0.2);
+
+        // 新窗口重新计数
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire().onSuccess();
+        }
+        assertThat(algorithm.samples).hasSize(1);
+        limiter.tryAcquire().onSuccess();
+        assertThat(algorithm.samples).hasSize(2);
+        assertThat(algorithm.samples.get(1).dropped()).isZero();
+    }
+
+    @Test
+    @DisplayName("被拒绝的请求计入窗口的拒绝数")
+    void rejectionsAreReportedInWindow() {
+        RecordingAlgorithm algorithm = new RecordingAlgorithm();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", algorithm,
+                1, 1, 10, 0L, 1);
+
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+        assertThat(limiter.tryAcquire()).isNull();
+        assertThat(limiter.tryAcquire()).isNull();
+        permit.onSuccess();
+
+        assertThat(algorithm.samples).hasSize(1);
+        assertThat(algorithm.samples.get(0).rejected()).isEqualTo(2);
+        assertThat(algorithm.samples.get(0).maxInflight()).isEqualTo(1);
+        assertThat(limiter.feedback().rejected()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("setMaxLimit低于当前上限时立即收缩上限和分区份额")
+    void setMaxLimitShrinksLimit() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter("test", new RecordingAlgorithm(),
+                50, 5, 100, ONE_SECOND, 10);
+        limiter.setPartition("auth", 0.2);
+        assertThat(partitionState(limiter, "auth")).containsEntry("reserved", 10);
+
+        limiter.setMaxLimit(20);
+
+        assertThat(limiter.getLimit()).isEqualTo(20);
+        assertThat(limiter.getMaxLimit()).isEqualTo(20);
+        assertThat(partitionState(limiter, "auth")).containsEntry("reserved", 4);
+
+        // 不低于最小上限
+        limiter.setMaxLimit(1);
+        assertThat(limiter.getMaxLimit()).isEqualTo(5);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+
+        // 放宽最大上限不会自动放大当前上限
+        limiter.setMaxLimit(100);
+        assertThat(limiter.getLimit()).isEqualTo(5);
+    }
+}
@@ -0,0 +1,141 @@
+package com.honyrun.service.monitoring.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 并发上限算法测试
+ *
+ * 以模拟的RTT和失败序列驱动GRADIENT和AIMD算法：容量为C的下游在并发超过C后排队，
+ * RTT按并发/C线性增长（AIMD场景下改为直接失败），校验上限从低于和高于容量的起点都收敛到稳定区间
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-08 14:00:00
+ * @modified 2025-11-08 14:00:00
+ * @version 1.0.0
+ */
+class LimitAlgorithmTest {
+
+    private static final double BASE_RTT = 1_000_000.0;
+    private static final int CAPACITY = 20;
+
+    private static LimitSample sample(double shortRtt, double longRtt, int maxInflight, long samples, long dropped) {
+        return new LimitSample(shortRtt, longRtt, (long) shortRtt, maxInflight, samples, dropped, 0);
+    }
+
+    /**
+     * 满负载运行若干窗口，返回最后20个窗口的上限
+     */
+    private static double[] runGradient(GradientLimitAlgorithm algorithm, double initialLimit, int rounds) {
+        double limit = initialLimit;
+        double[] tail = new double[20];
+        for (int i = 0; i < rounds; i++) {
+            double shortRtt = BASE_RTT * Math.max(1.0, limit / CAPACITY);
+            limit = Math.min(1000, Math.max(1, algorithm.update(limit, sample(shortRtt, BASE_RTT, (int) limit, 100, 0))));
+            if (i >= rounds - tail.length) {
+                tail[i - (rounds - tail.length)] = limit;
+            }
+        }
+        return tail;
+    }
+
+    @Test
+    @DisplayName("GRADIENT：RTT等于基线且满负载时按sqrt(limit)增长")
+    void gradientGrowsWhenRttAtBaseline() {
+        GradientLimitAlgorithm algorithm = new GradientLimitAlgorithm(1.5, 1.0);
+
+        assertThat(algorithm.update(16, sample(BASE_RTT, BASE_RTT, 16, 100, 0))).isCloseTo(20.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("GRADIENT：负载不足一半且无失败时保持上限，有失败时仍然收缩")
+    void gradientHoldsWhenUnderutilized() {
+        GradientLimitAlgorithm algorithm = new GradientLimitAlgorithm(1.5, 0.2);
+
+        assertThat(algorithm.update(100, sample(BASE_RTT * 10, BASE_RTT, 49, 100, 0))).isEqualTo(100.0);
+        // 失败比例50%：新上限 = 100 × 0.5 + 10 = 60，平滑后 = 100 × 0.8 + 60 × 0.2
+        assertThat(algorithm.update(100, sample(BASE_RTT, BASE_RTT, 49, 100, 50))).isCloseTo(92.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("GRADIENT：RTT超过容忍倍数或出现失败时收缩，梯度不低于0.5")
+    void gradientShrinksOnQueueingAndErrors() {
+        GradientLimitAlgorithm algorithm = new GradientLimitAlgorithm(1.5, 1.0);
+
+        // 梯度 = 1.5 × 1 / 3 = 0.5
+        assertThat(algorithm.update(100, sample(BASE_RTT * 3, BASE_RTT, 100, 100, 0))).isCloseTo(60.0, within(1e-9));
+        // RTT更高时梯度仍截断在0.5
+        assertThat(algorithm.update(100, sample(BASE_RTT * 30, BASE_RTT, 100, 100, 0))).isCloseTo(60.0, within(1e-9));
+        // 失败比例50%：梯度 = 1 × 0.5
+        assertThat(algorithm.update(100, sample(BASE_RTT, BASE_RTT, 100, 100, 50))).isCloseTo(60.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("GRADIENT：从低于和高于容量的起点收敛到同一稳定上限")
+    void gradientConvergesUnderQueueing() {
+        GradientLimitAlgorithm algorithm = new GradientLimitAlgorithm(1.5, 0.2);
+
+        double[] fromBelow = runGradient(algorithm, 5, 300);
+        double[] fromAbove = runGradient(algorithm, 500, 300);
+
+        for (double[] tail : new double[][] {fromBelow, fromAbove}) {
+            double min = Double.MAX_VALUE;
+            double max = 0;
+            for (double limit : tail) {
+                min = Math.min(min, limit);
+                max = Math.max(max, limit);
+            }
+            // 稳定在容量与容量×2之间：RTT升高到基线的容忍倍数附近后不再增长
+            assertThat(min).isGreaterThanOrEqualTo(CAPACITY);
+            assertThat(max).isLessThanOrEqualTo(CAPACITY * 2.0);
+            assertThat(max - min).isLessThan(1.0);
+        }
+        assertThat(fromBelow[fromBelow.length - 1]).isCloseTo(fromAbove[fromAbove.length - 1], within(1.0));
+    }
+
+    @Test
+    @DisplayName("AIMD：失败或RTT超时时乘性收缩，满负载时加1，负载不足时保持")
+    void aimdStepRules() {
+        AimdLimitAlgorithm algorithm = new AimdLimitAlgorithm(0.9, 5_000_000L);
+
+        assertThat(algorithm.update(100, sample(BASE_RTT, BASE_RTT, 100, 100, 1))).isCloseTo(90.0, within(1e-9));
+        assertThat(algorithm.update(100, sample(6_000_000.0, BASE_RTT, 100, 100, 0))).isCloseTo(90.0, within(1e-9));
+        assertThat(algorithm.update(100, sample(BASE_RTT, BASE_RTT, 50, 100, 0))).isEqualTo(101.0);
+        assertThat(algorithm.update(100, sample(BASE_RTT, BASE_RTT, 49, 100, 0))).isEqualTo(100.0);
+    }
+
+    @Test
+    @DisplayName("AIMD：回退比例限制在[0.5, 0.99]")
+    void aimdClampsBackoffRatio() {
+        assertThat(new AimdLimitAlgorithm(0.1, 5_000_000L).update(100, sample(BASE_RTT, BASE_RTT, 100, 100, 1)))
+                .isCloseTo(50.0, within(1e-9));
+        assertThat(new AimdLimitAlgorithm(1.0, 5_000_000L).update(100, sample(BASE_RTT, BASE_RTT, 100, 100, 1)))
+                .isCloseTo(99.0, within(1e-9));
+    }
+
+    @Test
+    @DisplayName("AIMD：并发超过容量即失败时在容量附近锯齿振荡")
+    void aimdConvergesToSawtoothAroundCapacity() {
+        AimdLimitAlgorithm algorithm = new AimdLimitAlgorithm(0.9, 5_000_000L);
+        int capacity = 40;
+
+        for (double initial : new double[] {5, 400}) {
+            double limit = initial;
+            double min = Double.MAX_VALUE;
+            double max = 0;
+            for (int i = 0; i < 300; i++) {
+                long dropped = limit > capacity ? 1 : 0;
+                limit = algorithm.update(limit, sample(BASE_RTT, BASE_RTT, (int) limit, 100, dropped));
+                if (i >= 250) {
+                    min = Math.min(min, limit);
+                    max = Math.max(max, limit);
+                }
+            }
+            assertThat(min).isGreaterThanOrEqualTo(capacity * 0.9);
+            assertThat(max).isLessThanOrEqualTo(capacity + 1.0);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.honyrun.service.reactive.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 本地nonce重放过滤器测试
+ *
+ * 校验按时间戳分桶识别重放、超出有效期的桶被丢弃，以及单桶容量上限
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-08 18:00:00
+ * @modified 2025-11-08 18:00:00
+ * @version 1.0.0
+ */
+class NonceReplayFilterTest {
+
+    @Test
+    @DisplayName("已记录的nonce在同一时间桶内被识别")
+    void recognizesRecordedNonceInSameBucket() {
+        NonceReplayFilter filter = new NonceReplayFilter(10, 100);
+
+        filter.record("n-1", 1_000, 1_000, 300);
+
+        assertThat(filter.seen("n-1", 1_000)).isTrue();
+        assertThat(filter.seen("n-1", 1_009)).isTrue();
+        assertThat(filter.seen("n-1", 1_010)).isFalse();
+        assertThat(filter.seen("n-2", 1_000)).isFalse();
+    }
+
+    @Test
+    @DisplayName("超出签名有效期的时间桶在下次记录时被丢弃")
+    void dropsBucketsOlderThanValidityPeriod() {
+        NonceReplayFilter filter = new NonceReplayFilter(10, 100);
+        filter.record("old", 1_000, 1_000, 300);
+        filter.record("recent", 1_250, 1_250, 300);
+
+        filter.record("now", 1_320, 1_320, 300);
+
+        assertThat(filter.seen("old", 1_000)).isFalse();
+        assertThat(filter.seen("recent", 1_250)).isTrue();
+        assertThat(filter.seen("now", 1_320)).isTrue();
+        assertThat(filter.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("单桶达到容量上限后不再记录新的nonce")
+    void capsEntriesPerBucket() {
+        NonceReplayFilter filter = new NonceReplayFilter(10, 2);
+
+        filter.record("a", 1_000, 1_000, 300);
+        filter.record("b", 1_001, 1_001, 300);
+        filter.record("c", 1_002, 1_002, 300);
+        filter.record("d", 1_010, 1_010, 300);
+
+        assertThat(filter.seen("a", 1_000)).isTrue();
+        assertThat(filter.seen("b", 1_000)).isTrue();
+        assertThat(filter.seen("c", 1_002)).isFalse();
+        assertThat(filter.seen("d", 1_010)).isTrue();
+        assertThat(filter.size()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("重复记录同一nonce不占用额外容量")
+    void duplicateRecordDoesNotConsumeCapacity() {
+        NonceReplayFilter filter = new NonceReplayFilter(10, 2);
+
+        filter.record("a", 1_000, 1_000, 300);
+        filter.record("a", 1_000, 1_000, 300);
+        filter.record("b", 1_000, 1_000, 300);
+
+        assertThat(filter.seen("b", 1_000)).isTrue();
+        assertThat(filter.size()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,135 @@
+package com.honyrun.service.reactive.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.honyrun.exception.ErrorCode;
+import com.honyrun.exception.RateLimitException;
+import com.honyrun.model.entity.security.UserPasswordHistory;
+import com.honyrun.repository.r2dbc.ReactiveUserPasswordHistoryRepository;
+import com.honyrun.repository.r2dbc.ReactiveUserRepository;
+import com.honyrun.security.PasswordHashingService;
+import com.honyrun.service.reactive.ReactiveOptimisticLockingService;
+import com.honyrun.service.reactive.ReactiveSystemConfigService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * 密码历史检查测试
+ *
+ * 历史哈希匹配超出时间预算或哈希线程池饱和时，检查结果未知，必须以异常结束让修改密码失败，
+ * 不能当作“未使用过”放行
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 18:00:00
+ * @modified 2025-11-06 18:00:00
+ * @version 1.0.0
+ */
+class ReactivePasswordSecurityServiceImplTest {
+
+    private static final Long USER_ID = 1001L;
+
+    private final ReactiveUserPasswordHistoryRepository historyRepository =
+            mock(ReactiveUserPasswordHistoryRepository.class);
+    private final ReactiveSystemConfigService systemConfigService = mock(ReactiveSystemConfigService.class);
+    private PasswordHashingService hashingService;
+
+    @AfterEach
+    void tearDown() {
+        if (hashingService != null) {
+            hashingService.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("历史哈希匹配超出时间预算时以TimeoutException结束")
+    void timeoutPropagates() {
+        hashingService = new PasswordHashingService(new SlowEncoder(500L), new SimpleMeterRegistry(),
+                1, 8, 2000L, 1, 50L);
+
+        StepVerifier.create(service(hashingService).isPasswordUsedBefore(USER_ID, "new-secret"))
+                .expectError(TimeoutException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("哈希线程池饱和时以RateLimitException结束")
+    void rateLimitPropagates() {
+        PasswordHashingService saturated = mock(PasswordHashingService.class);
+        when(saturated.matchesAny(any(), any())).thenReturn(Mono.error(
+                new RateLimitException(ErrorCode.CONCURRENT_LIMIT_EXCEEDED, "认证服务繁忙，请稍后重试")));
+
+        StepVerifier.create(service(saturated).isPasswordUsedBefore(USER_ID, "new-secret"))
+                .expectError(RateLimitException.class)
+                .verify();
+    }
+
+    @Test
+    @DisplayName("预算内完成匹配时返回是否命中历史密码")
+    void matchWithinBudget() {
+        hashingService = new PasswordHashingService(new SlowEncoder(0L), new SimpleMeterRegistry(),
+                1, 8, 2000L, 2, 3000L);
+        ReactivePasswordSecurityServiceImpl service = service(hashingService);
+
+        StepVerifier.create(service.isPasswordUsedBefore(USER_ID, "old-2")).expectNext(true).verifyComplete();
+        StepVerifier.create(service.isPasswordUsedBefore(USER_ID, "new-secret")).expectNext(false).verifyComplete();
+    }
+
+    private ReactivePasswordSecurityServiceImpl service(PasswordHashingService passwordHashingService) {
+        when(systemConfigService.getConfigValue(anyString(), anyString()))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(1)));
+        when(historyRepository.findRecentPasswordsByUserId(eq(USER_ID), eq(5))).thenReturn(Flux.just(
+                new UserPasswordHistory(USER_ID, "{noop}old-1", "SYSTEM", "初始密码"),
+                new UserPasswordHistory(USER_ID, "{noop}old-2", "SYSTEM", "密码重置"),
+                new UserPasswordHistory(USER_ID, "{noop}old-3", "SYSTEM", "密码重置")));
+        ReactivePasswordSecurityServiceImpl service = new ReactivePasswordSecurityServiceImpl(historyRepository,
+                mock(ReactiveUserRepository.class), systemConfigService, passwordHashingService,
+                mock(ReactiveOptimisticLockingService.class));
+        assertThat(service.getPasswordHistoryCount().block()).isEqualTo(5);
+        return service;
+    }
+
+    /**
+     * 明文比较的编码器替身，每次匹配按设定时长阻塞，模拟高代价的哈希
+     */
+    private static final class SlowEncoder implements PasswordEncoder {
+
+        private final long delayMillis;
+
+        SlowEncoder(long delayMillis) {
+            this.delayMillis = delayMillis;
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return "{noop}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (delayMillis > 0) {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return encodedPassword.equals("{noop}" + rawPassword);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.honyrun.service.reactive.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.honyrun.config.UnifiedConfigManager;
+import com.honyrun.service.reactive.ReactiveRequestSignatureService;
+import com.honyrun.service.reactive.ReactiveSystemConfigService;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * 请求签名验证服务测试
+ *
+ * 校验Redis SET NX预占失败和本地nonce过滤器命中时拒绝重放，
+ * 以及签名不匹配、请求体超过上限时已读取的池化缓冲区全部释放
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-08 18:00:00
+ * @modified 2025-11-08 18:00:00
+ * @version 1.0.0
+ */
+class ReactiveRequestSignatureServiceImplTest {
+
+    private static final String CLIENT_ID = "client-1";
+    private static final String SECRET = "client-secret";
+    private static final String PATH = "/api/v1/orders";
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    private final List<DataBuffer> allocated = new ArrayList<>();
+
+    private ReactiveValueOperations<String, String> valueOperations;
+    private ReactiveRequestSignatureServiceImpl service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReactiveRedisTemplate<String, String> redisTemplate = mock(ReactiveRedisTemplate.class);
+        valueOperations = mock(ReactiveValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+
+        ReactiveSystemConfigService systemConfigService = mock(ReactiveSystemConfigService.class);
+        when(systemConfigService.getConfigValue("security.request.signature.enabled", "false")).thenReturn(Mono.just("true"));
+        when(systemConfigService.getConfigValue("security.client." + CLIENT_ID + ".secret", null)).thenReturn(Mono.just(SECRET));
+
+        UnifiedConfigManager configManager = mock(UnifiedConfigManager.class);
+        when(configManager.getProperty(anyString(), anyString())).thenAnswer(invocation -> invocation.getArgument(1));
+        when(configManager.getLongProperty(anyString(), anyLong())).thenAnswer(invocation -> invocation.getArgument(1));
+
+        service = new ReactiveRequestSignatureServiceImpl(redisTemplate, systemConfigService, configManager, 10, 1000);
+        ReflectionTestUtils.setField(service, "maxBodySize", 1024L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        allocated.forEach(DataBufferUtils::release);
+    }
+
+    @Test
+    @DisplayName("签名正确且预占成功时通过，请求体缓冲区交给签名过滤器回放")
+    void acceptsValidSignatureAndKeepsBodyForReplay() {
+        String timestamp = String.valueOf(Instant.now().getEpochSecond());
+        MockServerWebExchange exchange = exchange(timestamp, "nonce-1", sign(timestamp, "nonce-1", "{\"id\":1}"), "{\"id\":", "1}");
+
+        StepVerifier.create(service.verifyRequestSignature(exchange)).expectNext(true).verifyComplete();
+
+        List<DataBuffer> body = exchange.getAttribute(ReactiveRequestSignatureService.SIGNED_BODY_ATTRIBUTE);
+        assertThat(body).hasSize(2);
+        assertThat(allocated).allMatch(ReactiveRequestSignatureServiceImplTest::isAllocated);
+        verify(valueOperations).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Redis SET NX返回false时拒绝重放并释放请求体")
+    void rejectsReplayWhenNonceAlreadyReserved() {
+        when(valueOperations.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(false));
+        String timestamp = String.valueOf(Instant.now().getEpochSecond());
+        MockServerWebExchange exchange = exchange(timestamp, "nonce-2", sign(timestamp, "nonce-2", "payload"), "pay", "load");
+
+        StepVerifier.create(service.verifyRequestSignature(exchange)).expectNext(false).verifyComplete();
+
+        assertThat(exchange.getAttributes()).doesNotContainKey(ReactiveRequestSignatureService.SIGNED_BODY_ATTRIBUTE);
+        assertThat(allocated).noneMatch(ReactiveRequestSignatureServiceImplTest::isAllocated);
+    }
+
+    @Test
+    @DisplayName("本节点已接受过的nonce直接拒绝，不再访问Redis")
+    void rejectsLocallySeenNonceWithoutRedis() {
+        String timestamp = String.valueOf(Instant.now().getEpochSecond());
+        String signature = sign(timestamp, "nonce-3", "");
+
+        StepVerifier.create(service.verifyRequestSignature(exchange(timestamp, "nonce-3", signature)))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(service.verifyRequestSignature(exchange(timestamp, "nonce-3", signature)))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(valueOperations, times(1)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("签名不匹配时拒绝并释放已读取的请求体，不预占nonce")
+    void releasesBodyOnSignatureMismatch() {
+        String timestamp = String.valueOf(Instant.now().getEpochSecond());
+        MockServerWebExchange exchange = exchange(timestamp, "nonce-4", sign(timestamp, "nonce-4", "original"), "tam", "pered");
+
+        StepVerifier.create(service.verifyRequestSignature(exchange)).expectNext(false).verifyComplete();
+
+        assertThat(exchange.getAttributes()).doesNotContainKey(ReactiveRequestSignatureService.SIGNED_BODY_ATTRIBUTE);
+        assertThat(allocated).noneMatch(ReactiveRequestSignatureServiceImplTest::isAllocated);
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("请求体超过max-body-size时拒绝并释放全部缓冲区")
+    void releasesBodyWhenExceedingMaxBodySize() {
+        ReflectionTestUtils.setField(service, "maxBodySize", 8L);
+        String timestamp = String.valueOf(Instant.now().getEpochSecond());
+        MockServerWebExchange exchange = exchange(timestamp, "nonce-5", sign(timestamp, "nonce-5", "abcdef123456"),
+                "abcdef", "123456");
+
+        StepVerifier.create(service.verifyRequestSignature(exchange)).expectNext(false).verifyComplete();
+
+        assertThat(allocated).hasSize(2).noneMatch(ReactiveRequestSignatureServiceImplTest::isAllocated);
+        verify(valueOperations, never()).setIfAbsent(anyString(), anyString(), any(Duration.class));
+    }
+
+    private MockServerWebExchange exchange(String timestamp, String nonce, String signature, String... chunks) {
+        List<DataBuffer> body = new ArrayList<>();
+        for (String chunk : chunks) {
+            DataBuffer buffer = bufferFactory.allocateBuffer(chunk.length());
+            buffer.write(chunk.getBytes(StandardCharsets.UTF_8));
+            body.add(buffer);
+        }
+        allocated.addAll(body);
+        MockServerHttpRequest request = MockServerHttpRequest.post(PATH)
+                .header("X-Client-Id", CLIENT_ID)
+                .header("X-Timestamp", timestamp)
+                .header("X-Nonce", nonce)
+                .header("X-Signature", signature)
+                .body(Flux.fromIterable(body));
+        return MockServerWebExchange.from(request);
+    }
+
+    private String sign(String timestamp, String nonce, String body) {
+        return service.generateSignature("POST", PATH, timestamp, nonce, body, SECRET).block();
+    }
+
+    private static boolean isAllocated(DataBuffer buffer) {
+        return ((PooledDataBuffer) buffer).isAllocated();
+    }
+}
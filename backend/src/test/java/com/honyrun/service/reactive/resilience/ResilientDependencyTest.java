@@ -0,0 +1,339 @@
+package com.honyrun.service.reactive.resilience;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.honyrun.config.properties.ErrorRecoveryProperties;
+import com.honyrun.config.retry.IntelligentRetryStrategy;
+import com.honyrun.exception.reactive.CallNotPermittedException;
+import com.honyrun.exception.reactive.CallNotPermittedException.Reason;
+import com.honyrun.service.impl.ReactiveErrorRecoveryServiceImpl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+/**
+ * 熔断器与舱壁测试
+ *
+ * 以可注入失败和延迟的依赖替身驱动ResilientDependency：
+ * 失败率和慢调用率触发打开、打开期间快速失败、半开探测后关闭或重新打开、舱壁并发拒绝，
+ * 以及与IntelligentRetryStrategy重试和ReactiveErrorRecoveryServiceImpl降级的配合
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 16:00:00
+ * @modified 2025-11-06 16:00:00
+ * @version 1.0.0
+ */
+class ResilientDependencyTest {
+
+    private static final Duration OPEN_WAIT = Duration.ofSeconds(30);
+    private static final Duration SHORT_OPEN_WAIT = Duration.ofMillis(50);
+    private static final Duration SLOW_CALL = Duration.ofMillis(20);
+
+    private final IntelligentRetryStrategy retryStrategy = new IntelligentRetryStrategy();
+    private final List<String> transitions = new CopyOnWriteArrayList<>();
+
+    @Test
+    @DisplayName("失败率达到阈值后打开，打开期间不再调用依赖")
+    void opensOnFailureRate() {
+        FlakyDependency redis = new FlakyDependency();
+        redis.failing = true;
+        ResilientDependency dependency = dependency("redis", 10, 4, 2, 10, null);
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(dependency.decorate(redis.call()))
+                    .expectErrorMessage("connection refused")
+                    .verify();
+        }
+
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN");
+        StepVerifier.create(dependency.decorate(redis.call()))
+                .expectErrorSatisfies(error -> assertRejected(error, Reason.CIRCUIT_OPEN))
+                .verify();
+        assertThat(redis.subscriptions.get()).isEqualTo(4);
+        assertThat(dependency.getCircuitBreaker().getNotPermittedCalls()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("样本不足最小调用数时不打开，成功调用会稀释失败率")
+    void staysClosedBelowThresholds() {
+        FlakyDependency mysql = new FlakyDependency();
+        ResilientDependency dependency = dependency("mysql", 10, 4, 2, 10, null);
+
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(dependency.decorate(mysql.call())).expectNext("ok").verifyComplete();
+            if (i == 2) {
+                assertThat(dependency.getCircuitBreaker().getFailureRate()).isEqualTo(-1f);
+            }
+        }
+        mysql.failing = true;
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(dependency.decorate(mysql.call())).expectError().verify();
+        }
+
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(dependency.getCircuitBreaker().getFailureRate()).isEqualTo(37.5f);
+    }
+
+    @Test
+    @DisplayName("成功但超过慢调用时长的调用达到慢调用率阈值后打开")
+    void opensOnSlowCallRate() {
+        FlakyDependency image = new FlakyDependency();
+        image.latency = SLOW_CALL.multipliedBy(2);
+        ResilientDependency dependency = dependency("image", 10, 3, 2, 10, null);
+
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(dependency.decorate(image.call())).expectNext("ok").verifyComplete();
+        }
+
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.OPEN);
+        assertThat(dependency.getCircuitBreaker().snapshot())
+                .containsEntry("failedCalls", 0L)
+                .containsEntry("slowCalls", 3L);
+    }
+
+    @Test
+    @DisplayName("调用超时计为失败样本")
+    void timeoutCountsAsFailure() {
+        FlakyDependency mysql = new FlakyDependency();
+        mysql.latency = Duration.ofSeconds(5);
+        ResilientDependency dependency = dependency("mysql", 10, 2, 2, 10, SLOW_CALL);
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(dependency.decorate(mysql.call()))
+                    .expectError(TimeoutException.class)
+                    .verify(Duration.ofSeconds(1));
+        }
+
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.OPEN);
+    }
+
+    @Test
+    @DisplayName("业务异常说明依赖健康，不计入失败样本")
+    void businessErrorsDoNotTrip() {
+        ResilientDependency dependency = dependency("mysql", 10, 2, 2, 10, null);
+
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(dependency.decorate(Mono.error(new IllegalArgumentException("bad id"))))
+                    .expectError(IllegalArgumentException.class)
+                    .verify();
+        }
+
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(dependency.getCircuitBreaker().getFailureRate()).isZero();
+    }
+
+    @Test
+    @DisplayName("等待时间结束后半开探测，探测全部成功则关闭")
+    void halfOpenProbesClose() throws InterruptedException {
+        FlakyDependency redis = new FlakyDependency();
+        ResilientDependency dependency = dependency("redis", 10, 2, 2, 10, null, SHORT_OPEN_WAIT);
+        trip(dependency, redis);
+
+        Thread.sleep(SHORT_OPEN_WAIT.toMillis() * 2);
+        redis.failing = false;
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(dependency.decorate(redis.call())).expectNext("ok").verifyComplete();
+        }
+
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED");
+        // 关闭后窗口清空，之前的失败不再计入
+        assertThat(dependency.getCircuitBreaker().getFailureRate()).isEqualTo(-1f);
+    }
+
+    @Test
+    @DisplayName("探测失败率超过阈值则重新打开并重新计算等待时间")
+    void halfOpenProbesReopen() throws InterruptedException {
+        FlakyDependency redis = new FlakyDependency();
+        ResilientDependency dependency = dependency("redis", 10, 2, 2, 10, null, SHORT_OPEN_WAIT);
+        trip(dependency, redis);
+
+        Thread.sleep(SHORT_OPEN_WAIT.toMillis() * 2);
+        StepVerifier.create(dependency.decorate(redis.call())).expectError().verify();
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.HALF_OPEN);
+        StepVerifier.create(dependency.decorate(redis.call())).expectError().verify();
+
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.OPEN);
+        assertThat(transitions).containsExactly("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN");
+        StepVerifier.create(dependency.decorate(redis.call()))
+                .expectErrorSatisfies(error -> assertRejected(error, Reason.CIRCUIT_OPEN))
+                .verify();
+    }
+
+    @Test
+    @DisplayName("半开状态只放行固定数量的探测，取消的探测归还许可")
+    void halfOpenLimitsProbes() throws InterruptedException {
+        FlakyDependency redis = new FlakyDependency();
+        ResilientDependency dependency = dependency("redis", 10, 2, 2, 10, null, SHORT_OPEN_WAIT);
+        trip(dependency, redis);
+        Thread.sleep(SHORT_OPEN_WAIT.toMillis() * 2);
+
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        Disposable firstProbe = dependency.decorate(first.asMono()).subscribe(value -> { }, error -> { });
+        Disposable secondProbe = dependency.decorate(second.asMono()).subscribe(value -> { }, error -> { });
+        StepVerifier.create(dependency.decorate(redis.call()))
+                .expectErrorSatisfies(error -> assertRejected(error, Reason.CIRCUIT_OPEN))
+                .verify();
+
+        firstProbe.dispose();
+        redis.failing = false;
+        StepVerifier.create(dependency.decorate(redis.call())).expectNext("ok").verifyComplete();
+        second.tryEmitValue("ok");
+
+        assertThat(secondProbe.isDisposed()).isTrue();
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.CLOSED);
+    }
+
+    @Test
+    @DisplayName("舱壁并发已满时立即拒绝，拒绝不计入熔断样本，名额释放后恢复放行")
+    void bulkheadRejectsWhenFull() {
+        ResilientDependency dependency = dependency("image", 10, 1, 2, 2, null);
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        Disposable firstCall = dependency.decorate(first.asMono()).subscribe();
+        dependency.decorate(second.asMono()).subscribe();
+
+        assertThat(dependency.getBulkhead().getAvailableConcurrentCalls()).isZero();
+        StepVerifier.create(dependency.decorate(Mono.just("ok")))
+                .expectErrorSatisfies(error -> assertRejected(error, Reason.BULKHEAD_FULL))
+                .verify();
+        assertThat(dependency.getCircuitBreaker().getState()).isEqualTo(CircuitBreakerState.CLOSED);
+        assertThat(dependency.getBulkhead().snapshot()).containsEntry("rejectedCalls", 1L);
+
+        first.tryEmitValue("ok");
+        assertThat(firstCall.isDisposed()).isTrue();
+        StepVerifier.create(dependency.decorate(Mono.just("ok"))).expectNext("ok").verifyComplete();
+        second.tryEmitValue("ok");
+        assertThat(dependency.getBulkhead().getAvailableConcurrentCalls()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("慢依赖占满自己的舱壁时不影响其他依赖")
+    void bulkheadsIsolateDependencies() {
+        ResilientDependency image = dependency("image", 10, 1, 2, 1, null);
+        ResilientDependency redis = dependency("redis", 10, 1, 2, 1, null);
+        Sinks.One<String> stuck = Sinks.one();
+        image.decorate(stuck.asMono()).subscribe();
+
+        StepVerifier.create(image.decorate(Mono.just("ok")))
+                .expectErrorSatisfies(error -> assertRejected(error, Reason.BULKHEAD_FULL))
+                .verify();
+        StepVerifier.create(redis.decorate(Mono.just("ok"))).expectNext("ok").verifyComplete();
+        stuck.tryEmitValue("ok");
+    }
+
+    @Test
+    @DisplayName("外层重试的每次尝试都经过熔断器，熔断打开后停止重试")
+    void retryStopsWhenCircuitOpens() {
+        FlakyDependency redis = new FlakyDependency();
+        redis.failing = true;
+        ResilientDependency dependency = dependency("redis", 10, 2, 2, 10, null);
+
+        StepVerifier.create(dependency.decorate(redis.call()).retryWhen(retryStrategy.getProtectedCallRetry("redis")))
+                .expectErrorSatisfies(error -> assertRejected(error, Reason.CIRCUIT_OPEN))
+                .verify(Duration.ofSeconds(5));
+
+        assertThat(redis.subscriptions.get()).isEqualTo(2);
+        assertThat(retryStrategy.analyzeErrorType(new CallNotPermittedException("redis", Reason.CIRCUIT_OPEN)))
+                .isEqualTo(IntelligentRetryStrategy.ErrorType.REJECTED);
+    }
+
+    @Test
+    @DisplayName("受保护调用失败或被拒绝时进入降级，熔断打开后降级不再等待依赖")
+    void protectionFallsBackToDegradation() {
+        ReactiveErrorRecoveryServiceImpl service = new ReactiveErrorRecoveryServiceImpl(
+                recoveryProperties(), retryStrategy, new SimpleMeterRegistry());
+        FlakyDependency image = new FlakyDependency();
+        image.failing = true;
+        List<Class<?>> fallbackCauses = new CopyOnWriteArrayList<>();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(service.executeWithProtection("image", "imageResize", image.call(), error -> {
+                fallbackCauses.add(error.getClass());
+                return Mono.just("degraded");
+            })).expectNext("degraded").verifyComplete();
+        }
+
+        assertThat(fallbackCauses).containsExactly(IllegalStateException.class, CallNotPermittedException.class);
+        assertThat(image.subscriptions.get()).isEqualTo(1);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> breaker = (Map<String, Object>) ((Map<String, Object>) service.getCircuitBreakerStates()
+                .get("image")).get("circuitBreaker");
+        assertThat(breaker).containsEntry("state", "OPEN");
+    }
+
+    private ResilientDependency dependency(String name, int windowSize, int minimumCalls, int halfOpenCalls,
+                                           int maxConcurrentCalls, Duration callTimeout) {
+        return dependency(name, windowSize, minimumCalls, halfOpenCalls, maxConcurrentCalls, callTimeout, OPEN_WAIT);
+    }
+
+    private ResilientDependency dependency(String name, int windowSize, int minimumCalls, int halfOpenCalls,
+                                           int maxConcurrentCalls, Duration callTimeout, Duration openWait) {
+        ReactiveCircuitBreaker circuitBreaker = new ReactiveCircuitBreaker(name, windowSize, minimumCalls, 50f, 50f,
+                SLOW_CALL, openWait, halfOpenCalls, (from, to) -> transitions.add(from + "->" + to));
+        return new ResilientDependency(name, circuitBreaker, new Bulkhead(name, maxConcurrentCalls), callTimeout,
+                retryStrategy::isDependencyFailure);
+    }
+
+    private static void trip(ResilientDependency dependency, FlakyDependency stand) {
+        stand.failing = true;
+        while (dependency.getCircuitBreaker().getState() == CircuitBreakerState.CLOSED) {
+            StepVerifier.create(dependency.decorate(stand.call())).expectError().verify();
+        }
+    }
+
+    private static void assertRejected(Throwable error, Reason reason) {
+        assertThat(error).isInstanceOf(CallNotPermittedException.class);
+        assertThat(((CallNotPermittedException) error).getReason()).isEqualTo(reason);
+    }
+
+    private static ErrorRecoveryProperties recoveryProperties() {
+        ErrorRecoveryProperties properties = new ErrorRecoveryProperties();
+        ErrorRecoveryProperties.CircuitBreaker breaker = properties.getCircuitBreaker();
+        breaker.setSlidingWindowSize(10);
+        breaker.setMinimumNumberOfCalls(1);
+        breaker.setFailureRateThreshold(50f);
+        breaker.setSlowCallRateThreshold(100f);
+        breaker.setSlowCallDurationThreshold(Duration.ofSeconds(1));
+        breaker.setWaitDurationInOpenState(Duration.ofSeconds(30));
+        breaker.setPermittedCallsInHalfOpenState(1);
+        breaker.setCallTimeout(Duration.ofSeconds(1));
+        properties.getBulkhead().setDefaultMaxConcurrentCalls(10);
+        return properties;
+    }
+
+    /**
+     * 依赖替身：按开关注入失败，按设定注入延迟，并记录实际到达依赖的调用次数
+     */
+    private static final class FlakyDependency {
+
+        private final AtomicInteger subscriptions = new AtomicInteger();
+        private volatile boolean failing;
+        private volatile Duration latency = Duration.ZERO;
+
+        Mono<String> call() {
+            return Mono.defer(() -> {
+                subscriptions.incrementAndGet();
+                Mono<String> result = failing
+                        ? Mono.error(new IllegalStateException("connection refused"))
+                        : Mono.just("ok");
+                return latency.isZero() ? result : Mono.delay(latency).then(result);
+            });
+        }
+    }
+}
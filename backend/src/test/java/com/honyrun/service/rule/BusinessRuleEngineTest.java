@@ -0,0 +1,96 @@
+package com.honyrun.service.rule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * 业务规则引擎缓存与热替换测试
+ *
+ * 校验getOrCompile在来源文本不变时复用已编译的规则集、变化时原子替换，
+ * 已取得的旧规则集继续按旧规则求值，以及新定义不合法时保留原规则集
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-08 19:00:00
+ * @modified 2025-11-08 19:00:00
+ * @version 1.0.0
+ */
+class BusinessRuleEngineTest {
+
+    private static final String KEY = "bf2:1";
+    private static final String V1 = "[{\"id\":\"large\",\"when\":\"amount >= 1000\"}]";
+    private static final String V2 = "[{\"id\":\"large\",\"when\":\"amount >= 5000\"},{\"id\":\"vip\",\"when\":\"level == 'VIP'\"}]";
+
+    private SimpleMeterRegistry meterRegistry;
+    private BusinessRuleEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new BusinessRuleEngine(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("来源文本不变时复用已编译的规则集")
+    void reusesCompiledRuleSetForSameSource() {
+        CompiledRuleSet first = engine.getOrCompile(KEY, V1);
+
+        assertThat(engine.getOrCompile(KEY, new String(V1))).isSameAs(first);
+        assertThat(compilations("success")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("来源文本变化时重新编译并替换，旧规则集仍按旧规则求值")
+    void swapsRuleSetWhenSourceChanges() {
+        CompiledRuleSet old = engine.getOrCompile(KEY, V1);
+
+        CompiledRuleSet replaced = engine.getOrCompile(KEY, V2);
+
+        assertThat(replaced).isNotSameAs(old);
+        assertThat(engine.getOrCompile(KEY, V2)).isSameAs(replaced);
+        assertThat(engine.getRuleSetStatus(KEY)).containsEntry("rules", 2);
+        Map<String, Object> fact = Map.of("amount", 2000, "level", "VIP");
+        assertThat(ids(old.evaluate(fact))).containsExactly("large");
+        assertThat(ids(replaced.evaluate(fact))).containsExactly("vip");
+        assertThat(compilations("success")).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("新定义不合法时抛出异常并保留原规则集")
+    void keepsCachedRuleSetWhenNewSourceIsInvalid() {
+        CompiledRuleSet current = engine.getOrCompile(KEY, V1);
+
+        assertThatThrownBy(() -> engine.getOrCompile(KEY, "[{\"id\":\"large\",\"when\":\"amount >=\"}]"))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(engine.getOrCompile(KEY, V1)).isSameAs(current);
+        assertThat(compilations("failure")).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("移除后再次获取时重新编译")
+    void recompilesAfterEvict() {
+        CompiledRuleSet first = engine.getOrCompile(KEY, V1);
+
+        engine.evict(KEY);
+
+        assertThat(engine.getRuleSetStatus(KEY)).isNull();
+        assertThat(engine.getOrCompile(KEY, V1)).isNotSameAs(first);
+    }
+
+    private double compilations(String result) {
+        return meterRegistry.get("honyrun.rule.compilations").tag("domain", "bf2").tag("result", result).counter().count();
+    }
+
+    private static List<String> ids(RuleSetResult result) {
+        return result.matches().stream().map(RuleMatch::id).toList();
+    }
+}
@@ -0,0 +1,216 @@
+package com.honyrun.service.rule;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.honyrun.util.common.JsonUtil;
+
+/**
+ * 业务规则编译器与编译后规则集测试
+ *
+ * 校验条件表达式的运算符优先级、取反、in/not in与exists，
+ * 不同数值类型在哈希判别分桶中的等值命中，以及禁用规则、重复id和规则数量、表达式长度上限
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-08 19:00:00
+ * @modified 2025-11-08 19:00:00
+ * @version 1.0.0
+ */
+class RuleCompilerTest {
+
+    private static final int MAX_RULES = 100;
+    private static final int MAX_EXPRESSION_LENGTH = 4096;
+
+    @Test
+    @DisplayName("&&优先于||，括号改变结合顺序")
+    void andBindsTighterThanOr() {
+        CompiledRuleSet ruleSet = compile("a == 1 || b == 1 && c == 1", "(a == 1 || b == 1) && c == 1");
+
+        assertThat(matchedIds(ruleSet, fact("a", 1, "b", 0, "c", 0))).containsExactly("r1");
+        assertThat(matchedIds(ruleSet, fact("a", 0, "b", 1, "c", 0))).isEmpty();
+        assertThat(matchedIds(ruleSet, fact("a", 0, "b", 1, "c", 1))).containsExactly("r1", "r2");
+    }
+
+    @Test
+    @DisplayName("!与not对后续单元取反，可与括号和双重取反组合")
+    void negatesUnaryOperand() {
+        CompiledRuleSet ruleSet = compile("!(a == 1 || b == 1)", "not a == 1 && b == 1", "!!a == 1", "! false");
+
+        assertThat(matchedIds(ruleSet, fact("a", 0, "b", 0))).containsExactly("r1", "r4");
+        assertThat(matchedIds(ruleSet, fact("a", 0, "b", 1))).containsExactly("r2", "r4");
+        assertThat(matchedIds(ruleSet, fact("a", 1, "b", 0))).containsExactly("r3", "r4");
+    }
+
+    @Test
+    @DisplayName("in与not in按归一化后的常量集合判断成员关系")
+    void evaluatesInAndNotIn() {
+        CompiledRuleSet ruleSet = compile("status in ['A', \"B\", 3]", "status not in ['A', 'B']");
+
+        assertThat(matchedIds(ruleSet, fact("status", "A"))).containsExactly("r1");
+        assertThat(matchedIds(ruleSet, fact("status", 3L))).containsExactly("r1", "r2");
+        assertThat(matchedIds(ruleSet, fact("status", "C"))).containsExactly("r2");
+        assertThat(matchedIds(ruleSet, fact())).containsExactly("r2");
+    }
+
+    @Test
+    @DisplayName("exists要求嵌套字段存在且不为null")
+    void evaluatesExistsOnNestedPath() {
+        CompiledRuleSet ruleSet = compile("customer.level exists");
+        Map<String, Object> nullLevel = new HashMap<>();
+        nullLevel.put("level", null);
+
+        assertThat(matchedIds(ruleSet, fact("customer", fact("level", "VIP")))).containsExactly("r1");
+        assertThat(matchedIds(ruleSet, fact("customer", nullLevel))).isEmpty();
+        assertThat(matchedIds(ruleSet, fact("customer", "VIP"))).isEmpty();
+        assertThat(matchedIds(ruleSet, fact())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Integer、Long、Double与BigDecimal取值命中同一个等值分桶")
+    void numericEqualityHitsIndexBucketAcrossTypes() {
+        CompiledRuleSet ruleSet = compile("amount == 100", "amount == 200 && level == 'VIP'", "amount >= 150");
+
+        assertThat(ruleSet.getSummary()).containsEntry("indexedRules", 2).containsEntry("unindexedRules", 1);
+        for (Object amount : List.of(100, 100L, 100.0d, new BigDecimal("100.00"))) {
+            RuleSetResult result = ruleSet.evaluate(fact("amount", amount));
+            assertThat(ids(result)).as("amount=%s", amount).containsExactly("r1");
+            assertThat(result.evaluatedRules()).as("amount=%s", amount).isEqualTo(2);
+        }
+        RuleSetResult vip = ruleSet.evaluate(fact("amount", new BigDecimal("200"), "level", "VIP"));
+        assertThat(ids(vip)).containsExactly("r2", "r3");
+        assertThat(ruleSet.evaluate(fact("amount", 101)).evaluatedRules()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("数值与字符串之间不做隐式转换")
+    void doesNotCoerceBetweenNumbersAndStrings() {
+        CompiledRuleSet ruleSet = compile("code == 7", "code > 5");
+
+        assertThat(matchedIds(ruleSet, fact("code", "7"))).isEmpty();
+        assertThat(matchedIds(ruleSet, fact("code", 7))).containsExactly("r1", "r2");
+    }
+
+    @Test
+    @DisplayName("命中结果按优先级排列，FIRST模式只返回优先级最高的一条")
+    void ordersMatchesByPriorityAndHonorsFirstMode() {
+        List<Map<String, Object>> rules = List.of(
+                rule("low", "x == 1", 1),
+                rule("high", "x exists", 5),
+                rule("same", "x > 0", 1));
+
+        CompiledRuleSet all = RuleCompiler.compile("test:all", JsonUtil.toJson(rules), MAX_RULES, MAX_EXPRESSION_LENGTH);
+        CompiledRuleSet first = RuleCompiler.compile("test:first",
+                JsonUtil.toJson(Map.of("mode", "first", "rules", rules)), MAX_RULES, MAX_EXPRESSION_LENGTH);
+
+        assertThat(matchedIds(all, fact("x", 1))).containsExactly("high", "low", "same");
+        assertThat(matchedIds(first, fact("x", 1))).containsExactly("high");
+    }
+
+    @Test
+    @DisplayName("禁用的规则不参与编译和求值，也不计入规则数量上限")
+    void skipsDisabledRules() {
+        Map<String, Object> disabled = rule("off", "not a valid expression (", 0);
+        disabled.put("enabled", false);
+        String source = JsonUtil.toJson(List.of(rule("r1", "a == 1", 0), disabled, rule("r2", "a == 1", 0)));
+
+        CompiledRuleSet ruleSet = RuleCompiler.compile("test", source, 2, MAX_EXPRESSION_LENGTH);
+
+        assertThat(ruleSet.getRuleCount()).isEqualTo(2);
+        assertThat(matchedIds(ruleSet, fact("a", 1))).containsExactly("r1", "r2");
+    }
+
+    @Test
+    @DisplayName("规则id重复时编译失败，禁用的规则同样参与判重")
+    void rejectsDuplicateIds() {
+        Map<String, Object> disabled = rule("r1", "a == 2", 0);
+        disabled.put("enabled", false);
+
+        assertThatThrownBy(() -> RuleCompiler.compile("test",
+                JsonUtil.toJson(List.of(rule("r1", "a == 1", 0), rule("r1", "a == 2", 0))), MAX_RULES, MAX_EXPRESSION_LENGTH))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("规则id重复: r1");
+        assertThatThrownBy(() -> RuleCompiler.compile("test",
+                JsonUtil.toJson(List.of(rule("r1", "a == 1", 0), disabled)), MAX_RULES, MAX_EXPRESSION_LENGTH))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("规则id重复: r1");
+    }
+
+    @Test
+    @DisplayName("启用的规则超过maxRules时编译失败")
+    void enforcesMaxRules() {
+        String source = source("a == 1", "a == 2", "a == 3");
+
+        assertThat(RuleCompiler.compile("test", source, 3, MAX_EXPRESSION_LENGTH).getRuleCount()).isEqualTo(3);
+        assertThatThrownBy(() -> RuleCompiler.compile("test", source, 2, MAX_EXPRESSION_LENGTH))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("规则数量超过上限: 2");
+    }
+
+    @Test
+    @DisplayName("条件表达式超过maxExpressionLength时编译失败")
+    void enforcesMaxExpressionLength() {
+        String when = "name == 'abcdef'";
+
+        assertThat(RuleCompiler.compile("test", source(when), MAX_RULES, when.length()).getRuleCount()).isEqualTo(1);
+        assertThatThrownBy(() -> RuleCompiler.compile("test", source(when), MAX_RULES, when.length() - 1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("超过" + (when.length() - 1) + "个字符");
+    }
+
+    @Test
+    @DisplayName("语法错误的条件表达式编译失败")
+    void rejectsMalformedExpressions() {
+        for (String when : List.of("a ==", "a not b", "(a == 1", "a == 1 b == 2", "a > true", "a in []")) {
+            assertThatThrownBy(() -> RuleCompiler.compile("test", source(when), MAX_RULES, MAX_EXPRESSION_LENGTH))
+                    .as(when)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("规则 r1 的条件表达式");
+        }
+    }
+
+    private static CompiledRuleSet compile(String... whens) {
+        return RuleCompiler.compile("test", source(whens), MAX_RULES, MAX_EXPRESSION_LENGTH);
+    }
+
+    private static String source(String... whens) {
+        List<Map<String, Object>> rules = new ArrayList<>();
+        for (int i = 0; i < whens.length; i++) {
+            rules.add(rule("r" + (i + 1), whens[i], 0));
+        }
+        return JsonUtil.toJson(rules);
+    }
+
+    private static Map<String, Object> rule(String id, String when, int priority) {
+        Map<String, Object> rule = new LinkedHashMap<>();
+        rule.put("id", id);
+        rule.put("priority", priority);
+        rule.put("when", when);
+        return rule;
+    }
+
+    private static Map<String, Object> fact(Object... keyValues) {
+        Map<String, Object> fact = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            fact.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return fact;
+    }
+
+    private static List<String> matchedIds(CompiledRuleSet ruleSet, Map<String, Object> fact) {
+        return ids(ruleSet.evaluate(fact));
+    }
+
+    private static List<String> ids(RuleSetResult result) {
+        return result.matches().stream().map(RuleMatch::id).toList();
+    }
+}
@@ -0,0 +1,84 @@
+package com.honyrun.util.reactive;
+
+import java.util.List;
+
+import org.slf4j.LoggerFactory;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ResourceLeakDetector;
+
+/**
+ * Netty缓冲区泄漏检测记录器
+ *
+ * 把泄漏检测级别切换为paranoid（每次分配都跟踪）并收集ResourceLeakDetector输出的LEAK日志。
+ * 泄漏只有在缓冲区被GC回收、且之后再次分配被跟踪的缓冲区时才会报告，
+ * 因此collectLeaks()会反复触发GC并分配释放一个池化缓冲区，直到报告出现或轮次用尽
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 22:00:00
+ * @modified 2025-11-06 22:00:00
+ * @version 1.0.0
+ */
+public final class LeakDetectionRecorder implements AutoCloseable {
+
+    private static final String LEAK_MARKER = "LEAK:";
+
+    private final Logger leakLogger = (Logger) LoggerFactory.getLogger(ResourceLeakDetector.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+    private final ResourceLeakDetector.Level previousLevel = ResourceLeakDetector.getLevel();
+
+    /**
+     * 开始记录，调用方在结束时close()
+     *
+     * @return 记录器
+     */
+    public static LeakDetectionRecorder start() {
+        return new LeakDetectionRecorder();
+    }
+
+    private LeakDetectionRecorder() {
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+        appender.start();
+        leakLogger.addAppender(appender);
+    }
+
+    /**
+     * 触发GC并收集泄漏报告
+     *
+     * @param rounds 最多执行的GC轮次，出现报告后提前结束
+     * @return 记录期间报告的泄漏
+     */
+    public List<String> collectLeaks(int rounds) {
+        for (int round = 0; round < rounds && leaks().isEmpty(); round++) {
+            System.gc();
+            try {
+                Thread.sleep(20L);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            // 分配被跟踪的缓冲区时检测器才会处理已回收的泄漏对象
+            ByteBuf probe = PooledByteBufAllocator.DEFAULT.buffer(1);
+            probe.release();
+        }
+        return leaks();
+    }
+
+    private List<String> leaks() {
+        return appender.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .filter(message -> message.contains(LEAK_MARKER))
+                .toList();
+    }
+
+    @Override
+    public void close() {
+        leakLogger.detachAppender(appender);
+        appender.stop();
+        ResourceLeakDetector.setLevel(previousLevel);
+    }
+}
@@ -0,0 +1,150 @@
+package com.honyrun.util.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+/**
+ * 池化DataBuffer工具类测试
+ *
+ * 在paranoid泄漏检测级别下校验释放约定：write失败时释放已分配的缓冲区，
+ * readAllBytes在成功、出错和取消时释放全部输入缓冲区，read的分片由消费方释放。
+ * 每个用例直接检查引用计数，并在结束时触发GC确认没有LEAK报告
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 22:00:00
+ * @modified 2025-11-06 22:00:00
+ * @version 1.0.0
+ */
+class PooledDataBufferUtilTest {
+
+    private final List<DataBuffer> allocated = new ArrayList<>();
+    private LeakDetectionRecorder leakRecorder;
+
+    @BeforeEach
+    void setUp() {
+        leakRecorder = LeakDetectionRecorder.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        try {
+            assertThat(allocated).allSatisfy(buffer -> assertThat(refCnt(buffer)).isZero());
+            allocated.clear();
+            assertThat(leakRecorder.collectLeaks(3)).isEmpty();
+        } finally {
+            leakRecorder.close();
+        }
+    }
+
+    @Test
+    @DisplayName("write从池化分配器分配并按需扩容，写入失败时释放缓冲区")
+    void writeAllocatesPooledAndReleasesOnFailure() throws IOException {
+        byte[] payload = new byte[100_000];
+        DataBuffer written = track(PooledDataBufferUtil.write(16, outputStream -> outputStream.write(payload)));
+        assertThat(((NettyDataBuffer) written).getNativeBuffer().alloc()).isSameAs(PooledByteBufAllocator.DEFAULT);
+        assertThat(written.readableByteCount()).isEqualTo(payload.length);
+        DataBufferUtils.release(written);
+
+        // 失败时的缓冲区不会返回给调用方，由结束时的泄漏检查确认已释放
+        assertThatThrownBy(() -> PooledDataBufferUtil.write(1024, outputStream -> {
+            outputStream.write(payload, 0, 512);
+            throw new IOException("编码失败");
+        })).isInstanceOf(IOException.class).hasMessage("编码失败");
+    }
+
+    @Test
+    @DisplayName("readAllBytes合并内容后释放全部输入缓冲区")
+    void readAllBytesReleasesInputs() {
+        StepVerifier.create(PooledDataBufferUtil.readAllBytes(Flux.just(pooled("图片"), pooled("-"), pooled("数据"))))
+                .assertNext(bytes -> assertThat(new String(bytes, StandardCharsets.UTF_8)).isEqualTo("图片-数据"))
+                .verifyComplete();
+        StepVerifier.create(PooledDataBufferUtil.readAllBytes(Flux.empty()))
+                .assertNext(bytes -> assertThat(bytes).isEmpty())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("上传中途出错或被取消时，readAllBytes释放已收到的输入缓冲区")
+    void readAllBytesReleasesOnErrorAndCancel() {
+        StepVerifier.create(PooledDataBufferUtil.readAllBytes(Flux.just(pooled("part-1"), pooled("part-2"))
+                        .concatWith(Flux.error(new IllegalStateException("连接中断")))))
+                .verifyErrorMessage("连接中断");
+
+        Sinks.Many<DataBuffer> upload = Sinks.many().unicast().onBackpressureBuffer();
+        StepVerifier.create(PooledDataBufferUtil.readAllBytes(upload.asFlux()))
+                .then(() -> {
+                    upload.tryEmitNext(pooled("part-1"));
+                    upload.tryEmitNext(pooled("part-2"));
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    @DisplayName("read按64KiB分片读取文件，分片由消费方释放")
+    void readStreamsPooledChunks() throws IOException {
+        Path file = Files.createTempFile("pooled-read", ".bin");
+        Files.write(file, new byte[PooledDataBufferUtil.DEFAULT_CHUNK_SIZE * 2 + 10]);
+
+        StepVerifier.create(PooledDataBufferUtil.read(file).map(this::track).map(buffer -> {
+                    int size = buffer.readableByteCount();
+                    DataBufferUtils.release(buffer);
+                    return size;
+                }))
+                .expectNext(PooledDataBufferUtil.DEFAULT_CHUNK_SIZE, PooledDataBufferUtil.DEFAULT_CHUNK_SIZE, 10)
+                .verifyComplete();
+        Files.delete(file);
+    }
+
+    @Test
+    @DisplayName("paranoid级别下未释放的池化缓冲区在GC后以LEAK日志报告")
+    void unreleasedBufferIsReported() {
+        leak();
+
+        assertThat(leakRecorder.collectLeaks(50)).isNotEmpty();
+        // 重新开始记录，结束时的检查不包含本用例故意制造的泄漏
+        leakRecorder.close();
+        leakRecorder = LeakDetectionRecorder.start();
+    }
+
+    /**
+     * 故意不释放，缓冲区在方法返回后即不可达
+     */
+    private static void leak() {
+        PooledDataBufferUtil.factory().allocateBuffer(64).write("leak", StandardCharsets.UTF_8);
+    }
+
+    private DataBuffer pooled(String content) {
+        return track(PooledDataBufferUtil.factory().wrap(PooledByteBufAllocator.DEFAULT.buffer()
+                .writeBytes(content.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private DataBuffer track(DataBuffer buffer) {
+        allocated.add(buffer);
+        return buffer;
+    }
+
+    private static int refCnt(DataBuffer buffer) {
+        return ((NettyDataBuffer) buffer).getNativeBuffer().refCnt();
+    }
+}
@@ -0,0 +1,66 @@
+package com.honyrun.util.router;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * 路径前缀树测试
+ *
+ * 覆盖字面量优先于变量、数字约束、剩余通配符的匹配顺序，以及构建时拒绝无法按约束匹配的模板
+ *
+ * @author Mr.Rey Copyright © 2025
+ * @created 2025-11-06 19:00:00
+ * @modified 2025-11-06 19:00:00
+ * @version 1.0.0
+ */
+class PathTrieTest {
+
+    @Test
+    @DisplayName("同层按字面量、数字变量、任意变量、剩余通配符的顺序匹配并回溯")
+    void matchesBySpecificity() {
+        PathTrie.Builder<String> builder = PathTrie.builder();
+        builder.add("/api/v1/users/{id}/profile", "profile");
+        builder.add("/api/v1/users/{id:\\d+}", "byId");
+        builder.add("/api/v1/users/{name}", "byName");
+        builder.add("/api/v1/users/search", "search");
+        builder.add("/api/v1/files/**", "files");
+        PathTrie<String> trie = builder.build();
+
+        assertThat(trie.match("/api/v1/users/search")).isEqualTo("search");
+        assertThat(trie.match("/api/v1/users/42")).isEqualTo("byId");
+        assertThat(trie.match("/api/v1/users/alice")).isEqualTo("byName");
+        assertThat(trie.match("/api/v1/users/alice/profile")).isEqualTo("profile");
+        assertThat(trie.match("/api/v1/files/2025/11/report.pdf")).isEqualTo("files");
+        assertThat(trie.match("/api/v1/users/")).isNull();
+        assertThat(trie.size()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("不支持的正则约束在构建时拒绝，不退化为任意单段匹配")
+    void rejectsUnsupportedConstraints() {
+        PathTrie.Builder<String> builder = PathTrie.builder();
+
+        assertThatThrownBy(() -> builder.add("/api/v1/users/{id:[a-z]+}", "letters"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("{id:[a-z]+}");
+        assertThatThrownBy(() -> builder.add("/api/v1/files/{name}.{ext:png|jpg}", "image"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PathTrie.toRegex("/api/v1/users/{id:.+}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(builder.build().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("段内混合字面量与无约束变量按任意单段处理")
+    void mixedSegmentWithoutConstraint() {
+        PathTrie.Builder<String> builder = PathTrie.builder();
+        builder.add("/static/{name}.{ext}", "asset");
+        builder.add("/api/v1/{a}:{b}", "pair");
+
+        assertThat(builder.build().match("/static/logo.png")).isEqualTo("asset");
+        assertThat(PathTrie.toRegex("/api/v1/users/{id:\\d+}")).isEqualTo("/api/v1/users/\\d+");
+    }
+}